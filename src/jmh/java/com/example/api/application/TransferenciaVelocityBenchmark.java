@@ -0,0 +1,84 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaVelocityProperties;
+import com.example.api.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the velocity check on the transfer creation path. The target is 20k creations per
+ * second on one node, so every benchmark here should report well above that.
+ *
+ * <p>{@code spreadAccounts} draws source accounts uniformly from {@code cuentas}; {@code hotAccount}
+ * sends every thread to the same account and currency, the worst case for the counters;
+ * {@code rejectedHotAccount} measures the rejection path on an account that is already over its limit.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TransferenciaVelocityBenchmark {
+
+    private static final BigDecimal IMPORTE = new BigDecimal("125.40");
+
+    @Param("100000")
+    private int cuentas;
+
+    private TransferenciaVelocityService open;
+    private TransferenciaVelocityService exhausted;
+
+    @Setup
+    public void setUp() {
+        open = service(Integer.MAX_VALUE);
+        exhausted = service(1);
+        exhausted.reserve(0L, "EUR", IMPORTE);
+    }
+
+    private static TransferenciaVelocityService service(int maxPerMinute) {
+        return new TransferenciaVelocityServiceImpl(new TransferenciaVelocityProperties(true, 64, 12,
+                Duration.ofMinutes(1), List.of(
+                        new TransferenciaVelocityProperties.Rule(Duration.ofMinutes(1), null, maxPerMinute, null),
+                        new TransferenciaVelocityProperties.Rule(Duration.ofHours(1), null, null,
+                                new BigDecimal("1000000000000")))),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public VelocityReservation spreadAccounts() {
+        return open.reserve((long) ThreadLocalRandom.current().nextInt(cuentas), "EUR", IMPORTE);
+    }
+
+    @Benchmark
+    public VelocityReservation hotAccount() {
+        return open.reserve(0L, "EUR", IMPORTE);
+    }
+
+    @Benchmark
+    public Object rejectedHotAccount() {
+        try {
+            return exhausted.reserve(0L, "EUR", IMPORTE);
+        } catch (BusinessException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.api.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one account lookup in the account registry, in nanoseconds. A transfer check makes up to
+ * four lookups and must stay well under a microsecond, so this should report a few tens of nanoseconds.
+ *
+ * <p>The set holds {@code cuentas} sequential ids with one in a hundred missing, like an account table
+ * with closed accounts, and is probed at random ids, a tenth of them beyond the highest account.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressedBitmapBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1000000", "100000000"})
+    private long cuentas;
+
+    private CompressedBitmap bitmap;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        CompressedBitmap.Builder builder = CompressedBitmap.builder();
+        for (long id = 1; id <= cuentas; id++) {
+            if (id % 100 != 0) {
+                builder.add(id);
+            }
+        }
+        bitmap = builder.build();
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = random.nextLong(1, cuentas + cuentas / 10);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int contains() {
+        int found = 0;
+        for (long id : ids) {
+            if (bitmap.contains(id)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.api.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the netting aggregation for one partition worker, in flows per second. Netting 50M
+ * transfers within the cut-off needs a few million flows per second across all partitions, so one
+ * worker should report comfortably above 1M.
+ *
+ * <p>Each invocation folds {@link #FLOWS} flows between {@code cuentas} random accounts into a fresh
+ * pair table and derives the per-account table from it, like a partition leaf of the netting engine.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PairFlowTableBenchmark {
+
+    private static final int FLOWS = 1_000_000;
+
+    @Param({"1000", "100000"})
+    private int cuentas;
+
+    private long[] origenes;
+    private long[] destinos;
+    private long[] importes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        origenes = new long[FLOWS];
+        destinos = new long[FLOWS];
+        importes = new long[FLOWS];
+        for (int i = 0; i < FLOWS; i++) {
+            origenes[i] = random.nextLong(cuentas);
+            destinos[i] = random.nextLong(cuentas);
+            importes[i] = random.nextLong(1, 1_000_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLOWS)
+    public AccountFlowTable aggregate() {
+        PairFlowTable pares = new PairFlowTable(65_536);
+        for (int i = 0; i < FLOWS; i++) {
+            pares.add(origenes[i], destinos[i], importes[i]);
+        }
+        AccountFlowTable flows = new AccountFlowTable(pares.size());
+        for (int slot = 0; slot < pares.capacity(); slot++) {
+            if (pares.isUsed(slot)) {
+                flows.add(pares.lower(slot), pares.forward(slot), pares.backward(slot));
+                flows.add(pares.upper(slot), pares.backward(slot), pares.forward(slot));
+            }
+        }
+        return flows;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.api.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build and analyse the graph of 10M transfers, in milliseconds per run. An analysis of a
+ * month of transfers should finish in seconds, so each step should report well under one.
+ *
+ * <p>Transfers go between {@code cuentas} random accounts, which makes most accounts part of one large
+ * strongly connected component and gives the cycle search far more cycles than its limit. Building
+ * includes numbering the accounts, the counting sort by source and folding repeated pairs.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TransferGraphBenchmark {
+
+    private static final int TRANSFERS = 10_000_000;
+
+    @Param({"1000000"})
+    private int cuentas;
+
+    private long[] origenes;
+    private long[] destinos;
+    private long[] importes;
+    private ForkJoinPool pool;
+    private TransferGraph graph;
+    private StrongComponents components;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        origenes = new long[TRANSFERS];
+        destinos = new long[TRANSFERS];
+        importes = new long[TRANSFERS];
+        for (int i = 0; i < TRANSFERS; i++) {
+            origenes[i] = 1_000_000_000L + random.nextLong(cuentas);
+            destinos[i] = 1_000_000_000L + random.nextLong(cuentas);
+            importes[i] = random.nextLong(1, 1_000_000);
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        graph = build();
+        components = StrongComponents.of(graph, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public TransferGraph build() {
+        TransferGraph.Builder builder = TransferGraph.builder(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            builder.add(origenes[i], destinos[i], importes[i]);
+        }
+        return builder.build(pool);
+    }
+
+    @Benchmark
+    public StrongComponents components() {
+        return StrongComponents.of(graph, pool);
+    }
+
+    @Benchmark
+    public CycleSearch.Cycles cycles() {
+        return CycleSearch.find(graph, components, 4, 10_000, pool);
+    }
+}
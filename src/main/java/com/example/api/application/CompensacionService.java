@@ -0,0 +1,55 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.CompensacionBilateralResponse;
+import com.example.api.dto.response.CompensacionMultilateralResponse;
+import com.example.api.dto.response.CompensacionResponse;
+import com.example.api.dto.response.CursorPageResponse;
+
+import java.time.Instant;
+
+/**
+ * Service interface for netting transfers into bilateral and multilateral positions.
+ */
+public interface CompensacionService {
+
+    /**
+     * Nets the transfers of a time window, currency and state and stores the resulting positions.
+     *
+     * @param divisa currency of the transfers to net
+     * @param desde  window start, inclusive
+     * @param hasta  window end, exclusive
+     * @param estado state of the transfers to net, {@code PENDIENTE} when {@code null}
+     * @return a summary of the stored run
+     */
+    CompensacionResponse compensar(String divisa, Instant desde, Instant hasta, String estado);
+
+    /**
+     * Returns the summary of a stored netting run.
+     *
+     * @param id the run id
+     * @return the run summary
+     */
+    CompensacionResponse getCompensacion(Long id);
+
+    /**
+     * Returns one page of the bilateral positions of a run, ordered by account pair.
+     *
+     * @param id       the run id
+     * @param cuentaId only pairs that include this account, or {@code null} for all
+     * @param cursor   the {@code nextCursor} of the previous page, or {@code null}
+     * @param size     page size, or {@code null} for the default
+     * @return the page of positions
+     */
+    CursorPageResponse<CompensacionBilateralResponse> getBilaterales(Long id, Long cuentaId, String cursor,
+                                                                     Integer size);
+
+    /**
+     * Returns one page of the multilateral positions of a run, ordered by account.
+     *
+     * @param id     the run id
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null}
+     * @param size   page size, or {@code null} for the default
+     * @return the page of positions
+     */
+    CursorPageResponse<CompensacionMultilateralResponse> getMultilaterales(Long id, String cursor, Integer size);
+}
@@ -0,0 +1,371 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaNettingProperties;
+import com.example.api.domain.Compensacion;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.response.CompensacionBilateralResponse;
+import com.example.api.dto.response.CompensacionMultilateralResponse;
+import com.example.api.dto.response.CompensacionResponse;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.AccountFlowTable;
+import com.example.api.infrastructure.CompensacionBilateralRow;
+import com.example.api.infrastructure.CompensacionJdbcRepository;
+import com.example.api.infrastructure.CompensacionMultilateralRow;
+import com.example.api.infrastructure.CompensacionRepository;
+import com.example.api.infrastructure.PairFlowTable;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaIdRange;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Service implementation for the netting engine.
+ *
+ * <p>The window is read once, split into transfer id slices that are streamed in parallel, each
+ * through its own read-only cursor. Every reader hashes the flows it reads into account-pair
+ * partitions, one primitive pair table per partition: both directions between two accounts always
+ * fall into the same partition, so once the readers' tables are merged each partition is netted
+ * bilaterally on its own and yields the per-account gross flows; joining two partitions only merges
+ * their account tables. Memory therefore grows with the number of distinct pairs and accounts,
+ * not with the number of transfers. Amounts are summed as exact minor units.</p>
+ *
+ * <p>The run and all of its positions are stored in one transaction once netting has finished.</p>
+ */
+@Slf4j
+@Service
+public class CompensacionServiceImpl implements CompensacionService {
+
+    static final String METRIC_DURATION = "transferencias.netting.duration";
+    static final String METRIC_TRANSFERS = "transferencias.netting.transferencias";
+
+    private final TransferenciaJdbcRepository transferenciaRepository;
+    private final CompensacionRepository repository;
+    private final CompensacionJdbcRepository jdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaNettingProperties properties;
+    private final TransferenciaCursorCodec cursorCodec;
+    private final Timer duration;
+    private final Counter transfers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CompensacionServiceImpl(TransferenciaJdbcRepository transferenciaRepository,
+                                   CompensacionRepository repository,
+                                   CompensacionJdbcRepository jdbcRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   TransferenciaNettingProperties properties,
+                                   TransferenciaCursorCodec cursorCodec,
+                                   MeterRegistry meterRegistry) {
+        this.transferenciaRepository = transferenciaRepository;
+        this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.cursorCodec = cursorCodec;
+        this.duration = Timer.builder(METRIC_DURATION)
+                .description("Time taken by netting runs")
+                .register(meterRegistry);
+        this.transfers = Counter.builder(METRIC_TRANSFERS)
+                .description("Transfers netted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompensacionResponse compensar(String divisa, Instant desde, Instant hasta, String estado) {
+        EstadoTransferencia estadoTransferencia = validate(divisa, desde, hasta, estado);
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A netting run is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            TransferenciaCriteria criteria = new TransferenciaCriteria(null, null, desde, hasta,
+                    estadoTransferencia, divisa);
+            Netting netting = net(criteria);
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            Compensacion compensacion = transactionTemplate.execute(status -> store(netting,
+                    new Compensacion(divisa, estadoTransferencia, desde, hasta, netting.transferencias,
+                            netting.cuentas.size(), netting.pares(), toImporte(netting.bruto),
+                            toImporte(netting.netoBilateral), toImporte(netting.netoMultilateral()),
+                            Instant.now(), durationMs)));
+            if (compensacion == null) {
+                throw new IllegalStateException("Netting run was not stored");
+            }
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            transfers.increment(netting.transferencias);
+            log.info("Netted {} {} transfers into {} pairs and {} accounts in {} ms", netting.transferencias,
+                    divisa, netting.pares(), netting.cuentas.size(), durationMs);
+            return toResponse(compensacion);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompensacionResponse getCompensacion(Long id) {
+        return toResponse(find(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CompensacionBilateralResponse> getBilaterales(Long id, Long cuentaId, String cursor,
+                                                                            Integer size) {
+        find(id);
+        int pageSize = PageSizes.resolve(size, properties.defaultPageSize(), properties.maxPageSize());
+        long[] after = cursor == null || cursor.isBlank() ? null : cursorCodec.decodeKeys(cursor, 2);
+        List<CompensacionBilateralRow> rows = jdbcRepository.findBilaterales(id, cuentaId,
+                after == null ? null : after[0], after == null ? null : after[1], pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<CompensacionBilateralRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<CompensacionBilateralResponse> content = page.stream()
+                .map(row -> new CompensacionBilateralResponse(row.cuentaA(), row.cuentaB(), row.brutoAB(),
+                        row.brutoBA(), row.transferencias(), row.neto()))
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            CompensacionBilateralRow last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encodeKeys(last.cuentaA(), last.cuentaB());
+        }
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CompensacionMultilateralResponse> getMultilaterales(Long id, String cursor,
+                                                                                  Integer size) {
+        find(id);
+        int pageSize = PageSizes.resolve(size, properties.defaultPageSize(), properties.maxPageSize());
+        long[] after = cursor == null || cursor.isBlank() ? null : cursorCodec.decodeKeys(cursor, 1);
+        List<CompensacionMultilateralRow> rows = jdbcRepository.findMultilaterales(id,
+                after == null ? null : after[0], pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<CompensacionMultilateralRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<CompensacionMultilateralResponse> content = page.stream()
+                .map(row -> new CompensacionMultilateralResponse(row.cuentaId(), row.pagado(), row.recibido(),
+                        row.neto()))
+                .toList();
+        String nextCursor = hasNext ? cursorCodec.encodeKeys(page.get(page.size() - 1).cuentaId()) : null;
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    private Netting net(TransferenciaCriteria criteria) {
+        int partitions = properties.partitions();
+        TransferenciaIdRange ids = readOnlyTransaction.execute(status -> transferenciaRepository.findIdRange(criteria));
+        if (ids == null) {
+            return new Netting(new ArrayList<>(), new AccountFlowTable(0));
+        }
+        ForkJoinPool pool = new ForkJoinPool(partitions);
+        try {
+            PairFlowTable[] pares = pool.invoke(new SplitTask<>(slice -> read(criteria, ids.slice(partitions, slice)),
+                    CompensacionServiceImpl::merge, 0, partitions));
+            return pool.invoke(new SplitTask<>(partition -> netPartition(pares[partition]), Netting::merge, 0,
+                    partitions));
+        } catch (ArithmeticException ex) {
+            throw new BusinessException("Netting amounts exceed the supported range");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Compensacion store(Netting netting, Compensacion compensacion) {
+        Compensacion saved = repository.save(compensacion);
+        for (PairFlowTable pares : netting.pares) {
+            jdbcRepository.insertBilaterales(saved.getId(), pares, properties.writeBatchSize());
+        }
+        jdbcRepository.insertMultilaterales(saved.getId(), netting.cuentas, properties.writeBatchSize());
+        return saved;
+    }
+
+    /**
+     * Streams one id slice of the window into a pair table per partition.
+     */
+    private PairFlowTable[] read(TransferenciaCriteria criteria, TransferenciaIdRange slice) {
+        int partitions = properties.partitions();
+        PairFlowTable[] pares = new PairFlowTable[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            pares[partition] = new PairFlowTable(properties.expectedPairs() / partitions);
+        }
+        readOnlyTransaction.executeWithoutResult(status -> transferenciaRepository.streamFlows(criteria, slice,
+                properties.fetchSize(), (origen, destino, importe) -> pares[(int) Math.floorMod(origen + destino,
+                        (long) partitions)].add(origen, destino, importe)));
+        return pares;
+    }
+
+    /**
+     * Folds the tables of one reader into another's, partition by partition, the smaller into the larger.
+     */
+    private static PairFlowTable[] merge(PairFlowTable[] left, PairFlowTable[] right) {
+        for (int partition = 0; partition < left.length; partition++) {
+            if (left[partition].size() < right[partition].size()) {
+                right[partition].merge(left[partition]);
+                left[partition] = right[partition];
+            } else {
+                left[partition].merge(right[partition]);
+            }
+        }
+        return left;
+    }
+
+    private Netting netPartition(PairFlowTable pares) {
+        AccountFlowTable cuentas = new AccountFlowTable(pares.size());
+        Netting netting = new Netting(new ArrayList<>(List.of(pares)), cuentas);
+        for (int slot = 0; slot < pares.capacity(); slot++) {
+            if (!pares.isUsed(slot)) {
+                continue;
+            }
+            long forward = pares.forward(slot);
+            long backward = pares.backward(slot);
+            cuentas.add(pares.lower(slot), forward, backward);
+            cuentas.add(pares.upper(slot), backward, forward);
+            netting.transferencias += pares.count(slot);
+            netting.bruto = Math.addExact(netting.bruto, Math.addExact(forward, backward));
+            netting.netoBilateral = Math.addExact(netting.netoBilateral, Math.abs(forward - backward));
+        }
+        return netting;
+    }
+
+    private EstadoTransferencia validate(String divisa, Instant desde, Instant hasta, String estado) {
+        if (divisa == null || divisa.length() != 3) {
+            throw new BusinessException("Invalid currency: " + divisa);
+        }
+        if (desde == null || hasta == null) {
+            throw new BusinessException("Both 'desde' and 'hasta' are required");
+        }
+        if (!desde.isBefore(hasta)) {
+            throw new BusinessException("Invalid window: 'desde' must be before 'hasta'");
+        }
+        if (Duration.between(desde, hasta).compareTo(properties.maxWindow()) > 0) {
+            throw new BusinessException("Netting window must not exceed " + properties.maxWindow());
+        }
+        if (estado == null) {
+            return EstadoTransferencia.PENDIENTE;
+        }
+        try {
+            return EstadoTransferencia.valueOf(estado);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid transfer state: " + estado);
+        }
+    }
+
+    private Compensacion find(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Netting run not found with id: " + id));
+    }
+
+    private static BigDecimal toImporte(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    private static CompensacionResponse toResponse(Compensacion compensacion) {
+        return new CompensacionResponse(compensacion.getId(), compensacion.getDivisa(),
+                compensacion.getEstado().name(), compensacion.getDesde(), compensacion.getHasta(),
+                compensacion.getTransferencias(), compensacion.getCuentas(), compensacion.getPares(),
+                compensacion.getImporteBruto(), compensacion.getImporteNetoBilateral(),
+                compensacion.getImporteNetoMultilateral(), compensacion.getFechaCalculo(),
+                compensacion.getDuracionMs());
+    }
+
+    /**
+     * Computes the leaves {@code [from, to)}: leaves are computed one each, inner nodes fork the
+     * left half, compute the right half themselves and merge the two results.
+     */
+    private static final class SplitTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntFunction<T> leaf;
+        private final transient BinaryOperator<T> merge;
+        private final int from;
+        private final int to;
+
+        SplitTask(IntFunction<T> leaf, BinaryOperator<T> merge, int from, int to) {
+            this.leaf = leaf;
+            this.merge = merge;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from == 1) {
+                return leaf.apply(from);
+            }
+            int mid = (from + to) >>> 1;
+            SplitTask<T> left = new SplitTask<>(leaf, merge, from, mid);
+            left.fork();
+            T right = new SplitTask<>(leaf, merge, mid, to).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    /**
+     * Gross and net totals of one or more partitions. Pair tables are kept per partition because
+     * partitions never share a pair; account tables are merged because they do share accounts.
+     */
+    private static final class Netting {
+
+        private final List<PairFlowTable> pares;
+        private AccountFlowTable cuentas;
+        private long transferencias;
+        private long bruto;
+        private long netoBilateral;
+
+        Netting(List<PairFlowTable> pares, AccountFlowTable cuentas) {
+            this.pares = pares;
+            this.cuentas = cuentas;
+        }
+
+        Netting merge(Netting other) {
+            pares.addAll(other.pares);
+            AccountFlowTable smaller = cuentas.size() < other.cuentas.size() ? cuentas : other.cuentas;
+            cuentas = smaller == cuentas ? other.cuentas : cuentas;
+            cuentas.merge(smaller);
+            transferencias += other.transferencias;
+            bruto = Math.addExact(bruto, other.bruto);
+            netoBilateral = Math.addExact(netoBilateral, other.netoBilateral);
+            return this;
+        }
+
+        long pares() {
+            long total = 0;
+            for (PairFlowTable table : pares) {
+                total += table.size();
+            }
+            return total;
+        }
+
+        long netoMultilateral() {
+            long total = 0;
+            for (int slot = 0; slot < cuentas.capacity(); slot++) {
+                if (cuentas.isUsed(slot)) {
+                    total = Math.addExact(total, Math.max(0, cuentas.received(slot) - cuentas.paid(slot)));
+                }
+            }
+            return total;
+        }
+    }
+}
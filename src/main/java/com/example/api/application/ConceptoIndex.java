@@ -0,0 +1,125 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.InvertedTextIndex;
+import com.example.api.infrastructure.TextMatch;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * In-process full-text index of transfer concepts, used where the database has no text search
+ * column (H2 in development).
+ *
+ * <p>The index is built from the transfers table once and then follows committed transfer writes.
+ * Changes that commit while it is being built are held back and applied once the table has been
+ * read, so a concept read from the table never overwrites a newer one and a write is never lost;
+ * matches whose transfer no longer exists or no longer matches the filters are dropped by the
+ * caller when it reads the rows.</p>
+ */
+@Slf4j
+@Component
+public class ConceptoIndex {
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaSearchProperties properties;
+    private final InvertedTextIndex index = new InvertedTextIndex();
+    private final Object buildLock = new Object();
+    /** Changes committed during the build; {@code null} when no build is running. */
+    private List<TransferenciaChange> heldBack;
+    private volatile boolean active;
+
+    public ConceptoIndex(TransferenciaJdbcRepository jdbcRepository,
+                         PlatformTransactionManager transactionManager,
+                         TransferenciaSearchProperties properties) {
+        this.jdbcRepository = jdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /**
+     * Loads every stored concept into the index and starts following transfer writes.
+     */
+    public void build() {
+        long start = System.nanoTime();
+        synchronized (buildLock) {
+            heldBack = new ArrayList<>();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamConceptos(
+                    properties.indexFetchSize(), (concepto, id) -> index.put(id, concepto)));
+        } catch (RuntimeException ex) {
+            synchronized (buildLock) {
+                heldBack = null;
+            }
+            throw ex;
+        }
+        synchronized (buildLock) {
+            apply(heldBack);
+            heldBack = null;
+            active = true;
+        }
+        log.info("Indexed the concepts of {} transfers in {} ms", index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies the concept changes of a committed transfer write.
+     *
+     * @param event the transfers changed by the write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        synchronized (buildLock) {
+            if (heldBack != null) {
+                heldBack.addAll(event.changes());
+                return;
+            }
+        }
+        if (active) {
+            apply(event.changes());
+        }
+    }
+
+    private void apply(List<TransferenciaChange> changes) {
+        for (TransferenciaChange change : changes) {
+            TransferenciaSnapshot despues = change.despues();
+            if (despues == null) {
+                index.remove(change.antes().idTransferencia());
+            } else if (change.antes() == null || !Objects.equals(change.antes().concepto(), despues.concepto())) {
+                index.put(despues.idTransferencia(), despues.concepto());
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} once {@link #build()} has finished
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Returns the transfers whose concept contains every term of the query, most relevant first.
+     *
+     * @param consulta the query text
+     * @param after    the last match of the previous batch, or {@code null}
+     * @param limit    maximum number of matches
+     * @return the matches in descending {@code (score, id)} order
+     */
+    public List<TextMatch> search(String consulta, TextMatch after, int limit) {
+        return index.search(consulta, after, limit);
+    }
+}
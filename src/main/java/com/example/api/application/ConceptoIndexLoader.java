@@ -0,0 +1,39 @@
+package com.example.api.application;
+
+import com.example.api.infrastructure.DatabasePlatform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-process concept index once the application is ready, on databases without a
+ * text search column. PostgreSQL searches the {@code concepto_tsv} column instead.
+ */
+@Slf4j
+@Component
+public class ConceptoIndexLoader {
+
+    private final ConceptoIndex conceptoIndex;
+    private final DatabasePlatform platform;
+
+    public ConceptoIndexLoader(ConceptoIndex conceptoIndex, DatabasePlatform platform) {
+        this.conceptoIndex = conceptoIndex;
+        this.platform = platform;
+    }
+
+    /**
+     * Builds the index from the stored transfers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (platform == DatabasePlatform.POSTGRESQL) {
+            return;
+        }
+        try {
+            conceptoIndex.build();
+        } catch (RuntimeException ex) {
+            log.error("Concept index build failed; concept searches will fail", ex);
+        }
+    }
+}
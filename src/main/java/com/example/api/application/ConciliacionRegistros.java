@@ -0,0 +1,18 @@
+package com.example.api.application;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The stored records of a reconciliation, ready to be streamed.
+ */
+public interface ConciliacionRegistros {
+
+    /**
+     * Writes the records as NDJSON to the given stream.
+     *
+     * @param output the destination stream; it is flushed but not closed
+     * @throws IOException if reading the result files or writing fails
+     */
+    void writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.ConciliacionResponse;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for reconciling transfers against bank statement files.
+ */
+public interface ConciliacionService {
+
+    /**
+     * Reconciles a statement file against the transfers whose value date falls in a date range,
+     * by external reference, amount, date and currency, and stores the summary.
+     *
+     * @param desde    first value date, inclusive
+     * @param hasta    last value date, inclusive
+     * @param extracto the statement CSV file, UTF-8 encoded
+     * @return the run summary
+     */
+    ConciliacionResponse conciliar(LocalDate desde, LocalDate hasta, InputStream extracto);
+
+    /**
+     * Returns the summary of a stored reconciliation.
+     *
+     * @param id the run id
+     * @return the run summary
+     */
+    ConciliacionResponse getConciliacion(Long id);
+
+    /**
+     * Prepares the records of a reconciliation for streaming. Result files are kept on the node
+     * that ran the reconciliation, for the configured retention.
+     *
+     * @param id        the run id
+     * @param resultado only records with this result, or every record when {@code null}
+     * @return the records, not yet read
+     */
+    ConciliacionRegistros prepareRegistros(Long id, String resultado);
+}
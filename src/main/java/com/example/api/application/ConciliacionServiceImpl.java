@@ -0,0 +1,486 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaReconciliationProperties;
+import com.example.api.domain.Conciliacion;
+import com.example.api.dto.response.ConciliacionRegistroResponse;
+import com.example.api.dto.response.ConciliacionResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.ConciliacionRepository;
+import com.example.api.infrastructure.RegistroConciliacion;
+import com.example.api.infrastructure.SpillPartitions;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for reconciling transfers against bank statement files.
+ *
+ * <p>A reconciliation is a Grace hash join on the external reference. The statement is parsed as
+ * it arrives and, at the same time, the transfers of the range are streamed from a read-only
+ * cursor on another thread; each side is spilled into hash partitions on local disk. The partitions
+ * are then joined in parallel, one at a time per thread: the transfers of a partition are loaded
+ * into a hash table and probed with the statement lines of the same partition. Memory therefore
+ * depends on the size of the largest partition, not on the size of the file or the range.</p>
+ *
+ * <p>Every statement line and transfer is written to an NDJSON result file by category. Result
+ * files live on the node that ran the reconciliation and are deleted after the retention period;
+ * only the summary is stored in the database.</p>
+ */
+@Slf4j
+@Service
+public class ConciliacionServiceImpl implements ConciliacionService {
+
+    static final String METRIC_DURATION = "transferencias.reconciliation.duration";
+    static final String METRIC_LINES = "transferencias.reconciliation.lines";
+    static final String METRIC_RECORDS = "transferencias.reconciliation.records";
+    static final String METRIC_THROUGHPUT = "transferencias.reconciliation.throughput";
+
+    private static final String RUN_PREFIX = "run-";
+    private static final String RESULT_SUFFIX = ".ndjson";
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final ConciliacionRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaReconciliationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer duration;
+    private final AtomicLong throughput = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ConciliacionServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                   ConciliacionRepository repository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   TransferenciaReconciliationProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcRepository = jdbcRepository;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder(METRIC_DURATION)
+                .description("Time taken by reconciliations")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_THROUGHPUT, throughput, AtomicLong::get)
+                .description("Statement lines reconciled per second by the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConciliacionResponse conciliar(LocalDate desde, LocalDate hasta, InputStream extracto) {
+        validate(desde, hasta);
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A reconciliation is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            Path workDir = Files.createDirectories(Path.of(properties.workDir()));
+            purgeExpired(workDir);
+            Path run = Files.createTempDirectory(workDir, RUN_PREFIX);
+            Totales totales;
+            try {
+                totales = reconcile(desde, hasta, extracto, run);
+            } catch (RuntimeException ex) {
+                deleteRecursively(run);
+                throw ex;
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            Conciliacion conciliacion = repository.save(new Conciliacion(desde, hasta, totales.lineas,
+                    totales.get(ResultadoConciliacion.INVALIDA), totales.transferencias,
+                    totales.get(ResultadoConciliacion.CONCILIADA), totales.get(ResultadoConciliacion.DISCREPANTE),
+                    totales.get(ResultadoConciliacion.SOLO_EXTRACTO),
+                    totales.get(ResultadoConciliacion.SOLO_TRANSFERENCIA), Instant.now(), durationMs));
+            Files.move(run, workDir.resolve(String.valueOf(conciliacion.getId())));
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter(METRIC_LINES, "lado", "EXTRACTO").increment(totales.lineas);
+            meterRegistry.counter(METRIC_LINES, "lado", "TRANSFERENCIA").increment(totales.transferencias);
+            for (ResultadoConciliacion resultado : ResultadoConciliacion.values()) {
+                meterRegistry.counter(METRIC_RECORDS, "resultado", resultado.name())
+                        .increment(totales.get(resultado));
+            }
+            throughput.set(lineasPorSegundo(totales.lineas, durationMs));
+            log.info("Reconciled {} statement lines against {} transfers from {} to {} in {} ms: {}", totales.lineas,
+                    totales.transferencias, desde, hasta, durationMs, totales);
+            return toResponse(conciliacion);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConciliacionResponse getConciliacion(Long id) {
+        return toResponse(find(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConciliacionRegistros prepareRegistros(Long id, String resultado) {
+        ResultadoConciliacion filtro = parseResultado(resultado);
+        find(id);
+        Path directory = Path.of(properties.workDir()).resolve(String.valueOf(id));
+        if (!Files.isDirectory(directory)) {
+            throw new ResourceNotFoundException("Records of reconciliation " + id
+                    + " are not available on this node");
+        }
+        return output -> {
+            for (ResultadoConciliacion categoria : ResultadoConciliacion.values()) {
+                if (filtro == null || filtro == categoria) {
+                    for (Path file : resultFiles(directory, categoria)) {
+                        Files.copy(file, output);
+                    }
+                }
+            }
+            output.flush();
+        };
+    }
+
+    private Totales reconcile(LocalDate desde, LocalDate hasta, InputStream extracto, Path run) {
+        int minDia = Math.toIntExact(desde.toEpochDay());
+        int maxDia = Math.toIntExact(hasta.toEpochDay());
+        Instant from = desde.atStartOfDay().toInstant(ZoneOffset.UTC).minus(properties.lookback());
+        Instant to = hasta.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        ExecutorService pool = Executors.newFixedThreadPool(properties.joinThreads());
+        AtomicBoolean abort = new AtomicBoolean();
+        try (SpillPartitions extractos = new SpillPartitions(run, "extracto", properties.partitions(),
+                        properties.bufferSize());
+                SpillPartitions transferencias = new SpillPartitions(run, "transferencia", properties.partitions(),
+                        properties.bufferSize());
+                ExtractoCsvReader reader = new ExtractoCsvReader(
+                        new InputStreamReader(extracto, StandardCharsets.UTF_8));
+                ResultWriter invalidas = new ResultWriter(run, 0)) {
+            Future<?> lectura = pool.submit(() -> readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcRepository.streamReferencias(from, to, properties.fetchSize(),
+                            (id, referencia, importe, divisa, fecha) -> {
+                                if (abort.get()) {
+                                    throw new CancellationException("Reconciliation aborted");
+                                }
+                                transferencias.add(new RegistroConciliacion(id, referencia, importe,
+                                        dia(fecha), divisa));
+                            })));
+            Totales totales = new Totales();
+            try {
+                ExtractoCsvReader.Linea linea;
+                while ((linea = reader.next()) != null) {
+                    totales.lineas++;
+                    if (linea.registro() == null) {
+                        totales.increment(ResultadoConciliacion.INVALIDA);
+                        invalidas.write(ResultadoConciliacion.INVALIDA, new ConciliacionRegistroResponse(
+                                ResultadoConciliacion.INVALIDA.name(), linea.linea(), null, linea.referencia(),
+                                null, null, null, null, null, null, null, linea.error()));
+                    } else {
+                        extractos.add(linea.registro());
+                    }
+                }
+                extractos.finish();
+            } catch (RuntimeException ex) {
+                abort.set(true);
+                throw ex;
+            } finally {
+                await(lectura, abort.get());
+            }
+            transferencias.finish();
+            List<Future<Totales>> joins = new ArrayList<>(properties.partitions());
+            for (int p = 0; p < properties.partitions(); p++) {
+                int partition = p;
+                joins.add(pool.submit(() -> join(partition, extractos, transferencias, run, minDia, maxDia)));
+            }
+            for (Future<Totales> join : joins) {
+                totales.merge(await(join, false));
+            }
+            return totales;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Totales join(int partition, SpillPartitions extractos, SpillPartitions transferencias, Path run,
+                         int minDia, int maxDia) throws IOException {
+        Totales totales = new Totales();
+        try (ResultWriter writer = new ResultWriter(run, partition)) {
+            Map<String, RegistroConciliacion> porReferencia = new HashMap<>(
+                    (int) Math.min(Integer.MAX_VALUE / 2, transferencias.count(partition) * 4 / 3 + 1));
+            transferencias.forEach(partition, transferencia -> {
+                boolean enRango = transferencia.dia() >= minDia && transferencia.dia() <= maxDia;
+                if (enRango) {
+                    totales.transferencias++;
+                }
+                RegistroConciliacion previa = porReferencia.putIfAbsent(transferencia.referencia(), transferencia);
+                if (previa != null && enRango) {
+                    emit(writer, totales, ResultadoConciliacion.SOLO_TRANSFERENCIA, null, transferencia, null);
+                }
+            });
+            extractos.forEach(partition, extracto -> {
+                RegistroConciliacion transferencia = porReferencia.remove(extracto.referencia());
+                if (transferencia == null) {
+                    emit(writer, totales, ResultadoConciliacion.SOLO_EXTRACTO, extracto, null, null);
+                    return;
+                }
+                List<String> diferencias = diferencias(extracto, transferencia);
+                emit(writer, totales, diferencias.isEmpty() ? ResultadoConciliacion.CONCILIADA
+                        : ResultadoConciliacion.DISCREPANTE, extracto, transferencia, diferencias);
+            });
+            for (RegistroConciliacion transferencia : porReferencia.values()) {
+                if (transferencia.dia() >= minDia && transferencia.dia() <= maxDia) {
+                    emit(writer, totales, ResultadoConciliacion.SOLO_TRANSFERENCIA, null, transferencia, null);
+                }
+            }
+        }
+        return totales;
+    }
+
+    private static List<String> diferencias(RegistroConciliacion extracto, RegistroConciliacion transferencia) {
+        List<String> diferencias = new ArrayList<>(3);
+        if (extracto.importe() != transferencia.importe()) {
+            diferencias.add("importe");
+        }
+        if (extracto.dia() != transferencia.dia()) {
+            diferencias.add("fecha");
+        }
+        if (extracto.divisa() != null && !extracto.divisa().equals(transferencia.divisa())) {
+            diferencias.add("divisa");
+        }
+        return diferencias;
+    }
+
+    private static void emit(ResultWriter writer, Totales totales, ResultadoConciliacion resultado,
+                             RegistroConciliacion extracto, RegistroConciliacion transferencia,
+                             List<String> diferencias) {
+        totales.increment(resultado);
+        writer.write(resultado, new ConciliacionRegistroResponse(
+                resultado.name(),
+                extracto == null ? null : extracto.origen(),
+                transferencia == null ? null : transferencia.origen(),
+                extracto != null ? extracto.referencia() : transferencia.referencia(),
+                extracto == null ? null : BigDecimal.valueOf(extracto.importe(), 2),
+                transferencia == null ? null : BigDecimal.valueOf(transferencia.importe(), 2),
+                extracto == null ? null : LocalDate.ofEpochDay(extracto.dia()),
+                transferencia == null ? null : LocalDate.ofEpochDay(transferencia.dia()),
+                extracto == null ? null : extracto.divisa(),
+                transferencia == null ? null : transferencia.divisa(),
+                diferencias == null || diferencias.isEmpty() ? null : diferencias,
+                null));
+    }
+
+    private static <T> T await(Future<T> future, boolean aborted) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reconciling", ex);
+        } catch (ExecutionException ex) {
+            if (aborted) {
+                return null;
+            }
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Reconciliation failed", ex.getCause());
+        }
+    }
+
+    private void validate(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new BusinessException("Both 'desde' and 'hasta' are required");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new BusinessException("Invalid date range: 'desde' must not be after 'hasta'");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) + 1 > properties.maxDays()) {
+            throw new BusinessException("Reconciliation range must not exceed " + properties.maxDays() + " days");
+        }
+    }
+
+    private static ResultadoConciliacion parseResultado(String resultado) {
+        if (resultado == null) {
+            return null;
+        }
+        try {
+            return ResultadoConciliacion.valueOf(resultado);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid reconciliation result: " + resultado);
+        }
+    }
+
+    private void purgeExpired(Path workDir) throws IOException {
+        Instant limit = Instant.now().minus(properties.retention());
+        try (Stream<Path> entries = Files.list(workDir)) {
+            for (Path entry : entries.toList()) {
+                if (Files.isDirectory(entry) && Files.getLastModifiedTime(entry).toInstant().isBefore(limit)) {
+                    deleteRecursively(entry);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> entries = Files.walk(directory)) {
+            for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not delete reconciliation files in {}", directory, ex);
+        }
+    }
+
+    private static List<Path> resultFiles(Path directory, ResultadoConciliacion resultado) throws IOException {
+        String prefix = resultado.name() + "-";
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.map(file -> String.valueOf(file.getFileName()))
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(RESULT_SUFFIX))
+                    .sorted(Comparator.comparingInt(name -> Integer.parseInt(
+                            name.substring(prefix.length(), name.length() - RESULT_SUFFIX.length()))))
+                    .map(directory::resolve)
+                    .toList();
+        }
+    }
+
+    private static int dia(Instant fecha) {
+        return Math.toIntExact(Math.floorDiv(fecha.getEpochSecond(), SECONDS_PER_DAY));
+    }
+
+    private static long lineasPorSegundo(long lineas, long durationMs) {
+        return lineas * 1000 / Math.max(durationMs, 1);
+    }
+
+    private Conciliacion find(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation not found with id: " + id));
+    }
+
+    private static ConciliacionResponse toResponse(Conciliacion conciliacion) {
+        return new ConciliacionResponse(conciliacion.getId(), conciliacion.getDesde(), conciliacion.getHasta(),
+                conciliacion.getLineas(), conciliacion.getLineasInvalidas(), conciliacion.getTransferencias(),
+                conciliacion.getConciliadas(), conciliacion.getDiscrepantes(), conciliacion.getSoloExtracto(),
+                conciliacion.getSoloTransferencia(), conciliacion.getFechaCalculo(), conciliacion.getDuracionMs(),
+                lineasPorSegundo(conciliacion.getLineas(), conciliacion.getDuracionMs()));
+    }
+
+    /**
+     * Writes the records of one partition to one NDJSON file per result, opening each file on its
+     * first record.
+     */
+    private final class ResultWriter implements Closeable {
+
+        private final Path run;
+        private final int partition;
+        private final Map<ResultadoConciliacion, JsonGenerator> generators =
+                new EnumMap<>(ResultadoConciliacion.class);
+
+        ResultWriter(Path run, int partition) {
+            this.run = run;
+            this.partition = partition;
+        }
+
+        void write(ResultadoConciliacion resultado, ConciliacionRegistroResponse registro) {
+            try {
+                JsonGenerator generator = generators.get(resultado);
+                if (generator == null) {
+                    OutputStream output = new BufferedOutputStream(Files.newOutputStream(
+                            run.resolve(resultado.name() + "-" + partition + RESULT_SUFFIX)), properties.bufferSize());
+                    generator = objectMapper.getFactory().createGenerator(output);
+                    generators.put(resultado, generator);
+                }
+                ndjsonWriter.writeValue(generator, registro);
+                generator.writeRaw('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (JsonGenerator generator : generators.values()) {
+                generator.close();
+            }
+        }
+    }
+
+    /**
+     * Line, transfer and result counts of one or more partitions.
+     */
+    private static final class Totales {
+
+        private final long[] porResultado = new long[ResultadoConciliacion.values().length];
+        private long lineas;
+        private long transferencias;
+
+        void increment(ResultadoConciliacion resultado) {
+            porResultado[resultado.ordinal()]++;
+        }
+
+        long get(ResultadoConciliacion resultado) {
+            return porResultado[resultado.ordinal()];
+        }
+
+        void merge(Totales other) {
+            for (int i = 0; i < porResultado.length; i++) {
+                porResultado[i] += other.porResultado[i];
+            }
+            lineas += other.lineas;
+            transferencias += other.transferencias;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (ResultadoConciliacion resultado : ResultadoConciliacion.values()) {
+                text.append(text.isEmpty() ? "" : ", ").append(resultado).append('=').append(get(resultado));
+            }
+            return text.toString();
+        }
+    }
+}
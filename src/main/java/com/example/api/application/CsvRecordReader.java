@@ -0,0 +1,155 @@
+package com.example.api.application;
+
+import com.example.api.exception.BusinessException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming tokenizer for RFC 4180 CSV input.
+ *
+ * <p>Quoted fields may contain commas, doubled quotes and line breaks; blank lines are skipped. The
+ * input is read in large blocks into a private buffer, so no per-character call is made on the
+ * underlying reader.</p>
+ */
+final class CsvRecordReader implements Closeable {
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private int width = 8;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next non-blank record.
+     *
+     * @return its fields, or {@code null} at the end of the input
+     * @throws BusinessException if a record is too long or a quoted field is never closed
+     */
+    List<String> readRecord() {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                consumeLineBreak(c);
+                continue;
+            }
+            recordLine = line;
+            List<String> fields = readFields(c);
+            width = fields.size();
+            return fields;
+        }
+    }
+
+    /**
+     * @return the line on which the last record returned by {@link #readRecord()} started
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return the line the reader is currently on
+     */
+    long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readFields(int first) {
+        List<String> fields = new ArrayList<>(width);
+        field.setLength(0);
+        boolean quoted = false;
+        int length = 0;
+        int c = first;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new BusinessException("CSV record at line " + recordLine + " exceeds "
+                        + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new BusinessException("Unterminated quoted field in CSV record at line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || c == '\r' && peek() != '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void consumeLineBreak(int c) {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        line++;
+    }
+
+    private int peek() {
+        return position < limit || fill() ? buffer[position] : -1;
+    }
+
+    private int read() {
+        return position < limit || fill() ? buffer[position++] : -1;
+    }
+
+    private boolean fill() {
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the account registry once the application is ready and keeps it current on the configured
+ * interval. Until the first load completes, checks look accounts up in the database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.accounts", name = "enabled", havingValue = "true")
+public class CuentaRegistryRefresher {
+
+    private final CuentaRegistryService registryService;
+
+    public CuentaRegistryRefresher(CuentaRegistryService registryService) {
+        this.registryService = registryService;
+    }
+
+    /**
+     * Builds the registry from the whole account table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            registryService.reload();
+        } catch (RuntimeException ex) {
+            log.error("Account registry load failed; accounts will be looked up in the database", ex);
+        }
+    }
+
+    /**
+     * Applies the account changes made since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.accounts.refresh-interval}")
+    public void refresh() {
+        try {
+            registryService.refresh();
+        } catch (RuntimeException ex) {
+            log.error("Account registry refresh failed; it is retried on the next run", ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.CuentaRegistryResponse;
+
+/**
+ * Service interface for the in-memory registry of valid and blocked accounts.
+ */
+public interface CuentaRegistryService {
+
+    /**
+     * Checks that both accounts of a transfer exist, are not closed and are not blocked. Does
+     * nothing while the registry is disabled.
+     *
+     * @param cuentaOrigenId  the source account id
+     * @param cuentaDestinoId the destination account id
+     * @throws com.example.api.exception.BusinessException if either account may not be used
+     */
+    void validate(long cuentaOrigenId, long cuentaDestinoId);
+
+    /**
+     * Reads the accounts changed since the last read and applies them, or rebuilds the registry
+     * from the whole table when it has not been loaded yet or a full refresh is due.
+     *
+     * @return the state of the registry
+     * @throws com.example.api.exception.ConflictException if a refresh is already running
+     */
+    CuentaRegistryResponse refresh();
+
+    /**
+     * Rebuilds the registry from the whole account table, replacing the current one when done.
+     *
+     * @return the state of the new registry
+     * @throws com.example.api.exception.ConflictException if a refresh is already running
+     */
+    CuentaRegistryResponse reload();
+
+    /**
+     * Describes the current registry.
+     *
+     * @return its size, memory use and freshness
+     */
+    CuentaRegistryResponse describe();
+}
@@ -0,0 +1,239 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaAccountsProperties;
+import com.example.api.domain.EstadoCuenta;
+import com.example.api.dto.response.CuentaRegistryResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.CompressedBitmap;
+import com.example.api.infrastructure.CuentaJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Service implementation for the in-memory registry of valid and blocked accounts.
+ *
+ * <p>The registry holds two {@link CompressedBitmap}s: the accounts that exist and are not closed,
+ * and the blocked ones among them. A check looks each account up in both sets, with no database access or
+ * allocation. Both sets are published together as one immutable snapshot, so a check never sees one
+ * set updated and the other not.</p>
+ *
+ * <p>The registry is rebuilt by streaming the account table in id order, then kept current by reading
+ * only the rows whose {@code fecha_actualizacion} is at or after the newest change already seen,
+ * minus a configured overlap for changes committed late. Incremental updates copy only the
+ * containers they touch. Deleted rows leave no trace to read, so the registry is also rebuilt from
+ * the whole table periodically. Until the first build completes, checks look the two accounts up in
+ * the table.</p>
+ */
+@Slf4j
+@Service
+public class CuentaRegistryServiceImpl implements CuentaRegistryService {
+
+    static final String METRIC_REJECTED = "transferencias.cuentas.rejected";
+    static final String METRIC_SIZE = "transferencias.cuentas.registry.size";
+    static final String METRIC_MEMORY = "transferencias.cuentas.registry.memory";
+    static final String METRIC_REFRESH = "transferencias.cuentas.registry.refresh";
+
+    private final CuentaJdbcRepository jdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaAccountsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Registro registro;
+
+    @Autowired
+    public CuentaRegistryServiceImpl(CuentaJdbcRepository jdbcRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     TransferenciaAccountsProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this(jdbcRepository, transactionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    CuentaRegistryServiceImpl(CuentaJdbcRepository jdbcRepository,
+                              PlatformTransactionManager transactionManager,
+                              TransferenciaAccountsProperties properties,
+                              MeterRegistry meterRegistry,
+                              Clock clock) {
+        this.jdbcRepository = jdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Gauge.builder(METRIC_SIZE, this, service -> service.describe().validas())
+                .description("Accounts in the account registry")
+                .tag("estado", "valida")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, this, service -> service.describe().bloqueadas())
+                .description("Accounts in the account registry")
+                .tag("estado", "bloqueada")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MEMORY, this, service -> service.describe().memoryBytes())
+                .description("Estimated memory used by the account registry")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void validate(long cuentaOrigenId, long cuentaDestinoId) {
+        if (!properties.enabled()) {
+            return;
+        }
+        Registro current = registro;
+        if (current == null) {
+            Map<Long, EstadoCuenta> estados = jdbcRepository.findEstados(cuentaOrigenId, cuentaDestinoId);
+            check("Source", cuentaOrigenId, estados.get(cuentaOrigenId));
+            check("Destination", cuentaDestinoId, estados.get(cuentaDestinoId));
+            return;
+        }
+        check("Source", cuentaOrigenId, current.estado(cuentaOrigenId));
+        check("Destination", cuentaDestinoId, current.estado(cuentaDestinoId));
+    }
+
+    @Override
+    public CuentaRegistryResponse refresh() {
+        if (!properties.enabled()) {
+            return describe();
+        }
+        return guarded(() -> {
+            Registro current = registro;
+            if (current == null || !clock.instant().isBefore(current.recargadoEn().plus(
+                    properties.fullRefreshInterval()))) {
+                return load();
+            }
+            return update(current);
+        });
+    }
+
+    @Override
+    public CuentaRegistryResponse reload() {
+        if (!properties.enabled()) {
+            return describe();
+        }
+        return guarded(this::load);
+    }
+
+    @Override
+    public CuentaRegistryResponse describe() {
+        Registro current = registro;
+        if (current == null) {
+            return new CuentaRegistryResponse(properties.enabled(), false, 0, 0, 0, null, null);
+        }
+        return new CuentaRegistryResponse(properties.enabled(), true, current.validas().cardinality(),
+                current.bloqueadas().cardinality(),
+                current.validas().sizeInBytes() + current.bloqueadas().sizeInBytes(),
+                current.actualizadoHasta(), current.recargadoEn());
+    }
+
+    private CuentaRegistryResponse guarded(Supplier<CuentaRegistryResponse> task) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("An account registry refresh is already running");
+        }
+        try {
+            return task.get();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private CuentaRegistryResponse load() {
+        long start = System.nanoTime();
+        Instant recargadoEn = clock.instant();
+        CompressedBitmap.Builder validas = CompressedBitmap.builder();
+        CompressedBitmap.Builder bloqueadas = CompressedBitmap.builder();
+        Instant[] newest = {null};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamAll(properties.fetchSize(),
+                (id, estado, fecha) -> {
+                    if (estado != EstadoCuenta.CERRADA) {
+                        validas.add(id);
+                    }
+                    if (estado == EstadoCuenta.BLOQUEADA) {
+                        bloqueadas.add(id);
+                    }
+                    newest[0] = latest(newest[0], fecha);
+                }));
+        Registro loaded = new Registro(validas.build(), bloqueadas.build(), newest[0], recargadoEn);
+        registro = loaded;
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer(METRIC_REFRESH, "tipo", "completa").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Loaded account registry: {} valid accounts, {} blocked, {} bytes in {} ms",
+                loaded.validas().cardinality(), loaded.bloqueadas().cardinality(),
+                loaded.validas().sizeInBytes() + loaded.bloqueadas().sizeInBytes(), elapsed / 1_000_000);
+        return describe();
+    }
+
+    private CuentaRegistryResponse update(Registro current) {
+        long start = System.nanoTime();
+        LongStream.Builder validasAdded = LongStream.builder();
+        LongStream.Builder validasRemoved = LongStream.builder();
+        LongStream.Builder bloqueadasAdded = LongStream.builder();
+        LongStream.Builder bloqueadasRemoved = LongStream.builder();
+        Instant[] newest = {current.actualizadoHasta()};
+        long[] cambios = {0};
+        Instant desde = current.actualizadoHasta() == null ? Instant.EPOCH
+                : current.actualizadoHasta().minus(properties.overlap());
+        readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamChangedSince(desde,
+                properties.fetchSize(), (id, estado, fecha) -> {
+                    (estado == EstadoCuenta.CERRADA ? validasRemoved : validasAdded).add(id);
+                    (estado == EstadoCuenta.BLOQUEADA ? bloqueadasAdded : bloqueadasRemoved).add(id);
+                    newest[0] = latest(newest[0], fecha);
+                    cambios[0]++;
+                }));
+        registro = new Registro(
+                current.validas().with(validasAdded.build().toArray(), validasRemoved.build().toArray()),
+                current.bloqueadas().with(bloqueadasAdded.build().toArray(), bloqueadasRemoved.build().toArray()),
+                newest[0], current.recargadoEn());
+        meterRegistry.timer(METRIC_REFRESH, "tipo", "incremental")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Applied {} account changes since {} to the account registry", cambios[0], desde);
+        return describe();
+    }
+
+    private void check(String rol, long cuentaId, EstadoCuenta estado) {
+        if (estado == null || estado == EstadoCuenta.CERRADA) {
+            meterRegistry.counter(METRIC_REJECTED, "motivo", "inexistente").increment();
+            throw new BusinessException(rol + " account does not exist or is closed: " + cuentaId);
+        }
+        if (estado == EstadoCuenta.BLOQUEADA) {
+            meterRegistry.counter(METRIC_REJECTED, "motivo", "bloqueada").increment();
+            throw new BusinessException(rol + " account is blocked: " + cuentaId);
+        }
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    /**
+     * One consistent view of the account sets.
+     *
+     * @param validas          accounts that exist and are not closed
+     * @param bloqueadas       blocked accounts, a subset of {@code validas}
+     * @param actualizadoHasta time of the newest change read, or {@code null} if the table was empty
+     * @param recargadoEn      when the sets were last built from the whole table
+     */
+    private record Registro(CompressedBitmap validas, CompressedBitmap bloqueadas, Instant actualizadoHasta,
+                            Instant recargadoEn) {
+
+        EstadoCuenta estado(long cuentaId) {
+            if (!validas.contains(cuentaId)) {
+                return null;
+            }
+            return bloqueadas.contains(cuentaId) ? EstadoCuenta.BLOQUEADA : EstadoCuenta.ACTIVA;
+        }
+    }
+}
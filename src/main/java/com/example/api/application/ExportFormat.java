@@ -0,0 +1,35 @@
+package com.example.api.application;
+
+/**
+ * Wire formats supported by transfer exports.
+ */
+public enum ExportFormat {
+
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String format;
+    private final String contentType;
+
+    ExportFormat(String format, String contentType) {
+        this.format = format;
+        this.contentType = contentType;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromString(String format) {
+        for (ExportFormat f : values()) {
+            if (f.format.equalsIgnoreCase(format)) {
+                return f;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+/**
+ * Generates the previous month's account statements on a schedule. Statement files are written to
+ * the local disk of the node that runs the batch, so it should be enabled on one node only.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.statements", name = "enabled", havingValue = "true")
+public class ExtractoBatchScheduler {
+
+    private final ExtractoBatchService service;
+    private final Clock clock;
+
+    @Autowired
+    public ExtractoBatchScheduler(ExtractoBatchService service) {
+        this(service, Clock.systemUTC());
+    }
+
+    ExtractoBatchScheduler(ExtractoBatchService service, Clock clock) {
+        this.service = service;
+        this.clock = clock;
+    }
+
+    /**
+     * Writes last month's statements, resuming the run if an earlier attempt failed.
+     */
+    @Scheduled(cron = "${transferencias.statements.cron}", zone = "UTC")
+    public void run() {
+        YearMonth periodo = YearMonth.now(clock).minusMonths(1);
+        try {
+            service.generar(periodo);
+        } catch (RuntimeException ex) {
+            log.error("Statement run for {} failed; it resumes on the next attempt", periodo, ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.ExtractoBatchResponse;
+
+import java.time.YearMonth;
+
+/**
+ * Service interface for the month-end account statement batch.
+ */
+public interface ExtractoBatchService {
+
+    /**
+     * Writes the statement of every account with completed transfers for a month that has ended.
+     * Running it again for the same month resumes an interrupted run from its checkpoints; a
+     * finished run is not repeated.
+     *
+     * @param periodo the month
+     * @return a summary of the run
+     */
+    ExtractoBatchResponse generar(YearMonth periodo);
+}
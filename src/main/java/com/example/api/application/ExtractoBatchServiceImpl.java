@@ -0,0 +1,278 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaStatementProperties;
+import com.example.api.dto.response.ExtractoBatchResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoCerrado;
+import com.example.api.infrastructure.SaldoCierreJdbcRepository;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation for the month-end account statement batch.
+ *
+ * <p>The accounts are split into contiguous id ranges. Each range is read with one ordered scan of
+ * its opening balances and its completed movements of the month, so the opening balance, the
+ * movements and the closing balance of every account come out of the same pass, and written as one
+ * gzip-compressed file per account. Ranges share no accounts and run in parallel on their own
+ * workers.</p>
+ *
+ * <p>The closing balances of every account are stored as the next month's opening balances. A month
+ * opens from them once the previous month's run has completed; otherwise, as on the first run, the
+ * opening balances are summed from the whole history of each range.</p>
+ *
+ * <p>The run of a month lives in its own directory: a plan file fixing the ranges on the first run,
+ * one subdirectory of statements per range and one checkpoint file per range. A range records the
+ * last finished account every few accounts and when it completes, so running the same month again
+ * after a failure skips finished ranges and resumes the others after their last checkpoint.</p>
+ */
+@Slf4j
+@Service
+public class ExtractoBatchServiceImpl implements ExtractoBatchService {
+
+    static final String METRIC_DURATION = "transferencias.statements.duration";
+    static final String METRIC_ACCOUNTS = "transferencias.statements.accounts";
+    static final String METRIC_MOVEMENTS = "transferencias.statements.movements";
+
+    static final String PLAN_FILE = "plan";
+    static final String CHECKPOINT_PREFIX = "checkpoint-";
+    static final String SALDOS_FILE = "saldos";
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final SaldoCierreJdbcRepository saldoCierreRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final TransferenciaStatementProperties properties;
+    private final Clock clock;
+    private final Timer duration;
+    private final Counter accounts;
+    private final Counter movements;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public ExtractoBatchServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                    SaldoCierreJdbcRepository saldoCierreRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    TransferenciaStatementProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this(jdbcRepository, saldoCierreRepository, transactionManager, properties, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    ExtractoBatchServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                             SaldoCierreJdbcRepository saldoCierreRepository,
+                             PlatformTransactionManager transactionManager,
+                             TransferenciaStatementProperties properties,
+                             MeterRegistry meterRegistry,
+                             Clock clock) {
+        this.jdbcRepository = jdbcRepository;
+        this.saldoCierreRepository = saldoCierreRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Closing balances are stored while a range is still being read, on a second connection.
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.clock = clock;
+        this.duration = Timer.builder(METRIC_DURATION)
+                .description("Time taken by statement runs")
+                .register(meterRegistry);
+        this.accounts = Counter.builder(METRIC_ACCOUNTS)
+                .description("Account statements written by runs that completed")
+                .register(meterRegistry);
+        this.movements = Counter.builder(METRIC_MOVEMENTS)
+                .description("Movements written to account statements by runs that completed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ExtractoBatchResponse generar(YearMonth periodo) {
+        if (periodo == null) {
+            throw new BusinessException("'periodo' is required");
+        }
+        if (!periodo.isBefore(YearMonth.now(clock))) {
+            throw new BusinessException("Statement period has not ended yet: " + periodo);
+        }
+        if (properties.workDir() == null) {
+            throw new BusinessException("Account statements are not configured on this node");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A statement run is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            Path root = Path.of(properties.workDir());
+            Path directory = Files.createDirectories(root.resolve(periodo.toString()));
+            LocalDate apertura = periodo.atDay(1);
+            LocalDate cierre = periodo.plusMonths(1).atDay(1);
+            boolean saldosCierre = Files.exists(root.resolve(periodo.minusMonths(1).toString()).resolve(SALDOS_FILE));
+            List<long[]> plan = plan(directory, saldosCierre ? apertura : null);
+            List<Progreso> progresos = run(directory, plan, apertura, cierre, saldosCierre);
+            writeTransaction.executeWithoutResult(status -> saldoCierreRepository.deleteBefore(apertura));
+            Files.writeString(directory.resolve(SALDOS_FILE), cierre + "\n", StandardCharsets.US_ASCII);
+            int reanudadas = 0;
+            long cuentas = 0;
+            long movimientos = 0;
+            long nuevasCuentas = 0;
+            long nuevosMovimientos = 0;
+            for (Progreso progreso : progresos) {
+                if (progreso.previo().ultimaCuenta() >= 0) {
+                    reanudadas++;
+                }
+                cuentas += progreso.actual().cuentas();
+                movimientos += progreso.actual().movimientos();
+                nuevasCuentas += progreso.actual().cuentas() - progreso.previo().cuentas();
+                nuevosMovimientos += progreso.actual().movimientos() - progreso.previo().movimientos();
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            accounts.increment(nuevasCuentas);
+            movements.increment(nuevosMovimientos);
+            log.info("Wrote {} statements with {} movements for {} in {} ranges ({} resumed) in {} ms",
+                    nuevasCuentas, nuevosMovimientos, periodo, plan.size(), reanudadas, durationMs);
+            return new ExtractoBatchResponse(periodo, plan.size(), reanudadas, cuentas, movimientos, durationMs);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<Progreso> run(Path directory, List<long[]> plan, LocalDate apertura, LocalDate cierre,
+                               boolean saldosCierre) {
+        if (plan.isEmpty()) {
+            return List.of();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(properties.threads(), plan.size()),
+                new CustomizableThreadFactory("extracto-batch-"));
+        try {
+            List<CompletableFuture<Progreso>> futures = new ArrayList<>(plan.size());
+            for (int partition = 0; partition < plan.size(); partition++) {
+                int current = partition;
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> runPartition(directory, current, plan.get(current), apertura, cierre, saldosCierre),
+                        executor));
+            }
+            // Let every range reach its checkpoint before reporting a failure, so that a retry
+            // only repeats the ranges that failed.
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Progreso runPartition(Path directory, int partition, long[] range, LocalDate apertura, LocalDate cierre,
+                                  boolean saldosCierre) {
+        Path checkpoint = directory.resolve(CHECKPOINT_PREFIX + partition);
+        ExtractoCheckpoint previo = ExtractoCheckpoint.read(checkpoint);
+        if (previo.completa()) {
+            return new Progreso(previo, previo);
+        }
+        Path files;
+        try {
+            files = Files.createDirectories(directory.resolve(String.valueOf(partition)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        long desde = Math.max(range[0], previo.ultimaCuenta() + 1);
+        Instant inicio = apertura.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant fin = cierre.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Consumer<List<SaldoCerrado>> cierres = saldos -> writeTransaction.executeWithoutResult(
+                status -> saldoCierreRepository.saveAll(cierre, saldos));
+        ExtractoPartitionWriter writer = new ExtractoPartitionWriter(files, inicio, fin, properties.bufferSize(),
+                properties.checkpointInterval(), previo, progreso -> progreso.write(checkpoint), cierres);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamMovimientos(desde, range[1],
+                    inicio, fin, saldosCierre, properties.fetchSize(), writer));
+        } catch (RuntimeException ex) {
+            writer.abort();
+            log.error("Statement range {} [{}, {}) failed; it resumes from its last checkpoint", partition,
+                    range[0], range[1], ex);
+            throw ex;
+        }
+        ExtractoCheckpoint actual = writer.finish(range[1] - 1);
+        actual.write(checkpoint);
+        return new Progreso(previo, actual);
+    }
+
+    /**
+     * Reads the account ranges of the run, or splits the current account id span into ranges of
+     * equal width and records them, so that a resumed run uses the same ranges as the first one.
+     * The span covers the accounts with transfers and, given {@code apertura}, those with a closing
+     * balance taken on that day.
+     */
+    private List<long[]> plan(Path directory, LocalDate apertura) throws IOException {
+        Path file = directory.resolve(PLAN_FILE);
+        if (Files.exists(file)) {
+            List<long[]> plan = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+                int comma = line.indexOf(',');
+                plan.add(new long[] {Long.parseLong(line.substring(0, comma)),
+                        Long.parseLong(line.substring(comma + 1))});
+            }
+            return plan;
+        }
+        long[] span = readOnlyTransaction.execute(status -> {
+            long[] cuentas = jdbcRepository.findCuentaRange();
+            long[] saldos = apertura == null ? null : saldoCierreRepository.findCuentaRange(apertura);
+            if (cuentas == null || saldos == null) {
+                return cuentas == null ? saldos : cuentas;
+            }
+            return new long[] {Math.min(cuentas[0], saldos[0]), Math.max(cuentas[1], saldos[1])};
+        });
+        List<long[]> plan = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        if (span != null) {
+            long width = (span[1] - span[0] + properties.partitions()) / properties.partitions();
+            for (long desde = span[0]; desde <= span[1]; desde += width) {
+                long hasta = Math.min(desde + width, span[1] + 1);
+                plan.add(new long[] {desde, hasta});
+                content.append(desde).append(',').append(hasta).append('\n');
+            }
+        }
+        Path tmp = directory.resolve(PLAN_FILE + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.US_ASCII);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return plan;
+    }
+
+    private record Progreso(ExtractoCheckpoint previo, ExtractoCheckpoint actual) {
+    }
+}
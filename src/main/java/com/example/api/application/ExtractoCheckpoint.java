@@ -0,0 +1,66 @@
+package com.example.api.application;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Progress of one account range of a statement run, kept next to the statement files so that an
+ * interrupted run resumes after the last account whose statement was fully written.
+ *
+ * @param ultimaCuenta last account whose statement is complete, or {@code -1} if none is
+ * @param cuentas      statements written in the range so far
+ * @param movimientos  movements written in the range so far
+ * @param completa     whether the whole range has been written
+ */
+record ExtractoCheckpoint(long ultimaCuenta, long cuentas, long movimientos, boolean completa) {
+
+    static final ExtractoCheckpoint INICIAL = new ExtractoCheckpoint(-1, 0, 0, false);
+
+    /**
+     * Reads a checkpoint file.
+     *
+     * @param file the checkpoint file
+     * @return the checkpoint, or {@link #INICIAL} if the file does not exist
+     */
+    static ExtractoCheckpoint read(Path file) {
+        if (!Files.exists(file)) {
+            return INICIAL;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+            if (lines.size() != 1) {
+                throw new IllegalStateException("Corrupt statement checkpoint " + file);
+            }
+            String[] fields = lines.get(0).split(",");
+            if (fields.length != 4) {
+                throw new IllegalStateException("Corrupt statement checkpoint " + file);
+            }
+            return new ExtractoCheckpoint(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), Boolean.parseBoolean(fields[3]));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes the checkpoint to a temporary file and moves it over the previous one, so that a crash
+     * leaves either the old or the new checkpoint.
+     *
+     * @param file the checkpoint file
+     */
+    void write(Path file) {
+        Path tmp = file.resolveSibling(String.valueOf(file.getFileName()) + ".tmp");
+        try {
+            Files.writeString(tmp, ultimaCuenta + "," + cuentas + "," + movimientos + "," + completa + "\n",
+                    StandardCharsets.US_ASCII);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
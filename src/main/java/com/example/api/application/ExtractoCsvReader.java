@@ -0,0 +1,149 @@
+package com.example.api.application;
+
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.RegistroConciliacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming reader for bank statement CSV files (RFC 4180, UTF-8).
+ *
+ * <p>The first record is a header naming the columns, in any order: {@code referenciaExterna},
+ * {@code importe} and {@code fecha} (an ISO date) are required, {@code divisa} is optional. Any
+ * other column is ignored. A line that cannot be parsed is returned with the reason instead of a
+ * record, so that one bad line does not stop the reconciliation.</p>
+ */
+final class ExtractoCsvReader implements Closeable {
+
+    static final int MAX_REFERENCIA_LENGTH = 100;
+
+    private static final List<String> COLUMNS = List.of("referenciaExterna", "importe", "fecha", "divisa");
+    private static final int REQUIRED_COLUMNS = 3;
+    private static final int REFERENCIA = 0;
+    private static final int IMPORTE = 1;
+    private static final int FECHA = 2;
+    private static final int DIVISA = 3;
+
+    private final CsvRecordReader reader;
+    private final int[] positions = new int[COLUMNS.size()];
+    private final int width;
+
+    ExtractoCsvReader(Reader reader) {
+        this.reader = new CsvRecordReader(reader);
+        List<String> header = this.reader.readRecord();
+        if (header == null) {
+            throw new BusinessException("The statement file is empty");
+        }
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            int column = COLUMNS.indexOf(header.get(i).strip());
+            if (column < 0) {
+                continue;
+            }
+            if (positions[column] >= 0) {
+                throw new BusinessException("Duplicate statement column: " + COLUMNS.get(column));
+            }
+            positions[column] = i;
+        }
+        for (int column = 0; column < REQUIRED_COLUMNS; column++) {
+            if (positions[column] < 0) {
+                throw new BusinessException("Missing statement column: " + COLUMNS.get(column));
+            }
+        }
+        this.width = header.size();
+    }
+
+    /**
+     * Reads the next statement line.
+     *
+     * @return the line, or {@code null} at the end of the file
+     */
+    Linea next() {
+        List<String> fields = reader.readRecord();
+        if (fields == null) {
+            return null;
+        }
+        long line = reader.recordLine();
+        String referencia = field(fields, REFERENCIA);
+        if (fields.size() != width) {
+            return Linea.failed(line, referencia, "Expected " + width + " fields, found " + fields.size());
+        }
+        if (referencia == null) {
+            return Linea.failed(line, null, "referenciaExterna: missing");
+        }
+        if (referencia.length() > MAX_REFERENCIA_LENGTH) {
+            return Linea.failed(line, null, "referenciaExterna: longer than " + MAX_REFERENCIA_LENGTH
+                    + " characters");
+        }
+        String divisa = field(fields, DIVISA);
+        if (divisa != null && divisa.length() != 3) {
+            return Linea.failed(line, referencia, "divisa: invalid currency '" + divisa + "'");
+        }
+        try {
+            return new Linea(line, referencia, new RegistroConciliacion(line, referencia, parseImporte(fields),
+                    parseFecha(fields), divisa), null);
+        } catch (IllegalArgumentException ex) {
+            return Linea.failed(line, referencia, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        if (position < 0 || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private long parseImporte(List<String> fields) {
+        String value = field(fields, IMPORTE);
+        if (value == null) {
+            throw new IllegalArgumentException("importe: missing");
+        }
+        try {
+            return new BigDecimal(value).movePointRight(2).longValueExact();
+        } catch (ArithmeticException | NumberFormatException ex) {
+            throw new IllegalArgumentException("importe: invalid amount '" + value + "'");
+        }
+    }
+
+    private int parseFecha(List<String> fields) {
+        String value = field(fields, FECHA);
+        if (value == null) {
+            throw new IllegalArgumentException("fecha: missing");
+        }
+        try {
+            return Math.toIntExact(LocalDate.parse(value).toEpochDay());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("fecha: invalid date '" + value + "'");
+        }
+    }
+
+    /**
+     * One statement line: either a parsed record or the reason it could not be parsed.
+     *
+     * @param linea      line number the record starts on
+     * @param referencia the line's external reference, if it could be read
+     * @param registro   the parsed record, or {@code null}
+     * @param error      why the line was rejected, or {@code null}
+     */
+    record Linea(long linea, String referencia, RegistroConciliacion registro, String error) {
+
+        static Linea failed(long linea, String referencia, String error) {
+            return new Linea(linea, referencia, null, error);
+        }
+    }
+}
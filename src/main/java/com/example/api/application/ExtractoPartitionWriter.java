@@ -0,0 +1,210 @@
+package com.example.api.application;
+
+import com.example.api.infrastructure.SaldoCerrado;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the statements of one account range from its ordered movement stream.
+ *
+ * <p>Each account arrives as its opening balances followed by its movements of the period in time
+ * order, so it is handled in a single pass and only its running balances are held in memory.
+ * Movements are written as they arrive, each with the balance after it. When the stream moves to
+ * the next account, the closing balances are written and the statement file is closed. Accounts
+ * with an opening balance but no movements still get a statement with their opening and closing
+ * balances.</p>
+ *
+ * <p>The closing balances are also collected and handed over before each checkpoint, so that they
+ * are stored before the accounts they belong to are recorded as done.</p>
+ *
+ * <p>Each statement is a gzip-compressed CSV file named after the account:</p>
+ * <pre>
+ * tipo,fecha,idTransferencia,contraparte,divisa,importe,saldo
+ * APERTURA,2024-03-01T00:00:00Z,,,EUR,,150.00
+ * MOVIMIENTO,2024-03-04T10:15:30Z,42,7,EUR,-20.00,130.00
+ * CIERRE,2024-04-01T00:00:00Z,,,EUR,-20.00,130.00
+ * </pre>
+ * <p>The amount of a closing line is the net movement of the period.</p>
+ */
+@Slf4j
+final class ExtractoPartitionWriter implements TransferenciaJdbcRepository.MovimientoConsumer {
+
+    static final String HEADER = "tipo,fecha,idTransferencia,contraparte,divisa,importe,saldo\n";
+    static final String SUFFIX = ".csv.gz";
+
+    private static final int APERTURA = 0;
+    private static final int SALDO = 1;
+    private static final int ESCRITA = 2;
+
+    private final Path directory;
+    private final Instant inicio;
+    private final Instant fin;
+    private final int bufferSize;
+    private final int checkpointInterval;
+    private final Consumer<ExtractoCheckpoint> checkpoints;
+    private final Consumer<List<SaldoCerrado>> cierres;
+    private final List<SaldoCerrado> pendientesCierre = new ArrayList<>();
+    private final Map<String, long[]> saldos = new TreeMap<>();
+    private long cuenta = -1;
+    private Writer writer;
+    private long cuentas;
+    private long movimientos;
+    private int pendientes;
+
+    /**
+     * @param directory          where the statement files are written; it must exist
+     * @param inicio             start of the period, inclusive
+     * @param fin                end of the period, exclusive
+     * @param bufferSize         write buffer of each file, in bytes
+     * @param checkpointInterval accounts written between two checkpoints
+     * @param desde              progress already recorded for the range
+     * @param checkpoints        receives the progress every {@code checkpointInterval} accounts
+     * @param cierres            receives the closing balances of the accounts written since the last
+     *                           checkpoint, before the checkpoint
+     */
+    ExtractoPartitionWriter(Path directory, Instant inicio, Instant fin, int bufferSize, int checkpointInterval,
+                            ExtractoCheckpoint desde, Consumer<ExtractoCheckpoint> checkpoints,
+                            Consumer<List<SaldoCerrado>> cierres) {
+        this.directory = directory;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.bufferSize = bufferSize;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = checkpoints;
+        this.cierres = cierres;
+        this.cuentas = desde.cuentas();
+        this.movimientos = desde.movimientos();
+    }
+
+    @Override
+    public void apertura(long cuentaId, String divisa, long importe) {
+        long[] saldo = saldo(cuentaId, divisa);
+        saldo[SALDO] = Math.addExact(saldo[SALDO], importe);
+        saldo[APERTURA] = saldo[SALDO];
+    }
+
+    @Override
+    public void accept(long cuentaId, long idTransferencia, long contraparte, long importe, String divisa,
+                       Instant fecha) {
+        long[] saldo = saldo(cuentaId, divisa);
+        saldo[SALDO] = Math.addExact(saldo[SALDO], importe);
+        try {
+            if (writer == null) {
+                open();
+            } else if (saldo[ESCRITA] == 0) {
+                writeApertura(divisa, saldo);
+            }
+            writer.write("MOVIMIENTO," + fecha + "," + idTransferencia + "," + contraparte + "," + divisa + ","
+                    + BigDecimal.valueOf(importe, 2) + "," + BigDecimal.valueOf(saldo[SALDO], 2) + "\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        movimientos++;
+    }
+
+    /**
+     * Writes the statement of the last account and returns the final progress of the range.
+     *
+     * @param ultimaCuenta the last account of the range, recorded as done
+     * @return the completed checkpoint
+     */
+    ExtractoCheckpoint finish(long ultimaCuenta) {
+        finishCuenta();
+        flushCierres();
+        return new ExtractoCheckpoint(ultimaCuenta, cuentas, movimientos, true);
+    }
+
+    /**
+     * Closes the statement being written, if any, without completing it.
+     */
+    void abort() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            log.warn("Could not close the statement of account {}; it is rewritten on resume", cuenta, ex);
+        } finally {
+            writer = null;
+        }
+    }
+
+    private void finishCuenta() {
+        if (cuenta < 0) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                open();
+            }
+            for (Map.Entry<String, long[]> entry : saldos.entrySet()) {
+                long[] saldo = entry.getValue();
+                writer.write("CIERRE," + fin + ",,," + entry.getKey() + ","
+                        + BigDecimal.valueOf(saldo[SALDO] - saldo[APERTURA], 2) + ","
+                        + BigDecimal.valueOf(saldo[SALDO], 2) + "\n");
+                pendientesCierre.add(new SaldoCerrado(cuenta, entry.getKey(), saldo[SALDO]));
+            }
+            writer.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            writer = null;
+        }
+        cuentas++;
+        saldos.clear();
+        if (++pendientes >= checkpointInterval) {
+            pendientes = 0;
+            flushCierres();
+            checkpoints.accept(new ExtractoCheckpoint(cuenta, cuentas, movimientos, false));
+        }
+        cuenta = -1;
+    }
+
+    private long[] saldo(long cuentaId, String divisa) {
+        if (cuentaId != cuenta) {
+            finishCuenta();
+            cuenta = cuentaId;
+        }
+        return saldos.computeIfAbsent(divisa, key -> new long[3]);
+    }
+
+    private void flushCierres() {
+        if (!pendientesCierre.isEmpty()) {
+            cierres.accept(List.copyOf(pendientesCierre));
+            pendientesCierre.clear();
+        }
+    }
+
+    private void open() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(directory.resolve(cuenta + SUFFIX)), bufferSize), StandardCharsets.UTF_8),
+                bufferSize);
+        writer.write(HEADER);
+        for (Map.Entry<String, long[]> entry : saldos.entrySet()) {
+            writeApertura(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void writeApertura(String divisa, long[] saldo) throws IOException {
+        saldo[ESCRITA] = 1;
+        writer.write("APERTURA," + inicio + ",,," + divisa + ",," + BigDecimal.valueOf(saldo[APERTURA], 2) + "\n");
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.GrafoResponse;
+
+import java.time.Instant;
+
+/**
+ * Service interface for analysing the graph of money flows between accounts.
+ */
+public interface GrafoService {
+
+    /**
+     * Builds the graph of the transfers of a time window, currency and state, and reports its
+     * strongly connected components, its short cycles and the accounts with unusually many distinct
+     * counterparties.
+     *
+     * @param divisa   currency of the transfers
+     * @param desde    window start, inclusive
+     * @param hasta    window end, exclusive
+     * @param estado   state of the transfers, {@code COMPLETADA} when {@code null}
+     * @param longitud most accounts on a reported cycle, or {@code null} for the default
+     * @param limit    most entries per list, or {@code null} for the default
+     * @return the analysis
+     */
+    GrafoResponse analizar(String divisa, Instant desde, Instant hasta, String estado, Integer longitud,
+                           Integer limit);
+}
@@ -0,0 +1,338 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaGraphProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.response.GrafoCicloResponse;
+import com.example.api.dto.response.GrafoComponenteResponse;
+import com.example.api.dto.response.GrafoCuentaResponse;
+import com.example.api.dto.response.GrafoFanResponse;
+import com.example.api.dto.response.GrafoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.CycleSearch;
+import com.example.api.infrastructure.StrongComponents;
+import com.example.api.infrastructure.TransferGraph;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaIdRange;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Service implementation for the transfer graph analysis.
+ *
+ * <p>The window is read like a netting run, as transfer id slices streamed in parallel through
+ * read-only cursors, each into its own primitive transfer buffer. The buffers are merged and
+ * turned into a {@link TransferGraph} in compressed sparse row form, on which the strongly connected
+ * components and the bounded-length cycles are computed in parallel. Nothing is stored: the graph is
+ * discarded once the response is built, and only one analysis runs at a time since the graph can take
+ * a large share of the heap.</p>
+ *
+ * <p>Fan-out is the number of distinct accounts an account paid, fan-in the number that paid it.
+ * An account is reported when its count is more than {@code fan-score} standard deviations above the
+ * mean of the accounts that paid, or were paid, at all.</p>
+ */
+@Slf4j
+@Service
+public class GrafoServiceImpl implements GrafoService {
+
+    static final String METRIC_DURATION = "transferencias.graph.duration";
+    static final String METRIC_TRANSFERS = "transferencias.graph.transferencias";
+
+    private final TransferenciaJdbcRepository transferenciaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaGraphProperties properties;
+    private final Timer duration;
+    private final Counter transfers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public GrafoServiceImpl(TransferenciaJdbcRepository transferenciaRepository,
+                            PlatformTransactionManager transactionManager,
+                            TransferenciaGraphProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.transferenciaRepository = transferenciaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.duration = Timer.builder(METRIC_DURATION)
+                .description("Time taken by transfer graph analyses")
+                .register(meterRegistry);
+        this.transfers = Counter.builder(METRIC_TRANSFERS)
+                .description("Transfers loaded into transfer graphs")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GrafoResponse analizar(String divisa, Instant desde, Instant hasta, String estado, Integer longitud,
+                                  Integer limit) {
+        EstadoTransferencia estadoTransferencia = validate(divisa, desde, hasta, estado);
+        int maxLength = resolve("longitud", longitud, CycleSearch.MIN_LENGTH, properties.cycleLength(),
+                properties.maxCycleLength());
+        int size = resolve("limit", limit, 1, properties.defaultLimit(), properties.maxLimit());
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A transfer graph analysis is already in progress");
+        }
+        ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+        try {
+            long start = System.nanoTime();
+            TransferGraph graph = load(new TransferenciaCriteria(null, null, desde, hasta, estadoTransferencia,
+                    divisa)).build(pool);
+            long loadedMs = (System.nanoTime() - start) / 1_000_000;
+            StrongComponents components = StrongComponents.of(graph, pool);
+            CycleSearch.Cycles cycles = CycleSearch.find(graph, components, maxLength, properties.maxCycles(), pool);
+            int nontrivial = 0;
+            int inComponents = 0;
+            for (int c = 0; c < components.count(); c++) {
+                if (components.size(c) > 1) {
+                    nontrivial++;
+                    inComponents += components.size(c);
+                }
+            }
+            GrafoResponse response = new GrafoResponse(divisa, estadoTransferencia.name(), desde, hasta,
+                    graph.transferencias(), graph.vertexCount(), graph.edgeCount(), nontrivial, inComponents,
+                    largestComponents(graph, components, size), maxLength, cycles.count(), cycles.truncated(),
+                    toCiclos(graph, cycles, size), fan(graph, true, size), fan(graph, false, size),
+                    (System.nanoTime() - start) / 1_000_000);
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            transfers.increment(graph.transferencias());
+            log.info("Analysed {} {} transfers between {} accounts: {} edges, {} components, {} cycles; "
+                            + "loaded in {} ms, analysed in {} ms", graph.transferencias(), divisa,
+                    graph.vertexCount(), graph.edgeCount(), nontrivial, cycles.count(), loadedMs,
+                    response.durationMs() - loadedMs);
+            return response;
+        } catch (ArithmeticException ex) {
+            throw new BusinessException("Graph amounts exceed the supported range");
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    private TransferGraph.Builder load(TransferenciaCriteria criteria) {
+        AtomicInteger loaded = new AtomicInteger();
+        int expected = Math.min(properties.maxTransfers(), properties.fetchSize());
+        TransferenciaIdRange ids = readOnlyTransaction.execute(status -> transferenciaRepository.findIdRange(criteria));
+        if (ids == null) {
+            return TransferGraph.builder(0);
+        }
+        ForkJoinPool readers = new ForkJoinPool(properties.partitions());
+        try {
+            return readers.invoke(new PartitionTask(slice -> {
+                TransferGraph.Builder builder = TransferGraph.builder(expected);
+                TransferenciaIdRange range = ids.slice(properties.partitions(), slice);
+                readOnlyTransaction.executeWithoutResult(status -> transferenciaRepository.streamFlows(criteria,
+                        range, properties.fetchSize(), (origen, destino, importe) -> {
+                            if (loaded.incrementAndGet() > properties.maxTransfers()) {
+                                throw new BusinessException("Graph window holds more than "
+                                        + properties.maxTransfers() + " transfers");
+                            }
+                            builder.add(origen, destino, importe);
+                        }));
+                return builder;
+            }, 0, properties.partitions()));
+        } finally {
+            readers.shutdown();
+        }
+    }
+
+    private List<GrafoComponenteResponse> largestComponents(TransferGraph graph, StrongComponents components,
+                                                            int limit) {
+        long[] keys = new long[components.count()];
+        int candidates = 0;
+        for (int c = 0; c < components.count(); c++) {
+            if (components.size(c) > 1) {
+                keys[candidates++] = rankKey(components.size(c), c);
+            }
+        }
+        int[] picked = top(keys, candidates, limit);
+        int[] slotOf = new int[components.count()];
+        Arrays.fill(slotOf, -1);
+        for (int slot = 0; slot < picked.length; slot++) {
+            slotOf[picked[slot]] = slot;
+        }
+        long[] internal = new long[picked.length];
+        List<List<Long>> cuentas = new ArrayList<>();
+        for (int slot = 0; slot < picked.length; slot++) {
+            cuentas.add(new ArrayList<>());
+        }
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            int slot = slotOf[components.component(v)];
+            if (slot < 0) {
+                continue;
+            }
+            if (cuentas.get(slot).size() < limit) {
+                cuentas.get(slot).add(graph.cuenta(v));
+            }
+            for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+                if (components.component(graph.target(e)) == picked[slot]) {
+                    internal[slot] = Math.addExact(internal[slot], graph.importe(e));
+                }
+            }
+        }
+        List<GrafoComponenteResponse> result = new ArrayList<>(picked.length);
+        for (int slot = 0; slot < picked.length; slot++) {
+            result.add(new GrafoComponenteResponse(components.size(picked[slot]), toImporte(internal[slot]),
+                    List.copyOf(cuentas.get(slot))));
+        }
+        return result;
+    }
+
+    private static List<GrafoCicloResponse> toCiclos(TransferGraph graph, CycleSearch.Cycles cycles, int limit) {
+        List<GrafoCicloResponse> result = new ArrayList<>();
+        for (int cycle : cycles.top(limit)) {
+            List<Long> cuentas = new ArrayList<>(cycles.length(cycle));
+            for (int position = 0; position < cycles.length(cycle); position++) {
+                cuentas.add(graph.cuenta(cycles.vertex(cycle, position)));
+            }
+            result.add(new GrafoCicloResponse(List.copyOf(cuentas), toImporte(cycles.importe(cycle))));
+        }
+        return result;
+    }
+
+    private GrafoFanResponse fan(TransferGraph graph, boolean out, int limit) {
+        int vertices = graph.vertexCount();
+        long accounts = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int v = 0; v < vertices; v++) {
+            int degree = out ? graph.outDegree(v) : graph.inDegree(v);
+            if (degree > 0) {
+                accounts++;
+                sum += degree;
+                sumOfSquares += (double) degree * degree;
+            }
+        }
+        if (accounts == 0) {
+            return new GrafoFanResponse(0, 0, 0, List.of());
+        }
+        double mean = sum / accounts;
+        double deviation = Math.sqrt(Math.max(0, sumOfSquares / accounts - mean * mean));
+        double threshold = mean + properties.fanScore() * deviation;
+        long[] keys = new long[vertices];
+        int candidates = 0;
+        for (int v = 0; v < vertices; v++) {
+            int degree = out ? graph.outDegree(v) : graph.inDegree(v);
+            if (deviation > 0 && degree > threshold) {
+                keys[candidates++] = rankKey(degree, v);
+            }
+        }
+        List<GrafoCuentaResponse> cuentas = new ArrayList<>();
+        for (int v : top(keys, candidates, limit)) {
+            int degree = out ? graph.outDegree(v) : graph.inDegree(v);
+            cuentas.add(new GrafoCuentaResponse(graph.cuenta(v), degree,
+                    toImporte(out ? graph.pagado(v) : graph.recibido(v)), round((degree - mean) / deviation)));
+        }
+        return new GrafoFanResponse(round(mean), round(deviation), round(threshold), cuentas);
+    }
+
+    /**
+     * Packs a rank and an index so that ascending order puts the highest rank last and, among equal
+     * ranks, the lowest index last.
+     */
+    private static long rankKey(int rank, int index) {
+        return (long) rank << Integer.SIZE | (Integer.MAX_VALUE - index);
+    }
+
+    /**
+     * @return the indexes of the {@code limit} highest keys of {@code keys[0, size)}, highest first
+     */
+    private static int[] top(long[] keys, int size, int limit) {
+        Arrays.sort(keys, 0, size);
+        int[] picked = new int[Math.min(limit, size)];
+        for (int i = 0; i < picked.length; i++) {
+            picked[i] = Integer.MAX_VALUE - (int) keys[size - 1 - i];
+        }
+        return picked;
+    }
+
+    private EstadoTransferencia validate(String divisa, Instant desde, Instant hasta, String estado) {
+        if (divisa == null || divisa.length() != 3) {
+            throw new BusinessException("Invalid currency: " + divisa);
+        }
+        if (desde == null || hasta == null) {
+            throw new BusinessException("Both 'desde' and 'hasta' are required");
+        }
+        if (!desde.isBefore(hasta)) {
+            throw new BusinessException("Invalid window: 'desde' must be before 'hasta'");
+        }
+        if (Duration.between(desde, hasta).compareTo(properties.maxWindow()) > 0) {
+            throw new BusinessException("Graph window must not exceed " + properties.maxWindow());
+        }
+        if (estado == null) {
+            return EstadoTransferencia.COMPLETADA;
+        }
+        try {
+            return EstadoTransferencia.valueOf(estado);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid transfer state: " + estado);
+        }
+    }
+
+    private static int resolve(String name, Integer value, int min, int defaultValue, int max) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < min || value > max) {
+            throw new BusinessException("'" + name + "' must be between " + min + " and " + max);
+        }
+        return value;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static BigDecimal toImporte(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    /**
+     * Reads the id slices {@code [from, to)}: leaves stream one slice each, inner nodes fork
+     * the left half, read the right half themselves and append the smaller buffer to the larger.
+     */
+    private static final class PartitionTask extends RecursiveTask<TransferGraph.Builder> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntFunction<TransferGraph.Builder> leaf;
+        private final int from;
+        private final int to;
+
+        PartitionTask(IntFunction<TransferGraph.Builder> leaf, int from, int to) {
+            this.leaf = leaf;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TransferGraph.Builder compute() {
+            if (to - from == 1) {
+                return leaf.apply(from);
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(leaf, from, mid);
+            left.fork();
+            TransferGraph.Builder right = new PartitionTask(leaf, mid, to).compute();
+            TransferGraph.Builder joined = left.join();
+            return joined.size() >= right.size() ? joined.merge(right) : right.merge(joined);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.api.application;
+
+/**
+ * File formats accepted by the bulk transfer import.
+ */
+public enum ImportFormat {
+
+    CSV("csv"),
+    PAIN_001("pain.001");
+
+    private final String format;
+
+    ImportFormat(String format) {
+        this.format = format;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.api.application;
+
+import com.example.api.exception.BusinessException;
+
+/**
+ * Resolves the page size a client asked for against the configured default and maximum.
+ */
+final class PageSizes {
+
+    private PageSizes() {
+    }
+
+    /**
+     * @param size        the requested size, or {@code null} for the default
+     * @param defaultSize the size used when none is requested
+     * @param maxSize     the largest size served; larger requests are capped
+     * @return the page size to serve
+     * @throws BusinessException if the requested size is not positive
+     */
+    static int resolve(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            throw new BusinessException("Invalid page size: " + size);
+        }
+        return Math.min(size, maxSize);
+    }
+}
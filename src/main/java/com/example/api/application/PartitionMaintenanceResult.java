@@ -0,0 +1,22 @@
+package com.example.api.application;
+
+import java.util.List;
+
+/**
+ * Outcome of one partition maintenance run.
+ *
+ * @param created  partitions created for upcoming months
+ * @param archived partitions detached and moved to the archive schema
+ */
+public record PartitionMaintenanceResult(
+        List<String> created,
+        List<String> archived
+) {
+
+    public PartitionMaintenanceResult {
+        created = List.copyOf(created);
+        archived = List.copyOf(archived);
+    }
+
+    static final PartitionMaintenanceResult NONE = new PartitionMaintenanceResult(List.of(), List.of());
+}
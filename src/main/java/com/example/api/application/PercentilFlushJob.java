@@ -0,0 +1,33 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Merges the amount sketches accumulated on this node into the stored ones on the configured
+ * schedule, so that every node reads the same distribution.
+ */
+@Slf4j
+@Component
+public class PercentilFlushJob {
+
+    private final PercentilService percentilService;
+
+    public PercentilFlushJob(PercentilService percentilService) {
+        this.percentilService = percentilService;
+    }
+
+    /**
+     * Writes the pending sketches.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.percentiles.flush-interval}")
+    public void flush() {
+        try {
+            int written = percentilService.flush();
+            log.debug("Flushed {} amount sketches", written);
+        } catch (RuntimeException ex) {
+            log.error("Amount sketch flush failed", ex);
+        }
+    }
+}
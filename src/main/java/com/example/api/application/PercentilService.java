@@ -0,0 +1,38 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.PercentilRebuildResponse;
+import com.example.api.dto.response.PercentilesResponse;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for the per-currency percentiles of transfer amounts.
+ */
+public interface PercentilService {
+
+    /**
+     * Returns the amount percentiles of the transfers created in a date range in one currency.
+     *
+     * @param divisa the currency code
+     * @param desde  first UTC day, inclusive
+     * @param hasta  last UTC day, inclusive
+     * @return the estimated percentiles
+     */
+    PercentilesResponse getPercentiles(String divisa, LocalDate desde, LocalDate hasta);
+
+    /**
+     * Merges the sketches accumulated on this node into the stored ones.
+     *
+     * @return the number of daily sketches written
+     */
+    int flush();
+
+    /**
+     * Recomputes the sketches of a date range from the transfers table.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, inclusive
+     * @return a summary of the rebuild
+     */
+    PercentilRebuildResponse rebuild(LocalDate desde, LocalDate hasta);
+}
@@ -0,0 +1,405 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaPercentilesProperties;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.response.PercentilRebuildResponse;
+import com.example.api.dto.response.PercentilesResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.DistribucionImporteJdbcRepository;
+import com.example.api.infrastructure.TDigest;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service implementation for the per-currency percentiles of transfer amounts.
+ *
+ * <p>Every committed transfer creation adds its amount, in cents, to a {@link TDigest} for its UTC
+ * creation day and currency held on this node. The scheduled flush merges those pending digests
+ * into the stored ones, locking each row in day and currency order. A query merges one stored
+ * digest per day of the range plus the pending digests of this node. Stored digests of past days
+ * are cached for the configured TTL, so a query over cached days only merges in memory and its cost
+ * depends on the number of days, not on the number of transfers. Digests written by other nodes
+ * are seen once they flush and, for past days, once the cache entry expires.</p>
+ *
+ * <p>A rebuild discards the pending digests of the range, scans the range in transfer id hash
+ * partitions in parallel, each with its own digests, merges them and replaces the stored rows in one
+ * transaction. Like the rollup rebuild it is exact when no transfers are created in the range while
+ * it runs. Deleted transfers only leave the digests through a rebuild.</p>
+ */
+@Slf4j
+@Service
+public class PercentilServiceImpl implements PercentilService {
+
+    static final String METRIC_QUERY = "transferencias.percentiles.query";
+    static final String METRIC_FLUSHED = "transferencias.percentiles.flushed";
+    static final String METRIC_REBUILD = "transferencias.percentiles.rebuild";
+
+    private static final int AMOUNT_SCALE = 2;
+    private static final Comparator<Clave> CLAVE_ORDER = Comparator.comparing(Clave::dia)
+            .thenComparing(Clave::divisa);
+
+    private final TransferenciaJdbcRepository transferenciaRepository;
+    private final DistribucionImporteJdbcRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaPercentilesProperties properties;
+    private final Clock clock;
+    private final Timer query;
+    private final Timer rebuildDuration;
+    private final Counter flushed;
+    private final Object lock = new Object();
+    private final Map<Clave, Cacheado> cache;
+    private final ReentrantLock writes = new ReentrantLock();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Map<Clave, TDigest> pending = new HashMap<>();
+
+    @Autowired
+    public PercentilServiceImpl(TransferenciaJdbcRepository transferenciaRepository,
+                                DistribucionImporteJdbcRepository repository,
+                                PlatformTransactionManager transactionManager,
+                                TransferenciaPercentilesProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(transferenciaRepository, repository, transactionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    PercentilServiceImpl(TransferenciaJdbcRepository transferenciaRepository,
+                         DistribucionImporteJdbcRepository repository,
+                         PlatformTransactionManager transactionManager,
+                         TransferenciaPercentilesProperties properties,
+                         MeterRegistry meterRegistry,
+                         Clock clock) {
+        this.transferenciaRepository = transferenciaRepository;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Cacheado> eldest) {
+                return size() > properties.cacheSize();
+            }
+        };
+        this.query = Timer.builder(METRIC_QUERY)
+                .description("Time taken to merge the sketches of a percentile query")
+                .register(meterRegistry);
+        this.rebuildDuration = Timer.builder(METRIC_REBUILD)
+                .description("Time taken by percentile sketch rebuilds")
+                .register(meterRegistry);
+        this.flushed = Counter.builder(METRIC_FLUSHED)
+                .description("Daily amount sketches merged into the stored ones")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the transfers created by a committed write to the pending digests.
+     *
+     * @param event the transfers changed by the write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        if (!properties.enabled()) {
+            return;
+        }
+        synchronized (lock) {
+            for (TransferenciaChange change : event.changes()) {
+                TransferenciaSnapshot creada = change.despues();
+                if (change.antes() != null || creada == null) {
+                    continue;
+                }
+                Clave clave = new Clave(creada.fechaCreacion().atOffset(ZoneOffset.UTC).toLocalDate(), creada.divisa());
+                pending.computeIfAbsent(clave, c -> new TDigest(properties.compression()))
+                        .add(toCents(creada.importe()));
+            }
+        }
+    }
+
+    @Override
+    public PercentilesResponse getPercentiles(String divisa, LocalDate desde, LocalDate hasta) {
+        if (!properties.enabled()) {
+            throw new BusinessException("Amount percentiles are disabled");
+        }
+        if (divisa == null || divisa.length() != 3) {
+            throw new BusinessException("Invalid currency: " + divisa);
+        }
+        int days = validateRange(desde, hasta, properties.maxDays());
+        long start = System.nanoTime();
+        LocalDate hoy = LocalDate.now(clock);
+        long now = clock.millis();
+        TDigest total = new TDigest(properties.compression());
+        boolean[] cached = new boolean[days];
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        List<TDigest> hits = new ArrayList<>();
+        synchronized (cache) {
+            for (int i = 0; i < days; i++) {
+                LocalDate dia = desde.plusDays(i);
+                Cacheado entry = dia.isBefore(hoy) ? cache.get(new Clave(dia, divisa)) : null;
+                if (entry != null && now - entry.cargado() < properties.cacheTtl().toMillis()) {
+                    cached[i] = true;
+                    hits.add(entry.digest());
+                } else {
+                    firstMissing = firstMissing == null ? dia : firstMissing;
+                    lastMissing = dia;
+                }
+            }
+        }
+        // Cached digests are never modified once loaded, so they can be merged outside the lock.
+        hits.forEach(total::merge);
+        if (firstMissing != null) {
+            load(divisa, desde, firstMissing, lastMissing, cached, hoy, now).forEach(total::merge);
+        }
+        synchronized (lock) {
+            pending.forEach((clave, digest) -> {
+                if (clave.divisa().equals(divisa) && !clave.dia().isBefore(desde) && !clave.dia().isAfter(hasta)) {
+                    total.merge(digest);
+                }
+            });
+        }
+        PercentilesResponse response = new PercentilesResponse(divisa, desde, hasta, total.count(),
+                toAmount(total.min()), toAmount(total.quantile(0.5)), toAmount(total.quantile(0.9)),
+                toAmount(total.quantile(0.99)), toAmount(total.quantile(0.999)), toAmount(total.max()));
+        query.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    @Override
+    public int flush() {
+        // A rebuild replaces the stored digests and discards the pending ones; flushing in between
+        // would count those transfers twice.
+        if (!writes.tryLock()) {
+            return 0;
+        }
+        try {
+            Map<Clave, TDigest> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            List<Clave> claves = new ArrayList<>(batch.keySet());
+            claves.sort(CLAVE_ORDER);
+            Instant now = clock.instant();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Clave clave : claves) {
+                        byte[] stored = repository.findForUpdate(clave.dia(), clave.divisa());
+                        TDigest merged = stored == null ? new TDigest(properties.compression())
+                                : TDigest.fromBytes(stored);
+                        merged.merge(batch.get(clave));
+                        repository.save(clave.dia(), clave.divisa(), merged.toBytes(), merged.count(),
+                                stored == null, now);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                // Keep the digests for the next flush, e.g. after another node inserted the same row.
+                synchronized (lock) {
+                    batch.forEach((clave, digest) -> pending.merge(clave, digest, PercentilServiceImpl::merge));
+                }
+                throw ex;
+            }
+            invalidate(claves);
+            flushed.increment(claves.size());
+            return claves.size();
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    @Override
+    public PercentilRebuildResponse rebuild(LocalDate desde, LocalDate hasta) {
+        validateRange(desde, hasta, properties.rebuildMaxDays());
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A percentile rebuild is already running");
+        }
+        writes.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (lock) {
+                pending.keySet().removeIf(clave -> !clave.dia().isBefore(desde) && !clave.dia().isAfter(hasta));
+            }
+            Instant inicio = desde.atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant fin = hasta.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            Escaneo escaneo = scan(inicio, fin);
+            List<Clave> claves = new ArrayList<>(escaneo.digests.keySet());
+            claves.sort(CLAVE_ORDER);
+            Instant now = clock.instant();
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.deleteRange(desde, hasta);
+                for (Clave clave : claves) {
+                    TDigest digest = escaneo.digests.get(clave);
+                    repository.save(clave.dia(), clave.divisa(), digest.toBytes(), digest.count(), true, now);
+                }
+            });
+            synchronized (cache) {
+                cache.keySet().removeIf(clave -> !clave.dia().isBefore(desde) && !clave.dia().isAfter(hasta));
+            }
+            long elapsed = System.nanoTime() - start;
+            rebuildDuration.record(elapsed, TimeUnit.NANOSECONDS);
+            long durationMs = elapsed / 1_000_000;
+            log.info("Rebuilt {} amount sketches from {} transfers between {} and {} in {} ms", claves.size(),
+                    escaneo.transferencias, desde, hasta, durationMs);
+            return new PercentilRebuildResponse(desde, hasta, properties.rebuildPartitions(), escaneo.transferencias,
+                    claves.size(), durationMs);
+        } finally {
+            writes.unlock();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Reads the stored digests of the days in {@code [firstMissing, lastMissing]} that were not
+     * cached, caching those of past days. Days without a row are cached as empty digests.
+     */
+    private List<TDigest> load(String divisa, LocalDate desde, LocalDate firstMissing, LocalDate lastMissing,
+                               boolean[] cached, LocalDate hoy, long now) {
+        Map<LocalDate, TDigest> loaded = new HashMap<>();
+        repository.findRange(divisa, firstMissing, lastMissing, (dia, sketch) -> {
+            if (!cached[(int) ChronoUnit.DAYS.between(desde, dia)]) {
+                loaded.put(dia, TDigest.fromBytes(sketch));
+            }
+        });
+        synchronized (cache) {
+            for (LocalDate dia = firstMissing; !dia.isAfter(lastMissing) && dia.isBefore(hoy); dia = dia.plusDays(1)) {
+                if (!cached[(int) ChronoUnit.DAYS.between(desde, dia)]) {
+                    TDigest digest = loaded.computeIfAbsent(dia, d -> new TDigest(properties.compression()));
+                    cache.put(new Clave(dia, divisa), new Cacheado(digest, now));
+                }
+            }
+        }
+        return new ArrayList<>(loaded.values());
+    }
+
+    private void invalidate(List<Clave> claves) {
+        synchronized (cache) {
+            claves.forEach(cache::remove);
+        }
+    }
+
+    private Escaneo scan(Instant inicio, Instant fin) {
+        int partitions = properties.rebuildPartitions();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions,
+                new CustomizableThreadFactory("percentiles-rebuild-"));
+        try {
+            List<CompletableFuture<Escaneo>> futures = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                futures.add(CompletableFuture.supplyAsync(() -> scanPartition(inicio, fin, partition), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            Escaneo total = new Escaneo();
+            futures.forEach(future -> total.merge(future.join()));
+            return total;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Escaneo scanPartition(Instant inicio, Instant fin, int partition) {
+        Escaneo escaneo = new Escaneo();
+        readOnlyTransaction.executeWithoutResult(status -> transferenciaRepository.streamImportes(inicio, fin,
+                properties.rebuildPartitions(), partition, properties.fetchSize(), (divisa, importe, fecha) -> {
+                    Clave clave = new Clave(fecha.atOffset(ZoneOffset.UTC).toLocalDate(), divisa);
+                    escaneo.digests.computeIfAbsent(clave, c -> new TDigest(properties.compression())).add(importe);
+                    escaneo.transferencias++;
+                }));
+        return escaneo;
+    }
+
+    private static int validateRange(LocalDate desde, LocalDate hasta, int maxDays) {
+        if (desde == null || hasta == null) {
+            throw new BusinessException("Both 'desde' and 'hasta' are required");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new BusinessException("Invalid date range: 'desde' must not be after 'hasta'");
+        }
+        long days = ChronoUnit.DAYS.between(desde, hasta) + 1;
+        if (days > maxDays) {
+            throw new BusinessException("Date range must not exceed " + maxDays + " days");
+        }
+        return (int) days;
+    }
+
+    private static TDigest merge(TDigest target, TDigest other) {
+        target.merge(other);
+        return target;
+    }
+
+    private static long toCents(BigDecimal importe) {
+        return importe.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(double cents) {
+        if (Double.isNaN(cents)) {
+            return null;
+        }
+        return BigDecimal.valueOf(Math.round(cents), AMOUNT_SCALE);
+    }
+
+    /**
+     * A UTC creation day and currency: the granularity of the stored digests.
+     */
+    private record Clave(LocalDate dia, String divisa) {
+    }
+
+    /**
+     * A stored digest of a past day and when it was read.
+     */
+    private record Cacheado(TDigest digest, long cargado) {
+    }
+
+    /**
+     * The digests built by a rebuild scan of one or more partitions.
+     */
+    private static final class Escaneo {
+
+        private final Map<Clave, TDigest> digests = new HashMap<>();
+        private long transferencias;
+
+        void merge(Escaneo other) {
+            other.digests.forEach((clave, digest) -> digests.merge(clave, digest, PercentilServiceImpl::merge));
+            transferencias += other.transferencias;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the external reference filter once the application is ready. Until it is built, every
+ * reference is looked up in the database.
+ */
+@Slf4j
+@Component
+public class ReferenciaFilterLoader {
+
+    private final ReferenciaFilterService filterService;
+
+    public ReferenciaFilterLoader(ReferenciaFilterService filterService) {
+        this.filterService = filterService;
+    }
+
+    /**
+     * Builds the filter from the stored idempotency keys.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            filterService.rebuild();
+        } catch (RuntimeException ex) {
+            log.error("External reference filter build failed; references will be looked up in the database", ex);
+        }
+    }
+}
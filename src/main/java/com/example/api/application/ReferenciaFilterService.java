@@ -0,0 +1,62 @@
+package com.example.api.application;
+
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.response.ReferenciaFilterResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the Bloom filter of external references already used to create transfers.
+ */
+public interface ReferenciaFilterService {
+
+    /**
+     * Returns whether a reference may already have been used. A {@code false} answer is certain
+     * for references recorded on this node or present when the filter was built.
+     *
+     * @param referenciaExterna the external reference
+     * @return {@code false} if the reference can skip the duplicate lookup
+     */
+    boolean mightExist(String referenciaExterna);
+
+    /**
+     * Records a reference used by a new transfer.
+     *
+     * @param referenciaExterna the external reference
+     */
+    void record(String referenciaExterna);
+
+    /**
+     * Returns whether a reference has already been used, consulting the key table only when the
+     * filter cannot rule it out.
+     *
+     * @param referenciaExterna the external reference
+     * @return {@code true} if a transfer was created under the reference
+     */
+    boolean isUsed(String referenciaExterna);
+
+    /**
+     * Records the {@code ref:} idempotency keys of transfers created outside the single-create path,
+     * and adds their references to the filter. Transfers without a reference are ignored. Must run
+     * in the transaction that inserts the transfers, so that a reference used twice rolls them back.
+     *
+     * @param transferencias the inserted transfers, with their identifiers
+     * @throws org.springframework.dao.DuplicateKeyException if one of the references is already used
+     */
+    void register(List<TransferenciaSnapshot> transferencias);
+
+    /**
+     * Rebuilds the filter from the stored idempotency keys, replacing the current one when done.
+     *
+     * @return the state of the new filter
+     * @throws com.example.api.exception.ConflictException if a rebuild is already running
+     */
+    ReferenciaFilterResponse rebuild();
+
+    /**
+     * Describes the current filter.
+     *
+     * @return its size, memory use and false-positive rates
+     */
+    ReferenciaFilterResponse describe();
+}
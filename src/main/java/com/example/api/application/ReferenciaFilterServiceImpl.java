@@ -0,0 +1,175 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaReferenceFilterProperties;
+import com.example.api.domain.TransferenciaIdempotencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.response.ReferenciaFilterResponse;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.ScalableBloomFilter;
+import com.example.api.infrastructure.TransferenciaIdempotenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service implementation for the Bloom filter of external references.
+ *
+ * <p>The filter holds every reference recorded under a {@code ref:} idempotency key. It is built by
+ * streaming the key table once and then updated on each new transfer, whichever path creates it:
+ * single creations record their key themselves, while batches, imports and scheduled occurrences go
+ * through {@link #register}. While a rebuild runs, new references go to both the old and the new
+ * filter, so none is lost in the swap. References used on other nodes after the build are unknown
+ * here; the key table's primary key still rejects such duplicates, so the filter only saves lookups
+ * and never decides on its own.</p>
+ */
+@Slf4j
+@Service
+public class ReferenciaFilterServiceImpl implements ReferenciaFilterService {
+
+    static final String REFERENCE_KEY_PREFIX = "ref:";
+    static final String METRIC_CHECKS = "transferencias.referencias.checks";
+    static final String METRIC_MEMORY = "transferencias.referencias.filter.memory";
+    static final String METRIC_FPP = "transferencias.referencias.filter.fpp";
+    static final String METRIC_SIZE = "transferencias.referencias.filter.size";
+
+    private final TransferenciaIdempotenciaJdbcRepository jdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaReferenceFilterProperties properties;
+    private final Clock clock;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Counter skipped;
+    private final Counter verified;
+    private volatile ScalableBloomFilter filter;
+    private volatile ScalableBloomFilter building;
+    private volatile Instant construidoEn;
+
+    @Autowired
+    public ReferenciaFilterServiceImpl(TransferenciaIdempotenciaJdbcRepository jdbcRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       TransferenciaReferenceFilterProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this(jdbcRepository, transactionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ReferenciaFilterServiceImpl(TransferenciaIdempotenciaJdbcRepository jdbcRepository,
+                                PlatformTransactionManager transactionManager,
+                                TransferenciaReferenceFilterProperties properties,
+                                MeterRegistry meterRegistry,
+                                Clock clock) {
+        this.jdbcRepository = jdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.clock = clock;
+        this.skipped = Counter.builder(METRIC_CHECKS)
+                .description("Duplicate reference checks, by whether the database was consulted")
+                .tag("resultado", "omitida")
+                .register(meterRegistry);
+        this.verified = Counter.builder(METRIC_CHECKS)
+                .description("Duplicate reference checks, by whether the database was consulted")
+                .tag("resultado", "verificada")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MEMORY, this, service -> service.describe().memoryBytes())
+                .description("Memory used by the external reference Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_FPP, this, service -> service.describe().estimatedFalsePositiveRate())
+                .description("Estimated false-positive rate of the external reference Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, this, service -> service.describe().referencias())
+                .description("Approximate number of references in the Bloom filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean mightExist(String referenciaExterna) {
+        ScalableBloomFilter current = filter;
+        if (!properties.enabled() || current == null || current.mightContain(referenciaExterna)) {
+            verified.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    @Override
+    public void record(String referenciaExterna) {
+        ScalableBloomFilter next = building;
+        if (next != null) {
+            next.put(referenciaExterna);
+        }
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            current.put(referenciaExterna);
+        }
+    }
+
+    @Override
+    public boolean isUsed(String referenciaExterna) {
+        return mightExist(referenciaExterna) && jdbcRepository.exists(REFERENCE_KEY_PREFIX + referenciaExterna);
+    }
+
+    @Override
+    public void register(List<TransferenciaSnapshot> transferencias) {
+        List<TransferenciaSnapshot> referenciadas = transferencias.stream()
+                .filter(transferencia -> transferencia.referenciaExterna() != null
+                        && !transferencia.referenciaExterna().isBlank())
+                .toList();
+        jdbcRepository.insertAll(referenciadas.stream()
+                .map(transferencia -> new TransferenciaIdempotencia(
+                        REFERENCE_KEY_PREFIX + transferencia.referenciaExterna(),
+                        transferencia.idTransferencia(), TransferenciaHuella.of(transferencia)))
+                .toList());
+        referenciadas.forEach(transferencia -> record(transferencia.referenciaExterna()));
+    }
+
+    @Override
+    public ReferenciaFilterResponse rebuild() {
+        if (!properties.enabled()) {
+            return describe();
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("A reference filter rebuild is already running");
+        }
+        try {
+            long start = System.nanoTime();
+            ScalableBloomFilter next = new ScalableBloomFilter(properties.expectedReferences(),
+                    properties.falsePositiveRate(), properties.maxMemory().toBytes());
+            building = next;
+            readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamClaves(
+                    REFERENCE_KEY_PREFIX, properties.fetchSize(), next::put));
+            filter = next;
+            construidoEn = clock.instant();
+            log.info("Built external reference filter: {} references, {} bytes, estimated false-positive rate {} "
+                            + "in {} ms", next.approximateElementCount(), next.memoryBytes(),
+                    next.estimatedFalsePositiveRate(), (System.nanoTime() - start) / 1_000_000);
+            return describe();
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    @Override
+    public ReferenciaFilterResponse describe() {
+        ScalableBloomFilter current = filter;
+        long maxMemory = properties.maxMemory().toBytes();
+        if (current == null) {
+            return new ReferenciaFilterResponse(properties.enabled(), false, 0, 0, 0, maxMemory,
+                    properties.falsePositiveRate(), 0, false, null);
+        }
+        return new ReferenciaFilterResponse(properties.enabled(), true, current.approximateElementCount(),
+                current.sliceCount(), current.memoryBytes(), maxMemory, current.falsePositiveRate(),
+                current.estimatedFalsePositiveRate(), current.isSaturated(), construidoEn);
+    }
+}
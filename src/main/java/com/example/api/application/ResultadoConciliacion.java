@@ -0,0 +1,18 @@
+package com.example.api.application;
+
+/**
+ * How a statement line or transfer came out of a reconciliation.
+ */
+public enum ResultadoConciliacion {
+
+    /** Reference, amount, date and currency all agree. */
+    CONCILIADA,
+    /** The reference is on both sides but the amount, date or currency differ. */
+    DISCREPANTE,
+    /** A statement line with no transfer for its reference. */
+    SOLO_EXTRACTO,
+    /** A transfer in the reconciled range with no statement line for its reference. */
+    SOLO_TRANSFERENCIA,
+    /** A statement line that could not be parsed. */
+    INVALIDA
+}
@@ -0,0 +1,90 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaRollupProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.ResumenDelta;
+import com.example.api.infrastructure.ResumenDiarioJdbcRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the daily rollups in step with transfer writes.
+ *
+ * <p>Runs synchronously inside the writing transaction. A change moves its transfer out of the
+ * group of its before state and into the group of its after state; changes that leave a group's
+ * count and amount unchanged are not written. A transfer always lands in the slot given by its id,
+ * so its before and after states cancel out within the same row when they share a group.</p>
+ */
+@Component
+public class ResumenDiarioListener {
+
+    private static final Comparator<ResumenKey> KEY_ORDER = Comparator.comparing(ResumenKey::dia)
+            .thenComparing(ResumenKey::divisa)
+            .thenComparing(ResumenKey::estado)
+            .thenComparingInt(ResumenKey::slot);
+
+    private final ResumenDiarioJdbcRepository repository;
+    private final int slots;
+
+    public ResumenDiarioListener(ResumenDiarioJdbcRepository repository, TransferenciaRollupProperties properties) {
+        this.repository = repository;
+        this.slots = properties.slots();
+    }
+
+    /**
+     * Applies the rollup deltas of a transfer write.
+     *
+     * @param event the transfers changed by the write
+     */
+    @EventListener
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        Map<ResumenKey, Totals> deltas = new TreeMap<>(KEY_ORDER);
+        for (TransferenciaChange change : event.changes()) {
+            accumulate(deltas, change.despues(), 1);
+            accumulate(deltas, change.antes(), -1);
+        }
+        List<ResumenDelta> nonZero = new ArrayList<>(deltas.size());
+        deltas.forEach((key, totals) -> {
+            if (totals.cantidad != 0 || totals.importe.signum() != 0) {
+                nonZero.add(new ResumenDelta(key.dia(), key.divisa(), key.estado(), key.slot(),
+                        totals.cantidad, totals.importe));
+            }
+        });
+        if (!nonZero.isEmpty()) {
+            repository.applyDeltas(nonZero, Instant.now());
+        }
+    }
+
+    private void accumulate(Map<ResumenKey, Totals> deltas, TransferenciaSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        ResumenKey key = new ResumenKey(LocalDate.ofInstant(snapshot.fechaCreacion(), ZoneOffset.UTC),
+                snapshot.divisa(), snapshot.estado(), (int) Math.floorMod(snapshot.idTransferencia(), (long) slots));
+        Totals totals = deltas.computeIfAbsent(key, ignored -> new Totals());
+        totals.cantidad += sign;
+        totals.importe = totals.importe.add(sign > 0 ? snapshot.importe() : snapshot.importe().negate());
+    }
+
+    private record ResumenKey(LocalDate dia, String divisa, EstadoTransferencia estado, int slot) {
+    }
+
+    private static final class Totals {
+
+        private long cantidad;
+        private BigDecimal importe = BigDecimal.ZERO;
+    }
+}
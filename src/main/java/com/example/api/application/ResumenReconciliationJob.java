@@ -0,0 +1,48 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaRollupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Periodically rebuilds the rollups of the most recent days, correcting any drift between the
+ * rollups and the transfers table. Disabled unless {@code transferencias.rollups.reconcile-cron}
+ * is set.
+ */
+@Slf4j
+@Component
+public class ResumenReconciliationJob {
+
+    private final ResumenService resumenService;
+    private final TransferenciaRollupProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public ResumenReconciliationJob(ResumenService resumenService, TransferenciaRollupProperties properties) {
+        this(resumenService, properties, Clock.systemUTC());
+    }
+
+    ResumenReconciliationJob(ResumenService resumenService, TransferenciaRollupProperties properties, Clock clock) {
+        this.resumenService = resumenService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Rebuilds the configured number of days up to and including today (UTC).
+     */
+    @Scheduled(cron = "${transferencias.rollups.reconcile-cron}", zone = "UTC")
+    public void reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        try {
+            resumenService.rebuild(today.minusDays(properties.reconcileDays() - 1L), today);
+        } catch (RuntimeException ex) {
+            log.error("Rollup reconciliation failed", ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.ResumenFilterRequest;
+import com.example.api.dto.response.ResumenConvertidoResponse;
+import com.example.api.dto.response.ResumenDiarioResponse;
+import com.example.api.dto.response.ResumenRebuildResponse;
+import com.example.api.dto.response.ResumenTotalResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for the daily transfer rollups.
+ */
+public interface ResumenService {
+
+    /**
+     * Returns the rollups of each day in the range, per currency and state.
+     *
+     * @param filter date range and optional currency and state filters
+     * @return the rollups ordered by day, currency and state
+     */
+    List<ResumenDiarioResponse> getDiarios(ResumenFilterRequest filter);
+
+    /**
+     * Returns the rollups summed over the range, per currency and state.
+     *
+     * @param filter date range and optional currency and state filters
+     * @return the totals ordered by currency and state
+     */
+    List<ResumenTotalResponse> getTotales(ResumenFilterRequest filter);
+
+    /**
+     * Returns the totals per state over the range, converted to one currency with the cached FX rates.
+     *
+     * @param filter        date range and optional currency and state filters
+     * @param divisaReporte the reporting currency
+     * @return the converted totals, plus the totals whose currency has no rate
+     */
+    ResumenConvertidoResponse getTotalesConvertidos(ResumenFilterRequest filter, String divisaReporte);
+
+    /**
+     * Recomputes the rollups of a date range from the transfers table.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, inclusive
+     * @return a summary of the rebuild
+     */
+    ResumenRebuildResponse rebuild(LocalDate desde, LocalDate hasta);
+}
@@ -0,0 +1,176 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaRollupProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.request.ResumenFilterRequest;
+import com.example.api.dto.response.ResumenConvertidoResponse;
+import com.example.api.dto.response.ResumenDiarioResponse;
+import com.example.api.dto.response.ResumenEstadoConvertidoResponse;
+import com.example.api.dto.response.ResumenRebuildResponse;
+import com.example.api.dto.response.ResumenTotalResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.ResumenCriteria;
+import com.example.api.infrastructure.ResumenDiarioJdbcRepository;
+import com.example.api.infrastructure.ResumenRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service implementation for the daily transfer rollups.
+ *
+ * <p>Reports read only {@code resumenes_diarios}, whose size depends on the number of days,
+ * currencies and states rather than on the number of transfers. A rebuild recomputes the range in
+ * chunks of days, one transaction per chunk, and is exact when no transfers created in the range
+ * are written or executed while it runs.</p>
+ *
+ * <p>Converted reports take one FX rate snapshot per request, add up each state's totals into an
+ * array aligned with the snapshot's currencies and convert that array in one pass, so the cost does
+ * not depend on the number of transfers and every amount is converted with the same rate version.</p>
+ */
+@Slf4j
+@Service
+public class ResumenServiceImpl implements ResumenService {
+
+    private final ResumenDiarioJdbcRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferenciaRollupProperties properties;
+    private final TipoCambioService tipoCambioService;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public ResumenServiceImpl(ResumenDiarioJdbcRepository repository,
+                              TransactionTemplate transactionTemplate,
+                              TransferenciaRollupProperties properties,
+                              TipoCambioService tipoCambioService) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.tipoCambioService = tipoCambioService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResumenDiarioResponse> getDiarios(ResumenFilterRequest filter) {
+        return repository.findDiarios(resolve(filter)).stream()
+                .map(row -> new ResumenDiarioResponse(row.dia(), row.divisa(), row.estado().name(),
+                        row.cantidad(), row.importeTotal()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResumenTotalResponse> getTotales(ResumenFilterRequest filter) {
+        return repository.findTotales(resolve(filter)).stream()
+                .map(row -> new ResumenTotalResponse(row.divisa(), row.estado().name(),
+                        row.cantidad(), row.importeTotal()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumenConvertidoResponse getTotalesConvertidos(ResumenFilterRequest filter, String divisaReporte) {
+        if (divisaReporte == null || divisaReporte.isBlank()) {
+            throw new BusinessException("'divisaReporte' is required");
+        }
+        TipoCambioSnapshot tipos = tipoCambioService.snapshot();
+        int destino = tipos.indexOf(divisaReporte);
+        if (destino < 0) {
+            throw new BusinessException("No FX rate for reporting currency " + divisaReporte);
+        }
+        Map<EstadoTransferencia, BigDecimal[]> importes = new EnumMap<>(EstadoTransferencia.class);
+        Map<EstadoTransferencia, Long> cantidades = new EnumMap<>(EstadoTransferencia.class);
+        List<ResumenTotalResponse> sinTipoCambio = new ArrayList<>();
+        for (ResumenRow row : repository.findTotales(resolve(filter))) {
+            int divisa = tipos.indexOf(row.divisa());
+            if (divisa < 0) {
+                sinTipoCambio.add(new ResumenTotalResponse(row.divisa(), row.estado().name(),
+                        row.cantidad(), row.importeTotal()));
+                continue;
+            }
+            BigDecimal[] porDivisa = importes.computeIfAbsent(row.estado(), estado -> new BigDecimal[tipos.size()]);
+            porDivisa[divisa] = porDivisa[divisa] == null
+                    ? row.importeTotal()
+                    : porDivisa[divisa].add(row.importeTotal());
+            cantidades.merge(row.estado(), row.cantidad(), Long::sum);
+        }
+        List<ResumenEstadoConvertidoResponse> totales = new ArrayList<>(importes.size());
+        importes.forEach((estado, porDivisa) -> {
+            BigDecimal total = tipos.convertirSuma(porDivisa, destino).setScale(2, RoundingMode.HALF_EVEN);
+            totales.add(new ResumenEstadoConvertidoResponse(estado.name(), cantidades.get(estado), total));
+        });
+        return new ResumenConvertidoResponse(divisaReporte, tipos.version(), totales, sinTipoCambio);
+    }
+
+    @Override
+    public ResumenRebuildResponse rebuild(LocalDate desde, LocalDate hasta) {
+        validateRange(desde, hasta);
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("A rollup rebuild is already running");
+        }
+        try {
+            long start = System.nanoTime();
+            Instant now = Instant.now();
+            long filas = 0;
+            LocalDate end = hasta.plusDays(1);
+            for (LocalDate chunk = desde; chunk.isBefore(end); chunk = chunk.plusDays(properties.rebuildChunkDays())) {
+                LocalDate chunkStart = chunk;
+                LocalDate chunkEnd = min(chunk.plusDays(properties.rebuildChunkDays()), end);
+                Integer written = transactionTemplate.execute(
+                        status -> repository.rebuild(chunkStart, chunkEnd, now));
+                if (written == null) {
+                    throw new IllegalStateException("Rollup rebuild returned no result");
+                }
+                filas += written;
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Rebuilt {} rollup rows from {} to {} in {} ms", filas, desde, hasta, durationMs);
+            return new ResumenRebuildResponse(desde, hasta, filas, durationMs);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private ResumenCriteria resolve(ResumenFilterRequest filter) {
+        validateRange(filter.desde(), filter.hasta());
+        long days = ChronoUnit.DAYS.between(filter.desde(), filter.hasta()) + 1;
+        if (days > properties.maxDays()) {
+            throw new BusinessException("Date range must not exceed " + properties.maxDays() + " days");
+        }
+        EstadoTransferencia estado = filter.estado() == null ? null : parseEstado(filter.estado());
+        return new ResumenCriteria(filter.desde(), filter.hasta(), filter.divisa(), estado);
+    }
+
+    private void validateRange(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new BusinessException("Both 'desde' and 'hasta' are required");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new BusinessException("Invalid date range: 'desde' must not be after 'hasta'");
+        }
+    }
+
+    private LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private EstadoTransferencia parseEstado(String estado) {
+        try {
+            return EstadoTransferencia.valueOf(estado);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid transfer state: " + estado);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.SaldoDelta;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the balance ledger in step with transfer writes.
+ *
+ * <p>Runs synchronously inside the writing transaction, so a balance change commits or rolls back
+ * with the transfer that caused it. Only completed transfers count towards a balance; each change
+ * contributes the difference between its after and before states. Deltas are applied in
+ * {@code (cuenta, divisa)} order, so concurrent writers serialize on the balance rows they share
+ * without deadlocking and without any global lock.</p>
+ */
+@Component
+public class SaldoLedgerListener {
+
+    private static final Comparator<SaldoKey> KEY_ORDER = Comparator.comparingLong(SaldoKey::cuentaId)
+            .thenComparing(SaldoKey::divisa);
+
+    private final SaldoJdbcRepository saldoRepository;
+
+    public SaldoLedgerListener(SaldoJdbcRepository saldoRepository) {
+        this.saldoRepository = saldoRepository;
+    }
+
+    /**
+     * Applies the balance deltas of a transfer write.
+     *
+     * @param event the transfers changed by the write
+     */
+    @EventListener
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        Map<SaldoKey, BigDecimal> deltas = new TreeMap<>(KEY_ORDER);
+        for (TransferenciaChange change : event.changes()) {
+            accumulate(deltas, change.despues(), BigDecimal.ONE);
+            accumulate(deltas, change.antes(), BigDecimal.ONE.negate());
+        }
+        List<SaldoDelta> nonZero = new ArrayList<>(deltas.size());
+        deltas.forEach((key, importe) -> {
+            if (importe.signum() != 0) {
+                nonZero.add(new SaldoDelta(key.cuentaId(), key.divisa(), importe));
+            }
+        });
+        if (!nonZero.isEmpty()) {
+            saldoRepository.applyDeltas(nonZero, Instant.now());
+        }
+    }
+
+    private void accumulate(Map<SaldoKey, BigDecimal> deltas, TransferenciaSnapshot snapshot, BigDecimal sign) {
+        if (snapshot == null || snapshot.estado() != EstadoTransferencia.COMPLETADA) {
+            return;
+        }
+        BigDecimal importe = snapshot.importe().multiply(sign);
+        deltas.merge(new SaldoKey(snapshot.cuentaDestinoId(), snapshot.divisa()), importe, BigDecimal::add);
+        deltas.merge(new SaldoKey(snapshot.cuentaOrigenId(), snapshot.divisa()), importe.negate(), BigDecimal::add);
+    }
+
+    private record SaldoKey(long cuentaId, String divisa) {
+    }
+}
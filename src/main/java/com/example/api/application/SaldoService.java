@@ -0,0 +1,36 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.SaldoRebuildResponse;
+import com.example.api.dto.response.SaldoResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the materialized account balance ledger.
+ */
+public interface SaldoService {
+
+    /**
+     * Returns every currency balance of an account.
+     *
+     * @param cuentaId the account identifier
+     * @return the balances ordered by currency; empty if the account has no completed transfers
+     */
+    List<SaldoResponse> getSaldos(Long cuentaId);
+
+    /**
+     * Returns the balance of an account in one currency with a single primary key lookup.
+     *
+     * @param cuentaId the account identifier
+     * @param divisa   the currency code
+     * @return the balance, zero if the account has no completed transfers in that currency
+     */
+    SaldoResponse getSaldo(Long cuentaId, String divisa);
+
+    /**
+     * Recomputes every balance from the transfers table, one account-hash partition per worker.
+     *
+     * @return a summary of the rebuild
+     */
+    SaldoRebuildResponse rebuild();
+}
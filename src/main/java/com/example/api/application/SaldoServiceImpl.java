@@ -0,0 +1,118 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaLedgerProperties;
+import com.example.api.domain.SaldoCuenta;
+import com.example.api.domain.SaldoCuentaId;
+import com.example.api.dto.response.SaldoRebuildResponse;
+import com.example.api.dto.response.SaldoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoCuentaRepository;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service implementation for the materialized account balance ledger.
+ *
+ * <p>Reads are primary key lookups on {@code saldos_cuenta}, independent of how many transfers an
+ * account has. A rebuild recomputes each account-hash partition in its own transaction on its own
+ * worker; partitions share no accounts, so the workers never contend for the same balance rows.
+ * The result is exact when no transfers are being written or executed during the rebuild.</p>
+ */
+@Slf4j
+@Service
+public class SaldoServiceImpl implements SaldoService {
+
+    private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+    private final SaldoCuentaRepository repository;
+    private final SaldoJdbcRepository jdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferenciaLedgerProperties properties;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SaldoServiceImpl(SaldoCuentaRepository repository,
+                            SaldoJdbcRepository jdbcRepository,
+                            TransactionTemplate transactionTemplate,
+                            TransferenciaLedgerProperties properties) {
+        this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SaldoResponse> getSaldos(Long cuentaId) {
+        return repository.findByIdCuentaIdOrderByIdDivisa(cuentaId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SaldoResponse getSaldo(Long cuentaId, String divisa) {
+        if (divisa == null || divisa.length() != 3) {
+            throw new BusinessException("Invalid currency: " + divisa);
+        }
+        return repository.findById(new SaldoCuentaId(cuentaId, divisa))
+                .map(this::toResponse)
+                .orElseGet(() -> new SaldoResponse(cuentaId, divisa, ZERO, null));
+    }
+
+    @Override
+    public SaldoRebuildResponse rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("A balance rebuild is already running");
+        }
+        int partitions = properties.rebuildPartitions();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions,
+                new CustomizableThreadFactory("saldo-rebuild-"));
+        try {
+            long start = System.nanoTime();
+            Instant now = Instant.now();
+            List<CompletableFuture<Integer>> futures = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int current = partition;
+                futures.add(CompletableFuture.supplyAsync(() -> rebuildPartition(partitions, current, now), executor));
+            }
+            long saldos = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                saldos += future.join();
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Rebuilt {} balances in {} partitions in {} ms", saldos, partitions, durationMs);
+            return new SaldoRebuildResponse(partitions, saldos, durationMs);
+        } finally {
+            executor.shutdown();
+            rebuilding.set(false);
+        }
+    }
+
+    private int rebuildPartition(int partitions, int partition, Instant now) {
+        Integer written = transactionTemplate.execute(
+                status -> jdbcRepository.rebuildPartition(partitions, partition, now));
+        if (written == null) {
+            throw new IllegalStateException("Balance rebuild of partition " + partition + " returned no result");
+        }
+        return written;
+    }
+
+    private SaldoResponse toResponse(SaldoCuenta saldo) {
+        return new SaldoResponse(saldo.getId().cuentaId(), saldo.getId().divisa(), saldo.getSaldo(),
+                saldo.getFechaActualizacion());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the FX rates at startup and then keeps each node on the newest stored version.
+ */
+@Slf4j
+@Component
+public class TipoCambioScheduler {
+
+    private final TipoCambioService tipoCambioService;
+
+    public TipoCambioScheduler(TipoCambioService tipoCambioService) {
+        this.tipoCambioService = tipoCambioService;
+    }
+
+    /**
+     * Loads the rates as soon as the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            tipoCambioService.initialize();
+        } catch (RuntimeException ex) {
+            log.error("Initial FX rate load failed", ex);
+        }
+    }
+
+    /**
+     * Picks up rate versions stored by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.fx.refresh-interval}")
+    public void refresh() {
+        try {
+            tipoCambioService.refresh();
+        } catch (RuntimeException ex) {
+            log.error("FX rate refresh failed", ex);
+        }
+    }
+}
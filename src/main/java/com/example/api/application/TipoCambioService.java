@@ -0,0 +1,41 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.TipoCambioResponse;
+
+/**
+ * Service for the cached FX rates.
+ */
+public interface TipoCambioService {
+
+    /**
+     * Returns the rate snapshot in use. Never blocks and never touches the database.
+     *
+     * @return the current snapshot
+     */
+    TipoCambioSnapshot snapshot();
+
+    /**
+     * Returns the rates in use.
+     *
+     * @return the current rate set
+     */
+    TipoCambioResponse getTiposCambio();
+
+    /**
+     * Loads the configured rates file, stores it as a new version and switches to it.
+     *
+     * @return the new rate set
+     */
+    TipoCambioResponse reload();
+
+    /**
+     * Switches to the newest stored version if it is newer than the one in use, picking up
+     * reloads made on other nodes.
+     */
+    void refresh();
+
+    /**
+     * Loads the newest stored version, or the rates file if no version has been stored yet.
+     */
+    void initialize();
+}
@@ -0,0 +1,190 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaFxProperties;
+import com.example.api.dto.response.TipoCambioResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.TipoCambioJdbcRepository;
+import com.example.api.infrastructure.TipoCambioVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Service implementation for the cached FX rates.
+ *
+ * <p>Readers get the current {@link TipoCambioSnapshot} from an atomic reference and never wait.
+ * A reload parses the whole file, stores it as a new version and only then swaps the reference,
+ * so a report always sees one complete rate set. Swaps only move forward in version, so a slow
+ * refresh can never replace a newer snapshot with an older one.</p>
+ */
+@Slf4j
+@Service
+public class TipoCambioServiceImpl implements TipoCambioService {
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    private static final int MAX_SCALE = 8;
+
+    private final TipoCambioJdbcRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferenciaFxProperties properties;
+    private final AtomicReference<TipoCambioSnapshot> snapshot;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    public TipoCambioServiceImpl(TipoCambioJdbcRepository repository,
+                                 TransactionTemplate transactionTemplate,
+                                 TransferenciaFxProperties properties) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.snapshot = new AtomicReference<>(
+                TipoCambioSnapshot.of(0, Instant.EPOCH, properties.baseCurrency(), Map.of()));
+    }
+
+    @Override
+    public TipoCambioSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    @Override
+    public TipoCambioResponse getTiposCambio() {
+        return toResponse(snapshot.get());
+    }
+
+    @Override
+    public TipoCambioResponse reload() {
+        if (properties.ratesFile() == null || properties.ratesFile().isBlank()) {
+            throw new BusinessException("No FX rates file is configured");
+        }
+        if (!reloading.compareAndSet(false, true)) {
+            throw new ConflictException("An FX rate reload is already running");
+        }
+        try {
+            Map<String, BigDecimal> tasas = readRatesFile(Path.of(properties.ratesFile()));
+            Instant now = Instant.now();
+            Long version = transactionTemplate.execute(status -> {
+                long next = repository.findLatestVersion() + 1;
+                repository.insertVersion(next, tasas, now);
+                return next;
+            });
+            if (version == null) {
+                throw new IllegalStateException("FX rate reload returned no version");
+            }
+            TipoCambioSnapshot loaded = swap(TipoCambioSnapshot.of(version, now, properties.baseCurrency(), tasas));
+            log.info("Loaded FX rate version {} with {} currencies", version, tasas.size());
+            return toResponse(loaded);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Another node stored a new FX rate version at the same time; retry");
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        long latest = repository.findLatestVersion();
+        if (latest > snapshot.get().version()) {
+            TipoCambioVersion stored = repository.findVersion(latest);
+            swap(TipoCambioSnapshot.of(stored.version(), stored.fechaCarga(), properties.baseCurrency(),
+                    stored.tasas()));
+            log.info("Switched to FX rate version {}", latest);
+        }
+    }
+
+    @Override
+    public void initialize() {
+        refresh();
+        if (snapshot.get().version() == 0 && properties.ratesFile() != null && !properties.ratesFile().isBlank()) {
+            reload();
+        }
+    }
+
+    private TipoCambioSnapshot swap(TipoCambioSnapshot next) {
+        return snapshot.accumulateAndGet(next, (current, candidate) ->
+                candidate.version() > current.version() ? candidate : current);
+    }
+
+    private Map<String, BigDecimal> readRatesFile(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read FX rates file " + file, ex);
+        }
+    }
+
+    private Map<String, BigDecimal> parse(BufferedReader reader) throws IOException {
+        Map<String, BigDecimal> tasas = new TreeMap<>();
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split(",", -1);
+            if (fields.length != 2) {
+                throw invalidLine(lineNumber, "expected 'divisa,tasa'");
+            }
+            String divisa = fields[0].strip();
+            if (!CURRENCY.matcher(divisa).matches()) {
+                throw invalidLine(lineNumber, "invalid currency '" + divisa + "'");
+            }
+            BigDecimal tasa = parseTasa(fields[1].strip(), lineNumber);
+            if (divisa.equals(properties.baseCurrency()) && tasa.compareTo(BigDecimal.ONE) != 0) {
+                throw invalidLine(lineNumber, "the base currency must have a rate of 1");
+            }
+            if (tasas.put(divisa, tasa) != null) {
+                throw invalidLine(lineNumber, "duplicate currency " + divisa);
+            }
+        }
+        if (tasas.isEmpty()) {
+            throw new BusinessException("The FX rates file contains no rates");
+        }
+        tasas.put(properties.baseCurrency(), BigDecimal.ONE);
+        return tasas;
+    }
+
+    private BigDecimal parseTasa(String value, int lineNumber) {
+        BigDecimal tasa;
+        try {
+            tasa = new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw invalidLine(lineNumber, "invalid rate '" + value + "'");
+        }
+        if (tasa.signum() <= 0) {
+            throw invalidLine(lineNumber, "the rate must be positive");
+        }
+        if (tasa.stripTrailingZeros().scale() > MAX_SCALE) {
+            throw invalidLine(lineNumber, "the rate must have at most " + MAX_SCALE + " decimal places");
+        }
+        return tasa;
+    }
+
+    private BusinessException invalidLine(int lineNumber, String reason) {
+        return new BusinessException("Invalid FX rate at line " + lineNumber + ": " + reason);
+    }
+
+    private TipoCambioResponse toResponse(TipoCambioSnapshot current) {
+        Map<String, BigDecimal> tasas = new LinkedHashMap<>();
+        for (int i = 0; i < current.size(); i++) {
+            tasas.put(current.divisa(i), current.tasa(i));
+        }
+        return new TipoCambioResponse(current.version(), current.base(), current.fechaCarga(), tasas);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.api.application;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, versioned set of FX rates.
+ *
+ * <p>Currencies are held in a sorted array, so each one has a stable index within the snapshot.
+ * Callers accumulate amounts into an array aligned with those indexes and convert the whole array
+ * at once against a vector of conversion factors. The factor vector for a target currency is
+ * computed once per snapshot and then shared by every conversion to that currency.</p>
+ */
+public final class TipoCambioSnapshot {
+
+    private final long version;
+    private final Instant fechaCarga;
+    private final String base;
+    private final String[] divisas;
+    private final BigDecimal[] tasas;
+    private final ConcurrentMap<Integer, BigDecimal[]> factores = new ConcurrentHashMap<>();
+
+    private TipoCambioSnapshot(long version, Instant fechaCarga, String base, Map<String, BigDecimal> tasas) {
+        Map<String, BigDecimal> sorted = new TreeMap<>(tasas);
+        sorted.put(base, BigDecimal.ONE);
+        this.version = version;
+        this.fechaCarga = fechaCarga;
+        this.base = base;
+        this.divisas = sorted.keySet().toArray(String[]::new);
+        this.tasas = sorted.values().toArray(BigDecimal[]::new);
+    }
+
+    /**
+     * Creates a snapshot. The base currency is always present with a rate of one.
+     *
+     * @param version    rate set version, {@code 0} for the empty startup snapshot
+     * @param fechaCarga when the rates were loaded
+     * @param base       the base currency
+     * @param tasas      units of each currency per unit of the base currency
+     * @return the snapshot
+     */
+    public static TipoCambioSnapshot of(long version, Instant fechaCarga, String base,
+                                        Map<String, BigDecimal> tasas) {
+        return new TipoCambioSnapshot(version, fechaCarga, base, tasas);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant fechaCarga() {
+        return fechaCarga;
+    }
+
+    public String base() {
+        return base;
+    }
+
+    /**
+     * Returns the number of currencies, which is also the length of arrays aligned with this snapshot.
+     *
+     * @return the number of currencies
+     */
+    public int size() {
+        return divisas.length;
+    }
+
+    /**
+     * Returns the index of a currency.
+     *
+     * @param divisa the currency code
+     * @return the index, or {@code -1} if the snapshot has no rate for it
+     */
+    public int indexOf(String divisa) {
+        if (divisa == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(divisas, divisa);
+        return index < 0 ? -1 : index;
+    }
+
+    public String divisa(int index) {
+        return divisas[index];
+    }
+
+    public BigDecimal tasa(int index) {
+        return tasas[index];
+    }
+
+    /**
+     * Converts an array of amounts, aligned with this snapshot, to one currency and sums them.
+     *
+     * @param importes amounts by currency index; {@code null} entries are skipped
+     * @param destino  index of the target currency
+     * @return the unrounded sum in the target currency
+     */
+    public BigDecimal convertirSuma(BigDecimal[] importes, int destino) {
+        if (importes.length != divisas.length) {
+            throw new IllegalArgumentException("Expected " + divisas.length + " amounts, got " + importes.length);
+        }
+        BigDecimal[] factor = factores.computeIfAbsent(destino, this::computeFactores);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < importes.length; i++) {
+            if (importes[i] != null) {
+                total = total.add(importes[i].multiply(factor[i]));
+            }
+        }
+        return total;
+    }
+
+    private BigDecimal[] computeFactores(int destino) {
+        BigDecimal[] factor = new BigDecimal[tasas.length];
+        for (int i = 0; i < tasas.length; i++) {
+            factor[i] = i == destino ? BigDecimal.ONE : tasas[destino].divide(tasas[i], MathContext.DECIMAL64);
+        }
+        return factor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.TopCuentasResponse;
+
+/**
+ * Service interface for the live ranking of accounts by outbound volume.
+ */
+public interface TopCuentasService {
+
+    /**
+     * Returns the source accounts with the highest volume of transfers created in a sliding window,
+     * from an in-memory summary of bounded size instead of a query.
+     *
+     * @param divisa  the currency code
+     * @param ventana one of the configured windows as an ISO-8601 duration, or {@code null} for the
+     *                first one
+     * @param limit   most accounts to return, or {@code null} for 100
+     * @return the ranking, heaviest first
+     */
+    TopCuentasResponse getTopCuentas(String divisa, String ventana, Integer limit);
+}
@@ -0,0 +1,187 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaHeavyHittersProperties;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.response.TopCuentaResponse;
+import com.example.api.dto.response.TopCuentasResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.HeavyHitter;
+import com.example.api.infrastructure.SlidingHeavyHitters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation for the live ranking of accounts by outbound volume.
+ *
+ * <p>Every committed transfer creation adds its amount, in cents, to its source account in a
+ * {@link SlidingHeavyHitters} summary per configured window and currency. Summaries have a fixed
+ * number of counters, so memory depends on the configured error bound, windows and currency limit,
+ * not on the number of accounts or transfers. Rankings are per node: with several nodes behind a
+ * load balancer, each ranks the transfers it created.</p>
+ */
+@Service
+public class TopCuentasServiceImpl implements TopCuentasService {
+
+    static final String METRIC_VOLUME = "transferencias.heavyhitters.volume";
+    static final String METRIC_TOP = "transferencias.heavyhitters.top";
+    static final String METRIC_IGNORED = "transferencias.heavyhitters.ignored";
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int AMOUNT_SCALE = 2;
+
+    private final TransferenciaHeavyHittersProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SlidingHeavyHitters[]> porDivisa = new ConcurrentHashMap<>();
+    private final Object registration = new Object();
+    private final Counter ignored;
+
+    public TopCuentasServiceImpl(TransferenciaHeavyHittersProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.ignored = Counter.builder(METRIC_IGNORED)
+                .description("Created transfers not ranked because the currency limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the transfers created by a committed write to the rankings.
+     *
+     * @param event the transfers changed by the write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (TransferenciaChange change : event.changes()) {
+            TransferenciaSnapshot creada = change.despues();
+            if (change.antes() != null || creada == null) {
+                continue;
+            }
+            SlidingHeavyHitters[] summaries = summaries(creada.divisa());
+            if (summaries == null) {
+                ignored.increment();
+                continue;
+            }
+            long cents = toCents(creada.importe());
+            for (SlidingHeavyHitters summary : summaries) {
+                summary.add(creada.cuentaOrigenId(), cents);
+            }
+        }
+    }
+
+    @Override
+    public TopCuentasResponse getTopCuentas(String divisa, String ventana, Integer limit) {
+        if (!properties.enabled()) {
+            throw new BusinessException("Account ranking is disabled");
+        }
+        if (divisa == null || divisa.length() != 3) {
+            throw new BusinessException("Invalid currency: " + divisa);
+        }
+        int window = window(ventana);
+        int capacity = properties.capacity();
+        int size = limit == null ? Math.min(DEFAULT_LIMIT, capacity) : limit;
+        if (size < 1 || size > capacity) {
+            throw new BusinessException("'limit' must be between 1 and " + capacity);
+        }
+        Duration duration = properties.windows().get(window);
+        SlidingHeavyHitters[] summaries = porDivisa.get(divisa);
+        if (summaries == null) {
+            return new TopCuentasResponse(divisa, duration.toString(), toAmount(0), toAmount(0), List.of());
+        }
+        SlidingHeavyHitters.Snapshot snapshot = summaries[window].top(size);
+        List<TopCuentaResponse> cuentas = new ArrayList<>(snapshot.hitters().size());
+        for (HeavyHitter hitter : snapshot.hitters()) {
+            cuentas.add(new TopCuentaResponse(cuentas.size() + 1, hitter.key(), toAmount(hitter.estimado()),
+                    toAmount(hitter.estimado() - hitter.error())));
+        }
+        long errorMaximo = (long) Math.ceil(snapshot.total() / (double) capacity);
+        return new TopCuentasResponse(divisa, duration.toString(), toAmount(snapshot.total()),
+                toAmount(errorMaximo), cuentas);
+    }
+
+    private int window(String ventana) {
+        if (ventana == null) {
+            return 0;
+        }
+        try {
+            int window = properties.windows().indexOf(Duration.parse(ventana));
+            if (window >= 0) {
+                return window;
+            }
+        } catch (DateTimeParseException ex) {
+            throw new BusinessException("Invalid window: " + ventana);
+        }
+        throw new BusinessException("Window " + ventana + " is not tracked; use one of " + properties.windows());
+    }
+
+    /**
+     * Returns the summaries of a currency, creating them and their gauges on its first transfer.
+     *
+     * @return the summaries, one per window, or {@code null} once the currency limit is reached
+     */
+    private SlidingHeavyHitters[] summaries(String divisa) {
+        SlidingHeavyHitters[] summaries = porDivisa.get(divisa);
+        if (summaries != null) {
+            return summaries;
+        }
+        synchronized (registration) {
+            summaries = porDivisa.get(divisa);
+            if (summaries != null || porDivisa.size() >= properties.maxDivisas()) {
+                return summaries;
+            }
+            summaries = new SlidingHeavyHitters[properties.windows().size()];
+            for (int i = 0; i < summaries.length; i++) {
+                Duration window = properties.windows().get(i);
+                summaries[i] = new SlidingHeavyHitters(window, properties.buckets(), properties.capacity());
+                register(summaries[i], window, divisa);
+            }
+            porDivisa.put(divisa, summaries);
+            return summaries;
+        }
+    }
+
+    private void register(SlidingHeavyHitters summary, Duration window, String divisa) {
+        Gauge.builder(METRIC_VOLUME, summary, s -> s.total() / 100.0)
+                .description("Volume of the transfers created in the window")
+                .tag("ventana", window.toString())
+                .tag("divisa", divisa)
+                .register(meterRegistry);
+        for (int rank = 1; rank <= properties.gaugeRanks(); rank++) {
+            int position = rank;
+            Gauge.builder(METRIC_TOP, summary, s -> rank(s, position))
+                    .description("Estimated outbound volume of the account at this rank in the window")
+                    .tag("ventana", window.toString())
+                    .tag("divisa", divisa)
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+        }
+    }
+
+    private static double rank(SlidingHeavyHitters summary, int position) {
+        List<HeavyHitter> hitters = summary.top(position).hitters();
+        return hitters.size() < position ? 0 : hitters.get(position - 1).estimado() / 100.0;
+    }
+
+    private static long toCents(BigDecimal importe) {
+        return importe.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, AMOUNT_SCALE);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves old transfers to the archive on the configured schedule.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.archive", name = "enabled", havingValue = "true")
+public class TransferenciaArchiveJob {
+
+    private final TransferenciaArchiveService archiveService;
+
+    public TransferenciaArchiveJob(TransferenciaArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    /**
+     * Archives the transfers that have left the retention window since the last run.
+     */
+    @Scheduled(cron = "${transferencias.archive.cron}", zone = "UTC")
+    public void run() {
+        try {
+            archiveService.archive();
+        } catch (RuntimeException ex) {
+            log.error("Transfer archive run failed; it is retried on the next run", ex);
+        }
+    }
+}
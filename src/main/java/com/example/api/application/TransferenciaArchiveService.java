@@ -0,0 +1,18 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.TransferenciaArchiveResponse;
+
+/**
+ * Service interface for moving old transfers to the cold-storage archive.
+ */
+public interface TransferenciaArchiveService {
+
+    /**
+     * Moves every transfer that is no longer pending and was created before the retention window
+     * into archive files, one per creation month, and deletes it from the database. Archived
+     * transfers remain readable by id and in account histories, but can no longer be changed.
+     *
+     * @return a summary of the run
+     */
+    TransferenciaArchiveResponse archive();
+}
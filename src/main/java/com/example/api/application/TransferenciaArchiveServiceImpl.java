@@ -0,0 +1,230 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaArchiveProperties;
+import com.example.api.dto.response.TransferenciaArchiveResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import com.example.api.infrastructure.TransferenciaArchiveFile;
+import com.example.api.infrastructure.TransferenciaArchiveWriter;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service implementation for moving old transfers to the cold-storage archive.
+ *
+ * <p>A run archives one creation month at a time, oldest first, up to the start of the retention
+ * window, and each month in chunks of consecutive ids. Each chunk is one short transaction: its
+ * closed transfers are read in id order with row locks and written to a temporary file, the net
+ * amounts of the completed ones are added to the archived balance totals, the rows are deleted, and
+ * the file is renamed into place before the transaction commits. If anything fails the transaction
+ * rolls back and the file is removed, so a transfer is either in the database or in exactly one
+ * archive file, and counts towards the archived totals only in the latter case. Pending transfers
+ * stay in the database whatever their age, and are archived by a later run once they are closed.</p>
+ *
+ * <p>Runs are only kept apart within this node, so archiving must be enabled on one node only.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaArchiveServiceImpl implements TransferenciaArchiveService {
+
+    static final String METRIC_DURATION = "transferencias.archive.duration";
+    static final String METRIC_ARCHIVED = "transferencias.archive.transferencias";
+
+    private static final DateTimeFormatter FILE_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final SaldoJdbcRepository saldoRepository;
+    private final TransferenciaArchiveStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferenciaArchiveProperties properties;
+    private final Clock clock;
+    private final Timer duration;
+    private final Counter archived;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public TransferenciaArchiveServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                           SaldoJdbcRepository saldoRepository,
+                                           TransferenciaArchiveStore store,
+                                           PlatformTransactionManager transactionManager,
+                                           TransferenciaArchiveProperties properties,
+                                           MeterRegistry meterRegistry) {
+        this(jdbcRepository, saldoRepository, store, transactionManager, properties, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    TransferenciaArchiveServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                    SaldoJdbcRepository saldoRepository,
+                                    TransferenciaArchiveStore store,
+                                    PlatformTransactionManager transactionManager,
+                                    TransferenciaArchiveProperties properties,
+                                    MeterRegistry meterRegistry,
+                                    Clock clock) {
+        this.jdbcRepository = jdbcRepository;
+        this.saldoRepository = saldoRepository;
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.duration = Timer.builder(METRIC_DURATION)
+                .description("Time taken by archive runs")
+                .register(meterRegistry);
+        this.archived = Counter.builder(METRIC_ARCHIVED)
+                .description("Transfers moved from the database to the archive")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TransferenciaArchiveResponse archive() {
+        if (!properties.enabled()) {
+            throw new BusinessException("The transfer archive is not enabled on this node");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("An archive run is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            YearMonth oldestKept = YearMonth.now(clock.withZone(ZoneOffset.UTC))
+                    .minusMonths(properties.retentionMonths());
+            Instant hasta = startOf(oldestKept);
+            Instant oldest = jdbcRepository.findOldestClosedBefore(hasta);
+            int ficheros = 0;
+            long transferencias = 0;
+            if (oldest != null) {
+                YearMonth mes = YearMonth.from(oldest.atOffset(ZoneOffset.UTC));
+                for (; mes.isBefore(oldestKept); mes = mes.plusMonths(1)) {
+                    Chunk chunk = new Chunk(0, Long.MIN_VALUE);
+                    int parte = 0;
+                    do {
+                        chunk = archiveChunk(mes, ++parte, chunk.hastaId());
+                        if (chunk.rows() > 0) {
+                            ficheros++;
+                            transferencias += chunk.rows();
+                            archived.increment(chunk.rows());
+                        }
+                    } while (chunk.rows() == properties.chunkSize());
+                }
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (transferencias > 0) {
+                log.info("Archived {} transfers created before {} into {} files in {} ms",
+                        transferencias, hasta, ficheros, durationMs);
+            }
+            return new TransferenciaArchiveResponse(hasta, ficheros, transferencias, durationMs);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archives the first closed transfers of a month from an id on, up to the chunk size, in one
+     * transaction.
+     *
+     * @return the number of transfers archived and the id the next chunk starts at
+     */
+    private Chunk archiveChunk(YearMonth mes, int parte, long desdeId) {
+        Instant desde = startOf(mes);
+        Instant hasta = startOf(mes.plusMonths(1));
+        String name = "transferencias-" + mes.format(FILE_MONTH) + "-" + clock.millis() + "-" + parte
+                + TransferenciaArchiveStore.FILE_SUFFIX;
+        Path monthDirectory = store.directoryOf(mes);
+        Path target = monthDirectory.resolve(name);
+        Path temporary;
+        try {
+            temporary = Files.createDirectories(store.directory()).resolve(name + ".tmp");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Chunk chunk;
+        try {
+            chunk = transactionTemplate.execute(status -> {
+                long written;
+                long[] ultimoId = {desdeId};
+                try (TransferenciaArchiveWriter writer = new TransferenciaArchiveWriter(temporary,
+                        properties.blockSize())) {
+                    jdbcRepository.streamClosedForUpdate(desde, hasta, desdeId, properties.chunkSize(),
+                            properties.fetchSize(), transferencia -> {
+                                writer.add(transferencia);
+                                ultimoId[0] = transferencia.idTransferencia();
+                            });
+                    written = writer.finish();
+                }
+                if (written == 0) {
+                    return new Chunk(0, desdeId);
+                }
+                long hastaId = ultimoId[0] + 1;
+                saldoRepository.addArchived(desde, hasta, desdeId, hastaId);
+                int deleted = jdbcRepository.deleteClosed(desde, hasta, desdeId, hastaId);
+                if (deleted != written) {
+                    throw new ConflictException("Transfers of " + mes + " changed while they were archived: "
+                            + "wrote " + written + ", deleted " + deleted);
+                }
+                move(temporary, monthDirectory, target);
+                return new Chunk(written, hastaId);
+            });
+        } catch (RuntimeException ex) {
+            // The transaction rolled back, possibly after the rename: the rows are still in the database.
+            deleteQuietly(target);
+            throw ex;
+        } finally {
+            deleteQuietly(temporary);
+        }
+        if (chunk == null || chunk.rows() == 0) {
+            return new Chunk(0, desdeId);
+        }
+        store.register(TransferenciaArchiveFile.open(target));
+        return chunk;
+    }
+
+    private void move(Path source, Path directory, Path target) {
+        try {
+            Files.createDirectories(directory);
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete archive file {}", file, ex);
+        }
+    }
+
+    private Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Outcome of one archived chunk.
+     *
+     * @param rows    transfers archived
+     * @param hastaId id the next chunk starts at
+     */
+    private record Chunk(long rows, long hastaId) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaArchiveProperties;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.infrastructure.TransferenciaArchiveFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The archive files of this node and the lookups that read them.
+ *
+ * <p>Files live under {@code <directory>/<yyyy>/<MM>/}, by the month their transfers were created in;
+ * a month can hold several files. The footers of every file are read once, on the first lookup, and
+ * kept in memory. A lookup first skips whole files, then blocks, whose statistics rule out a match,
+ * and decompresses only the columns it needs of the remaining blocks.</p>
+ */
+@Slf4j
+@Component
+public class TransferenciaArchiveStore {
+
+    static final String FILE_SUFFIX = ".col";
+    static final String METRIC_BLOCKS_READ = "transferencias.archive.blocks.read";
+    static final String METRIC_BLOCKS_SKIPPED = "transferencias.archive.blocks.skipped";
+
+    private static final Comparator<TransferenciaSnapshot> NEWEST_FIRST = Comparator
+            .comparing(TransferenciaSnapshot::fechaCreacion)
+            .thenComparing(TransferenciaSnapshot::idTransferencia)
+            .reversed();
+
+    private final Path directory;
+    private final Counter blocksRead;
+    private final Counter blocksSkipped;
+    private final Object lock = new Object();
+    private volatile List<TransferenciaArchiveFile> files;
+
+    public TransferenciaArchiveStore(TransferenciaArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.directory = properties.directory() == null ? null : Path.of(properties.directory());
+        this.blocksRead = Counter.builder(METRIC_BLOCKS_READ)
+                .description("Archive blocks decompressed by lookups")
+                .register(meterRegistry);
+        this.blocksSkipped = Counter.builder(METRIC_BLOCKS_SKIPPED)
+                .description("Archive blocks skipped by lookups on their footer statistics")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the root directory of the archive, or {@code null} if this node has none
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Returns the directory that holds the files of a month, without creating it.
+     *
+     * @param mes the month the transfers were created in
+     * @return the directory
+     */
+    public Path directoryOf(YearMonth mes) {
+        return directory.resolve(String.format("%04d", mes.getYear()))
+                .resolve(String.format("%02d", mes.getMonthValue()));
+    }
+
+    /**
+     * Makes a newly written file visible to lookups. Until the first lookup loads the directory
+     * there is nothing to update: the load finds the file.
+     *
+     * @param file the file, in the directory of its month
+     */
+    public void register(TransferenciaArchiveFile file) {
+        synchronized (lock) {
+            if (files != null && files.stream().noneMatch(known -> known.path().equals(file.path()))) {
+                List<TransferenciaArchiveFile> updated = new ArrayList<>(files);
+                updated.add(file);
+                files = List.copyOf(updated);
+            }
+        }
+    }
+
+    /**
+     * Returns the creation time of the newest archived transfer.
+     *
+     * @return the time, or {@code null} if the archive is empty
+     */
+    public Instant newestFecha() {
+        Instant newest = null;
+        for (TransferenciaArchiveFile file : files()) {
+            if (file.summary() != null && (newest == null || file.summary().maxFecha().isAfter(newest))) {
+                newest = file.summary().maxFecha();
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Looks up an archived transfer.
+     *
+     * @param id the transfer id
+     * @return the transfer, if it is archived
+     */
+    public Optional<TransferenciaSnapshot> findById(long id) {
+        for (TransferenciaArchiveFile file : files()) {
+            if (file.summary() == null || !file.summary().mayContainId(id)) {
+                blocksSkipped.increment(file.blocks().size());
+                continue;
+            }
+            List<TransferenciaArchiveFile.Block> blocks = file.blocks();
+            for (int b = 0; b < blocks.size(); b++) {
+                if (!blocks.get(b).mayContainId(id)) {
+                    blocksSkipped.increment();
+                    continue;
+                }
+                blocksRead.increment();
+                int row = Arrays.binarySearch(file.readLongs(b, TransferenciaArchiveFile.Column.ID), id);
+                if (row >= 0) {
+                    return Optional.of(file.readRows(b).get(row));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the archived transfers with an account on one side that are strictly older than a
+     * position, newest first.
+     *
+     * @param cuentaId the account id
+     * @param origen   {@code true} for transfers from the account, {@code false} for transfers to it
+     * @param fecha    creation time of the position
+     * @param id       transfer id of the position
+     * @param limit    maximum number of transfers
+     * @return the transfers, in descending {@code (fechaCreacion, idTransferencia)} order
+     */
+    public List<TransferenciaSnapshot> findByCuentaBefore(long cuentaId, boolean origen, Instant fecha, long id,
+                                                          int limit) {
+        List<TransferenciaArchiveFile> candidates = new ArrayList<>();
+        for (TransferenciaArchiveFile file : files()) {
+            TransferenciaArchiveFile.Block summary = file.summary();
+            if (summary == null || !summary.mayContainCuenta(cuentaId, origen) || summary.minFecha().isAfter(fecha)) {
+                blocksSkipped.increment(file.blocks().size());
+            } else {
+                candidates.add(file);
+            }
+        }
+        candidates.sort(Comparator.comparing((TransferenciaArchiveFile file) -> file.summary().maxFecha())
+                .reversed());
+        TransferenciaArchiveFile.Column column = origen
+                ? TransferenciaArchiveFile.Column.CUENTA_ORIGEN
+                : TransferenciaArchiveFile.Column.CUENTA_DESTINO;
+        List<TransferenciaSnapshot> result = new ArrayList<>();
+        for (TransferenciaArchiveFile file : candidates) {
+            if (result.size() == limit && result.get(limit - 1).fechaCreacion().isAfter(file.summary().maxFecha())) {
+                // Files are visited newest first: none of the rest can hold a newer transfer.
+                break;
+            }
+            List<TransferenciaArchiveFile.Block> blocks = file.blocks();
+            for (int b = 0; b < blocks.size(); b++) {
+                TransferenciaArchiveFile.Block block = blocks.get(b);
+                if (!block.mayContainCuenta(cuentaId, origen) || block.minFecha().isAfter(fecha)) {
+                    blocksSkipped.increment();
+                    continue;
+                }
+                blocksRead.increment();
+                long[] cuentas = file.readLongs(b, column);
+                if (Arrays.stream(cuentas).noneMatch(cuenta -> cuenta == cuentaId)) {
+                    continue;
+                }
+                List<TransferenciaSnapshot> rows = file.readRows(b);
+                for (int row = 0; row < cuentas.length; row++) {
+                    TransferenciaSnapshot t = rows.get(row);
+                    if (cuentas[row] == cuentaId && isBefore(t, fecha, id)) {
+                        result.add(t);
+                    }
+                }
+            }
+            result.sort(NEWEST_FIRST);
+            if (result.size() > limit) {
+                result.subList(limit, result.size()).clear();
+            }
+        }
+        return result;
+    }
+
+    private static boolean isBefore(TransferenciaSnapshot t, Instant fecha, long id) {
+        int byFecha = t.fechaCreacion().compareTo(fecha);
+        return byFecha < 0 || byFecha == 0 && t.idTransferencia() < id;
+    }
+
+    private List<TransferenciaArchiveFile> files() {
+        List<TransferenciaArchiveFile> current = files;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (files == null) {
+                files = load();
+            }
+            return files;
+        }
+    }
+
+    private List<TransferenciaArchiveFile> load() {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.find(directory, 3, (path, attributes) -> attributes.isRegularFile()
+                && String.valueOf(path.getFileName()).endsWith(FILE_SUFFIX))) {
+            List<TransferenciaArchiveFile> loaded = paths.sorted().map(TransferenciaArchiveFile::open).toList();
+            log.info("Loaded {} transfer archive files from {}", loaded.size(), directory);
+            return loaded;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
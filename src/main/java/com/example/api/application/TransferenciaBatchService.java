@@ -0,0 +1,23 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.BatchTransferenciaResponse;
+
+import java.util.Iterator;
+
+/**
+ * Service interface for bulk transfer creation.
+ */
+public interface TransferenciaBatchService {
+
+    /**
+     * Creates transfers in chunked JDBC batches, one transaction per chunk.
+     * Invalid items are reported individually and never abort the rest of the batch. That includes
+     * items the iterator cannot produce: a {@link com.example.api.exception.BusinessException} thrown
+     * by {@link Iterator#next()} fails that item and the batch moves on to the next one.
+     *
+     * @param requests the creation requests, consumed lazily so streamed input is never fully buffered
+     * @return the per-item results in request order
+     */
+    BatchTransferenciaResponse createBatch(Iterator<CreateTransferenciaRequest> requests);
+}
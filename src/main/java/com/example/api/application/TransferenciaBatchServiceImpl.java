@@ -0,0 +1,203 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaBatchProperties;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.BatchTransferenciaItemResponse;
+import com.example.api.dto.response.BatchTransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk transfer creation.
+ *
+ * <p>Each chunk is persisted with {@code saveAllAndFlush} inside its own transaction, which lets
+ * Hibernate group the inserts into JDBC batches (ids come from a pooled sequence, so no round trip
+ * per row is needed). If a chunk fails at the database, its items are retried one by one so a
+ * single bad row only fails itself.</p>
+ *
+ * <p>An item the request iterator cannot parse fails on its own, like an item that breaks a
+ * validation rule, and the items after it are still created.</p>
+ *
+ * <p>Items are counted against the velocity limits as they are read, so an item over a limit fails
+ * on its own; items that finally fail at the database are withdrawn again. Items whose accounts the
+ * {@link CuentaRegistryService} rejects fail the same way, before they are counted, and so do
+ * items whose external reference is already used. Each chunk records the {@code ref:} idempotency
+ * keys of its items in its own transaction, so a reference reused within a chunk or by a concurrent
+ * request fails only the item that reused it.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaBatchServiceImpl implements TransferenciaBatchService {
+
+    static final String STATUS_CREATED = "CREATED";
+    static final String STATUS_FAILED = "FAILED";
+
+    private final TransferenciaRepository repository;
+    private final TransferenciaMapper mapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferenciaBatchProperties properties;
+    private final TransferenciaVelocityService velocityService;
+    private final CuentaRegistryService cuentaRegistry;
+    private final ReferenciaFilterService referenciaFilter;
+
+    public TransferenciaBatchServiceImpl(TransferenciaRepository repository,
+                                         TransferenciaMapper mapper,
+                                         Validator validator,
+                                         TransactionTemplate transactionTemplate,
+                                         ApplicationEventPublisher eventPublisher,
+                                         TransferenciaBatchProperties properties,
+                                         TransferenciaVelocityService velocityService,
+                                         CuentaRegistryService cuentaRegistry,
+                                         ReferenciaFilterService referenciaFilter) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.velocityService = velocityService;
+        this.cuentaRegistry = cuentaRegistry;
+        this.referenciaFilter = referenciaFilter;
+    }
+
+    @Override
+    public BatchTransferenciaResponse createBatch(Iterator<CreateTransferenciaRequest> requests) {
+        List<BatchTransferenciaItemResponse> results = new ArrayList<>();
+        List<PendingItem> chunk = new ArrayList<>(properties.chunkSize());
+        int index = 0;
+        while (requests.hasNext()) {
+            try {
+                CreateTransferenciaRequest request = requests.next();
+                String error = validate(request);
+                if (error != null) {
+                    results.add(failed(index, error));
+                } else {
+                    cuentaRegistry.validate(request.cuentaOrigenId(), request.cuentaDestinoId());
+                    checkReferencia(request.referenciaExterna());
+                    Transferencia entity = toEntity(request);
+                    chunk.add(new PendingItem(index, entity, velocityService.reserve(
+                            entity.getCuentaOrigenId(), entity.getDivisa(), entity.getImporte())));
+                }
+            } catch (IllegalArgumentException | BusinessException ex) {
+                results.add(failed(index, ex.getMessage()));
+            }
+            if (chunk.size() >= properties.chunkSize()) {
+                results.addAll(persistChunk(chunk));
+                chunk.clear();
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(persistChunk(chunk));
+        }
+        results.sort(Comparator.comparingInt(BatchTransferenciaItemResponse::index));
+        int created = (int) results.stream()
+                .filter(item -> STATUS_CREATED.equals(item.status()))
+                .count();
+        return new BatchTransferenciaResponse(index, created, index - created, results);
+    }
+
+    private List<BatchTransferenciaItemResponse> persistChunk(List<PendingItem> chunk) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Transferencia> saved = repository.saveAllAndFlush(
+                        chunk.stream().map(PendingItem::entity).toList());
+                List<BatchTransferenciaItemResponse> created = new ArrayList<>(saved.size());
+                List<TransferenciaSnapshot> snapshots = new ArrayList<>(saved.size());
+                List<TransferenciaChange> changes = new ArrayList<>(saved.size());
+                for (int i = 0; i < saved.size(); i++) {
+                    created.add(created(chunk.get(i).index(), saved.get(i)));
+                    snapshots.add(saved.get(i).snapshot());
+                    changes.add(TransferenciaChange.created(snapshots.get(i)));
+                }
+                referenciaFilter.register(snapshots);
+                eventPublisher.publishEvent(new TransferenciasChangedEvent(changes));
+                return created;
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Batch chunk of {} transfers failed, retrying item by item: {}",
+                    chunk.size(), ex.getMessage());
+            return chunk.stream()
+                    .map(this::persistSingle)
+                    .toList();
+        }
+    }
+
+    private BatchTransferenciaItemResponse persistSingle(PendingItem item) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Transferencia saved = repository.saveAndFlush(item.entity());
+                TransferenciaSnapshot snapshot = saved.snapshot();
+                referenciaFilter.register(List.of(snapshot));
+                eventPublisher.publishEvent(TransferenciasChangedEvent.of(TransferenciaChange.created(snapshot)));
+                return created(item.index(), saved);
+            });
+        } catch (DataAccessException ex) {
+            item.reservation().release();
+            return failed(item.index(), ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void checkReferencia(String referenciaExterna) {
+        if (referenciaExterna != null && !referenciaExterna.isBlank() && referenciaFilter.isUsed(referenciaExterna)) {
+            throw new BusinessException("External reference already used: " + referenciaExterna);
+        }
+    }
+
+    private String validate(CreateTransferenciaRequest request) {
+        if (request == null) {
+            return "Item must not be null";
+        }
+        Set<ConstraintViolation<CreateTransferenciaRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Transferencia toEntity(CreateTransferenciaRequest request) {
+        return new Transferencia(
+                request.cuentaOrigenId(),
+                request.cuentaDestinoId(),
+                request.importe(),
+                request.divisa(),
+                request.concepto(),
+                request.referenciaExterna()
+        );
+    }
+
+    private BatchTransferenciaItemResponse created(int index, Transferencia entity) {
+        return new BatchTransferenciaItemResponse(index, STATUS_CREATED, mapper.toResponse(entity), null);
+    }
+
+    private BatchTransferenciaItemResponse failed(int index, String error) {
+        return new BatchTransferenciaItemResponse(index, STATUS_FAILED, null, error);
+    }
+
+    private record PendingItem(int index, Transferencia entity, VelocityReservation reservation) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+
+/**
+ * Service interface for full-text searches on the transfer concept.
+ */
+public interface TransferenciaConceptoSearchService {
+
+    /**
+     * Returns one page of transfers whose concept contains every word of the query, most relevant
+     * first.
+     *
+     * @param consulta the words to look for
+     * @param filter   optional account, state, currency and date range filters
+     * @param cursor   cursor returned with the previous page, or {@code null} for the first page
+     * @param size     requested page size, or {@code null} for the default
+     * @return the page and the cursor of the next one
+     */
+    CursorPageResponse<TransferenciaResponse> search(String consulta, TransferenciaFilterRequest filter,
+                                                     String cursor, Integer size);
+}
@@ -0,0 +1,140 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.DatabasePlatform;
+import com.example.api.infrastructure.TextMatch;
+import com.example.api.infrastructure.TransferenciaCoincidencia;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service implementation for ranked full-text searches on the transfer concept.
+ *
+ * <p>On PostgreSQL the match, the filters and the ranking run in one query on the generated,
+ * GIN-indexed {@code concepto_tsv} column. Elsewhere matches come from the in-process
+ * {@link ConceptoIndex} in relevance order and are checked against the filters in batches, by
+ * primary key. Both paths page with a {@code (relevance, id)} keyset. On PostgreSQL a row's rank
+ * depends only on its own concept, so pages neither repeat nor skip rows unless that concept changes.
+ * The in-process BM25 scores depend on the whole index, through term frequencies across documents and
+ * the average concept length, so there pages are only stable while the index is unchanged; a write
+ * between two pages can shift scores and make the next page repeat or skip rows. Deep pages are not
+ * cheaper to reach: both paths score every transfer that matches the query on each page, so
+ * the cost of a page grows with the number of matches.</p>
+ */
+@Service
+public class TransferenciaConceptoSearchServiceImpl implements TransferenciaConceptoSearchService {
+
+    static final int MAX_QUERY_LENGTH = 200;
+    private static final int MIN_INDEX_BATCH = 64;
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final ConceptoIndex conceptoIndex;
+    private final TransferenciaCriteriaResolver criteriaResolver;
+    private final TransferenciaCursorCodec cursorCodec;
+    private final TransferenciaMapper mapper;
+    private final TransferenciaSearchProperties properties;
+    private final DatabasePlatform platform;
+    private volatile boolean conceptoTsvChecked;
+
+    public TransferenciaConceptoSearchServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                                  ConceptoIndex conceptoIndex,
+                                                  TransferenciaCriteriaResolver criteriaResolver,
+                                                  TransferenciaCursorCodec cursorCodec,
+                                                  TransferenciaMapper mapper,
+                                                  TransferenciaSearchProperties properties,
+                                                  DatabasePlatform platform) {
+        this.jdbcRepository = jdbcRepository;
+        this.conceptoIndex = conceptoIndex;
+        this.criteriaResolver = criteriaResolver;
+        this.cursorCodec = cursorCodec;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.platform = platform;
+    }
+
+    @Override
+    public CursorPageResponse<TransferenciaResponse> search(String consulta, TransferenciaFilterRequest filter,
+                                                            String cursor, Integer size) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new BusinessException("'q' is required");
+        }
+        if (consulta.length() > MAX_QUERY_LENGTH) {
+            throw new BusinessException("Query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageSize = PageSizes.resolve(size, properties.defaultPageSize(), properties.maxPageSize());
+        TransferenciaCriteria criteria = criteriaResolver.resolve(filter);
+        TextMatch after = cursor == null || cursor.isBlank() ? null : cursorCodec.decodeRanked(cursor);
+
+        List<TransferenciaCoincidencia> rows = platform == DatabasePlatform.POSTGRESQL
+                ? searchDatabase(criteria, consulta, after, pageSize + 1)
+                : searchIndex(criteria, consulta, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<TransferenciaCoincidencia> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TransferenciaCoincidencia last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encodeRanked(
+                    new TextMatch(last.transferencia().idTransferencia(), last.relevancia()));
+        }
+        List<TransferenciaResponse> content = page.stream()
+                .map(row -> mapper.toResponse(row.transferencia()))
+                .toList();
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    private List<TransferenciaCoincidencia> searchDatabase(TransferenciaCriteria criteria, String consulta,
+                                                           TextMatch after, int limit) {
+        if (!conceptoTsvChecked) {
+            if (!jdbcRepository.hasConceptoTsv()) {
+                throw new IllegalStateException("Concept search needs the concepto_tsv column; "
+                        + "apply db/postgresql/transferencias_concepto_search.sql");
+            }
+            conceptoTsvChecked = true;
+        }
+        return jdbcRepository.findByConcepto(criteria, consulta, after, limit);
+    }
+
+    private List<TransferenciaCoincidencia> searchIndex(TransferenciaCriteria criteria, String consulta,
+                                                        TextMatch after, int limit) {
+        if (!conceptoIndex.isActive()) {
+            throw new IllegalStateException("The concept index has not been built");
+        }
+        int batchSize = Math.max(limit * 4, MIN_INDEX_BATCH);
+        List<TransferenciaCoincidencia> rows = new ArrayList<>(limit);
+        TextMatch position = after;
+        while (rows.size() < limit) {
+            List<TextMatch> matches = conceptoIndex.search(consulta, position, batchSize);
+            if (matches.isEmpty()) {
+                break;
+            }
+            Map<Long, TransferenciaSnapshot> found = new HashMap<>();
+            for (TransferenciaSnapshot snapshot : jdbcRepository.findByIds(criteria,
+                    matches.stream().map(TextMatch::id).toList())) {
+                found.put(snapshot.idTransferencia(), snapshot);
+            }
+            for (TextMatch match : matches) {
+                TransferenciaSnapshot snapshot = found.get(match.id());
+                if (snapshot != null && rows.size() < limit) {
+                    rows.add(new TransferenciaCoincidencia(snapshot, match.score()));
+                }
+            }
+            if (matches.size() < batchSize) {
+                break;
+            }
+            position = matches.get(matches.size() - 1);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates transfer listing filters and converts them into repository criteria.
+ */
+@Component
+public class TransferenciaCriteriaResolver {
+
+    /**
+     * Resolves the given filters.
+     *
+     * @param filter the raw filters
+     * @return the validated criteria
+     */
+    public TransferenciaCriteria resolve(TransferenciaFilterRequest filter) {
+        if (filter.desde() != null && filter.hasta() != null && !filter.desde().isBefore(filter.hasta())) {
+            throw new BusinessException("Invalid date range: 'desde' must be before 'hasta'");
+        }
+        EstadoTransferencia estado = filter.estado() == null ? null : parseEstado(filter.estado());
+        return new TransferenciaCriteria(filter.cuentaOrigenId(), filter.cuentaDestinoId(),
+                filter.desde(), filter.hasta(), estado, filter.divisa());
+    }
+
+    private EstadoTransferencia parseEstado(String estado) {
+        try {
+            return EstadoTransferencia.valueOf(estado);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid transfer state: " + estado);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader for transfer CSV files (RFC 4180, UTF-8).
+ *
+ * <p>The first record is a header naming the columns, in any order: {@code cuentaOrigenId},
+ * {@code cuentaDestinoId}, {@code importe} and {@code divisa} are required, {@code concepto} and
+ * {@code referenciaExterna} are optional. Quoted fields may contain commas, doubled quotes and line
+ * breaks. Blank lines are skipped.</p>
+ */
+final class TransferenciaCsvReader implements TransferenciaImportReader {
+
+    static final int MAX_RECORD_LENGTH = CsvRecordReader.MAX_RECORD_LENGTH;
+
+    private static final List<String> COLUMNS = List.of(
+            "cuentaOrigenId", "cuentaDestinoId", "importe", "divisa", "concepto", "referenciaExterna");
+    private static final int REQUIRED_COLUMNS = 4;
+    private static final int ORIGEN = 0;
+    private static final int DESTINO = 1;
+    private static final int IMPORTE = 2;
+    private static final int DIVISA = 3;
+    private static final int CONCEPTO = 4;
+    private static final int REFERENCIA = 5;
+
+    private final CsvRecordReader reader;
+    private final int[] positions = new int[COLUMNS.size()];
+    private final int width;
+    private List<String> pending;
+
+    TransferenciaCsvReader(Reader reader) {
+        this.reader = new CsvRecordReader(reader);
+        List<String> header = this.reader.readRecord();
+        if (header == null) {
+            throw new BusinessException("The CSV file is empty");
+        }
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            int column = COLUMNS.indexOf(name);
+            if (column < 0) {
+                throw new BusinessException("Unknown CSV column: " + name);
+            }
+            if (positions[column] >= 0) {
+                throw new BusinessException("Duplicate CSV column: " + name);
+            }
+            positions[column] = i;
+        }
+        for (int column = 0; column < REQUIRED_COLUMNS; column++) {
+            if (positions[column] < 0) {
+                throw new BusinessException("Missing CSV column: " + COLUMNS.get(column));
+            }
+        }
+        this.width = header.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            pending = reader.readRecord();
+        }
+        return pending != null;
+    }
+
+    @Override
+    public TransferenciaImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> fields = pending;
+        pending = null;
+        long recordLine = reader.recordLine();
+        String referencia = field(fields, REFERENCIA);
+        if (fields.size() != width) {
+            return TransferenciaImportRow.failed(recordLine, referencia,
+                    "Expected " + width + " fields, found " + fields.size());
+        }
+        try {
+            return TransferenciaImportRow.parsed(recordLine, new CreateTransferenciaRequest(
+                    parseLong(fields, ORIGEN),
+                    parseLong(fields, DESTINO),
+                    parseDecimal(fields, IMPORTE),
+                    field(fields, DIVISA),
+                    field(fields, CONCEPTO),
+                    referencia));
+        } catch (IllegalArgumentException ex) {
+            return TransferenciaImportRow.failed(recordLine, referencia, ex.getMessage());
+        }
+    }
+
+    @Override
+    public long posicion() {
+        return reader.line();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        if (position < 0 || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position);
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseLong(List<String> fields, int column) {
+        String value = field(fields, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(COLUMNS.get(column) + ": invalid number '" + value + "'");
+        }
+    }
+
+    private BigDecimal parseDecimal(List<String> fields, int column) {
+        String value = field(fields, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(COLUMNS.get(column) + ": invalid amount '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.api.application;
+
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TextMatch;
+import com.example.api.infrastructure.TransferenciaKeyset;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursors and decodes them back.
+ */
+@Component
+public class TransferenciaCursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String RANKED_VERSION = "r1";
+    private static final String KEYS_VERSION = "k1";
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes the given position.
+     *
+     * @param keyset the position to encode
+     * @return the opaque cursor
+     */
+    public String encode(TransferenciaKeyset keyset) {
+        Instant fecha = keyset.fechaCreacion();
+        String raw = VERSION + SEPARATOR + fecha.getEpochSecond() + SEPARATOR + fecha.getNano()
+                + SEPARATOR + keyset.idTransferencia();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(TransferenciaKeyset)}.
+     *
+     * @param cursor the opaque cursor
+     * @return the decoded position
+     * @throws BusinessException if the cursor is malformed
+     */
+    public TransferenciaKeyset decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new BusinessException("Invalid cursor: " + cursor);
+            }
+            Instant fecha = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            return new TransferenciaKeyset(fecha, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes a position in a relevance-ranked result.
+     *
+     * @param match the relevance and id of the last row of a page
+     * @return the opaque cursor
+     */
+    public String encodeRanked(TextMatch match) {
+        String raw = RANKED_VERSION + SEPARATOR + Float.floatToIntBits(match.score()) + SEPARATOR + match.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encodeRanked(TextMatch)}.
+     *
+     * @param cursor the opaque cursor
+     * @return the decoded position
+     * @throws BusinessException if the cursor is malformed
+     */
+    public TextMatch decodeRanked(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3 || !RANKED_VERSION.equals(parts[0])) {
+                throw new BusinessException("Invalid cursor: " + cursor);
+            }
+            return new TextMatch(Long.parseLong(parts[2]), Float.intBitsToFloat(Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes a position given by one or more numeric keys, such as the key columns of the last row
+     * of a page.
+     *
+     * @param keys the keys of the position
+     * @return the opaque cursor
+     */
+    public String encodeKeys(long... keys) {
+        StringBuilder raw = new StringBuilder(KEYS_VERSION);
+        for (long key : keys) {
+            raw.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encodeKeys(long...)}.
+     *
+     * @param cursor the opaque cursor
+     * @param keys   the number of keys the cursor must hold
+     * @return the decoded keys
+     * @throws BusinessException if the cursor is malformed or holds a different number of keys
+     */
+    public long[] decodeKeys(String cursor, int keys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != keys + 1 || !KEYS_VERSION.equals(parts[0])) {
+                throw new BusinessException("Invalid cursor: " + cursor);
+            }
+            long[] decoded = new long[keys];
+            for (int i = 0; i < keys; i++) {
+                decoded[i] = Long.parseLong(parts[i + 1]);
+            }
+            return decoded;
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+    }
+}
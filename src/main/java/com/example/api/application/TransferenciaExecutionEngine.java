@@ -0,0 +1,103 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaExecutionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background engine that drains the queue of pending transfers on a bounded worker pool.
+ *
+ * <p>Each poll samples the queue depth and starts just enough workers to cover it, up to the
+ * configured maximum. A worker keeps claiming batches until one comes back short. The sample counts
+ * no further than the pool can claim in one round, {@code workers * batch-size} transfers, so a poll
+ * costs the same however long the queue is, and the depth gauge is capped at that value.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.execution", name = "enabled", havingValue = "true")
+public class TransferenciaExecutionEngine {
+
+    static final String METRIC_QUEUE_DEPTH = "transferencias.execution.queue.depth";
+    static final String METRIC_ACTIVE_WORKERS = "transferencias.execution.workers.active";
+
+    private final TransferenciaExecutionService executionService;
+    private final TransferenciaExecutionProperties properties;
+    private final ExecutorService workers;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private volatile boolean stopping;
+
+    public TransferenciaExecutionEngine(TransferenciaExecutionService executionService,
+                                        TransferenciaExecutionProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.executionService = executionService;
+        this.properties = properties;
+        this.workers = Executors.newFixedThreadPool(properties.workers(),
+                new CustomizableThreadFactory("transferencia-exec-"));
+        Gauge.builder(METRIC_QUEUE_DEPTH, queueDepth, AtomicLong::get)
+                .description("Pending transfers waiting to be executed, up to one round of batches")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_ACTIVE_WORKERS, activeWorkers, AtomicInteger::get)
+                .description("Execution workers currently draining the queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Samples the pending queue and starts workers to drain it.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.execution.poll-interval}")
+    public void poll() {
+        if (stopping) {
+            return;
+        }
+        long pending = executionService.countPending(properties.workers() * properties.batchSize());
+        queueDepth.set(pending);
+        long needed = Math.min(properties.workers(), (pending + properties.batchSize() - 1) / properties.batchSize());
+        while (activeWorkers.get() < needed) {
+            activeWorkers.incrementAndGet();
+            workers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stops claiming new batches and waits for in-flight ones to commit.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            int executed;
+            do {
+                executed = executionService.executeBatch(properties.batchSize());
+            } while (!stopping && executed == properties.batchSize());
+        } catch (RuntimeException ex) {
+            log.error("Transfer execution batch failed", ex);
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.api.application;
+
+/**
+ * Service interface for executing pending transfers.
+ */
+public interface TransferenciaExecutionService {
+
+    /**
+     * Claims up to {@code batchSize} pending transfers that no other worker holds and executes them
+     * in a single transaction.
+     *
+     * @param batchSize maximum number of transfers to claim
+     * @return the number of transfers executed
+     */
+    int executeBatch(int batchSize);
+
+    /**
+     * Counts the transfers waiting to be executed, stopping at a limit so that a long queue costs no
+     * more than a short one.
+     *
+     * @param limit the largest count of interest
+     * @return the number of pending transfers, at most {@code limit}
+     */
+    long countPending(int limit);
+}
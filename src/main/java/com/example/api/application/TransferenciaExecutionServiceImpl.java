@@ -0,0 +1,87 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.TransferenciaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for executing pending transfers.
+ *
+ * <p>Transfers are claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so any number of workers
+ * on any number of nodes can drain the same queue without processing a transfer twice. Outcome
+ * counters are only incremented once the batch has committed.</p>
+ */
+@Service
+public class TransferenciaExecutionServiceImpl implements TransferenciaExecutionService {
+
+    static final String METRIC_EXECUTED = "transferencias.execution.executed";
+    static final String METRIC_CLAIM = "transferencias.execution.claim";
+
+    private final TransferenciaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer claimTimer;
+
+    public TransferenciaExecutionServiceImpl(TransferenciaRepository repository,
+                                             TransactionTemplate transactionTemplate,
+                                             ApplicationEventPublisher eventPublisher,
+                                             MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.claimTimer = Timer.builder(METRIC_CLAIM)
+                .description("Time taken to claim a batch of pending transfers")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int executeBatch(int batchSize) {
+        Map<EstadoTransferencia, Integer> outcomes = new EnumMap<>(EstadoTransferencia.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            long start = System.nanoTime();
+            List<Transferencia> claimed = repository.claimByEstado(EstadoTransferencia.PENDIENTE, Limit.of(batchSize));
+            claimTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            Instant now = Instant.now();
+            List<TransferenciaChange> changes = new ArrayList<>(claimed.size());
+            for (Transferencia transferencia : claimed) {
+                TransferenciaSnapshot antes = transferencia.snapshot();
+                transferencia.ejecutar(now);
+                outcomes.merge(transferencia.getEstado(), 1, Integer::sum);
+                changes.add(TransferenciaChange.updated(antes, transferencia.snapshot()));
+            }
+            if (!changes.isEmpty()) {
+                eventPublisher.publishEvent(new TransferenciasChangedEvent(changes));
+            }
+        });
+        int executed = 0;
+        for (Map.Entry<EstadoTransferencia, Integer> outcome : outcomes.entrySet()) {
+            meterRegistry.counter(METRIC_EXECUTED, "estado", outcome.getKey().name()).increment(outcome.getValue());
+            executed += outcome.getValue();
+        }
+        return executed;
+    }
+
+    @Override
+    public long countPending(int limit) {
+        return repository.countByEstadoUpTo(EstadoTransferencia.PENDIENTE.name(), limit);
+    }
+}
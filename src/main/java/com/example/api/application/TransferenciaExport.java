@@ -0,0 +1,25 @@
+package com.example.api.application;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared, not yet started transfer export.
+ */
+public interface TransferenciaExport {
+
+    /**
+     * Returns the format the export will be written in.
+     *
+     * @return the export format
+     */
+    ExportFormat format();
+
+    /**
+     * Runs the export, writing every matching transfer to the given stream.
+     *
+     * @param output the destination stream; it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    void writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.TransferenciaFilterRequest;
+
+/**
+ * Service interface for streaming transfer exports.
+ */
+public interface TransferenciaExportService {
+
+    /**
+     * Validates the filters and prepares an export. Nothing is read from the database until
+     * {@link TransferenciaExport#writeTo} is invoked.
+     *
+     * @param filter  the export filters
+     * @param formato the output format name ({@code ndjson} or {@code csv})
+     * @return the prepared export
+     */
+    TransferenciaExport prepareExport(TransferenciaFilterRequest filter, String formato);
+}
@@ -0,0 +1,208 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaExportProperties;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Service implementation for streaming transfer exports.
+ *
+ * <p>Rows are read through a forward-only JDBC cursor inside a read-only transaction and written
+ * straight to the response stream, so heap usage does not depend on the number of exported rows.</p>
+ */
+@Service
+public class TransferenciaExportServiceImpl implements TransferenciaExportService {
+
+    private static final String CSV_HEADER = "idTransferencia,cuentaOrigenId,cuentaDestinoId,importe,divisa,"
+            + "concepto,estado,fechaCreacion,fechaEjecucion,referenciaExterna";
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final TransferenciaCriteriaResolver criteriaResolver;
+    private final TransferenciaMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaExportProperties properties;
+
+    public TransferenciaExportServiceImpl(TransferenciaJdbcRepository jdbcRepository,
+                                          TransferenciaCriteriaResolver criteriaResolver,
+                                          TransferenciaMapper mapper,
+                                          ObjectMapper objectMapper,
+                                          PlatformTransactionManager transactionManager,
+                                          TransferenciaExportProperties properties) {
+        this.jdbcRepository = jdbcRepository;
+        this.criteriaResolver = criteriaResolver;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @Override
+    public TransferenciaExport prepareExport(TransferenciaFilterRequest filter, String formato) {
+        ExportFormat format = ExportFormat.fromString(formato);
+        if (format == null) {
+            throw new BusinessException("Unsupported export format: " + formato);
+        }
+        return new PreparedExport(format, criteriaResolver.resolve(filter));
+    }
+
+    private void export(TransferenciaCriteria criteria, RowWriter writer) {
+        long[] written = {0};
+        try {
+            writer.start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        jdbcRepository.stream(criteria, properties.fetchSize(), snapshot -> {
+            try {
+                writer.write(snapshot);
+                if (++written[0] % properties.flushEvery() == 0) {
+                    writer.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private final class PreparedExport implements TransferenciaExport {
+
+        private final ExportFormat format;
+        private final TransferenciaCriteria criteria;
+
+        PreparedExport(ExportFormat format, TransferenciaCriteria criteria) {
+            this.format = format;
+            this.criteria = criteria;
+        }
+
+        @Override
+        public ExportFormat format() {
+            return format;
+        }
+
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> export(criteria, writer));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        }
+    }
+
+    private interface RowWriter {
+
+        void start() throws IOException;
+
+        void write(TransferenciaSnapshot snapshot) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream output) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(output);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(TransferenciaSnapshot snapshot) throws IOException {
+            ndjsonWriter.writeValue(generator, mapper.toResponse(snapshot));
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream output) {
+            this.writer = new BufferedWriter(
+                    new OutputStreamWriter(output, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(TransferenciaSnapshot snapshot) throws IOException {
+            writer.write(String.valueOf(snapshot.idTransferencia()));
+            writer.write(',');
+            writer.write(String.valueOf(snapshot.cuentaOrigenId()));
+            writer.write(',');
+            writer.write(String.valueOf(snapshot.cuentaDestinoId()));
+            writer.write(',');
+            writer.write(snapshot.importe().toPlainString());
+            writer.write(',');
+            writer.write(escape(snapshot.divisa()));
+            writer.write(',');
+            writer.write(escape(snapshot.concepto()));
+            writer.write(',');
+            writer.write(snapshot.estado().name());
+            writer.write(',');
+            writer.write(Objects.toString(snapshot.fechaCreacion(), ""));
+            writer.write(',');
+            writer.write(Objects.toString(snapshot.fechaEjecucion(), ""));
+            writer.write(',');
+            writer.write(escape(snapshot.referenciaExterna()));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives the change feed: publishes outbox entries, delivers them to subscribers and purges
+ * expired ones on the configured schedules.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.feed", name = "enabled", havingValue = "true")
+public class TransferenciaFeedRelay {
+
+    private final TransferenciaFeedService feedService;
+
+    public TransferenciaFeedRelay(TransferenciaFeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    /**
+     * Publishes pending entries and delivers new ones.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.feed.poll-interval}")
+    public void poll() {
+        try {
+            feedService.poll();
+        } catch (RuntimeException ex) {
+            log.error("Change feed relay poll failed", ex);
+        }
+    }
+
+    /**
+     * Deletes entries older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.feed.purge-interval}")
+    public void purge() {
+        try {
+            feedService.purge();
+        } catch (RuntimeException ex) {
+            log.error("Change feed purge failed", ex);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.api.application;
+
+/**
+ * Service for the transfer change feed.
+ */
+public interface TransferenciaFeedService {
+
+    /**
+     * Registers a subscriber that receives every entry after the given sequence number, in order.
+     *
+     * @param desde the last sequence number already seen, or {@code null} to receive new entries only
+     * @param sink  receives the entries
+     * @return the subscription
+     */
+    TransferenciaFeedSubscription subscribe(Long desde, TransferenciaFeedSink sink);
+
+    /**
+     * Publishes pending outbox entries and delivers published entries to the subscribers.
+     */
+    void poll();
+
+    /**
+     * Deletes published entries older than the retention period.
+     *
+     * @return the number of entries deleted
+     */
+    int purge();
+}
@@ -0,0 +1,338 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaFeedProperties;
+import com.example.api.dto.response.TransferenciaEventoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaEventoJdbcRepository;
+import com.example.api.infrastructure.TransferenciaEventoPublicado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for the transfer change feed.
+ *
+ * <p>Each poll first publishes pending outbox entries, under a cluster-wide lock so that a single
+ * node hands out sequence numbers at a time, and then reads the entries published since the
+ * previous poll once and queues them for every subscriber of this node. The poll never writes to a
+ * client: each subscriber has a bounded queue drained by its own delivery thread, so a slow client
+ * only delays itself. A subscriber whose queue overflows is disconnected and resumes from its last
+ * entry when it reconnects. Subscribers that resumed from an older position, or were not reached
+ * before the poll moved on, are caught up from the outbox, page by page, on their delivery thread.
+ * Every subscriber sees every entry exactly once and in sequence order.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaFeedServiceImpl implements TransferenciaFeedService {
+
+    static final String METRIC_SUBSCRIBERS = "transferencias.feed.subscribers";
+    static final String METRIC_PUBLISHED = "transferencias.feed.published";
+    static final String METRIC_OVERFLOWS = "transferencias.feed.overflows";
+
+    private static final long DELIVERY_KEEP_ALIVE_SECONDS = 60;
+
+    private final TransferenciaEventoJdbcRepository eventoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferenciaFeedProperties properties;
+    private final Clock clock;
+    private final Supplier<ExecutorService> deliveryExecutors;
+    private final Counter publishedCounter;
+    private final Counter overflowCounter;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile long head = -1;
+    private Instant lastHeartbeat = Instant.MIN;
+
+    @Autowired
+    public TransferenciaFeedServiceImpl(TransferenciaEventoJdbcRepository eventoRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        TransferenciaFeedProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this(eventoRepository, transactionTemplate, properties, meterRegistry, Clock.systemUTC(),
+                deliveryExecutors());
+    }
+
+    TransferenciaFeedServiceImpl(TransferenciaEventoJdbcRepository eventoRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 TransferenciaFeedProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 Clock clock,
+                                 Supplier<ExecutorService> deliveryExecutors) {
+        this.eventoRepository = eventoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.deliveryExecutors = deliveryExecutors;
+        this.publishedCounter = Counter.builder(METRIC_PUBLISHED)
+                .description("Outbox entries published to the change feed by this node")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder(METRIC_OVERFLOWS)
+                .description("Change feed subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SUBSCRIBERS, subscribers, Set::size)
+                .description("Change feed subscribers connected to this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One delivery thread per subscriber, released after a minute without entries to deliver.
+     */
+    private static Supplier<ExecutorService> deliveryExecutors() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("transferencia-feed-");
+        threadFactory.setDaemon(true);
+        return () -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, DELIVERY_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        };
+    }
+
+    @Override
+    public TransferenciaFeedSubscription subscribe(Long desde, TransferenciaFeedSink sink) {
+        long last = eventoRepository.findLastSequence();
+        long cursor = desde == null ? last : validateResume(desde, last);
+        Subscriber subscriber = new Subscriber(sink, cursor, properties.subscriberQueueSize(),
+                deliveryExecutors.get());
+        subscribers.add(subscriber);
+        return () -> disconnect(subscriber, false);
+    }
+
+    @Override
+    public void poll() {
+        publish();
+        if (subscribers.isEmpty()) {
+            head = eventoRepository.findLastSequence();
+            return;
+        }
+        long start = head >= 0 ? head : eventoRepository.findLastSequence();
+        List<TransferenciaEventoResponse> fresh = read(start);
+        head = fresh.isEmpty() ? start : fresh.get(fresh.size() - 1).secuencia();
+
+        Instant now = clock.instant();
+        boolean heartbeat = !now.isBefore(lastHeartbeat.plus(properties.heartbeatInterval()));
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(start, fresh, heartbeat)) {
+                schedule(subscriber);
+            } else {
+                log.warn("Disconnecting change feed subscriber more than {} entries behind",
+                        properties.subscriberQueueSize());
+                overflowCounter.increment();
+                disconnect(subscriber, true);
+            }
+        }
+    }
+
+    @Override
+    public int purge() {
+        int deleted = eventoRepository.deletePublishedBefore(clock.instant().minus(properties.retention()));
+        if (deleted > 0) {
+            log.info("Purged {} change feed entries", deleted);
+        }
+        return deleted;
+    }
+
+    private long validateResume(long desde, long last) {
+        if (desde < 0) {
+            throw new BusinessException("'desde' must not be negative");
+        }
+        if (desde > last) {
+            throw new BusinessException("Sequence " + desde + " is ahead of the feed, which ends at " + last);
+        }
+        Long first = eventoRepository.findFirstSequence();
+        if (first != null && desde < first - 1) {
+            throw new BusinessException("Entries up to sequence " + (first - 1) + " are no longer retained");
+        }
+        return desde;
+    }
+
+    private void publish() {
+        int published;
+        do {
+            Integer count = transactionTemplate.execute(status -> eventoRepository.tryLockRelay()
+                    ? eventoRepository.publishPending(properties.batchSize(), clock.instant())
+                    : 0);
+            if (count == null) {
+                throw new IllegalStateException("Outbox publication returned no result");
+            }
+            published = count;
+            publishedCounter.increment(published);
+        } while (published == properties.batchSize());
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                subscriber.executor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Runs on the subscriber's delivery thread until nothing is left to send.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                TransferenciaEventoResponse evento;
+                while ((evento = subscriber.queue.poll()) != null && !subscriber.closed.get()) {
+                    subscriber.sink.send(evento);
+                }
+                if (subscriber.isCatchingUp()) {
+                    catchUp(subscriber);
+                }
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    subscriber.sink.heartbeat();
+                }
+                subscriber.draining.set(false);
+            } while (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Dropping change feed subscriber: {}", ex.getMessage());
+            disconnect(subscriber, true);
+        }
+    }
+
+    /**
+     * Sends the outbox pages after the subscriber's position. The poll queues nothing for a
+     * subscriber that is catching up, so its queue is empty and the pages go out in order.
+     */
+    private void catchUp(Subscriber subscriber) throws IOException {
+        long after = subscriber.cursor();
+        List<TransferenciaEventoResponse> page;
+        do {
+            page = read(after);
+            for (TransferenciaEventoResponse evento : page) {
+                if (subscriber.closed.get()) {
+                    return;
+                }
+                subscriber.sink.send(evento);
+                after = evento.secuencia();
+            }
+        } while (page.size() == properties.batchSize());
+        subscriber.caughtUp(after);
+    }
+
+    private void disconnect(Subscriber subscriber, boolean closeSink) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        if (closeSink) {
+            try {
+                subscriber.executor.execute(subscriber.sink::close);
+            } catch (RejectedExecutionException ex) {
+                log.debug("Change feed subscriber already stopped: {}", ex.getMessage());
+            }
+        }
+        subscriber.executor.shutdown();
+    }
+
+    private List<TransferenciaEventoResponse> read(long after) {
+        return eventoRepository.findPublishedAfter(after, properties.batchSize()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private TransferenciaEventoResponse toResponse(TransferenciaEventoPublicado evento) {
+        return new TransferenciaEventoResponse(evento.secuencia(), evento.tipo().name(),
+                evento.idTransferencia(), evento.payload(), evento.fechaPublicacion());
+    }
+
+    /**
+     * A connected client. The poll hands entries over under the subscriber's lock; the delivery
+     * thread sends them.
+     */
+    private static final class Subscriber {
+
+        private final TransferenciaFeedSink sink;
+        private final BlockingQueue<TransferenciaEventoResponse> queue;
+        private final ExecutorService executor;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        /** Last sequence queued or sent. */
+        private long cursor;
+        private boolean catchingUp;
+
+        Subscriber(TransferenciaFeedSink sink, long cursor, int queueSize, ExecutorService executor) {
+            this.sink = sink;
+            this.cursor = cursor;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.executor = executor;
+        }
+
+        /**
+         * Queues the entries of a poll that this subscriber has not received yet, or switches it to
+         * catching up from the outbox if it is behind the start of the poll.
+         *
+         * @return {@code false} if the queue overflowed
+         */
+        synchronized boolean offer(long start, List<TransferenciaEventoResponse> fresh, boolean heartbeat) {
+            if (catchingUp) {
+                return true;
+            }
+            if (cursor < start) {
+                catchingUp = true;
+                return true;
+            }
+            boolean queued = false;
+            for (TransferenciaEventoResponse evento : fresh) {
+                if (evento.secuencia() > cursor) {
+                    if (!queue.offer(evento)) {
+                        return false;
+                    }
+                    cursor = evento.secuencia();
+                    queued = true;
+                }
+            }
+            if (heartbeat && !queued) {
+                heartbeatDue = true;
+            }
+            return true;
+        }
+
+        synchronized long cursor() {
+            return cursor;
+        }
+
+        synchronized boolean isCatchingUp() {
+            return catchingUp;
+        }
+
+        synchronized void caughtUp(long sent) {
+            cursor = sent;
+            catchingUp = false;
+        }
+
+        boolean hasWork() {
+            return !closed.get() && (!queue.isEmpty() || heartbeatDue || isCatchingUp());
+        }
+    }
+}
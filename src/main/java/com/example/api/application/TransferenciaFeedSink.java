@@ -0,0 +1,32 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.TransferenciaEventoResponse;
+
+import java.io.IOException;
+
+/**
+ * Receives the change feed entries of one subscriber.
+ */
+public interface TransferenciaFeedSink {
+
+    /**
+     * Delivers one entry.
+     *
+     * @param evento the entry
+     * @throws IOException if the subscriber can no longer be reached
+     */
+    void send(TransferenciaEventoResponse evento) throws IOException;
+
+    /**
+     * Sends a keep-alive signal to an idle subscriber.
+     *
+     * @throws IOException if the subscriber can no longer be reached
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Ends the stream from the server side, for a subscriber that fell too far behind or could not be
+     * reached. The subscriber resumes from its last entry when it reconnects.
+     */
+    void close();
+}
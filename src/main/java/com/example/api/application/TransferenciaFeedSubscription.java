@@ -0,0 +1,12 @@
+package com.example.api.application;
+
+/**
+ * Handle of an active change feed subscription.
+ */
+public interface TransferenciaFeedSubscription {
+
+    /**
+     * Stops delivering entries. Calling it more than once has no effect.
+     */
+    void cancel();
+}
@@ -0,0 +1,322 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaGroupCommitProperties;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciasChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the transactions of concurrent transfer creations together, so that one commit, and one
+ * log flush, covers many requests.
+ *
+ * <p>Callers queue their transaction callback and wait for its result. Committer threads take the
+ * oldest callback, gather more until the batch is full or the oldest one has waited the maximum
+ * delay, and run the whole batch in one transaction. If that transaction fails, every callback of
+ * the batch is run again in its own transaction, so a failing creation only fails its own caller,
+ * with the exception it would have thrown without group commit. When group commit is disabled,
+ * shutting down or the queue is full, the callback runs in the caller's thread in its own
+ * transaction. It does too when it is still queued after the maximum delay plus the transaction
+ * timeout, so callers never wait on committers that have stopped taking batches.</p>
+ *
+ * <p>Creations made by a batch are published as one {@link TransferenciasChangedEvent} just before
+ * it commits, as the bulk endpoint does per chunk. In-transaction projections then sort and apply
+ * the deltas of the whole batch at once, so concurrent batches lock their rows in the same order
+ * instead of deadlocking item by item.</p>
+ */
+@Slf4j
+@Component
+public class TransferenciaGroupCommitter {
+
+    static final String METRIC_BATCH_SIZE = "transferencias.groupcommit.batch.size";
+    static final String METRIC_WAIT = "transferencias.groupcommit.wait";
+    static final String METRIC_FALLBACKS = "transferencias.groupcommit.fallbacks";
+    static final String METRIC_BYPASSED = "transferencias.groupcommit.bypassed";
+    static final String METRIC_QUEUE_DEPTH = "transferencias.groupcommit.queue.depth";
+    static final String METRIC_MAX_BATCH_SIZE = "transferencias.groupcommit.max.batch.size";
+    static final String METRIC_MAX_DELAY = "transferencias.groupcommit.max.delay";
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferenciaGroupCommitProperties properties;
+    private final BlockingQueue<Pending> queue;
+    private final long waitTimeoutNanos;
+    private final ExecutorService committers;
+    private final DistributionSummary batchSize;
+    private final Timer wait;
+    private final Counter fallbacks;
+    private final Counter bypassed;
+    private volatile boolean stopping;
+
+    public TransferenciaGroupCommitter(TransactionTemplate transactionTemplate,
+                                       ApplicationEventPublisher eventPublisher,
+                                       TransferenciaGroupCommitProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.transactionTemplate = transactionTemplate;
+        this.batchTransaction = new TransactionTemplate();
+        this.batchTransaction.setTransactionManager(transactionTemplate.getTransactionManager());
+        this.batchTransaction.setTimeout(Math.toIntExact(properties.transactionTimeout().getSeconds()));
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.queue = new LinkedBlockingQueue<>(properties.queueCapacity());
+        this.waitTimeoutNanos = properties.maxDelay().plus(properties.transactionTimeout()).toNanos();
+        this.batchSize = DistributionSummary.builder(METRIC_BATCH_SIZE)
+                .description("Transfer creations committed per group commit transaction")
+                .register(meterRegistry);
+        this.wait = Timer.builder(METRIC_WAIT)
+                .description("Time a transfer creation waited for its group commit batch to start")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder(METRIC_FALLBACKS)
+                .description("Group commit batches that failed and were committed item by item")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder(METRIC_BYPASSED)
+                .description("Transfer creations committed on their own because the group commit queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_QUEUE_DEPTH, queue, BlockingQueue::size)
+                .description("Transfer creations waiting for a group commit batch")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MAX_BATCH_SIZE, properties, p -> p.enabled() ? p.maxBatchSize() : 1)
+                .description("Most transfer creations committed per transaction")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MAX_DELAY, properties, p -> p.enabled() ? p.maxDelay().toNanos() / 1e9 : 0)
+                .description("Longest time a transfer creation waits for others to join its commit")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.committers = properties.enabled()
+                ? Executors.newFixedThreadPool(properties.committers(),
+                        new CustomizableThreadFactory("transferencia-commit-"))
+                : null;
+    }
+
+    /**
+     * Starts the committer threads when group commit is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (committers == null) {
+            return;
+        }
+        for (int i = 0; i < properties.committers(); i++) {
+            committers.execute(this::commitLoop);
+        }
+    }
+
+    /**
+     * Runs a callback in a transaction, shared with other concurrent callbacks when group commit
+     * is enabled, and waits for it to commit.
+     *
+     * @param callback the transaction work; it may run in another thread and must not rely on
+     *                 thread-bound state of the caller
+     * @param <T>      the result type
+     * @return the callback's result once its transaction has committed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(TransactionCallback<T> callback) {
+        if (committers == null || stopping) {
+            return transactionTemplate.execute(callback);
+        }
+        Pending pending = new Pending(callback, new CompletableFuture<>(), System.nanoTime());
+        if (!queue.offer(pending)) {
+            bypassed.increment();
+            return transactionTemplate.execute(callback);
+        }
+        // Shutdown may have drained the queue just before the offer.
+        if (stopping && queue.remove(pending)) {
+            return transactionTemplate.execute(callback);
+        }
+        try {
+            return (T) pending.result().copy().orTimeout(waitTimeoutNanos, TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException ex) {
+            if (!(ex.getCause() instanceof TimeoutException) || pending.result().isDone()) {
+                throw unwrap(ex);
+            }
+        }
+        if (queue.remove(pending)) {
+            log.warn("Transfer creation waited {} ms for a group commit batch; committing it on its own",
+                    TimeUnit.NANOSECONDS.toMillis(waitTimeoutNanos));
+            bypassed.increment();
+            return transactionTemplate.execute(callback);
+        }
+        // A committer has taken it, and completes it however its batch ends.
+        try {
+            return (T) pending.result().join();
+        } catch (CompletionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException ex) {
+        return ex.getCause() instanceof RuntimeException runtime ? runtime : ex;
+    }
+
+    /**
+     * Defers the publication of a change made by a batch until the batch is about to commit.
+     *
+     * @param change the change made in the current transaction
+     * @return {@code true} if the current transaction is a batch and will publish the change;
+     *         {@code false} if the caller must publish it
+     */
+    public boolean defer(TransferenciaChange change) {
+        if (TransactionSynchronizationManager.getResource(this) instanceof ChangeBuffer buffer) {
+            buffer.changes.add(change);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stops taking new batches and lets the queued creations commit, then fails whatever is left.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (committers == null) {
+            return;
+        }
+        stopping = true;
+        committers.shutdown();
+        try {
+            if (!committers.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                committers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            committers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Transfer creation was not committed before shutdown")));
+    }
+
+    private void commitLoop() {
+        try {
+            while (!stopping || !queue.isEmpty()) {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending> batch = new ArrayList<>(Math.min(properties.maxBatchSize(), queue.size() + 1));
+                batch.add(first);
+                try {
+                    gather(batch);
+                    commit(batch);
+                } finally {
+                    // Fails the callers of a batch cut short by an interrupt or an Error, which is
+                    // left to end the thread.
+                    for (Pending pending : batch) {
+                        pending.result().completeExceptionally(
+                                new IllegalStateException("Group commit of the transfer creation did not complete"));
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds queued callbacks to the batch until it is full or its oldest callback has waited the
+     * maximum delay.
+     */
+    private void gather(List<Pending> batch) throws InterruptedException {
+        long deadline = batch.get(0).enqueued() + properties.maxDelay().toNanos();
+        while (batch.size() < properties.maxBatchSize()) {
+            queue.drainTo(batch, properties.maxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == properties.maxBatchSize() || remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        long start = System.nanoTime();
+        batchSize.record(batch.size());
+        for (Pending pending : batch) {
+            wait.record(start - pending.enqueued(), TimeUnit.NANOSECONDS);
+        }
+        List<Object> results;
+        try {
+            results = batchTransaction.execute(status -> {
+                ChangeBuffer buffer = new ChangeBuffer();
+                TransactionSynchronizationManager.bindResource(this, buffer);
+                try {
+                    List<Object> done = new ArrayList<>(batch.size());
+                    for (Pending pending : batch) {
+                        done.add(pending.callback().doInTransaction(status));
+                    }
+                    if (!buffer.changes.isEmpty()) {
+                        eventPublisher.publishEvent(new TransferenciasChangedEvent(buffer.changes));
+                    }
+                    return done;
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(this);
+                }
+            });
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            log.warn("Group commit of {} transfer creations failed, retrying item by item: {}",
+                    batch.size(), ex.getMessage());
+            fallbacks.increment();
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(results == null ? null : results.get(i));
+        }
+    }
+
+    private void commitAlone(Pending pending) {
+        try {
+            pending.result().complete(batchTransaction.execute(pending.callback()));
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Changes made by the batch running in the current transaction.
+     */
+    private static final class ChangeBuffer {
+
+        private final List<TransferenciaChange> changes = new ArrayList<>();
+    }
+
+    /**
+     * A queued transaction callback and the future its caller waits on.
+     */
+    private record Pending(TransactionCallback<?> callback, CompletableFuture<Object> result, long enqueued) {
+    }
+}
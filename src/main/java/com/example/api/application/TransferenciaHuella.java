@@ -0,0 +1,52 @@
+package com.example.api.application;
+
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Computes the fingerprint stored with an idempotency key, so that a replay can tell the request
+ * that created a transfer from a different one sent under the same key.
+ */
+final class TransferenciaHuella {
+
+    private TransferenciaHuella() {
+    }
+
+    /**
+     * @param request the creation request
+     * @return the SHA-256 fingerprint of its transfer fields, in hex
+     */
+    static String of(CreateTransferenciaRequest request) {
+        return of(request.cuentaOrigenId(), request.cuentaDestinoId(), request.importe(), request.divisa(),
+                request.concepto(), request.referenciaExterna());
+    }
+
+    /**
+     * @param snapshot the created transfer
+     * @return the fingerprint a request for the same transfer would have
+     */
+    static String of(TransferenciaSnapshot snapshot) {
+        return of(snapshot.cuentaOrigenId(), snapshot.cuentaDestinoId(), snapshot.importe(), snapshot.divisa(),
+                snapshot.concepto(), snapshot.referenciaExterna());
+    }
+
+    private static String of(Long cuentaOrigenId, Long cuentaDestinoId, BigDecimal importe, String divisa,
+                             String concepto, String referenciaExterna) {
+        String canonical = cuentaOrigenId + "|" + cuentaDestinoId + "|"
+                + importe.stripTrailingZeros().toPlainString() + "|" + divisa + "|"
+                + Objects.toString(concepto, "") + "|" + Objects.toString(referenciaExterna, "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.api.application;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Pull parser over an import file. Rows are read one at a time, so memory use does not depend on
+ * the size of the file. Problems with a single row are returned as failed rows; problems that make
+ * the rest of the file unreadable are thrown as {@link com.example.api.exception.BusinessException}.
+ */
+interface TransferenciaImportReader extends Iterator<TransferenciaImportRow>, Closeable {
+
+    /**
+     * Returns where the reader currently is, for reporting unreadable files.
+     *
+     * @return the current line number or transaction ordinal
+     */
+    long posicion();
+}
@@ -0,0 +1,27 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+
+/**
+ * One transfer read from an import file.
+ *
+ * @param posicion          line number of a CSV record, or ordinal of a pain.001 transaction
+ * @param referenciaExterna the row's external reference, if it could be read, for error reports
+ * @param request           the parsed transfer, or {@code null} if the row could not be parsed
+ * @param error             why the row could not be parsed, or {@code null}
+ */
+record TransferenciaImportRow(
+        long posicion,
+        String referenciaExterna,
+        CreateTransferenciaRequest request,
+        String error
+) {
+
+    static TransferenciaImportRow parsed(long posicion, CreateTransferenciaRequest request) {
+        return new TransferenciaImportRow(posicion, request.referenciaExterna(), request, null);
+    }
+
+    static TransferenciaImportRow failed(long posicion, String referenciaExterna, String error) {
+        return new TransferenciaImportRow(posicion, referenciaExterna, null, error);
+    }
+}
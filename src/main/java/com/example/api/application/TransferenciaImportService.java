@@ -0,0 +1,21 @@
+package com.example.api.application;
+
+import com.example.api.dto.response.TransferenciaImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk transfer file imports.
+ */
+public interface TransferenciaImportService {
+
+    /**
+     * Imports every valid transfer of a file, streaming it in chunks of one transaction each.
+     * Invalid rows are reported and never abort the rest of the file.
+     *
+     * @param formato the file format
+     * @param input   the file contents; read once and closed
+     * @return the import report
+     */
+    TransferenciaImportResponse importFile(ImportFormat formato, InputStream input);
+}
@@ -0,0 +1,270 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaImportProperties;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.TransferenciaImportErrorResponse;
+import com.example.api.dto.response.TransferenciaImportResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaImportJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk transfer file imports.
+ *
+ * <p>Files are parsed row by row and loaded in chunks, one transaction per chunk, so memory use
+ * depends on the chunk size and not on the file size. Rows go through the same bean validation as
+ * the REST API and the same invariants as the {@link Transferencia} constructor. Chunks are written
+ * with {@code COPY} on PostgreSQL and JDBC batches on H2, and publish the same change event as any
+ * other write, so balances, rollups and the change feed stay in step. If a chunk fails at the
+ * database, its rows are retried one by one so a single bad row only fails itself. Rows whose
+ * accounts the {@link CuentaRegistryService} rejects are reported like any other invalid row.</p>
+ *
+ * <p>Rows are counted against the velocity limits as they are read, like batch items, so a row
+ * over a limit is rejected on its own; rows that finally fail at the database are withdrawn
+ * again. Rows whose external reference is already used are rejected too, and each chunk records the
+ * {@code ref:} idempotency keys of its rows in its own transaction, so a file cannot reuse a
+ * reference taken by the API or by an earlier row.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaImportServiceImpl implements TransferenciaImportService {
+
+    static final String METRIC_ROWS = "transferencias.import.rows";
+    static final String METRIC_CHUNK = "transferencias.import.chunk";
+    static final String METRIC_ACTIVE = "transferencias.import.active";
+
+    private final TransferenciaImportJdbcRepository repository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferenciaImportProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CuentaRegistryService cuentaRegistry;
+    private final TransferenciaVelocityService velocityService;
+    private final ReferenciaFilterService referenciaFilter;
+    private final Timer chunkTimer;
+    private final AtomicInteger activeImports = new AtomicInteger();
+
+    public TransferenciaImportServiceImpl(TransferenciaImportJdbcRepository repository,
+                                          Validator validator,
+                                          TransactionTemplate transactionTemplate,
+                                          ApplicationEventPublisher eventPublisher,
+                                          TransferenciaImportProperties properties,
+                                          MeterRegistry meterRegistry,
+                                          CuentaRegistryService cuentaRegistry,
+                                          TransferenciaVelocityService velocityService,
+                                          ReferenciaFilterService referenciaFilter) {
+        this.repository = repository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cuentaRegistry = cuentaRegistry;
+        this.velocityService = velocityService;
+        this.referenciaFilter = referenciaFilter;
+        this.chunkTimer = Timer.builder(METRIC_CHUNK)
+                .description("Time to load one chunk of imported transfers")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_ACTIVE, activeImports, AtomicInteger::get)
+                .description("File imports in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TransferenciaImportResponse importFile(ImportFormat formato, InputStream input) {
+        long start = System.nanoTime();
+        activeImports.incrementAndGet();
+        try (TransferenciaImportReader reader = open(formato, input)) {
+            ImportReport report = new ImportReport(formato);
+            List<PendingRow> chunk = new ArrayList<>(properties.chunkSize());
+            while (readNext(reader, report)) {
+                TransferenciaImportRow row = reader.next();
+                report.total++;
+                PendingRow pending = prepare(row, report);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+                if (chunk.size() >= properties.chunkSize()) {
+                    load(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                load(chunk, report);
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Imported {} of {} transfers from a {} file in {} ms ({} rejected{})", report.importadas,
+                    report.total, formato.getFormat(), durationMs, report.rechazadas,
+                    report.completo ? "" : ", file unreadable after position " + report.errores.get(
+                            report.errores.size() - 1).posicion());
+            return report.toResponse(durationMs);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            activeImports.decrementAndGet();
+        }
+    }
+
+    private TransferenciaImportReader open(ImportFormat formato, InputStream input) {
+        if (formato == ImportFormat.PAIN_001) {
+            return new TransferenciaPain001Reader(input);
+        }
+        return new TransferenciaCsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    private boolean readNext(TransferenciaImportReader reader, ImportReport report) {
+        try {
+            return reader.hasNext();
+        } catch (BusinessException ex) {
+            report.abort(reader.posicion(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private PendingRow prepare(TransferenciaImportRow row, ImportReport report) {
+        String error = row.error() != null ? row.error() : validate(row.request());
+        if (error == null) {
+            try {
+                cuentaRegistry.validate(row.request().cuentaOrigenId(), row.request().cuentaDestinoId());
+                checkReferencia(row.request().referenciaExterna());
+                TransferenciaSnapshot snapshot = toEntity(row.request()).snapshot();
+                return new PendingRow(row, snapshot, velocityService.reserve(
+                        snapshot.cuentaOrigenId(), snapshot.divisa(), snapshot.importe()));
+            } catch (IllegalArgumentException | BusinessException ex) {
+                error = ex.getMessage();
+            }
+        }
+        report.reject(row.posicion(), row.referenciaExterna(), error);
+        return null;
+    }
+
+    private void load(List<PendingRow> chunk, ImportReport report) {
+        try {
+            chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(chunk)));
+            imported(report, chunk.size());
+        } catch (DataAccessException ex) {
+            log.warn("Import chunk of {} transfers failed, retrying row by row: {}", chunk.size(), ex.getMessage());
+            for (PendingRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    imported(report, 1);
+                } catch (DataAccessException rowEx) {
+                    row.reservation().release();
+                    report.reject(row.source().posicion(), row.source().referenciaExterna(),
+                            rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        log.debug("Import progress: {} rows read, {} imported", report.total, report.importadas);
+    }
+
+    private void insert(List<PendingRow> rows) {
+        long[] ids = repository.allocateIds(rows.size());
+        List<TransferenciaSnapshot> transferencias = new ArrayList<>(rows.size());
+        List<TransferenciaChange> changes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TransferenciaSnapshot snapshot = rows.get(i).snapshot().withIdTransferencia(ids[i]);
+            transferencias.add(snapshot);
+            changes.add(TransferenciaChange.created(snapshot));
+        }
+        repository.insert(transferencias);
+        referenciaFilter.register(transferencias);
+        eventPublisher.publishEvent(new TransferenciasChangedEvent(changes));
+    }
+
+    private void checkReferencia(String referenciaExterna) {
+        if (referenciaExterna != null && !referenciaExterna.isBlank() && referenciaFilter.isUsed(referenciaExterna)) {
+            throw new BusinessException("External reference already used: " + referenciaExterna);
+        }
+    }
+
+    private void imported(ImportReport report, int count) {
+        report.importadas += count;
+        meterRegistry.counter(METRIC_ROWS, "resultado", "importada", "formato", report.formato.getFormat())
+                .increment(count);
+    }
+
+    private String validate(CreateTransferenciaRequest request) {
+        Set<ConstraintViolation<CreateTransferenciaRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Transferencia toEntity(CreateTransferenciaRequest request) {
+        return new Transferencia(
+                request.cuentaOrigenId(),
+                request.cuentaDestinoId(),
+                request.importe(),
+                request.divisa(),
+                request.concepto(),
+                request.referenciaExterna()
+        );
+    }
+
+    private record PendingRow(TransferenciaImportRow source, TransferenciaSnapshot snapshot,
+                              VelocityReservation reservation) {
+    }
+
+    private final class ImportReport {
+
+        private final ImportFormat formato;
+        private final List<TransferenciaImportErrorResponse> errores = new ArrayList<>();
+        private long total;
+        private long importadas;
+        private long rechazadas;
+        private boolean completo = true;
+
+        ImportReport(ImportFormat formato) {
+            this.formato = formato;
+        }
+
+        void reject(long posicion, String referenciaExterna, String error) {
+            rechazadas++;
+            meterRegistry.counter(METRIC_ROWS, "resultado", "rechazada", "formato", formato.getFormat()).increment();
+            if (errores.size() < properties.maxErrors()) {
+                errores.add(new TransferenciaImportErrorResponse(posicion, referenciaExterna, error));
+            }
+        }
+
+        void abort(long posicion, String error) {
+            completo = false;
+            errores.add(new TransferenciaImportErrorResponse(posicion, null, error));
+        }
+
+        TransferenciaImportResponse toResponse(long durationMs) {
+            return new TransferenciaImportResponse(formato.getFormat(), total, importadas, rechazadas, completo,
+                    durationMs, errores, rechazadas > errores.size() - (completo ? 0 : 1));
+        }
+    }
+}
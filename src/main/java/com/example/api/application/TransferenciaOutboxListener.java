@@ -0,0 +1,64 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.domain.TipoEventoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaEvento;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.TransferenciaEventoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every transfer write in the change feed outbox.
+ *
+ * <p>Runs synchronously inside the writing transaction, so an outbox entry exists if and only if
+ * its change committed. Publication is left to the feed relay.</p>
+ */
+@Component
+public class TransferenciaOutboxListener {
+
+    private final TransferenciaEventoRepository eventoRepository;
+    private final TransferenciaMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    public TransferenciaOutboxListener(TransferenciaEventoRepository eventoRepository,
+                                       TransferenciaMapper mapper,
+                                       ObjectMapper objectMapper) {
+        this.eventoRepository = eventoRepository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes one outbox entry per changed transfer.
+     *
+     * @param event the transfers changed by the write
+     */
+    @EventListener
+    public void onTransferenciasChanged(TransferenciasChangedEvent event) {
+        Instant now = Instant.now();
+        List<TransferenciaEvento> eventos = new ArrayList<>(event.changes().size());
+        for (TransferenciaChange change : event.changes()) {
+            TransferenciaSnapshot estado = change.despues() != null ? change.despues() : change.antes();
+            eventos.add(new TransferenciaEvento(TipoEventoTransferencia.of(change), estado.idTransferencia(),
+                    toJson(estado), now));
+        }
+        eventoRepository.saveAll(eventos);
+    }
+
+    private String toJson(TransferenciaSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(mapper.toResponse(snapshot));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize transfer " + snapshot.idTransferencia(), ex);
+        }
+    }
+}
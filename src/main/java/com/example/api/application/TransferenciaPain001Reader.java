@@ -0,0 +1,218 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.exception.BusinessException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming StAX reader for ISO 20022 {@code pain.001} customer credit transfer initiations.
+ *
+ * <p>Each {@code CdtTrfTxInf} becomes one transfer. The source account is the enclosing payment
+ * information's {@code DbtrAcct/Id/Othr/Id}, the destination is {@code CdtrAcct/Id/Othr/Id}; both
+ * must be numeric account ids, IBANs are not supported. The amount and currency come from
+ * {@code Amt/InstdAmt}, the description from the first {@code RmtInf/Ustrd} and the external
+ * reference from {@code PmtId/EndToEndId} unless it is {@code NOTPROVIDED}. Elements are matched
+ * by local name, so every schema version is accepted. DTDs and external entities are disabled.</p>
+ */
+final class TransferenciaPain001Reader implements TransferenciaImportReader {
+
+    private static final String NOT_PROVIDED = "NOTPROVIDED";
+
+    private final XMLStreamReader xml;
+    private final InputStream input;
+    private final List<String> path = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private String cuentaOrigen;
+    private Transaction transaction;
+    private long ordinal;
+    private TransferenciaImportRow pending;
+    private boolean finished;
+
+    TransferenciaPain001Reader(InputStream input) {
+        this.input = input;
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            this.xml = factory.createXMLStreamReader(input);
+            xml.nextTag();
+        } catch (XMLStreamException ex) {
+            throw new BusinessException("Malformed pain.001 document: " + ex.getMessage());
+        }
+        if (!"Document".equals(xml.getLocalName())) {
+            throw new BusinessException("Not a pain.001 document: root element is " + xml.getLocalName());
+        }
+        path.add(xml.getLocalName());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !finished) {
+            pending = advance();
+            finished = pending == null;
+        }
+        return pending != null;
+    }
+
+    @Override
+    public TransferenciaImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TransferenciaImportRow row = pending;
+        pending = null;
+        return row;
+    }
+
+    @Override
+    public long posicion() {
+        return ordinal;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            input.close();
+        }
+    }
+
+    private TransferenciaImportRow advance() {
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    start(xml.getLocalName());
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    text.append(xml.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    TransferenciaImportRow row = end();
+                    if (row != null) {
+                        return row;
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException ex) {
+            throw new BusinessException("Malformed pain.001 document after transaction " + ordinal + ": "
+                    + ex.getMessage());
+        }
+    }
+
+    private void start(String name) {
+        path.add(name);
+        text.setLength(0);
+        if ("PmtInf".equals(name)) {
+            cuentaOrigen = null;
+        } else if ("CdtTrfTxInf".equals(name)) {
+            transaction = new Transaction();
+            ordinal++;
+        } else if (transaction != null && "InstdAmt".equals(name)) {
+            transaction.divisa = xml.getAttributeValue(null, "Ccy");
+        }
+    }
+
+    private TransferenciaImportRow end() {
+        String value = text.toString().strip();
+        text.setLength(0);
+        TransferenciaImportRow row = null;
+        if (transaction == null) {
+            if (endsWith("DbtrAcct", "Id", "Othr", "Id")) {
+                cuentaOrigen = value;
+            } else if (endsWith("DbtrAcct", "Id", "IBAN")) {
+                cuentaOrigen = iban(value);
+            }
+        } else if (endsWith("CdtTrfTxInf")) {
+            row = transaction.toRow();
+            transaction = null;
+        } else if (endsWith("PmtId", "EndToEndId")) {
+            transaction.referencia = NOT_PROVIDED.equals(value) ? null : value;
+        } else if (endsWith("Amt", "InstdAmt")) {
+            transaction.importe = value;
+        } else if (endsWith("CdtrAcct", "Id", "Othr", "Id")) {
+            transaction.cuentaDestino = value;
+        } else if (endsWith("CdtrAcct", "Id", "IBAN")) {
+            transaction.cuentaDestino = iban(value);
+        } else if (endsWith("RmtInf", "Ustrd") && transaction.concepto == null) {
+            transaction.concepto = value;
+        }
+        path.remove(path.size() - 1);
+        return row;
+    }
+
+    private boolean endsWith(String... names) {
+        int offset = path.size() - names.length;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].equals(path.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String iban(String value) {
+        return "IBAN " + value;
+    }
+
+    private final class Transaction {
+
+        private String referencia;
+        private String importe;
+        private String divisa;
+        private String cuentaDestino;
+        private String concepto;
+
+        TransferenciaImportRow toRow() {
+            try {
+                return TransferenciaImportRow.parsed(ordinal, new CreateTransferenciaRequest(
+                        account("Debtor", cuentaOrigen),
+                        account("Creditor", cuentaDestino),
+                        amount(),
+                        divisa,
+                        concepto,
+                        referencia));
+            } catch (IllegalArgumentException ex) {
+                return TransferenciaImportRow.failed(ordinal, referencia, ex.getMessage());
+            }
+        }
+
+        private Long account(String role, String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(role + " account must be a numeric account id in Othr/Id, got '"
+                        + value + "'");
+            }
+        }
+
+        private BigDecimal amount() {
+            if (importe == null || importe.isEmpty()) {
+                return null;
+            }
+            try {
+                return new BigDecimal(importe);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid InstdAmt '" + importe + "'");
+            }
+        }
+    }
+}
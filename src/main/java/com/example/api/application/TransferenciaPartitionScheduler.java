@@ -0,0 +1,44 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs partition maintenance once at startup, so the current month always has a partition before
+ * traffic arrives, and then on the configured schedule.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.partitioning", name = "enabled", havingValue = "true")
+public class TransferenciaPartitionScheduler {
+
+    private final TransferenciaPartitionService partitionService;
+
+    public TransferenciaPartitionScheduler(TransferenciaPartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    /**
+     * Creates missing partitions as soon as the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    /**
+     * Creates upcoming partitions and archives expired ones.
+     */
+    @Scheduled(cron = "${transferencias.partitioning.maintenance-cron}", zone = "UTC")
+    public void maintain() {
+        try {
+            partitionService.maintain();
+        } catch (RuntimeException ex) {
+            log.error("Transfer partition maintenance failed", ex);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.api.application;
+
+/**
+ * Service interface for maintaining the monthly partitions of the transfers table.
+ */
+public interface TransferenciaPartitionService {
+
+    /**
+     * Creates the partitions of the current and upcoming months that do not exist yet and archives
+     * the monthly partitions older than the retention period. Does nothing when the database is not
+     * PostgreSQL, the transfers table is not partitioned, or another node is already running it.
+     *
+     * @return the partitions created and archived
+     */
+    PartitionMaintenanceResult maintain();
+}
@@ -0,0 +1,132 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaPartitioningProperties;
+import com.example.api.infrastructure.DatabasePlatform;
+import com.example.api.infrastructure.TransferenciaPartition;
+import com.example.api.infrastructure.TransferenciaPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for maintaining the monthly partitions of the transfers table.
+ *
+ * <p>Monthly partitions are named {@code transferencias_pYYYYMM} and cover one UTC calendar month.
+ * A run holds a transaction-scoped advisory lock, so concurrent runs on several nodes cannot race
+ * on the DDL; the loser skips the run. Partitions with any other name, such as the legacy partition
+ * created by the conversion script, are never archived automatically.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaPartitionServiceImpl implements TransferenciaPartitionService {
+
+    static final String PARTITION_PREFIX = "transferencias_p";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TransferenciaPartitionRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform platform;
+    private final TransferenciaPartitioningProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public TransferenciaPartitionServiceImpl(TransferenciaPartitionRepository repository,
+                                             TransactionTemplate transactionTemplate,
+                                             DatabasePlatform platform,
+                                             TransferenciaPartitioningProperties properties) {
+        this(repository, transactionTemplate, platform, properties, Clock.systemUTC());
+    }
+
+    TransferenciaPartitionServiceImpl(TransferenciaPartitionRepository repository,
+                                      TransactionTemplate transactionTemplate,
+                                      DatabasePlatform platform,
+                                      TransferenciaPartitioningProperties properties,
+                                      Clock clock) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.platform = platform;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public PartitionMaintenanceResult maintain() {
+        if (platform != DatabasePlatform.POSTGRESQL) {
+            return PartitionMaintenanceResult.NONE;
+        }
+        PartitionMaintenanceResult result = transactionTemplate.execute(status -> maintainLocked());
+        if (result == null) {
+            throw new IllegalStateException("Partition maintenance returned no result");
+        }
+        if (!result.created().isEmpty() || !result.archived().isEmpty()) {
+            log.info("Transfer partitions created: {}, archived to {}: {}",
+                    result.created(), properties.archiveSchema(), result.archived());
+        }
+        return result;
+    }
+
+    private PartitionMaintenanceResult maintainLocked() {
+        if (!repository.tryLockMaintenance()) {
+            log.debug("Partition maintenance is already running on another node");
+            return PartitionMaintenanceResult.NONE;
+        }
+        if (!repository.isPartitioned()) {
+            log.warn("Table transferencias is not partitioned; run db/postgresql/transferencias_partitioned.sql "
+                    + "to enable partition maintenance");
+            return PartitionMaintenanceResult.NONE;
+        }
+        List<TransferenciaPartition> partitions = repository.findPartitions();
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+
+        List<String> created = new ArrayList<>();
+        for (int offset = 0; offset <= properties.premakeMonths(); offset++) {
+            YearMonth month = current.plusMonths(offset);
+            Instant desde = startOf(month);
+            Instant hasta = startOf(month.plusMonths(1));
+            if (partitions.stream().noneMatch(partition -> partition.overlaps(desde, hasta))) {
+                String nombre = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+                repository.createPartition(nombre, desde, hasta);
+                created.add(nombre);
+            }
+        }
+
+        List<String> archived = new ArrayList<>();
+        if (properties.retentionMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(properties.retentionMonths());
+            for (TransferenciaPartition partition : partitions) {
+                YearMonth month = monthOf(partition.nombre());
+                if (month != null && month.isBefore(oldestKept)) {
+                    repository.archivePartition(partition.nombre(), properties.archiveSchema());
+                    archived.add(partition.nombre());
+                }
+            }
+        }
+        return new PartitionMaintenanceResult(created, archived);
+    }
+
+    private Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private YearMonth monthOf(String nombre) {
+        if (!nombre.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(nombre.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaSchedulerProperties;
+import com.example.api.domain.TransferenciaProgramadaChangedEvent;
+import com.example.api.infrastructure.HierarchicalTimingWheel;
+import com.example.api.infrastructure.TransferenciaProgramadaJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires scheduled transfers from an in-memory hierarchical timing wheel.
+ *
+ * <p>The wheel holds the active schedules whose next occurrence falls within the configured
+ * horizon. It is loaded from the {@code (estado, proxima_ejecucion)} index at startup, which also
+ * recovers any occurrence missed while no node was running, and then again every refresh interval
+ * to pull in the next stretch of the horizon and schedules written by other nodes. Between loads
+ * the table is not read: schedules created, cancelled or fired on this node are applied to the
+ * wheel after commit, and each tick only advances the wheel.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transferencias.scheduler", name = "enabled", havingValue = "true")
+public class TransferenciaProgramadaScheduler {
+
+    static final String METRIC_WHEEL_SIZE = "transferencias.scheduler.wheel.size";
+
+    private final TransferenciaProgramadaService service;
+    private final TransferenciaProgramadaJdbcRepository jdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransferenciaSchedulerProperties properties;
+    private final Clock clock;
+    private final HierarchicalTimingWheel wheel;
+    private volatile long horizonEnd;
+
+    @Autowired
+    public TransferenciaProgramadaScheduler(TransferenciaProgramadaService service,
+                                            TransferenciaProgramadaJdbcRepository jdbcRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            TransferenciaSchedulerProperties properties,
+                                            MeterRegistry meterRegistry) {
+        this(service, jdbcRepository, transactionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    TransferenciaProgramadaScheduler(TransferenciaProgramadaService service,
+                                     TransferenciaProgramadaJdbcRepository jdbcRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     TransferenciaSchedulerProperties properties,
+                                     MeterRegistry meterRegistry,
+                                     Clock clock) {
+        this.service = service;
+        this.jdbcRepository = jdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel(properties.tick().toMillis(), properties.wheelSize(),
+                properties.levels(), clock.millis());
+        Gauge.builder(METRIC_WHEEL_SIZE, this, TransferenciaProgramadaScheduler::size)
+                .description("Scheduled transfers waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads every active schedule due before the end of the horizon into the wheel.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.scheduler.refresh-interval}")
+    public void refresh() {
+        long end = clock.millis() + properties.horizon().toMillis();
+        // Publish the new horizon first: schedules committed from now on are added by the listener,
+        // and every earlier commit is visible to the query below.
+        horizonEnd = end;
+        int[] loaded = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcRepository.streamDue(Instant.ofEpochMilli(end),
+                    properties.fetchSize(), (id, proxima) -> {
+                        synchronized (wheel) {
+                            wheel.schedule(id, proxima);
+                        }
+                        loaded[0]++;
+                    }));
+            log.debug("Loaded {} scheduled transfers due before {}", loaded[0], Instant.ofEpochMilli(end));
+        } catch (RuntimeException ex) {
+            log.error("Scheduled transfer load failed after {} rows", loaded[0], ex);
+        }
+    }
+
+    /**
+     * Fires the occurrences that have become due, in batches. The occurrences of a batch that fails
+     * are put back into the wheel and tried again after the retry delay.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.scheduler.tick}")
+    public void tick() {
+        long now = clock.millis();
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(now, due::add);
+        }
+        for (int from = 0; from < due.size(); from += properties.batchSize()) {
+            List<Long> batch = due.subList(from, Math.min(from + properties.batchSize(), due.size()));
+            try {
+                service.fire(batch, Instant.ofEpochMilli(now));
+            } catch (RuntimeException ex) {
+                log.error("Firing {} scheduled transfers failed; they are retried in {}",
+                        batch.size(), properties.retryDelay(), ex);
+                retry(batch, now + properties.retryDelay().toMillis());
+            }
+        }
+    }
+
+    private void retry(List<Long> ids, long retryAt) {
+        synchronized (wheel) {
+            for (Long id : ids) {
+                // A schedule changed since the tick is already back in the wheel at its new time.
+                if (retryAt < horizonEnd && !wheel.contains(id)) {
+                    wheel.schedule(id, retryAt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a committed schedule change to the wheel.
+     *
+     * @param event the schedule and its next occurrence
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferenciaProgramadaChanged(TransferenciaProgramadaChangedEvent event) {
+        Instant proxima = event.proximaEjecucion();
+        synchronized (wheel) {
+            if (proxima != null && proxima.toEpochMilli() < horizonEnd) {
+                wheel.schedule(event.id(), proxima.toEpochMilli());
+            } else {
+                wheel.cancel(event.id());
+            }
+        }
+    }
+
+    int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaProgramadaRequest;
+import com.example.api.dto.response.TransferenciaProgramadaResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service interface for scheduled and recurring transfers.
+ */
+public interface TransferenciaProgramadaService {
+
+    /**
+     * Schedules a transfer.
+     *
+     * @param request the transfer details, first execution time and periodicity
+     * @return the created schedule
+     * @throws com.example.api.exception.BusinessException if the execution time is not in the future
+     *                                                     or the periodicity is unknown
+     */
+    TransferenciaProgramadaResponse create(CreateTransferenciaProgramadaRequest request);
+
+    /**
+     * Retrieves a schedule by its id.
+     *
+     * @param id the schedule id
+     * @return the schedule
+     * @throws com.example.api.exception.ResourceNotFoundException if it does not exist
+     */
+    TransferenciaProgramadaResponse getById(Long id);
+
+    /**
+     * Cancels the remaining occurrences of a schedule.
+     *
+     * @param id the schedule id
+     * @throws com.example.api.exception.ResourceNotFoundException if it does not exist
+     * @throws com.example.api.exception.ConflictException         if it has already finished or been cancelled
+     */
+    void cancel(Long id);
+
+    /**
+     * Creates the transfers of those given schedules that are still active and due, and moves each
+     * one to its next occurrence, in a single transaction. Schedules claimed by another node are
+     * skipped.
+     *
+     * @param ids   the schedules whose occurrence is due
+     * @param ahora the current time
+     * @return the number of schedules fired
+     */
+    int fire(List<Long> ids, Instant ahora);
+}
@@ -0,0 +1,205 @@
+package com.example.api.application;
+
+import com.example.api.domain.Periodicidad;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaProgramada;
+import com.example.api.domain.TransferenciaProgramadaChangedEvent;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.request.CreateTransferenciaProgramadaRequest;
+import com.example.api.dto.response.TransferenciaProgramadaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.TransferenciaProgramadaRepository;
+import com.example.api.infrastructure.TransferenciaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for scheduled and recurring transfers.
+ *
+ * <p>Due schedules are claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED} and only while their
+ * next occurrence is still due, so an occurrence creates exactly one transfer even when several
+ * nodes fire it. Each firing handles one occurrence; a schedule that is still overdue afterwards,
+ * for example after downtime, fires again on the next tick until it has caught up.</p>
+ *
+ * <p>Occurrences are counted against the velocity limits like any other new transfer. An occurrence
+ * over a limit is skipped and the schedule moves on to the next one, and so is an occurrence whose
+ * accounts the {@link CuentaRegistryService} rejects, for example because one was closed since.</p>
+ */
+@Slf4j
+@Service
+public class TransferenciaProgramadaServiceImpl implements TransferenciaProgramadaService {
+
+    static final String METRIC_FIRED = "transferencias.scheduler.fired";
+    static final String METRIC_DELAY = "transferencias.scheduler.delay";
+
+    private final TransferenciaProgramadaRepository programadaRepository;
+    private final TransferenciaRepository transferenciaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferenciaVelocityService velocityService;
+    private final CuentaRegistryService cuentaRegistry;
+    private final ReferenciaFilterService referenciaFilter;
+    private final MeterRegistry meterRegistry;
+    private final Timer delayTimer;
+
+    public TransferenciaProgramadaServiceImpl(TransferenciaProgramadaRepository programadaRepository,
+                                              TransferenciaRepository transferenciaRepository,
+                                              TransactionTemplate transactionTemplate,
+                                              ApplicationEventPublisher eventPublisher,
+                                              TransferenciaVelocityService velocityService,
+                                              MeterRegistry meterRegistry,
+                                              CuentaRegistryService cuentaRegistry,
+                                              ReferenciaFilterService referenciaFilter) {
+        this.programadaRepository = programadaRepository;
+        this.transferenciaRepository = transferenciaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.velocityService = velocityService;
+        this.cuentaRegistry = cuentaRegistry;
+        this.referenciaFilter = referenciaFilter;
+        this.meterRegistry = meterRegistry;
+        this.delayTimer = Timer.builder(METRIC_DELAY)
+                .description("Time between a scheduled occurrence and the creation of its transfer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public TransferenciaProgramadaResponse create(CreateTransferenciaProgramadaRequest request) {
+        Periodicidad periodicidad = parsePeriodicidad(request.periodicidad());
+        cuentaRegistry.validate(request.cuentaOrigenId(), request.cuentaDestinoId());
+        if (!request.fechaEjecucion().isAfter(Instant.now())) {
+            throw new BusinessException("Execution time must be in the future");
+        }
+        if (request.fechaFin() != null) {
+            if (periodicidad == Periodicidad.UNICA) {
+                throw new BusinessException("End date only applies to recurring transfers");
+            }
+            if (request.fechaFin().isBefore(request.fechaEjecucion())) {
+                throw new BusinessException("End date must not be before the execution time");
+            }
+        }
+        TransferenciaProgramada saved = programadaRepository.save(new TransferenciaProgramada(
+                request.cuentaOrigenId(), request.cuentaDestinoId(), request.importe(), request.divisa(),
+                request.concepto(), periodicidad, request.fechaEjecucion(), request.fechaFin()));
+        eventPublisher.publishEvent(new TransferenciaProgramadaChangedEvent(saved.getId(),
+                saved.getProximaEjecucion()));
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransferenciaProgramadaResponse getById(Long id) {
+        return toResponse(programadaRepository.findById(id)
+                .orElseThrow(() -> notFound(id)));
+    }
+
+    @Override
+    @Transactional
+    public void cancel(Long id) {
+        TransferenciaProgramada programada = programadaRepository.lockById(id)
+                .orElseThrow(() -> notFound(id));
+        try {
+            programada.cancelar();
+        } catch (IllegalStateException ex) {
+            throw new ConflictException("Scheduled transfer " + id + " is no longer active: "
+                    + programada.getEstado());
+        }
+        eventPublisher.publishEvent(new TransferenciaProgramadaChangedEvent(id, null));
+    }
+
+    @Override
+    public int fire(List<Long> ids, Instant ahora) {
+        int[] outcomes = new int[2];
+        List<Duration> delays = new ArrayList<>(ids.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<TransferenciaProgramada> claimed = programadaRepository.claimDue(ids, ahora);
+            List<TransferenciaProgramada> owners = new ArrayList<>(claimed.size());
+            List<Transferencia> nuevas = new ArrayList<>(claimed.size());
+            for (TransferenciaProgramada programada : claimed) {
+                delays.add(Duration.between(programada.getProximaEjecucion(), ahora));
+                Transferencia transferencia = programada.generarTransferencia();
+                try {
+                    cuentaRegistry.validate(transferencia.getCuentaOrigenId(), transferencia.getCuentaDestinoId());
+                    velocityService.reserve(transferencia.getCuentaOrigenId(), transferencia.getDivisa(),
+                            transferencia.getImporte()).releaseOnRollback();
+                    owners.add(programada);
+                    nuevas.add(transferencia);
+                } catch (BusinessException ex) {
+                    log.warn("Skipping occurrence of scheduled transfer {}: {}", programada.getId(), ex.getMessage());
+                    programada.avanzar(null);
+                    outcomes[1]++;
+                }
+            }
+            List<Transferencia> saved = transferenciaRepository.saveAll(nuevas);
+            List<TransferenciaSnapshot> snapshots = new ArrayList<>(saved.size());
+            List<TransferenciaChange> changes = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                owners.get(i).avanzar(saved.get(i).getIdTransferencia());
+                snapshots.add(saved.get(i).snapshot());
+                changes.add(TransferenciaChange.created(snapshots.get(i)));
+            }
+            referenciaFilter.register(snapshots);
+            outcomes[0] = saved.size();
+            if (!changes.isEmpty()) {
+                eventPublisher.publishEvent(new TransferenciasChangedEvent(changes));
+            }
+            for (TransferenciaProgramada programada : claimed) {
+                eventPublisher.publishEvent(new TransferenciaProgramadaChangedEvent(programada.getId(),
+                        programada.getProximaEjecucion()));
+            }
+        });
+        meterRegistry.counter(METRIC_FIRED, "resultado", "CREADA").increment(outcomes[0]);
+        meterRegistry.counter(METRIC_FIRED, "resultado", "OMITIDA").increment(outcomes[1]);
+        delays.forEach(delayTimer::record);
+        return outcomes[0] + outcomes[1];
+    }
+
+    private Periodicidad parsePeriodicidad(String periodicidad) {
+        if (periodicidad == null || periodicidad.isBlank()) {
+            return Periodicidad.UNICA;
+        }
+        try {
+            return Periodicidad.valueOf(periodicidad);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Unsupported periodicity: " + periodicidad);
+        }
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("Scheduled transfer not found with id: " + id);
+    }
+
+    private static TransferenciaProgramadaResponse toResponse(TransferenciaProgramada programada) {
+        return new TransferenciaProgramadaResponse(
+                programada.getId(),
+                programada.getCuentaOrigenId(),
+                programada.getCuentaDestinoId(),
+                programada.getImporte(),
+                programada.getDivisa(),
+                programada.getConcepto(),
+                programada.getPeriodicidad().name(),
+                programada.getFechaInicio(),
+                programada.getFechaFin(),
+                programada.getProximaEjecucion(),
+                programada.getEjecuciones(),
+                programada.getUltimaTransferenciaId(),
+                programada.getEstado().name(),
+                programada.getFechaCreacion()
+        );
+    }
+}
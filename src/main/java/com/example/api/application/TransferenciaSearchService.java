@@ -0,0 +1,33 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.MovimientoCuentaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+
+/**
+ * Service interface for filtered, keyset-paginated transfer queries.
+ */
+public interface TransferenciaSearchService {
+
+    /**
+     * Returns one page of transfers matching the filters, newest first.
+     *
+     * @param filter optional account, state, currency and date range filters
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   requested page size, or {@code null} for the default
+     * @return the page and the cursor of the next one
+     */
+    CursorPageResponse<TransferenciaResponse> search(TransferenciaFilterRequest filter, String cursor, Integer size);
+
+    /**
+     * Returns one page of an account's inbound and outbound transfers merged into a single
+     * newest-first history.
+     *
+     * @param cuentaId account identifier
+     * @param cursor   cursor returned with the previous page, or {@code null} for the first page
+     * @param size     requested page size, or {@code null} for the default
+     * @return the page and the cursor of the next one
+     */
+    CursorPageResponse<MovimientoCuentaResponse> getHistorial(Long cuentaId, String cursor, Integer size);
+}
@@ -0,0 +1,215 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.DireccionMovimiento;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.MovimientoCuentaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.example.api.infrastructure.MovimientoCuentaView;
+import com.example.api.infrastructure.TransferenciaKeyset;
+import com.example.api.infrastructure.TransferenciaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for keyset-paginated transfer searches.
+ *
+ * <p>Each page is read with a single seek query that fetches one extra row to detect whether a
+ * next page exists, so the cost of a page does not grow with its depth and no count query is run.
+ * Account histories seek the origin and destination covering indexes separately and merge the two
+ * already-ordered results, rather than running one {@code OR} query that cannot use either index order.
+ * Each side then falls through to the {@link TransferenciaArchiveStore} when the database cannot fill
+ * the page with movements newer than the newest archived transfer.</p>
+ */
+@Service
+public class TransferenciaSearchServiceImpl implements TransferenciaSearchService {
+
+    private static final TransferenciaKeyset HEAD =
+            new TransferenciaKeyset(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    private final TransferenciaRepository repository;
+    private final TransferenciaJdbcRepository jdbcRepository;
+    private final TransferenciaCriteriaResolver criteriaResolver;
+    private final TransferenciaCursorCodec cursorCodec;
+    private final TransferenciaMapper mapper;
+    private final TransferenciaSearchProperties properties;
+    private final TransferenciaArchiveStore archive;
+
+    public TransferenciaSearchServiceImpl(TransferenciaRepository repository,
+                                          TransferenciaJdbcRepository jdbcRepository,
+                                          TransferenciaCriteriaResolver criteriaResolver,
+                                          TransferenciaCursorCodec cursorCodec,
+                                          TransferenciaMapper mapper,
+                                          TransferenciaSearchProperties properties,
+                                          TransferenciaArchiveStore archive) {
+        this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.criteriaResolver = criteriaResolver;
+        this.cursorCodec = cursorCodec;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.archive = archive;
+    }
+
+    @Override
+    public CursorPageResponse<TransferenciaResponse> search(TransferenciaFilterRequest filter, String cursor,
+                                                            Integer size) {
+        int pageSize = PageSizes.resolve(size, properties.defaultPageSize(), properties.maxPageSize());
+        TransferenciaCriteria criteria = criteriaResolver.resolve(filter);
+        TransferenciaKeyset after = decodeCursor(cursor);
+
+        List<TransferenciaSnapshot> rows = jdbcRepository.findPage(criteria, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<TransferenciaSnapshot> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TransferenciaSnapshot last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encode(new TransferenciaKeyset(last.fechaCreacion(), last.idTransferencia()));
+        }
+        List<TransferenciaResponse> content = page.stream().map(mapper::toResponse).toList();
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MovimientoCuentaResponse> getHistorial(Long cuentaId, String cursor, Integer size) {
+        int pageSize = PageSizes.resolve(size, properties.defaultPageSize(), properties.maxPageSize());
+        TransferenciaKeyset after = decodeCursor(cursor);
+        TransferenciaKeyset from = after == null ? HEAD : after;
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<MovimientoCuentaView> salientes = withArchived(
+                repository.findSalientesBefore(cuentaId, from.fechaCreacion(), from.idTransferencia(), limit),
+                cuentaId, true, from, limit.max());
+        List<MovimientoCuentaView> entrantes = withArchived(
+                repository.findEntrantesBefore(cuentaId, from.fechaCreacion(), from.idTransferencia(), limit),
+                cuentaId, false, from, limit.max());
+
+        List<MovimientoCuentaResponse> content = new ArrayList<>(pageSize);
+        MovimientoCuentaView last = null;
+        int out = 0;
+        int in = 0;
+        while (content.size() < pageSize && (out < salientes.size() || in < entrantes.size())) {
+            MovimientoCuentaView saliente = out < salientes.size() ? salientes.get(out) : null;
+            MovimientoCuentaView entrante = in < entrantes.size() ? entrantes.get(in) : null;
+            int order = saliente == null ? 1 : entrante == null ? -1 : compareNewestFirst(saliente, entrante);
+            if (order <= 0) {
+                last = saliente;
+                content.add(mapper.toMovimiento(saliente, DireccionMovimiento.SALIENTE));
+                out++;
+                if (order == 0) {
+                    // Transfer to the same account: listed once.
+                    in++;
+                }
+            } else {
+                last = entrante;
+                content.add(mapper.toMovimiento(entrante, DireccionMovimiento.ENTRANTE));
+                in++;
+            }
+        }
+        boolean hasNext = out < salientes.size() || in < entrantes.size();
+        String nextCursor = hasNext
+                ? cursorCodec.encode(new TransferenciaKeyset(last.getFechaCreacion(), last.getIdTransferencia()))
+                : null;
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Merges the archived movements of one side of an account into the movements read from the
+     * database, unless the database already filled the page with movements newer than anything archived.
+     */
+    private List<MovimientoCuentaView> withArchived(List<MovimientoCuentaView> movimientos, Long cuentaId,
+                                                    boolean origen, TransferenciaKeyset from, int limit) {
+        Instant newestArchived = archive.newestFecha();
+        if (newestArchived == null || movimientos.size() >= limit
+                && movimientos.get(limit - 1).getFechaCreacion().isAfter(newestArchived)) {
+            return movimientos;
+        }
+        List<TransferenciaSnapshot> archived = archive.findByCuentaBefore(cuentaId, origen, from.fechaCreacion(),
+                from.idTransferencia(), limit);
+        if (archived.isEmpty()) {
+            return movimientos;
+        }
+        List<MovimientoCuentaView> merged = new ArrayList<>(limit);
+        int db = 0;
+        int ar = 0;
+        while (merged.size() < limit && (db < movimientos.size() || ar < archived.size())) {
+            MovimientoCuentaView next = ar < archived.size() ? new ArchivedMovimiento(archived.get(ar)) : null;
+            int order = db == movimientos.size() ? 1
+                    : next == null ? -1 : compareNewestFirst(movimientos.get(db), next);
+            if (order <= 0) {
+                merged.add(movimientos.get(db++));
+                if (order == 0) {
+                    // Left in the database by an archive run that rolled back after reading it.
+                    ar++;
+                }
+            } else {
+                merged.add(next);
+                ar++;
+            }
+        }
+        return merged;
+    }
+
+    private int compareNewestFirst(MovimientoCuentaView a, MovimientoCuentaView b) {
+        int byFecha = b.getFechaCreacion().compareTo(a.getFechaCreacion());
+        return byFecha != 0 ? byFecha : Long.compare(b.getIdTransferencia(), a.getIdTransferencia());
+    }
+
+    private TransferenciaKeyset decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : cursorCodec.decode(cursor);
+    }
+
+    /**
+     * An archived transfer seen as an account movement.
+     */
+    private record ArchivedMovimiento(TransferenciaSnapshot transferencia) implements MovimientoCuentaView {
+
+        @Override
+        public Long getIdTransferencia() {
+            return transferencia.idTransferencia();
+        }
+
+        @Override
+        public Long getCuentaOrigenId() {
+            return transferencia.cuentaOrigenId();
+        }
+
+        @Override
+        public Long getCuentaDestinoId() {
+            return transferencia.cuentaDestinoId();
+        }
+
+        @Override
+        public BigDecimal getImporte() {
+            return transferencia.importe();
+        }
+
+        @Override
+        public String getDivisa() {
+            return transferencia.divisa();
+        }
+
+        @Override
+        public EstadoTransferencia getEstado() {
+            return transferencia.estado();
+        }
+
+        @Override
+        public Instant getFechaCreacion() {
+            return transferencia.fechaCreacion();
+        }
+    }
+}
@@ -19,6 +19,17 @@ public interface TransferenciaService {
      */
     TransferenciaResponse create(CreateTransferenciaRequest request);
 
+    /**
+     * Creates a new transfer at most once per idempotency key. The key is the given
+     * {@code Idempotency-Key} value or, when absent, the request's {@code referenciaExterna}; a
+     * repeated key returns the transfer created by the first request instead of inserting again.
+     *
+     * @param request        the creation request
+     * @param idempotencyKey optional client-supplied idempotency key
+     * @return the created, or previously created, transfer response
+     */
+    TransferenciaResponse create(CreateTransferenciaRequest request, String idempotencyKey);
+
     /**
      * Retrieves a transfer by its identifier.
      *
@@ -1,56 +1,153 @@
 package com.example.api.application;
 
 import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaIdempotencyProperties;
 import com.example.api.domain.EstadoTransferencia;
 import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaIdempotencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
 import com.example.api.dto.request.CreateTransferenciaRequest;
 import com.example.api.dto.request.UpdateTransferenciaRequest;
 import com.example.api.dto.response.TransferenciaResponse;
 import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
 import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.RecentKeyCache;
+import com.example.api.infrastructure.TransferenciaIdempotenciaRepository;
 import com.example.api.infrastructure.TransferenciaRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Service implementation for transfer operations.
+ *
+ * <p>Idempotent creations first consult a bounded in-memory cache of recent keys, then the key
+ * table by primary key; neither step takes a database lock. A request carrying both an
+ * {@code Idempotency-Key} header and an external reference is checked and recorded under both keys,
+ * so the reference stays unique whichever key the client sends. Keys derived from an external
+ * reference skip the table lookup when the reference filter knows the reference has never been
+ * used. The
+ * primary key on the key table is the final arbiter when two requests with the same key race, or
+ * when the filter missed a reference used on another node: the loser's transaction rolls back and
+ * it returns the winner's transfer.</p>
+ *
+ * <p>New transfers are counted against the in-memory velocity limits inside the creating
+ * transaction; a rollback withdraws them again. Idempotent replays are not counted.</p>
+ *
+ * <p>Every write publishes a {@link TransferenciasChangedEvent} inside its transaction, so that
+ * projections such as the balance ledger commit or roll back together with the transfer.</p>
+ *
+ * <p>Creation transactions go through the {@link TransferenciaGroupCommitter}, which may commit
+ * them together with concurrent creations and then publishes their changes as one event. Lookups
+ * made after an idempotency key collision run in their own transaction.</p>
+ *
+ * <p>Lookups by id, and idempotent replays, fall through to the {@link TransferenciaArchiveStore}
+ * when the transfer is no longer in the database. Archived transfers cannot be updated or
+ * deleted. Deleting a transfer deletes its idempotency keys and, once the deletion commits, drops
+ * them from the cache, so the keys can be used again.</p>
+ *
+ * <p>New transfers and updates are checked against the {@link CuentaRegistryService}: both accounts
+ * must exist, be open and not be blocked. Idempotent replays are returned without a new check.</p>
  */
 @Service
 public class TransferenciaServiceImpl implements TransferenciaService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 200;
+    private static final String HEADER_KEY_PREFIX = "key:";
+    private static final String REFERENCE_KEY_PREFIX = "ref:";
+
     private final TransferenciaRepository repository;
+    private final TransferenciaIdempotenciaRepository idempotenciaRepository;
     private final TransferenciaMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentKeyCache<IdempotentCreation> idempotencyCache;
+    private final TransferenciaVelocityService velocityService;
+    private final ReferenciaFilterService referenciaFilter;
+    private final TransferenciaGroupCommitter groupCommitter;
+    private final TransferenciaArchiveStore archive;
+    private final CuentaRegistryService cuentaRegistry;
 
     public TransferenciaServiceImpl(TransferenciaRepository repository,
-                                    TransferenciaMapper mapper) {
+                                    TransferenciaIdempotenciaRepository idempotenciaRepository,
+                                    TransferenciaMapper mapper,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TransferenciaIdempotencyProperties idempotencyProperties,
+                                    TransferenciaVelocityService velocityService,
+                                    ReferenciaFilterService referenciaFilter,
+                                    TransferenciaGroupCommitter groupCommitter,
+                                    TransferenciaArchiveStore archive,
+                                    CuentaRegistryService cuentaRegistry) {
         this.repository = repository;
+        this.idempotenciaRepository = idempotenciaRepository;
         this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.velocityService = velocityService;
+        this.referenciaFilter = referenciaFilter;
+        this.groupCommitter = groupCommitter;
+        this.archive = archive;
+        this.cuentaRegistry = cuentaRegistry;
+        this.idempotencyCache = new RecentKeyCache<>(
+                idempotencyProperties.cacheSize(), idempotencyProperties.cacheTtl());
     }
 
     @Override
-    @Transactional
     public TransferenciaResponse create(CreateTransferenciaRequest request) {
-        Transferencia entity = new Transferencia(
-                request.cuentaOrigenId(),
-                request.cuentaDestinoId(),
-                request.importe(),
-                request.divisa(),
-                request.concepto(),
-                request.referenciaExterna()
-        );
-        Transferencia saved = repository.save(entity);
-        return mapper.toResponse(saved);
+        return create(request, null);
+    }
+
+    @Override
+    public TransferenciaResponse create(CreateTransferenciaRequest request, String idempotencyKey) {
+        List<String> claves = resolveIdempotencyKeys(request, idempotencyKey);
+        if (claves.isEmpty()) {
+            return inCreation(status -> mapper.toResponse(save(request)));
+        }
+        String huella = TransferenciaHuella.of(request);
+        IdempotentCreation creation = cached(claves);
+        if (creation == null) {
+            List<String> posibles = claves.stream().filter(this::mightExist).toList();
+            try {
+                creation = inCreation(status -> lookup(posibles)
+                        .orElseGet(() -> insert(request, claves, huella)));
+            } catch (DataIntegrityViolationException ex) {
+                creation = inTransaction(status -> lookup(claves)).orElseThrow(() -> ex);
+            }
+            for (String clave : claves) {
+                idempotencyCache.put(clave, creation);
+            }
+        }
+        if (!creation.huella().equals(huella)) {
+            throw new ConflictException("Idempotency key already used for a different transfer: "
+                    + creation.clave().substring(creation.clave().indexOf(':') + 1));
+        }
+        return creation.response();
     }
 
     @Override
     @Transactional(readOnly = true)
     public TransferenciaResponse getById(Long id) {
-        Transferencia entity = repository.findById(id)
+        return repository.findById(id)
+                .map(mapper::toResponse)
+                .or(() -> archive.findById(id).map(mapper::toResponse))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Transfer not found with id: " + id));
-        return mapper.toResponse(entity);
     }
 
     @Override
@@ -66,6 +163,12 @@ public class TransferenciaServiceImpl implements TransferenciaService {
         Transferencia entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Transfer not found with id: " + id));
+        // Accounts the transfer already uses were checked when they were set.
+        if (!Objects.equals(entity.getCuentaOrigenId(), request.cuentaOrigenId())
+                || !Objects.equals(entity.getCuentaDestinoId(), request.cuentaDestinoId())) {
+            cuentaRegistry.validate(request.cuentaOrigenId(), request.cuentaDestinoId());
+        }
+        TransferenciaSnapshot antes = entity.snapshot();
         entity.updateDetails(
                 request.cuentaOrigenId(),
                 request.cuentaDestinoId(),
@@ -77,17 +180,139 @@ public class TransferenciaServiceImpl implements TransferenciaService {
                 request.referenciaExterna()
         );
         Transferencia updated = repository.save(entity);
+        eventPublisher.publishEvent(TransferenciasChangedEvent.of(
+                TransferenciaChange.updated(antes, updated.snapshot())));
         return mapper.toResponse(updated);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException(
-                    "Transfer not found with id: " + id);
+        Transferencia entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Transfer not found with id: " + id));
+        List<String> claves = idempotenciaRepository.findClavesByIdTransferencia(id);
+        idempotenciaRepository.deleteByIdTransferencia(id);
+        repository.delete(entity);
+        eventPublisher.publishEvent(TransferenciasChangedEvent.of(TransferenciaChange.deleted(entity.snapshot())));
+        evictAfterCommit(claves);
+    }
+
+    // Evicting before the commit would let a concurrent replay cache the keys again from rows that
+    // stay visible until then.
+    private void evictAfterCommit(List<String> claves) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            claves.forEach(idempotencyCache::remove);
+            return;
         }
-        repository.deleteById(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                claves.forEach(idempotencyCache::remove);
+            }
+        });
+    }
+
+    private Transferencia save(CreateTransferenciaRequest request) {
+        cuentaRegistry.validate(request.cuentaOrigenId(), request.cuentaDestinoId());
+        Transferencia entity = toEntity(request);
+        velocityService.reserve(entity.getCuentaOrigenId(), entity.getDivisa(), entity.getImporte())
+                .releaseOnRollback();
+        Transferencia saved = repository.save(entity);
+        TransferenciaChange change = TransferenciaChange.created(saved.snapshot());
+        if (!groupCommitter.defer(change)) {
+            eventPublisher.publishEvent(TransferenciasChangedEvent.of(change));
+        }
+        return saved;
+    }
+
+    private Transferencia toEntity(CreateTransferenciaRequest request) {
+        return new Transferencia(
+                request.cuentaOrigenId(),
+                request.cuentaDestinoId(),
+                request.importe(),
+                request.divisa(),
+                request.concepto(),
+                request.referenciaExterna()
+        );
+    }
+
+    private IdempotentCreation insert(CreateTransferenciaRequest request, List<String> claves, String huella) {
+        Transferencia saved = save(request);
+        for (String clave : claves) {
+            idempotenciaRepository.saveAndFlush(
+                    new TransferenciaIdempotencia(clave, saved.getIdTransferencia(), huella));
+            if (clave.startsWith(REFERENCE_KEY_PREFIX)) {
+                referenciaFilter.record(clave.substring(REFERENCE_KEY_PREFIX.length()));
+            }
+        }
+        return new IdempotentCreation(claves.get(0), huella, mapper.toResponse(saved));
+    }
+
+    private IdempotentCreation cached(List<String> claves) {
+        for (String clave : claves) {
+            IdempotentCreation creation = idempotencyCache.get(clave);
+            if (creation != null) {
+                return creation;
+            }
+        }
+        return null;
+    }
+
+    private Optional<IdempotentCreation> lookup(List<String> claves) {
+        for (String clave : claves) {
+            Optional<IdempotentCreation> creation = findCreation(clave);
+            if (creation.isPresent()) {
+                return creation;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean mightExist(String clave) {
+        return !clave.startsWith(REFERENCE_KEY_PREFIX)
+                || referenciaFilter.mightExist(clave.substring(REFERENCE_KEY_PREFIX.length()));
+    }
+
+    private Optional<IdempotentCreation> findCreation(String clave) {
+        return idempotenciaRepository.findById(clave)
+                .flatMap(key -> repository.findById(key.getIdTransferencia())
+                        .map(mapper::toResponse)
+                        .or(() -> archive.findById(key.getIdTransferencia()).map(mapper::toResponse))
+                        .map(response -> new IdempotentCreation(clave, key.getHuella(), response)));
+    }
+
+    private <T> T inTransaction(TransactionCallback<T> callback) {
+        return requireResult(transactionTemplate.execute(callback));
+    }
+
+    private <T> T inCreation(TransactionCallback<T> callback) {
+        return requireResult(groupCommitter.execute(callback));
+    }
+
+    private static <T> T requireResult(T result) {
+        if (result == null) {
+            throw new IllegalStateException("Transaction callback returned no result");
+        }
+        return result;
+    }
+
+    private List<String> resolveIdempotencyKeys(CreateTransferenciaRequest request, String idempotencyKey) {
+        List<String> claves = new ArrayList<>(2);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new BusinessException("Idempotency key must not exceed "
+                        + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+            }
+            claves.add(HEADER_KEY_PREFIX + idempotencyKey);
+        }
+        if (request.referenciaExterna() != null && !request.referenciaExterna().isBlank()) {
+            claves.add(REFERENCE_KEY_PREFIX + request.referenciaExterna());
+        }
+        return claves;
+    }
+
+    private record IdempotentCreation(String clave, String huella, TransferenciaResponse response) {
     }
 
     private EstadoTransferencia parseEstado(String estado) {
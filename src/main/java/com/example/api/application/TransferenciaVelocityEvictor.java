@@ -0,0 +1,33 @@
+package com.example.api.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops idle velocity counters on the configured schedule, so memory follows the number of active
+ * accounts rather than every account ever seen.
+ */
+@Slf4j
+@Component
+public class TransferenciaVelocityEvictor {
+
+    private final TransferenciaVelocityService velocityService;
+
+    public TransferenciaVelocityEvictor(TransferenciaVelocityService velocityService) {
+        this.velocityService = velocityService;
+    }
+
+    /**
+     * Drops counters idle for a whole window.
+     */
+    @Scheduled(fixedDelayString = "${transferencias.velocity.eviction-interval}")
+    public void evict() {
+        try {
+            int removed = velocityService.evictIdle();
+            log.debug("Evicted {} idle velocity counters", removed);
+        } catch (RuntimeException ex) {
+            log.error("Velocity counter eviction failed", ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.api.application;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for the in-memory velocity limits on transfer creation.
+ */
+public interface TransferenciaVelocityService {
+
+    /**
+     * Counts a new transfer against every rule that applies to its source account and currency.
+     *
+     * @param cuentaOrigenId source account identifier
+     * @param divisa         currency code
+     * @param importe        transfer amount
+     * @return the reservation, to release if the transfer is not stored
+     * @throws com.example.api.exception.BusinessException if the transfer would exceed a limit
+     */
+    VelocityReservation reserve(Long cuentaOrigenId, String divisa, BigDecimal importe);
+
+    /**
+     * Drops the counters of accounts that have been idle for a whole window.
+     *
+     * @return the number of counters dropped
+     */
+    int evictIdle();
+}
@@ -0,0 +1,140 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaVelocityProperties;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.SlidingWindowCounters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Service implementation for the in-memory velocity limits on transfer creation.
+ *
+ * <p>Each rule keeps its own {@link SlidingWindowCounters} keyed by source account and currency,
+ * so a check costs a few atomic operations and no database round trip. Amounts are counted in
+ * cents. Counters live on one node only: with several nodes behind a load balancer, each enforces
+ * the limits on the traffic it receives.</p>
+ */
+@Service
+public class TransferenciaVelocityServiceImpl implements TransferenciaVelocityService {
+
+    static final String METRIC_REJECTED = "transferencias.velocity.rejected";
+    static final String METRIC_KEYS = "transferencias.velocity.keys";
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final List<Limit> limits;
+
+    public TransferenciaVelocityServiceImpl(TransferenciaVelocityProperties properties, MeterRegistry meterRegistry) {
+        this.limits = properties.enabled()
+                ? properties.rules().stream()
+                        .map(rule -> new Limit(rule, new SlidingWindowCounters<>(rule.window(),
+                                properties.buckets(), properties.stripes()), meterRegistry))
+                        .toList()
+                : List.of();
+        Gauge.builder(METRIC_KEYS, this, TransferenciaVelocityServiceImpl::trackedKeys)
+                .description("Account and currency pairs with live velocity counters, summed over all rules")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public VelocityReservation reserve(Long cuentaOrigenId, String divisa, BigDecimal importe) {
+        if (limits.isEmpty()) {
+            return VelocityReservation.NONE;
+        }
+        CuentaDivisa key = new CuentaDivisa(cuentaOrigenId, divisa);
+        long cents = toCents(importe);
+        long[] epochs = new long[limits.size()];
+        for (int i = 0; i < limits.size(); i++) {
+            Limit limit = limits.get(i);
+            if (!limit.appliesTo(divisa)) {
+                epochs[i] = SlidingWindowCounters.REJECTED;
+                continue;
+            }
+            epochs[i] = limit.counters.tryAdd(key, cents, limit.maxCount, limit.maxAmount);
+            if (epochs[i] == SlidingWindowCounters.REJECTED) {
+                release(key, epochs, i, cents);
+                limit.rejected.increment();
+                throw new BusinessException("Velocity limit exceeded for account " + cuentaOrigenId + " in "
+                        + divisa + ": " + limit.describe());
+            }
+        }
+        return () -> release(key, epochs, epochs.length, cents);
+    }
+
+    @Override
+    public int evictIdle() {
+        int removed = 0;
+        for (Limit limit : limits) {
+            removed += limit.counters.evictIdle();
+        }
+        return removed;
+    }
+
+    private void release(CuentaDivisa key, long[] epochs, int count, long cents) {
+        for (int i = 0; i < count; i++) {
+            if (epochs[i] != SlidingWindowCounters.REJECTED) {
+                limits.get(i).counters.release(key, epochs[i], cents);
+            }
+        }
+    }
+
+    private double trackedKeys() {
+        int keys = 0;
+        for (Limit limit : limits) {
+            keys += limit.counters.size();
+        }
+        return keys;
+    }
+
+    private static long toCents(BigDecimal importe) {
+        return importe.setScale(AMOUNT_SCALE, RoundingMode.CEILING).unscaledValue().longValueExact();
+    }
+
+    private record CuentaDivisa(Long cuenta, String divisa) {
+    }
+
+    private static final class Limit {
+
+        private final TransferenciaVelocityProperties.Rule rule;
+        private final SlidingWindowCounters<CuentaDivisa> counters;
+        private final long maxCount;
+        private final long maxAmount;
+        private final Counter rejected;
+
+        Limit(TransferenciaVelocityProperties.Rule rule,
+                SlidingWindowCounters<CuentaDivisa> counters,
+                MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.counters = counters;
+            this.maxCount = rule.maxTransferencias() == null ? Long.MAX_VALUE : rule.maxTransferencias();
+            this.maxAmount = rule.maxImporte() == null ? Long.MAX_VALUE : toCents(rule.maxImporte());
+            this.rejected = Counter.builder(METRIC_REJECTED)
+                    .description("Transfers rejected by a velocity limit")
+                    .tag("ventana", rule.window().toString())
+                    .tag("divisa", rule.divisa() == null || rule.divisa().isBlank() ? "*" : rule.divisa())
+                    .register(meterRegistry);
+        }
+
+        boolean appliesTo(String divisa) {
+            return rule.divisa() == null || rule.divisa().isBlank() || rule.divisa().equals(divisa);
+        }
+
+        String describe() {
+            StringBuilder description = new StringBuilder();
+            if (rule.maxTransferencias() != null) {
+                description.append("at most ").append(rule.maxTransferencias()).append(" transfers");
+            }
+            if (rule.maxImporte() != null) {
+                description.append(description.isEmpty() ? "at most " : " and ")
+                        .append(rule.maxImporte().toPlainString()).append(" in total");
+            }
+            return description.append(" per ").append(rule.window()).toString();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.api.application;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A transfer counted against the velocity limits, which can be withdrawn if the transfer is not stored.
+ */
+public interface VelocityReservation {
+
+    /**
+     * A reservation that counts nothing.
+     */
+    VelocityReservation NONE = () -> { };
+
+    /**
+     * Withdraws the transfer from every window it was counted in.
+     */
+    void release();
+
+    /**
+     * Releases this reservation if the current transaction rolls back. Outside a transaction it is kept.
+     */
+    default void releaseOnRollback() {
+        if (this != NONE && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.api.application.mapper;
 
+import com.example.api.domain.DireccionMovimiento;
 import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.response.MovimientoCuentaResponse;
 import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.infrastructure.MovimientoCuentaView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,4 +17,18 @@ public interface TransferenciaMapper {
 
     @Mapping(target = "estado", expression = "java(entity.getEstado().name())")
     TransferenciaResponse toResponse(Transferencia entity);
+
+    @Mapping(target = "estado", expression = "java(snapshot.estado().name())")
+    TransferenciaResponse toResponse(TransferenciaSnapshot snapshot);
+
+    /**
+     * Maps an account movement, taking the counterparty from the side opposite to the given direction.
+     */
+    default MovimientoCuentaResponse toMovimiento(MovimientoCuentaView view, DireccionMovimiento direccion) {
+        Long contrapartidaId = direccion == DireccionMovimiento.SALIENTE
+                ? view.getCuentaDestinoId()
+                : view.getCuentaOrigenId();
+        return new MovimientoCuentaResponse(view.getIdTransferencia(), direccion.name(), contrapartidaId,
+                view.getImporte(), view.getDivisa(), view.getEstado().name(), view.getFechaCreacion());
+    }
 }
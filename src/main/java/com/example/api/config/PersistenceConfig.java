@@ -0,0 +1,19 @@
+package com.example.api.config;
+
+import com.example.api.infrastructure.DatabasePlatform;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Persistence beans shared by the JDBC repositories.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public DatabasePlatform databasePlatform(DataSource dataSource) {
+        return DatabasePlatform.detect(dataSource);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory registry of valid and blocked accounts that transfers are checked against.
+ *
+ * @param enabled             whether creations and updates check their accounts; requires the
+ *                            {@code cuentas} table to be fed by the account system of record
+ * @param refreshInterval     how often the registry reads the accounts changed since its last read
+ * @param fullRefreshInterval how often the registry is rebuilt from the whole table, which also drops
+ *                            accounts deleted from it
+ * @param overlap             how far before the newest change already seen an incremental read starts,
+ *                            to catch changes committed late with an earlier timestamp
+ * @param fetchSize           rows fetched per round trip while the registry is read
+ */
+@ConfigurationProperties(prefix = "transferencias.accounts")
+public record TransferenciaAccountsProperties(
+        boolean enabled,
+        Duration refreshInterval,
+        Duration fullRefreshInterval,
+        Duration overlap,
+        int fetchSize
+) {
+
+    public TransferenciaAccountsProperties {
+        if (refreshInterval == null || refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("Account registry refresh interval must be positive");
+        }
+        if (fullRefreshInterval == null || fullRefreshInterval.compareTo(refreshInterval) < 0) {
+            throw new IllegalArgumentException("Account registry full refresh interval must not be shorter "
+                    + "than the refresh interval");
+        }
+        if (overlap == null || overlap.isNegative()) {
+            throw new IllegalArgumentException("Account registry overlap must not be negative");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Account registry fetch size must be positive");
+        }
+    }
+}
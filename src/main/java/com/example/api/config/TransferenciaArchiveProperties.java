@@ -0,0 +1,56 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the cold-storage archive of old transfers.
+ *
+ * @param enabled         whether this node archives old transfers, on the schedule and on demand.
+ *                        Enable it on one node only: runs on different nodes are not coordinated
+ * @param cron            when the scheduled run starts, in UTC
+ * @param retentionMonths complete months kept in the database before the current one; closed transfers
+ *                        created earlier are moved to the archive
+ * @param directory       absolute path of a durable directory holding the archive files, one
+ *                        subdirectory per year and month. Lookups read it whether or not this node
+ *                        archives; a node without one has no archive to read
+ * @param blockSize       transfers per block; a block is the unit that lookups skip or read
+ * @param chunkSize       transfers moved per transaction, each into its own file
+ * @param fetchSize       rows fetched per round trip while reading a chunk
+ */
+@ConfigurationProperties(prefix = "transferencias.archive")
+public record TransferenciaArchiveProperties(
+        boolean enabled,
+        String cron,
+        int retentionMonths,
+        String directory,
+        int blockSize,
+        int chunkSize,
+        int fetchSize
+) {
+
+    public TransferenciaArchiveProperties {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("Archive retention must be at least one month");
+        }
+        if (directory != null && directory.isBlank()) {
+            directory = null;
+        }
+        if (enabled && directory == null) {
+            throw new IllegalArgumentException("Archive directory must be set when the archive is enabled");
+        }
+        if (directory != null && !Path.of(directory).isAbsolute()) {
+            throw new IllegalArgumentException("Archive directory must be an absolute path");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Archive block size must be positive");
+        }
+        if (chunkSize < blockSize) {
+            throw new IllegalArgumentException("Archive chunk size must be at least the block size");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Archive fetch size must be positive");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for bulk transfer creation.
+ *
+ * @param chunkSize number of transfers inserted per transaction; keep it a multiple of
+ *                  {@code hibernate.jdbc.batch_size} so every flush sends full JDBC batches
+ */
+@ConfigurationProperties(prefix = "transferencias.batch")
+public record TransferenciaBatchProperties(
+        int chunkSize
+) {
+}
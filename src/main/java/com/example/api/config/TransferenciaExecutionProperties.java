@@ -0,0 +1,25 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background transfer execution engine.
+ *
+ * @param enabled         whether this node executes pending transfers; off by default, in which case
+ *                        clients move transfers through their states with updates
+ * @param workers         maximum number of concurrent execution workers
+ * @param batchSize       transfers claimed per worker transaction
+ * @param pollInterval    delay between polls of the pending queue
+ * @param shutdownTimeout time allowed for in-flight batches to finish on shutdown
+ */
+@ConfigurationProperties(prefix = "transferencias.execution")
+public record TransferenciaExecutionProperties(
+        boolean enabled,
+        int workers,
+        int batchSize,
+        Duration pollInterval,
+        Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for streaming transfer exports.
+ *
+ * @param fetchSize  rows fetched per round trip by the server-side cursor
+ * @param flushEvery rows written between explicit flushes of the response stream
+ */
+@ConfigurationProperties(prefix = "transferencias.export")
+public record TransferenciaExportProperties(
+        int fetchSize,
+        int flushEvery
+) {
+}
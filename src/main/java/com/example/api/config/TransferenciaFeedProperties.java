@@ -0,0 +1,39 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the transfer change feed.
+ *
+ * @param enabled             whether this node runs the feed relay
+ * @param pollInterval        delay between relay polls of the outbox
+ * @param batchSize           outbox entries published, or read per subscriber, per poll
+ * @param subscriberQueueSize entries buffered for a subscriber that has not received them yet; a
+ *                            subscriber that falls further behind is disconnected, and resumes
+ *                            from its last entry when it reconnects
+ * @param heartbeatInterval   time between keep-alive comments sent to idle subscribers
+ * @param retention           how long published entries stay available for resuming
+ * @param purgeInterval       delay between purges of entries older than the retention
+ */
+@ConfigurationProperties(prefix = "transferencias.feed")
+public record TransferenciaFeedProperties(
+        boolean enabled,
+        Duration pollInterval,
+        int batchSize,
+        int subscriberQueueSize,
+        Duration heartbeatInterval,
+        Duration retention,
+        Duration purgeInterval
+) {
+
+    public TransferenciaFeedProperties {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Change feed batch size must be positive");
+        }
+        if (subscriberQueueSize < batchSize) {
+            throw new IllegalArgumentException("Change feed subscriber queue must hold at least one batch");
+        }
+    }
+}
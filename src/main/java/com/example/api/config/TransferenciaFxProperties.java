@@ -0,0 +1,29 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Settings for the FX rates used by multi-currency reports.
+ *
+ * @param baseCurrency    currency every stored rate is quoted against
+ * @param ratesFile       local CSV file with {@code divisa,tasa} lines loaded by a reload; blank disables reloads
+ * @param refreshInterval how often a node checks for a rate set loaded by another node
+ */
+@ConfigurationProperties(prefix = "transferencias.fx")
+public record TransferenciaFxProperties(
+        String baseCurrency,
+        String ratesFile,
+        Duration refreshInterval
+) {
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+
+    public TransferenciaFxProperties {
+        if (baseCurrency == null || !CURRENCY.matcher(baseCurrency).matches()) {
+            throw new IllegalArgumentException("Invalid base currency: " + baseCurrency);
+        }
+    }
+}
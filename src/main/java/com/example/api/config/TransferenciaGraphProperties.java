@@ -0,0 +1,58 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the transfer graph analysis.
+ *
+ * @param partitions     transfer id slices read in parallel, each on its own connection
+ * @param parallelism    threads that build and analyse the graph
+ * @param fetchSize      rows fetched per round trip while streaming a partition
+ * @param maxWindow      longest time window accepted by an analysis
+ * @param maxTransfers   most transfers an analysis may load; about 40 bytes of heap each while the graph
+ *                       is built
+ * @param cycleLength    most accounts on a reported cycle when the client does not ask for a length
+ * @param maxCycleLength longest cycle a client may ask for
+ * @param maxCycles      cycles found before the search stops
+ * @param fanScore       standard deviations above the mean a fan-in or fan-out must be to be reported
+ * @param defaultLimit   entries per list when the client does not ask for a limit
+ * @param maxLimit       largest list a client may ask for
+ */
+@ConfigurationProperties(prefix = "transferencias.graph")
+public record TransferenciaGraphProperties(
+        int partitions,
+        int parallelism,
+        int fetchSize,
+        Duration maxWindow,
+        int maxTransfers,
+        int cycleLength,
+        int maxCycleLength,
+        int maxCycles,
+        double fanScore,
+        int defaultLimit,
+        int maxLimit
+) {
+
+    public TransferenciaGraphProperties {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Graph partitions must be positive");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Graph parallelism must be positive");
+        }
+        if (maxTransfers < 1 || maxTransfers > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Graph max transfers must be between 1 and " + Integer.MAX_VALUE / 2);
+        }
+        if (cycleLength < 3 || maxCycleLength < cycleLength) {
+            throw new IllegalArgumentException("Graph cycle length must be at least 3 and at most max-cycle-length");
+        }
+        if (maxCycles < 1) {
+            throw new IllegalArgumentException("Graph max cycles must be positive");
+        }
+        if (defaultLimit < 1 || maxLimit < defaultLimit) {
+            throw new IllegalArgumentException("Graph limits must satisfy 1 <= default-limit <= max-limit");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for group commit of concurrent transfer creations.
+ *
+ * @param enabled            whether creations are gathered into shared transactions; when disabled
+ *                           every creation commits on its own
+ * @param maxBatchSize       most creations committed by one transaction
+ * @param maxDelay           longest time the first creation of a batch waits for others to join it:
+ *                           the latency group commit adds on top of the transaction itself
+ * @param queueCapacity      most creations waiting for a batch; further creations commit on their own
+ * @param committers         threads committing batches concurrently
+ * @param transactionTimeout timeout of each group commit transaction, in whole seconds; a creation
+ *                           still queued after {@code maxDelay} plus this commits on its own
+ * @param shutdownTimeout    time allowed for queued creations to commit on shutdown
+ */
+@ConfigurationProperties(prefix = "transferencias.group-commit")
+public record TransferenciaGroupCommitProperties(
+        boolean enabled,
+        int maxBatchSize,
+        Duration maxDelay,
+        int queueCapacity,
+        int committers,
+        Duration transactionTimeout,
+        Duration shutdownTimeout
+) {
+
+    public TransferenciaGroupCommitProperties {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Group commit max batch size must be positive");
+        }
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Group commit max delay must not be negative");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Group commit queue capacity must be positive");
+        }
+        if (committers < 1) {
+            throw new IllegalArgumentException("Group commit committers must be positive");
+        }
+        if (transactionTimeout == null || transactionTimeout.getSeconds() < 1) {
+            throw new IllegalArgumentException("Group commit transaction timeout must be at least one second");
+        }
+        if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+            throw new IllegalArgumentException("Group commit shutdown timeout must not be negative");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the live ranking of accounts by outbound volume.
+ *
+ * @param enabled    whether created transfers are tracked
+ * @param windows    sliding windows tracked for every currency; the first is the default
+ * @param buckets    buckets per window; more buckets make the window slide more smoothly
+ * @param epsilon    error bound as a fraction of the window volume: no estimate is off by more than
+ *                   {@code epsilon * volume}; each bucket keeps {@code ceil(1 / epsilon)} counters
+ * @param maxDivisas most currencies tracked; transfers in further currencies are ignored
+ * @param gaugeRanks ranks published as gauges for every window and currency
+ */
+@ConfigurationProperties(prefix = "transferencias.heavy-hitters")
+public record TransferenciaHeavyHittersProperties(
+        boolean enabled,
+        List<Duration> windows,
+        int buckets,
+        double epsilon,
+        int maxDivisas,
+        int gaugeRanks
+) {
+
+    private static final int MAX_CAPACITY = 1 << 20;
+
+    public TransferenciaHeavyHittersProperties {
+        windows = windows == null ? List.of() : List.copyOf(windows);
+        if (enabled && windows.isEmpty()) {
+            throw new IllegalArgumentException("Heavy-hitter tracking needs at least one window");
+        }
+        for (Duration window : windows) {
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Heavy-hitter windows must be positive");
+            }
+        }
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Heavy-hitter buckets must be positive");
+        }
+        if (!(epsilon > 0 && epsilon < 1) || Math.ceil(1 / epsilon) > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Heavy-hitter epsilon must be between 1/" + MAX_CAPACITY + " and 1");
+        }
+        if (maxDivisas < 1) {
+            throw new IllegalArgumentException("Heavy-hitter max currencies must be positive");
+        }
+        if (gaugeRanks < 0) {
+            throw new IllegalArgumentException("Heavy-hitter gauge ranks must not be negative");
+        }
+    }
+
+    /**
+     * @return counters kept per bucket
+     */
+    public int capacity() {
+        return (int) Math.ceil(1 / epsilon);
+    }
+}
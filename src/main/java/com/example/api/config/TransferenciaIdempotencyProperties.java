@@ -0,0 +1,18 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for idempotent transfer creation.
+ *
+ * @param cacheSize maximum number of recent idempotency keys kept in memory
+ * @param cacheTtl  time a recent idempotency key stays in memory
+ */
+@ConfigurationProperties(prefix = "transferencias.idempotency")
+public record TransferenciaIdempotencyProperties(
+        int cacheSize,
+        Duration cacheTtl
+) {
+}
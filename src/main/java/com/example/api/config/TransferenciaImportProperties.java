@@ -0,0 +1,16 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for bulk transfer file imports.
+ *
+ * @param chunkSize rows loaded per transaction
+ * @param maxErrors rejected rows listed in an import report; further rejections are only counted
+ */
+@ConfigurationProperties(prefix = "transferencias.import")
+public record TransferenciaImportProperties(
+        int chunkSize,
+        int maxErrors
+) {
+}
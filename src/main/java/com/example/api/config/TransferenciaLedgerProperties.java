@@ -0,0 +1,14 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the materialized account balance ledger.
+ *
+ * @param rebuildPartitions number of account-hash partitions recomputed in parallel by a rebuild
+ */
+@ConfigurationProperties(prefix = "transferencias.ledger")
+public record TransferenciaLedgerProperties(
+        int rebuildPartitions
+) {
+}
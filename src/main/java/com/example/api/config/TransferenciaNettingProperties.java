@@ -0,0 +1,39 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the netting engine.
+ *
+ * @param partitions      transfer id slices read in parallel, each on its own connection, and
+ *                        account-pair hash partitions netted in parallel
+ * @param fetchSize       rows fetched per round trip while streaming a slice
+ * @param expectedPairs   initial capacity of each partition's pair table, shared among the slices
+ *                        that fill it; tables grow as needed
+ * @param maxWindow       longest time window accepted by a netting run
+ * @param writeBatchSize  positions written per JDBC batch
+ * @param defaultPageSize positions per page when the client does not ask for a size
+ * @param maxPageSize     largest page of positions a client may ask for
+ */
+@ConfigurationProperties(prefix = "transferencias.netting")
+public record TransferenciaNettingProperties(
+        int partitions,
+        int fetchSize,
+        int expectedPairs,
+        Duration maxWindow,
+        int writeBatchSize,
+        int defaultPageSize,
+        int maxPageSize
+) {
+
+    public TransferenciaNettingProperties {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Netting partitions must be positive");
+        }
+        if (writeBatchSize < 1) {
+            throw new IllegalArgumentException("Netting write batch size must be positive");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.regex.Pattern;
+
+/**
+ * Settings for the monthly partitions of the transfers table on PostgreSQL.
+ *
+ * @param enabled         whether this node maintains the partitions
+ * @param premakeMonths   months ahead of the current one that must already have a partition
+ * @param retentionMonths complete months kept attached before the current one; {@code 0} keeps every partition
+ * @param archiveSchema   schema that detached partitions are moved to; a lower-case SQL identifier
+ * @param maintenanceCron when to create upcoming partitions and archive expired ones
+ */
+@ConfigurationProperties(prefix = "transferencias.partitioning")
+public record TransferenciaPartitioningProperties(
+        boolean enabled,
+        int premakeMonths,
+        int retentionMonths,
+        String archiveSchema,
+        String maintenanceCron
+) {
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    public TransferenciaPartitioningProperties {
+        if (archiveSchema == null || !SCHEMA_NAME.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+    }
+}
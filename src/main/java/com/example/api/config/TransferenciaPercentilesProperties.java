@@ -0,0 +1,53 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-currency percentiles of transfer amounts.
+ *
+ * @param enabled           whether created transfers are added to the daily sketches
+ * @param compression       t-digest compression; each daily sketch keeps about this many centroids, and
+ *                          higher values make the tail percentiles more accurate
+ * @param flushInterval     how often the sketches accumulated on this node are merged into the stored ones
+ * @param cacheTtl          how long a stored sketch of a past day is reused before it is read again
+ * @param cacheSize         most daily sketches cached on this node
+ * @param maxDays           largest date range, in days, accepted by a query
+ * @param rebuildMaxDays    largest date range, in days, accepted by a rebuild, whose sketches are all held
+ *                          in memory until they are written
+ * @param rebuildPartitions transfer id hash partitions scanned in parallel by a rebuild, each on its own
+ *                          connection
+ * @param fetchSize         rows fetched per round trip while scanning a partition
+ */
+@ConfigurationProperties(prefix = "transferencias.percentiles")
+public record TransferenciaPercentilesProperties(
+        boolean enabled,
+        double compression,
+        Duration flushInterval,
+        Duration cacheTtl,
+        int cacheSize,
+        int maxDays,
+        int rebuildMaxDays,
+        int rebuildPartitions,
+        int fetchSize
+) {
+
+    public TransferenciaPercentilesProperties {
+        if (!(compression >= 10 && compression <= 10_000)) {
+            throw new IllegalArgumentException("Percentile compression must be between 10 and 10000");
+        }
+        if (cacheTtl == null || cacheTtl.isNegative()) {
+            throw new IllegalArgumentException("Percentile cache TTL must not be negative");
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Percentile cache size must not be negative");
+        }
+        if (maxDays < 1 || rebuildMaxDays < 1) {
+            throw new IllegalArgumentException("Percentile max days must be positive");
+        }
+        if (rebuildPartitions < 1) {
+            throw new IllegalArgumentException("Percentile rebuild partitions must be positive");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for reconciling transfers against bank statement files.
+ *
+ * @param partitions  hash partitions both sides are spilled into; each is joined in memory on its
+ *                    own, so memory grows with the largest partition rather than with the file
+ * @param joinThreads partitions joined in parallel
+ * @param fetchSize   rows fetched per round trip while streaming transfers
+ * @param bufferSize  per-partition write and read buffer, in bytes
+ * @param lookback    how long before the first value date transfers are read, so that statement
+ *                    lines booked a few days after the transfer was executed are still matched
+ * @param maxDays     longest range of value dates accepted by a reconciliation
+ * @param workDir     directory holding spill and result files
+ * @param retention   how long result files are kept before they are deleted
+ */
+@ConfigurationProperties(prefix = "transferencias.reconciliation")
+public record TransferenciaReconciliationProperties(
+        int partitions,
+        int joinThreads,
+        int fetchSize,
+        int bufferSize,
+        Duration lookback,
+        int maxDays,
+        String workDir,
+        Duration retention
+) {
+
+    public TransferenciaReconciliationProperties {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Reconciliation partitions must be positive");
+        }
+        if (joinThreads < 1) {
+            throw new IllegalArgumentException("Reconciliation join threads must be positive");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Reconciliation buffer size must be positive");
+        }
+        if (lookback == null || lookback.isNegative()) {
+            throw new IllegalArgumentException("Reconciliation lookback must not be negative");
+        }
+        if (workDir == null || workDir.isBlank()) {
+            throw new IllegalArgumentException("Reconciliation work directory must be set");
+        }
+    }
+}
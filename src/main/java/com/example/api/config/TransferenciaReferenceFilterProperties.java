@@ -0,0 +1,33 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the Bloom filter of external references used to skip duplicate lookups.
+ *
+ * @param enabled            whether creations consult the filter; when disabled every reference is looked up
+ * @param expectedReferences capacity of the filter's first slice; later slices double it
+ * @param falsePositiveRate  target share of unseen references that are still looked up in the database
+ * @param maxMemory          memory budget for the filter; beyond it the filter stops growing and
+ *                           its false-positive rate rises
+ * @param fetchSize          rows fetched per round trip while the filter is built
+ */
+@ConfigurationProperties(prefix = "transferencias.reference-filter")
+public record TransferenciaReferenceFilterProperties(
+        boolean enabled,
+        long expectedReferences,
+        double falsePositiveRate,
+        DataSize maxMemory,
+        int fetchSize
+) {
+
+    public TransferenciaReferenceFilterProperties {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Reference filter false-positive rate must be between 0 and 1");
+        }
+        if (expectedReferences < 1) {
+            throw new IllegalArgumentException("Reference filter expected references must be positive");
+        }
+    }
+}
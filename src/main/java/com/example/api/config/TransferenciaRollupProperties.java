@@ -0,0 +1,22 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the daily transfer rollups.
+ *
+ * @param slots            write slots per rollup group; more slots mean less row contention on busy groups
+ * @param maxDays          largest date range, in days, accepted by the reporting endpoints
+ * @param rebuildChunkDays days recomputed per transaction by a rebuild
+ * @param reconcileCron    when to rebuild the most recent days; {@code -} disables the job
+ * @param reconcileDays    days, up to and including today, rebuilt by the scheduled reconciliation
+ */
+@ConfigurationProperties(prefix = "transferencias.rollups")
+public record TransferenciaRollupProperties(
+        int slots,
+        int maxDays,
+        int rebuildChunkDays,
+        String reconcileCron,
+        int reconcileDays
+) {
+}
@@ -0,0 +1,47 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the scheduled transfer engine.
+ *
+ * @param enabled         whether this node fires scheduled transfers
+ * @param tick            resolution of the timing wheel; occurrences fire at most one tick late
+ * @param wheelSize       slots per timing wheel level, a power of two
+ * @param levels          timing wheel levels
+ * @param horizon         how far ahead occurrences are loaded into the wheel
+ * @param refreshInterval delay between loads of the horizon; shorter than the horizon
+ * @param retryDelay      delay before a batch that failed to fire is tried again; at least one tick
+ * @param batchSize       occurrences fired per transaction
+ * @param fetchSize       rows fetched per round trip while loading the horizon
+ */
+@ConfigurationProperties(prefix = "transferencias.scheduler")
+public record TransferenciaSchedulerProperties(
+        boolean enabled,
+        Duration tick,
+        int wheelSize,
+        int levels,
+        Duration horizon,
+        Duration refreshInterval,
+        Duration retryDelay,
+        int batchSize,
+        int fetchSize
+) {
+
+    public TransferenciaSchedulerProperties {
+        if (tick == null || tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Scheduler tick must be at least one millisecond");
+        }
+        if (horizon == null || refreshInterval == null || refreshInterval.compareTo(horizon) >= 0) {
+            throw new IllegalArgumentException("Scheduler refresh interval must be shorter than the horizon");
+        }
+        if (retryDelay == null || retryDelay.compareTo(tick) < 0) {
+            throw new IllegalArgumentException("Scheduler retry delay must be at least one tick");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Scheduler batch size must be positive");
+        }
+    }
+}
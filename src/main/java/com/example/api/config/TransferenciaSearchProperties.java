@@ -0,0 +1,18 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for keyset-paginated transfer searches.
+ *
+ * @param defaultPageSize page size used when the client does not request one
+ * @param maxPageSize     upper bound applied to client-requested page sizes
+ * @param indexFetchSize  rows fetched per round trip while the in-process concept index is built
+ */
+@ConfigurationProperties(prefix = "transferencias.search")
+public record TransferenciaSearchProperties(
+        int defaultPageSize,
+        int maxPageSize,
+        int indexFetchSize
+) {
+}
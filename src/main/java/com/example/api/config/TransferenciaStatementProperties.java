@@ -0,0 +1,58 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the month-end account statement batch.
+ *
+ * @param enabled            whether this node generates last month's statements on the schedule
+ * @param cron               when the scheduled run starts, in UTC
+ * @param partitions         account id ranges the accounts are split into; each range is read by
+ *                           one ordered scan and is the unit of restart
+ * @param threads            ranges processed in parallel
+ * @param fetchSize          rows fetched per round trip while scanning a range
+ * @param bufferSize         write buffer of each statement file, in bytes
+ * @param checkpointInterval accounts written between two checkpoints of a range
+ * @param workDir            absolute path of a durable directory holding the statement and checkpoint
+ *                           files; a month only opens from the previous month's closing balances if
+ *                           that month's run is found there. Statements are not generated on a node
+ *                           without one
+ */
+@ConfigurationProperties(prefix = "transferencias.statements")
+public record TransferenciaStatementProperties(
+        boolean enabled,
+        String cron,
+        int partitions,
+        int threads,
+        int fetchSize,
+        int bufferSize,
+        int checkpointInterval,
+        String workDir
+) {
+
+    public TransferenciaStatementProperties {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Statement partitions must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Statement threads must be positive");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Statement buffer size must be positive");
+        }
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Statement checkpoint interval must be positive");
+        }
+        if (workDir != null && workDir.isBlank()) {
+            workDir = null;
+        }
+        if (enabled && workDir == null) {
+            throw new IllegalArgumentException("Statement work directory must be set when statements are enabled");
+        }
+        if (workDir != null && !Path.of(workDir).isAbsolute()) {
+            throw new IllegalArgumentException("Statement work directory must be an absolute path");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for the in-memory velocity limits on transfer creation.
+ *
+ * @param enabled          whether creations are checked against the rules
+ * @param stripes          independent key maps per rule; rounded up to a power of two
+ * @param buckets          buckets per window; more buckets make the window slide more smoothly
+ * @param evictionInterval how often keys idle for a whole window are dropped
+ * @param rules            the limits, each applied per source account and currency
+ */
+@ConfigurationProperties(prefix = "transferencias.velocity")
+public record TransferenciaVelocityProperties(
+        boolean enabled,
+        int stripes,
+        int buckets,
+        Duration evictionInterval,
+        List<Rule> rules
+) {
+
+    public TransferenciaVelocityProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+        if (stripes < 1 || buckets < 1) {
+            throw new IllegalArgumentException("Velocity stripes and buckets must be positive");
+        }
+    }
+
+    /**
+     * One velocity limit.
+     *
+     * @param window           length of the sliding window
+     * @param divisa           currency the rule applies to, or blank for every currency
+     * @param maxTransferencias most transfers allowed per window, or {@code null} for no count limit
+     * @param maxImporte       largest amount sum allowed per window, or {@code null} for no amount limit
+     */
+    public record Rule(
+            Duration window,
+            String divisa,
+            Integer maxTransferencias,
+            BigDecimal maxImporte
+    ) {
+
+        public Rule {
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Velocity rule window must be positive");
+            }
+            if (maxTransferencias == null && maxImporte == null) {
+                throw new IllegalArgumentException("Velocity rule for " + window
+                        + " needs max-transferencias or max-importe");
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.api.controller;
+
+import com.example.api.application.CompensacionService;
+import com.example.api.dto.response.CompensacionBilateralResponse;
+import com.example.api.dto.response.CompensacionMultilateralResponse;
+import com.example.api.dto.response.CompensacionResponse;
+import com.example.api.dto.response.CursorPageResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * REST controller for netting transfers into bilateral and multilateral positions.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class CompensacionController {
+
+    private final CompensacionService service;
+
+    public CompensacionController(CompensacionService service) {
+        this.service = service;
+    }
+
+    /**
+     * Nets the transfers of a time window and currency and stores the resulting positions.
+     *
+     * @param divisa currency of the transfers to net
+     * @param desde  window start, inclusive
+     * @param hasta  window end, exclusive
+     * @param estado state of the transfers to net, {@code PENDIENTE} by default
+     * @return the run summary with HTTP 201
+     */
+    @PostMapping("/compensaciones")
+    public ResponseEntity<CompensacionResponse> compensar(
+            @RequestParam(required = false) String divisa,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            Instant desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            Instant hasta,
+            @RequestParam(required = false) String estado) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.compensar(divisa, desde, hasta, estado));
+    }
+
+    /**
+     * Returns the summary of a stored netting run.
+     *
+     * @param id the run id
+     * @return the run summary with HTTP 200
+     */
+    @GetMapping("/compensaciones/{id}")
+    public ResponseEntity<CompensacionResponse> getCompensacion(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getCompensacion(id));
+    }
+
+    /**
+     * Returns one page of the bilateral positions of a run, ordered by account pair.
+     *
+     * @param id       the run id
+     * @param cuentaId only pairs that include this account
+     * @param cursor   the {@code nextCursor} of the previous page
+     * @param size     page size
+     * @return the page with HTTP 200
+     */
+    @GetMapping("/compensaciones/{id}/bilaterales")
+    public ResponseEntity<CursorPageResponse<CompensacionBilateralResponse>> getBilaterales(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cuentaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.getBilaterales(id, cuentaId, cursor, size));
+    }
+
+    /**
+     * Returns one page of the multilateral positions of a run, ordered by account.
+     *
+     * @param id     the run id
+     * @param cursor the {@code nextCursor} of the previous page
+     * @param size   page size
+     * @return the page with HTTP 200
+     */
+    @GetMapping("/compensaciones/{id}/multilaterales")
+    public ResponseEntity<CursorPageResponse<CompensacionMultilateralResponse>> getMultilaterales(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.getMultilaterales(id, cursor, size));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.api.controller;
+
+import com.example.api.application.ConciliacionRegistros;
+import com.example.api.application.ConciliacionService;
+import com.example.api.dto.response.ConciliacionResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * REST controller for reconciling transfers against bank statement files.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class ConciliacionController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final ConciliacionService service;
+
+    public ConciliacionController(ConciliacionService service) {
+        this.service = service;
+    }
+
+    /**
+     * Reconciles a statement CSV file against the transfers of a date range.
+     * Columns {@code referenciaExterna}, {@code importe} and {@code fecha} are required;
+     * {@code divisa} is optional.
+     *
+     * @param desde first value date, inclusive
+     * @param hasta last value date, inclusive
+     * @param body  the raw request body, UTF-8 encoded
+     * @return the run summary with HTTP 201
+     */
+    @PostMapping(value = "/conciliaciones", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ConciliacionResponse> conciliar(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate hasta,
+            InputStream body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.conciliar(desde, hasta, body));
+    }
+
+    /**
+     * Returns the summary of a stored reconciliation.
+     *
+     * @param id the run id
+     * @return the run summary with HTTP 200
+     */
+    @GetMapping("/conciliaciones/{id}")
+    public ResponseEntity<ConciliacionResponse> getConciliacion(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getConciliacion(id));
+    }
+
+    /**
+     * Streams the records of a reconciliation as NDJSON, grouped by result. Only available on the
+     * node that ran the reconciliation, until the retention period expires.
+     *
+     * @param id        the run id
+     * @param resultado only records with this result, e.g. {@code DISCREPANTE}
+     * @return the streamed records with HTTP 200
+     */
+    @GetMapping("/conciliaciones/{id}/registros")
+    public ResponseEntity<StreamingResponseBody> getRegistros(
+            @PathVariable Long id,
+            @RequestParam(required = false) String resultado) {
+        ConciliacionRegistros registros = service.prepareRegistros(id, resultado);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(registros::writeTo);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.api.controller;
+
+import com.example.api.application.CuentaRegistryService;
+import com.example.api.dto.response.CuentaRegistryResponse;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/cuentas} for the in-memory registry of valid and blocked accounts.
+ */
+@Component
+@Endpoint(id = "cuentas")
+public class CuentaRegistryEndpoint {
+
+    private final CuentaRegistryService service;
+
+    public CuentaRegistryEndpoint(CuentaRegistryService service) {
+        this.service = service;
+    }
+
+    /**
+     * Describes the registry: accounts held, memory used and the newest account change read.
+     *
+     * @return the registry state
+     */
+    @ReadOperation
+    public CuentaRegistryResponse describe() {
+        return service.describe();
+    }
+
+    /**
+     * Rebuilds the registry from the whole account table, for instance after a bulk change to it.
+     *
+     * @return the state of the rebuilt registry
+     */
+    @WriteOperation
+    public CuentaRegistryResponse reload() {
+        return service.reload();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.api.controller;
+
+import com.example.api.application.ExtractoBatchService;
+import com.example.api.dto.response.ExtractoBatchResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+/**
+ * REST controller for the month-end account statement batch.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class ExtractoController {
+
+    private final ExtractoBatchService service;
+
+    public ExtractoController(ExtractoBatchService service) {
+        this.service = service;
+    }
+
+    /**
+     * Writes the statement of every account for a month that has ended, resuming an interrupted
+     * run of the same month.
+     *
+     * @param periodo the month, e.g. {@code 2024-03}
+     * @return the run summary with HTTP 200
+     */
+    @PostMapping("/extractos")
+    public ResponseEntity<ExtractoBatchResponse> generar(
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM")
+            YearMonth periodo) {
+        return ResponseEntity.ok(service.generar(periodo));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.api.controller;
+
+import com.example.api.application.GrafoService;
+import com.example.api.dto.response.GrafoResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * REST controller for analysing the graph of money flows between accounts.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class GrafoController {
+
+    private final GrafoService service;
+
+    public GrafoController(GrafoService service) {
+        this.service = service;
+    }
+
+    /**
+     * Builds the graph of the transfers of a time window and currency and returns its circular flows,
+     * its groups of mutually reachable accounts and the accounts with unusual fan-in or fan-out.
+     *
+     * @param divisa   currency of the transfers
+     * @param desde    window start, inclusive
+     * @param hasta    window end, exclusive
+     * @param estado   state of the transfers, {@code COMPLETADA} by default
+     * @param longitud most accounts on a reported cycle
+     * @param limit    most entries per list
+     * @return the analysis with HTTP 200
+     */
+    @GetMapping("/grafo")
+    public ResponseEntity<GrafoResponse> analizar(
+            @RequestParam(required = false) String divisa,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            Instant desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            Instant hasta,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) Integer longitud,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.analizar(divisa, desde, hasta, estado, longitud, limit));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.api.controller;
+
+import com.example.api.application.PercentilService;
+import com.example.api.dto.response.PercentilRebuildResponse;
+import com.example.api.dto.response.PercentilesResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for the per-currency percentiles of transfer amounts.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class PercentilController {
+
+    private final PercentilService service;
+
+    public PercentilController(PercentilService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the estimated amount percentiles of the transfers created in a date range, merged from
+     * the daily sketches of the currency.
+     *
+     * @param divisa the currency code
+     * @param desde  first UTC day, inclusive
+     * @param hasta  last UTC day, inclusive
+     * @return the percentiles with HTTP 200
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<PercentilesResponse> getPercentiles(
+            @RequestParam(required = false) String divisa,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate hasta) {
+        return ResponseEntity.ok(service.getPercentiles(divisa, desde, hasta));
+    }
+
+    /**
+     * Recomputes the daily amount sketches of a date range from the transfers table.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, inclusive
+     * @return the rebuild summary with HTTP 200
+     */
+    @PostMapping("/percentiles/rebuild")
+    public ResponseEntity<PercentilRebuildResponse> rebuild(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate hasta) {
+        return ResponseEntity.ok(service.rebuild(desde, hasta));
+    }
+}
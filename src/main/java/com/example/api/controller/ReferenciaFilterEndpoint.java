@@ -0,0 +1,42 @@
+package com.example.api.controller;
+
+import com.example.api.application.ReferenciaFilterService;
+import com.example.api.dto.response.ReferenciaFilterResponse;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/referencias} for the Bloom filter of external references.
+ */
+@Component
+@Endpoint(id = "referencias")
+public class ReferenciaFilterEndpoint {
+
+    private final ReferenciaFilterService service;
+
+    public ReferenciaFilterEndpoint(ReferenciaFilterService service) {
+        this.service = service;
+    }
+
+    /**
+     * Describes the filter: references held, memory used and target versus estimated false-positive rate.
+     *
+     * @return the filter state
+     */
+    @ReadOperation
+    public ReferenciaFilterResponse describe() {
+        return service.describe();
+    }
+
+    /**
+     * Rebuilds the filter from the stored idempotency keys, for instance after raising its memory budget.
+     *
+     * @return the state of the rebuilt filter
+     */
+    @WriteOperation
+    public ReferenciaFilterResponse rebuild() {
+        return service.rebuild();
+    }
+}
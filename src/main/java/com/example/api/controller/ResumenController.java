@@ -0,0 +1,88 @@
+package com.example.api.controller;
+
+import com.example.api.application.ResumenService;
+import com.example.api.dto.request.ResumenFilterRequest;
+import com.example.api.dto.response.ResumenConvertidoResponse;
+import com.example.api.dto.response.ResumenDiarioResponse;
+import com.example.api.dto.response.ResumenRebuildResponse;
+import com.example.api.dto.response.ResumenTotalResponse;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for pre-aggregated daily transfer reports.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class ResumenController {
+
+    private final ResumenService service;
+
+    public ResumenController(ResumenService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the count and amount of transfers per day, currency and state.
+     *
+     * @param filter date range (inclusive, UTC days) and optional currency and state filters
+     * @return the daily rollups with HTTP 200
+     */
+    @GetMapping("/resumenes/diarios")
+    public ResponseEntity<List<ResumenDiarioResponse>> getDiarios(@Valid ResumenFilterRequest filter) {
+        return ResponseEntity.ok(service.getDiarios(filter));
+    }
+
+    /**
+     * Returns the count and amount of transfers per currency and state over a date range.
+     *
+     * @param filter date range (inclusive, UTC days) and optional currency and state filters
+     * @return the totals with HTTP 200
+     */
+    @GetMapping("/resumenes/totales")
+    public ResponseEntity<List<ResumenTotalResponse>> getTotales(@Valid ResumenFilterRequest filter) {
+        return ResponseEntity.ok(service.getTotales(filter));
+    }
+
+    /**
+     * Returns the count and amount of transfers per state over a date range, converted to one currency
+     * with the cached FX rates.
+     *
+     * @param filter        date range (inclusive, UTC days) and optional currency and state filters
+     * @param divisaReporte the reporting currency
+     * @return the converted totals with HTTP 200
+     */
+    @GetMapping("/resumenes/totales/convertidos")
+    public ResponseEntity<ResumenConvertidoResponse> getTotalesConvertidos(
+            @Valid ResumenFilterRequest filter,
+            @RequestParam(required = false) String divisaReporte) {
+        return ResponseEntity.ok(service.getTotalesConvertidos(filter, divisaReporte));
+    }
+
+    /**
+     * Recomputes the rollups of a date range from the transfers table.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, inclusive
+     * @return the rebuild summary with HTTP 200
+     */
+    @PostMapping("/resumenes/rebuild")
+    public ResponseEntity<ResumenRebuildResponse> rebuild(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate desde,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate hasta) {
+        return ResponseEntity.ok(service.rebuild(desde, hasta));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.api.controller;
+
+import com.example.api.application.SaldoService;
+import com.example.api.dto.response.SaldoRebuildResponse;
+import com.example.api.dto.response.SaldoResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for materialized account balances.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class SaldoController {
+
+    private final SaldoService service;
+
+    public SaldoController(SaldoService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns every currency balance of an account.
+     *
+     * @param cuentaId the account identifier
+     * @return the balances with HTTP 200
+     */
+    @GetMapping("/cuentas/{cuentaId}/saldos")
+    public ResponseEntity<List<SaldoResponse>> getSaldos(@PathVariable Long cuentaId) {
+        return ResponseEntity.ok(service.getSaldos(cuentaId));
+    }
+
+    /**
+     * Returns the balance of an account in one currency.
+     *
+     * @param cuentaId the account identifier
+     * @param divisa   the currency code
+     * @return the balance with HTTP 200
+     */
+    @GetMapping("/cuentas/{cuentaId}/saldos/{divisa}")
+    public ResponseEntity<SaldoResponse> getSaldo(@PathVariable Long cuentaId, @PathVariable String divisa) {
+        return ResponseEntity.ok(service.getSaldo(cuentaId, divisa));
+    }
+
+    /**
+     * Recomputes every balance from the transfers table.
+     *
+     * @return the rebuild summary with HTTP 200
+     */
+    @PostMapping("/saldos/rebuild")
+    public ResponseEntity<SaldoRebuildResponse> rebuild() {
+        return ResponseEntity.ok(service.rebuild());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.api.controller;
+
+import com.example.api.application.TipoCambioService;
+import com.example.api.dto.response.TipoCambioResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the FX rates used by converted reports.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TipoCambioController {
+
+    private final TipoCambioService service;
+
+    public TipoCambioController(TipoCambioService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the FX rate set in use.
+     *
+     * @return the rates with HTTP 200
+     */
+    @GetMapping("/tipos-cambio")
+    public ResponseEntity<TipoCambioResponse> getTiposCambio() {
+        return ResponseEntity.ok(service.getTiposCambio());
+    }
+
+    /**
+     * Loads the configured rates file as a new version and switches to it.
+     *
+     * @return the new rates with HTTP 200
+     */
+    @PostMapping("/tipos-cambio/reload")
+    public ResponseEntity<TipoCambioResponse> reload() {
+        return ResponseEntity.ok(service.reload());
+    }
+}
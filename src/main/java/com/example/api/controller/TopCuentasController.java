@@ -0,0 +1,40 @@
+package com.example.api.controller;
+
+import com.example.api.application.TopCuentasService;
+import com.example.api.dto.response.TopCuentasResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the live ranking of accounts by outbound volume.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TopCuentasController {
+
+    private final TopCuentasService service;
+
+    public TopCuentasController(TopCuentasService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the source accounts with the highest volume of transfers created in a sliding window.
+     * Volumes are estimates with a bounded error, computed on the node that serves the request.
+     *
+     * @param divisa  the currency code
+     * @param ventana one of the tracked windows, e.g. {@code PT1H}; the first one by default
+     * @param limit   most accounts to return, 100 by default
+     * @return the ranking with HTTP 200
+     */
+    @GetMapping("/top-cuentas")
+    public ResponseEntity<TopCuentasResponse> getTopCuentas(
+            @RequestParam(required = false) String divisa,
+            @RequestParam(required = false) String ventana,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.getTopCuentas(divisa, ventana, limit));
+    }
+}
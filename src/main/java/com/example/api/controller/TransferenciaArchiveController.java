@@ -0,0 +1,30 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaArchiveService;
+import com.example.api.dto.response.TransferenciaArchiveResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaArchiveController {
+
+    private final TransferenciaArchiveService service;
+
+    public TransferenciaArchiveController(TransferenciaArchiveService service) {
+        this.service = service;
+    }
+
+    /**
+     * Moves the closed transfers that have left the retention window to the archive now, instead
+     * of waiting for the scheduled run.
+     *
+     * @return the run summary with HTTP 200
+     */
+    @PostMapping("/archivo")
+    public ResponseEntity<TransferenciaArchiveResponse> archive() {
+        return ResponseEntity.ok(service.archive());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaBatchService;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.BatchTransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * REST controller for bulk transfer creation.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaBatchController {
+
+    private final TransferenciaBatchService service;
+    private final ObjectReader requestReader;
+
+    public TransferenciaBatchController(TransferenciaBatchService service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.requestReader = objectMapper.readerFor(CreateTransferenciaRequest.class);
+    }
+
+    /**
+     * Creates transfers from a JSON array.
+     *
+     * @param requests the creation requests
+     * @return the per-item results with HTTP 200
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchTransferenciaResponse> createBatch(
+            @RequestBody List<CreateTransferenciaRequest> requests) {
+        return ResponseEntity.ok(service.createBatch(requests.iterator()));
+    }
+
+    /**
+     * Creates transfers from an NDJSON stream, one request object per line.
+     * Lines are parsed lazily while earlier chunks are being inserted. A line that is not a valid
+     * request fails as its own item, like an item that breaks a validation rule, because earlier
+     * chunks may already be committed by the time it is read.
+     *
+     * @param body the raw request body
+     * @return the per-item results with HTTP 200
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchTransferenciaResponse> createBatchStream(InputStream body) throws IOException {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(service.createBatch(new NdjsonRequests(lines)));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Parses one request per non-blank line. A line that cannot be parsed surfaces as a
+     * {@link BusinessException} from {@link #next()}, and parsing resumes on the following line.
+     */
+    private final class NdjsonRequests implements Iterator<CreateTransferenciaRequest> {
+
+        private final BufferedReader lines;
+        private String line;
+
+        NdjsonRequests(BufferedReader lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (line == null) {
+                    String read = lines.readLine();
+                    if (read == null) {
+                        return false;
+                    }
+                    if (!read.isBlank()) {
+                        line = read;
+                    }
+                }
+                return true;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public CreateTransferenciaRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String current = line;
+            line = null;
+            try {
+                return requestReader.readValue(current);
+            } catch (JsonProcessingException ex) {
+                throw new BusinessException("Malformed item: " + ex.getOriginalMessage());
+            }
+        }
+    }
+}
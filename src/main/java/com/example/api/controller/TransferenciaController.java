@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,15 +33,18 @@ public class TransferenciaController {
     }
 
     /**
-     * Creates a new transfer.
+     * Creates a new transfer. Retries carrying the same {@code Idempotency-Key} header, or the same
+     * {@code referenciaExterna} when no header is sent, return the originally created transfer.
      *
-     * @param request the creation request
+     * @param request        the creation request
+     * @param idempotencyKey optional idempotency key
      * @return the created transfer with HTTP 201
      */
     @PostMapping
     public ResponseEntity<TransferenciaResponse> create(
-            @Valid @RequestBody CreateTransferenciaRequest request) {
-        TransferenciaResponse response = service.create(request);
+            @Valid @RequestBody CreateTransferenciaRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        TransferenciaResponse response = service.create(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
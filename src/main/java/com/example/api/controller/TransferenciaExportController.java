@@ -0,0 +1,44 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaExport;
+import com.example.api.application.TransferenciaExportService;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for streaming transfer exports.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaExportController {
+
+    private final TransferenciaExportService service;
+
+    public TransferenciaExportController(TransferenciaExportService service) {
+        this.service = service;
+    }
+
+    /**
+     * Streams matching transfers as NDJSON or CSV straight from a database cursor.
+     *
+     * @param filter  optional date range, state and currency filters
+     * @param formato output format, {@code ndjson} (default) or {@code csv}
+     * @return the streamed export with HTTP 200
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Valid TransferenciaFilterRequest filter,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        TransferenciaExport export = service.prepareExport(filter, formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.format().getContentType()))
+                .body(export::writeTo);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaFeedService;
+import com.example.api.application.TransferenciaFeedSink;
+import com.example.api.application.TransferenciaFeedSubscription;
+import com.example.api.dto.response.TransferenciaEventoResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * REST controller for the transfer change feed.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaFeedController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final TransferenciaFeedService service;
+
+    public TransferenciaFeedController(TransferenciaFeedService service) {
+        this.service = service;
+    }
+
+    /**
+     * Streams transfer changes as Server-Sent Events. Each event carries the feed sequence number
+     * as its id, the kind of change as its name and the transfer as JSON data, so clients that
+     * reconnect with {@code Last-Event-ID} resume without gaps or duplicates.
+     *
+     * @param desde       optional sequence number to resume after; takes precedence over the header
+     * @param lastEventId the last sequence number received, sent by reconnecting clients
+     * @return the event stream
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @RequestParam(required = false) Long desde,
+            @RequestHeader(name = LAST_EVENT_ID, required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        TransferenciaFeedSubscription subscription = service.subscribe(desde != null ? desde : lastEventId,
+                new EmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements TransferenciaFeedSink {
+
+        @Override
+        public void send(TransferenciaEventoResponse evento) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(evento.secuencia()))
+                    .name(evento.tipo())
+                    .data(evento.payload(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.api.controller;
+
+import com.example.api.application.ImportFormat;
+import com.example.api.application.TransferenciaImportService;
+import com.example.api.dto.response.TransferenciaImportResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk transfer file imports.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final TransferenciaImportService service;
+
+    public TransferenciaImportController(TransferenciaImportService service) {
+        this.service = service;
+    }
+
+    /**
+     * Imports transfers from a CSV file with a header row.
+     * Columns {@code cuentaOrigenId}, {@code cuentaDestinoId}, {@code importe} and {@code divisa} are required;
+     * {@code concepto} and {@code referenciaExterna} are optional.
+     *
+     * @param body the raw request body, UTF-8 encoded
+     * @return the import report with HTTP 200
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<TransferenciaImportResponse> importCsv(InputStream body) {
+        return ResponseEntity.ok(service.importFile(ImportFormat.CSV, body));
+    }
+
+    /**
+     * Imports transfers from an ISO 20022 pain.001 customer credit transfer initiation.
+     * Accounts must be numeric account ids in {@code Othr/Id}.
+     *
+     * @param body the raw request body
+     * @return the import report with HTTP 200
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE})
+    public ResponseEntity<TransferenciaImportResponse> importPain001(InputStream body) {
+        return ResponseEntity.ok(service.importFile(ImportFormat.PAIN_001, body));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaProgramadaService;
+import com.example.api.dto.request.CreateTransferenciaProgramadaRequest;
+import com.example.api.dto.response.TransferenciaProgramadaResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for scheduled and recurring transfers.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaProgramadaController {
+
+    private final TransferenciaProgramadaService service;
+
+    public TransferenciaProgramadaController(TransferenciaProgramadaService service) {
+        this.service = service;
+    }
+
+    /**
+     * Schedules a transfer for a future time, once or repeating {@code DIARIA}, {@code SEMANAL} or
+     * {@code MENSUAL}.
+     *
+     * @param request the transfer details and schedule
+     * @return the created schedule with HTTP 201
+     */
+    @PostMapping("/programadas")
+    public ResponseEntity<TransferenciaProgramadaResponse> create(
+            @Valid @RequestBody CreateTransferenciaProgramadaRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(request));
+    }
+
+    /**
+     * Retrieves a schedule, including its next occurrence and the last transfer it created.
+     *
+     * @param id the schedule id
+     * @return the schedule with HTTP 200
+     */
+    @GetMapping("/programadas/{id}")
+    public ResponseEntity<TransferenciaProgramadaResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getById(id));
+    }
+
+    /**
+     * Cancels the remaining occurrences of a schedule. Transfers it already created are kept.
+     *
+     * @param id the schedule id
+     * @return HTTP 204 No Content
+     */
+    @DeleteMapping("/programadas/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id) {
+        service.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaConceptoSearchService;
+import com.example.api.application.TransferenciaSearchService;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.MovimientoCuentaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for filtered, keyset-paginated transfer searches.
+ */
+@RestController
+@RequestMapping("${api.base-path}${api.transferencias-path}")
+public class TransferenciaSearchController {
+
+    private final TransferenciaSearchService service;
+    private final TransferenciaConceptoSearchService conceptoService;
+
+    public TransferenciaSearchController(TransferenciaSearchService service,
+                                         TransferenciaConceptoSearchService conceptoService) {
+        this.service = service;
+        this.conceptoService = conceptoService;
+    }
+
+    /**
+     * Returns one page of matching transfers, newest first.
+     *
+     * @param filter optional account, date range, state and currency filters
+     * @param cursor opaque cursor from the previous page; omit it for the first page
+     * @param size   page size, capped by configuration
+     * @return the page with HTTP 200
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<TransferenciaResponse>> search(
+            @Valid TransferenciaFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.search(filter, cursor, size));
+    }
+
+    /**
+     * Returns one page of transfers whose concept contains every word of the query, most relevant
+     * first. Quoted phrases and {@code -word} exclusions are honoured on PostgreSQL.
+     *
+     * @param q      the words to look for
+     * @param filter optional account, date range, state and currency filters
+     * @param cursor opaque cursor from the previous page; omit it for the first page
+     * @param size   page size, capped by configuration
+     * @return the page with HTTP 200
+     */
+    @GetMapping("/search/concepto")
+    public ResponseEntity<CursorPageResponse<TransferenciaResponse>> searchConcepto(
+            @RequestParam(required = false) String q,
+            @Valid TransferenciaFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(conceptoService.search(q, filter, cursor, size));
+    }
+
+    /**
+     * Returns one page of an account's inbound and outbound transfers, newest first.
+     *
+     * @param cuentaId the account identifier
+     * @param cursor   opaque cursor from the previous page; omit it for the first page
+     * @param size     page size, capped by configuration
+     * @return the page with HTTP 200
+     */
+    @GetMapping("/cuentas/{cuentaId}/historial")
+    public ResponseEntity<CursorPageResponse<MovimientoCuentaResponse>> getHistorial(
+            @PathVariable Long cuentaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.getHistorial(cuentaId, cursor, size));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One netting run over the transfers of a time window, currency and state. The bilateral and
+ * multilateral positions it produced are stored in {@link CompensacionBilateral} and
+ * {@link CompensacionMultilateral} rows keyed by the run id.
+ */
+@Entity
+@Table(name = "compensaciones")
+public class Compensacion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compensaciones_seq")
+    @SequenceGenerator(name = "compensaciones_seq", sequenceName = "compensaciones_seq", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "divisa", nullable = false, length = 3)
+    private String divisa;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoTransferencia estado;
+
+    @Column(name = "desde", nullable = false)
+    private Instant desde;
+
+    @Column(name = "hasta", nullable = false)
+    private Instant hasta;
+
+    @Column(name = "transferencias", nullable = false)
+    private long transferencias;
+
+    @Column(name = "cuentas", nullable = false)
+    private long cuentas;
+
+    @Column(name = "pares", nullable = false)
+    private long pares;
+
+    @Column(name = "importe_bruto", nullable = false, precision = 19, scale = 2)
+    private BigDecimal importeBruto;
+
+    @Column(name = "importe_neto_bilateral", nullable = false, precision = 19, scale = 2)
+    private BigDecimal importeNetoBilateral;
+
+    @Column(name = "importe_neto_multilateral", nullable = false, precision = 19, scale = 2)
+    private BigDecimal importeNetoMultilateral;
+
+    @Column(name = "fecha_calculo", nullable = false)
+    private Instant fechaCalculo;
+
+    @Column(name = "duracion_ms", nullable = false)
+    private long duracionMs;
+
+    protected Compensacion() {
+    }
+
+    /**
+     * Creates the record of a completed netting run.
+     *
+     * @param divisa                  currency of the netted transfers
+     * @param estado                  state of the netted transfers
+     * @param desde                   window start, inclusive
+     * @param hasta                   window end, exclusive
+     * @param transferencias          number of netted transfers
+     * @param cuentas                 number of accounts with a multilateral position
+     * @param pares                   number of account pairs with a bilateral position
+     * @param importeBruto            sum of all netted transfer amounts
+     * @param importeNetoBilateral    sum of the bilateral net amounts
+     * @param importeNetoMultilateral sum of the positive multilateral net positions
+     * @param fechaCalculo            when the run finished
+     * @param duracionMs              how long the run took
+     */
+    public Compensacion(String divisa, EstadoTransferencia estado, Instant desde, Instant hasta,
+                        long transferencias, long cuentas, long pares, BigDecimal importeBruto,
+                        BigDecimal importeNetoBilateral, BigDecimal importeNetoMultilateral,
+                        Instant fechaCalculo, long duracionMs) {
+        this.divisa = divisa;
+        this.estado = estado;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.transferencias = transferencias;
+        this.cuentas = cuentas;
+        this.pares = pares;
+        this.importeBruto = importeBruto;
+        this.importeNetoBilateral = importeNetoBilateral;
+        this.importeNetoMultilateral = importeNetoMultilateral;
+        this.fechaCalculo = fechaCalculo;
+        this.duracionMs = duracionMs;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDivisa() {
+        return divisa;
+    }
+
+    public EstadoTransferencia getEstado() {
+        return estado;
+    }
+
+    public Instant getDesde() {
+        return desde;
+    }
+
+    public Instant getHasta() {
+        return hasta;
+    }
+
+    public long getTransferencias() {
+        return transferencias;
+    }
+
+    public long getCuentas() {
+        return cuentas;
+    }
+
+    public long getPares() {
+        return pares;
+    }
+
+    public BigDecimal getImporteBruto() {
+        return importeBruto;
+    }
+
+    public BigDecimal getImporteNetoBilateral() {
+        return importeNetoBilateral;
+    }
+
+    public BigDecimal getImporteNetoMultilateral() {
+        return importeNetoMultilateral;
+    }
+
+    public Instant getFechaCalculo() {
+        return fechaCalculo;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+}
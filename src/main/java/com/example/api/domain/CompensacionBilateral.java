@@ -0,0 +1,56 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Bilateral net position between two accounts within a netting run. A positive {@code neto} means
+ * the lower account owes the higher one. Rows are written by the netting service and are
+ * read-only here.
+ */
+@Entity
+@Table(name = "compensaciones_bilaterales")
+public class CompensacionBilateral {
+
+    @EmbeddedId
+    private CompensacionBilateralId id;
+
+    @Column(name = "bruto_a_b", nullable = false, precision = 19, scale = 2)
+    private BigDecimal brutoAB;
+
+    @Column(name = "bruto_b_a", nullable = false, precision = 19, scale = 2)
+    private BigDecimal brutoBA;
+
+    @Column(name = "transferencias", nullable = false)
+    private long transferencias;
+
+    @Column(name = "neto", nullable = false, precision = 19, scale = 2)
+    private BigDecimal neto;
+
+    protected CompensacionBilateral() {
+    }
+
+    public CompensacionBilateralId getId() {
+        return id;
+    }
+
+    public BigDecimal getBrutoAB() {
+        return brutoAB;
+    }
+
+    public BigDecimal getBrutoBA() {
+        return brutoBA;
+    }
+
+    public long getTransferencias() {
+        return transferencias;
+    }
+
+    public BigDecimal getNeto() {
+        return neto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link CompensacionBilateral}.
+ *
+ * @param compensacionId netting run the position belongs to
+ * @param cuentaA        lower account id of the pair
+ * @param cuentaB        higher account id of the pair
+ */
+@Embeddable
+public record CompensacionBilateralId(
+        @Column(name = "compensacion_id")
+        Long compensacionId,
+
+        @Column(name = "cuenta_a")
+        Long cuentaA,
+
+        @Column(name = "cuenta_b")
+        Long cuentaB
+) implements Serializable {
+}
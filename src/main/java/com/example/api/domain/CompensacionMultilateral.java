@@ -0,0 +1,48 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Multilateral net position of one account within a netting run: everything it received minus
+ * everything it paid. Rows are written by the netting service and are read-only here.
+ */
+@Entity
+@Table(name = "compensaciones_multilaterales")
+public class CompensacionMultilateral {
+
+    @EmbeddedId
+    private CompensacionMultilateralId id;
+
+    @Column(name = "pagado", nullable = false, precision = 19, scale = 2)
+    private BigDecimal pagado;
+
+    @Column(name = "recibido", nullable = false, precision = 19, scale = 2)
+    private BigDecimal recibido;
+
+    @Column(name = "neto", nullable = false, precision = 19, scale = 2)
+    private BigDecimal neto;
+
+    protected CompensacionMultilateral() {
+    }
+
+    public CompensacionMultilateralId getId() {
+        return id;
+    }
+
+    public BigDecimal getPagado() {
+        return pagado;
+    }
+
+    public BigDecimal getRecibido() {
+        return recibido;
+    }
+
+    public BigDecimal getNeto() {
+        return neto;
+    }
+}
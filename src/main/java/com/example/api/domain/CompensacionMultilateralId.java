@@ -0,0 +1,22 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link CompensacionMultilateral}.
+ *
+ * @param compensacionId netting run the position belongs to
+ * @param cuentaId       account id
+ */
+@Embeddable
+public record CompensacionMultilateralId(
+        @Column(name = "compensacion_id")
+        Long compensacionId,
+
+        @Column(name = "cuenta_id")
+        Long cuentaId
+) implements Serializable {
+}
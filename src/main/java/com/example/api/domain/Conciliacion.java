@@ -0,0 +1,143 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One reconciliation of a bank statement file against the transfers of a date range. Only the
+ * counts are stored; the matched, unmatched and mismatched records are written to result files on
+ * the node that ran it.
+ */
+@Entity
+@Table(name = "conciliaciones")
+public class Conciliacion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conciliaciones_seq")
+    @SequenceGenerator(name = "conciliaciones_seq", sequenceName = "conciliaciones_seq", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "desde", nullable = false)
+    private LocalDate desde;
+
+    @Column(name = "hasta", nullable = false)
+    private LocalDate hasta;
+
+    @Column(name = "lineas", nullable = false)
+    private long lineas;
+
+    @Column(name = "lineas_invalidas", nullable = false)
+    private long lineasInvalidas;
+
+    @Column(name = "transferencias", nullable = false)
+    private long transferencias;
+
+    @Column(name = "conciliadas", nullable = false)
+    private long conciliadas;
+
+    @Column(name = "discrepantes", nullable = false)
+    private long discrepantes;
+
+    @Column(name = "solo_extracto", nullable = false)
+    private long soloExtracto;
+
+    @Column(name = "solo_transferencia", nullable = false)
+    private long soloTransferencia;
+
+    @Column(name = "fecha_calculo", nullable = false)
+    private Instant fechaCalculo;
+
+    @Column(name = "duracion_ms", nullable = false)
+    private long duracionMs;
+
+    protected Conciliacion() {
+    }
+
+    /**
+     * Creates the record of a completed reconciliation.
+     *
+     * @param desde             first value date reconciled, inclusive
+     * @param hasta             last value date reconciled, inclusive
+     * @param lineas            statement lines read
+     * @param lineasInvalidas   statement lines that could not be parsed
+     * @param transferencias    transfers with a value date in the range
+     * @param conciliadas       references that matched on every field
+     * @param discrepantes      references found on both sides with differing fields
+     * @param soloExtracto      statement lines with no matching transfer
+     * @param soloTransferencia transfers with no matching statement line
+     * @param fechaCalculo      when the run finished
+     * @param duracionMs        how long the run took
+     */
+    public Conciliacion(LocalDate desde, LocalDate hasta, long lineas, long lineasInvalidas, long transferencias,
+                        long conciliadas, long discrepantes, long soloExtracto, long soloTransferencia,
+                        Instant fechaCalculo, long duracionMs) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.lineas = lineas;
+        this.lineasInvalidas = lineasInvalidas;
+        this.transferencias = transferencias;
+        this.conciliadas = conciliadas;
+        this.discrepantes = discrepantes;
+        this.soloExtracto = soloExtracto;
+        this.soloTransferencia = soloTransferencia;
+        this.fechaCalculo = fechaCalculo;
+        this.duracionMs = duracionMs;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public long getLineas() {
+        return lineas;
+    }
+
+    public long getLineasInvalidas() {
+        return lineasInvalidas;
+    }
+
+    public long getTransferencias() {
+        return transferencias;
+    }
+
+    public long getConciliadas() {
+        return conciliadas;
+    }
+
+    public long getDiscrepantes() {
+        return discrepantes;
+    }
+
+    public long getSoloExtracto() {
+        return soloExtracto;
+    }
+
+    public long getSoloTransferencia() {
+        return soloTransferencia;
+    }
+
+    public Instant getFechaCalculo() {
+        return fechaCalculo;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+}
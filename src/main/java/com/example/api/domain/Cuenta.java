@@ -0,0 +1,49 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * An account that transfers may reference, with its current state. Rows are maintained by the
+ * account system of record and are read-only here; every change must also move
+ * {@code fecha_actualizacion} forward so that the account registry picks it up.
+ */
+@Entity
+@Table(name = "cuentas", indexes = {
+        @Index(name = "idx_cuentas_fecha_actualizacion", columnList = "fecha_actualizacion")
+})
+public class Cuenta {
+
+    @Id
+    @Column(name = "id_cuenta")
+    private Long idCuenta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoCuenta estado;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private Instant fechaActualizacion;
+
+    protected Cuenta() {
+    }
+
+    public Long getIdCuenta() {
+        return idCuenta;
+    }
+
+    public EstadoCuenta getEstado() {
+        return estado;
+    }
+
+    public Instant getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+}
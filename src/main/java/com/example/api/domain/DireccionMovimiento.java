@@ -0,0 +1,9 @@
+package com.example.api.domain;
+
+/**
+ * Direction of a transfer as seen from one of its accounts.
+ */
+public enum DireccionMovimiento {
+    ENTRANTE,
+    SALIENTE
+}
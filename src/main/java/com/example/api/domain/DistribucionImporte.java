@@ -0,0 +1,49 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Serialized quantile sketch of the amounts of the transfers created on one UTC day in one
+ * currency. Sketches of several days merge into the distribution of the whole range. Rows are
+ * maintained by the percentile projection and are read-only here.
+ */
+@Entity
+@Table(name = "distribuciones_importe")
+public class DistribucionImporte {
+
+    @EmbeddedId
+    private DistribucionImporteId id;
+
+    @Column(name = "sketch", nullable = false, length = 1_048_576)
+    private byte[] sketch;
+
+    @Column(name = "cantidad", nullable = false)
+    private long cantidad;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private Instant fechaActualizacion;
+
+    protected DistribucionImporte() {
+    }
+
+    public DistribucionImporteId getId() {
+        return id;
+    }
+
+    public byte[] getSketch() {
+        return sketch == null ? null : sketch.clone();
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public Instant getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+}
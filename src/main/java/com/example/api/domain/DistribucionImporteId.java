@@ -0,0 +1,23 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Composite primary key of {@link DistribucionImporte}.
+ *
+ * @param dia    UTC creation date of the summarised transfers
+ * @param divisa currency code
+ */
+@Embeddable
+public record DistribucionImporteId(
+        @Column(name = "dia")
+        LocalDate dia,
+
+        @Column(name = "divisa", length = 3)
+        String divisa
+) implements Serializable {
+}
@@ -0,0 +1,12 @@
+package com.example.api.domain;
+
+/**
+ * Represents the possible states of an account. Only active accounts may send or receive transfers;
+ * blocked accounts are known but frozen, and closed accounts are no longer valid.
+ */
+public enum EstadoCuenta {
+
+    ACTIVA,
+    BLOQUEADA,
+    CERRADA
+}
@@ -0,0 +1,11 @@
+package com.example.api.domain;
+
+/**
+ * Represents the possible states of a scheduled transfer.
+ */
+public enum EstadoProgramacion {
+
+    ACTIVA,
+    FINALIZADA,
+    CANCELADA
+}
@@ -0,0 +1,35 @@
+package com.example.api.domain;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * How often a scheduled transfer repeats.
+ */
+public enum Periodicidad {
+
+    UNICA,
+    DIARIA,
+    SEMANAL,
+    MENSUAL;
+
+    /**
+     * Computes an occurrence of a schedule. Occurrences are counted from the first one, in UTC, so a
+     * monthly schedule starting on the 31st runs on the last day of shorter months and returns to the
+     * 31st afterwards.
+     *
+     * @param inicio the first occurrence
+     * @param n      the zero-based occurrence number
+     * @return the occurrence, or {@code null} if the schedule has fewer than {@code n + 1} occurrences
+     */
+    public Instant ocurrencia(Instant inicio, long n) {
+        ZonedDateTime primera = inicio.atZone(ZoneOffset.UTC);
+        return switch (this) {
+            case UNICA -> n == 0 ? inicio : null;
+            case DIARIA -> primera.plusDays(n).toInstant();
+            case SEMANAL -> primera.plusWeeks(n).toInstant();
+            case MENSUAL -> primera.plusMonths(n).toInstant();
+        };
+    }
+}
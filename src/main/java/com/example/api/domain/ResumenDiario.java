@@ -0,0 +1,51 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Pre-aggregated count and amount of the transfers created on one UTC day in one currency and
+ * state. Each group is spread over several write slots so that concurrent writers of the same
+ * group do not queue on a single row; readers sum the slots. Rows are maintained by the rollup
+ * projection and are read-only here.
+ */
+@Entity
+@Table(name = "resumenes_diarios")
+public class ResumenDiario {
+
+    @EmbeddedId
+    private ResumenDiarioId id;
+
+    @Column(name = "cantidad", nullable = false)
+    private long cantidad;
+
+    @Column(name = "importe_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal importeTotal;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private Instant fechaActualizacion;
+
+    protected ResumenDiario() {
+    }
+
+    public ResumenDiarioId getId() {
+        return id;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public BigDecimal getImporteTotal() {
+        return importeTotal;
+    }
+
+    public Instant getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+}
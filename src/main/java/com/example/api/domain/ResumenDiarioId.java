@@ -0,0 +1,34 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Composite primary key of {@link ResumenDiario}.
+ *
+ * @param dia    UTC creation date of the aggregated transfers
+ * @param divisa currency code
+ * @param estado transfer state
+ * @param slot   write slot; a group is the sum of all its slots
+ */
+@Embeddable
+public record ResumenDiarioId(
+        @Column(name = "dia")
+        LocalDate dia,
+
+        @Column(name = "divisa", length = 3)
+        String divisa,
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "estado", length = 20)
+        EstadoTransferencia estado,
+
+        @Column(name = "slot")
+        Integer slot
+) implements Serializable {
+}
@@ -0,0 +1,35 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Net amount of the completed transfers of an account in one currency that have been moved to the
+ * archive, so that balances summed from the transfer table still account for them. Rows are
+ * maintained by the archive run and are read-only here.
+ */
+@Entity
+@Table(name = "saldos_archivados")
+public class SaldoArchivado {
+
+    @EmbeddedId
+    private SaldoCuentaId id;
+
+    @Column(name = "saldo", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    protected SaldoArchivado() {
+    }
+
+    public SaldoCuentaId getId() {
+        return id;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance of an account in one currency at the end of a statement period, written by the statement
+ * batch so that the next period opens from it instead of from the whole history. Rows are
+ * maintained by the batch and are read-only here.
+ */
+@Entity
+@Table(name = "saldos_cierre")
+public class SaldoCierre {
+
+    @EmbeddedId
+    private SaldoCierreId id;
+
+    @Column(name = "saldo", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    protected SaldoCierre() {
+    }
+
+    public SaldoCierreId getId() {
+        return id;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Composite primary key of {@link SaldoCierre}.
+ *
+ * @param fecha    UTC day the balance is taken at, the first day after the period
+ * @param cuentaId account identifier
+ * @param divisa   currency code
+ */
+@Embeddable
+public record SaldoCierreId(
+        @Column(name = "fecha")
+        LocalDate fecha,
+
+        @Column(name = "cuenta_id")
+        Long cuentaId,
+
+        @Column(name = "divisa", length = 3)
+        String divisa
+) implements Serializable {
+}
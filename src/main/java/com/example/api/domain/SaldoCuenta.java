@@ -0,0 +1,42 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Materialized running balance of an account in one currency: completed inbound transfers minus
+ * completed outbound transfers. Rows are maintained by the ledger projection and are read-only here.
+ */
+@Entity
+@Table(name = "saldos_cuenta")
+public class SaldoCuenta {
+
+    @EmbeddedId
+    private SaldoCuentaId id;
+
+    @Column(name = "saldo", nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private Instant fechaActualizacion;
+
+    protected SaldoCuenta() {
+    }
+
+    public SaldoCuentaId getId() {
+        return id;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public Instant getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+}
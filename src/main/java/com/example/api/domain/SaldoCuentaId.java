@@ -0,0 +1,22 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link SaldoCuenta} and {@link SaldoArchivado}.
+ *
+ * @param cuentaId account identifier
+ * @param divisa   currency code
+ */
+@Embeddable
+public record SaldoCuentaId(
+        @Column(name = "cuenta_id")
+        Long cuentaId,
+
+        @Column(name = "divisa", length = 3)
+        String divisa
+) implements Serializable {
+}
@@ -0,0 +1,43 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * FX rate of one currency within a versioned rate set: units of the currency per unit of the
+ * base currency. Every reload inserts a complete new version; older versions are kept so reports
+ * can say which rates they used. Rows are written by the FX rate service and are read-only here.
+ */
+@Entity
+@Table(name = "tipos_cambio")
+public class TipoCambio {
+
+    @EmbeddedId
+    private TipoCambioId id;
+
+    @Column(name = "tasa", nullable = false, precision = 19, scale = 8)
+    private BigDecimal tasa;
+
+    @Column(name = "fecha_carga", nullable = false)
+    private Instant fechaCarga;
+
+    protected TipoCambio() {
+    }
+
+    public TipoCambioId getId() {
+        return id;
+    }
+
+    public BigDecimal getTasa() {
+        return tasa;
+    }
+
+    public Instant getFechaCarga() {
+        return fechaCarga;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link TipoCambio}.
+ *
+ * @param version rate set the rate belongs to
+ * @param divisa  currency code
+ */
+@Embeddable
+public record TipoCambioId(
+        @Column(name = "version")
+        Long version,
+
+        @Column(name = "divisa", length = 3)
+        String divisa
+) implements Serializable {
+}
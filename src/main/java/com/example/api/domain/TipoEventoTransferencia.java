@@ -0,0 +1,24 @@
+package com.example.api.domain;
+
+/**
+ * Kinds of transfer change published on the change feed.
+ */
+public enum TipoEventoTransferencia {
+    CREADA,
+    ACTUALIZADA,
+    ELIMINADA;
+
+    /**
+     * Classifies a change.
+     *
+     * @param change the change
+     * @return {@code CREADA} if there is no before state, {@code ELIMINADA} if there is no after state,
+     *         otherwise {@code ACTUALIZADA}
+     */
+    public static TipoEventoTransferencia of(TransferenciaChange change) {
+        if (change.antes() == null) {
+            return CREADA;
+        }
+        return change.despues() == null ? ELIMINADA : ACTUALIZADA;
+    }
+}
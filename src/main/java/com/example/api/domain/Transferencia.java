@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
@@ -15,16 +16,33 @@ import java.time.Instant;
 
 /**
  * Domain entity representing a bank transfer (transferencia).
+ *
+ * <p>The account history indexes cover every column the history projects. PostgreSQL holds the
+ * non-key columns as {@code INCLUDE} columns, see {@code schema.sql}; the annotations below, which
+ * only create the schema on H2, list them as trailing key columns instead.</p>
  */
 @Entity
 @Table(name = "transferencias", indexes = {
-        @Index(name = "idx_cuenta_origen", columnList = "cuenta_origen_id"),
-        @Index(name = "idx_cuenta_destino", columnList = "cuenta_destino_id")
+        @Index(name = "idx_cuenta_origen_historial", columnList = "cuenta_origen_id, fecha_creacion, "
+                + "id_transferencia, cuenta_destino_id, importe, divisa, estado"),
+        @Index(name = "idx_cuenta_destino_historial", columnList = "cuenta_destino_id, fecha_creacion, "
+                + "id_transferencia, cuenta_origen_id, importe, divisa, estado"),
+        @Index(name = "idx_estado_fecha", columnList = "estado, fecha_creacion, id_transferencia"),
+        @Index(name = "idx_divisa_fecha", columnList = "divisa, fecha_creacion, id_transferencia"),
+        @Index(name = "idx_fecha_creacion", columnList = "fecha_creacion, id_transferencia")
 })
 public class Transferencia {
 
+    /**
+     * Identifiers handed out per {@code transferencias_seq} increment. With the pooled-lo optimizer a
+     * sequence value {@code v} reserves the ids {@code [v, v + ID_ALLOCATION_SIZE)}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferencias_seq")
+    @SequenceGenerator(name = "transferencias_seq", sequenceName = "transferencias_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id_transferencia")
     private Long idTransferencia;
 
@@ -117,6 +135,33 @@ public class Transferencia {
         this.referenciaExterna = referenciaExterna;
     }
 
+    /**
+     * Executes this pending transfer, moving it to its final state. A transfer whose source and
+     * destination accounts are the same cannot be settled and is rejected.
+     *
+     * @param ejecutadaEn execution timestamp
+     * @throws IllegalStateException if the transfer is not pending
+     */
+    public void ejecutar(Instant ejecutadaEn) {
+        if (estado != EstadoTransferencia.PENDIENTE) {
+            throw new IllegalStateException("Transfer is not pending: " + estado);
+        }
+        this.estado = cuentaOrigenId.equals(cuentaDestinoId)
+                ? EstadoTransferencia.RECHAZADA
+                : EstadoTransferencia.COMPLETADA;
+        this.fechaEjecucion = ejecutadaEn;
+    }
+
+    /**
+     * Returns a detached, immutable copy of the current state of this transfer.
+     *
+     * @return the snapshot
+     */
+    public TransferenciaSnapshot snapshot() {
+        return new TransferenciaSnapshot(idTransferencia, cuentaOrigenId, cuentaDestinoId, importe, divisa,
+                concepto, estado, fechaCreacion, fechaEjecucion, referenciaExterna);
+    }
+
     private void validateCuentaOrigenId(Long value) {
         if (value == null) {
             throw new IllegalArgumentException("Source account id must not be null");
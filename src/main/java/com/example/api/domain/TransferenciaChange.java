@@ -0,0 +1,25 @@
+package com.example.api.domain;
+
+/**
+ * State of a single transfer before and after a write.
+ *
+ * @param antes   the transfer before the write, or {@code null} if it was created
+ * @param despues the transfer after the write, or {@code null} if it was deleted
+ */
+public record TransferenciaChange(
+        TransferenciaSnapshot antes,
+        TransferenciaSnapshot despues
+) {
+
+    public static TransferenciaChange created(TransferenciaSnapshot despues) {
+        return new TransferenciaChange(null, despues);
+    }
+
+    public static TransferenciaChange updated(TransferenciaSnapshot antes, TransferenciaSnapshot despues) {
+        return new TransferenciaChange(antes, despues);
+    }
+
+    public static TransferenciaChange deleted(TransferenciaSnapshot antes) {
+        return new TransferenciaChange(antes, null);
+    }
+}
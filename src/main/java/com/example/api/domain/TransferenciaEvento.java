@@ -0,0 +1,101 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Transactional outbox entry for a transfer change.
+ *
+ * <p>Entries are written in the same transaction as the change. {@code secuencia} stays empty until
+ * the relay publishes the entry; the relay then assigns gap-free, increasing sequence numbers in
+ * commit-visibility order, which is the order consumers receive them in.</p>
+ */
+@Entity
+@Table(name = "transferencias_eventos", indexes = {
+        @Index(name = "idx_eventos_secuencia", columnList = "secuencia", unique = true)
+})
+public class TransferenciaEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferencias_eventos_seq")
+    @SequenceGenerator(name = "transferencias_eventos_seq", sequenceName = "transferencias_eventos_seq",
+            allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "secuencia")
+    private Long secuencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoEventoTransferencia tipo;
+
+    @Column(name = "id_transferencia", nullable = false)
+    private Long idTransferencia;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private Instant fechaCreacion;
+
+    @Column(name = "fecha_publicacion")
+    private Instant fechaPublicacion;
+
+    protected TransferenciaEvento() {
+    }
+
+    /**
+     * Creates an unpublished outbox entry.
+     *
+     * @param tipo            kind of change
+     * @param idTransferencia the changed transfer
+     * @param payload         JSON state of the transfer after the change, or before it for deletions
+     * @param fechaCreacion   when the change was made
+     */
+    public TransferenciaEvento(TipoEventoTransferencia tipo, Long idTransferencia, String payload,
+                               Instant fechaCreacion) {
+        this.tipo = tipo;
+        this.idTransferencia = idTransferencia;
+        this.payload = payload;
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSecuencia() {
+        return secuencia;
+    }
+
+    public TipoEventoTransferencia getTipo() {
+        return tipo;
+    }
+
+    public Long getIdTransferencia() {
+        return idTransferencia;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public Instant getFechaPublicacion() {
+        return fechaPublicacion;
+    }
+}
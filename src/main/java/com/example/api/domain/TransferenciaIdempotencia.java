@@ -0,0 +1,101 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Idempotency key recorded for a created transfer. The primary key makes the database reject a
+ * second creation under the same key, even when two requests race past the in-memory cache.
+ */
+@Entity
+@Table(name = "transferencias_idempotencia", indexes = {
+        @Index(name = "idx_idempotencia_transferencia", columnList = "id_transferencia")
+})
+public class TransferenciaIdempotencia implements Persistable<String> {
+
+    @Id
+    @Column(name = "clave", length = 255)
+    private String clave;
+
+    @Column(name = "id_transferencia", nullable = false)
+    private Long idTransferencia;
+
+    @Column(name = "huella", nullable = false, length = 64)
+    private String huella;
+
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private Instant fechaCreacion;
+
+    @Transient
+    private boolean nuevo = true;
+
+    protected TransferenciaIdempotencia() {
+    }
+
+    /**
+     * Records an idempotency key.
+     *
+     * @param clave           the idempotency key
+     * @param idTransferencia identifier of the transfer created under the key
+     * @param huella          fingerprint of the request that created the transfer
+     */
+    public TransferenciaIdempotencia(String clave, Long idTransferencia, String huella) {
+        if (clave == null || clave.isBlank()) {
+            throw new IllegalArgumentException("Idempotency key must not be blank");
+        }
+        if (idTransferencia == null) {
+            throw new IllegalArgumentException("Transfer id must not be null");
+        }
+        if (huella == null || huella.isBlank()) {
+            throw new IllegalArgumentException("Request fingerprint must not be blank");
+        }
+        this.clave = clave;
+        this.idTransferencia = idTransferencia;
+        this.huella = huella;
+        this.fechaCreacion = Instant.now();
+    }
+
+    @Override
+    public String getId() {
+        return clave;
+    }
+
+    /**
+     * Reports new instances as new so that saving them issues a plain insert instead of a merge.
+     */
+    @Override
+    public boolean isNew() {
+        return nuevo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.nuevo = false;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    public Long getIdTransferencia() {
+        return idTransferencia;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public Instant getFechaCreacion() {
+        return fechaCreacion;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.api.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A transfer to be created at a future time, once or on a recurring schedule. Each occurrence
+ * creates a regular pending {@link Transferencia}.
+ */
+@Entity
+@Table(name = "transferencias_programadas", indexes = {
+        @Index(name = "idx_programada_estado_proxima", columnList = "estado, proxima_ejecucion")
+})
+public class TransferenciaProgramada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferencias_programadas_seq")
+    @SequenceGenerator(name = "transferencias_programadas_seq", sequenceName = "transferencias_programadas_seq",
+            allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "cuenta_origen_id", nullable = false)
+    private Long cuentaOrigenId;
+
+    @Column(name = "cuenta_destino_id", nullable = false)
+    private Long cuentaDestinoId;
+
+    @Column(name = "importe", nullable = false, precision = 15, scale = 2)
+    private BigDecimal importe;
+
+    @Column(name = "divisa", nullable = false, length = 3)
+    private String divisa;
+
+    @Column(name = "concepto", length = 255)
+    private String concepto;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "periodicidad", nullable = false, length = 20)
+    private Periodicidad periodicidad;
+
+    @Column(name = "fecha_inicio", nullable = false)
+    private Instant fechaInicio;
+
+    @Column(name = "fecha_fin")
+    private Instant fechaFin;
+
+    @Column(name = "proxima_ejecucion")
+    private Instant proximaEjecucion;
+
+    @Column(name = "ejecuciones", nullable = false)
+    private long ejecuciones;
+
+    @Column(name = "ultima_transferencia_id")
+    private Long ultimaTransferenciaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoProgramacion estado;
+
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private Instant fechaCreacion;
+
+    protected TransferenciaProgramada() {
+    }
+
+    /**
+     * Creates a new active schedule with domain invariant validation.
+     *
+     * @param cuentaOrigenId  source account identifier
+     * @param cuentaDestinoId destination account identifier
+     * @param importe         amount of each transfer (must be positive)
+     * @param divisa          currency code (3 characters)
+     * @param concepto        optional description
+     * @param periodicidad    how often the transfer repeats
+     * @param fechaInicio     first occurrence
+     * @param fechaFin        optional last moment an occurrence may fall on
+     */
+    public TransferenciaProgramada(Long cuentaOrigenId, Long cuentaDestinoId,
+                                   BigDecimal importe, String divisa, String concepto,
+                                   Periodicidad periodicidad, Instant fechaInicio, Instant fechaFin) {
+        if (cuentaOrigenId == null) {
+            throw new IllegalArgumentException("Source account id must not be null");
+        }
+        if (cuentaDestinoId == null) {
+            throw new IllegalArgumentException("Destination account id must not be null");
+        }
+        if (importe == null || importe.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (divisa == null || divisa.isBlank()) {
+            throw new IllegalArgumentException("Currency must not be blank");
+        }
+        if (periodicidad == null || fechaInicio == null) {
+            throw new IllegalArgumentException("Periodicity and first execution must not be null");
+        }
+        if (fechaFin != null && fechaFin.isBefore(fechaInicio)) {
+            throw new IllegalArgumentException("End date must not be before the first execution");
+        }
+        this.cuentaOrigenId = cuentaOrigenId;
+        this.cuentaDestinoId = cuentaDestinoId;
+        this.importe = importe;
+        this.divisa = divisa;
+        this.concepto = concepto;
+        this.periodicidad = periodicidad;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.proximaEjecucion = fechaInicio;
+        this.estado = EstadoProgramacion.ACTIVA;
+        this.fechaCreacion = Instant.now();
+    }
+
+    /**
+     * Builds the transfer for the current occurrence.
+     *
+     * @return a new pending transfer
+     */
+    public Transferencia generarTransferencia() {
+        return new Transferencia(cuentaOrigenId, cuentaDestinoId, importe, divisa, concepto, null);
+    }
+
+    /**
+     * Records that the current occurrence has been handled and moves to the next one, finishing the
+     * schedule when there is none left.
+     *
+     * @param idTransferencia the transfer created for the occurrence, or {@code null} if it was skipped
+     * @throws IllegalStateException if the schedule is not active
+     */
+    public void avanzar(Long idTransferencia) {
+        if (estado != EstadoProgramacion.ACTIVA) {
+            throw new IllegalStateException("Schedule is not active: " + estado);
+        }
+        ejecuciones++;
+        if (idTransferencia != null) {
+            ultimaTransferenciaId = idTransferencia;
+        }
+        Instant siguiente = periodicidad.ocurrencia(fechaInicio, ejecuciones);
+        if (siguiente == null || (fechaFin != null && siguiente.isAfter(fechaFin))) {
+            estado = EstadoProgramacion.FINALIZADA;
+            proximaEjecucion = null;
+        } else {
+            proximaEjecucion = siguiente;
+        }
+    }
+
+    /**
+     * Cancels every remaining occurrence.
+     *
+     * @throws IllegalStateException if the schedule is not active
+     */
+    public void cancelar() {
+        if (estado != EstadoProgramacion.ACTIVA) {
+            throw new IllegalStateException("Schedule is not active: " + estado);
+        }
+        estado = EstadoProgramacion.CANCELADA;
+        proximaEjecucion = null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCuentaOrigenId() {
+        return cuentaOrigenId;
+    }
+
+    public Long getCuentaDestinoId() {
+        return cuentaDestinoId;
+    }
+
+    public BigDecimal getImporte() {
+        return importe;
+    }
+
+    public String getDivisa() {
+        return divisa;
+    }
+
+    public String getConcepto() {
+        return concepto;
+    }
+
+    public Periodicidad getPeriodicidad() {
+        return periodicidad;
+    }
+
+    public Instant getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public Instant getFechaFin() {
+        return fechaFin;
+    }
+
+    public Instant getProximaEjecucion() {
+        return proximaEjecucion;
+    }
+
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+
+    public Long getUltimaTransferenciaId() {
+        return ultimaTransferenciaId;
+    }
+
+    public EstadoProgramacion getEstado() {
+        return estado;
+    }
+
+    public Instant getFechaCreacion() {
+        return fechaCreacion;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.api.domain;
+
+import java.time.Instant;
+
+/**
+ * Published inside the writing transaction whenever a scheduled transfer is created, cancelled or
+ * executed, so that the in-memory scheduler can follow the committed schedule.
+ *
+ * @param id                the scheduled transfer id
+ * @param proximaEjecucion  its next occurrence, or {@code null} if it will not run again
+ */
+public record TransferenciaProgramadaChangedEvent(long id, Instant proximaEjecucion) {
+}
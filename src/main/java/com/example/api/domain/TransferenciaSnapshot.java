@@ -0,0 +1,32 @@
+package com.example.api.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Immutable, detached view of a transfer row, used where hydrating the JPA entity is unnecessary.
+ */
+public record TransferenciaSnapshot(
+        Long idTransferencia,
+        Long cuentaOrigenId,
+        Long cuentaDestinoId,
+        BigDecimal importe,
+        String divisa,
+        String concepto,
+        EstadoTransferencia estado,
+        Instant fechaCreacion,
+        Instant fechaEjecucion,
+        String referenciaExterna
+) {
+
+    /**
+     * Returns a copy of this snapshot with the given identifier.
+     *
+     * @param id the transfer identifier
+     * @return the copy
+     */
+    public TransferenciaSnapshot withIdTransferencia(Long id) {
+        return new TransferenciaSnapshot(id, cuentaOrigenId, cuentaDestinoId, importe, divisa, concepto, estado,
+                fechaCreacion, fechaEjecucion, referenciaExterna);
+    }
+}
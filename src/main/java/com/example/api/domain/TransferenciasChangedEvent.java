@@ -0,0 +1,20 @@
+package com.example.api.domain;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction whenever transfers are created, updated, executed or
+ * deleted, so that projections can be maintained incrementally and atomically with the write.
+ *
+ * @param changes the changes made by the write, in the order they were applied
+ */
+public record TransferenciasChangedEvent(List<TransferenciaChange> changes) {
+
+    public TransferenciasChangedEvent {
+        changes = List.copyOf(changes);
+    }
+
+    public static TransferenciasChangedEvent of(TransferenciaChange change) {
+        return new TransferenciasChangedEvent(List.of(change));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.api.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for scheduling a transfer once or on a recurring basis.
+ */
+public record CreateTransferenciaProgramadaRequest(
+        @NotNull(message = "Source account id is required")
+        Long cuentaOrigenId,
+
+        @NotNull(message = "Destination account id is required")
+        Long cuentaDestinoId,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be positive")
+        @Digits(integer = 13, fraction = 2, message = "Amount must have at most 13 integer and 2 fractional digits")
+        BigDecimal importe,
+
+        @NotBlank(message = "Currency is required")
+        @Size(max = 3, message = "Currency must not exceed 3 characters")
+        String divisa,
+
+        @Size(max = 255, message = "Description must not exceed 255 characters")
+        String concepto,
+
+        @NotNull(message = "Execution time is required")
+        Instant fechaEjecucion,
+
+        String periodicidad,
+
+        Instant fechaFin
+) {
+}
@@ -0,0 +1,27 @@
+package com.example.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * DTO with the query-string filters accepted by the rollup reporting endpoints.
+ */
+public record ResumenFilterRequest(
+        @NotNull(message = "Start date is required")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate desde,
+
+        @NotNull(message = "End date is required")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate hasta,
+
+        @Size(max = 3, message = "Currency must not exceed 3 characters")
+        String divisa,
+
+        @Size(max = 20, message = "State must not exceed 20 characters")
+        String estado
+) {
+}
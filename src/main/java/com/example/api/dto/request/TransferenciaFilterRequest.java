@@ -0,0 +1,25 @@
+package com.example.api.dto.request;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+/**
+ * DTO with the query-string filters accepted by transfer listing endpoints.
+ */
+public record TransferenciaFilterRequest(
+        Long cuentaOrigenId,
+
+        Long cuentaDestinoId,
+
+        Instant desde,
+
+        Instant hasta,
+
+        @Size(max = 20, message = "State must not exceed 20 characters")
+        String estado,
+
+        @Size(max = 3, message = "Currency must not exceed 3 characters")
+        String divisa
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.api.dto.response;
+
+/**
+ * DTO with the outcome of a single item of a bulk transfer creation.
+ */
+public record BatchTransferenciaItemResponse(
+        int index,
+        String status,
+        TransferenciaResponse transferencia,
+        String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO summarising a bulk transfer creation with per-item results in request order.
+ */
+public record BatchTransferenciaResponse(
+        int total,
+        int created,
+        int failed,
+        List<BatchTransferenciaItemResponse> items
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the bilateral net position between two accounts; a positive {@code neto} is owed by
+ * {@code cuentaA} to {@code cuentaB}.
+ */
+public record CompensacionBilateralResponse(
+        long cuentaA,
+        long cuentaB,
+        BigDecimal brutoAB,
+        BigDecimal brutoBA,
+        long transferencias,
+        BigDecimal neto
+) {
+}
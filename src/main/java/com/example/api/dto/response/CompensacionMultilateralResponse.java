@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the multilateral net position of an account; a negative {@code neto} is owed by the account.
+ */
+public record CompensacionMultilateralResponse(
+        long cuentaId,
+        BigDecimal pagado,
+        BigDecimal recibido,
+        BigDecimal neto
+) {
+}
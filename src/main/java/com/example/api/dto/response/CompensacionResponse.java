@@ -0,0 +1,24 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO summarising a netting run.
+ */
+public record CompensacionResponse(
+        Long id,
+        String divisa,
+        String estado,
+        Instant desde,
+        Instant hasta,
+        long transferencias,
+        long cuentas,
+        long pares,
+        BigDecimal importeBruto,
+        BigDecimal importeNetoBilateral,
+        BigDecimal importeNetoMultilateral,
+        Instant fechaCalculo,
+        long durationMs
+) {
+}
@@ -0,0 +1,38 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one record of a reconciliation result. Statement fields are {@code null} for transfers
+ * with no statement line, and transfer fields for statement lines with no transfer.
+ *
+ * @param resultado            the result category
+ * @param linea                statement line number
+ * @param idTransferencia      matched transfer id
+ * @param referenciaExterna    the external reference
+ * @param importeExtracto      amount on the statement
+ * @param importeTransferencia amount of the transfer
+ * @param fechaExtracto        value date on the statement
+ * @param fechaTransferencia   value date of the transfer
+ * @param divisaExtracto       currency on the statement, if given
+ * @param divisaTransferencia  currency of the transfer
+ * @param diferencias          fields that differ, for mismatched records
+ * @param error                why the statement line could not be parsed
+ */
+public record ConciliacionRegistroResponse(
+        String resultado,
+        Long linea,
+        Long idTransferencia,
+        String referenciaExterna,
+        BigDecimal importeExtracto,
+        BigDecimal importeTransferencia,
+        LocalDate fechaExtracto,
+        LocalDate fechaTransferencia,
+        String divisaExtracto,
+        String divisaTransferencia,
+        List<String> diferencias,
+        String error
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO summarising a reconciliation run.
+ */
+public record ConciliacionResponse(
+        Long id,
+        LocalDate desde,
+        LocalDate hasta,
+        long lineas,
+        long lineasInvalidas,
+        long transferencias,
+        long conciliadas,
+        long discrepantes,
+        long soloExtracto,
+        long soloTransferencia,
+        Instant fechaCalculo,
+        long durationMs,
+        long lineasPorSegundo
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * DTO describing the in-memory registry of valid and blocked accounts.
+ *
+ * @param enabled          whether creations and updates check their accounts
+ * @param ready            whether the registry has been loaded; until then accounts are looked up in the database
+ * @param validas          accounts that exist and are not closed, blocked ones included
+ * @param bloqueadas       blocked accounts
+ * @param memoryBytes      estimated memory used by both account sets
+ * @param actualizadoHasta time of the newest account change read
+ * @param recargadoEn      when the registry was last rebuilt from the whole table
+ */
+public record CuentaRegistryResponse(
+        boolean enabled,
+        boolean ready,
+        long validas,
+        long bloqueadas,
+        long memoryBytes,
+        Instant actualizadoHasta,
+        Instant recargadoEn
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for a keyset-paginated page; pass {@code nextCursor} back to fetch the following page.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.api.dto.response;
+
+import java.time.YearMonth;
+
+/**
+ * DTO summarising a month-end statement run.
+ */
+public record ExtractoBatchResponse(
+        YearMonth periodo,
+        int partitions,
+        int partitionsResumed,
+        long cuentas,
+        long movimientos,
+        long durationMs
+) {
+}
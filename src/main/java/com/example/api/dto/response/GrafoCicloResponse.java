@@ -0,0 +1,13 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for a circular flow of money, starting at its lowest account id.
+ */
+public record GrafoCicloResponse(
+        List<Long> cuentas,
+        BigDecimal importe
+) {
+}
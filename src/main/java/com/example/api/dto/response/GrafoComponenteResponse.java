@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for a group of accounts that can all reach each other through transfers.
+ */
+public record GrafoComponenteResponse(
+        int tamano,
+        BigDecimal importeInterno,
+        List<Long> cuentas
+) {
+}
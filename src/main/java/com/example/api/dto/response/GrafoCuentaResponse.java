@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for an account with an unusual number of distinct counterparties.
+ */
+public record GrafoCuentaResponse(
+        long cuentaId,
+        int contrapartes,
+        BigDecimal importe,
+        double puntuacion
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for the distribution of distinct counterparties per account and the accounts far above it.
+ */
+public record GrafoFanResponse(
+        double media,
+        double desviacion,
+        double umbral,
+        List<GrafoCuentaResponse> cuentas
+) {
+}
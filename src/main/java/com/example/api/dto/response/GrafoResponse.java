@@ -0,0 +1,28 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO for the analysis of the transfer graph of a time window.
+ */
+public record GrafoResponse(
+        String divisa,
+        String estado,
+        Instant desde,
+        Instant hasta,
+        long transferencias,
+        int cuentas,
+        int aristas,
+        int componentes,
+        int cuentasEnComponentes,
+        List<GrafoComponenteResponse> mayoresComponentes,
+        int longitudMaxima,
+        int ciclos,
+        boolean ciclosTruncados,
+        List<GrafoCicloResponse> ciclosPrincipales,
+        GrafoFanResponse fanOut,
+        GrafoFanResponse fanIn,
+        long durationMs
+) {
+}
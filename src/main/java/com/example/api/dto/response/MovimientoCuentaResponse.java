@@ -0,0 +1,18 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for one entry of an account's transfer history.
+ */
+public record MovimientoCuentaResponse(
+        Long idTransferencia,
+        String direccion,
+        Long contrapartidaId,
+        BigDecimal importe,
+        String divisa,
+        String estado,
+        Instant fechaCreacion
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.api.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * DTO summarising a rebuild of the daily amount sketches.
+ */
+public record PercentilRebuildResponse(
+        LocalDate desde,
+        LocalDate hasta,
+        int partitions,
+        long transferencias,
+        int sketches,
+        long durationMs
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO with the estimated amount percentiles of the transfers created in a date range. The amounts
+ * are {@code null} when no transfer matches.
+ */
+public record PercentilesResponse(
+        String divisa,
+        LocalDate desde,
+        LocalDate hasta,
+        long cantidad,
+        BigDecimal minimo,
+        BigDecimal p50,
+        BigDecimal p90,
+        BigDecimal p99,
+        BigDecimal p999,
+        BigDecimal maximo
+) {
+}
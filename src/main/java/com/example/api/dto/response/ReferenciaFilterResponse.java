@@ -0,0 +1,31 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * DTO describing the Bloom filter of external references.
+ *
+ * @param enabled                    whether creations consult the filter
+ * @param ready                      whether the filter has been built; until then every reference is looked up
+ * @param referencias                approximate number of references in the filter
+ * @param slices                     number of filter slices
+ * @param memoryBytes                memory used by the filter
+ * @param maxMemoryBytes             configured memory budget
+ * @param falsePositiveRate          configured target false-positive rate
+ * @param estimatedFalsePositiveRate false-positive rate estimated from the filter's fill ratio
+ * @param saturated                  whether the filter stopped growing because of its memory budget
+ * @param construidoEn               when the filter was last built
+ */
+public record ReferenciaFilterResponse(
+        boolean enabled,
+        boolean ready,
+        long referencias,
+        int slices,
+        long memoryBytes,
+        long maxMemoryBytes,
+        double falsePositiveRate,
+        double estimatedFalsePositiveRate,
+        boolean saturated,
+        Instant construidoEn
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for transfer totals over a date range converted to one reporting currency.
+ *
+ * @param divisaReporte     the reporting currency
+ * @param versionTipoCambio FX rate version used for every conversion
+ * @param totales           converted totals per state
+ * @param sinTipoCambio     totals left out because their currency has no rate
+ */
+public record ResumenConvertidoResponse(
+        String divisaReporte,
+        long versionTipoCambio,
+        List<ResumenEstadoConvertidoResponse> totales,
+        List<ResumenTotalResponse> sinTipoCambio
+) {
+}
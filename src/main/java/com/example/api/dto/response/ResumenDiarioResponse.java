@@ -0,0 +1,16 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the transfers created on one UTC day in one currency and state.
+ */
+public record ResumenDiarioResponse(
+        LocalDate dia,
+        String divisa,
+        String estado,
+        long cantidad,
+        BigDecimal importeTotal
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the transfers in one state over a date range, in the reporting currency.
+ */
+public record ResumenEstadoConvertidoResponse(
+        String estado,
+        long cantidad,
+        BigDecimal importeTotal
+) {
+}
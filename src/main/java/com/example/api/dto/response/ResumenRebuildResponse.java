@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * DTO summarising a daily rollup rebuild.
+ */
+public record ResumenRebuildResponse(
+        LocalDate desde,
+        LocalDate hasta,
+        long filas,
+        long durationMs
+) {
+}
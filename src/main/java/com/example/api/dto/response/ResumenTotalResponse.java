@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the transfers in one currency and state over a date range.
+ */
+public record ResumenTotalResponse(
+        String divisa,
+        String estado,
+        long cantidad,
+        BigDecimal importeTotal
+) {
+}
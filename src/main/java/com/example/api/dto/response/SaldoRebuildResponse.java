@@ -0,0 +1,11 @@
+package com.example.api.dto.response;
+
+/**
+ * DTO summarising a balance ledger rebuild.
+ */
+public record SaldoRebuildResponse(
+        int partitions,
+        long saldos,
+        long durationMs
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for an account balance in one currency.
+ */
+public record SaldoResponse(
+        Long cuentaId,
+        String divisa,
+        BigDecimal saldo,
+        Instant fechaActualizacion
+) {
+}
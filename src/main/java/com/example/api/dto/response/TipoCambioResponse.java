@@ -0,0 +1,21 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for the FX rate set in use.
+ *
+ * @param version    rate set version, {@code 0} if no rates have been loaded
+ * @param base       currency the rates are quoted against
+ * @param fechaCarga when the rates were loaded
+ * @param tasas      units of each currency per unit of the base currency, ordered by currency
+ */
+public record TipoCambioResponse(
+        long version,
+        String base,
+        Instant fechaCarga,
+        Map<String, BigDecimal> tasas
+) {
+}
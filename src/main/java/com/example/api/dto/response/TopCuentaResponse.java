@@ -0,0 +1,15 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one account of the outbound volume ranking. The true volume lies between
+ * {@code importeMinimo} and {@code importe}.
+ */
+public record TopCuentaResponse(
+        int posicion,
+        Long cuentaId,
+        BigDecimal importe,
+        BigDecimal importeMinimo
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the accounts with the highest outbound volume in a sliding window.
+ */
+public record TopCuentasResponse(
+        String divisa,
+        String ventana,
+        BigDecimal volumen,
+        BigDecimal errorMaximo,
+        List<TopCuentaResponse> cuentas
+) {
+}
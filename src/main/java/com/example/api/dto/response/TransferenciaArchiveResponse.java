@@ -0,0 +1,14 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * DTO summarising a run of the transfer archiver.
+ */
+public record TransferenciaArchiveResponse(
+        Instant hasta,
+        int ficheros,
+        long transferencias,
+        long durationMs
+) {
+}
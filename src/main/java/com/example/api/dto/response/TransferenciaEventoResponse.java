@@ -0,0 +1,21 @@
+package com.example.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * DTO for one entry of the transfer change feed.
+ *
+ * @param secuencia        position in the feed, usable to resume after it
+ * @param tipo             {@code CREADA}, {@code ACTUALIZADA} or {@code ELIMINADA}
+ * @param idTransferencia  the changed transfer
+ * @param payload          the transfer as JSON, after the change or, for deletions, before it
+ * @param fechaPublicacion when the entry was published
+ */
+public record TransferenciaEventoResponse(
+        long secuencia,
+        String tipo,
+        long idTransferencia,
+        String payload,
+        Instant fechaPublicacion
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.api.dto.response;
+
+/**
+ * DTO for one rejected row of a transfer file import.
+ *
+ * @param posicion          line number of the CSV record, or ordinal of the pain.001 transaction
+ * @param referenciaExterna the row's external reference, if it could be read
+ * @param error             why the row was rejected
+ */
+public record TransferenciaImportErrorResponse(
+        long posicion,
+        String referenciaExterna,
+        String error
+) {
+}
@@ -0,0 +1,27 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO summarising a transfer file import.
+ *
+ * @param formato          the file format
+ * @param total            rows read
+ * @param importadas       rows stored as new transfers
+ * @param rechazadas       rows rejected
+ * @param completo         {@code false} if the file became unreadable part-way; rows before that point are kept
+ * @param durationMs       wall-clock duration of the import
+ * @param errores          the first rejected rows, in file order
+ * @param erroresTruncados whether more rows were rejected than are listed
+ */
+public record TransferenciaImportResponse(
+        String formato,
+        long total,
+        long importadas,
+        long rechazadas,
+        boolean completo,
+        long durationMs,
+        List<TransferenciaImportErrorResponse> errores,
+        boolean erroresTruncados
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO representing a scheduled transfer.
+ */
+public record TransferenciaProgramadaResponse(
+        Long id,
+        Long cuentaOrigenId,
+        Long cuentaDestinoId,
+        BigDecimal importe,
+        String divisa,
+        String concepto,
+        String periodicidad,
+        Instant fechaInicio,
+        Instant fechaFin,
+        Instant proximaEjecucion,
+        long ejecuciones,
+        Long ultimaTransferenciaId,
+        String estado,
+        Instant fechaCreacion
+) {
+}
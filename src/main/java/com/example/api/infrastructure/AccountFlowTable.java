@@ -0,0 +1,125 @@
+package com.example.api.infrastructure;
+
+/**
+ * Open-addressing table of the gross amounts paid and received per account, held in parallel
+ * primitive arrays. Not thread-safe: each worker fills its own instance and the results are
+ * combined with {@link #merge(AccountFlowTable)}.
+ */
+public final class AccountFlowTable {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] accounts;
+    private long[] paid;
+    private long[] received;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    public AccountFlowTable(int expectedAccounts) {
+        allocate(PairFlowTable.capacityFor(expectedAccounts));
+    }
+
+    /**
+     * Adds gross flows to an account.
+     *
+     * @param account        the account id
+     * @param paidAmount     amount paid by the account, in minor units
+     * @param receivedAmount amount received by the account, in minor units
+     * @throws ArithmeticException if a total overflows
+     */
+    public void add(long account, long paidAmount, long receivedAmount) {
+        int slot = slotFor(account);
+        paid[slot] = Math.addExact(paid[slot], paidAmount);
+        received[slot] = Math.addExact(received[slot], receivedAmount);
+    }
+
+    /**
+     * Adds every account of another table to this one.
+     *
+     * @param other the table to fold in; left unchanged
+     */
+    public void merge(AccountFlowTable other) {
+        for (int i = 0; i < other.used.length; i++) {
+            if (other.used[i]) {
+                add(other.accounts[i], other.paid[i], other.received[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct accounts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots; iterate {@code [0, capacity())} and skip unused slots
+     */
+    public int capacity() {
+        return used.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    public long account(int slot) {
+        return accounts[slot];
+    }
+
+    public long paid(int slot) {
+        return paid[slot];
+    }
+
+    public long received(int slot) {
+        return received[slot];
+    }
+
+    private int slotFor(long account) {
+        int slot = (int) PairFlowTable.mix(account) & mask;
+        while (used[slot]) {
+            if (accounts[slot] == account) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > used.length * LOAD_FACTOR) {
+            grow();
+            return slotFor(account);
+        }
+        used[slot] = true;
+        accounts[slot] = account;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldAccounts = accounts;
+        long[] oldPaid = paid;
+        long[] oldReceived = received;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length << 1);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = (int) PairFlowTable.mix(oldAccounts[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                accounts[slot] = oldAccounts[i];
+                paid[slot] = oldPaid[i];
+                received[slot] = oldReceived[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        accounts = new long[capacity];
+        paid = new long[capacity];
+        received = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+}
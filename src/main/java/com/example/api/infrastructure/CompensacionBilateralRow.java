@@ -0,0 +1,23 @@
+package com.example.api.infrastructure;
+
+import java.math.BigDecimal;
+
+/**
+ * A stored bilateral net position.
+ *
+ * @param cuentaA        lower account id of the pair
+ * @param cuentaB        higher account id of the pair
+ * @param brutoAB        gross amount paid by {@code cuentaA} to {@code cuentaB}
+ * @param brutoBA        gross amount paid by {@code cuentaB} to {@code cuentaA}
+ * @param transferencias number of transfers between the pair
+ * @param neto           {@code brutoAB - brutoBA}
+ */
+public record CompensacionBilateralRow(
+        long cuentaA,
+        long cuentaB,
+        BigDecimal brutoAB,
+        BigDecimal brutoBA,
+        long transferencias,
+        BigDecimal neto
+) {
+}
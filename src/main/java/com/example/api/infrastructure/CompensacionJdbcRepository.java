@@ -0,0 +1,183 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the positions of netting runs. Positions are written straight from the
+ * primitive flow tables in fixed-size JDBC batches, so no per-position objects are created.
+ */
+@Repository
+public class CompensacionJdbcRepository {
+
+    private static final String INSERT_BILATERAL = "INSERT INTO compensaciones_bilaterales "
+            + "(compensacion_id, cuenta_a, cuenta_b, bruto_a_b, bruto_b_a, transferencias, neto) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MULTILATERAL = "INSERT INTO compensaciones_multilaterales "
+            + "(compensacion_id, cuenta_id, pagado, recibido, neto) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BILATERAL = "SELECT cuenta_a, cuenta_b, bruto_a_b, bruto_b_a, "
+            + "transferencias, neto FROM compensaciones_bilaterales WHERE compensacion_id = ?";
+
+    private static final String SELECT_MULTILATERAL = "SELECT cuenta_id, pagado, recibido, neto "
+            + "FROM compensaciones_multilaterales WHERE compensacion_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CompensacionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores every pair of a flow table as a bilateral position of the run.
+     *
+     * @param compensacionId the netting run
+     * @param pares          the gross flows per pair, amounts in minor units
+     * @param batchSize      rows per JDBC batch
+     */
+    public void insertBilaterales(long compensacionId, PairFlowTable pares, int batchSize) {
+        forEachBatch(INSERT_BILATERAL, pares.capacity(), pares::isUsed, batchSize, (statement, slot) -> {
+            long forward = pares.forward(slot);
+            long backward = pares.backward(slot);
+            statement.setLong(1, compensacionId);
+            statement.setLong(2, pares.lower(slot));
+            statement.setLong(3, pares.upper(slot));
+            statement.setBigDecimal(4, toImporte(forward));
+            statement.setBigDecimal(5, toImporte(backward));
+            statement.setLong(6, pares.count(slot));
+            statement.setBigDecimal(7, toImporte(forward - backward));
+        });
+    }
+
+    /**
+     * Stores every account of a flow table as a multilateral position of the run.
+     *
+     * @param compensacionId the netting run
+     * @param cuentas        the gross flows per account, amounts in minor units
+     * @param batchSize      rows per JDBC batch
+     */
+    public void insertMultilaterales(long compensacionId, AccountFlowTable cuentas, int batchSize) {
+        forEachBatch(INSERT_MULTILATERAL, cuentas.capacity(), cuentas::isUsed, batchSize, (statement, slot) -> {
+            long paid = cuentas.paid(slot);
+            long received = cuentas.received(slot);
+            statement.setLong(1, compensacionId);
+            statement.setLong(2, cuentas.account(slot));
+            statement.setBigDecimal(3, toImporte(paid));
+            statement.setBigDecimal(4, toImporte(received));
+            statement.setBigDecimal(5, toImporte(received - paid));
+        });
+    }
+
+    /**
+     * Reads one page of the bilateral positions of a run, ordered by pair.
+     *
+     * @param compensacionId the netting run
+     * @param cuentaId       only pairs that include this account, or {@code null} for all
+     * @param afterA         lower account of the last pair of the previous page, or {@code null}
+     * @param afterB         higher account of the last pair of the previous page
+     * @param limit          maximum number of rows to return
+     * @return the positions in ascending {@code (cuenta_a, cuenta_b)} order
+     */
+    public List<CompensacionBilateralRow> findBilaterales(long compensacionId, Long cuentaId, Long afterA,
+                                                         Long afterB, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_BILATERAL);
+        List<Object> params = new ArrayList<>();
+        params.add(compensacionId);
+        if (cuentaId != null) {
+            sql.append(" AND (cuenta_a = ? OR cuenta_b = ?)");
+            params.add(cuentaId);
+            params.add(cuentaId);
+        }
+        if (afterA != null) {
+            sql.append(" AND (cuenta_a, cuenta_b) > (?, ?)");
+            params.add(afterA);
+            params.add(afterB);
+        }
+        sql.append(" ORDER BY cuenta_a, cuenta_b LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new CompensacionBilateralRow(
+                rs.getLong("cuenta_a"), rs.getLong("cuenta_b"), rs.getBigDecimal("bruto_a_b"),
+                rs.getBigDecimal("bruto_b_a"), rs.getLong("transferencias"), rs.getBigDecimal("neto")),
+                params.toArray());
+    }
+
+    /**
+     * Reads one page of the multilateral positions of a run, ordered by account.
+     *
+     * @param compensacionId the netting run
+     * @param after          account of the last row of the previous page, or {@code null}
+     * @param limit          maximum number of rows to return
+     * @return the positions in ascending account order
+     */
+    public List<CompensacionMultilateralRow> findMultilaterales(long compensacionId, Long after, int limit) {
+        List<Object> params = new ArrayList<>();
+        params.add(compensacionId);
+        String sql = SELECT_MULTILATERAL;
+        if (after != null) {
+            sql += " AND cuenta_id > ?";
+            params.add(after);
+        }
+        params.add(limit);
+        return jdbcTemplate.query(sql + " ORDER BY cuenta_id LIMIT ?", (rs, rowNum) ->
+                new CompensacionMultilateralRow(rs.getLong("cuenta_id"), rs.getBigDecimal("pagado"),
+                        rs.getBigDecimal("recibido"), rs.getBigDecimal("neto")),
+                params.toArray());
+    }
+
+    private void forEachBatch(String sql, int capacity, SlotFilter used, int batchSize, SlotSetter setter) {
+        int[] slots = new int[batchSize];
+        int pending = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!used.test(slot)) {
+                continue;
+            }
+            slots[pending++] = slot;
+            if (pending == batchSize) {
+                flush(sql, slots, pending, setter);
+                slots = new int[batchSize];
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            flush(sql, slots, pending, setter);
+        }
+    }
+
+    private void flush(String sql, int[] slots, int count, SlotSetter setter) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                setter.set(statement, slots[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    private static BigDecimal toImporte(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    @FunctionalInterface
+    private interface SlotFilter {
+
+        boolean test(int slot);
+    }
+
+    @FunctionalInterface
+    private interface SlotSetter {
+
+        void set(PreparedStatement statement, int slot) throws SQLException;
+    }
+}
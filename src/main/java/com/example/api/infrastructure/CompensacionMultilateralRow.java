@@ -0,0 +1,19 @@
+package com.example.api.infrastructure;
+
+import java.math.BigDecimal;
+
+/**
+ * A stored multilateral net position.
+ *
+ * @param cuentaId account id
+ * @param pagado   gross amount paid by the account
+ * @param recibido gross amount received by the account
+ * @param neto     {@code recibido - pagado}
+ */
+public record CompensacionMultilateralRow(
+        long cuentaId,
+        BigDecimal pagado,
+        BigDecimal recibido,
+        BigDecimal neto
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.Compensacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Spring Data JPA repository for netting runs.
+ */
+public interface CompensacionRepository extends JpaRepository<Compensacion, Long> {
+}
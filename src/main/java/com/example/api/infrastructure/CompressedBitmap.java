@@ -0,0 +1,367 @@
+package com.example.api.infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of {@code long} values for membership tests on hot paths.
+ *
+ * <p>Values are split into a 48-bit key and a 16-bit low part. The keys present are kept in a sorted
+ * array, and the low parts under each key in a container of whichever form is smallest for its
+ * contents: a sorted array of values, a 65,536-bit bitmap, or a sorted list of runs. Runs are only
+ * used while they are much smaller than the alternatives, since searching many of them costs more than
+ * a bit test. When the keys are contiguous, as they are for sequential identifiers, a lookup indexes
+ * straight into the container array; otherwise it binary searches the keys. Either way it allocates
+ * nothing. 100 million sequential ids with one in a hundred missing take around 12 MB, and with no gaps
+ * a few kilobytes.</p>
+ *
+ * <p>{@link #with} returns an updated copy that shares every container it does not touch, so small
+ * incremental changes cost little more than the containers they change.</p>
+ */
+public final class CompressedBitmap {
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap(new long[0], new Container[0]);
+    private static final int LOW_BITS = 16;
+    private static final int WORDS = (1 << LOW_BITS) / Long.SIZE;
+    private static final int MAX_ARRAY = 4096;
+    private static final int BITMAP_BYTES = WORDS * Long.BYTES;
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int RUN_ADVANTAGE = 4;
+
+    private final long[] keys;
+    private final Container[] containers;
+    private final long cardinality;
+    private final boolean contiguous;
+
+    private CompressedBitmap(long[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+        this.contiguous = keys.length > 0 && keys[keys.length - 1] - keys[0] == keys.length - 1;
+        long total = 0;
+        for (Container container : containers) {
+            total += container.cardinality();
+        }
+        this.cardinality = total;
+    }
+
+    /**
+     * @return a bitmap with no values
+     */
+    public static CompressedBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return a builder that takes values in strictly ascending order
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param value the value
+     * @return whether the value is in the set
+     */
+    public boolean contains(long value) {
+        long key = value >> LOW_BITS;
+        int index;
+        if (contiguous) {
+            long offset = key - keys[0];
+            if (offset < 0 || offset >= keys.length) {
+                return false;
+            }
+            index = (int) offset;
+        } else {
+            index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return false;
+            }
+        }
+        return containers[index].contains((char) value);
+    }
+
+    /**
+     * @return the number of values in the set
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Estimates the heap used by the set, counting the key array, the container references and the
+     * container payloads with a fixed per-object overhead.
+     *
+     * @return the estimate, in bytes
+     */
+    public long sizeInBytes() {
+        long size = OBJECT_OVERHEAD + (long) keys.length * Long.BYTES + (long) containers.length * Integer.BYTES;
+        for (Container container : containers) {
+            size += OBJECT_OVERHEAD + container.sizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Returns a copy of this set with values added and removed. A value in both arrays ends up removed.
+     *
+     * @param added   values to add, in any order
+     * @param removed values to remove, in any order
+     * @return the updated set; this set is unchanged
+     */
+    public CompressedBitmap with(long[] added, long[] removed) {
+        if (added.length == 0 && removed.length == 0) {
+            return this;
+        }
+        long[] toAdd = added.clone();
+        long[] toRemove = removed.clone();
+        Arrays.sort(toAdd);
+        Arrays.sort(toRemove);
+        long[] newKeys = new long[keys.length + toAdd.length];
+        Container[] newContainers = new Container[newKeys.length];
+        int size = 0;
+        int k = 0;
+        int a = 0;
+        int r = 0;
+        while (k < keys.length || a < toAdd.length || r < toRemove.length) {
+            long key = Math.min(k < keys.length ? keys[k] : Long.MAX_VALUE,
+                    Math.min(a < toAdd.length ? toAdd[a] >> LOW_BITS : Long.MAX_VALUE,
+                            r < toRemove.length ? toRemove[r] >> LOW_BITS : Long.MAX_VALUE));
+            Container existing = k < keys.length && keys[k] == key ? containers[k++] : null;
+            boolean touched = a < toAdd.length && toAdd[a] >> LOW_BITS == key
+                    || r < toRemove.length && toRemove[r] >> LOW_BITS == key;
+            Container updated = existing;
+            if (touched) {
+                long[] words = existing != null ? existing.toWords() : new long[WORDS];
+                for (; a < toAdd.length && toAdd[a] >> LOW_BITS == key; a++) {
+                    int low = (char) toAdd[a];
+                    words[low >>> 6] |= 1L << low;
+                }
+                for (; r < toRemove.length && toRemove[r] >> LOW_BITS == key; r++) {
+                    int low = (char) toRemove[r];
+                    words[low >>> 6] &= ~(1L << low);
+                }
+                updated = Container.of(words);
+            }
+            if (updated != null) {
+                newKeys[size] = key;
+                newContainers[size++] = updated;
+            }
+        }
+        return new CompressedBitmap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newContainers, size));
+    }
+
+    /**
+     * Builds a bitmap from values supplied in strictly ascending order, such as the rows of a query
+     * sorted by its primary key. Only the container under construction is held uncompressed.
+     */
+    public static final class Builder {
+
+        private final long[] words = new long[WORDS];
+        private long[] keys = new long[16];
+        private Container[] containers = new Container[16];
+        private int size;
+        private long currentKey;
+        private long last;
+        private boolean started;
+
+        private Builder() {
+        }
+
+        /**
+         * @param value the next value, greater than every value added before
+         * @return this builder
+         * @throws IllegalArgumentException if the value is not greater than the previous one
+         */
+        public Builder add(long value) {
+            if (started && value <= last) {
+                throw new IllegalArgumentException("Values must be added in strictly ascending order: "
+                        + value + " after " + last);
+            }
+            long key = value >> LOW_BITS;
+            if (started && key != currentKey) {
+                flush();
+            }
+            currentKey = key;
+            last = value;
+            started = true;
+            int low = (char) value;
+            words[low >>> 6] |= 1L << low;
+            return this;
+        }
+
+        /**
+         * @return the bitmap of every value added
+         */
+        public CompressedBitmap build() {
+            if (started) {
+                flush();
+                started = false;
+            }
+            return new CompressedBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+        }
+
+        private void flush() {
+            Container container = Container.of(words);
+            Arrays.fill(words, 0);
+            if (container == null) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = currentKey;
+            containers[size++] = container;
+        }
+    }
+
+    /**
+     * The low parts of the values under one key.
+     */
+    private interface Container {
+
+        boolean contains(char low);
+
+        int cardinality();
+
+        long sizeInBytes();
+
+        long[] toWords();
+
+        /**
+         * Picks the form for a set of low parts given as a bitmap, which is not retained: runs when they
+         * take at most a quarter of the space of either alternative, otherwise the smaller of the two.
+         *
+         * @return the container, or {@code null} if the bitmap is empty
+         */
+        static Container of(long[] words) {
+            int cardinality = 0;
+            int runs = 0;
+            long previous = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+                runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            long arrayBytes = (long) cardinality * Character.BYTES;
+            long runBytes = (long) runs * 2 * Character.BYTES;
+            if (runBytes * RUN_ADVANTAGE <= Math.min(arrayBytes, BITMAP_BYTES)) {
+                return RunContainer.of(words, runs);
+            }
+            if (cardinality <= MAX_ARRAY) {
+                return ArrayContainer.of(words, cardinality);
+            }
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    }
+
+    private record ArrayContainer(char[] values) implements Container {
+
+        static ArrayContainer of(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < words.length; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return OBJECT_OVERHEAD + (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        public long[] toWords() {
+            long[] words = new long[WORDS];
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+            return words;
+        }
+    }
+
+    private record BitmapContainer(long[] words, int cardinality) implements Container {
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return OBJECT_OVERHEAD + BITMAP_BYTES;
+        }
+
+        @Override
+        public long[] toWords() {
+            return words.clone();
+        }
+    }
+
+    /**
+     * Runs of consecutive low parts, as the first value and the last value of each run.
+     */
+    private record RunContainer(char[] starts, char[] ends, int cardinality) implements Container {
+
+        static RunContainer of(long[] words, int runs) {
+            char[] starts = new char[runs];
+            char[] ends = new char[runs];
+            int n = -1;
+            int cardinality = 0;
+            int previous = -2;
+            for (int w = 0; w < words.length; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    int value = w << 6 | Long.numberOfTrailingZeros(word);
+                    if (value != previous + 1) {
+                        starts[++n] = (char) value;
+                    }
+                    ends[n] = (char) value;
+                    previous = value;
+                    cardinality++;
+                }
+            }
+            return new RunContainer(starts, ends, cardinality);
+        }
+
+        @Override
+        public boolean contains(char low) {
+            int index = Arrays.binarySearch(starts, low);
+            if (index >= 0) {
+                return true;
+            }
+            int run = -index - 2;
+            return run >= 0 && low <= ends[run];
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 2 * OBJECT_OVERHEAD + (long) starts.length * 2 * Character.BYTES;
+        }
+
+        @Override
+        public long[] toWords() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < starts.length; i++) {
+                for (int value = starts[i]; value <= ends[i]; value++) {
+                    words[value >>> 6] |= 1L << value;
+                }
+            }
+            return words;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.Conciliacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Spring Data JPA repository for reconciliation runs.
+ */
+public interface ConciliacionRepository extends JpaRepository<Conciliacion, Long> {
+}
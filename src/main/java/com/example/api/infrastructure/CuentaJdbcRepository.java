@@ -0,0 +1,95 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoCuenta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the account table for the scans that build the account registry.
+ */
+@Repository
+public class CuentaJdbcRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id_cuenta, estado, fecha_actualizacion FROM cuentas";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CuentaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every account in ascending id order through a forward-only cursor. Must run inside a
+     * transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each account as soon as it is read
+     */
+    public void streamAll(int fetchSize, CuentaConsumer consumer) {
+        jdbcTemplate.query(SELECT_COLUMNS + " ORDER BY id_cuenta",
+                (PreparedStatementSetter) statement -> statement.setFetchSize(fetchSize),
+                (RowCallbackHandler) rs -> accept(rs, consumer));
+    }
+
+    /**
+     * Streams the accounts changed at or after an instant. Must run inside a transaction so that
+     * PostgreSQL honours the fetch size.
+     *
+     * @param desde     earliest change time to include
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each account as soon as it is read
+     */
+    public void streamChangedSince(Instant desde, int fetchSize, CuentaConsumer consumer) {
+        jdbcTemplate.query(SELECT_COLUMNS + " WHERE fecha_actualizacion >= ?",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, desde.atOffset(ZoneOffset.UTC));
+                }, (RowCallbackHandler) rs -> accept(rs, consumer));
+    }
+
+    /**
+     * Reads the state of the given accounts.
+     *
+     * @param ids the account ids
+     * @return the state of each account that exists
+     */
+    public Map<Long, EstadoCuenta> findEstados(long... ids) {
+        Map<Long, EstadoCuenta> estados = new HashMap<>();
+        if (ids.length == 0) {
+            return estados;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        jdbcTemplate.query("SELECT id_cuenta, estado FROM cuentas WHERE id_cuenta IN (" + placeholders + ")",
+                (PreparedStatementSetter) statement -> {
+                    for (int i = 0; i < ids.length; i++) {
+                        statement.setLong(i + 1, ids[i]);
+                    }
+                }, (RowCallbackHandler) rs -> estados.put(rs.getLong(1), EstadoCuenta.valueOf(rs.getString(2))));
+        return estados;
+    }
+
+    private static void accept(ResultSet rs, CuentaConsumer consumer) throws SQLException {
+        consumer.accept(rs.getLong(1), EstadoCuenta.valueOf(rs.getString(2)),
+                rs.getObject(3, OffsetDateTime.class).toInstant());
+    }
+
+    /**
+     * Receives the accounts read by {@link #streamAll} and {@link #streamChangedSince}.
+     */
+    @FunctionalInterface
+    public interface CuentaConsumer {
+
+        void accept(long idCuenta, EstadoCuenta estado, Instant fechaActualizacion);
+    }
+}
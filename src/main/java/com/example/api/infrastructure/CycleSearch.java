@@ -0,0 +1,371 @@
+package com.example.api.infrastructure;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simple cycles of bounded length in a {@link TransferGraph}, such as {@code A -> B -> C -> A}.
+ *
+ * <p>A cycle never leaves a strongly connected component, so the search only starts from, and only
+ * walks through, vertices of components with at least three accounts. Each cycle is reported once,
+ * from its lowest vertex: a depth-first walk from vertex {@code s} only steps onto vertices above
+ * {@code s}, found by binary search of the sorted edges. Before the walk, a breadth-first search
+ * over incoming edges labels the vertices that can get back to {@code s} within half the maximum
+ * length; once the steps left are within that radius, the walk only steps onto labelled vertices
+ * close enough to return in time. Meeting in the middle this way keeps the work per start vertex
+ * near the square root of what a plain walk would take. Start vertices are split into ranges
+ * searched in parallel. Two-account cycles are ordinary back-and-forth payments and are not
+ * reported.</p>
+ *
+ * <p>The search stops once it has found the configured number of cycles; which cycles are kept
+ * then depends on scheduling, and {@link Cycles#truncated()} says so. Each cycle carries the
+ * smallest edge amount on it: the most money that could have gone all the way round.</p>
+ */
+public final class CycleSearch {
+
+    /**
+     * Shortest cycle reported.
+     */
+    public static final int MIN_LENGTH = 3;
+
+    private static final int GRAIN = 1024;
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final TransferGraph graph;
+    private final StrongComponents components;
+    private final int maxLength;
+    private final int maxCycles;
+    private final AtomicInteger found = new AtomicInteger();
+    private final AtomicBoolean truncated = new AtomicBoolean();
+
+    private CycleSearch(TransferGraph graph, StrongComponents components, int maxLength, int maxCycles) {
+        this.graph = graph;
+        this.components = components;
+        this.maxLength = maxLength;
+        this.maxCycles = maxCycles;
+    }
+
+    /**
+     * Finds the cycles of a graph.
+     *
+     * @param graph      the graph
+     * @param components its strongly connected components
+     * @param maxLength  the most accounts on a cycle, at least {@link #MIN_LENGTH}
+     * @param maxCycles  the most cycles to find before stopping
+     * @param pool       the pool the start vertices are searched on
+     * @return the cycles found
+     */
+    public static Cycles find(TransferGraph graph, StrongComponents components, int maxLength, int maxCycles,
+                              ForkJoinPool pool) {
+        if (maxLength < MIN_LENGTH) {
+            throw new IllegalArgumentException("Cycle length must be at least " + MIN_LENGTH);
+        }
+        CycleSearch search = new CycleSearch(graph, components, maxLength, maxCycles);
+        Cycles cycles = graph.vertexCount() == 0 || maxCycles < 1 ? new Cycles()
+                : pool.invoke(new RangeSearch(search, 0, graph.vertexCount(),
+                        Math.max(GRAIN, graph.vertexCount() / (pool.getParallelism() * TASKS_PER_THREAD))));
+        cycles.truncated = search.truncated.get();
+        return cycles;
+    }
+
+    private void searchFrom(int start, Cycles cycles, Walk walk) {
+        int component = components.component(start);
+        if (components.size(component) < MIN_LENGTH) {
+            return;
+        }
+        int stamp = start + 1;
+        walk.reachBack(start, component, stamp);
+        int[] path = walk.path;
+        int[] cursor = walk.cursor;
+        long[] bottleneck = walk.bottleneck;
+        path[0] = start;
+        cursor[0] = firstAtLeast(start, start);
+        bottleneck[0] = Long.MAX_VALUE;
+        int depth = 0;
+        while (depth >= 0 && !truncated.get()) {
+            int v = path[depth];
+            if (depth + 1 == maxLength) {
+                if (walk.distance(v, stamp) == 1) {
+                    int edge = graph.edge(v, start);
+                    record(cycles, path, depth + 1, Math.min(bottleneck[depth], graph.importe(edge)));
+                }
+                depth--;
+                continue;
+            }
+            if (cursor[depth] == graph.outEnd(v)) {
+                depth--;
+                continue;
+            }
+            int edge = cursor[depth]++;
+            int w = graph.target(edge);
+            long amount = Math.min(bottleneck[depth], graph.importe(edge));
+            int remaining = maxLength - depth - 1;
+            if (w == start) {
+                if (depth + 1 >= MIN_LENGTH) {
+                    record(cycles, path, depth + 1, amount);
+                }
+            } else if ((remaining <= walk.radius ? walk.distance(w, stamp) <= remaining
+                    : components.component(w) == component) && !onPath(path, depth, w)) {
+                depth++;
+                path[depth] = w;
+                cursor[depth] = firstAtLeast(w, start);
+                bottleneck[depth] = amount;
+            }
+        }
+    }
+
+    private void record(Cycles cycles, int[] path, int length, long importe) {
+        if (found.getAndIncrement() >= maxCycles) {
+            truncated.set(true);
+            return;
+        }
+        cycles.add(path, 0, length, importe);
+    }
+
+    /**
+     * @return the first edge of {@code vertex} whose target is at least {@code target}
+     */
+    private int firstAtLeast(int vertex, int target) {
+        int low = graph.outStart(vertex);
+        int high = graph.outEnd(vertex);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (graph.target(mid) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean onPath(int[] path, int depth, int vertex) {
+        for (int i = 1; i <= depth; i++) {
+            if (path[i] == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cycles found, each as its vertices from the lowest one in walking order, in flat primitive
+     * arrays.
+     */
+    public static final class Cycles {
+
+        private int[] vertices = new int[64];
+        private int[] starts = new int[17];
+        private long[] importes = new long[16];
+        private int count;
+        private boolean truncated;
+
+        Cycles() {
+        }
+
+        /**
+         * @return the number of cycles found
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return whether the search stopped at its limit, so more cycles may exist
+         */
+        public boolean truncated() {
+            return truncated;
+        }
+
+        /**
+         * @param cycle the cycle
+         * @return the number of vertices on it
+         */
+        public int length(int cycle) {
+            return starts[cycle + 1] - starts[cycle];
+        }
+
+        /**
+         * @param cycle    the cycle
+         * @param position a position in {@code [0, length(cycle))}
+         * @return the vertex at that position; position 0 holds the lowest vertex
+         */
+        public int vertex(int cycle, int position) {
+            return vertices[starts[cycle] + position];
+        }
+
+        /**
+         * @param cycle the cycle
+         * @return the smallest edge amount on it, in minor units
+         */
+        public long importe(int cycle) {
+            return importes[cycle];
+        }
+
+        /**
+         * Picks the cycles with the largest amounts.
+         *
+         * @param limit the most cycles to pick
+         * @return the picked cycles, by descending amount and then in the order found
+         */
+        public int[] top(int limit) {
+            int size = Math.min(limit, count);
+            if (size <= 0) {
+                return new int[0];
+            }
+            long[] sorted = Arrays.copyOf(importes, count);
+            Arrays.sort(sorted);
+            long threshold = sorted[count - size];
+            int[] picked = new int[size];
+            int n = 0;
+            for (int i = 0; i < count && n < size; i++) {
+                if (importes[i] > threshold) {
+                    picked[n++] = i;
+                }
+            }
+            for (int i = 0; i < count && n < size; i++) {
+                if (importes[i] == threshold) {
+                    picked[n++] = i;
+                }
+            }
+            for (int i = 1; i < size; i++) {
+                int cycle = picked[i];
+                int j = i - 1;
+                for (; j >= 0 && (importes[picked[j]] < importes[cycle]
+                        || importes[picked[j]] == importes[cycle] && picked[j] > cycle); j--) {
+                    picked[j + 1] = picked[j];
+                }
+                picked[j + 1] = cycle;
+            }
+            return picked;
+        }
+
+        void add(int[] path, int offset, int length, long importe) {
+            if (count + 1 == importes.length) {
+                importes = Arrays.copyOf(importes, importes.length * 2);
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            int start = starts[count];
+            if (start + length > vertices.length) {
+                vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, start + length));
+            }
+            System.arraycopy(path, offset, vertices, start, length);
+            importes[count] = importe;
+            starts[++count] = start + length;
+        }
+
+        Cycles merge(Cycles other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.vertices, other.starts[i], other.length(i), other.importes[i]);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Scratch state of one leaf task: the current path, and the vertices labelled by the last
+     * backward search with the stamp of its start vertex, so labels never need clearing.
+     */
+    private static final class Walk {
+
+        private final TransferGraph graph;
+        private final StrongComponents components;
+        private final int radius;
+        private final int[] path;
+        private final int[] cursor;
+        private final long[] bottleneck;
+        private final int[] mark;
+        private final byte[] distances;
+        private int[] queue = new int[64];
+
+        Walk(TransferGraph graph, StrongComponents components, int maxLength) {
+            this.graph = graph;
+            this.components = components;
+            this.radius = Math.min(maxLength / 2, Byte.MAX_VALUE);
+            this.path = new int[maxLength];
+            this.cursor = new int[maxLength];
+            this.bottleneck = new long[maxLength];
+            this.mark = new int[graph.vertexCount()];
+            this.distances = new byte[graph.vertexCount()];
+        }
+
+        /**
+         * Labels the vertices above {@code start} in its component that reach it within {@link #radius}
+         * edges with their distance to it.
+         */
+        void reachBack(int start, int component, int stamp) {
+            mark[start] = stamp;
+            distances[start] = 0;
+            queue[0] = start;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                int next = distances[v] + 1;
+                if (next > radius) {
+                    continue;
+                }
+                for (int p = graph.inStart(v); p < graph.inEnd(v); p++) {
+                    int u = graph.source(p);
+                    if (u > start && mark[u] != stamp && components.component(u) == component) {
+                        mark[u] = stamp;
+                        distances[u] = (byte) next;
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the distance from {@code vertex} back to the start labelled with {@code stamp}, or
+         *         {@link Integer#MAX_VALUE} if it is further than the radius
+         */
+        int distance(int vertex, int stamp) {
+            return mark[vertex] == stamp ? distances[vertex] : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Searches from the start vertices {@code [from, to)}, forking the left half of larger ranges and
+     * appending the right half's cycles to the left's, so the order found follows the vertex order.
+     * Leaves are a fraction of the graph per thread, since each allocates per-vertex labels.
+     */
+    private static final class RangeSearch extends RecursiveTask<Cycles> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CycleSearch search;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeSearch(CycleSearch search, int from, int to, int grain) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Cycles compute() {
+            if (to - from <= grain) {
+                Cycles cycles = new Cycles();
+                Walk walk = new Walk(search.graph, search.components, search.maxLength);
+                for (int start = from; start < to && !search.truncated.get(); start++) {
+                    search.searchFrom(start, cycles, walk);
+                }
+                return cycles;
+            }
+            int mid = (from + to) >>> 1;
+            RangeSearch left = new RangeSearch(search, from, mid, grain);
+            left.fork();
+            Cycles right = new RangeSearch(search, mid, to, grain).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Database products with dedicated SQL in the JDBC repositories (upserts, bulk loading, DDL).
+ */
+public enum DatabasePlatform {
+    POSTGRESQL,
+    H2;
+
+    /**
+     * Detects the platform behind a data source.
+     *
+     * @param dataSource the data source
+     * @return the detected platform
+     * @throws IllegalStateException if the database product is not supported
+     */
+    public static DatabasePlatform detect(DataSource dataSource) {
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("Could not detect the database platform", ex);
+        }
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return POSTGRESQL;
+        }
+        if ("H2".equalsIgnoreCase(product)) {
+            return H2;
+        }
+        throw new IllegalStateException("Unsupported database platform: " + product);
+    }
+}
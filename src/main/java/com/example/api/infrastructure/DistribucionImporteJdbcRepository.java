@@ -0,0 +1,100 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access to the daily amount sketches.
+ */
+@Repository
+public class DistribucionImporteJdbcRepository {
+
+    private static final String SELECT_FOR_UPDATE = "SELECT sketch FROM distribuciones_importe "
+            + "WHERE dia = ? AND divisa = ? FOR UPDATE";
+
+    private static final String INSERT = "INSERT INTO distribuciones_importe "
+            + "(dia, divisa, sketch, cantidad, fecha_actualizacion) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "UPDATE distribuciones_importe "
+            + "SET sketch = ?, cantidad = ?, fecha_actualizacion = ? WHERE dia = ? AND divisa = ?";
+
+    private static final String DELETE_RANGE = "DELETE FROM distribuciones_importe WHERE dia >= ? AND dia <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DistribucionImporteJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads and locks the sketch of a day and currency until the end of the transaction.
+     *
+     * @param dia    the UTC day
+     * @param divisa the currency code
+     * @return the serialized sketch, or {@code null} if there is none yet
+     */
+    public byte[] findForUpdate(LocalDate dia, String divisa) {
+        List<byte[]> sketches = jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> rs.getBytes(1), dia, divisa);
+        return sketches.isEmpty() ? null : sketches.get(0);
+    }
+
+    /**
+     * Stores the sketch of a day and currency, inserting the row if {@code nuevo}.
+     *
+     * @param dia      the UTC day
+     * @param divisa   the currency code
+     * @param sketch   the serialized sketch
+     * @param cantidad number of transfers it summarises
+     * @param nuevo    whether the row does not exist yet
+     * @param now      the update timestamp
+     */
+    public void save(LocalDate dia, String divisa, byte[] sketch, long cantidad, boolean nuevo, Instant now) {
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+        if (nuevo) {
+            jdbcTemplate.update(INSERT, dia, divisa, sketch, cantidad, timestamp);
+        } else {
+            jdbcTemplate.update(UPDATE, sketch, cantidad, timestamp, dia, divisa);
+        }
+    }
+
+    /**
+     * Deletes the sketches of every currency for the days in {@code [desde, hasta]}.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, inclusive
+     * @return the number of rows deleted
+     */
+    public int deleteRange(LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.update(DELETE_RANGE, desde, hasta);
+    }
+
+    /**
+     * Streams the sketches of one currency for the days in {@code [desde, hasta]}.
+     *
+     * @param divisa   the currency code
+     * @param desde    first day, inclusive
+     * @param hasta    last day, inclusive
+     * @param consumer receives each day and its serialized sketch
+     */
+    public void findRange(String divisa, LocalDate desde, LocalDate hasta, SketchConsumer consumer) {
+        jdbcTemplate.query("SELECT dia, sketch FROM distribuciones_importe WHERE divisa = ? AND dia >= ? AND dia <= ?",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, LocalDate.class), rs.getBytes(2)),
+                divisa, desde, hasta);
+    }
+
+    /**
+     * Receives the sketches read by {@link #findRange}.
+     */
+    @FunctionalInterface
+    public interface SketchConsumer {
+
+        void accept(LocalDate dia, byte[] sketch);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.api.infrastructure;
+
+/**
+ * A key reported by a heavy-hitter summary. Its true weight lies in
+ * {@code [estimado - error, estimado]}.
+ *
+ * @param key      the key
+ * @param estimado estimated weight, never below the true weight
+ * @param error    largest overestimate possible
+ */
+public record HeavyHitter(long key, long estimado, long error) {
+}
@@ -0,0 +1,310 @@
+package com.example.api.infrastructure;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of id deadlines, in the style of the Linux kernel timers.
+ *
+ * <p>Time is cut into ticks. Level {@code L} has {@code 2^bits} slots that each span
+ * {@code 2^(bits * L)} ticks; an entry sits in the lowest level whose slot is shared by no earlier
+ * tick, and moves down a level each time the wheel reaches that slot. Scheduling, cancelling and
+ * firing are therefore O(1) per entry, and advancing costs one slot visit per tick no matter how
+ * many entries are scheduled. Deadlines beyond the top level simply stay in the top level until
+ * they come within range.</p>
+ *
+ * <p>Entries and the id index are held in primitive arrays. Cancelled or rescheduled entries are
+ * left in their slot and discarded when the wheel reaches them. Not thread-safe.</p>
+ */
+public final class HierarchicalTimingWheel {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    private final long tickMillis;
+    private final int bits;
+    private final int levels;
+    private final int mask;
+    private final long[][][] slots;
+    private final int[][] slotSizes;
+    private final DeadlineIndex deadlines = new DeadlineIndex();
+    private long[] due = new long[INITIAL_BUCKET_CAPACITY];
+    private int dueSize;
+    private long currentTick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis  resolution of the wheel; deadlines fire at most one tick late
+     * @param wheelSize   slots per level, a power of two
+     * @param levels      number of levels; the wheel spans {@code tickMillis * wheelSize^levels}
+     * @param startMillis current time, in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Invalid number of levels: " + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.levels = levels;
+        this.mask = wheelSize - 1;
+        this.slots = new long[levels][wheelSize][];
+        this.slotSizes = new int[levels][wheelSize];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules an id, replacing its previous deadline if it had one. A deadline that has already
+     * passed fires on the next {@link #advance}.
+     *
+     * @param id             the id
+     * @param deadlineMillis when to fire, in epoch milliseconds
+     * @return {@code true} if the id was not scheduled before
+     */
+    public boolean schedule(long id, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick);
+        boolean added = deadlines.put(id, tick);
+        place(id, tick);
+        return added;
+    }
+
+    /**
+     * Removes an id from the wheel.
+     *
+     * @param id the id
+     * @return {@code true} if the id was scheduled
+     */
+    public boolean cancel(long id) {
+        return deadlines.remove(id);
+    }
+
+    /**
+     * @param id the id
+     * @return {@code true} if the id is scheduled
+     */
+    public boolean contains(long id) {
+        return deadlines.get(id) != DeadlineIndex.ABSENT;
+    }
+
+    /**
+     * @return the number of scheduled ids
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Moves the wheel forward to the given time and fires, tick by tick, every id whose deadline is
+     * not after it. Fired ids are removed from the wheel.
+     *
+     * @param nowMillis the current time, in epoch milliseconds
+     * @param expired   receives the fired ids
+     * @return the number of ids fired
+     */
+    public int advance(long nowMillis, LongConsumer expired) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        int fired = fireDue(expired);
+        if (deadlines.size() == 0) {
+            currentTick = Math.max(currentTick, target);
+            return fired;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (bits * level)) & mask);
+                }
+            }
+            int slot = (int) currentTick & mask;
+            long[] bucket = slots[0][slot];
+            int size = slotSizes[0][slot];
+            slotSizes[0][slot] = 0;
+            for (int i = 0; i < size; i += 2) {
+                if (deadlines.removeIfAt(bucket[i], bucket[i + 1])) {
+                    expired.accept(bucket[i]);
+                    fired++;
+                }
+            }
+            fired += fireDue(expired);
+        }
+        return fired;
+    }
+
+    private int fireDue(LongConsumer expired) {
+        if (dueSize == 0) {
+            return 0;
+        }
+        int fired = 0;
+        long[] entries = due;
+        int size = dueSize;
+        due = new long[INITIAL_BUCKET_CAPACITY];
+        dueSize = 0;
+        for (int i = 0; i < size; i += 2) {
+            if (deadlines.removeIfAt(entries[i], entries[i + 1])) {
+                expired.accept(entries[i]);
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    private void cascade(int level, int slot) {
+        long[] bucket = slots[level][slot];
+        int size = slotSizes[level][slot];
+        slots[level][slot] = null;
+        slotSizes[level][slot] = 0;
+        for (int i = 0; i < size; i += 2) {
+            if (deadlines.get(bucket[i]) == bucket[i + 1]) {
+                place(bucket[i], bucket[i + 1]);
+            }
+        }
+    }
+
+    private void place(long id, long tick) {
+        if (tick <= currentTick) {
+            if (dueSize == due.length) {
+                due = Arrays.copyOf(due, due.length * 2);
+            }
+            due[dueSize++] = id;
+            due[dueSize++] = tick;
+            return;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(tick ^ currentTick);
+        int level = Math.min(highestBit / bits, levels - 1);
+        int slot = (int) (tick >>> (bits * level)) & mask;
+        long[] bucket = slots[level][slot];
+        int size = slotSizes[level][slot];
+        if (bucket == null) {
+            bucket = new long[INITIAL_BUCKET_CAPACITY];
+            slots[level][slot] = bucket;
+        } else if (size == bucket.length) {
+            bucket = Arrays.copyOf(bucket, size * 2);
+            slots[level][slot] = bucket;
+        }
+        bucket[size] = id;
+        bucket[size + 1] = tick;
+        slotSizes[level][slot] = size + 2;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Open-addressing map from id to deadline tick, with backward-shift deletion.
+     */
+    private static final class DeadlineIndex {
+
+        static final long ABSENT = Long.MIN_VALUE;
+        private static final float LOAD_FACTOR = 0.5f;
+
+        private long[] keys = new long[16];
+        private long[] values = new long[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(long key) {
+            int index = find(key);
+            return index < 0 ? ABSENT : values[index];
+        }
+
+        boolean put(long key, long value) {
+            int index = find(key);
+            if (index >= 0) {
+                values[index] = value;
+                return false;
+            }
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                resize();
+            }
+            int slot = slot(key, keys.length);
+            while (used[slot]) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            return true;
+        }
+
+        boolean remove(long key) {
+            int index = find(key);
+            if (index < 0) {
+                return false;
+            }
+            delete(index);
+            return true;
+        }
+
+        boolean removeIfAt(long key, long value) {
+            int index = find(key);
+            if (index < 0 || values[index] != value) {
+                return false;
+            }
+            delete(index);
+            return true;
+        }
+
+        private int find(long key) {
+            int slot = slot(key, keys.length);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            return -1;
+        }
+
+        private void delete(int index) {
+            int hole = index;
+            int next = (hole + 1) & (keys.length - 1);
+            while (used[next]) {
+                int home = slot(keys[next], keys.length);
+                if (((next - home) & (keys.length - 1)) >= ((next - hole) & (keys.length - 1))) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & (keys.length - 1);
+            }
+            used[hole] = false;
+            size--;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldKeys[i], keys.length);
+                    while (used[slot]) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.api.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index of short texts keyed by a numeric id, ranked with BM25.
+ *
+ * <p>Texts are split on anything that is not a letter or digit and lower-cased, like PostgreSQL's
+ * {@code simple} text search configuration. A query matches the documents that contain every one
+ * of its terms. Readers share a read lock; writers take the write lock for the few postings one
+ * document touches.</p>
+ */
+public class InvertedTextIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<TextMatch> RANKING = Comparator.comparing(TextMatch::score)
+            .thenComparingLong(TextMatch::id)
+            .reversed();
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalTerms;
+
+    /**
+     * Indexes a document, replacing any previous version of it.
+     *
+     * @param id   the document id
+     * @param text the document text; {@code null} or blank removes the document
+     */
+    public void put(long id, String text) {
+        String[] terms = tokenize(text).toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (terms.length == 0) {
+                return;
+            }
+            documents.put(id, terms);
+            totalTerms += terms.length;
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the document id
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the documents that contain every term of the query, best first, starting strictly
+     * after the given position.
+     *
+     * @param query the query text
+     * @param after the last match of the previous page, or {@code null} for the first page
+     * @param limit maximum number of matches to return
+     * @return the matches in descending {@code (score, id)} order
+     */
+    public List<TextMatch> search(String query, TextMatch after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        List<TextMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    return List.of();
+                }
+                termPostings.add(posting);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            double averageLength = (double) totalTerms / documents.size();
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+            }
+            for (Long id : termPostings.get(0).keySet()) {
+                double lengthNorm = K1 * (1 - B + B * documents.get(id).length / averageLength);
+                double score = 0;
+                for (int i = 0; i < idf.length; i++) {
+                    Integer tf = termPostings.get(i).get(id);
+                    if (tf == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += idf[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                }
+                TextMatch match = new TextMatch(id, (float) score);
+                if (score >= 0 && (after == null || RANKING.compare(match, after) > 0)) {
+                    matches.add(match);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(RANKING);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * @return the number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower-case terms.
+     *
+     * @param text the text, may be {@code null}
+     * @return the terms in order of appearance, repeated terms included
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private void removeLocked(long id) {
+        String[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalTerms -= previous.length;
+        for (String term : previous) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null && posting.remove(id) != null && posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
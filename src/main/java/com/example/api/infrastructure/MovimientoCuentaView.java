@@ -0,0 +1,27 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Closed projection of the transfer columns held by the per-account history indexes, so that a page
+ * is read from the index alone.
+ */
+public interface MovimientoCuentaView {
+
+    Long getIdTransferencia();
+
+    Long getCuentaOrigenId();
+
+    Long getCuentaDestinoId();
+
+    BigDecimal getImporte();
+
+    String getDivisa();
+
+    EstadoTransferencia getEstado();
+
+    Instant getFechaCreacion();
+}
@@ -0,0 +1,195 @@
+package com.example.api.infrastructure;
+
+/**
+ * Open-addressing table of gross flows between unordered account pairs, held in parallel
+ * primitive arrays so that tens of millions of additions allocate nothing per entry.
+ *
+ * <p>Each pair is stored once under {@code (min, max)}; a flow from the lower to the higher
+ * account id is added to {@link #forward(int)}, the opposite direction to {@link #backward(int)}.
+ * The table is not thread-safe: each worker fills its own instance and the results are combined
+ * with {@link #merge(PairFlowTable)}.</p>
+ */
+public final class PairFlowTable {
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] lower;
+    private long[] upper;
+    private long[] forward;
+    private long[] backward;
+    private long[] count;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    public PairFlowTable(int expectedPairs) {
+        allocate(capacityFor(expectedPairs));
+    }
+
+    /**
+     * Adds one transfer to the gross flow between two accounts.
+     *
+     * @param origen  the paying account
+     * @param destino the receiving account
+     * @param amount  the amount, in minor units
+     * @throws ArithmeticException if a gross flow overflows
+     */
+    public void add(long origen, long destino, long amount) {
+        long low = Math.min(origen, destino);
+        long high = Math.max(origen, destino);
+        int slot = slotFor(low, high);
+        if (origen == low) {
+            forward[slot] = Math.addExact(forward[slot], amount);
+        } else {
+            backward[slot] = Math.addExact(backward[slot], amount);
+        }
+        count[slot]++;
+    }
+
+    /**
+     * Adds every pair of another table to this one.
+     *
+     * @param other the table to fold in; left unchanged
+     * @throws ArithmeticException if a gross flow overflows
+     */
+    public void merge(PairFlowTable other) {
+        for (int i = 0; i < other.used.length; i++) {
+            if (other.used[i]) {
+                int slot = slotFor(other.lower[i], other.upper[i]);
+                forward[slot] = Math.addExact(forward[slot], other.forward[i]);
+                backward[slot] = Math.addExact(backward[slot], other.backward[i]);
+                count[slot] += other.count[i];
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots; iterate {@code [0, capacity())} and skip unused slots
+     */
+    public int capacity() {
+        return used.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    /**
+     * @param slot a used slot
+     * @return the lower account id of the pair
+     */
+    public long lower(int slot) {
+        return lower[slot];
+    }
+
+    /**
+     * @param slot a used slot
+     * @return the higher account id of the pair
+     */
+    public long upper(int slot) {
+        return upper[slot];
+    }
+
+    /**
+     * @param slot a used slot
+     * @return the gross amount paid by the lower account to the higher one
+     */
+    public long forward(int slot) {
+        return forward[slot];
+    }
+
+    /**
+     * @param slot a used slot
+     * @return the gross amount paid by the higher account to the lower one
+     */
+    public long backward(int slot) {
+        return backward[slot];
+    }
+
+    /**
+     * @param slot a used slot
+     * @return the number of transfers between the pair, in either direction
+     */
+    public long count(int slot) {
+        return count[slot];
+    }
+
+    private int slotFor(long low, long high) {
+        int slot = (int) mix(low * 0x9e3779b97f4a7c15L ^ high) & mask;
+        while (used[slot]) {
+            if (lower[slot] == low && upper[slot] == high) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > used.length * LOAD_FACTOR) {
+            grow();
+            return slotFor(low, high);
+        }
+        used[slot] = true;
+        lower[slot] = low;
+        upper[slot] = high;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldLower = lower;
+        long[] oldUpper = upper;
+        long[] oldForward = forward;
+        long[] oldBackward = backward;
+        long[] oldCount = count;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length << 1);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = (int) mix(oldLower[i] * 0x9e3779b97f4a7c15L ^ oldUpper[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                lower[slot] = oldLower[i];
+                upper[slot] = oldUpper[i];
+                forward[slot] = oldForward[i];
+                backward[slot] = oldBackward[i];
+                count[slot] = oldCount[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        lower = new long[capacity];
+        upper = new long[capacity];
+        forward = new long[capacity];
+        backward = new long[capacity];
+        count = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    static int capacityFor(int expected) {
+        long needed = (long) Math.ceil(Math.max(expected, 1) / (double) LOAD_FACTOR);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expected);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.api.infrastructure;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Applies a body to every index of {@code [from, to)} on a fork/join pool, halving the range until
+ * it is at most {@code grain} indexes long. The body must only write state owned by its index.
+ */
+final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient IntConsumer body;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    private RangeTask(IntConsumer body, int from, int to, int grain) {
+        this.body = body;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    /**
+     * Runs the body over {@code [0, size)} and waits for it to finish.
+     *
+     * @param pool  the pool to run on
+     * @param size  the number of indexes
+     * @param grain the largest range run by one task
+     * @param body  the body, called once per index
+     */
+    static void run(ForkJoinPool pool, int size, int grain, IntConsumer body) {
+        if (size > 0) {
+            pool.invoke(new RangeTask(body, 0, size, Math.max(1, grain)));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            for (int i = from; i < to; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new RangeTask(body, from, mid, grain), new RangeTask(body, mid, to, grain));
+    }
+}
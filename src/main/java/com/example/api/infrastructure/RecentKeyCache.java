@@ -0,0 +1,107 @@
+package com.example.api.infrastructure;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of recently seen keys. Entries expire after a fixed time to live and the oldest
+ * insertions are evicted first once the size bound is exceeded.
+ *
+ * <p>Keys are kept in insertion order, and caching a key again moves it to the back. Since every
+ * entry lives for the same time, expired entries are always at the front, so each insertion drops
+ * them together with any entries beyond the bound, and the cache never holds more than its bound.
+ * Operations take a short lock on the map.</p>
+ *
+ * @param <V> the cached value type
+ */
+public class RecentKeyCache<V> {
+
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public RecentKeyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    RecentKeyCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the live value cached under the key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if absent or expired
+     */
+    public V get(String key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiredAt(nanoClock.getAsLong())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * Caches a value as the newest entry, evicting expired entries and the oldest keys if the cache
+     * grows beyond its bound.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(String key, V value) {
+        synchronized (entries) {
+            long now = nanoClock.getAsLong();
+            entries.remove(key);
+            entries.put(key, new Entry<>(value, now + ttlNanos));
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (eldest.hasNext()) {
+                Entry<V> entry = eldest.next();
+                if (entries.size() <= maxEntries && !entry.expiredAt(now)) {
+                    break;
+                }
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops the value cached under the key, if any.
+     *
+     * @param key the key
+     */
+    public void remove(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of cached keys, including expired ones not yet evicted.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+        boolean expiredAt(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
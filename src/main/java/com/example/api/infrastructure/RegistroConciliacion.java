@@ -0,0 +1,48 @@
+package com.example.api.infrastructure;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * One side of a reconciliation: a statement line or a transfer, reduced to the fields it is
+ * matched on.
+ *
+ * @param origen     line number of the statement record, or id of the transfer
+ * @param referencia external reference, the join key
+ * @param importe    amount in minor units
+ * @param dia        value date, as an epoch day
+ * @param divisa     currency code, or {@code null} if the statement does not give one
+ */
+public record RegistroConciliacion(long origen, String referencia, long importe, int dia, String divisa) {
+
+    /**
+     * Writes the record in the compact binary form read back by {@link #readFrom}.
+     *
+     * @param output the destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(origen);
+        output.writeUTF(referencia);
+        output.writeLong(importe);
+        output.writeInt(dia);
+        output.writeUTF(divisa == null ? "" : divisa);
+    }
+
+    /**
+     * Reads a record written by {@link #writeTo}.
+     *
+     * @param input the source
+     * @return the record
+     * @throws IOException if reading fails
+     */
+    public static RegistroConciliacion readFrom(DataInput input) throws IOException {
+        long origen = input.readLong();
+        String referencia = input.readUTF();
+        long importe = input.readLong();
+        int dia = input.readInt();
+        String divisa = input.readUTF();
+        return new RegistroConciliacion(origen, referencia, importe, dia, divisa.isEmpty() ? null : divisa);
+    }
+}
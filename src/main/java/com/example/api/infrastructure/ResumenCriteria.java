@@ -0,0 +1,21 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+
+import java.time.LocalDate;
+
+/**
+ * Validated filters for daily rollup queries. {@code divisa} and {@code estado} are optional.
+ *
+ * @param desde  first day, inclusive
+ * @param hasta  last day, inclusive
+ * @param divisa currency code
+ * @param estado transfer state
+ */
+public record ResumenCriteria(
+        LocalDate desde,
+        LocalDate hasta,
+        String divisa,
+        EstadoTransferencia estado
+) {
+}
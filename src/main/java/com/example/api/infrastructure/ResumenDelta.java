@@ -0,0 +1,26 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Signed change to one slot of a daily rollup group.
+ *
+ * @param dia      UTC creation date
+ * @param divisa   currency code
+ * @param estado   transfer state
+ * @param slot     write slot
+ * @param cantidad number of transfers to add; negative when they leave the group
+ * @param importe  amount to add; negative when transfers leave the group
+ */
+public record ResumenDelta(
+        LocalDate dia,
+        String divisa,
+        EstadoTransferencia estado,
+        int slot,
+        long cantidad,
+        BigDecimal importe
+) {
+}
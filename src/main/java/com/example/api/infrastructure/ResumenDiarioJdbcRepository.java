@@ -0,0 +1,145 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the daily transfer rollup table.
+ */
+@Repository
+public class ResumenDiarioJdbcRepository {
+
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO resumenes_diarios "
+            + "(dia, divisa, estado, slot, cantidad, importe_total, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (dia, divisa, estado, slot) DO UPDATE SET "
+            + "cantidad = resumenes_diarios.cantidad + EXCLUDED.cantidad, "
+            + "importe_total = resumenes_diarios.importe_total + EXCLUDED.importe_total, "
+            + "fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    private static final String UPSERT_H2 = "MERGE INTO resumenes_diarios t USING (VALUES (CAST(? AS DATE), "
+            + "CAST(? AS VARCHAR(3)), CAST(? AS VARCHAR(20)), CAST(? AS INTEGER), CAST(? AS BIGINT), "
+            + "CAST(? AS NUMERIC(19, 2)), CAST(? AS TIMESTAMP WITH TIME ZONE))) "
+            + "s(dia, divisa, estado, slot, cantidad, importe_total, fecha_actualizacion) "
+            + "ON t.dia = s.dia AND t.divisa = s.divisa AND t.estado = s.estado AND t.slot = s.slot "
+            + "WHEN MATCHED THEN UPDATE SET cantidad = t.cantidad + s.cantidad, "
+            + "importe_total = t.importe_total + s.importe_total, fecha_actualizacion = s.fecha_actualizacion "
+            + "WHEN NOT MATCHED THEN INSERT (dia, divisa, estado, slot, cantidad, importe_total, fecha_actualizacion) "
+            + "VALUES (s.dia, s.divisa, s.estado, s.slot, s.cantidad, s.importe_total, s.fecha_actualizacion)";
+
+    private static final String DELETE_RANGE = "DELETE FROM resumenes_diarios WHERE dia >= ? AND dia < ?";
+
+    private static final String UTC_DAY = "CAST(fecha_creacion AT TIME ZONE 'UTC' AS DATE)";
+
+    private static final String REBUILD_RANGE = "INSERT INTO resumenes_diarios "
+            + "(dia, divisa, estado, slot, cantidad, importe_total, fecha_actualizacion) "
+            + "SELECT " + UTC_DAY + ", divisa, estado, 0, COUNT(*), SUM(importe), ? FROM transferencias "
+            + "WHERE fecha_creacion >= ? AND fecha_creacion < ? "
+            + "GROUP BY " + UTC_DAY + ", divisa, estado";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+
+    public ResumenDiarioJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform platform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = platform == DatabasePlatform.POSTGRESQL ? UPSERT_POSTGRESQL : UPSERT_H2;
+    }
+
+    /**
+     * Adds the deltas to their rollup slots, creating missing rows, in one JDBC batch. Callers must
+     * pass deltas in a consistent order so that concurrent transactions cannot deadlock.
+     *
+     * @param deltas the deltas to apply
+     * @param now    the update timestamp
+     */
+    public void applyDeltas(List<ResumenDelta> deltas, Instant now) {
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(upsertSql, deltas, deltas.size(), (statement, delta) -> {
+            statement.setObject(1, delta.dia());
+            statement.setString(2, delta.divisa());
+            statement.setString(3, delta.estado().name());
+            statement.setInt(4, delta.slot());
+            statement.setLong(5, delta.cantidad());
+            statement.setBigDecimal(6, delta.importe());
+            statement.setObject(7, timestamp);
+        });
+    }
+
+    /**
+     * Replaces the rollups of the days in {@code [desde, hasta)} with totals recomputed from the
+     * transfers table. The recomputed totals are written to slot 0.
+     *
+     * @param desde first day, inclusive
+     * @param hasta last day, exclusive
+     * @param now   the update timestamp
+     * @return the number of rollup rows written
+     */
+    public int rebuild(LocalDate desde, LocalDate hasta, Instant now) {
+        jdbcTemplate.update(DELETE_RANGE, desde, hasta);
+        return jdbcTemplate.update(REBUILD_RANGE, now.atOffset(ZoneOffset.UTC),
+                desde.atStartOfDay().atOffset(ZoneOffset.UTC), hasta.atStartOfDay().atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * Returns one row per day, currency and state in the criteria range.
+     *
+     * @param criteria the filters to apply
+     * @return the groups ordered by day, currency and state; empty groups are omitted
+     */
+    public List<ResumenRow> findDiarios(ResumenCriteria criteria) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT dia, divisa, estado, SUM(cantidad) AS cantidad, SUM(importe_total) AS importe_total "
+                + "FROM resumenes_diarios" + where(criteria, params)
+                + " GROUP BY dia, divisa, estado HAVING SUM(cantidad) <> 0 ORDER BY dia, divisa, estado";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs, rs.getObject("dia", LocalDate.class)),
+                params.toArray());
+    }
+
+    /**
+     * Returns one row per currency and state, summed over the criteria range.
+     *
+     * @param criteria the filters to apply
+     * @return the groups ordered by currency and state; empty groups are omitted
+     */
+    public List<ResumenRow> findTotales(ResumenCriteria criteria) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT divisa, estado, SUM(cantidad) AS cantidad, SUM(importe_total) AS importe_total "
+                + "FROM resumenes_diarios" + where(criteria, params)
+                + " GROUP BY divisa, estado HAVING SUM(cantidad) <> 0 ORDER BY divisa, estado";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs, null), params.toArray());
+    }
+
+    private String where(ResumenCriteria criteria, List<Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE dia >= ? AND dia <= ?");
+        params.add(criteria.desde());
+        params.add(criteria.hasta());
+        if (criteria.divisa() != null) {
+            where.append(" AND divisa = ?");
+            params.add(criteria.divisa());
+        }
+        if (criteria.estado() != null) {
+            where.append(" AND estado = ?");
+            params.add(criteria.estado().name());
+        }
+        return where.toString();
+    }
+
+    private ResumenRow mapRow(ResultSet rs, LocalDate dia) throws SQLException {
+        return new ResumenRow(
+                dia,
+                rs.getString("divisa"),
+                EstadoTransferencia.valueOf(rs.getString("estado")),
+                rs.getLong("cantidad"),
+                rs.getBigDecimal("importe_total")
+        );
+    }
+}
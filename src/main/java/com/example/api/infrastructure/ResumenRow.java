@@ -0,0 +1,24 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A rollup group with its slots summed.
+ *
+ * @param dia          UTC creation date, or {@code null} when aggregated over a date range
+ * @param divisa       currency code
+ * @param estado       transfer state
+ * @param cantidad     number of transfers
+ * @param importeTotal sum of their amounts
+ */
+public record ResumenRow(
+        LocalDate dia,
+        String divisa,
+        EstadoTransferencia estado,
+        long cantidad,
+        BigDecimal importeTotal
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.api.infrastructure;
+
+/**
+ * Balance of an account in one currency at the end of a statement period.
+ *
+ * @param cuentaId account identifier
+ * @param divisa   currency code
+ * @param saldo    balance in minor units
+ */
+public record SaldoCerrado(
+        long cuentaId,
+        String divisa,
+        long saldo
+) {
+}
@@ -0,0 +1,74 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JDBC access to the closing balances written by the statement batch.
+ */
+@Repository
+public class SaldoCierreJdbcRepository {
+
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO saldos_cierre (fecha, cuenta_id, divisa, saldo) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (fecha, cuenta_id, divisa) DO UPDATE SET saldo = EXCLUDED.saldo";
+
+    private static final String UPSERT_H2 = "MERGE INTO saldos_cierre t USING (VALUES (CAST(? AS DATE), "
+            + "CAST(? AS BIGINT), CAST(? AS VARCHAR(3)), CAST(? AS NUMERIC(19, 2)))) "
+            + "s(fecha, cuenta_id, divisa, saldo) "
+            + "ON t.fecha = s.fecha AND t.cuenta_id = s.cuenta_id AND t.divisa = s.divisa "
+            + "WHEN MATCHED THEN UPDATE SET saldo = s.saldo "
+            + "WHEN NOT MATCHED THEN INSERT (fecha, cuenta_id, divisa, saldo) "
+            + "VALUES (s.fecha, s.cuenta_id, s.divisa, s.saldo)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+
+    public SaldoCierreJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform platform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = platform == DatabasePlatform.POSTGRESQL ? UPSERT_POSTGRESQL : UPSERT_H2;
+    }
+
+    /**
+     * Stores closing balances in one JDBC batch, replacing any written for the same day, account and
+     * currency by an earlier attempt.
+     *
+     * @param fecha  the day the balances are taken at
+     * @param saldos the balances
+     */
+    public void saveAll(LocalDate fecha, List<SaldoCerrado> saldos) {
+        jdbcTemplate.batchUpdate(upsertSql, saldos, saldos.size(), (statement, saldo) -> {
+            statement.setObject(1, fecha);
+            statement.setLong(2, saldo.cuentaId());
+            statement.setString(3, saldo.divisa());
+            statement.setBigDecimal(4, BigDecimal.valueOf(saldo.saldo(), 2));
+        });
+    }
+
+    /**
+     * Returns the lowest and highest account id with a balance taken at the given day.
+     *
+     * @param fecha the day
+     * @return {@code {min, max}}, or {@code null} if there are no balances for that day
+     */
+    public long[] findCuentaRange(LocalDate fecha) {
+        return jdbcTemplate.queryForObject("SELECT MIN(cuenta_id), MAX(cuenta_id) FROM saldos_cierre WHERE fecha = ?",
+                (rs, rowNum) -> {
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? null : new long[] {min, rs.getLong(2)};
+                }, fecha);
+    }
+
+    /**
+     * Deletes the balances taken before the given day.
+     *
+     * @param fecha the first day kept
+     * @return the number of rows deleted
+     */
+    public int deleteBefore(LocalDate fecha) {
+        return jdbcTemplate.update("DELETE FROM saldos_cierre WHERE fecha < ?", fecha);
+    }
+}
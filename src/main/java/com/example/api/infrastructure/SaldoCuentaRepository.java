@@ -0,0 +1,21 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.SaldoCuenta;
+import com.example.api.domain.SaldoCuentaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for reading materialized account balances.
+ */
+public interface SaldoCuentaRepository extends JpaRepository<SaldoCuenta, SaldoCuentaId> {
+
+    /**
+     * Returns every currency balance of an account.
+     *
+     * @param cuentaId the account identifier
+     * @return the balances ordered by currency
+     */
+    List<SaldoCuenta> findByIdCuentaIdOrderByIdDivisa(Long cuentaId);
+}
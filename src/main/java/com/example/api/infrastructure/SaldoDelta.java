@@ -0,0 +1,17 @@
+package com.example.api.infrastructure;
+
+import java.math.BigDecimal;
+
+/**
+ * Signed amount to add to an account's balance in one currency.
+ *
+ * @param cuentaId account identifier
+ * @param divisa   currency code
+ * @param importe  amount to add; negative for debits
+ */
+public record SaldoDelta(
+        long cuentaId,
+        String divisa,
+        BigDecimal importe
+) {
+}
@@ -0,0 +1,125 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC writes to the materialized account balance table and to the archived balance totals.
+ */
+@Repository
+public class SaldoJdbcRepository {
+
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO saldos_cuenta "
+            + "(cuenta_id, divisa, saldo, fecha_actualizacion) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (cuenta_id, divisa) DO UPDATE SET saldo = saldos_cuenta.saldo + EXCLUDED.saldo, "
+            + "fecha_actualizacion = EXCLUDED.fecha_actualizacion";
+
+    private static final String UPSERT_H2 = "MERGE INTO saldos_cuenta t USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS VARCHAR(3)), CAST(? AS NUMERIC(19, 2)), CAST(? AS TIMESTAMP WITH TIME ZONE))) "
+            + "s(cuenta_id, divisa, saldo, fecha_actualizacion) "
+            + "ON t.cuenta_id = s.cuenta_id AND t.divisa = s.divisa "
+            + "WHEN MATCHED THEN UPDATE SET saldo = t.saldo + s.saldo, fecha_actualizacion = s.fecha_actualizacion "
+            + "WHEN NOT MATCHED THEN INSERT (cuenta_id, divisa, saldo, fecha_actualizacion) "
+            + "VALUES (s.cuenta_id, s.divisa, s.saldo, s.fecha_actualizacion)";
+
+    private static final String DELETE_PARTITION = "DELETE FROM saldos_cuenta WHERE ABS(MOD(cuenta_id, ?)) = ?";
+
+    private static final String REBUILD_PARTITION = "INSERT INTO saldos_cuenta "
+            + "(cuenta_id, divisa, saldo, fecha_actualizacion) "
+            + "SELECT cuenta_id, divisa, SUM(importe), ? FROM ("
+            + "SELECT cuenta_destino_id AS cuenta_id, divisa, importe FROM transferencias "
+            + "WHERE estado = 'COMPLETADA' AND ABS(MOD(cuenta_destino_id, ?)) = ? "
+            + "UNION ALL "
+            + "SELECT cuenta_origen_id AS cuenta_id, divisa, -importe AS importe FROM transferencias "
+            + "WHERE estado = 'COMPLETADA' AND ABS(MOD(cuenta_origen_id, ?)) = ? "
+            + "UNION ALL "
+            + "SELECT cuenta_id, divisa, saldo AS importe FROM saldos_archivados "
+            + "WHERE ABS(MOD(cuenta_id, ?)) = ?"
+            + ") movimientos GROUP BY cuenta_id, divisa";
+
+    private static final String ARCHIVED_TOTALS = "SELECT cuenta_id, divisa, SUM(importe) AS saldo FROM ("
+            + "SELECT cuenta_destino_id AS cuenta_id, divisa, importe FROM transferencias "
+            + "WHERE fecha_creacion >= ? AND fecha_creacion < ? AND id_transferencia >= ? "
+            + "AND id_transferencia < ? AND estado = 'COMPLETADA' "
+            + "UNION ALL "
+            + "SELECT cuenta_origen_id AS cuenta_id, divisa, -importe AS importe FROM transferencias "
+            + "WHERE fecha_creacion >= ? AND fecha_creacion < ? AND id_transferencia >= ? "
+            + "AND id_transferencia < ? AND estado = 'COMPLETADA'"
+            + ") movimientos GROUP BY cuenta_id, divisa";
+
+    private static final String ADD_ARCHIVED_POSTGRESQL = "INSERT INTO saldos_archivados (cuenta_id, divisa, saldo) "
+            + ARCHIVED_TOTALS + " "
+            + "ON CONFLICT (cuenta_id, divisa) DO UPDATE SET saldo = saldos_archivados.saldo + EXCLUDED.saldo";
+
+    private static final String ADD_ARCHIVED_H2 = "MERGE INTO saldos_archivados t USING (" + ARCHIVED_TOTALS + ") s "
+            + "ON t.cuenta_id = s.cuenta_id AND t.divisa = s.divisa "
+            + "WHEN MATCHED THEN UPDATE SET saldo = t.saldo + s.saldo "
+            + "WHEN NOT MATCHED THEN INSERT (cuenta_id, divisa, saldo) VALUES (s.cuenta_id, s.divisa, s.saldo)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+    private final String addArchivedSql;
+
+    public SaldoJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform platform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = platform == DatabasePlatform.POSTGRESQL ? UPSERT_POSTGRESQL : UPSERT_H2;
+        this.addArchivedSql = platform == DatabasePlatform.POSTGRESQL ? ADD_ARCHIVED_POSTGRESQL : ADD_ARCHIVED_H2;
+    }
+
+    /**
+     * Adds the deltas to the stored balances, creating missing rows, in one JDBC batch.
+     * Each statement takes a row lock on its balance only, so transactions touching different
+     * accounts never wait on each other. Callers must pass deltas in a consistent order so that
+     * transactions touching the same accounts cannot deadlock.
+     *
+     * @param deltas the deltas to apply
+     * @param now    the update timestamp
+     */
+    public void applyDeltas(List<SaldoDelta> deltas, Instant now) {
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(upsertSql, deltas, deltas.size(), (statement, delta) -> {
+            statement.setLong(1, delta.cuentaId());
+            statement.setString(2, delta.divisa());
+            statement.setBigDecimal(3, delta.importe());
+            statement.setObject(4, timestamp);
+        });
+    }
+
+    /**
+     * Adds the net amounts of the completed transfers created in the window with an id in the range
+     * to the archived balance totals, before those transfers are deleted. Must run in the transaction
+     * that deletes them, with the rows locked, so that the totals count every archived transfer
+     * exactly once.
+     *
+     * @param desde   creation window start, inclusive
+     * @param hasta   creation window end, exclusive
+     * @param desdeId first transfer id, inclusive
+     * @param hastaId last transfer id, exclusive
+     * @return the number of totals written
+     */
+    public int addArchived(Instant desde, Instant hasta, long desdeId, long hastaId) {
+        OffsetDateTime from = desde.atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = hasta.atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.update(addArchivedSql, from, to, desdeId, hastaId, from, to, desdeId, hastaId);
+    }
+
+    /**
+     * Recomputes the balances of the accounts in one hash partition from the completed transfers and
+     * the archived balance totals, entirely inside the database.
+     *
+     * @param partitions total number of partitions
+     * @param partition  the partition to rebuild, in {@code [0, partitions)}
+     * @param now        the update timestamp
+     * @return the number of balances written
+     */
+    public int rebuildPartition(int partitions, int partition, Instant now) {
+        jdbcTemplate.update(DELETE_PARTITION, partitions, partition);
+        return jdbcTemplate.update(REBUILD_PARTITION, now.atOffset(ZoneOffset.UTC),
+                partitions, partition, partitions, partition, partitions, partition);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.api.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe scalable Bloom filter of strings (Almeida et al., 2007). The filter starts with one
+ * slice sized for an expected number of elements; when a slice is full a new one is added, twice as
+ * large and with half the false-positive rate, so the compound rate stays below the target however
+ * many elements are added. Bits are set with lock-free CAS; only adding a slice takes a lock.
+ *
+ * <p>Once another slice would exceed the memory budget the filter stops growing and keeps filling
+ * its last slice: it never returns a false negative, but its false-positive rate then rises above
+ * the target, as reported by {@link #estimatedFalsePositiveRate()}.</p>
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final double LN2 = Math.log(2);
+
+    private final double falsePositiveRate;
+    private final long maxMemoryBytes;
+    private final AtomicLong count = new AtomicLong();
+    private volatile Slice[] slices;
+    private volatile boolean saturated;
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedElements  capacity of the first slice
+     * @param falsePositiveRate target compound false-positive rate, between 0 and 1
+     * @param maxMemoryBytes    memory budget for the bit arrays; the first slice is always allocated
+     */
+    public ScalableBloomFilter(long expectedElements, double falsePositiveRate, long maxMemoryBytes) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.slices = new Slice[] {new Slice(Math.max(1, expectedElements), falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    /**
+     * Returns whether the element may have been added.
+     *
+     * @param element the element
+     * @return {@code false} if the element was certainly never added
+     */
+    public boolean mightContain(String element) {
+        long[] hash = hash(element);
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param element the element
+     * @return {@code true} if the element was certainly not present before
+     */
+    public boolean put(String element) {
+        long[] hash = hash(element);
+        Slice[] current = slices;
+        for (Slice slice : current) {
+            if (slice.mightContain(hash)) {
+                return false;
+            }
+        }
+        Slice last = current[current.length - 1];
+        last.put(hash);
+        count.incrementAndGet();
+        if (last.count.incrementAndGet() >= last.capacity && !saturated) {
+            grow(last);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of distinct elements added, as far as the filter can tell.
+     *
+     * @return the approximate element count
+     */
+    public long approximateElementCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the number of slices.
+     *
+     * @return the slice count
+     */
+    public int sliceCount() {
+        return slices.length;
+    }
+
+    /**
+     * Returns the memory used by the bit arrays.
+     *
+     * @return the size in bytes
+     */
+    public long memoryBytes() {
+        return Arrays.stream(slices).mapToLong(slice -> slice.bits.length() * (long) Long.BYTES).sum();
+    }
+
+    /**
+     * Returns whether the filter has stopped growing because of its memory budget.
+     *
+     * @return {@code true} once saturated
+     */
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    /**
+     * Returns the configured target false-positive rate.
+     *
+     * @return the target rate
+     */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Estimates the current compound false-positive rate from the fill ratio of every slice.
+     *
+     * @return the estimated rate
+     */
+    public double estimatedFalsePositiveRate() {
+        double miss = 1;
+        for (Slice slice : slices) {
+            miss *= 1 - slice.estimatedFalsePositiveRate();
+        }
+        return 1 - miss;
+    }
+
+    private synchronized void grow(Slice full) {
+        Slice[] current = slices;
+        if (current[current.length - 1] != full) {
+            return;
+        }
+        Slice next = new Slice(full.capacity * GROWTH, full.falsePositiveRate * TIGHTENING);
+        if (memoryBytes() + next.bits.length() * (long) Long.BYTES > maxMemoryBytes) {
+            saturated = true;
+            return;
+        }
+        Slice[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = next;
+        slices = grown;
+    }
+
+    private static long[] hash(String element) {
+        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return new long[] {mix(h), mix(h ^ 0x9e3779b97f4a7c15L) | 1};
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Slice {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray bits;
+        private final long size;
+        private final int hashes;
+        private final AtomicLong count = new AtomicLong();
+
+        Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.size = words * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * LN2));
+        }
+
+        boolean mightContain(long[] hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long[] hash) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash, i);
+                long mask = 1L << bit;
+                bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        double estimatedFalsePositiveRate() {
+            long set = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                set += Long.bitCount(bits.get(i));
+            }
+            return Math.pow((double) set / size, hashes);
+        }
+
+        private long index(long[] hash, int i) {
+            return Math.floorMod(hash[0] + i * hash[1], size);
+        }
+    }
+}
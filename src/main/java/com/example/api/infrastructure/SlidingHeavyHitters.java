@@ -0,0 +1,147 @@
+package com.example.api.infrastructure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Heaviest keys of a sliding window, kept as a ring of {@link SpaceSavingSketch} summaries, one
+ * per bucket. A bucket's summary is cleared and reused when the window slides past it, so memory is
+ * {@code buckets * capacity} counters however many keys the stream has. As with
+ * {@link SlidingWindowCounters}, the effective span is between {@code window - window / buckets}
+ * and {@code window}.
+ *
+ * <p>Queries merge the live buckets: a key's estimate is the sum of its estimates in the buckets
+ * that monitor it plus the smallest estimate of each bucket that does not, which bounds what that
+ * bucket could have missed. The merged error therefore stays within {@code total / capacity}.
+ * Methods are synchronized; updates are short and queries copy out what they need.</p>
+ */
+public final class SlidingHeavyHitters {
+
+    private static final Comparator<HeavyHitter> HEAVIEST_FIRST = Comparator
+            .comparingLong(HeavyHitter::estimado).reversed()
+            .thenComparingLong(HeavyHitter::key);
+
+    private final SpaceSavingSketch[] sketches;
+    private final long[] epochs;
+    private final long bucketNanos;
+    private final long origin;
+    private final LongSupplier nanoClock;
+
+    public SlidingHeavyHitters(Duration window, int buckets, int capacity) {
+        this(window, buckets, capacity, System::nanoTime);
+    }
+
+    SlidingHeavyHitters(Duration window, int buckets, int capacity, LongSupplier nanoClock) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Heavy-hitter buckets must be positive");
+        }
+        this.sketches = new SpaceSavingSketch[buckets];
+        this.epochs = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sketches[i] = new SpaceSavingSketch(capacity);
+            epochs[i] = -1;
+        }
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Adds weight to a key in the current bucket.
+     *
+     * @param key    the key
+     * @param weight a non-negative weight
+     */
+    public synchronized void add(long key, long weight) {
+        long epoch = epoch();
+        int slot = (int) (epoch % sketches.length);
+        if (epochs[slot] != epoch) {
+            sketches[slot].clear();
+            epochs[slot] = epoch;
+        }
+        sketches[slot].add(key, weight);
+    }
+
+    /**
+     * Returns the heaviest keys of the window.
+     *
+     * @param limit most keys to return
+     * @return the window total and up to {@code limit} keys, heaviest first
+     */
+    public synchronized Snapshot top(int limit) {
+        long epoch = epoch();
+        long total = 0;
+        long missing = 0;
+        List<SpaceSavingSketch> live = new ArrayList<>(sketches.length);
+        for (int i = 0; i < sketches.length; i++) {
+            if (live(i, epoch)) {
+                live.add(sketches[i]);
+                total += sketches[i].total();
+                missing += sketches[i].minCount();
+            }
+        }
+        // Each entry starts from the bound of every bucket and swaps it for its own count where the
+        // bucket monitors it.
+        Map<Long, long[]> merged = new HashMap<>();
+        for (SpaceSavingSketch sketch : live) {
+            long min = sketch.minCount();
+            for (int entry = 0; entry < sketch.size(); entry++) {
+                long[] totals = merged.computeIfAbsent(sketch.key(entry), key -> new long[2]);
+                totals[0] += sketch.count(entry) - min;
+                totals[1] += sketch.error(entry) - min;
+            }
+        }
+        List<HeavyHitter> hitters = new ArrayList<>(merged.size());
+        long bound = missing;
+        merged.forEach((key, totals) -> hitters.add(new HeavyHitter(key, totals[0] + bound, totals[1] + bound)));
+        hitters.sort(HEAVIEST_FIRST);
+        return new Snapshot(total, hitters.subList(0, Math.min(limit, hitters.size())));
+    }
+
+    /**
+     * @return the sum of every weight in the window
+     */
+    public synchronized long total() {
+        long epoch = epoch();
+        long total = 0;
+        for (int i = 0; i < sketches.length; i++) {
+            if (live(i, epoch)) {
+                total += sketches[i].total();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of counters of each bucket
+     */
+    public int capacity() {
+        return sketches[0].capacity();
+    }
+
+    private boolean live(int slot, long epoch) {
+        return epochs[slot] > epoch - sketches.length && epochs[slot] <= epoch;
+    }
+
+    private long epoch() {
+        return (nanoClock.getAsLong() - origin) / bucketNanos;
+    }
+
+    /**
+     * The heaviest keys of a window at one point in time.
+     *
+     * @param total   sum of every weight in the window
+     * @param hitters the heaviest keys, heaviest first
+     */
+    public record Snapshot(long total, List<HeavyHitter> hitters) {
+
+        public Snapshot {
+            hitters = List.copyOf(hitters);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.api.infrastructure;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, striped store of per-key sliding-window counters. Each key counts events and sums an
+ * amount over the last window; the window is split into buckets that expire one at a time, so the
+ * effective span is between {@code window - window / buckets} and {@code window}.
+ *
+ * <p>Keys are spread over independent maps so that resizing and idle-key eviction only ever touch
+ * one stripe. Additions reserve first and then verify the window totals, undoing the reservation if
+ * a limit is exceeded; concurrent callers may therefore see a spurious rejection near a limit, but
+ * a limit is never overshot.</p>
+ *
+ * @param <K> the key type
+ */
+public class SlidingWindowCounters<K> {
+
+    /**
+     * Returned by {@link #tryAdd} when the addition would exceed a limit.
+     */
+    public static final long REJECTED = -1;
+
+    private final ConcurrentHashMap<K, Window>[] stripes;
+    private final int buckets;
+    private final long bucketNanos;
+    private final long origin;
+    private final LongSupplier nanoClock;
+
+    public SlidingWindowCounters(Duration window, int buckets, int stripes) {
+        this(window, buckets, stripes, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    SlidingWindowCounters(Duration window, int buckets, int stripes, LongSupplier nanoClock) {
+        this.buckets = buckets;
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.stripes = new ConcurrentHashMap[stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Adds one event with the given amount to the key's window, unless the window totals would then
+     * exceed either limit.
+     *
+     * @param key       the key
+     * @param amount    the amount to add
+     * @param maxCount  largest event count allowed in the window
+     * @param maxAmount largest amount sum allowed in the window
+     * @return the bucket the event was added to, for {@link #release}, or {@link #REJECTED}
+     */
+    public long tryAdd(K key, long amount, long maxCount, long maxAmount) {
+        long epoch = epoch();
+        ConcurrentHashMap<K, Window> stripe = stripe(key);
+        while (true) {
+            Window window = stripe.computeIfAbsent(key, k -> new Window(buckets));
+            if (window.lastEpoch != epoch) {
+                window.lastEpoch = epoch;
+            }
+            Bucket bucket = window.bucket(epoch, buckets);
+            bucket.add(1, amount);
+            if (window.retired.get()) {
+                bucket.add(-1, -amount);
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!window.within(epoch, buckets, maxCount, maxAmount)) {
+                bucket.add(-1, -amount);
+                return REJECTED;
+            }
+            return bucket.epoch;
+        }
+    }
+
+    /**
+     * Withdraws an event added by {@link #tryAdd}. Does nothing once its bucket has expired.
+     *
+     * @param key    the key
+     * @param epoch  the value returned by {@link #tryAdd}
+     * @param amount the amount that was added
+     */
+    public void release(K key, long epoch, long amount) {
+        Window window = stripe(key).get(key);
+        if (window != null) {
+            Bucket bucket = window.slots.get(slot(epoch));
+            if (bucket != null && bucket.epoch == epoch) {
+                bucket.add(-1, -amount);
+            }
+        }
+    }
+
+    /**
+     * Returns the event count and amount sum currently in the key's window.
+     *
+     * @param key the key
+     * @return {@code {count, amount}}, zeros for an unknown key
+     */
+    public long[] totals(K key) {
+        Window window = stripe(key).get(key);
+        return window == null ? new long[2] : window.totals(epoch(), buckets);
+    }
+
+    /**
+     * Removes keys whose every bucket has expired.
+     *
+     * @return the number of keys removed
+     */
+    public int evictIdle() {
+        long horizon = epoch() - buckets;
+        int removed = 0;
+        for (ConcurrentHashMap<K, Window> stripe : stripes) {
+            Iterator<Map.Entry<K, Window>> entries = stripe.entrySet().iterator();
+            while (entries.hasNext()) {
+                Window window = entries.next().getValue();
+                if (window.lastEpoch <= horizon && window.retired.compareAndSet(false, true)) {
+                    if (window.lastEpoch <= horizon) {
+                        entries.remove();
+                        removed++;
+                    } else {
+                        window.retired.set(false);
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of tracked keys, including idle ones not yet evicted.
+     *
+     * @return the key count
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<K, Window> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private long epoch() {
+        return (nanoClock.getAsLong() - origin) / bucketNanos;
+    }
+
+    private int slot(long epoch) {
+        return (int) (epoch % buckets);
+    }
+
+    private ConcurrentHashMap<K, Window> stripe(K key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Window {
+
+        private final AtomicReferenceArray<Bucket> slots;
+        private final AtomicBoolean retired = new AtomicBoolean();
+        private volatile long lastEpoch;
+
+        Window(int buckets) {
+            this.slots = new AtomicReferenceArray<>(buckets);
+        }
+
+        Bucket bucket(long epoch, int buckets) {
+            int slot = (int) (epoch % buckets);
+            while (true) {
+                Bucket current = slots.get(slot);
+                if (current != null && current.epoch >= epoch) {
+                    return current;
+                }
+                Bucket fresh = new Bucket(epoch);
+                if (slots.compareAndSet(slot, current, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        boolean within(long epoch, int buckets, long maxCount, long maxAmount) {
+            long[] totals = totals(epoch, buckets);
+            return totals[0] <= maxCount && totals[1] <= maxAmount;
+        }
+
+        long[] totals(long epoch, int buckets) {
+            long count = 0;
+            long amount = 0;
+            for (int i = 0; i < buckets; i++) {
+                Bucket bucket = slots.get(i);
+                if (bucket != null && bucket.epoch > epoch - buckets) {
+                    count += bucket.count.get();
+                    amount += bucket.amount.get();
+                }
+            }
+            return new long[] {count, amount};
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long epoch;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong amount = new AtomicLong();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void add(long events, long value) {
+            count.addAndGet(events);
+            amount.addAndGet(value);
+        }
+    }
+}
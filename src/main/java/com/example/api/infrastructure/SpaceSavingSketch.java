@@ -0,0 +1,210 @@
+package com.example.api.infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * Weighted Space-Saving summary of the heaviest keys of a stream, in a fixed number of counters.
+ *
+ * <p>Each monitored key has an estimated weight and an error: the true weight lies in
+ * {@code [estimate - error, estimate]}. When an unmonitored key arrives and every counter is taken,
+ * it replaces the key with the smallest estimate and inherits that estimate as its error. Every key
+ * whose weight exceeds {@code total / capacity} is therefore monitored, and no estimate is off by
+ * more than {@code total / capacity}. Counters sit in parallel primitive arrays, ordered by an
+ * indexed min-heap and found through an open-addressing table, so an update costs
+ * {@code O(log capacity)} and memory does not grow with the stream. Not thread-safe.</p>
+ */
+public final class SpaceSavingSketch {
+
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] tableKeys;
+    private final int[] tableEntries;
+    private final int mask;
+    private int size;
+    private long total;
+
+    /**
+     * @param capacity number of counters; the error bound is {@code total / capacity}
+     */
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Sketch capacity must be positive");
+        }
+        keys = new long[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+        heap = new int[capacity];
+        positions = new int[capacity];
+        int tableCapacity = PairFlowTable.capacityFor(capacity);
+        tableKeys = new long[tableCapacity];
+        tableEntries = new int[tableCapacity];
+        Arrays.fill(tableEntries, -1);
+        mask = tableCapacity - 1;
+    }
+
+    /**
+     * Adds weight to a key.
+     *
+     * @param key    the key
+     * @param weight a non-negative weight
+     * @throws ArithmeticException if a weight overflows
+     */
+    public void add(long key, long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Sketch weights must not be negative");
+        }
+        total = Math.addExact(total, weight);
+        int entry = find(key);
+        if (entry < 0) {
+            if (size < keys.length) {
+                entry = size++;
+                keys[entry] = key;
+                counts[entry] = 0;
+                errors[entry] = 0;
+                heap[entry] = entry;
+                positions[entry] = entry;
+                siftUp(entry);
+            } else {
+                entry = heap[0];
+                remove(keys[entry]);
+                keys[entry] = key;
+                errors[entry] = counts[entry];
+            }
+            insert(key, entry);
+        }
+        counts[entry] = Math.addExact(counts[entry], weight);
+        siftDown(positions[entry]);
+    }
+
+    /**
+     * Forgets every key, keeping the allocated counters.
+     */
+    public void clear() {
+        Arrays.fill(tableEntries, -1);
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * @return the sum of every weight added
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return the number of counters
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return the number of monitored keys; iterate {@code [0, size())}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the smallest estimate while every counter is taken, otherwise {@code 0}; an upper
+     *         bound on the weight of any key that is not monitored
+     */
+    public long minCount() {
+        return size < keys.length ? 0 : counts[heap[0]];
+    }
+
+    public long key(int entry) {
+        return keys[entry];
+    }
+
+    public long count(int entry) {
+        return counts[entry];
+    }
+
+    public long error(int entry) {
+        return errors[entry];
+    }
+
+    private int find(long key) {
+        int slot = (int) PairFlowTable.mix(key) & mask;
+        while (tableEntries[slot] >= 0) {
+            if (tableKeys[slot] == key) {
+                return tableEntries[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long key, int entry) {
+        int slot = (int) PairFlowTable.mix(key) & mask;
+        while (tableEntries[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = key;
+        tableEntries[slot] = entry;
+    }
+
+    /**
+     * Removes a key with backward-shift deletion, so that probe sequences stay unbroken without
+     * tombstones.
+     */
+    private void remove(long key) {
+        int slot = (int) PairFlowTable.mix(key) & mask;
+        while (tableKeys[slot] != key || tableEntries[slot] < 0) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (tableEntries[next] >= 0) {
+            int home = (int) PairFlowTable.mix(tableKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                tableKeys[hole] = tableKeys[next];
+                tableEntries[hole] = tableEntries[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        tableEntries[hole] = -1;
+    }
+
+    private void siftUp(int position) {
+        int entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[entry]) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(entry, position);
+    }
+
+    private void siftDown(int position) {
+        int entry = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && counts[heap[right]] < counts[heap[child]]) {
+                child = right;
+            }
+            if (counts[entry] <= counts[heap[child]]) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(entry, position);
+    }
+
+    private void place(int entry, int position) {
+        heap[position] = entry;
+        positions[entry] = position;
+    }
+}
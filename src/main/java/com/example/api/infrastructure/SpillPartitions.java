@@ -0,0 +1,163 @@
+package com.example.api.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Reconciliation records hash-partitioned by reference into temporary files, the spill side of a
+ * partitioned hash join.
+ *
+ * <p>Records are appended sequentially through one buffered stream per partition, so memory is
+ * bounded by {@code partitions * bufferSize} however many records are written. Two sets built with
+ * the same number of partitions put every reference in the same partition number, which can then be
+ * joined on its own. Appending is not thread-safe; reading finished partitions is.</p>
+ */
+@Slf4j
+public final class SpillPartitions implements Closeable {
+
+    private final Path[] files;
+    private final DataOutputStream[] outputs;
+    private final long[] counts;
+    private final int bufferSize;
+    private boolean finished;
+
+    /**
+     * Creates the partition files.
+     *
+     * @param directory  where to create the files; it must exist
+     * @param prefix     file name prefix, unique within the directory
+     * @param partitions number of partitions
+     * @param bufferSize write and read buffer size of each partition, in bytes
+     */
+    public SpillPartitions(Path directory, String prefix, int partitions, int bufferSize) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions must be positive");
+        }
+        this.files = new Path[partitions];
+        this.outputs = new DataOutputStream[partitions];
+        this.counts = new long[partitions];
+        this.bufferSize = bufferSize;
+        try {
+            for (int p = 0; p < partitions; p++) {
+                files[p] = directory.resolve(prefix + "-" + p + ".bin");
+                outputs[p] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[p]),
+                        bufferSize));
+            }
+        } catch (IOException ex) {
+            close();
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the partition a reference belongs to.
+     *
+     * @param referencia the reference
+     * @param partitions number of partitions
+     * @return the partition, in {@code [0, partitions)}
+     */
+    public static int partitionOf(String referencia, int partitions) {
+        int h = referencia.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), partitions);
+    }
+
+    /**
+     * Appends a record to its partition.
+     *
+     * @param registro the record
+     */
+    public void add(RegistroConciliacion registro) {
+        if (finished) {
+            throw new IllegalStateException("Spill partitions are already finished");
+        }
+        int partition = partitionOf(registro.referencia(), files.length);
+        try {
+            registro.writeTo(outputs[partition]);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        counts[partition]++;
+    }
+
+    /**
+     * Flushes and closes every partition file so that it can be read.
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            for (DataOutputStream output : outputs) {
+                output.close();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return the number of partitions
+     */
+    public int partitions() {
+        return files.length;
+    }
+
+    /**
+     * @param partition the partition
+     * @return the number of records appended to it
+     */
+    public long count(int partition) {
+        return counts[partition];
+    }
+
+    /**
+     * Reads back every record of a finished partition, in the order they were appended.
+     *
+     * @param partition the partition
+     * @param consumer  receives each record
+     */
+    public void forEach(int partition, Consumer<RegistroConciliacion> consumer) {
+        if (!finished) {
+            throw new IllegalStateException("Spill partitions are not finished");
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(files[partition]), bufferSize))) {
+            for (long i = 0; i < counts[partition]; i++) {
+                consumer.accept(RegistroConciliacion.readFrom(input));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Closes and deletes every partition file.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        for (int p = 0; p < files.length; p++) {
+            try {
+                if (outputs[p] != null) {
+                    outputs[p].close();
+                }
+                if (files[p] != null) {
+                    Files.deleteIfExists(files[p]);
+                }
+            } catch (IOException ex) {
+                log.warn("Could not delete spill file {}", files[p], ex);
+            }
+        }
+    }
+}
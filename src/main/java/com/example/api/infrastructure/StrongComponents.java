@@ -0,0 +1,363 @@
+package com.example.api.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strongly connected components of a {@link TransferGraph}: the groups of accounts in which every
+ * account can reach every other by following payments.
+ *
+ * <p>Accounts that only pay or only receive are peeled off first, repeatedly, since each is a
+ * component on its own; in transfer graphs that is most of them. What remains is split with the
+ * forward-backward method on a fork/join pool: the accounts reachable both from and back to a pivot
+ * form the pivot's component, and the accounts reachable only forwards, only backwards, or neither
+ * are three sets that share no component and are processed in parallel. A set that is small, or
+ * that a split barely shrinks, is finished with Tarjan's algorithm, so the worst case stays close
+ * to linear. Components are numbered in ascending order of their lowest vertex.</p>
+ */
+public final class StrongComponents {
+
+    private static final int SERIAL_THRESHOLD = 8192;
+    private static final double MIN_SHRINK = 0.9;
+
+    private final int[] component;
+    private final int[] sizes;
+
+    private StrongComponents(int[] component, int[] sizes) {
+        this.component = component;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Computes the components of a graph.
+     *
+     * @param graph the graph
+     * @param pool  the pool the sets are processed on
+     * @return the components
+     */
+    public static StrongComponents of(TransferGraph graph, ForkJoinPool pool) {
+        Search search = new Search(graph);
+        int[] remaining = search.trim();
+        if (remaining.length > 0) {
+            pool.invoke(new SplitTask(search, remaining, Search.ACTIVE));
+        }
+        return search.renumber();
+    }
+
+    /**
+     * @return the number of components, counting single accounts
+     */
+    public int count() {
+        return sizes.length;
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the component it belongs to, in {@code [0, count())}
+     */
+    public int component(int vertex) {
+        return component[vertex];
+    }
+
+    /**
+     * @param id the component
+     * @return the number of vertices in it
+     */
+    public int size(int id) {
+        return sizes[id];
+    }
+
+    /**
+     * State shared by the tasks of one computation. Tasks own disjoint vertex sets, labelled in
+     * {@code part} with a number no other set uses, and only write the entries of their own vertices;
+     * a finished vertex is labelled {@link #DONE}. Reading the label of a vertex owned by another task
+     * can therefore never match the reader's own label.
+     */
+    private static final class Search {
+
+        static final int DONE = 0;
+        static final int ACTIVE = 1;
+
+        private final TransferGraph graph;
+        private final int[] part;
+        private final int[] component;
+        private final int[] index;
+        private final int[] low;
+        private final boolean[] onStack;
+        private final AtomicInteger nextPart = new AtomicInteger(ACTIVE);
+        private final AtomicInteger nextComponent = new AtomicInteger();
+
+        Search(TransferGraph graph) {
+            this.graph = graph;
+            int vertices = graph.vertexCount();
+            this.part = new int[vertices];
+            this.component = new int[vertices];
+            this.index = new int[vertices];
+            this.low = new int[vertices];
+            this.onStack = new boolean[vertices];
+        }
+
+        /**
+         * Repeatedly removes vertices with no incoming or no outgoing edge left, as components of
+         * their own.
+         *
+         * @return the vertices left, ascending
+         */
+        int[] trim() {
+            int vertices = graph.vertexCount();
+            int[] in = new int[vertices];
+            int[] out = new int[vertices];
+            int[] queue = new int[vertices];
+            int tail = 0;
+            for (int v = 0; v < vertices; v++) {
+                in[v] = graph.inDegree(v);
+                out[v] = graph.outDegree(v);
+                if (in[v] == 0 || out[v] == 0) {
+                    queue[tail++] = v;
+                } else {
+                    part[v] = ACTIVE;
+                }
+            }
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                component[v] = nextComponent.getAndIncrement();
+                for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+                    int w = graph.target(e);
+                    if (part[w] == ACTIVE && --in[w] == 0) {
+                        part[w] = DONE;
+                        queue[tail++] = w;
+                    }
+                }
+                for (int p = graph.inStart(v); p < graph.inEnd(v); p++) {
+                    int u = graph.source(p);
+                    if (part[u] == ACTIVE && --out[u] == 0) {
+                        part[u] = DONE;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+            int[] remaining = new int[vertices - tail];
+            int size = 0;
+            for (int v = 0; v < vertices; v++) {
+                if (part[v] == ACTIVE) {
+                    remaining[size++] = v;
+                }
+            }
+            return remaining;
+        }
+
+        /**
+         * Splits a set around the component of a pivot, which it labels as finished.
+         *
+         * @return the vertices reachable only forwards, only backwards, and neither, each labelled with
+         *         its own part
+         */
+        Part[] split(int[] members, int label) {
+            int pivot = members[0];
+            long best = -1;
+            for (int v : members) {
+                long degree = (long) graph.inDegree(v) * graph.outDegree(v);
+                if (degree > best) {
+                    best = degree;
+                    pivot = v;
+                }
+            }
+            int forward = nextPart.incrementAndGet();
+            int backward = nextPart.incrementAndGet();
+            int[] queue = new int[members.length];
+            int tail = 0;
+            part[pivot] = forward;
+            queue[tail++] = pivot;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+                    int w = graph.target(e);
+                    if (part[w] == label) {
+                        part[w] = forward;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            int found = nextComponent.getAndIncrement();
+            tail = 0;
+            part[pivot] = DONE;
+            component[pivot] = found;
+            queue[tail++] = pivot;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int p = graph.inStart(v); p < graph.inEnd(v); p++) {
+                    int u = graph.source(p);
+                    if (part[u] == forward) {
+                        part[u] = DONE;
+                        component[u] = found;
+                        queue[tail++] = u;
+                    } else if (part[u] == label) {
+                        part[u] = backward;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+            return new Part[]{collect(members, forward), collect(members, backward), collect(members, label)};
+        }
+
+        private Part collect(int[] members, int label) {
+            int size = 0;
+            for (int v : members) {
+                if (part[v] == label) {
+                    size++;
+                }
+            }
+            int[] vertices = new int[size];
+            size = 0;
+            for (int v : members) {
+                if (part[v] == label) {
+                    vertices[size++] = v;
+                }
+            }
+            return new Part(vertices, label);
+        }
+
+        /**
+         * Tarjan's algorithm over the vertices labelled {@code label}, with an explicit call stack.
+         */
+        void tarjan(int[] members, int label) {
+            int[] stack = new int[members.length];
+            int[] callVertex = new int[members.length];
+            int[] callEdge = new int[members.length];
+            int sp = 0;
+            int counter = 0;
+            for (int root : members) {
+                if (part[root] != label || index[root] != 0) {
+                    continue;
+                }
+                index[root] = ++counter;
+                low[root] = counter;
+                stack[sp++] = root;
+                onStack[root] = true;
+                callVertex[0] = root;
+                callEdge[0] = graph.outStart(root);
+                int depth = 1;
+                while (depth > 0) {
+                    int v = callVertex[depth - 1];
+                    int e = callEdge[depth - 1];
+                    if (e < graph.outEnd(v)) {
+                        callEdge[depth - 1] = e + 1;
+                        int w = graph.target(e);
+                        if (part[w] != label) {
+                            continue;
+                        }
+                        if (index[w] == 0) {
+                            index[w] = ++counter;
+                            low[w] = counter;
+                            stack[sp++] = w;
+                            onStack[w] = true;
+                            callVertex[depth] = w;
+                            callEdge[depth++] = graph.outStart(w);
+                        } else if (onStack[w]) {
+                            low[v] = Math.min(low[v], index[w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (low[v] == index[v]) {
+                        int found = nextComponent.getAndIncrement();
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            part[w] = DONE;
+                            component[w] = found;
+                        } while (w != v);
+                    }
+                    if (depth > 0) {
+                        int caller = callVertex[depth - 1];
+                        low[caller] = Math.min(low[caller], low[v]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Renumbers the components in order of their lowest vertex and counts their sizes.
+         */
+        StrongComponents renumber() {
+            int[] mapping = new int[nextComponent.get()];
+            Arrays.fill(mapping, -1);
+            int count = 0;
+            for (int v = 0; v < component.length; v++) {
+                int old = component[v];
+                if (mapping[old] < 0) {
+                    mapping[old] = count++;
+                }
+                component[v] = mapping[old];
+            }
+            int[] sizes = new int[count];
+            for (int c : component) {
+                sizes[c]++;
+            }
+            return new StrongComponents(component, sizes);
+        }
+    }
+
+    /**
+     * Processes one set: splits it while splits pay off, keeping the largest piece and forking the
+     * others, then runs Tarjan's algorithm on what is left.
+     */
+    private static final class SplitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        private final int[] members;
+        private final int label;
+
+        SplitTask(Search search, int[] members, int label) {
+            this.search = search;
+            this.members = members;
+            this.label = label;
+        }
+
+        @Override
+        protected void compute() {
+            List<SplitTask> forked = new ArrayList<>();
+            Part current = new Part(members, label);
+            while (current.vertices().length > SERIAL_THRESHOLD) {
+                Part[] parts = search.split(current.vertices(), current.label());
+                Part largest = parts[0];
+                for (Part candidate : parts) {
+                    if (candidate.vertices().length > largest.vertices().length) {
+                        largest = candidate;
+                    }
+                }
+                for (Part candidate : parts) {
+                    if (candidate != largest && candidate.vertices().length > 0) {
+                        SplitTask task = new SplitTask(search, candidate.vertices(), candidate.label());
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+                boolean shrunk = largest.vertices().length < MIN_SHRINK * current.vertices().length;
+                current = largest;
+                if (!shrunk) {
+                    break;
+                }
+            }
+            if (current.vertices().length > 0) {
+                search.tarjan(current.vertices(), current.label());
+            }
+            for (SplitTask task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    /**
+     * A set of vertices and the label they carry.
+     */
+    private record Part(int[] vertices, int label) {
+    }
+}
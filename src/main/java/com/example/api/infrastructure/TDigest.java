@@ -0,0 +1,325 @@
+package com.example.api.infrastructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (a merging t-digest).
+ *
+ * <p>Values are summarised as centroids: a mean and a weight. New values are buffered and
+ * periodically merged into the centroids in sorted order. A centroid may only grow while it spans
+ * at most one unit of the scale function {@code k(q) = compression / (2 pi) * asin(2q - 1)}, which is
+ * steep near {@code q = 0} and {@code q = 1}. Centroids therefore stay small in the tails, so extreme
+ * quantiles such as p99.9 keep their accuracy, and there are at most about {@code compression}
+ * of them. Digests merge by adding each other's centroids, so digests built separately, e.g. per
+ * day or per worker, combine into a digest of the union. Not thread-safe.</p>
+ */
+public final class TDigest {
+
+    private static final byte FORMAT = 1;
+    private static final int BUFFER_FACTOR = 5;
+
+    private final double compression;
+    private double[] means;
+    private long[] weights;
+    private int centroids;
+    private final double[] bufferMeans;
+    private final long[] bufferWeights;
+    private int buffered;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression accuracy parameter; higher keeps more centroids and is more accurate
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10 && compression <= 10_000)) {
+            throw new IllegalArgumentException("Digest compression must be between 10 and 10000");
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) + 8;
+        this.means = new double[capacity];
+        this.weights = new long[capacity];
+        this.bufferMeans = new double[capacity * BUFFER_FACTOR];
+        this.bufferWeights = new long[capacity * BUFFER_FACTOR];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value a finite value
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Adds a value with a weight.
+     *
+     * @param value  a finite value
+     * @param weight a positive weight
+     */
+    public void add(double value, long weight) {
+        if (!Double.isFinite(value) || weight < 1) {
+            throw new IllegalArgumentException("Digest values must be finite and weights positive");
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        count = Math.addExact(count, weight);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds every value summarised by another digest.
+     *
+     * @param other the digest to fold in; left unchanged
+     */
+    public void merge(TDigest other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        for (int i = 0; i < other.buffered; i++) {
+            add(other.bufferMeans[i], other.bufferWeights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param q the quantile, in {@code [0, 1]}
+     * @return the estimated value, or {@code NaN} if the digest is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // Interpolate linearly between the minimum, the centre of each centroid and the maximum.
+        double index = q * count;
+        double previousPosition = 0;
+        double previousValue = min;
+        double cumulative = 0;
+        for (int i = 0; i < centroids; i++) {
+            double position = cumulative + weights[i] / 2.0;
+            if (index <= position) {
+                return interpolate(index, previousPosition, previousValue, position, means[i]);
+            }
+            previousPosition = position;
+            previousValue = means[i];
+            cumulative += weights[i];
+        }
+        return interpolate(index, previousPosition, previousValue, count, max);
+    }
+
+    /**
+     * @return the total weight of the values added
+     */
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * @return the number of centroids once buffered values are merged
+     */
+    public int centroids() {
+        compress();
+        return centroids;
+    }
+
+    /**
+     * Serializes the digest compactly.
+     *
+     * @return the bytes read back by {@link #fromBytes}
+     */
+    public byte[] toBytes() {
+        compress();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(40 + centroids * 16);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT);
+            output.writeDouble(compression);
+            output.writeLong(count);
+            output.writeDouble(min);
+            output.writeDouble(max);
+            output.writeInt(centroids);
+            for (int i = 0; i < centroids; i++) {
+                output.writeDouble(means[i]);
+                output.writeLong(weights[i]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a digest written by {@link #toBytes}.
+     *
+     * @param bytes the serialized digest
+     * @return the digest
+     */
+    public static TDigest fromBytes(byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (input.readByte() != FORMAT) {
+                throw new IllegalArgumentException("Unknown digest format");
+            }
+            TDigest digest = new TDigest(input.readDouble());
+            long count = input.readLong();
+            double min = input.readDouble();
+            double max = input.readDouble();
+            int centroids = input.readInt();
+            if (centroids < 0 || centroids > digest.means.length) {
+                throw new IllegalArgumentException("Corrupt digest: " + centroids + " centroids");
+            }
+            for (int i = 0; i < centroids; i++) {
+                digest.means[i] = input.readDouble();
+                digest.weights[i] = input.readLong();
+            }
+            digest.centroids = centroids;
+            digest.count = count;
+            digest.min = min;
+            digest.max = max;
+            return digest;
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Corrupt digest", ex);
+        }
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, buffered - 1);
+        int n = centroids + buffered;
+        double[] sortedMeans = new double[n];
+        long[] sortedWeights = new long[n];
+        int c = 0;
+        int b = 0;
+        for (int i = 0; i < n; i++) {
+            if (b == buffered || (c < centroids && means[c] <= bufferMeans[b])) {
+                sortedMeans[i] = means[c];
+                sortedWeights[i] = weights[c++];
+            } else {
+                sortedMeans[i] = bufferMeans[b];
+                sortedWeights[i] = bufferWeights[b++];
+            }
+        }
+        buffered = 0;
+        double total = count;
+        double weightSoFar = 0;
+        double mean = sortedMeans[0];
+        long weight = sortedWeights[0];
+        int out = 0;
+        for (int i = 1; i < n; i++) {
+            long proposed = weight + sortedWeights[i];
+            if (scale((weightSoFar + proposed) / total) - scale(weightSoFar / total) <= 1) {
+                mean += (sortedMeans[i] - mean) * sortedWeights[i] / proposed;
+                weight = proposed;
+            } else {
+                out = emit(out, mean, weight);
+                weightSoFar += weight;
+                mean = sortedMeans[i];
+                weight = sortedWeights[i];
+            }
+        }
+        centroids = emit(out, mean, weight);
+    }
+
+    private int emit(int position, double mean, long weight) {
+        if (position == means.length) {
+            means = Arrays.copyOf(means, means.length * 2);
+            weights = Arrays.copyOf(weights, weights.length * 2);
+        }
+        means[position] = mean;
+        weights[position] = weight;
+        return position + 1;
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    private static double interpolate(double x, double x0, double y0, double x1, double y1) {
+        if (x1 <= x0) {
+            return y1;
+        }
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+    /**
+     * Sorts values and their weights together by value: quicksort with insertion sort for short
+     * ranges, without boxing.
+     */
+    private static void sort(double[] values, long[] weights, int from, int to) {
+        while (to - from > 16) {
+            double pivot = values[(from + to) >>> 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, weights, i++, j--);
+                }
+            }
+            if (j - from < to - i) {
+                sort(values, weights, from, j);
+                from = i;
+            } else {
+                sort(values, weights, i, to);
+                to = j;
+            }
+        }
+        for (int i = from + 1; i <= to; i++) {
+            double value = values[i];
+            long weight = weights[i];
+            int j = i - 1;
+            while (j >= from && values[j] > value) {
+                values[j + 1] = values[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            values[j + 1] = value;
+            weights[j + 1] = weight;
+        }
+    }
+
+    private static void swap(double[] values, long[] weights, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        long weight = weights[i];
+        weights[i] = weights[j];
+        weights[j] = weight;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.api.infrastructure;
+
+/**
+ * A document matched by a text search.
+ *
+ * @param id    document id
+ * @param score relevance; higher is better
+ */
+public record TextMatch(
+        long id,
+        float score
+) {
+}
@@ -0,0 +1,78 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the versioned FX rate table.
+ */
+@Repository
+public class TipoCambioJdbcRepository {
+
+    private static final String INSERT = "INSERT INTO tipos_cambio (version, divisa, tasa, fecha_carga) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_VERSION = "SELECT divisa, tasa, fecha_carga FROM tipos_cambio "
+            + "WHERE version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TipoCambioJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the newest stored rate set version.
+     *
+     * @return the version, or {@code 0} if no rates have been loaded
+     */
+    public long findLatestVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT MAX(version) FROM tipos_cambio", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Reads one rate set.
+     *
+     * @param version the version to read
+     * @return the rate set, empty if the version does not exist
+     */
+    public TipoCambioVersion findVersion(long version) {
+        Map<String, BigDecimal> tasas = new HashMap<>();
+        Instant[] fechaCarga = {Instant.EPOCH};
+        jdbcTemplate.query(SELECT_VERSION, (RowCallbackHandler) rs -> {
+            tasas.put(rs.getString("divisa"), rs.getBigDecimal("tasa"));
+            fechaCarga[0] = rs.getObject("fecha_carga", OffsetDateTime.class).toInstant();
+        }, version);
+        return new TipoCambioVersion(version, fechaCarga[0], tasas);
+    }
+
+    /**
+     * Stores a complete rate set in one JDBC batch. Fails with a key violation if another writer
+     * stored the same version first.
+     *
+     * @param version    the new version
+     * @param tasas      units of each currency per unit of the base currency
+     * @param fechaCarga the load timestamp
+     */
+    public void insertVersion(long version, Map<String, BigDecimal> tasas, Instant fechaCarga) {
+        OffsetDateTime timestamp = fechaCarga.atOffset(ZoneOffset.UTC);
+        List<Map.Entry<String, BigDecimal>> rows = new ArrayList<>(tasas.entrySet());
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, version);
+            statement.setString(2, row.getKey());
+            statement.setBigDecimal(3, row.getValue());
+            statement.setObject(4, timestamp);
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.api.infrastructure;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A stored FX rate set.
+ *
+ * @param version    rate set version
+ * @param fechaCarga when the set was loaded
+ * @param tasas      units of each currency per unit of the base currency
+ */
+public record TipoCambioVersion(
+        long version,
+        Instant fechaCarga,
+        Map<String, BigDecimal> tasas
+) {
+
+    public TipoCambioVersion {
+        tasas = Map.copyOf(tasas);
+    }
+}
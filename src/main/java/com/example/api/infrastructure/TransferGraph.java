@@ -0,0 +1,527 @@
+package com.example.api.infrastructure;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Immutable directed graph of money flows between accounts, in compressed sparse row form.
+ *
+ * <p>Accounts are numbered {@code 0..vertexCount()-1} in ascending id order. The edges leaving
+ * vertex {@code v} are {@code [outStart(v), outEnd(v))}, sorted by target; every transfer between
+ * the same two accounts in the same direction is folded into one edge carrying their total amount.
+ * The edges entering each vertex are kept the same way, sorted by source, so the graph can be walked
+ * backwards. Everything is held in primitive arrays: one int per edge and direction, one long per
+ * edge amount and a few values per account, with no object per edge or account.</p>
+ */
+public final class TransferGraph {
+
+    private static final int MAX_TRANSFERS = Integer.MAX_VALUE / 2;
+    private static final int INSERTION_SORT = 16;
+    private static final int GRAIN = 4096;
+
+    private final long[] cuentas;
+    private final int[] outStart;
+    private final int[] targets;
+    private final long[] importes;
+    private final int[] inStart;
+    private final int[] sources;
+    private final long[] pagado;
+    private final long[] recibido;
+    private final long transferencias;
+
+    private TransferGraph(long[] cuentas, int[] outStart, int[] targets, long[] importes, int[] inStart,
+                          int[] sources, long[] pagado, long[] recibido, long transferencias) {
+        this.cuentas = cuentas;
+        this.outStart = outStart;
+        this.targets = targets;
+        this.importes = importes;
+        this.inStart = inStart;
+        this.sources = sources;
+        this.pagado = pagado;
+        this.recibido = recibido;
+        this.transferencias = transferencias;
+    }
+
+    /**
+     * @param expectedTransfers initial capacity; the builder grows as needed
+     * @return a builder that collects transfers in any order
+     */
+    public static Builder builder(int expectedTransfers) {
+        return new Builder(expectedTransfers);
+    }
+
+    /**
+     * @return the number of accounts with at least one transfer
+     */
+    public int vertexCount() {
+        return cuentas.length;
+    }
+
+    /**
+     * @return the number of distinct {@code (origen, destino)} account pairs
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @return the number of transfers the graph was built from
+     */
+    public long transferencias() {
+        return transferencias;
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the id of its account
+     */
+    public long cuenta(int vertex) {
+        return cuentas[vertex];
+    }
+
+    /**
+     * @param cuentaId the account id
+     * @return the vertex of the account, or {@code -1} if it has no transfers
+     */
+    public int vertexOf(long cuentaId) {
+        int vertex = Arrays.binarySearch(cuentas, cuentaId);
+        return vertex < 0 ? -1 : vertex;
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the first edge leaving it
+     */
+    public int outStart(int vertex) {
+        return outStart[vertex];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return one past the last edge leaving it
+     */
+    public int outEnd(int vertex) {
+        return outStart[vertex + 1];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the number of distinct accounts it paid
+     */
+    public int outDegree(int vertex) {
+        return outStart[vertex + 1] - outStart[vertex];
+    }
+
+    /**
+     * @param edge an edge, as returned by {@link #outStart(int)}
+     * @return the vertex it points to
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param edge an edge, as returned by {@link #outStart(int)}
+     * @return the total amount of its transfers, in minor units
+     */
+    public long importe(int edge) {
+        return importes[edge];
+    }
+
+    /**
+     * Looks up the edge between two vertices by binary search of the source's edges.
+     *
+     * @param from the source vertex
+     * @param to   the target vertex
+     * @return the edge, or {@code -1} if {@code from} never paid {@code to}
+     */
+    public int edge(int from, int to) {
+        int edge = Arrays.binarySearch(targets, outStart[from], outStart[from + 1], to);
+        return edge < 0 ? -1 : edge;
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the position of the first edge entering it; see {@link #source(int)}
+     */
+    public int inStart(int vertex) {
+        return inStart[vertex];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return one past the position of the last edge entering it
+     */
+    public int inEnd(int vertex) {
+        return inStart[vertex + 1];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the number of distinct accounts that paid it
+     */
+    public int inDegree(int vertex) {
+        return inStart[vertex + 1] - inStart[vertex];
+    }
+
+    /**
+     * @param position a position in {@code [inStart(v), inEnd(v))}
+     * @return the vertex the edge comes from
+     */
+    public int source(int position) {
+        return sources[position];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the total amount it paid, in minor units
+     */
+    public long pagado(int vertex) {
+        return pagado[vertex];
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the total amount it received, in minor units
+     */
+    public long recibido(int vertex) {
+        return recibido[vertex];
+    }
+
+    /**
+     * Collects transfers as parallel primitive arrays. Not thread-safe: each reader fills its own
+     * builder and the builders are merged before {@link #build}.
+     */
+    public static final class Builder {
+
+        private long[] origenes;
+        private long[] destinos;
+        private long[] montos;
+        private int size;
+
+        private Builder(int expectedTransfers) {
+            int capacity = Math.min(Math.max(16, expectedTransfers), MAX_TRANSFERS);
+            origenes = new long[capacity];
+            destinos = new long[capacity];
+            montos = new long[capacity];
+        }
+
+        /**
+         * Adds one transfer. Transfers from an account to itself are ignored.
+         *
+         * @param origen  the paying account
+         * @param destino the receiving account
+         * @param importe the amount, in minor units
+         * @throws IllegalStateException if the builder already holds the most transfers a graph supports
+         */
+        public void add(long origen, long destino, long importe) {
+            if (origen == destino) {
+                return;
+            }
+            ensureCapacity(size + 1L);
+            origenes[size] = origen;
+            destinos[size] = destino;
+            montos[size++] = importe;
+        }
+
+        /**
+         * Appends the transfers of another builder.
+         *
+         * @param other the builder to append; it must not be used afterwards
+         * @return this builder
+         */
+        public Builder merge(Builder other) {
+            ensureCapacity((long) size + other.size);
+            System.arraycopy(other.origenes, 0, origenes, size, other.size);
+            System.arraycopy(other.destinos, 0, destinos, size, other.size);
+            System.arraycopy(other.montos, 0, montos, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        /**
+         * @return the number of transfers added
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds the graph, numbering the accounts, grouping the transfers by source with a counting
+         * sort and folding repeated pairs. Per-account steps run on the given pool; the builder's
+         * arrays are released as soon as they are consumed, so it can only build once.
+         *
+         * @param pool the pool for the per-account steps
+         * @return the graph
+         * @throws ArithmeticException   if the total amount of an edge or account overflows
+         * @throws IllegalStateException if the builder was already built
+         */
+        public TransferGraph build(ForkJoinPool pool) {
+            if (origenes == null) {
+                throw new IllegalStateException("Transfer graph already built");
+            }
+            int transfers = size;
+            AccountIndex index = AccountIndex.of(origenes, destinos, transfers);
+            long[] cuentas = index.cuentas;
+            int vertices = cuentas.length;
+            int[] src = new int[transfers];
+            int[] dst = new int[transfers];
+            long[] from = origenes;
+            long[] to = destinos;
+            RangeTask.run(pool, transfers, GRAIN * 16, i -> {
+                src[i] = index.vertexOf(from[i]);
+                dst[i] = index.vertexOf(to[i]);
+            });
+            origenes = null;
+            destinos = null;
+
+            int[] rowStart = new int[vertices + 1];
+            for (int i = 0; i < transfers; i++) {
+                rowStart[src[i] + 1]++;
+            }
+            prefixSum(rowStart);
+            int[] rowTarget = new int[transfers];
+            long[] rowImporte = new long[transfers];
+            int[] next = Arrays.copyOf(rowStart, vertices);
+            for (int i = 0; i < transfers; i++) {
+                int position = next[src[i]]++;
+                rowTarget[position] = dst[i];
+                rowImporte[position] = montos[i];
+            }
+            montos = null;
+
+            int[] outStart = new int[vertices + 1];
+            RangeTask.run(pool, vertices, GRAIN, v -> outStart[v + 1] =
+                    mergeRow(rowTarget, rowImporte, rowStart[v], rowStart[v + 1]));
+            prefixSum(outStart);
+            int edges = outStart[vertices];
+            int[] targets = new int[edges];
+            long[] importes = new long[edges];
+            long[] pagado = new long[vertices];
+            RangeTask.run(pool, vertices, GRAIN, v -> {
+                int degree = outStart[v + 1] - outStart[v];
+                System.arraycopy(rowTarget, rowStart[v], targets, outStart[v], degree);
+                System.arraycopy(rowImporte, rowStart[v], importes, outStart[v], degree);
+                long total = 0;
+                for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                    total = Math.addExact(total, importes[e]);
+                }
+                pagado[v] = total;
+            });
+
+            int[] inStart = new int[vertices + 1];
+            for (int target : targets) {
+                inStart[target + 1]++;
+            }
+            prefixSum(inStart);
+            int[] sources = new int[edges];
+            long[] recibido = new long[vertices];
+            next = Arrays.copyOf(inStart, vertices);
+            for (int v = 0; v < vertices; v++) {
+                for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                    int target = targets[e];
+                    sources[next[target]++] = v;
+                    recibido[target] = Math.addExact(recibido[target], importes[e]);
+                }
+            }
+            return new TransferGraph(cuentas, outStart, targets, importes, inStart, sources, pagado, recibido,
+                    transfers);
+        }
+
+        private void ensureCapacity(long required) {
+            if (required > MAX_TRANSFERS) {
+                throw new IllegalStateException("A transfer graph holds at most " + MAX_TRANSFERS + " transfers");
+            }
+            if (required > origenes.length) {
+                int capacity = (int) Math.min(MAX_TRANSFERS, Math.max(required, 2L * origenes.length));
+                origenes = Arrays.copyOf(origenes, capacity);
+                destinos = Arrays.copyOf(destinos, capacity);
+                montos = Arrays.copyOf(montos, capacity);
+            }
+        }
+
+        private static void prefixSum(int[] counts) {
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+        }
+
+        /**
+         * Sorts the edges {@code [from, to)} of one source by target and folds repeated targets into the
+         * first, moving the distinct edges to the front of the range.
+         *
+         * @return the number of distinct targets
+         */
+        private static int mergeRow(int[] targets, long[] importes, int from, int to) {
+            int length = to - from;
+            if (length <= INSERTION_SORT) {
+                for (int i = from + 1; i < to; i++) {
+                    int target = targets[i];
+                    long importe = importes[i];
+                    int j = i - 1;
+                    for (; j >= from && targets[j] > target; j--) {
+                        targets[j + 1] = targets[j];
+                        importes[j + 1] = importes[j];
+                    }
+                    targets[j + 1] = target;
+                    importes[j + 1] = importe;
+                }
+            } else {
+                long[] keys = new long[length];
+                for (int i = 0; i < length; i++) {
+                    keys[i] = (long) targets[from + i] << Integer.SIZE | i;
+                }
+                Arrays.sort(keys);
+                long[] sorted = new long[length];
+                for (int i = 0; i < length; i++) {
+                    sorted[i] = importes[from + (int) keys[i]];
+                }
+                for (int i = 0; i < length; i++) {
+                    targets[from + i] = (int) (keys[i] >>> Integer.SIZE);
+                }
+                System.arraycopy(sorted, 0, importes, from, length);
+            }
+            int write = from;
+            for (int read = from; read < to; read++) {
+                if (write > from && targets[write - 1] == targets[read]) {
+                    importes[write - 1] = Math.addExact(importes[write - 1], importes[read]);
+                } else {
+                    targets[write] = targets[read];
+                    importes[write++] = importes[read];
+                }
+            }
+            return write - from;
+        }
+    }
+
+    /**
+     * Numbers the accounts of a set of transfers in ascending id order and maps ids to vertices. When
+     * the ids are dense, as sequential ids are, the map is a table indexed by id minus the lowest id,
+     * and numbering needs no sort; otherwise it is an open-addressing hash table, and only the
+     * distinct ids are sorted.
+     */
+    private static final class AccountIndex {
+
+        private static final int DENSE_MIN_SPAN = 1 << 16;
+        private static final float LOAD_FACTOR = 0.5f;
+
+        private long[] cuentas;
+        private long base;
+        private int[] direct;
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        private AccountIndex() {
+        }
+
+        static AccountIndex of(long[] origenes, long[] destinos, int transfers) {
+            AccountIndex index = new AccountIndex();
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < transfers; i++) {
+                min = Math.min(min, Math.min(origenes[i], destinos[i]));
+                max = Math.max(max, Math.max(origenes[i], destinos[i]));
+            }
+            long span = max - min + 1;
+            if (transfers == 0 || span > 0 && span <= Math.max(DENSE_MIN_SPAN, 2L * transfers)) {
+                index.dense(origenes, destinos, transfers, min, transfers == 0 ? 0 : (int) span);
+            } else {
+                index.hashed(origenes, destinos, transfers);
+            }
+            return index;
+        }
+
+        /**
+         * @return the vertex of an account that is in the index
+         */
+        int vertexOf(long cuentaId) {
+            if (direct != null) {
+                return direct[(int) (cuentaId - base)] - 1;
+            }
+            int slot = (int) PairFlowTable.mix(cuentaId) & mask;
+            while (keys[slot] != cuentaId) {
+                slot = (slot + 1) & mask;
+            }
+            return values[slot] - 1;
+        }
+
+        private void dense(long[] origenes, long[] destinos, int transfers, long min, int span) {
+            base = min;
+            direct = new int[span];
+            for (int i = 0; i < transfers; i++) {
+                direct[(int) (origenes[i] - min)] = 1;
+                direct[(int) (destinos[i] - min)] = 1;
+            }
+            int count = 0;
+            for (int offset = 0; offset < span; offset++) {
+                if (direct[offset] != 0) {
+                    direct[offset] = ++count;
+                }
+            }
+            cuentas = new long[count];
+            for (int offset = 0; offset < span; offset++) {
+                if (direct[offset] != 0) {
+                    cuentas[direct[offset] - 1] = min + offset;
+                }
+            }
+        }
+
+        private void hashed(long[] origenes, long[] destinos, int transfers) {
+            allocate(64);
+            for (int i = 0; i < transfers; i++) {
+                insert(origenes[i]);
+                insert(destinos[i]);
+            }
+            cuentas = new long[size];
+            int count = 0;
+            for (int slot = 0; slot < values.length; slot++) {
+                if (values[slot] != 0) {
+                    cuentas[count++] = keys[slot];
+                }
+            }
+            Arrays.sort(cuentas);
+            for (int vertex = 0; vertex < cuentas.length; vertex++) {
+                int slot = (int) PairFlowTable.mix(cuentas[vertex]) & mask;
+                while (keys[slot] != cuentas[vertex]) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = vertex + 1;
+            }
+        }
+
+        private void insert(long cuentaId) {
+            int slot = (int) PairFlowTable.mix(cuentaId) & mask;
+            while (values[slot] != 0) {
+                if (keys[slot] == cuentaId) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = cuentaId;
+            values[slot] = 1;
+            if (++size > values.length * LOAD_FACTOR) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                allocate(values.length * 2);
+                for (int old = 0; old < oldValues.length; old++) {
+                    if (oldValues[old] != 0) {
+                        int moved = (int) PairFlowTable.mix(oldKeys[old]) & mask;
+                        while (values[moved] != 0) {
+                            moved = (moved + 1) & mask;
+                        }
+                        keys[moved] = oldKeys[old];
+                        values[moved] = 1;
+                    }
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A read-only columnar file of archived transfers, as written by {@link TransferenciaArchiveWriter}.
+ *
+ * <p>The file is a sequence of blocks followed by a footer. Each block holds up to a fixed number of
+ * transfers in ascending id order, stored column by column, and each column of a block is compressed
+ * on its own. The footer records, for every block, the lowest and highest id, source account,
+ * destination account and creation time, plus where each column starts. Opening a file reads only the
+ * footer; a lookup then decompresses only the columns it needs of the blocks whose ranges can hold a
+ * match. Instances are immutable and safe to share between threads.</p>
+ *
+ * <p>Layout: {@code MAGIC, VERSION}, the blocks, the footer, then the footer length and {@code MAGIC}
+ * again. Whole numbers are zig-zag varints, delta-encoded down each numeric column.</p>
+ */
+public final class TransferenciaArchiveFile {
+
+    static final int MAGIC = 0x54524158;
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 5;
+    static final int TRAILER_LENGTH = 8;
+
+    private final Path path;
+    private final List<Block> blocks;
+    private final long[] positions;
+    private final Block summary;
+
+    private TransferenciaArchiveFile(Path path, List<Block> blocks, long[] positions) {
+        this.path = path;
+        this.blocks = List.copyOf(blocks);
+        this.positions = positions;
+        this.summary = Block.union(blocks);
+    }
+
+    /**
+     * Opens a finished archive file, reading its footer.
+     *
+     * @param path the file
+     * @return the opened file
+     * @throws IllegalStateException if the file is not a complete archive file
+     */
+    public static TransferenciaArchiveFile open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+                throw new IllegalStateException("Truncated archive file: " + path);
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+            ByteBuffer trailer = readFully(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+            int footerLength = trailer.getInt();
+            if (header.getInt() != MAGIC || trailer.getInt() != MAGIC
+                    || footerLength < 0 || footerLength > size - HEADER_LENGTH - TRAILER_LENGTH) {
+                throw new IllegalStateException("Not an archive file: " + path);
+            }
+            int version = header.get();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported archive file version " + version + ": " + path);
+            }
+            ByteBuffer buffer = readFully(channel, size - TRAILER_LENGTH - footerLength, footerLength);
+            DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+                    buffer.array(), 0, buffer.limit()));
+            int count = footer.readInt();
+            List<Block> blocks = new ArrayList<>(count);
+            for (int b = 0; b < count; b++) {
+                blocks.add(Block.readFrom(footer));
+            }
+            long[] positions = new long[count * Column.COUNT + 1];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = footer.readLong();
+            }
+            return new TransferenciaArchiveFile(path, blocks, positions);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return the file
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return the statistics of every block, in file order
+     */
+    public List<Block> blocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the statistics of the whole file, or {@code null} if it has no blocks
+     */
+    public Block summary() {
+        return summary;
+    }
+
+    /**
+     * Decompresses one numeric column of a block.
+     *
+     * @param block  the block index
+     * @param column {@link Column#ID}, {@link Column#CUENTA_ORIGEN} or {@link Column#CUENTA_DESTINO}
+     * @return the column values, in row order
+     */
+    public long[] readLongs(int block, Column column) {
+        if (column != Column.ID && column != Column.CUENTA_ORIGEN && column != Column.CUENTA_DESTINO) {
+            throw new IllegalArgumentException("Not an account or id column: " + column);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return decodeLongs(column(channel, block, column), blocks.get(block).rows());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Decompresses every column of a block.
+     *
+     * @param block the block index
+     * @return the transfers of the block, in ascending id order
+     */
+    public List<TransferenciaSnapshot> readRows(int block) {
+        int rows = blocks.get(block).rows();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] ids = decodeLongs(column(channel, block, Column.ID), rows);
+            long[] origenes = decodeLongs(column(channel, block, Column.CUENTA_ORIGEN), rows);
+            long[] destinos = decodeLongs(column(channel, block, Column.CUENTA_DESTINO), rows);
+            long[] importes = decodeLongs(column(channel, block, Column.IMPORTE), rows);
+            String[] divisas = decodeStrings(column(channel, block, Column.DIVISA), rows);
+            String[] conceptos = decodeStrings(column(channel, block, Column.CONCEPTO), rows);
+            String[] estados = decodeStrings(column(channel, block, Column.ESTADO), rows);
+            Instant[] creaciones = decodeInstants(column(channel, block, Column.FECHA_CREACION), rows);
+            Instant[] ejecuciones = decodeInstants(column(channel, block, Column.FECHA_EJECUCION), rows);
+            String[] referencias = decodeStrings(column(channel, block, Column.REFERENCIA_EXTERNA), rows);
+            List<TransferenciaSnapshot> result = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                result.add(new TransferenciaSnapshot(ids[i], origenes[i], destinos[i],
+                        BigDecimal.valueOf(importes[i], 2), divisas[i], conceptos[i],
+                        EstadoTransferencia.valueOf(estados[i]), creaciones[i], ejecuciones[i], referencias[i]));
+            }
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DataInputStream column(FileChannel channel, int block, Column column) throws IOException {
+        int index = block * Column.COUNT + column.ordinal();
+        long start = positions[index];
+        ByteBuffer buffer = readFully(channel, start, Math.toIntExact(positions[index + 1] - start));
+        try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(
+                buffer.array(), 0, buffer.limit()))) {
+            return new DataInputStream(new ByteArrayInputStream(input.readAllBytes()));
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of archive file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static long[] decodeLongs(DataInput input, int rows) throws IOException {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += readVarLong(input);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static String[] decodeStrings(DataInput input, int rows) throws IOException {
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = input.readBoolean() ? input.readUTF() : null;
+        }
+        return values;
+    }
+
+    private static Instant[] decodeInstants(DataInput input, int rows) throws IOException {
+        boolean[] present = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            present[i] = input.readBoolean();
+        }
+        Instant[] values = new Instant[rows];
+        long seconds = 0;
+        for (int i = 0; i < rows; i++) {
+            if (present[i]) {
+                seconds += readVarLong(input);
+                values[i] = Instant.ofEpochSecond(seconds);
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            if (present[i]) {
+                values[i] = values[i].plusNanos(readVarLong(input));
+            }
+        }
+        return values;
+    }
+
+    static void writeVarLong(DataOutput output, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            output.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        output.writeByte((int) v);
+    }
+
+    static long readVarLong(DataInput input) throws IOException {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IOException("Malformed varint in archive file");
+            }
+            b = input.readByte();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * The columns of a block, in the order they are stored.
+     */
+    public enum Column {
+        ID,
+        CUENTA_ORIGEN,
+        CUENTA_DESTINO,
+        IMPORTE,
+        DIVISA,
+        CONCEPTO,
+        ESTADO,
+        FECHA_CREACION,
+        FECHA_EJECUCION,
+        REFERENCIA_EXTERNA;
+
+        static final int COUNT = values().length;
+    }
+
+    /**
+     * Statistics of one block, or of a whole file.
+     *
+     * @param rows       number of transfers
+     * @param minId      lowest transfer id
+     * @param maxId      highest transfer id
+     * @param minOrigen  lowest source account id
+     * @param maxOrigen  highest source account id
+     * @param minDestino lowest destination account id
+     * @param maxDestino highest destination account id
+     * @param minFecha   earliest creation time
+     * @param maxFecha   latest creation time
+     */
+    public record Block(int rows, long minId, long maxId, long minOrigen, long maxOrigen, long minDestino,
+                        long maxDestino, Instant minFecha, Instant maxFecha) {
+
+        /**
+         * @param id a transfer id
+         * @return {@code false} if the block cannot hold the transfer
+         */
+        public boolean mayContainId(long id) {
+            return id >= minId && id <= maxId;
+        }
+
+        /**
+         * @param cuentaId an account id
+         * @param origen   {@code true} for the source account, {@code false} for the destination
+         * @return {@code false} if no transfer of the block can have the account on that side
+         */
+        public boolean mayContainCuenta(long cuentaId, boolean origen) {
+            return origen
+                    ? cuentaId >= minOrigen && cuentaId <= maxOrigen
+                    : cuentaId >= minDestino && cuentaId <= maxDestino;
+        }
+
+        static Block union(List<Block> blocks) {
+            if (blocks.isEmpty()) {
+                return null;
+            }
+            Block result = blocks.get(0);
+            for (int b = 1; b < blocks.size(); b++) {
+                Block other = blocks.get(b);
+                result = new Block(result.rows + other.rows,
+                        Math.min(result.minId, other.minId), Math.max(result.maxId, other.maxId),
+                        Math.min(result.minOrigen, other.minOrigen), Math.max(result.maxOrigen, other.maxOrigen),
+                        Math.min(result.minDestino, other.minDestino),
+                        Math.max(result.maxDestino, other.maxDestino),
+                        result.minFecha.isBefore(other.minFecha) ? result.minFecha : other.minFecha,
+                        result.maxFecha.isAfter(other.maxFecha) ? result.maxFecha : other.maxFecha);
+            }
+            return result;
+        }
+
+        void writeTo(DataOutput output) throws IOException {
+            output.writeInt(rows);
+            output.writeLong(minId);
+            output.writeLong(maxId);
+            output.writeLong(minOrigen);
+            output.writeLong(maxOrigen);
+            output.writeLong(minDestino);
+            output.writeLong(maxDestino);
+            output.writeLong(minFecha.getEpochSecond());
+            output.writeInt(minFecha.getNano());
+            output.writeLong(maxFecha.getEpochSecond());
+            output.writeInt(maxFecha.getNano());
+        }
+
+        static Block readFrom(DataInput input) throws IOException {
+            return new Block(input.readInt(), input.readLong(), input.readLong(), input.readLong(),
+                    input.readLong(), input.readLong(), input.readLong(),
+                    Instant.ofEpochSecond(input.readLong(), input.readInt()),
+                    Instant.ofEpochSecond(input.readLong(), input.readInt()));
+        }
+    }
+}
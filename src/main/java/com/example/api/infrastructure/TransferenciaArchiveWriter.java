@@ -0,0 +1,239 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes transfers to a new columnar archive file, in the format read by {@link TransferenciaArchiveFile}.
+ *
+ * <p>Transfers must be added in ascending id order. Only the block being filled is held in memory;
+ * every full block is compressed column by column and written out, so memory does not depend on the
+ * size of the file. The file is complete only after {@link #finish()}. Not thread-safe.</p>
+ */
+public final class TransferenciaArchiveWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 65_536;
+
+    private final DataOutputStream output;
+    private final int blockSize;
+    private final List<TransferenciaSnapshot> block;
+    private final List<TransferenciaArchiveFile.Block> blocks = new ArrayList<>();
+    private final List<Long> positions = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    private DeflaterOutputStream compressed;
+    private long position;
+    private long lastId = Long.MIN_VALUE;
+    private long rows;
+    private boolean finished;
+
+    /**
+     * Creates the file, replacing any existing file at the same path.
+     *
+     * @param path      the file
+     * @param blockSize transfers per block
+     */
+    public TransferenciaArchiveWriter(Path path, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.block = new ArrayList<>(Math.min(blockSize, BUFFER_SIZE));
+        try {
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+            output.writeInt(TransferenciaArchiveFile.MAGIC);
+            output.writeByte(TransferenciaArchiveFile.VERSION);
+        } catch (IOException ex) {
+            deflater.end();
+            throw new UncheckedIOException(ex);
+        }
+        this.position = TransferenciaArchiveFile.HEADER_LENGTH;
+    }
+
+    /**
+     * Appends a transfer.
+     *
+     * @param transferencia the transfer; its id must be higher than that of the previous one
+     */
+    public void add(TransferenciaSnapshot transferencia) {
+        if (finished) {
+            throw new IllegalStateException("Archive file is already finished");
+        }
+        if (transferencia.idTransferencia() <= lastId) {
+            throw new IllegalArgumentException("Transfers must be added in ascending id order: "
+                    + transferencia.idTransferencia() + " after " + lastId);
+        }
+        lastId = transferencia.idTransferencia();
+        block.add(transferencia);
+        rows++;
+        if (block.size() == blockSize) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the last block and the footer, and closes the file.
+     *
+     * @return the number of transfers written
+     */
+    public long finish() {
+        if (finished) {
+            return rows;
+        }
+        flushBlock();
+        finished = true;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream footer = new DataOutputStream(bytes);
+            footer.writeInt(blocks.size());
+            for (TransferenciaArchiveFile.Block stats : blocks) {
+                stats.writeTo(footer);
+            }
+            for (long start : positions) {
+                footer.writeLong(start);
+            }
+            footer.writeLong(position);
+            footer.flush();
+            bytes.writeTo(output);
+            output.writeInt(bytes.size());
+            output.writeInt(TransferenciaArchiveFile.MAGIC);
+            output.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        return rows;
+    }
+
+    /**
+     * Closes the file; unless {@link #finish()} was called first, it is left incomplete.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        deflater.end();
+        try {
+            output.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void flushBlock() {
+        if (block.isEmpty()) {
+            return;
+        }
+        try {
+            writeLongs(TransferenciaSnapshot::idTransferencia);
+            writeLongs(TransferenciaSnapshot::cuentaOrigenId);
+            writeLongs(TransferenciaSnapshot::cuentaDestinoId);
+            writeLongs(t -> t.importe().movePointRight(2).longValueExact());
+            writeStrings(TransferenciaSnapshot::divisa);
+            writeStrings(TransferenciaSnapshot::concepto);
+            writeStrings(t -> t.estado().name());
+            writeInstants(TransferenciaSnapshot::fechaCreacion);
+            writeInstants(TransferenciaSnapshot::fechaEjecucion);
+            writeStrings(TransferenciaSnapshot::referenciaExterna);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        blocks.add(statistics());
+        block.clear();
+    }
+
+    private TransferenciaArchiveFile.Block statistics() {
+        long minOrigen = Long.MAX_VALUE;
+        long maxOrigen = Long.MIN_VALUE;
+        long minDestino = Long.MAX_VALUE;
+        long maxDestino = Long.MIN_VALUE;
+        Instant minFecha = Instant.MAX;
+        Instant maxFecha = Instant.MIN;
+        for (TransferenciaSnapshot t : block) {
+            minOrigen = Math.min(minOrigen, t.cuentaOrigenId());
+            maxOrigen = Math.max(maxOrigen, t.cuentaOrigenId());
+            minDestino = Math.min(minDestino, t.cuentaDestinoId());
+            maxDestino = Math.max(maxDestino, t.cuentaDestinoId());
+            minFecha = t.fechaCreacion().isBefore(minFecha) ? t.fechaCreacion() : minFecha;
+            maxFecha = t.fechaCreacion().isAfter(maxFecha) ? t.fechaCreacion() : maxFecha;
+        }
+        return new TransferenciaArchiveFile.Block(block.size(), block.get(0).idTransferencia(),
+                block.get(block.size() - 1).idTransferencia(), minOrigen, maxOrigen, minDestino, maxDestino,
+                minFecha, maxFecha);
+    }
+
+    private void writeLongs(ToLongFunction<TransferenciaSnapshot> column) throws IOException {
+        DataOutputStream values = startChunk();
+        long previous = 0;
+        for (TransferenciaSnapshot t : block) {
+            long value = column.applyAsLong(t);
+            TransferenciaArchiveFile.writeVarLong(values, value - previous);
+            previous = value;
+        }
+        endChunk(values);
+    }
+
+    private void writeStrings(Function<TransferenciaSnapshot, String> column) throws IOException {
+        DataOutputStream values = startChunk();
+        for (TransferenciaSnapshot t : block) {
+            String value = column.apply(t);
+            values.writeBoolean(value != null);
+            if (value != null) {
+                values.writeUTF(value);
+            }
+        }
+        endChunk(values);
+    }
+
+    private void writeInstants(Function<TransferenciaSnapshot, Instant> column) throws IOException {
+        DataOutputStream values = startChunk();
+        for (TransferenciaSnapshot t : block) {
+            values.writeBoolean(column.apply(t) != null);
+        }
+        long previous = 0;
+        for (TransferenciaSnapshot t : block) {
+            Instant value = column.apply(t);
+            if (value != null) {
+                TransferenciaArchiveFile.writeVarLong(values, value.getEpochSecond() - previous);
+                previous = value.getEpochSecond();
+            }
+        }
+        for (TransferenciaSnapshot t : block) {
+            Instant value = column.apply(t);
+            if (value != null) {
+                TransferenciaArchiveFile.writeVarLong(values, value.getNano());
+            }
+        }
+        endChunk(values);
+    }
+
+    private DataOutputStream startChunk() {
+        chunk.reset();
+        deflater.reset();
+        compressed = new DeflaterOutputStream(chunk, deflater);
+        return new DataOutputStream(compressed);
+    }
+
+    private void endChunk(DataOutputStream values) throws IOException {
+        values.flush();
+        compressed.finish();
+        positions.add(position);
+        chunk.writeTo(output);
+        position += chunk.size();
+    }
+}
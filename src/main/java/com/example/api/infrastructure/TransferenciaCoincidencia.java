@@ -0,0 +1,15 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaSnapshot;
+
+/**
+ * A transfer matched by a full-text search on its concept.
+ *
+ * @param transferencia the matched transfer
+ * @param relevancia    relevance of the match; higher is better
+ */
+public record TransferenciaCoincidencia(
+        TransferenciaSnapshot transferencia,
+        float relevancia
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+
+import java.time.Instant;
+
+/**
+ * Optional filters applied to transfer queries; {@code null} components are ignored.
+ *
+ * @param cuentaOrigenId  source account identifier
+ * @param cuentaDestinoId destination account identifier
+ * @param desde           inclusive lower bound on the creation timestamp
+ * @param hasta           exclusive upper bound on the creation timestamp
+ * @param estado          transfer state
+ * @param divisa          currency code
+ */
+public record TransferenciaCriteria(
+        Long cuentaOrigenId,
+        Long cuentaDestinoId,
+        Instant desde,
+        Instant hasta,
+        EstadoTransferencia estado,
+        String divisa
+) {
+}
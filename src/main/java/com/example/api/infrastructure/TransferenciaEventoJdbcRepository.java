@@ -0,0 +1,133 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TipoEventoTransferencia;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access to the transfer change outbox for the feed relay.
+ */
+@Repository
+public class TransferenciaEventoJdbcRepository {
+
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final String SELECT_PENDING = "SELECT id FROM transferencias_eventos "
+            + "WHERE secuencia IS NULL ORDER BY id LIMIT ?";
+
+    private static final String PUBLISH = "UPDATE transferencias_eventos SET secuencia = ?, fecha_publicacion = ? "
+            + "WHERE id = ?";
+
+    private static final String SELECT_PUBLISHED = "SELECT secuencia, tipo, id_transferencia, payload, "
+            + "fecha_publicacion FROM transferencias_eventos WHERE secuencia > ? ORDER BY secuencia LIMIT ?";
+
+    private static final String DELETE_PUBLISHED = "DELETE FROM transferencias_eventos "
+            + "WHERE fecha_publicacion < ? "
+            + "AND secuencia < (SELECT MAX(secuencia) FROM transferencias_eventos)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform platform;
+
+    public TransferenciaEventoJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform platform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.platform = platform;
+    }
+
+    /**
+     * Takes the cluster-wide relay lock for the current transaction, without waiting.
+     * On H2, which only backs single-node development setups, the lock is always granted.
+     *
+     * @return {@code true} if this transaction may publish
+     */
+    public boolean tryLockRelay() {
+        if (platform != DatabasePlatform.POSTGRESQL) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Publishes the oldest unpublished entries by assigning them the next sequence numbers.
+     * Must run inside a transaction holding the relay lock, so that sequence numbers stay gap-free
+     * and are only ever handed out in increasing order.
+     *
+     * @param limit maximum number of entries to publish
+     * @param now   the publication timestamp
+     * @return the number of entries published
+     */
+    public int publishPending(int limit, Instant now) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_PENDING, Long.class, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long last = findLastSequence();
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+        long[] next = {last};
+        jdbcTemplate.batchUpdate(PUBLISH, ids, ids.size(), (statement, id) -> {
+            statement.setLong(1, ++next[0]);
+            statement.setObject(2, timestamp);
+            statement.setLong(3, id);
+        });
+        return ids.size();
+    }
+
+    /**
+     * Reads published entries strictly after a sequence number.
+     *
+     * @param secuencia the last sequence number already seen
+     * @param limit     maximum number of entries to return
+     * @return the entries in sequence order
+     */
+    public List<TransferenciaEventoPublicado> findPublishedAfter(long secuencia, int limit) {
+        return jdbcTemplate.query(SELECT_PUBLISHED, (rs, rowNum) -> mapRow(rs), secuencia, limit);
+    }
+
+    /**
+     * Returns the highest published sequence number.
+     *
+     * @return the sequence number, or {@code 0} if nothing has been published
+     */
+    public long findLastSequence() {
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT MAX(secuencia) FROM transferencias_eventos", Long.class);
+        return last == null ? 0 : last;
+    }
+
+    /**
+     * Returns the lowest retained sequence number.
+     *
+     * @return the sequence number, or {@code null} if no published entry is retained
+     */
+    public Long findFirstSequence() {
+        return jdbcTemplate.queryForObject("SELECT MIN(secuencia) FROM transferencias_eventos", Long.class);
+    }
+
+    /**
+     * Deletes entries published before the given instant. The latest entry is always kept, so the
+     * sequence keeps counting from where it was.
+     *
+     * @param before the retention cut-off
+     * @return the number of entries deleted
+     */
+    public int deletePublishedBefore(Instant before) {
+        return jdbcTemplate.update(DELETE_PUBLISHED, before.atOffset(ZoneOffset.UTC));
+    }
+
+    private TransferenciaEventoPublicado mapRow(ResultSet rs) throws SQLException {
+        return new TransferenciaEventoPublicado(
+                rs.getLong("secuencia"),
+                TipoEventoTransferencia.valueOf(rs.getString("tipo")),
+                rs.getLong("id_transferencia"),
+                rs.getString("payload"),
+                rs.getObject("fecha_publicacion", OffsetDateTime.class).toInstant()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TipoEventoTransferencia;
+
+import java.time.Instant;
+
+/**
+ * A published change feed entry.
+ *
+ * @param secuencia        position in the feed
+ * @param tipo             kind of change
+ * @param idTransferencia  the changed transfer
+ * @param payload          JSON state of the transfer
+ * @param fechaPublicacion when the relay published the entry
+ */
+public record TransferenciaEventoPublicado(
+        long secuencia,
+        TipoEventoTransferencia tipo,
+        long idTransferencia,
+        String payload,
+        Instant fechaPublicacion
+) {
+}
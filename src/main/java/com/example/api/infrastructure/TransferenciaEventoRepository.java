@@ -0,0 +1,10 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaEvento;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Spring Data JPA repository for writing transfer change outbox entries.
+ */
+public interface TransferenciaEventoRepository extends JpaRepository<TransferenciaEvento, Long> {
+}
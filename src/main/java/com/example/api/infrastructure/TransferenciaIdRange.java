@@ -0,0 +1,27 @@
+package com.example.api.infrastructure;
+
+/**
+ * Contiguous range of transfer ids, used to split a scan into parallel readers.
+ *
+ * @param desde first id, inclusive
+ * @param hasta last id, exclusive
+ */
+public record TransferenciaIdRange(
+        long desde,
+        long hasta
+) {
+
+    /**
+     * Returns one of {@code parts} contiguous, equally wide slices of this range. Together the slices
+     * cover the range exactly; trailing slices may be empty.
+     *
+     * @param parts number of slices
+     * @param index the slice to return, in {@code [0, parts)}
+     * @return the slice
+     */
+    public TransferenciaIdRange slice(int parts, int index) {
+        long width = (hasta - desde + parts - 1) / parts;
+        long from = Math.min(hasta, desde + width * index);
+        return new TransferenciaIdRange(from, Math.min(hasta, from + width));
+    }
+}
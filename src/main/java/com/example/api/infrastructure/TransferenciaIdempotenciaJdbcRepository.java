@@ -0,0 +1,73 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaIdempotencia;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the idempotency key table for scans that must not hydrate entities, and for
+ * the bulk paths that write transfers without JPA.
+ */
+@Repository
+public class TransferenciaIdempotenciaJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferenciaIdempotenciaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every recorded key starting with the given prefix, without the prefix, through a
+     * forward-only cursor. Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param prefix    the key prefix
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each key as soon as it is read
+     */
+    public void streamClaves(String prefix, int fetchSize, Consumer<String> consumer) {
+        int start = prefix.length();
+        jdbcTemplate.query("SELECT clave FROM transferencias_idempotencia WHERE clave LIKE ?",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setString(1, prefix.replace("%", "\\%").replace("_", "\\_") + "%");
+                }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1).substring(start)));
+    }
+
+    /**
+     * Returns whether a key has been recorded.
+     *
+     * @param clave the full key, prefix included
+     * @return {@code true} if the key exists
+     */
+    public boolean exists(String clave) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(
+                "SELECT 1 FROM transferencias_idempotencia WHERE clave = ?", ResultSet::next, clave));
+    }
+
+    /**
+     * Inserts keys in one JDBC batch. A key that already exists fails the whole batch with a
+     * {@link org.springframework.dao.DuplicateKeyException}.
+     *
+     * @param claves the keys to insert
+     */
+    public void insertAll(List<TransferenciaIdempotencia> claves) {
+        if (claves.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transferencias_idempotencia (clave, id_transferencia, huella, "
+                + "fecha_creacion) VALUES (?, ?, ?, ?)", claves, claves.size(), (statement, clave) -> {
+                    statement.setString(1, clave.getClave());
+                    statement.setLong(2, clave.getIdTransferencia());
+                    statement.setString(3, clave.getHuella());
+                    statement.setObject(4, clave.getFechaCreacion().atOffset(ZoneOffset.UTC));
+                });
+    }
+}
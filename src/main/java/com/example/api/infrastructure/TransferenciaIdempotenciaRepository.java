@@ -0,0 +1,33 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for transfer idempotency keys.
+ */
+public interface TransferenciaIdempotenciaRepository extends JpaRepository<TransferenciaIdempotencia, String> {
+
+    /**
+     * Returns the idempotency keys recorded for a transfer.
+     *
+     * @param idTransferencia the transfer identifier
+     * @return the keys, prefix included
+     */
+    @Query("SELECT k.clave FROM TransferenciaIdempotencia k WHERE k.idTransferencia = :idTransferencia")
+    List<String> findClavesByIdTransferencia(Long idTransferencia);
+
+    /**
+     * Deletes the idempotency keys recorded for a transfer.
+     *
+     * @param idTransferencia the transfer identifier
+     * @return the number of keys deleted
+     */
+    @Modifying
+    @Query("DELETE FROM TransferenciaIdempotencia k WHERE k.idTransferencia = :idTransferencia")
+    int deleteByIdTransferencia(Long idTransferencia);
+}
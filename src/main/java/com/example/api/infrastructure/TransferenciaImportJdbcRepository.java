@@ -0,0 +1,129 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Bulk loading of new transfers: {@code COPY ... FROM STDIN} on PostgreSQL and JDBC batches elsewhere.
+ * Every method must run inside a transaction.
+ */
+@Repository
+public class TransferenciaImportJdbcRepository {
+
+    private static final String COLUMNS = "id_transferencia, cuenta_origen_id, cuenta_destino_id, importe, divisa, "
+            + "concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa";
+
+    private static final String COPY = "COPY transferencias (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT = "INSERT INTO transferencias (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String NEXT_IDS_POSTGRESQL =
+            "SELECT nextval('transferencias_seq') FROM generate_series(1, ?)";
+
+    private static final String NEXT_IDS_H2 = "SELECT NEXT VALUE FOR transferencias_seq FROM SYSTEM_RANGE(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform platform;
+
+    public TransferenciaImportJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform platform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.platform = platform;
+    }
+
+    /**
+     * Reserves transfer identifiers from the shared sequence, in blocks compatible with the ids
+     * Hibernate hands out, so imported and individually created transfers never collide.
+     *
+     * @param count number of identifiers needed
+     * @return the identifiers, in increasing order
+     */
+    public long[] allocateIds(int count) {
+        int blocks = (count + Transferencia.ID_ALLOCATION_SIZE - 1) / Transferencia.ID_ALLOCATION_SIZE;
+        String sql = platform == DatabasePlatform.POSTGRESQL ? NEXT_IDS_POSTGRESQL : NEXT_IDS_H2;
+        List<Long> starts = jdbcTemplate.queryForList(sql, Long.class, blocks);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = starts.get(i / Transferencia.ID_ALLOCATION_SIZE) + i % Transferencia.ID_ALLOCATION_SIZE;
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts new transfers, which must already carry their identifiers.
+     *
+     * @param transferencias the rows to insert
+     */
+    public void insert(List<TransferenciaSnapshot> transferencias) {
+        if (platform == DatabasePlatform.POSTGRESQL) {
+            copy(transferencias);
+        } else {
+            batchInsert(transferencias);
+        }
+    }
+
+    private void copy(List<TransferenciaSnapshot> transferencias) {
+        StringBuilder csv = new StringBuilder(transferencias.size() * 128);
+        for (TransferenciaSnapshot row : transferencias) {
+            csv.append(row.idTransferencia()).append(',')
+                    .append(row.cuentaOrigenId()).append(',')
+                    .append(row.cuentaDestinoId()).append(',')
+                    .append(row.importe().toPlainString()).append(',');
+            appendText(csv, row.divisa());
+            csv.append(',');
+            appendText(csv, row.concepto());
+            csv.append(',').append(row.estado().name()).append(',')
+                    .append(row.fechaCreacion()).append(',');
+            if (row.fechaEjecucion() != null) {
+                csv.append(row.fechaEjecucion());
+            }
+            csv.append(',');
+            appendText(csv, row.referenciaExterna());
+            csv.append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY, new StringReader(csv.toString()));
+            } catch (IOException ex) {
+                throw new SQLException("COPY into transferencias failed", ex);
+            }
+        });
+    }
+
+    private void appendText(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private void batchInsert(List<TransferenciaSnapshot> transferencias) {
+        jdbcTemplate.batchUpdate(INSERT, transferencias, transferencias.size(), (statement, row) -> {
+            statement.setLong(1, row.idTransferencia());
+            statement.setLong(2, row.cuentaOrigenId());
+            statement.setLong(3, row.cuentaDestinoId());
+            statement.setBigDecimal(4, row.importe());
+            statement.setString(5, row.divisa());
+            statement.setString(6, row.concepto());
+            statement.setString(7, row.estado().name());
+            statement.setObject(8, row.fechaCreacion().atOffset(ZoneOffset.UTC));
+            if (row.fechaEjecucion() == null) {
+                statement.setNull(9, Types.TIMESTAMP_WITH_TIMEZONE);
+            } else {
+                statement.setObject(9, row.fechaEjecucion().atOffset(ZoneOffset.UTC));
+            }
+            statement.setString(10, row.referenciaExterna());
+        });
+    }
+}
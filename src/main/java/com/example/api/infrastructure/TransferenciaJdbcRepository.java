@@ -0,0 +1,525 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Plain JDBC access to the transfers table for read paths that must not hydrate entities.
+ */
+@Repository
+public class TransferenciaJdbcRepository {
+
+    private static final String COLUMNS = "id_transferencia, cuenta_origen_id, cuenta_destino_id, "
+            + "importe, divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa";
+
+    private static final String SELECT_COLUMNS = "SELECT " + COLUMNS + " FROM transferencias";
+
+    private static final String HAS_CONCEPTO_TSV = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'transferencias' "
+            + "AND column_name = 'concepto_tsv'";
+
+    /**
+     * Value date of a transfer: the execution time, or the creation time while it has not been
+     * executed. Indexed as idx_fecha_valor on PostgreSQL.
+     */
+    static final String FECHA_VALOR = "COALESCE(fecha_ejecucion, fecha_creacion)";
+
+    private static final String CLOSED_IN_CHUNK = "fecha_creacion >= ? AND fecha_creacion < ? "
+            + "AND id_transferencia >= ? AND estado <> 'PENDIENTE'";
+
+    private static final String RANK = "ts_rank(concepto_tsv, consulta)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferenciaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every transfer matching the criteria, ordered by id, through a forward-only,
+     * read-only cursor.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size instead of
+     * materialising the whole result set.
+     *
+     * @param criteria  the filters to apply
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each row as soon as it is read
+     */
+    public void stream(TransferenciaCriteria criteria, int fetchSize, Consumer<TransferenciaSnapshot> consumer) {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_COLUMNS + where(conditions(criteria, params)) + " ORDER BY id_transferencia";
+        jdbcTemplate.query(sql, (PreparedStatementSetter) statement -> {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    /**
+     * Returns the lowest and highest id of the matching transfers, so that a scan of them can be
+     * split into id slices.
+     *
+     * @param criteria the filters to apply
+     * @return the ids {@code [min, max + 1)}, or {@code null} if no transfer matches
+     */
+    public TransferenciaIdRange findIdRange(TransferenciaCriteria criteria) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT MIN(id_transferencia), MAX(id_transferencia) FROM transferencias"
+                + where(conditions(criteria, params));
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new TransferenciaIdRange(min, rs.getLong(2) + 1);
+        }, params.toArray());
+    }
+
+    /**
+     * Streams the payer, payee and amount of every matching transfer in an id slice. The id bounds
+     * are a range on the primary key, so parallel readers of disjoint slices read every row of the
+     * window once between them.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param criteria  the filters to apply
+     * @param ids       the id slice to read
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each flow, with the amount in minor units
+     */
+    public void streamFlows(TransferenciaCriteria criteria, TransferenciaIdRange ids, int fetchSize,
+                            FlowConsumer consumer) {
+        List<Object> params = new ArrayList<>();
+        List<String> conditions = conditions(criteria, params);
+        conditions.add("id_transferencia >= ? AND id_transferencia < ?");
+        params.add(ids.desde());
+        params.add(ids.hasta());
+        String sql = "SELECT cuenta_origen_id, cuenta_destino_id, importe FROM transferencias" + where(conditions);
+        jdbcTemplate.query(sql, (PreparedStatementSetter) statement -> {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2),
+                rs.getBigDecimal(3).movePointRight(2).longValueExact()));
+    }
+
+    /**
+     * Reads one page of matching transfers, newest first, starting strictly after the given position.
+     * The row-value predicate on {@code (fecha_creacion, id_transferencia)} lets the database seek
+     * straight into the composite index instead of skipping {@code OFFSET} rows, and no count query is run.
+     *
+     * @param criteria the filters to apply
+     * @param after    the position of the last row of the previous page, or {@code null} for the first page
+     * @param limit    maximum number of rows to return
+     * @return the rows of the page in descending {@code (fecha_creacion, id_transferencia)} order
+     */
+    public List<TransferenciaSnapshot> findPage(TransferenciaCriteria criteria, TransferenciaKeyset after,
+                                                int limit) {
+        List<Object> params = new ArrayList<>();
+        List<String> conditions = conditions(criteria, params);
+        if (after != null) {
+            conditions.add("(fecha_creacion, id_transferencia) < (?, ?)");
+            params.add(toTimestamp(after.fechaCreacion()));
+            params.add(after.idTransferencia());
+        }
+        params.add(limit);
+        String sql = SELECT_COLUMNS + where(conditions)
+                + " ORDER BY fecha_creacion DESC, id_transferencia DESC LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs), params.toArray());
+    }
+
+    /**
+     * Tells whether the transfers table has the generated {@code concepto_tsv} column used by
+     * {@link #findByConcepto}. PostgreSQL only.
+     *
+     * @return {@code true} if the column exists in the current schema
+     */
+    public boolean hasConceptoTsv() {
+        Integer count = jdbcTemplate.queryForObject(HAS_CONCEPTO_TSV, Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Reads one page of matching transfers whose concept matches a web-search style query, most
+     * relevant first, starting strictly after the given position. The match runs on the GIN-indexed
+     * {@code concepto_tsv} column; only the matching rows are ranked. PostgreSQL only.
+     *
+     * @param criteria the filters to apply
+     * @param consulta the query, in {@code websearch_to_tsquery} syntax
+     * @param after    relevance and id of the last row of the previous page, or {@code null}
+     * @param limit    maximum number of rows to return
+     * @return the rows in descending {@code (relevancia, id_transferencia)} order
+     */
+    public List<TransferenciaCoincidencia> findByConcepto(TransferenciaCriteria criteria, String consulta,
+                                                          TextMatch after, int limit) {
+        List<Object> params = new ArrayList<>();
+        params.add(consulta);
+        List<String> conditions = conditions(criteria, params);
+        conditions.add(0, "concepto_tsv @@ consulta");
+        if (after != null) {
+            conditions.add("(" + RANK + ", id_transferencia) < (?, ?)");
+            params.add(after.score());
+            params.add(after.id());
+        }
+        params.add(limit);
+        String sql = "SELECT " + COLUMNS + ", " + RANK + " AS relevancia "
+                + "FROM transferencias, websearch_to_tsquery('simple', ?) consulta" + where(conditions)
+                + " ORDER BY relevancia DESC, id_transferencia DESC LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new TransferenciaCoincidencia(mapRow(rs),
+                rs.getFloat("relevancia")), params.toArray());
+    }
+
+    /**
+     * Reads the transfers with the given ids that match the criteria.
+     *
+     * @param criteria the filters to apply
+     * @param ids      the candidate ids
+     * @return the matching rows, in no particular order
+     */
+    public List<TransferenciaSnapshot> findByIds(TransferenciaCriteria criteria, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> params = new ArrayList<>(ids);
+        List<String> conditions = conditions(criteria, params);
+        conditions.add(0, "id_transferencia IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")");
+        return jdbcTemplate.query(SELECT_COLUMNS + where(conditions), (rs, rowNum) -> mapRow(rs), params.toArray());
+    }
+
+    /**
+     * Streams the id and concept of every transfer that has a concept.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each concept with its transfer id
+     */
+    public void streamConceptos(int fetchSize, ObjLongConsumer<String> consumer) {
+        jdbcTemplate.query("SELECT id_transferencia, concepto FROM transferencias WHERE concepto IS NOT NULL",
+                (PreparedStatementSetter) statement -> statement.setFetchSize(fetchSize),
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(2), rs.getLong(1)));
+    }
+
+    /**
+     * Streams the reference, amount, currency and value date of every transfer with an external
+     * reference whose value date falls in {@code [desde, hasta)}. The value date is the execution
+     * time, or the creation time for transfers not executed yet.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param desde     value date window start, inclusive
+     * @param hasta     value date window end, exclusive
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each transfer, with the amount in minor units
+     */
+    public void streamReferencias(Instant desde, Instant hasta, int fetchSize, ReferenciaConsumer consumer) {
+        jdbcTemplate.query("SELECT id_transferencia, referencia_externa, importe, divisa, " + FECHA_VALOR
+                        + " FROM transferencias WHERE referencia_externa IS NOT NULL AND " + FECHA_VALOR
+                        + " >= ? AND " + FECHA_VALOR + " < ?",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, toTimestamp(desde));
+                    statement.setObject(2, toTimestamp(hasta));
+                }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2),
+                        rs.getBigDecimal(3).movePointRight(2).longValueExact(), rs.getString(4),
+                        rs.getObject(5, OffsetDateTime.class).toInstant()));
+    }
+
+    /**
+     * Streams the currency, amount and creation time of every transfer created in the window whose
+     * id hashes to the given partition, so that partitions can be read in parallel.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param desde      creation window start, inclusive
+     * @param hasta      creation window end, exclusive
+     * @param partitions total number of partitions
+     * @param partition  the partition to read, in {@code [0, partitions)}
+     * @param fetchSize  rows fetched per round trip
+     * @param consumer   receives each transfer, with the amount in minor units
+     */
+    public void streamImportes(Instant desde, Instant hasta, int partitions, int partition, int fetchSize,
+                               ImporteConsumer consumer) {
+        jdbcTemplate.query("SELECT divisa, importe, fecha_creacion FROM transferencias "
+                        + "WHERE fecha_creacion >= ? AND fecha_creacion < ? AND MOD(id_transferencia, ?) = ?",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, toTimestamp(desde));
+                    statement.setObject(2, toTimestamp(hasta));
+                    statement.setInt(3, partitions);
+                    statement.setInt(4, partition);
+                }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1),
+                        rs.getBigDecimal(2).movePointRight(2).longValueExact(),
+                        rs.getObject(3, OffsetDateTime.class).toInstant()));
+    }
+
+    /**
+     * Returns the lowest and highest account id that appears on either side of a transfer, or has
+     * archived transfers. The bounds come from the leading column of the per-account indexes and of
+     * the archived balance totals.
+     *
+     * @return {@code {min, max}}, or {@code null} if there are no transfers
+     */
+    public long[] findCuentaRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(desde), MAX(hasta) FROM ("
+                + "SELECT MIN(cuenta_origen_id) AS desde, MAX(cuenta_origen_id) AS hasta FROM transferencias "
+                + "UNION ALL "
+                + "SELECT MIN(cuenta_destino_id), MAX(cuenta_destino_id) FROM transferencias "
+                + "UNION ALL "
+                + "SELECT MIN(cuenta_id), MAX(cuenta_id) FROM saldos_archivados"
+                + ") cuentas", (rs, rowNum) -> {
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? null : new long[] {min, rs.getLong(2)};
+                });
+    }
+
+    /**
+     * Streams the opening balances and the completed movements of a period for every account in
+     * {@code [desdeCuenta, hastaCuenta)}, ordered by account, with each account's opening balances
+     * first and then its movements by value date and id. A transfer is a debit of its source account
+     * and a credit of its destination account, dated by its value date.
+     *
+     * <p>The opening balances are the closing balances taken at {@code inicio} when
+     * {@code saldosCierre} is set. Otherwise they are summed from every completed movement dated
+     * before {@code inicio} and the archived balance totals, which reads the whole history of the
+     * range once; archived transfers are older than any period a statement is generated for. The movements are
+     * ordered range scans of the per-account value date indexes over the period only. Must run
+     * inside a transaction so that PostgreSQL honours the fetch size.</p>
+     *
+     * @param desdeCuenta  first account id, inclusive
+     * @param hastaCuenta  last account id, exclusive
+     * @param inicio       start of the period, inclusive
+     * @param fin          end of the period, exclusive
+     * @param saldosCierre whether the closing balances taken at {@code inicio} are complete
+     * @param fetchSize    rows fetched per round trip
+     * @param consumer     receives each balance and movement, with signed amounts in minor units
+     */
+    public void streamMovimientos(long desdeCuenta, long hastaCuenta, Instant inicio, Instant fin,
+                                  boolean saldosCierre, int fetchSize, MovimientoConsumer consumer) {
+        OffsetDateTime desde = toTimestamp(inicio);
+        OffsetDateTime hasta = toTimestamp(fin);
+        String aperturas = saldosCierre
+                ? "SELECT cuenta_id, divisa, saldo AS importe FROM saldos_cierre "
+                        + "WHERE fecha = ? AND cuenta_id >= ? AND cuenta_id < ?"
+                : "SELECT cuenta_id, divisa, SUM(importe) AS importe FROM ("
+                        + "SELECT cuenta_origen_id AS cuenta_id, divisa, -importe AS importe FROM transferencias "
+                        + "WHERE cuenta_origen_id >= ? AND cuenta_origen_id < ? AND estado = 'COMPLETADA' "
+                        + "AND " + FECHA_VALOR + " < ? "
+                        + "UNION ALL "
+                        + "SELECT cuenta_destino_id, divisa, importe FROM transferencias "
+                        + "WHERE cuenta_destino_id >= ? AND cuenta_destino_id < ? AND estado = 'COMPLETADA' "
+                        + "AND " + FECHA_VALOR + " < ? "
+                        + "UNION ALL "
+                        + "SELECT cuenta_id, divisa, saldo FROM saldos_archivados "
+                        + "WHERE cuenta_id >= ? AND cuenta_id < ?"
+                        + ") historia GROUP BY cuenta_id, divisa";
+        jdbcTemplate.query("SELECT cuenta_id, id_transferencia, contraparte, importe, divisa, fecha_valor FROM ("
+                        + "SELECT cuenta_id, 0 AS id_transferencia, 0 AS contraparte, importe, divisa, "
+                        + "CAST(NULL AS TIMESTAMP WITH TIME ZONE) AS fecha_valor FROM (" + aperturas + ") aperturas "
+                        + "UNION ALL "
+                        + "SELECT cuenta_origen_id, id_transferencia, cuenta_destino_id, -importe, divisa, "
+                        + FECHA_VALOR + " FROM transferencias "
+                        + "WHERE cuenta_origen_id >= ? AND cuenta_origen_id < ? AND estado = 'COMPLETADA' "
+                        + "AND " + FECHA_VALOR + " >= ? AND " + FECHA_VALOR + " < ? "
+                        + "UNION ALL "
+                        + "SELECT cuenta_destino_id, id_transferencia, cuenta_origen_id, importe, divisa, "
+                        + FECHA_VALOR + " FROM transferencias "
+                        + "WHERE cuenta_destino_id >= ? AND cuenta_destino_id < ? AND estado = 'COMPLETADA' "
+                        + "AND " + FECHA_VALOR + " >= ? AND " + FECHA_VALOR + " < ?"
+                        + ") movimientos ORDER BY cuenta_id, fecha_valor NULLS FIRST, id_transferencia",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    int index = 1;
+                    if (saldosCierre) {
+                        statement.setObject(index++, inicio.atOffset(ZoneOffset.UTC).toLocalDate());
+                        statement.setLong(index++, desdeCuenta);
+                        statement.setLong(index++, hastaCuenta);
+                    } else {
+                        for (int side = 0; side < 2; side++) {
+                            statement.setLong(index++, desdeCuenta);
+                            statement.setLong(index++, hastaCuenta);
+                            statement.setObject(index++, desde);
+                        }
+                        statement.setLong(index++, desdeCuenta);
+                        statement.setLong(index++, hastaCuenta);
+                    }
+                    for (int side = 0; side < 2; side++) {
+                        statement.setLong(index++, desdeCuenta);
+                        statement.setLong(index++, hastaCuenta);
+                        statement.setObject(index++, desde);
+                        statement.setObject(index++, hasta);
+                    }
+                }, (RowCallbackHandler) rs -> {
+                    long importe = rs.getBigDecimal(4).movePointRight(2).longValueExact();
+                    OffsetDateTime fecha = rs.getObject(6, OffsetDateTime.class);
+                    if (fecha == null) {
+                        consumer.apertura(rs.getLong(1), rs.getString(5), importe);
+                    } else {
+                        consumer.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3), importe, rs.getString(5),
+                                fecha.toInstant());
+                    }
+                });
+    }
+
+    /**
+     * Returns the creation time of the oldest transfer that is no longer pending and was created
+     * before the given time.
+     *
+     * @param hasta creation time bound, exclusive
+     * @return the creation time, or {@code null} if there is no such transfer
+     */
+    public Instant findOldestClosedBefore(Instant hasta) {
+        return jdbcTemplate.queryForObject("SELECT MIN(fecha_creacion) FROM transferencias "
+                        + "WHERE fecha_creacion < ? AND estado <> 'PENDIENTE'",
+                (rs, rowNum) -> toInstant(rs.getObject(1, OffsetDateTime.class)), toTimestamp(hasta));
+    }
+
+    /**
+     * Streams, ordered by id, the first transfers created in the window that are no longer pending,
+     * starting at an id, and locks each row until the transaction ends so that the rows cannot
+     * change before {@link #deleteClosed} removes them.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param desde     creation window start, inclusive
+     * @param hasta     creation window end, exclusive
+     * @param desdeId   first transfer id, inclusive
+     * @param limit     maximum number of transfers
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each row as soon as it is read
+     */
+    public void streamClosedForUpdate(Instant desde, Instant hasta, long desdeId, int limit, int fetchSize,
+                                      Consumer<TransferenciaSnapshot> consumer) {
+        jdbcTemplate.query(SELECT_COLUMNS + " WHERE " + CLOSED_IN_CHUNK
+                        + " ORDER BY id_transferencia LIMIT ? FOR UPDATE",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, toTimestamp(desde));
+                    statement.setObject(2, toTimestamp(hasta));
+                    statement.setLong(3, desdeId);
+                    statement.setInt(4, limit);
+                }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    /**
+     * Deletes every transfer created in the window with an id in the range that is no longer
+     * pending, together with the idempotency keys that point at them.
+     *
+     * @param desde   creation window start, inclusive
+     * @param hasta   creation window end, exclusive
+     * @param desdeId first transfer id, inclusive
+     * @param hastaId last transfer id, exclusive
+     * @return the number of transfers deleted
+     */
+    public int deleteClosed(Instant desde, Instant hasta, long desdeId, long hastaId) {
+        OffsetDateTime from = toTimestamp(desde);
+        OffsetDateTime to = toTimestamp(hasta);
+        String chunk = CLOSED_IN_CHUNK + " AND id_transferencia < ?";
+        jdbcTemplate.update("DELETE FROM transferencias_idempotencia WHERE id_transferencia IN ("
+                + "SELECT id_transferencia FROM transferencias WHERE " + chunk + ")", from, to, desdeId, hastaId);
+        return jdbcTemplate.update("DELETE FROM transferencias WHERE " + chunk, from, to, desdeId, hastaId);
+    }
+
+    private List<String> conditions(TransferenciaCriteria criteria, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.cuentaOrigenId() != null) {
+            conditions.add("cuenta_origen_id = ?");
+            params.add(criteria.cuentaOrigenId());
+        }
+        if (criteria.cuentaDestinoId() != null) {
+            conditions.add("cuenta_destino_id = ?");
+            params.add(criteria.cuentaDestinoId());
+        }
+        if (criteria.desde() != null) {
+            conditions.add("fecha_creacion >= ?");
+            params.add(toTimestamp(criteria.desde()));
+        }
+        if (criteria.hasta() != null) {
+            conditions.add("fecha_creacion < ?");
+            params.add(toTimestamp(criteria.hasta()));
+        }
+        if (criteria.estado() != null) {
+            conditions.add("estado = ?");
+            params.add(criteria.estado().name());
+        }
+        if (criteria.divisa() != null) {
+            conditions.add("divisa = ?");
+            params.add(criteria.divisa());
+        }
+        return conditions;
+    }
+
+    private String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private TransferenciaSnapshot mapRow(ResultSet rs) throws SQLException {
+        return new TransferenciaSnapshot(
+                rs.getLong("id_transferencia"),
+                rs.getLong("cuenta_origen_id"),
+                rs.getLong("cuenta_destino_id"),
+                rs.getBigDecimal("importe"),
+                rs.getString("divisa"),
+                rs.getString("concepto"),
+                EstadoTransferencia.valueOf(rs.getString("estado")),
+                toInstant(rs.getObject("fecha_creacion", OffsetDateTime.class)),
+                toInstant(rs.getObject("fecha_ejecucion", OffsetDateTime.class)),
+                rs.getString("referencia_externa")
+        );
+    }
+
+    private Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+
+    /**
+     * Receives the flows read by {@link #streamFlows}.
+     */
+    @FunctionalInterface
+    public interface FlowConsumer {
+
+        void accept(long cuentaOrigenId, long cuentaDestinoId, long importe);
+    }
+
+    /**
+     * Receives the transfers read by {@link #streamReferencias}.
+     */
+    @FunctionalInterface
+    public interface ReferenciaConsumer {
+
+        void accept(long idTransferencia, String referenciaExterna, long importe, String divisa, Instant fecha);
+    }
+
+    /**
+     * Receives the transfers read by {@link #streamImportes}.
+     */
+    @FunctionalInterface
+    public interface ImporteConsumer {
+
+        void accept(String divisa, long importe, Instant fecha);
+    }
+
+    /**
+     * Receives the opening balances and movements read by {@link #streamMovimientos}.
+     */
+    public interface MovimientoConsumer {
+
+        void apertura(long cuentaId, String divisa, long importe);
+
+        void accept(long cuentaId, long idTransferencia, long contraparte, long importe, String divisa,
+                    Instant fecha);
+    }
+}
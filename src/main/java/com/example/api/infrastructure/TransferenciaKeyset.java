@@ -0,0 +1,16 @@
+package com.example.api.infrastructure;
+
+import java.time.Instant;
+
+/**
+ * Seek position for keyset pagination over transfers ordered by
+ * {@code (fecha_creacion, id_transferencia)} descending.
+ *
+ * @param fechaCreacion   creation timestamp of the last row already returned
+ * @param idTransferencia identifier of the last row already returned
+ */
+public record TransferenciaKeyset(
+        Instant fechaCreacion,
+        long idTransferencia
+) {
+}
@@ -0,0 +1,28 @@
+package com.example.api.infrastructure;
+
+import java.time.Instant;
+
+/**
+ * A partition attached to the transfers table and the range of {@code fecha_creacion} it holds.
+ *
+ * @param nombre table name of the partition
+ * @param desde  inclusive lower bound, or {@code null} for {@code MINVALUE}
+ * @param hasta  exclusive upper bound, or {@code null} for {@code MAXVALUE}
+ */
+public record TransferenciaPartition(
+        String nombre,
+        Instant desde,
+        Instant hasta
+) {
+
+    /**
+     * Tells whether this partition shares any instant with {@code [from, to)}.
+     *
+     * @param from inclusive lower bound
+     * @param to   exclusive upper bound
+     * @return {@code true} if the ranges overlap
+     */
+    public boolean overlaps(Instant from, Instant to) {
+        return (desde == null || desde.isBefore(to)) && (hasta == null || hasta.isAfter(from));
+    }
+}
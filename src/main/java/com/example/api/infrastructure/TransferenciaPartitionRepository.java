@@ -0,0 +1,120 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL catalog queries and DDL for the monthly partitions of the transfers table.
+ * Every method must run inside a transaction; partition names and schemas are interpolated into
+ * DDL and must come from trusted sources.
+ */
+@Repository
+public class TransferenciaPartitionRepository {
+
+    static final long MAINTENANCE_LOCK_KEY = 0x7472616e73666572L;
+
+    private static final String IS_PARTITIONED = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p "
+            + "JOIN pg_class c ON c.oid = p.partrelid "
+            + "WHERE c.relname = 'transferencias' AND pg_table_is_visible(c.oid))";
+
+    private static final String FIND_PARTITIONS = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) "
+            + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = 'transferencias'::regclass ORDER BY c.relname";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile(
+            "FROM \\((MINVALUE|'[^']+')\\) TO \\((MAXVALUE|'[^']+')\\)");
+
+    private static final DateTimeFormatter BOUND_FORMAT = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true).optionalEnd()
+            .appendOffset("+HH:mm", "+00")
+            .toFormatter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferenciaPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the cluster-wide partition maintenance lock for the current transaction, without waiting.
+     *
+     * @return {@code true} if this transaction now holds the lock
+     */
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    /**
+     * Tells whether the transfers table visible on the search path is a partitioned table.
+     *
+     * @return {@code true} if it is range partitioned
+     */
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    /**
+     * Lists the partitions attached to the transfers table with their bounds.
+     *
+     * @return the partitions ordered by name
+     */
+    public List<TransferenciaPartition> findPartitions() {
+        jdbcTemplate.execute("SET LOCAL TimeZone = 'UTC'");
+        return jdbcTemplate.query(FIND_PARTITIONS, (rs, rowNum) -> toPartition(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * Creates and attaches a partition for {@code [desde, hasta)}. Indexes defined on the parent
+     * table are created on the new partition automatically.
+     *
+     * @param nombre table name of the partition
+     * @param desde  inclusive lower bound
+     * @param hasta  exclusive upper bound
+     */
+    public void createPartition(String nombre, Instant desde, Instant hasta) {
+        jdbcTemplate.execute("CREATE TABLE " + nombre + " PARTITION OF transferencias FOR VALUES FROM ('"
+                + desde + "') TO ('" + hasta + "')");
+    }
+
+    /**
+     * Detaches a partition from the transfers table and moves it to the archive schema, where it
+     * remains queryable but is no longer scanned or indexed as part of the live table.
+     *
+     * @param nombre        table name of the partition
+     * @param archiveSchema schema to move it to, created if missing
+     */
+    public void archivePartition(String nombre, String archiveSchema) {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute("ALTER TABLE transferencias DETACH PARTITION " + nombre);
+        jdbcTemplate.execute("ALTER TABLE " + nombre + " SET SCHEMA " + archiveSchema);
+    }
+
+    static TransferenciaPartition toPartition(String nombre, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound == null ? "" : bound);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected partition bound for " + nombre + ": " + bound);
+        }
+        return new TransferenciaPartition(nombre, toInstant(matcher.group(1)), toInstant(matcher.group(2)));
+    }
+
+    private static Instant toInstant(String literal) {
+        if ("MINVALUE".equals(literal) || "MAXVALUE".equals(literal)) {
+            return null;
+        }
+        return OffsetDateTime.parse(literal.substring(1, literal.length() - 1), BOUND_FORMAT)
+                .withOffsetSameInstant(ZoneOffset.UTC)
+                .toInstant();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.api.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Plain JDBC access to the scheduled transfers table for the scheduler's bulk loads.
+ */
+@Repository
+public class TransferenciaProgramadaJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransferenciaProgramadaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams the id and next occurrence of every active schedule due before the given time,
+     * including overdue ones. The scan is served by the {@code (estado, proxima_ejecucion)} index.
+     * Must run inside a transaction so that PostgreSQL honours the fetch size.
+     *
+     * @param hasta     end of the horizon, exclusive
+     * @param fetchSize rows fetched per round trip
+     * @param consumer  receives each schedule
+     */
+    public void streamDue(Instant hasta, int fetchSize, DueConsumer consumer) {
+        jdbcTemplate.query("SELECT id, proxima_ejecucion FROM transferencias_programadas "
+                        + "WHERE estado = 'ACTIVA' AND proxima_ejecucion < ?",
+                (PreparedStatementSetter) statement -> {
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, hasta.atOffset(ZoneOffset.UTC));
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1),
+                        rs.getObject(2, OffsetDateTime.class).toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Receives the schedules read by {@link #streamDue}.
+     */
+    @FunctionalInterface
+    public interface DueConsumer {
+
+        void accept(long id, long proximaEjecucionMillis);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaProgramada;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the TransferenciaProgramada entity.
+ */
+public interface TransferenciaProgramadaRepository extends JpaRepository<TransferenciaProgramada, Long> {
+
+    /**
+     * Locks and returns those of the given schedules that are active and due, skipping rows already
+     * locked by other transactions ({@code FOR UPDATE SKIP LOCKED}), so that nodes firing the same
+     * occurrence never both run it. The locks are held until the calling transaction ends.
+     *
+     * @param ids   the candidate schedules
+     * @param ahora the current time
+     * @return the claimed schedules
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM TransferenciaProgramada p WHERE p.id IN :ids "
+            + "AND p.estado = com.example.api.domain.EstadoProgramacion.ACTIVA AND p.proximaEjecucion <= :ahora")
+    List<TransferenciaProgramada> claimDue(Collection<Long> ids, Instant ahora);
+
+    /**
+     * Locks and returns a schedule, waiting for any transaction that holds it.
+     *
+     * @param id the schedule id
+     * @return the schedule, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM TransferenciaProgramada p WHERE p.id = :id")
+    Optional<TransferenciaProgramada> lockById(Long id);
+}
@@ -1,10 +1,90 @@
 package com.example.api.infrastructure;
 
+import com.example.api.domain.EstadoTransferencia;
 import com.example.api.domain.Transferencia;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
 
 /**
  * Spring Data JPA repository for the Transferencia entity.
  */
 public interface TransferenciaRepository extends JpaRepository<Transferencia, Long> {
+
+    /**
+     * Locks and returns the oldest transfers in the given state, skipping rows already locked by
+     * other transactions ({@code FOR UPDATE SKIP LOCKED}), so concurrent workers and nodes claim
+     * disjoint sets. The locks are held until the calling transaction ends.
+     *
+     * @param estado the state to claim
+     * @param limit  maximum number of rows to claim
+     * @return the claimed transfers, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Transferencia t WHERE t.estado = :estado ORDER BY t.fechaCreacion, t.idTransferencia")
+    List<Transferencia> claimByEstado(EstadoTransferencia estado, Limit limit);
+
+    /**
+     * Counts the transfers in the given state, reading at most {@code limit} entries of
+     * {@code idx_estado_fecha}.
+     *
+     * @param estado the state to count
+     * @param limit  the largest count of interest
+     * @return the number of transfers, at most {@code limit}
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM transferencias WHERE estado = :estado LIMIT :limit) t",
+            nativeQuery = true)
+    long countByEstadoUpTo(String estado, int limit);
+
+    /**
+     * Returns outgoing transfers of an account strictly older than the given position, newest first.
+     * Served by an ordered, index-only scan of {@code idx_cuenta_origen_historial}, which covers every
+     * projected column.
+     *
+     * @param cuentaId account identifier
+     * @param fecha    creation timestamp of the position
+     * @param id       transfer identifier of the position
+     * @param limit    maximum number of rows
+     * @return the matching movements
+     */
+    @Query("""
+            SELECT t.idTransferencia AS idTransferencia, t.cuentaOrigenId AS cuentaOrigenId,
+                   t.cuentaDestinoId AS cuentaDestinoId, t.importe AS importe, t.divisa AS divisa,
+                   t.estado AS estado, t.fechaCreacion AS fechaCreacion
+            FROM Transferencia t
+            WHERE t.cuentaOrigenId = :cuentaId
+              AND t.fechaCreacion <= :fecha
+              AND (t.fechaCreacion < :fecha OR t.idTransferencia < :id)
+            ORDER BY t.fechaCreacion DESC, t.idTransferencia DESC""")
+    List<MovimientoCuentaView> findSalientesBefore(Long cuentaId, Instant fecha, Long id, Limit limit);
+
+    /**
+     * Returns incoming transfers of an account strictly older than the given position, newest first.
+     * Served by an ordered, index-only scan of {@code idx_cuenta_destino_historial}, which covers every
+     * projected column.
+     *
+     * @param cuentaId account identifier
+     * @param fecha    creation timestamp of the position
+     * @param id       transfer identifier of the position
+     * @param limit    maximum number of rows
+     * @return the matching movements
+     */
+    @Query("""
+            SELECT t.idTransferencia AS idTransferencia, t.cuentaOrigenId AS cuentaOrigenId,
+                   t.cuentaDestinoId AS cuentaDestinoId, t.importe AS importe, t.divisa AS divisa,
+                   t.estado AS estado, t.fechaCreacion AS fechaCreacion
+            FROM Transferencia t
+            WHERE t.cuentaDestinoId = :cuentaId
+              AND t.fechaCreacion <= :fecha
+              AND (t.fechaCreacion < :fecha OR t.idTransferencia < :id)
+            ORDER BY t.fechaCreacion DESC, t.idTransferencia DESC""")
+    List<MovimientoCuentaView> findEntrantesBefore(Long cuentaId, Instant fecha, Long id, Limit limit);
 }
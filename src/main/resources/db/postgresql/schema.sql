@@ -0,0 +1,224 @@
+-- Creates the tables, sequences and indexes added next to transferencias, and the transfer indexes
+-- the read paths rely on. Production profiles run with ddl-auto: validate, so run this before
+-- starting a version that needs them, after transferencias_seq.sql:
+--
+--   psql -v ON_ERROR_STOP=1 -f schema.sql
+--
+-- Every statement is idempotent, so the script can be run again after each upgrade. New sequences
+-- start at 1 because their tables are new; sequences with an increment above 1 must keep it, as
+-- the application reserves ids in blocks of that size.
+
+BEGIN;
+
+-- Idempotency keys of created transfers.
+CREATE TABLE IF NOT EXISTS transferencias_idempotencia (
+    clave            varchar(255) NOT NULL PRIMARY KEY,
+    id_transferencia bigint NOT NULL,
+    huella           varchar(64) NOT NULL,
+    fecha_creacion   timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotencia_transferencia ON transferencias_idempotencia (id_transferencia);
+
+-- Materialized account balances. The key leads with the account, so that the balances of one
+-- account in every currency are a single range of the primary key.
+CREATE TABLE IF NOT EXISTS saldos_cuenta (
+    cuenta_id           bigint NOT NULL,
+    divisa              varchar(3) NOT NULL,
+    saldo               numeric(19, 2) NOT NULL,
+    fecha_actualizacion timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (cuenta_id, divisa)
+);
+-- Earlier versions of this script keyed the table on (divisa, cuenta_id).
+DO $$
+BEGIN
+    IF (SELECT a.attname FROM pg_index i
+            JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indrelid = 'saldos_cuenta'::regclass AND i.indisprimary) = 'divisa' THEN
+        ALTER TABLE saldos_cuenta DROP CONSTRAINT saldos_cuenta_pkey;
+        ALTER TABLE saldos_cuenta ADD PRIMARY KEY (cuenta_id, divisa);
+    END IF;
+END
+$$;
+
+-- Daily rollups by currency and state.
+CREATE TABLE IF NOT EXISTS resumenes_diarios (
+    dia                 date NOT NULL,
+    divisa              varchar(3) NOT NULL,
+    estado              varchar(20) NOT NULL
+        CHECK (estado IN ('PENDIENTE', 'COMPLETADA', 'RECHAZADA', 'CANCELADA')),
+    slot                integer NOT NULL,
+    cantidad            bigint NOT NULL,
+    importe_total       numeric(19, 2) NOT NULL,
+    fecha_actualizacion timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (dia, divisa, slot, estado)
+);
+
+-- Transactional outbox of the change feed. Ids are reserved 50 at a time.
+CREATE SEQUENCE IF NOT EXISTS transferencias_eventos_seq INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS transferencias_eventos (
+    id                bigint NOT NULL PRIMARY KEY,
+    secuencia         bigint,
+    tipo              varchar(20) NOT NULL CHECK (tipo IN ('CREADA', 'ACTUALIZADA', 'ELIMINADA')),
+    id_transferencia  bigint NOT NULL,
+    payload           varchar(4000) NOT NULL,
+    fecha_creacion    timestamp(6) with time zone NOT NULL,
+    fecha_publicacion timestamp(6) with time zone,
+    CONSTRAINT idx_eventos_secuencia UNIQUE (secuencia)
+);
+-- The relay polls the unpublished entries in id order.
+CREATE INDEX IF NOT EXISTS idx_eventos_pendientes ON transferencias_eventos (id) WHERE secuencia IS NULL;
+
+-- Versioned FX rates.
+CREATE TABLE IF NOT EXISTS tipos_cambio (
+    divisa      varchar(3) NOT NULL,
+    version     bigint NOT NULL,
+    tasa        numeric(19, 8) NOT NULL,
+    fecha_carga timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (divisa, version)
+);
+
+-- Netting runs.
+CREATE SEQUENCE IF NOT EXISTS compensaciones_seq INCREMENT BY 1;
+CREATE TABLE IF NOT EXISTS compensaciones (
+    id                        bigint NOT NULL PRIMARY KEY,
+    divisa                    varchar(3) NOT NULL,
+    estado                    varchar(20) NOT NULL
+        CHECK (estado IN ('PENDIENTE', 'COMPLETADA', 'RECHAZADA', 'CANCELADA')),
+    desde                     timestamp(6) with time zone NOT NULL,
+    hasta                     timestamp(6) with time zone NOT NULL,
+    transferencias            bigint NOT NULL,
+    cuentas                   bigint NOT NULL,
+    pares                     bigint NOT NULL,
+    importe_bruto             numeric(19, 2) NOT NULL,
+    importe_neto_bilateral    numeric(19, 2) NOT NULL,
+    importe_neto_multilateral numeric(19, 2) NOT NULL,
+    fecha_calculo             timestamp(6) with time zone NOT NULL,
+    duracion_ms               bigint NOT NULL
+);
+CREATE TABLE IF NOT EXISTS compensaciones_bilaterales (
+    compensacion_id bigint NOT NULL,
+    cuenta_a        bigint NOT NULL,
+    cuenta_b        bigint NOT NULL,
+    bruto_a_b       numeric(19, 2) NOT NULL,
+    bruto_b_a       numeric(19, 2) NOT NULL,
+    transferencias  bigint NOT NULL,
+    neto            numeric(19, 2) NOT NULL,
+    PRIMARY KEY (compensacion_id, cuenta_a, cuenta_b)
+);
+CREATE TABLE IF NOT EXISTS compensaciones_multilaterales (
+    compensacion_id bigint NOT NULL,
+    cuenta_id       bigint NOT NULL,
+    pagado          numeric(19, 2) NOT NULL,
+    recibido        numeric(19, 2) NOT NULL,
+    neto            numeric(19, 2) NOT NULL,
+    PRIMARY KEY (compensacion_id, cuenta_id)
+);
+
+-- Scheduled and recurring transfers.
+CREATE SEQUENCE IF NOT EXISTS transferencias_programadas_seq INCREMENT BY 1;
+CREATE TABLE IF NOT EXISTS transferencias_programadas (
+    id                      bigint NOT NULL PRIMARY KEY,
+    cuenta_origen_id        bigint NOT NULL,
+    cuenta_destino_id       bigint NOT NULL,
+    importe                 numeric(15, 2) NOT NULL,
+    divisa                  varchar(3) NOT NULL,
+    concepto                varchar(255),
+    periodicidad            varchar(20) NOT NULL
+        CHECK (periodicidad IN ('UNICA', 'DIARIA', 'SEMANAL', 'MENSUAL')),
+    fecha_inicio            timestamp(6) with time zone NOT NULL,
+    fecha_fin               timestamp(6) with time zone,
+    proxima_ejecucion       timestamp(6) with time zone,
+    ejecuciones             bigint NOT NULL,
+    ultima_transferencia_id bigint,
+    estado                  varchar(20) NOT NULL CHECK (estado IN ('ACTIVA', 'FINALIZADA', 'CANCELADA')),
+    fecha_creacion          timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_programada_estado_proxima ON transferencias_programadas (estado, proxima_ejecucion);
+
+-- Statement reconciliation runs.
+CREATE SEQUENCE IF NOT EXISTS conciliaciones_seq INCREMENT BY 1;
+CREATE TABLE IF NOT EXISTS conciliaciones (
+    id                 bigint NOT NULL PRIMARY KEY,
+    desde              date NOT NULL,
+    hasta              date NOT NULL,
+    lineas             bigint NOT NULL,
+    lineas_invalidas   bigint NOT NULL,
+    transferencias     bigint NOT NULL,
+    conciliadas        bigint NOT NULL,
+    discrepantes       bigint NOT NULL,
+    solo_extracto      bigint NOT NULL,
+    solo_transferencia bigint NOT NULL,
+    fecha_calculo      timestamp(6) with time zone NOT NULL,
+    duracion_ms        bigint NOT NULL
+);
+
+-- Daily amount sketches by currency.
+CREATE TABLE IF NOT EXISTS distribuciones_importe (
+    dia                 date NOT NULL,
+    divisa              varchar(3) NOT NULL,
+    sketch              bytea NOT NULL,
+    cantidad            bigint NOT NULL,
+    fecha_actualizacion timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (dia, divisa)
+);
+
+-- Accounts, fed by the account system of record.
+CREATE TABLE IF NOT EXISTS cuentas (
+    id_cuenta           bigint NOT NULL PRIMARY KEY,
+    estado              varchar(20) NOT NULL CHECK (estado IN ('ACTIVA', 'BLOQUEADA', 'CERRADA')),
+    fecha_actualizacion timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_cuentas_fecha_actualizacion ON cuentas (fecha_actualizacion);
+
+-- Closing balances of the statement batch, the opening balances of the next month.
+CREATE TABLE IF NOT EXISTS saldos_cierre (
+    fecha     date NOT NULL,
+    cuenta_id bigint NOT NULL,
+    divisa    varchar(3) NOT NULL,
+    saldo     numeric(19, 2) NOT NULL,
+    PRIMARY KEY (fecha, cuenta_id, divisa)
+);
+
+-- Net amounts of the completed transfers moved to the archive, added to balances rebuilt from the table.
+CREATE TABLE IF NOT EXISTS saldos_archivados (
+    cuenta_id bigint NOT NULL,
+    divisa    varchar(3) NOT NULL,
+    saldo     numeric(19, 2) NOT NULL,
+    PRIMARY KEY (cuenta_id, divisa)
+);
+
+COMMIT;
+
+-- Transfer indexes. CONCURRENTLY cannot run inside a transaction, and keeps the table writable
+-- while each index is built. On a partitioned table, create them on the parent without
+-- CONCURRENTLY instead, as transferencias_partitioned.sql does.
+
+-- Account history: the key orders an account's movements, the INCLUDE columns let the history
+-- answer a page with an index-only scan. An execution changes estado and the value date, both
+-- indexed elsewhere, so it is never a HOT update and adds entries to every index anyway; covering
+-- estado here costs no extra index writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cuenta_origen_historial ON transferencias
+    (cuenta_origen_id, fecha_creacion, id_transferencia) INCLUDE (cuenta_destino_id, importe, divisa, estado);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cuenta_destino_historial ON transferencias
+    (cuenta_destino_id, fecha_creacion, id_transferencia) INCLUDE (cuenta_origen_id, importe, divisa, estado);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_estado_fecha ON transferencias (estado, fecha_creacion, id_transferencia);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_divisa_fecha ON transferencias (divisa, fecha_creacion, id_transferencia);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fecha_creacion ON transferencias (fecha_creacion, id_transferencia);
+-- Value date: the execution time, or the creation time while a transfer has not been executed.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fecha_valor ON transferencias
+    ((COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia);
+-- Completed movements of an account by value date, read by the statement batch one month at a time.
+-- A transfer enters them once, when it completes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_origen_valor_completada ON transferencias
+    (cuenta_origen_id, (COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia) WHERE estado = 'COMPLETADA';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_destino_valor_completada ON transferencias
+    (cuenta_destino_id, (COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia) WHERE estado = 'COMPLETADA';
+
+-- Earlier account indexes, all prefixes of the history indexes above or replaced by them: the
+-- single-column ones, the uncovered ones, and the covering ones that held every column in the key.
+DROP INDEX CONCURRENTLY IF EXISTS idx_cuenta_origen;
+DROP INDEX CONCURRENTLY IF EXISTS idx_cuenta_destino;
+DROP INDEX CONCURRENTLY IF EXISTS idx_origen_fecha;
+DROP INDEX CONCURRENTLY IF EXISTS idx_destino_fecha;
+DROP INDEX CONCURRENTLY IF EXISTS idx_cuenta_origen_fecha;
+DROP INDEX CONCURRENTLY IF EXISTS idx_cuenta_destino_fecha;
@@ -0,0 +1,21 @@
+-- Adds full-text search on the transfer concept. Run once before enabling concept searches:
+--
+--   psql -v ON_ERROR_STOP=1 -f transferencias_concepto_search.sql
+--
+-- concepto_tsv is a stored generated column, so PostgreSQL keeps it current on every insert,
+-- update and COPY without any application code. Adding it rewrites the table; on a large table
+-- run this during a maintenance window. On a partitioned transferencias table the column and the
+-- index are created on every partition, including partitions created later.
+--
+-- The 'simple' configuration only lower-cases words, so concepts in any language match as typed.
+-- The application queries with websearch_to_tsquery('simple', ...); change both together.
+
+BEGIN;
+
+ALTER TABLE transferencias
+    ADD COLUMN IF NOT EXISTS concepto_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(concepto, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_concepto_tsv ON transferencias USING GIN (concepto_tsv);
+
+COMMIT;
@@ -0,0 +1,57 @@
+-- Converts an existing, unpartitioned transferencias table into one range-partitioned by month on
+-- fecha_creacion. Run once, during a maintenance window, before starting the new version:
+--
+--   psql -v ON_ERROR_STOP=1 -f transferencias_partitioned.sql
+--
+-- Existing rows are not copied. The current table becomes the partition transferencias_legacy,
+-- covering everything created before the start of next month. Monthly partitions from then on
+-- (transferencias_pYYYYMM) are created by the application, see transferencias.partitioning.
+--
+-- The primary key becomes (id_transferencia, fecha_creacion) because PostgreSQL requires unique
+-- constraints on a partitioned table to include the partition key. Ids still come from
+-- transferencias_seq and remain unique.
+
+BEGIN;
+
+SET LOCAL TimeZone = 'UTC';
+
+ALTER TABLE transferencias RENAME TO transferencias_legacy;
+ALTER TABLE transferencias_legacy DROP CONSTRAINT transferencias_pkey;
+ALTER TABLE transferencias_legacy
+    ADD CONSTRAINT transferencias_legacy_pkey PRIMARY KEY (id_transferencia, fecha_creacion);
+
+-- Run schema.sql first: it creates the account and value date indexes below and drops the older
+-- ones.
+ALTER INDEX idx_cuenta_origen_historial RENAME TO transferencias_legacy_cuenta_origen_historial_idx;
+ALTER INDEX idx_cuenta_destino_historial RENAME TO transferencias_legacy_cuenta_destino_historial_idx;
+ALTER INDEX idx_estado_fecha RENAME TO transferencias_legacy_estado_fecha_idx;
+ALTER INDEX idx_divisa_fecha RENAME TO transferencias_legacy_divisa_fecha_idx;
+ALTER INDEX idx_fecha_creacion RENAME TO transferencias_legacy_fecha_creacion_idx;
+ALTER INDEX idx_fecha_valor RENAME TO transferencias_legacy_fecha_valor_idx;
+ALTER INDEX idx_origen_valor_completada RENAME TO transferencias_legacy_origen_valor_completada_idx;
+ALTER INDEX idx_destino_valor_completada RENAME TO transferencias_legacy_destino_valor_completada_idx;
+
+CREATE TABLE transferencias (LIKE transferencias_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (fecha_creacion);
+
+ALTER TABLE transferencias
+    ADD CONSTRAINT transferencias_pkey PRIMARY KEY (id_transferencia, fecha_creacion);
+
+CREATE INDEX idx_cuenta_origen_historial ON transferencias
+    (cuenta_origen_id, fecha_creacion, id_transferencia) INCLUDE (cuenta_destino_id, importe, divisa, estado);
+CREATE INDEX idx_cuenta_destino_historial ON transferencias
+    (cuenta_destino_id, fecha_creacion, id_transferencia) INCLUDE (cuenta_origen_id, importe, divisa, estado);
+CREATE INDEX idx_estado_fecha ON transferencias (estado, fecha_creacion, id_transferencia);
+CREATE INDEX idx_divisa_fecha ON transferencias (divisa, fecha_creacion, id_transferencia);
+CREATE INDEX idx_fecha_creacion ON transferencias (fecha_creacion, id_transferencia);
+CREATE INDEX idx_fecha_valor ON transferencias ((COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia);
+CREATE INDEX idx_origen_valor_completada ON transferencias
+    (cuenta_origen_id, (COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia) WHERE estado = 'COMPLETADA';
+CREATE INDEX idx_destino_valor_completada ON transferencias
+    (cuenta_destino_id, (COALESCE(fecha_ejecucion, fecha_creacion)), id_transferencia) WHERE estado = 'COMPLETADA';
+
+-- Attaching reuses the legacy indexes that match the parent's.
+ALTER TABLE transferencias ATTACH PARTITION transferencias_legacy
+    FOR VALUES FROM (MINVALUE) TO (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '1 month');
+
+COMMIT;
@@ -0,0 +1,30 @@
+-- Moves transfer ids from the identity column to the transferencias_seq sequence. Run once, with
+-- every node of the previous version stopped, before starting this version:
+--
+--   psql -v ON_ERROR_STOP=1 -f transferencias_seq.sql
+--
+-- Ids are reserved with Hibernate's pooled-lo optimizer: a sequence value v hands out the ids
+-- [v, v + 50) to one node, where 50 is Transferencia.ID_ALLOCATION_SIZE. The sequence must
+-- therefore increment by exactly that much, or nodes get overlapping blocks, and it must start
+-- above the highest existing id. A plain CREATE SEQUENCE (INCREMENT 1, START 1) gets both wrong
+-- and ends in primary key collisions. The identity default is dropped so that nothing can keep
+-- drawing ids from the old counter.
+--
+-- Safe to run again: it only ever moves the sequence forward, past the highest id in the table.
+
+BEGIN;
+
+LOCK TABLE transferencias IN SHARE ROW EXCLUSIVE MODE;
+
+ALTER TABLE transferencias ALTER COLUMN id_transferencia DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS transferencias_seq INCREMENT BY 50;
+ALTER SEQUENCE transferencias_seq INCREMENT BY 50;
+
+SELECT setval('transferencias_seq',
+              GREATEST((SELECT COALESCE(MAX(id_transferencia), 0) FROM transferencias) + 1,
+                       (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END
+                        FROM transferencias_seq)),
+              false);
+
+COMMIT;
@@ -0,0 +1,269 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaNettingProperties;
+import com.example.api.domain.Compensacion;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.response.CompensacionBilateralResponse;
+import com.example.api.dto.response.CompensacionMultilateralResponse;
+import com.example.api.dto.response.CompensacionResponse;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.AccountFlowTable;
+import com.example.api.infrastructure.CompensacionBilateralRow;
+import com.example.api.infrastructure.CompensacionJdbcRepository;
+import com.example.api.infrastructure.CompensacionMultilateralRow;
+import com.example.api.infrastructure.CompensacionRepository;
+import com.example.api.infrastructure.PairFlowTable;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaIdRange;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompensacionServiceImplTest {
+
+    private static final Instant DESDE = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-03-02T00:00:00Z");
+    private static final int PARTITIONS = 4;
+
+    @Mock
+    private TransferenciaJdbcRepository transferenciaRepository;
+
+    @Mock
+    private CompensacionRepository repository;
+
+    @Mock
+    private CompensacionJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CompensacionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CompensacionServiceImpl(transferenciaRepository, repository, jdbcRepository, transactionManager,
+                new TransferenciaNettingProperties(PARTITIONS, 100, 4, Duration.ofDays(31), 1000, 2, 3),
+                new TransferenciaCursorCodec(), meterRegistry);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(repository.save(any(Compensacion.class))).thenAnswer(invocation -> {
+            Compensacion compensacion = invocation.getArgument(0);
+            ReflectionTestUtils.setField(compensacion, "id", 7L);
+            return compensacion;
+        });
+    }
+
+    /**
+     * Stores the flows as transfers with ids {@code 1..n}.
+     */
+    private void storedFlows(long[]... flows) {
+        if (flows.length == 0) {
+            when(transferenciaRepository.findIdRange(any())).thenReturn(null);
+            return;
+        }
+        when(transferenciaRepository.findIdRange(any())).thenReturn(new TransferenciaIdRange(1, flows.length + 1));
+        doAnswer(invocation -> {
+            TransferenciaIdRange ids = invocation.getArgument(1);
+            TransferenciaJdbcRepository.FlowConsumer consumer = invocation.getArgument(3);
+            for (int i = (int) ids.desde() - 1; i < ids.hasta() - 1; i++) {
+                long[] flow = flows[i];
+                consumer.accept(flow[0], flow[1], flow[2]);
+            }
+            return null;
+        }).when(transferenciaRepository).streamFlows(any(), any(), eq(100), any());
+    }
+
+    @Test
+    void compensar_shouldNetEveryPartitionBilaterallyAndMultilaterally() {
+        storedFlows(new long[] {100, 200, 1_000}, new long[] {200, 100, 400}, new long[] {200, 300, 600},
+                new long[] {300, 100, 600}, new long[] {100, 300, 100});
+
+        CompensacionResponse response = service.compensar("EUR", DESDE, HASTA, null);
+
+        assertThat(response.id()).isEqualTo(7L);
+        assertThat(response.estado()).isEqualTo("PENDIENTE");
+        assertThat(response.transferencias()).isEqualTo(5);
+        assertThat(response.pares()).isEqualTo(3);
+        assertThat(response.cuentas()).isEqualTo(3);
+        assertThat(response.importeBruto()).isEqualByComparingTo("27.00");
+        assertThat(response.importeNetoBilateral()).isEqualByComparingTo("17.00");
+        assertThat(response.importeNetoMultilateral()).isEqualByComparingTo("1.00");
+
+        ArgumentCaptor<TransferenciaCriteria> criteria = ArgumentCaptor.forClass(TransferenciaCriteria.class);
+        verify(transferenciaRepository, times(PARTITIONS)).streamFlows(criteria.capture(), any(),
+                eq(100), any());
+        assertThat(criteria.getAllValues()).allSatisfy(value -> assertThat(value)
+                .isEqualTo(new TransferenciaCriteria(null, null, DESDE, HASTA, EstadoTransferencia.PENDIENTE, "EUR")));
+
+        ArgumentCaptor<PairFlowTable> pares = ArgumentCaptor.forClass(PairFlowTable.class);
+        verify(jdbcRepository, times(PARTITIONS)).insertBilaterales(eq(7L), pares.capture(), eq(1000));
+        assertThat(pares.getAllValues().stream().mapToInt(PairFlowTable::size).sum()).isEqualTo(3);
+        ArgumentCaptor<AccountFlowTable> cuentas = ArgumentCaptor.forClass(AccountFlowTable.class);
+        verify(jdbcRepository).insertMultilaterales(eq(7L), cuentas.capture(), eq(1000));
+        Map<Long, Long> netos = new HashMap<>();
+        AccountFlowTable table = cuentas.getValue();
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.isUsed(slot)) {
+                netos.put(table.account(slot), table.received(slot) - table.paid(slot));
+            }
+        }
+        assertThat(netos).containsExactlyInAnyOrderEntriesOf(Map.of(100L, -100L, 200L, 0L, 300L, 100L));
+        assertThat(meterRegistry.counter(CompensacionServiceImpl.METRIC_TRANSFERS).count()).isEqualTo(5);
+        assertThat(meterRegistry.timer(CompensacionServiceImpl.METRIC_DURATION).count()).isEqualTo(1);
+    }
+
+    @Test
+    void compensar_shouldNetTheRequestedState() {
+        storedFlows();
+
+        CompensacionResponse response = service.compensar("USD", DESDE, HASTA, "COMPLETADA");
+
+        assertThat(response.estado()).isEqualTo("COMPLETADA");
+        assertThat(response.transferencias()).isZero();
+        assertThat(response.importeBruto()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void compensar_shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> service.compensar(null, DESDE, HASTA, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid currency: null");
+        assertThatThrownBy(() -> service.compensar("EUR", null, HASTA, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Both 'desde' and 'hasta' are required");
+        assertThatThrownBy(() -> service.compensar("EUR", HASTA, DESDE, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid window: 'desde' must be before 'hasta'");
+        assertThatThrownBy(() -> service.compensar("EUR", DESDE, DESDE.plus(Duration.ofDays(32)), null))
+                .isInstanceOf(BusinessException.class).hasMessage("Netting window must not exceed PT744H");
+        assertThatThrownBy(() -> service.compensar("EUR", DESDE, HASTA, "UNKNOWN"))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid transfer state: UNKNOWN");
+    }
+
+    @Test
+    void compensar_shouldRejectConcurrentRuns() {
+        when(transferenciaRepository.findIdRange(any())).thenReturn(new TransferenciaIdRange(1, 2));
+        doAnswer(invocation -> {
+            assertThatThrownBy(() -> service.compensar("EUR", DESDE, HASTA, null))
+                    .isInstanceOf(ConflictException.class);
+            return null;
+        }).when(transferenciaRepository).streamFlows(any(), any(), anyInt(), any());
+
+        assertThat(service.compensar("EUR", DESDE, HASTA, null).transferencias()).isZero();
+    }
+
+    @Test
+    void compensar_shouldFail_whenAmountsOverflow() {
+        storedFlows(new long[] {100, 200, Long.MAX_VALUE}, new long[] {100, 200, 1});
+
+        assertThatThrownBy(() -> service.compensar("EUR", DESDE, HASTA, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Netting amounts exceed the supported range");
+    }
+
+    @Test
+    void getCompensacion_shouldReturn404_whenRunDoesNotExist() {
+        when(repository.findById(8L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getCompensacion(8L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Netting run not found with id: 8");
+    }
+
+    @Test
+    void getBilaterales_shouldPageByPairCursor() {
+        when(repository.findById(7L)).thenReturn(Optional.of(run()));
+        when(jdbcRepository.findBilaterales(7L, null, null, null, 3)).thenReturn(List.of(
+                bilateral(100, 200), bilateral(100, 300), bilateral(200, 300)));
+
+        CursorPageResponse<CompensacionBilateralResponse> first = service.getBilaterales(7L, null, null, null);
+
+        assertThat(first.content()).extracting(CompensacionBilateralResponse::cuentaB).containsExactly(200L, 300L);
+        assertThat(first.hasNext()).isTrue();
+        when(jdbcRepository.findBilaterales(7L, 100L, 100L, 300L, 2)).thenReturn(List.of(bilateral(200, 300)));
+
+        CursorPageResponse<CompensacionBilateralResponse> second =
+                service.getBilaterales(7L, 100L, first.nextCursor(), 1);
+
+        assertThat(second.content()).extracting(CompensacionBilateralResponse::cuentaA).containsExactly(200L);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getMultilaterales_shouldPageByAccountCursor() {
+        when(repository.findById(7L)).thenReturn(Optional.of(run()));
+        when(jdbcRepository.findMultilaterales(7L, null, 4)).thenReturn(List.of(
+                multilateral(100), multilateral(200), multilateral(300), multilateral(400)));
+
+        CursorPageResponse<CompensacionMultilateralResponse> first = service.getMultilaterales(7L, null, 50);
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.hasNext()).isTrue();
+        when(jdbcRepository.findMultilaterales(eq(7L), eq(300L), eq(3))).thenReturn(List.of(multilateral(400)));
+
+        CursorPageResponse<CompensacionMultilateralResponse> second =
+                service.getMultilaterales(7L, first.nextCursor(), null);
+
+        assertThat(second.content()).extracting(CompensacionMultilateralResponse::cuentaId).containsExactly(400L);
+    }
+
+    @Test
+    void getMultilaterales_shouldRejectInvalidCursorsAndSizes() {
+        when(repository.findById(7L)).thenReturn(Optional.of(run()));
+
+        assertThatThrownBy(() -> service.getMultilaterales(7L, "not-a-cursor", null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid cursor: not-a-cursor");
+        assertThatThrownBy(() -> service.getMultilaterales(7L, "djE6MTox", null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid cursor: djE6MTox");
+        assertThatThrownBy(() -> service.getMultilaterales(7L, null, 0))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid page size: 0");
+        verify(jdbcRepository, times(0)).findMultilaterales(eq(7L), isNull(), anyInt());
+    }
+
+    private Compensacion run() {
+        Compensacion compensacion = new Compensacion("EUR", EstadoTransferencia.PENDIENTE, DESDE, HASTA, 5, 3, 3,
+                new BigDecimal("27.00"), new BigDecimal("17.00"), new BigDecimal("1.00"), HASTA, 12);
+        ReflectionTestUtils.setField(compensacion, "id", 7L);
+        return compensacion;
+    }
+
+    private CompensacionBilateralRow bilateral(long cuentaA, long cuentaB) {
+        return new CompensacionBilateralRow(cuentaA, cuentaB, BigDecimal.TEN, BigDecimal.ONE, 2, BigDecimal.valueOf(9));
+    }
+
+    private CompensacionMultilateralRow multilateral(long cuentaId) {
+        return new CompensacionMultilateralRow(cuentaId, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(-9));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.DatabasePlatform;
+import com.example.api.infrastructure.TextMatch;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConceptoIndexTest {
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConceptoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ConceptoIndex(jdbcRepository, transactionManager, new TransferenciaSearchProperties(20, 200, 50));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private static TransferenciaSnapshot snapshot(long id, String concepto) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal("10.00"), "EUR", concepto,
+                EstadoTransferencia.PENDIENTE, Instant.parse("2024-03-01T10:00:00Z"), null, null);
+    }
+
+    private List<Long> ids(String consulta) {
+        return index.search(consulta, null, 10).stream().map(TextMatch::id).toList();
+    }
+
+    @Test
+    void build_shouldIndexStoredConcepts_andFollowLaterWrites() {
+        doAnswer(invocation -> {
+            ObjLongConsumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("Alquiler marzo", 1L);
+            consumer.accept("Seguro coche", 2L);
+            return null;
+        }).when(jdbcRepository).streamConceptos(eq(50), any());
+
+        index.build();
+        index.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(3L, "Alquiler abril")),
+                TransferenciaChange.updated(snapshot(2L, "Seguro coche"), snapshot(2L, "Seguro hogar")),
+                TransferenciaChange.updated(snapshot(3L, "Alquiler abril"), snapshot(3L, "Alquiler abril")),
+                TransferenciaChange.deleted(snapshot(1L, "Alquiler marzo")))));
+
+        assertThat(index.isActive()).isTrue();
+        assertThat(ids("alquiler")).containsExactly(3L);
+        assertThat(ids("hogar")).containsExactly(2L);
+        assertThat(ids("coche")).isEmpty();
+    }
+
+    @Test
+    void build_shouldNotOverwriteConceptsUpdatedWhileItReadsTheTable() {
+        doAnswer(invocation -> {
+            ObjLongConsumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("Alquiler marzo", 1L);
+            index.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                    TransferenciaChange.updated(snapshot(1L, "Alquiler marzo"), snapshot(1L, "Seguro hogar")),
+                    TransferenciaChange.updated(snapshot(2L, "Seguro coche"), snapshot(2L, "Alquiler abril")))));
+            consumer.accept("Seguro coche", 2L);
+            return null;
+        }).when(jdbcRepository).streamConceptos(eq(50), any());
+
+        index.build();
+
+        assertThat(ids("alquiler")).containsExactly(2L);
+        assertThat(ids("seguro")).containsExactly(1L);
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldIgnoreWrites_untilBuilt() {
+        index.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(3L, "Alquiler abril")))));
+
+        assertThat(index.isActive()).isFalse();
+        assertThat(ids("alquiler")).isEmpty();
+    }
+
+    @Test
+    void build_shouldStayInactive_whenLoadingFails() {
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcRepository).streamConceptos(eq(50), any());
+        ConceptoIndexLoader loader = new ConceptoIndexLoader(index, DatabasePlatform.H2);
+
+        loader.onApplicationReady();
+
+        assertThat(index.isActive()).isFalse();
+    }
+
+    @Test
+    void loader_shouldNotBuild_onPostgresql() {
+        new ConceptoIndexLoader(index, DatabasePlatform.POSTGRESQL).onApplicationReady();
+
+        assertThat(index.isActive()).isFalse();
+        verify(jdbcRepository, never()).streamConceptos(any(Integer.class), any());
+    }
+}
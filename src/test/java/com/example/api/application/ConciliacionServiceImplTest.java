@@ -0,0 +1,261 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaReconciliationProperties;
+import com.example.api.domain.Conciliacion;
+import com.example.api.dto.response.ConciliacionRegistroResponse;
+import com.example.api.dto.response.ConciliacionResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.ConciliacionRepository;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConciliacionServiceImplTest {
+
+    private static final LocalDate DESDE = LocalDate.parse("2024-03-01");
+    private static final LocalDate HASTA = LocalDate.parse("2024-03-02");
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private ConciliacionRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path workDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConciliacionServiceImpl service;
+    private Conciliacion saved;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConciliacionServiceImpl(jdbcRepository, repository, objectMapper, transactionManager,
+                new TransferenciaReconciliationProperties(4, 2, 100, 256, Duration.ofDays(3), 31,
+                        workDir.toString(), Duration.ofDays(7)),
+                meterRegistry);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(repository.save(any(Conciliacion.class))).thenAnswer(invocation -> {
+            saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 7L);
+            return saved;
+        });
+    }
+
+    private void storedTransfers(Object[]... rows) {
+        doAnswer(invocation -> {
+            TransferenciaJdbcRepository.ReferenciaConsumer consumer = invocation.getArgument(3);
+            for (Object[] row : rows) {
+                consumer.accept((Long) row[0], (String) row[1], (Long) row[2], (String) row[3],
+                        Instant.parse((String) row[4]));
+            }
+            return null;
+        }).when(jdbcRepository).streamReferencias(eq(Instant.parse("2024-02-27T00:00:00Z")),
+                eq(Instant.parse("2024-03-03T00:00:00Z")), eq(100), any());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ConciliacionRegistroResponse> registros(String resultado) throws IOException {
+        when(repository.findById(7L)).thenReturn(Optional.of(saved));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.prepareRegistros(7L, resultado).writeTo(output);
+        List<ConciliacionRegistroResponse> registros = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                registros.add(objectMapper.readValue(line, ConciliacionRegistroResponse.class));
+            }
+        }
+        return registros;
+    }
+
+    @Test
+    void conciliar_shouldJoinStatementAndTransfersByReference() throws IOException {
+        storedTransfers(
+                new Object[] {1L, "REF-1", 1250L, "EUR", "2024-03-01T10:00:00Z"},
+                new Object[] {2L, "REF-2", 500L, "EUR", "2024-03-01T23:59:59Z"},
+                new Object[] {3L, "REF-3", 100L, "USD", "2024-03-02T08:00:00Z"},
+                new Object[] {4L, "REF-4", 100L, "EUR", "2024-02-27T08:00:00Z"},
+                new Object[] {6L, "REF-6", 100L, "EUR", "2024-03-02T08:00:00Z"},
+                new Object[] {8L, "REF-1", 1250L, "EUR", "2024-03-01T11:00:00Z"});
+
+        ConciliacionResponse response = service.conciliar(DESDE, HASTA, csv("referenciaExterna,importe,fecha,divisa\n"
+                + "REF-1,12.50,2024-03-01,EUR\n"
+                + "REF-2,6.00,2024-03-02,\n"
+                + "REF-5,1.00,2024-03-01,EUR\n"
+                + "REF-6,1.00,2024-03-02,USD\n"
+                + "REF-7,abc,2024-03-01,EUR\n"));
+
+        assertThat(response.id()).isEqualTo(7L);
+        assertThat(response.lineas()).isEqualTo(5);
+        assertThat(response.lineasInvalidas()).isEqualTo(1);
+        assertThat(response.transferencias()).isEqualTo(5);
+        assertThat(response.conciliadas()).isEqualTo(1);
+        assertThat(response.discrepantes()).isEqualTo(2);
+        assertThat(response.soloExtracto()).isEqualTo(1);
+        assertThat(response.soloTransferencia()).isEqualTo(2);
+        assertThat(workDir.resolve("7")).isDirectory();
+        assertThat(Files.list(workDir.resolve("7")).map(file -> file.getFileName().toString()))
+                .allMatch(name -> name.endsWith(".ndjson"));
+
+        assertThat(registros("CONCILIADA")).containsExactly(new ConciliacionRegistroResponse("CONCILIADA", 2L, 1L,
+                "REF-1", new BigDecimal("12.50"), new BigDecimal("12.50"), DESDE, DESDE, "EUR", "EUR", null, null));
+        assertThat(registros("DISCREPANTE")).extracting(ConciliacionRegistroResponse::referenciaExterna,
+                ConciliacionRegistroResponse::diferencias).containsExactlyInAnyOrder(
+                        tuple("REF-2", List.of("importe", "fecha")),
+                        tuple("REF-6", List.of("divisa")));
+        assertThat(registros("SOLO_EXTRACTO")).extracting(ConciliacionRegistroResponse::linea).containsExactly(4L);
+        assertThat(registros("SOLO_TRANSFERENCIA")).extracting(ConciliacionRegistroResponse::idTransferencia)
+                .containsExactlyInAnyOrder(3L, 8L);
+        assertThat(registros("INVALIDA")).containsExactly(new ConciliacionRegistroResponse("INVALIDA", 6L, null,
+                "REF-7", null, null, null, null, null, null, null, "importe: invalid amount 'abc'"));
+        assertThat(registros(null)).hasSize(7);
+
+        assertThat(meterRegistry.timer(ConciliacionServiceImpl.METRIC_DURATION).count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(ConciliacionServiceImpl.METRIC_LINES, "lado", "EXTRACTO").count())
+                .isEqualTo(5);
+        assertThat(meterRegistry.counter(ConciliacionServiceImpl.METRIC_LINES, "lado", "TRANSFERENCIA").count())
+                .isEqualTo(5);
+        assertThat(meterRegistry.counter(ConciliacionServiceImpl.METRIC_RECORDS, "resultado", "DISCREPANTE").count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(ConciliacionServiceImpl.METRIC_THROUGHPUT).gauge().value()).isPositive();
+    }
+
+    @Test
+    void conciliar_shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> service.conciliar(null, HASTA, csv("")))
+                .isInstanceOf(BusinessException.class).hasMessage("Both 'desde' and 'hasta' are required");
+        assertThatThrownBy(() -> service.conciliar(HASTA, DESDE, csv("")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid date range: 'desde' must not be after 'hasta'");
+        assertThatThrownBy(() -> service.conciliar(DESDE, DESDE.plusDays(31), csv("")))
+                .isInstanceOf(BusinessException.class).hasMessage("Reconciliation range must not exceed 31 days");
+    }
+
+    @Test
+    void conciliar_shouldRejectConcurrentRuns() {
+        doAnswer(invocation -> {
+            assertThatThrownBy(() -> service.conciliar(DESDE, HASTA, csv("")))
+                    .isInstanceOf(ConflictException.class);
+            return null;
+        }).when(jdbcRepository).streamReferencias(any(), any(), anyInt(), any());
+
+        assertThat(service.conciliar(DESDE, HASTA, csv("referenciaExterna,importe,fecha\n")).lineas()).isZero();
+    }
+
+    @Test
+    void conciliar_shouldDiscardTheRun_whenTheStatementIsMalformed() throws IOException {
+        storedTransfers(new Object[] {1L, "REF-1", 1250L, "EUR", "2024-03-01T10:00:00Z"});
+
+        assertThatThrownBy(() -> service.conciliar(DESDE, HASTA, csv("referenciaExterna,importe,fecha\n"
+                + "REF-1,12.50,2024-03-01\n\"REF-2,1.00,2024-03-01\n")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Unterminated quoted field in CSV record at line 3");
+        assertThatThrownBy(() -> service.conciliar(DESDE, HASTA, csv("")))
+                .isInstanceOf(BusinessException.class).hasMessage("The statement file is empty");
+
+        assertThat(Files.list(workDir)).isEmpty();
+    }
+
+    @Test
+    void conciliar_shouldFail_whenTransfersCannotBeRead() throws IOException {
+        doThrow(new IllegalStateException("connection lost"))
+                .when(jdbcRepository).streamReferencias(any(), any(), anyInt(), any());
+
+        assertThatThrownBy(() -> service.conciliar(DESDE, HASTA, csv("referenciaExterna,importe,fecha\n")))
+                .isInstanceOf(IllegalStateException.class).hasMessage("connection lost");
+        assertThat(Files.list(workDir)).isEmpty();
+    }
+
+    @Test
+    void conciliar_shouldPurgeExpiredResults() throws IOException {
+        Path expired = Files.createDirectories(workDir.resolve("3"));
+        Files.writeString(expired.resolve("CONCILIADA-0.ndjson"), "{}\n");
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+        Path recent = Files.createDirectories(workDir.resolve("5"));
+
+        service.conciliar(DESDE, HASTA, csv("referenciaExterna,importe,fecha\n"));
+
+        assertThat(expired).doesNotExist();
+        assertThat(recent).isDirectory();
+        assertThat(workDir.resolve("7")).isDirectory();
+    }
+
+    @Test
+    void prepareRegistros_shouldReturn404_whenRunOrResultsAreMissing() {
+        when(repository.findById(8L)).thenReturn(Optional.empty());
+        when(repository.findById(9L)).thenReturn(Optional.of(new Conciliacion(DESDE, HASTA, 0, 0, 0, 0, 0, 0, 0,
+                Instant.now(), 0)));
+
+        assertThatThrownBy(() -> service.prepareRegistros(8L, null))
+                .isInstanceOf(ResourceNotFoundException.class).hasMessage("Reconciliation not found with id: 8");
+        assertThatThrownBy(() -> service.prepareRegistros(9L, "CONCILIADA"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Records of reconciliation 9 are not available on this node");
+        assertThatThrownBy(() -> service.prepareRegistros(9L, "OTRO"))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid reconciliation result: OTRO");
+    }
+
+    @Test
+    void getConciliacion_shouldReturnTheStoredSummary() {
+        Conciliacion conciliacion = new Conciliacion(DESDE, HASTA, 2_000, 1, 1_900, 1_800, 100, 99, 0,
+                Instant.parse("2024-03-03T06:00:00Z"), 500);
+        when(repository.findById(7L)).thenReturn(Optional.of(conciliacion));
+
+        ConciliacionResponse response = service.getConciliacion(7L);
+
+        assertThat(response.conciliadas()).isEqualTo(1_800);
+        assertThat(response.lineasPorSegundo()).isEqualTo(4_000);
+    }
+}
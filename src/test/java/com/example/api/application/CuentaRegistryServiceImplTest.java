@@ -0,0 +1,190 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaAccountsProperties;
+import com.example.api.domain.EstadoCuenta;
+import com.example.api.dto.response.CuentaRegistryResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.CuentaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CuentaRegistryServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T12:00:00Z");
+    private static final Instant CAMBIO = Instant.parse("2024-05-01T11:00:00Z");
+
+    @Mock
+    private CuentaJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Clock clock;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(clock.instant()).thenReturn(NOW);
+    }
+
+    private CuentaRegistryServiceImpl service(boolean enabled) {
+        return new CuentaRegistryServiceImpl(jdbcRepository, transactionManager,
+                new TransferenciaAccountsProperties(enabled, Duration.ofSeconds(10), Duration.ofHours(6),
+                        Duration.ofMinutes(5), 100), meterRegistry, clock);
+    }
+
+    /**
+     * Serves accounts 1 and 2 active, 3 blocked and 4 closed.
+     */
+    private void storedAccounts() {
+        doAnswer(invocation -> {
+            CuentaJdbcRepository.CuentaConsumer consumer = invocation.getArgument(1);
+            consumer.accept(1, EstadoCuenta.ACTIVA, CAMBIO.minusSeconds(60));
+            consumer.accept(2, EstadoCuenta.ACTIVA, CAMBIO);
+            consumer.accept(3, EstadoCuenta.BLOQUEADA, CAMBIO.minusSeconds(30));
+            consumer.accept(4, EstadoCuenta.CERRADA, CAMBIO.minusSeconds(90));
+            return null;
+        }).when(jdbcRepository).streamAll(eq(100), any());
+    }
+
+    private double rejected(String motivo) {
+        return meterRegistry.counter(CuentaRegistryServiceImpl.METRIC_REJECTED, "motivo", motivo).count();
+    }
+
+    @Test
+    void validate_shouldDoNothing_whenDisabled() {
+        CuentaRegistryServiceImpl service = service(false);
+
+        assertThatCode(() -> service.validate(98, 99)).doesNotThrowAnyException();
+        assertThat(service.reload().ready()).isFalse();
+        assertThat(service.refresh().enabled()).isFalse();
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    @Test
+    void validate_shouldLookAccountsUpInTheTable_untilTheRegistryIsLoaded() {
+        CuentaRegistryServiceImpl service = service(true);
+        when(jdbcRepository.findEstados(1, 3)).thenReturn(Map.of(1L, EstadoCuenta.ACTIVA, 3L, EstadoCuenta.BLOQUEADA));
+
+        assertThatThrownBy(() -> service.validate(1, 3))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Destination account is blocked: 3");
+        assertThat(rejected("bloqueada")).isEqualTo(1);
+    }
+
+    @Test
+    void reload_shouldLoadValidAndBlockedAccounts() {
+        storedAccounts();
+        CuentaRegistryServiceImpl service = service(true);
+
+        CuentaRegistryResponse response = service.reload();
+
+        assertThat(response.ready()).isTrue();
+        assertThat(response.validas()).isEqualTo(3);
+        assertThat(response.bloqueadas()).isEqualTo(1);
+        assertThat(response.memoryBytes()).isPositive();
+        assertThat(response.actualizadoHasta()).isEqualTo(CAMBIO);
+        assertThat(response.recargadoEn()).isEqualTo(NOW);
+        assertThatCode(() -> service.validate(1, 2)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validate(3, 1)).hasMessage("Source account is blocked: 3");
+        assertThatThrownBy(() -> service.validate(1, 4)).hasMessage("Destination account does not exist or is closed: 4");
+        assertThatThrownBy(() -> service.validate(5, 1)).hasMessage("Source account does not exist or is closed: 5");
+        assertThat(rejected("inexistente")).isEqualTo(2);
+        verify(jdbcRepository, never()).findEstados(any(long[].class));
+        assertThat(meterRegistry.get(CuentaRegistryServiceImpl.METRIC_SIZE).tag("estado", "valida").gauge().value())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void refresh_shouldApplyChangesSinceTheNewestChangeMinusOverlap() {
+        storedAccounts();
+        CuentaRegistryServiceImpl service = service(true);
+        service.reload();
+        doAnswer(invocation -> {
+            CuentaJdbcRepository.CuentaConsumer consumer = invocation.getArgument(2);
+            consumer.accept(1, EstadoCuenta.CERRADA, CAMBIO.plusSeconds(5));
+            consumer.accept(3, EstadoCuenta.ACTIVA, CAMBIO.plusSeconds(10));
+            consumer.accept(9, EstadoCuenta.BLOQUEADA, CAMBIO.plusSeconds(1));
+            return null;
+        }).when(jdbcRepository).streamChangedSince(eq(CAMBIO.minusSeconds(300)), eq(100), any());
+
+        CuentaRegistryResponse response = service.refresh();
+
+        assertThat(response.validas()).isEqualTo(3);
+        assertThat(response.bloqueadas()).isEqualTo(1);
+        assertThat(response.actualizadoHasta()).isEqualTo(CAMBIO.plusSeconds(10));
+        assertThat(response.recargadoEn()).isEqualTo(NOW);
+        assertThatCode(() -> service.validate(3, 2)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validate(1, 2)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.validate(2, 9)).hasMessage("Destination account is blocked: 9");
+        verify(jdbcRepository).streamAll(anyInt(), any());
+    }
+
+    @Test
+    void refresh_shouldReloadTheWholeTable_whenNotLoadedOrFullRefreshIsDue() {
+        storedAccounts();
+        CuentaRegistryServiceImpl service = service(true);
+
+        service.refresh();
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(6)));
+        CuentaRegistryResponse response = service.refresh();
+
+        assertThat(response.recargadoEn()).isEqualTo(NOW.plus(Duration.ofHours(6)));
+        verify(jdbcRepository, times(2)).streamAll(eq(100), any());
+        verify(jdbcRepository, never()).streamChangedSince(any(), anyInt(), any());
+    }
+
+    @Test
+    void refresh_shouldReadEverything_whenTheTableWasEmpty() {
+        CuentaRegistryServiceImpl service = service(true);
+        service.reload();
+
+        CuentaRegistryResponse response = service.refresh();
+
+        assertThat(response.validas()).isZero();
+        assertThat(response.actualizadoHasta()).isNull();
+        verify(jdbcRepository).streamChangedSince(eq(Instant.EPOCH), eq(100), any());
+    }
+
+    @Test
+    void reload_shouldThrowConflict_whenRefreshIsInProgress() {
+        CuentaRegistryServiceImpl service = service(true);
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "running")).set(true);
+
+        assertThatThrownBy(service::reload).isInstanceOf(ConflictException.class);
+        verify(jdbcRepository, never()).streamAll(anyInt(), any());
+    }
+}
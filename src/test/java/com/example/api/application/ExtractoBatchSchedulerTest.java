@@ -0,0 +1,32 @@
+package com.example.api.application;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractoBatchSchedulerTest {
+
+    @Mock
+    private ExtractoBatchService service;
+
+    @Test
+    void run_shouldGenerateThePreviousMonthAndSwallowFailures() {
+        ExtractoBatchScheduler scheduler = new ExtractoBatchScheduler(service, Clock.fixed(
+                Instant.parse("2024-01-01T02:00:00Z"), ZoneOffset.UTC));
+        when(service.generar(YearMonth.of(2023, 12))).thenThrow(new IllegalStateException("disk full"));
+
+        scheduler.run();
+
+        verify(service).generar(YearMonth.of(2023, 12));
+    }
+}
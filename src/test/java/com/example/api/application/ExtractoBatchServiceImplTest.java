@@ -0,0 +1,277 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaStatementProperties;
+import com.example.api.dto.response.ExtractoBatchResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoCerrado;
+import com.example.api.infrastructure.SaldoCierreJdbcRepository;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractoBatchServiceImplTest {
+
+    private static final YearMonth MARZO = YearMonth.of(2024, 3);
+    private static final Instant INICIO = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant FIN = Instant.parse("2024-04-01T00:00:00Z");
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private SaldoCierreJdbcRepository saldoCierreRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path workDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExtractoBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(workDir.toString());
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private ExtractoBatchServiceImpl service(String directory) {
+        return new ExtractoBatchServiceImpl(jdbcRepository, saldoCierreRepository, transactionManager,
+                new TransferenciaStatementProperties(false, "0 0 2 1 * *", 2, 2, 100, 512, 1, directory),
+                meterRegistry, Clock.fixed(Instant.parse("2024-04-15T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    /**
+     * Serves the opening balances (rows without a date) and movements of the requested account range
+     * in scan order, optionally failing in the middle of account 103.
+     */
+    private void storedMovements(AtomicBoolean failOn103, Object[]... rows) {
+        doAnswer(invocation -> {
+            long desde = invocation.getArgument(0);
+            long hasta = invocation.getArgument(1);
+            TransferenciaJdbcRepository.MovimientoConsumer consumer = invocation.getArgument(6);
+            for (Object[] row : rows) {
+                long cuenta = (Long) row[0];
+                if (cuenta < desde || cuenta >= hasta) {
+                    continue;
+                }
+                if (row[5] == null) {
+                    consumer.apertura(cuenta, (String) row[4], (Long) row[3]);
+                } else {
+                    consumer.accept(cuenta, (Long) row[1], (Long) row[2], (Long) row[3], (String) row[4],
+                            Instant.parse((String) row[5]));
+                }
+                if (cuenta == 103L && failOn103.get()) {
+                    throw new IllegalStateException("Connection reset");
+                }
+            }
+            return null;
+        }).when(jdbcRepository).streamMovimientos(anyLong(), anyLong(), any(), any(), anyBoolean(), eq(100), any());
+    }
+
+    private String statement(int partition, long cuenta) throws IOException {
+        Path file = workDir.resolve("2024-03").resolve(String.valueOf(partition)).resolve(cuenta + ".csv.gz");
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void generar_shouldWriteOpeningMovementsAndClosingPerAccount() throws IOException {
+        when(jdbcRepository.findCuentaRange()).thenReturn(new long[] {100, 103});
+        storedMovements(new AtomicBoolean(),
+                new Object[] {100L, 0L, 0L, 5000L, "EUR", null},
+                new Object[] {100L, 2L, 201L, -1250L, "EUR", "2024-03-04T10:15:30Z"},
+                new Object[] {100L, 3L, 202L, 300L, "USD", "2024-03-05T08:00:00Z"},
+                new Object[] {101L, 0L, 0L, 1000L, "EUR", null},
+                new Object[] {103L, 5L, 100L, 700L, "EUR", "2024-03-31T23:59:59Z"});
+
+        ExtractoBatchResponse response = service.generar(MARZO);
+
+        assertThat(response.periodo()).isEqualTo(MARZO);
+        assertThat(response.partitions()).isEqualTo(2);
+        assertThat(response.partitionsResumed()).isZero();
+        assertThat(response.cuentas()).isEqualTo(3);
+        assertThat(response.movimientos()).isEqualTo(3);
+        assertThat(statement(0, 100)).isEqualTo(ExtractoPartitionWriter.HEADER
+                + "APERTURA,2024-03-01T00:00:00Z,,,EUR,,50.00\n"
+                + "MOVIMIENTO,2024-03-04T10:15:30Z,2,201,EUR,-12.50,37.50\n"
+                + "APERTURA,2024-03-01T00:00:00Z,,,USD,,0.00\n"
+                + "MOVIMIENTO,2024-03-05T08:00:00Z,3,202,USD,3.00,3.00\n"
+                + "CIERRE,2024-04-01T00:00:00Z,,,EUR,-12.50,37.50\n"
+                + "CIERRE,2024-04-01T00:00:00Z,,,USD,3.00,3.00\n");
+        assertThat(statement(0, 101)).isEqualTo(ExtractoPartitionWriter.HEADER
+                + "APERTURA,2024-03-01T00:00:00Z,,,EUR,,10.00\n"
+                + "CIERRE,2024-04-01T00:00:00Z,,,EUR,0.00,10.00\n");
+        assertThat(statement(1, 103)).isEqualTo(ExtractoPartitionWriter.HEADER
+                + "APERTURA,2024-03-01T00:00:00Z,,,EUR,,0.00\n"
+                + "MOVIMIENTO,2024-03-31T23:59:59Z,5,100,EUR,7.00,7.00\n"
+                + "CIERRE,2024-04-01T00:00:00Z,,,EUR,7.00,7.00\n");
+        assertThat(workDir.resolve("2024-03").resolve("1").resolve("102.csv.gz")).doesNotExist();
+        assertThat(ExtractoCheckpoint.read(workDir.resolve("2024-03").resolve("checkpoint-1")))
+                .isEqualTo(new ExtractoCheckpoint(103, 1, 1, true));
+        assertThat(meterRegistry.counter(ExtractoBatchServiceImpl.METRIC_ACCOUNTS).count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter(ExtractoBatchServiceImpl.METRIC_MOVEMENTS).count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer(ExtractoBatchServiceImpl.METRIC_DURATION).count()).isEqualTo(1);
+        verify(jdbcRepository).streamMovimientos(eq(100L), eq(102L), eq(INICIO), eq(FIN), eq(false), eq(100), any());
+        verify(saldoCierreRepository).saveAll(LocalDate.of(2024, 4, 1), List.of(
+                new SaldoCerrado(100, "EUR", 3750), new SaldoCerrado(100, "USD", 300)));
+        verify(saldoCierreRepository).saveAll(LocalDate.of(2024, 4, 1), List.of(new SaldoCerrado(101, "EUR", 1000)));
+        verify(saldoCierreRepository).saveAll(LocalDate.of(2024, 4, 1), List.of(new SaldoCerrado(103, "EUR", 700)));
+        verify(saldoCierreRepository).deleteBefore(LocalDate.of(2024, 3, 1));
+        assertThat(workDir.resolve("2024-03").resolve(ExtractoBatchServiceImpl.SALDOS_FILE)).exists();
+    }
+
+    @Test
+    void generar_shouldOpenFromTheClosingBalancesOfACompletedPreviousMonth() {
+        storedMovements(new AtomicBoolean(), new Object[] {100L, 0L, 0L, 5000L, "EUR", null});
+        when(jdbcRepository.findCuentaRange()).thenReturn(new long[] {100, 100});
+        service.generar(YearMonth.of(2024, 2));
+        when(jdbcRepository.findCuentaRange()).thenReturn(null);
+        when(saldoCierreRepository.findCuentaRange(LocalDate.of(2024, 3, 1))).thenReturn(new long[] {100, 103});
+
+        ExtractoBatchResponse response = service.generar(MARZO);
+
+        assertThat(response.partitions()).isEqualTo(2);
+        verify(jdbcRepository).streamMovimientos(eq(100L), eq(101L), eq(Instant.parse("2024-02-01T00:00:00Z")),
+                eq(INICIO), eq(false), eq(100), any());
+        verify(jdbcRepository).streamMovimientos(eq(100L), eq(102L), eq(INICIO), eq(FIN), eq(true), eq(100), any());
+        verify(jdbcRepository).streamMovimientos(eq(102L), eq(104L), eq(INICIO), eq(FIN), eq(true), eq(100), any());
+    }
+
+    @Test
+    void generar_shouldRequireAWorkDirectory() {
+        assertThatThrownBy(() -> service("").generar(MARZO))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Account statements are not configured on this node");
+        assertThatThrownBy(() -> service("extractos"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Statement work directory must be an absolute path");
+        assertThatThrownBy(() -> new TransferenciaStatementProperties(true, "0 0 2 1 * *", 2, 2, 100, 512, 1, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Statement work directory must be set when statements are enabled");
+    }
+
+    @Test
+    void generar_shouldResumeFailedRangesFromTheirCheckpoint() throws IOException {
+        when(jdbcRepository.findCuentaRange()).thenReturn(new long[] {100, 103});
+        AtomicBoolean fail = new AtomicBoolean(true);
+        storedMovements(fail,
+                new Object[] {100L, 1L, 200L, 5000L, "EUR", "2024-03-10T09:00:00Z"},
+                new Object[] {102L, 2L, 200L, 100L, "EUR", "2024-03-11T09:00:00Z"},
+                new Object[] {103L, 3L, 200L, 200L, "EUR", "2024-03-12T09:00:00Z"});
+
+        assertThatThrownBy(() -> service.generar(MARZO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Connection reset");
+        assertThat(ExtractoCheckpoint.read(workDir.resolve("2024-03").resolve("checkpoint-0")).completa()).isTrue();
+
+        fail.set(false);
+        lenient().when(jdbcRepository.findCuentaRange()).thenReturn(new long[] {1, 1000});
+        ExtractoBatchResponse response = service.generar(MARZO);
+
+        assertThat(response.partitions()).isEqualTo(2);
+        assertThat(response.partitionsResumed()).isEqualTo(2);
+        assertThat(response.cuentas()).isEqualTo(3);
+        assertThat(response.movimientos()).isEqualTo(3);
+        verify(jdbcRepository, times(1)).streamMovimientos(eq(100L), eq(102L), eq(INICIO), eq(FIN), eq(false),
+                eq(100), any());
+        verify(jdbcRepository, times(1)).streamMovimientos(eq(102L), eq(104L), eq(INICIO), eq(FIN), eq(false),
+                eq(100), any());
+        verify(jdbcRepository, times(1)).streamMovimientos(eq(103L), eq(104L), eq(INICIO), eq(FIN), eq(false),
+                eq(100), any());
+        verify(jdbcRepository, times(1)).findCuentaRange();
+        assertThat(statement(1, 103)).endsWith("MOVIMIENTO,2024-03-12T09:00:00Z,3,200,EUR,2.00,2.00\n"
+                + "CIERRE,2024-04-01T00:00:00Z,,,EUR,2.00,2.00\n");
+        assertThat(meterRegistry.counter(ExtractoBatchServiceImpl.METRIC_ACCOUNTS).count()).isEqualTo(1.0);
+
+        ExtractoBatchResponse repeated = service.generar(MARZO);
+
+        assertThat(repeated.cuentas()).isEqualTo(3);
+        verify(jdbcRepository, times(3)).streamMovimientos(anyLong(), anyLong(), any(), any(), anyBoolean(), anyInt(),
+                any());
+    }
+
+    @Test
+    void generar_shouldReturnEmptyRunWhenThereAreNoTransfers() {
+        ExtractoBatchResponse response = service.generar(MARZO);
+
+        assertThat(response.partitions()).isZero();
+        assertThat(response.cuentas()).isZero();
+        assertThat(workDir.resolve("2024-03").resolve(ExtractoBatchServiceImpl.PLAN_FILE)).exists();
+        verify(jdbcRepository, never()).streamMovimientos(anyLong(), anyLong(), any(), any(), anyBoolean(), anyInt(),
+                any());
+    }
+
+    @Test
+    void generar_shouldRejectMissingOrUnfinishedPeriods() {
+        assertThatThrownBy(() -> service.generar(null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("'periodo' is required");
+        assertThatThrownBy(() -> service.generar(YearMonth.of(2024, 4)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Statement period has not ended yet: 2024-04");
+    }
+
+    @Test
+    void generar_shouldRejectConcurrentRuns() {
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "running")).set(true);
+
+        assertThatThrownBy(() -> service.generar(MARZO))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("A statement run is already in progress");
+    }
+
+    @Test
+    void checkpoint_shouldRejectCorruptFiles() throws IOException {
+        Path file = workDir.resolve("checkpoint-0");
+        Files.writeString(file, "12,3\n");
+
+        assertThatThrownBy(() -> ExtractoCheckpoint.read(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Corrupt statement checkpoint");
+        assertThat(List.of(ExtractoCheckpoint.read(workDir.resolve("missing")))).containsExactly(
+                ExtractoCheckpoint.INICIAL);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.api.application;
+
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.RegistroConciliacion;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExtractoCsvReaderTest {
+
+    private static final int DIA = (int) LocalDate.parse("2024-03-01").toEpochDay();
+
+    private List<ExtractoCsvReader.Linea> readAll(String csv) {
+        ExtractoCsvReader reader = new ExtractoCsvReader(new StringReader(csv));
+        List<ExtractoCsvReader.Linea> lineas = new ArrayList<>();
+        ExtractoCsvReader.Linea linea;
+        while ((linea = reader.next()) != null) {
+            lineas.add(linea);
+        }
+        return lineas;
+    }
+
+    @Test
+    void shouldParseLinesInHeaderOrderAndIgnoreOtherColumns() {
+        List<ExtractoCsvReader.Linea> lineas = readAll("fecha,saldo,importe,referenciaExterna,divisa\r\n"
+                + "2024-03-01,999.00,12.50,REF-1,EUR\r\n"
+                + "\r\n"
+                + "2024-03-02,0,\"1,000.5\",\"REF \"\"2\"\"\",\r\n"
+                + "2024-03-02,0,7,REF-3,\n");
+
+        assertThat(lineas).extracting(ExtractoCsvReader.Linea::registro).containsExactly(
+                new RegistroConciliacion(2, "REF-1", 1250, DIA, "EUR"),
+                null,
+                new RegistroConciliacion(5, "REF-3", 700, DIA + 1, null));
+        assertThat(lineas.get(1)).isEqualTo(new ExtractoCsvReader.Linea(4, "REF \"2\"", null,
+                "importe: invalid amount '1,000.5'"));
+    }
+
+    @Test
+    void shouldReportLineErrorsWithoutStopping() {
+        List<ExtractoCsvReader.Linea> lineas = readAll("referenciaExterna,importe,fecha,divisa\n"
+                + "REF-1,1.00\n"
+                + ",1.00,2024-03-01,EUR\n"
+                + "REF-3,1.005,2024-03-01,EUR\n"
+                + "REF-4,,2024-03-01,EUR\n"
+                + "REF-5,1.00,01/03/2024,EUR\n"
+                + "REF-6,1.00,,EUR\n"
+                + "REF-7,1.00,2024-03-01,EURO\n"
+                + "R".repeat(ExtractoCsvReader.MAX_REFERENCIA_LENGTH + 1) + ",1.00,2024-03-01,EUR\n"
+                + "REF-9,1.00,2024-03-01,EUR");
+
+        assertThat(lineas).extracting(ExtractoCsvReader.Linea::error).containsExactly(
+                "Expected 4 fields, found 2",
+                "referenciaExterna: missing",
+                "importe: invalid amount '1.005'",
+                "importe: missing",
+                "fecha: invalid date '01/03/2024'",
+                "fecha: missing",
+                "divisa: invalid currency 'EURO'",
+                "referenciaExterna: longer than 100 characters",
+                null);
+        assertThat(lineas.get(8).registro()).isEqualTo(new RegistroConciliacion(10, "REF-9", 100, DIA, "EUR"));
+    }
+
+    @Test
+    void shouldReadRecordsAcrossBufferBoundaries() {
+        StringBuilder csv = new StringBuilder("referenciaExterna,importe,fecha\r\n");
+        int lines = 20_000;
+        for (int i = 0; i < lines; i++) {
+            csv.append("REF-").append(i).append(",1.00,2024-03-01\r\n");
+        }
+
+        List<ExtractoCsvReader.Linea> lineas = readAll(csv.toString());
+
+        assertThat(lineas).hasSize(lines);
+        assertThat(lineas).allSatisfy(linea -> assertThat(linea.error()).isNull());
+        assertThat(lineas.get(lines - 1).registro()).isEqualTo(
+                new RegistroConciliacion(lines + 1, "REF-" + (lines - 1), 100, DIA, null));
+    }
+
+    @Test
+    void shouldRejectInvalidHeaders() {
+        assertThatThrownBy(() -> readAll(""))
+                .isInstanceOf(BusinessException.class).hasMessage("The statement file is empty");
+        assertThatThrownBy(() -> readAll("referenciaExterna,importe\n"))
+                .isInstanceOf(BusinessException.class).hasMessage("Missing statement column: fecha");
+        assertThatThrownBy(() -> readAll("referenciaExterna,importe,fecha,importe\n"))
+                .isInstanceOf(BusinessException.class).hasMessage("Duplicate statement column: importe");
+    }
+
+    @Test
+    void shouldFailOnUnterminatedQuotedFields() {
+        assertThatThrownBy(() -> readAll("referenciaExterna,importe,fecha\n\"REF-1,1.00,2024-03-01\n"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Unterminated quoted field in CSV record at line 2");
+    }
+}
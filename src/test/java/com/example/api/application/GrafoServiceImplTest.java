@@ -0,0 +1,219 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaGraphProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.response.GrafoCicloResponse;
+import com.example.api.dto.response.GrafoComponenteResponse;
+import com.example.api.dto.response.GrafoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaIdRange;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrafoServiceImplTest {
+
+    private static final Instant DESDE = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-03-02T00:00:00Z");
+    private static final int PARTITIONS = 2;
+
+    @Mock
+    private TransferenciaJdbcRepository transferenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GrafoServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService(1_000);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private GrafoServiceImpl newService(int maxTransfers) {
+        return new GrafoServiceImpl(transferenciaRepository, transactionManager,
+                new TransferenciaGraphProperties(PARTITIONS, 2, 100, Duration.ofDays(31), maxTransfers, 4, 6, 1_000,
+                        2.0, 20, 100),
+                meterRegistry);
+    }
+
+    /**
+     * Stores the flows as transfers with ids {@code 1..n}.
+     */
+    private void storedFlows(List<long[]> flows) {
+        if (flows.size() == 0) {
+            when(transferenciaRepository.findIdRange(any())).thenReturn(null);
+            return;
+        }
+        when(transferenciaRepository.findIdRange(any())).thenReturn(new TransferenciaIdRange(1, flows.size() + 1));
+        doAnswer(invocation -> {
+            TransferenciaIdRange ids = invocation.getArgument(1);
+            TransferenciaJdbcRepository.FlowConsumer consumer = invocation.getArgument(3);
+            for (int i = (int) ids.desde() - 1; i < ids.hasta() - 1; i++) {
+                long[] flow = flows.get(i);
+                consumer.accept(flow[0], flow[1], flow[2]);
+            }
+            return null;
+        }).when(transferenciaRepository).streamFlows(any(), any(), eq(100), any());
+    }
+
+    /**
+     * A cycle {@code 1 -> 2 -> 3 -> 1} with two transfers from 1 to 2, a back-and-forth pair
+     * {@code 4 <-> 5}, and account 9 paying twenty different accounts.
+     */
+    private static List<long[]> flows() {
+        List<long[]> flows = new ArrayList<>(List.of(new long[]{1, 2, 100}, new long[]{1, 2, 50},
+                new long[]{2, 3, 200}, new long[]{3, 1, 300}, new long[]{4, 5, 70}, new long[]{5, 4, 30}));
+        for (long destino = 10; destino < 30; destino++) {
+            flows.add(new long[]{9, destino, 1_000});
+        }
+        return flows;
+    }
+
+    @Test
+    void analizar_shouldReportComponentsCyclesAndFanOutliers() {
+        storedFlows(flows());
+
+        GrafoResponse response = service.analizar("EUR", DESDE, HASTA, null, null, null);
+
+        assertThat(response.estado()).isEqualTo("COMPLETADA");
+        assertThat(response.transferencias()).isEqualTo(26);
+        assertThat(response.cuentas()).isEqualTo(26);
+        assertThat(response.aristas()).isEqualTo(25);
+        assertThat(response.componentes()).isEqualTo(2);
+        assertThat(response.cuentasEnComponentes()).isEqualTo(5);
+        assertThat(response.mayoresComponentes()).containsExactly(
+                new GrafoComponenteResponse(3, new BigDecimal("6.50"), List.of(1L, 2L, 3L)),
+                new GrafoComponenteResponse(2, new BigDecimal("1.00"), List.of(4L, 5L)));
+        assertThat(response.longitudMaxima()).isEqualTo(4);
+        assertThat(response.ciclos()).isEqualTo(1);
+        assertThat(response.ciclosTruncados()).isFalse();
+        assertThat(response.ciclosPrincipales())
+                .containsExactly(new GrafoCicloResponse(List.of(1L, 2L, 3L), new BigDecimal("1.50")));
+        assertThat(response.fanOut().cuentas()).singleElement().satisfies(cuenta -> {
+            assertThat(cuenta.cuentaId()).isEqualTo(9L);
+            assertThat(cuenta.contrapartes()).isEqualTo(20);
+            assertThat(cuenta.importe()).isEqualByComparingTo("200.00");
+            assertThat(cuenta.puntuacion()).isGreaterThan(2.0);
+        });
+        assertThat(response.fanOut().media()).isEqualTo(4.17);
+        assertThat(response.fanIn().desviacion()).isZero();
+        assertThat(response.fanIn().cuentas()).isEmpty();
+
+        ArgumentCaptor<TransferenciaCriteria> criteria = ArgumentCaptor.forClass(TransferenciaCriteria.class);
+        verify(transferenciaRepository, times(PARTITIONS)).streamFlows(criteria.capture(), any(),
+                eq(100), any());
+        assertThat(criteria.getAllValues()).allSatisfy(value -> assertThat(value)
+                .isEqualTo(new TransferenciaCriteria(null, null, DESDE, HASTA, EstadoTransferencia.COMPLETADA, "EUR")));
+        assertThat(meterRegistry.counter(GrafoServiceImpl.METRIC_TRANSFERS).count()).isEqualTo(26);
+        assertThat(meterRegistry.timer(GrafoServiceImpl.METRIC_DURATION).count()).isEqualTo(1);
+    }
+
+    @Test
+    void analizar_shouldLimitListsAndCycleLength() {
+        storedFlows(flows());
+
+        GrafoResponse response = service.analizar("EUR", DESDE, HASTA, "PENDIENTE", 3, 1);
+
+        assertThat(response.estado()).isEqualTo("PENDIENTE");
+        assertThat(response.longitudMaxima()).isEqualTo(3);
+        assertThat(response.mayoresComponentes()).singleElement()
+                .satisfies(componente -> assertThat(componente.cuentas()).containsExactly(1L));
+        assertThat(response.ciclosPrincipales()).hasSize(1);
+    }
+
+    @Test
+    void analizar_shouldReturnEmptyAnalysis_whenWindowHasNoTransfers() {
+        storedFlows(List.of());
+
+        GrafoResponse response = service.analizar("EUR", DESDE, HASTA, null, null, null);
+
+        assertThat(response.cuentas()).isZero();
+        assertThat(response.componentes()).isZero();
+        assertThat(response.ciclosPrincipales()).isEmpty();
+        assertThat(response.fanOut().cuentas()).isEmpty();
+        assertThat(response.fanOut().media()).isZero();
+    }
+
+    @Test
+    void analizar_shouldRejectWindowsWithTooManyTransfers() {
+        service = newService(10);
+        storedFlows(flows());
+
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, null, null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Graph window holds more than 10 transfers");
+        assertThat(ReflectionTestUtils.getField(service, "running")).hasToString("false");
+    }
+
+    @Test
+    void analizar_shouldRejectAmountsOutOfRange() {
+        storedFlows(List.of(new long[]{1, 2, Long.MAX_VALUE}, new long[]{1, 2, 1}));
+
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, null, null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Graph amounts exceed the supported range");
+    }
+
+    @Test
+    void analizar_shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> service.analizar("EURO", DESDE, HASTA, null, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid currency: EURO");
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, null, null, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Both 'desde' and 'hasta' are required");
+        assertThatThrownBy(() -> service.analizar("EUR", HASTA, DESDE, null, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid window: 'desde' must be before 'hasta'");
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, DESDE.plus(Duration.ofDays(32)), null, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Graph window must not exceed PT744H");
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, "PAGADA", null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid transfer state: PAGADA");
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, null, 2, null))
+                .isInstanceOf(BusinessException.class).hasMessage("'longitud' must be between 3 and 6");
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, null, null, 101))
+                .isInstanceOf(BusinessException.class).hasMessage("'limit' must be between 1 and 100");
+        verify(transferenciaRepository, never()).streamFlows(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void analizar_shouldThrowConflict_whenAnalysisIsInProgress() {
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "running")).set(true);
+
+        assertThatThrownBy(() -> service.analizar("EUR", DESDE, HASTA, null, null, null))
+                .isInstanceOf(ConflictException.class);
+        verify(transferenciaRepository, never()).streamFlows(any(), any(), anyInt(), any());
+    }
+}
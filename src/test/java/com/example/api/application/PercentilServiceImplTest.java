@@ -0,0 +1,308 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaPercentilesProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.response.PercentilRebuildResponse;
+import com.example.api.dto.response.PercentilesResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.DistribucionImporteJdbcRepository;
+import com.example.api.infrastructure.TDigest;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PercentilServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+    private static final LocalDate HOY = LocalDate.parse("2024-03-10");
+    private static final LocalDate AYER = HOY.minusDays(1);
+
+    @Mock
+    private TransferenciaJdbcRepository transferenciaRepository;
+
+    @Mock
+    private DistribucionImporteJdbcRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Stored sketches keyed by {@code dia/divisa}, kept in sync with the mocked repository.
+     */
+    private final Map<String, byte[]> stored = new TreeMap<>();
+
+    private PercentilServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(true, Duration.ofMinutes(5));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().doAnswer(invocation -> stored.get(invocation.getArgument(0) + "/" + invocation.getArgument(1)))
+                .when(repository).findForUpdate(any(), anyString());
+        lenient().doAnswer(invocation -> stored.put(invocation.getArgument(0) + "/" + invocation.getArgument(1),
+                invocation.getArgument(2))).when(repository)
+                .save(any(), anyString(), any(), anyLong(), anyBoolean(), any());
+        lenient().doAnswer(invocation -> {
+            String divisa = invocation.getArgument(0);
+            LocalDate desde = invocation.getArgument(1);
+            LocalDate hasta = invocation.getArgument(2);
+            DistribucionImporteJdbcRepository.SketchConsumer consumer = invocation.getArgument(3);
+            stored.forEach((clave, sketch) -> {
+                LocalDate dia = LocalDate.parse(clave.substring(0, 10));
+                if (clave.endsWith("/" + divisa) && !dia.isBefore(desde) && !dia.isAfter(hasta)) {
+                    consumer.accept(dia, sketch);
+                }
+            });
+            return null;
+        }).when(repository).findRange(anyString(), any(), any(), any());
+    }
+
+    private PercentilServiceImpl service(boolean enabled, Duration cacheTtl) {
+        return new PercentilServiceImpl(transferenciaRepository, repository, transactionManager,
+                new TransferenciaPercentilesProperties(enabled, 100, Duration.ofSeconds(10), cacheTtl, 100,
+                        31, 10, 3, 500),
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static TransferenciaSnapshot transferencia(long id, String importe, String divisa, Instant fecha) {
+        return new TransferenciaSnapshot(id, 1L, 2L, new BigDecimal(importe), divisa, null,
+                EstadoTransferencia.PENDIENTE, fecha, null, null);
+    }
+
+    private void created(int desde, int hasta, String divisa, Instant fecha) {
+        List<TransferenciaChange> changes = new ArrayList<>();
+        for (int i = desde; i <= hasta; i++) {
+            changes.add(TransferenciaChange.created(transferencia(i, i + ".00", divisa, fecha)));
+        }
+        service.onTransferenciasChanged(new TransferenciasChangedEvent(changes));
+    }
+
+    private void stored(LocalDate dia, String divisa, double... values) {
+        TDigest digest = new TDigest(100);
+        for (double value : values) {
+            digest.add(value);
+        }
+        stored.put(dia + "/" + divisa, digest.toBytes());
+    }
+
+    @Test
+    void getPercentiles_shouldMergePendingCreations() {
+        created(1, 1000, "EUR", NOW);
+        service.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.updated(
+                transferencia(1, "99999.00", "EUR", NOW), transferencia(1, "99999.00", "EUR", NOW))));
+        service.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.deleted(
+                transferencia(2, "99999.00", "EUR", NOW))));
+        created(1, 10, "USD", NOW);
+
+        PercentilesResponse response = service.getPercentiles("EUR", AYER, HOY);
+
+        assertThat(response.cantidad()).isEqualTo(1000);
+        assertThat(response.minimo()).isEqualByComparingTo("1.00");
+        assertThat(response.maximo()).isEqualByComparingTo("1000.00");
+        assertThat(response.p50().doubleValue()).isBetween(490.0, 510.0);
+        assertThat(response.p99().doubleValue()).isBetween(985.0, 995.0);
+        assertThat(response.p999().doubleValue()).isBetween(995.0, 1000.0);
+        assertThat(meterRegistry.get(PercentilServiceImpl.METRIC_QUERY).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getPercentiles_shouldReturnNullAmountsWithoutTransfers() {
+        PercentilesResponse response = service.getPercentiles("EUR", AYER, HOY);
+
+        assertThat(response.cantidad()).isZero();
+        assertThat(response.p50()).isNull();
+        assertThat(response.maximo()).isNull();
+    }
+
+    @Test
+    void getPercentiles_shouldMergeStoredDaysAndCacheThePastOnes() {
+        stored(AYER.minusDays(1), "EUR", 100);
+        stored(AYER, "EUR", 200, 300);
+        stored(HOY, "EUR", 400);
+        stored(AYER, "USD", 999_999);
+
+        PercentilesResponse first = service.getPercentiles("EUR", AYER.minusDays(2), HOY);
+        stored.clear();
+        stored(HOY, "EUR", 500);
+        PercentilesResponse second = service.getPercentiles("EUR", AYER.minusDays(2), HOY);
+
+        assertThat(first.cantidad()).isEqualTo(4);
+        assertThat(first.maximo()).isEqualByComparingTo("4.00");
+        assertThat(second.cantidad()).isEqualTo(4);
+        assertThat(second.minimo()).isEqualByComparingTo("1.00");
+        assertThat(second.maximo()).isEqualByComparingTo("5.00");
+        verify(repository).findRange(eq("EUR"), eq(AYER.minusDays(2)), eq(HOY), any());
+        verify(repository).findRange(eq("EUR"), eq(HOY), eq(HOY), any());
+    }
+
+    @Test
+    void getPercentiles_shouldReloadExpiredDays() {
+        service = service(true, Duration.ZERO);
+        stored(AYER, "EUR", 100);
+        service.getPercentiles("EUR", AYER, AYER);
+        stored(AYER, "EUR", 100, 200);
+
+        assertThat(service.getPercentiles("EUR", AYER, AYER).cantidad()).isEqualTo(2);
+        verify(repository, times(2)).findRange(eq("EUR"), eq(AYER), eq(AYER), any());
+    }
+
+    @Test
+    void flush_shouldMergePendingIntoStoredSketches() {
+        stored(AYER, "EUR", 50_000);
+        created(1, 3, "EUR", NOW.minus(Duration.ofDays(1)));
+        created(4, 5, "EUR", NOW);
+        service.getPercentiles("EUR", AYER, AYER);
+
+        assertThat(service.flush()).isEqualTo(2);
+
+        verify(repository).save(eq(AYER), eq("EUR"), any(), eq(4L), eq(false), eq(NOW));
+        verify(repository).save(eq(HOY), eq("EUR"), any(), eq(2L), eq(true), eq(NOW));
+        assertThat(TDigest.fromBytes(stored.get(AYER + "/EUR")).max()).isEqualTo(50_000.0);
+        assertThat(service.flush()).isZero();
+        PercentilesResponse response = service.getPercentiles("EUR", AYER, HOY);
+        assertThat(response.cantidad()).isEqualTo(6);
+        assertThat(meterRegistry.get(PercentilServiceImpl.METRIC_FLUSHED).counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void flush_shouldKeepPendingSketchesWhenWritingFails() {
+        created(1, 3, "EUR", NOW);
+        doThrow(new DuplicateKeyException("duplicate")).when(repository)
+                .save(any(), anyString(), any(), anyLong(), anyBoolean(), any());
+
+        assertThatThrownBy(() -> service.flush()).isInstanceOf(DuplicateKeyException.class);
+        created(4, 4, "EUR", NOW);
+
+        assertThat(service.getPercentiles("EUR", HOY, HOY).cantidad()).isEqualTo(4);
+    }
+
+    @Test
+    void flush_shouldSkipWhileARebuildIsWriting() {
+        created(1, 3, "EUR", NOW);
+        AtomicBoolean flushed = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            flushed.set(service.flush() > 0);
+            return null;
+        }).when(transferenciaRepository).streamImportes(any(), any(), anyInt(), anyInt(), anyInt(), any());
+
+        service.rebuild(AYER, AYER);
+
+        assertThat(flushed).isFalse();
+        assertThat(service.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_shouldScanPartitionsInParallelAndReplaceTheRange() {
+        created(1, 5, "EUR", NOW.minus(Duration.ofDays(1)));
+        created(1, 2, "EUR", NOW);
+        stored(AYER, "EUR", 1);
+        doAnswer(invocation -> {
+            int partition = invocation.getArgument(3);
+            TransferenciaJdbcRepository.ImporteConsumer consumer = invocation.getArgument(5);
+            for (int i = 1; i <= 30; i++) {
+                if (i % 3 == partition) {
+                    consumer.accept(i % 2 == 0 ? "EUR" : "USD", i * 100L, NOW.minus(Duration.ofDays(1 + i % 3)));
+                }
+            }
+            return null;
+        }).when(transferenciaRepository).streamImportes(eq(Instant.parse("2024-03-07T00:00:00Z")),
+                eq(Instant.parse("2024-03-10T00:00:00Z")), eq(3), anyInt(), eq(500), any());
+        doAnswer(invocation -> {
+            stored.clear();
+            return 1;
+        }).when(repository).deleteRange(AYER.minusDays(2), AYER);
+
+        PercentilRebuildResponse response = service.rebuild(AYER.minusDays(2), AYER);
+
+        assertThat(response.partitions()).isEqualTo(3);
+        assertThat(response.transferencias()).isEqualTo(30);
+        assertThat(response.sketches()).isEqualTo(6);
+        verify(transferenciaRepository, times(3)).streamImportes(any(), any(), anyInt(), anyInt(), anyInt(), any());
+        TDigest ayer = TDigest.fromBytes(stored.get(AYER + "/EUR"));
+        assertThat(ayer.count()).isEqualTo(5);
+        assertThat(ayer.min()).isEqualTo(600.0);
+        assertThat(ayer.max()).isEqualTo(3000.0);
+        assertThat(stored).hasSize(6);
+        assertThat(service.getPercentiles("EUR", HOY, HOY).cantidad()).isEqualTo(2);
+        assertThat(meterRegistry.get(PercentilServiceImpl.METRIC_REBUILD).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_shouldRejectConcurrentRuns() {
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "running")).set(true);
+
+        assertThatThrownBy(() -> service.rebuild(AYER, AYER)).isInstanceOf(ConflictException.class);
+        verify(repository, never()).deleteRange(any(), any());
+    }
+
+    @Test
+    void rebuild_shouldPropagateScanFailures() {
+        doThrow(new IllegalStateException("boom")).when(transferenciaRepository)
+                .streamImportes(any(), any(), anyInt(), anyInt(), anyInt(), any());
+
+        assertThatThrownBy(() -> service.rebuild(AYER, AYER)).isInstanceOf(IllegalStateException.class);
+        verify(repository, never()).deleteRange(any(), any());
+        assertThat(ReflectionTestUtils.getField(service, "running")).hasToString("false");
+    }
+
+    @Test
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> service.getPercentiles("EURO", AYER, HOY)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.getPercentiles("EUR", null, HOY)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.getPercentiles("EUR", HOY, AYER)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.getPercentiles("EUR", HOY.minusDays(31), HOY))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Date range must not exceed 31 days");
+        assertThatThrownBy(() -> service.rebuild(HOY.minusDays(10), HOY))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Date range must not exceed 10 days");
+        PercentilServiceImpl disabled = service(false, Duration.ZERO);
+        disabled.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.created(
+                transferencia(1, "1.00", "EUR", NOW))));
+        assertThat(disabled.flush()).isZero();
+        assertThatThrownBy(() -> disabled.getPercentiles("EUR", AYER, HOY)).isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaReferenceFilterProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaIdempotencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.ReferenciaFilterResponse;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.TransferenciaIdempotenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenciaFilterServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+
+    @Mock
+    private TransferenciaIdempotenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReferenciaFilterServiceImpl service(boolean enabled) {
+        return new ReferenciaFilterServiceImpl(jdbcRepository, transactionManager,
+                new TransferenciaReferenceFilterProperties(enabled, 1_000, 0.01, DataSize.ofMegabytes(1), 100),
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void storedReferences(String... referencias) {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(2);
+            for (String referencia : referencias) {
+                consumer.accept(referencia);
+            }
+            return null;
+        }).when(jdbcRepository).streamClaves(eq("ref:"), eq(100), any());
+    }
+
+    private double checks(String resultado) {
+        return meterRegistry.counter(ReferenciaFilterServiceImpl.METRIC_CHECKS, "resultado", resultado).count();
+    }
+
+    @Test
+    void mightExist_shouldLookEverythingUp_untilTheFilterIsBuilt() {
+        ReferenciaFilterServiceImpl service = service(true);
+        service.record("REF-1");
+
+        assertThat(service.mightExist("REF-2")).isTrue();
+        assertThat(service.describe().ready()).isFalse();
+        assertThat(checks("verificada")).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_shouldLoadStoredReferences_andSkipUnseenOnes() {
+        storedReferences("REF-1", "REF-2");
+        ReferenciaFilterServiceImpl service = service(true);
+
+        ReferenciaFilterResponse response = service.rebuild();
+        service.record("REF-3");
+
+        assertThat(response.ready()).isTrue();
+        assertThat(response.referencias()).isEqualTo(2);
+        assertThat(response.construidoEn()).isEqualTo(NOW);
+        assertThat(response.memoryBytes()).isPositive();
+        assertThat(service.mightExist("REF-1")).isTrue();
+        assertThat(service.mightExist("REF-3")).isTrue();
+        assertThat(service.mightExist("REF-4")).isFalse();
+        assertThat(checks("omitida")).isEqualTo(1);
+        assertThat(checks("verificada")).isEqualTo(2);
+        assertThat(meterRegistry.get(ReferenciaFilterServiceImpl.METRIC_SIZE).gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get(ReferenciaFilterServiceImpl.METRIC_MEMORY).gauge().value()).isPositive();
+        assertThat(meterRegistry.get(ReferenciaFilterServiceImpl.METRIC_FPP).gauge().value()).isLessThan(0.01);
+    }
+
+    @Test
+    void record_shouldReachTheNewFilter_whileARebuildRuns() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AtomicReference<ReferenciaFilterServiceImpl> self = new AtomicReference<>();
+        doAnswer(invocation -> {
+            self.get().record("REF-DURING");
+            return null;
+        }).when(jdbcRepository).streamClaves(eq("ref:"), eq(100), any());
+        ReferenciaFilterServiceImpl service = service(true);
+        self.set(service);
+
+        service.rebuild();
+
+        assertThat(service.mightExist("REF-DURING")).isTrue();
+    }
+
+    @Test
+    void isUsed_shouldOnlyQueryTheKeyTable_whenTheFilterCannotRuleTheReferenceOut() {
+        storedReferences("REF-1");
+        ReferenciaFilterServiceImpl service = service(true);
+        service.rebuild();
+        when(jdbcRepository.exists("ref:REF-1")).thenReturn(true);
+
+        assertThat(service.isUsed("REF-1")).isTrue();
+        assertThat(service.isUsed("REF-2")).isFalse();
+        verify(jdbcRepository, never()).exists("ref:REF-2");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void register_shouldRecordReferenceKeys_andSkipTransfersWithoutReference() {
+        storedReferences();
+        ReferenciaFilterServiceImpl service = service(true);
+        service.rebuild();
+        TransferenciaSnapshot referenciada = new TransferenciaSnapshot(7L, 1L, 2L, new BigDecimal("10.00"), "EUR",
+                null, EstadoTransferencia.PENDIENTE, NOW, null, "REF-7");
+        TransferenciaSnapshot anonima = new TransferenciaSnapshot(8L, 1L, 2L, BigDecimal.ONE, "EUR",
+                null, EstadoTransferencia.PENDIENTE, NOW, null, null);
+
+        service.register(List.of(referenciada, anonima));
+
+        ArgumentCaptor<List<TransferenciaIdempotencia>> claves = ArgumentCaptor.forClass(List.class);
+        verify(jdbcRepository).insertAll(claves.capture());
+        assertThat(claves.getValue()).singleElement().satisfies(clave -> {
+            assertThat(clave.getClave()).isEqualTo("ref:REF-7");
+            assertThat(clave.getIdTransferencia()).isEqualTo(7L);
+            assertThat(clave.getHuella()).isEqualTo(TransferenciaHuella.of(
+                    new CreateTransferenciaRequest(1L, 2L, new BigDecimal("10"),
+                            "EUR", null, "REF-7")));
+        });
+        assertThat(service.mightExist("REF-7")).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldRejectConcurrentRuns() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AtomicReference<ReferenciaFilterServiceImpl> self = new AtomicReference<>();
+        doAnswer(invocation -> {
+            assertThatThrownBy(() -> self.get().rebuild()).isInstanceOf(ConflictException.class);
+            return null;
+        }).when(jdbcRepository).streamClaves(eq("ref:"), eq(100), any());
+        ReferenciaFilterServiceImpl service = service(true);
+        self.set(service);
+
+        assertThat(service.rebuild().ready()).isTrue();
+    }
+
+    @Test
+    void disabledFilter_shouldNeverSkipLookups() {
+        ReferenciaFilterServiceImpl service = service(false);
+
+        ReferenciaFilterResponse response = service.rebuild();
+
+        assertThat(response.enabled()).isFalse();
+        assertThat(response.ready()).isFalse();
+        assertThat(service.mightExist("REF-1")).isTrue();
+        verify(jdbcRepository, never()).streamClaves(any(), any(Integer.class), any());
+    }
+
+    @Test
+    void properties_shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new TransferenciaReferenceFilterProperties(true, 1_000, 1.0,
+                DataSize.ofMegabytes(1), 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaReferenceFilterProperties(true, 0, 0.01,
+                DataSize.ofMegabytes(1), 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaRollupProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.ResumenDelta;
+import com.example.api.infrastructure.ResumenDiarioJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenDiarioListenerTest {
+
+    @Mock
+    private ResumenDiarioJdbcRepository repository;
+
+    private ResumenDiarioListener listener;
+
+    private static final LocalDate DIA = LocalDate.parse("2024-03-10");
+
+    @BeforeEach
+    void setUp() {
+        listener = new ResumenDiarioListener(repository, new TransferenciaRollupProperties(4, 366, 31, "-", 2));
+    }
+
+    private static TransferenciaSnapshot snapshot(long id, String importe, String divisa, EstadoTransferencia estado,
+                                                  String creada) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal(importe), divisa, null, estado,
+                Instant.parse(creada), null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ResumenDelta> appliedDeltas() {
+        ArgumentCaptor<List<ResumenDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(deltas.capture(), any(Instant.class));
+        return deltas.getValue();
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldMoveTransferBetweenStates() {
+        listener.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.updated(
+                snapshot(6L, "10.00", "EUR", EstadoTransferencia.PENDIENTE, "2024-03-10T23:59:00Z"),
+                snapshot(6L, "10.00", "EUR", EstadoTransferencia.COMPLETADA, "2024-03-10T23:59:00Z"))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new ResumenDelta(DIA, "EUR", EstadoTransferencia.PENDIENTE, 2, -1, new BigDecimal("-10.00")),
+                new ResumenDelta(DIA, "EUR", EstadoTransferencia.COMPLETADA, 2, 1, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldGroupCreationsByUtcDayCurrencyAndSlot() {
+        listener.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(1L, "1.00", "EUR", EstadoTransferencia.PENDIENTE,
+                        "2024-03-10T00:00:00Z")),
+                TransferenciaChange.created(snapshot(5L, "2.00", "EUR", EstadoTransferencia.PENDIENTE,
+                        "2024-03-10T12:00:00Z")),
+                TransferenciaChange.created(snapshot(2L, "4.00", "USD", EstadoTransferencia.PENDIENTE,
+                        "2024-03-11T00:00:00Z")))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new ResumenDelta(DIA, "EUR", EstadoTransferencia.PENDIENTE, 1, 2, new BigDecimal("3.00")),
+                new ResumenDelta(DIA.plusDays(1), "USD", EstadoTransferencia.PENDIENTE, 2, 1, new BigDecimal("4.00")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldRemoveDeletedTransfer() {
+        listener.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.deleted(
+                snapshot(3L, "7.50", "EUR", EstadoTransferencia.RECHAZADA, "2024-03-10T08:00:00Z"))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new ResumenDelta(DIA, "EUR", EstadoTransferencia.RECHAZADA, 3, -1, new BigDecimal("-7.50")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldSkipWrite_whenGroupIsUnchanged() {
+        listener.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.updated(
+                snapshot(3L, "7.50", "EUR", EstadoTransferencia.PENDIENTE, "2024-03-10T08:00:00Z"),
+                snapshot(3L, "7.5", "EUR", EstadoTransferencia.PENDIENTE, "2024-03-10T08:00:00Z"))));
+
+        verify(repository, never()).applyDeltas(anyList(), any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaRollupProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.dto.request.ResumenFilterRequest;
+import com.example.api.dto.response.ResumenConvertidoResponse;
+import com.example.api.dto.response.ResumenDiarioResponse;
+import com.example.api.dto.response.ResumenEstadoConvertidoResponse;
+import com.example.api.dto.response.ResumenRebuildResponse;
+import com.example.api.dto.response.ResumenTotalResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.ResumenCriteria;
+import com.example.api.infrastructure.ResumenDiarioJdbcRepository;
+import com.example.api.infrastructure.ResumenRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenServiceImplTest {
+
+    @Mock
+    private ResumenDiarioJdbcRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TipoCambioService tipoCambioService;
+
+    private final TransferenciaRollupProperties properties = new TransferenciaRollupProperties(4, 31, 10, "-", 2);
+
+    private ResumenServiceImpl service;
+
+    private static final LocalDate DESDE = LocalDate.parse("2024-03-01");
+    private static final LocalDate HASTA = LocalDate.parse("2024-03-31");
+
+    @BeforeEach
+    void setUp() {
+        service = new ResumenServiceImpl(repository, transactionTemplate, properties, tipoCambioService);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void getDiarios_shouldReadRollupsWithResolvedCriteria() {
+        when(repository.findDiarios(new ResumenCriteria(DESDE, HASTA, "EUR", EstadoTransferencia.COMPLETADA)))
+                .thenReturn(List.of(new ResumenRow(DESDE, "EUR", EstadoTransferencia.COMPLETADA, 3L,
+                        new BigDecimal("30.00"))));
+
+        List<ResumenDiarioResponse> result = service.getDiarios(
+                new ResumenFilterRequest(DESDE, HASTA, "EUR", "COMPLETADA"));
+
+        assertThat(result).containsExactly(
+                new ResumenDiarioResponse(DESDE, "EUR", "COMPLETADA", 3L, new BigDecimal("30.00")));
+    }
+
+    @Test
+    void getTotales_shouldReadTotalsWithoutOptionalFilters() {
+        when(repository.findTotales(new ResumenCriteria(DESDE, DESDE, null, null)))
+                .thenReturn(List.of(new ResumenRow(null, "USD", EstadoTransferencia.PENDIENTE, 2L, BigDecimal.TEN)));
+
+        List<ResumenTotalResponse> result = service.getTotales(new ResumenFilterRequest(DESDE, DESDE, null, null));
+
+        assertThat(result).containsExactly(new ResumenTotalResponse("USD", "PENDIENTE", 2L, BigDecimal.TEN));
+    }
+
+    @Test
+    void getDiarios_shouldRejectRangeLongerThanMaximum() {
+        assertThatThrownBy(() -> service.getDiarios(new ResumenFilterRequest(DESDE, HASTA.plusDays(1), null, null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Date range must not exceed 31 days");
+    }
+
+    @Test
+    void getDiarios_shouldRejectInvertedRangeAndUnknownState() {
+        assertThatThrownBy(() -> service.getDiarios(new ResumenFilterRequest(HASTA, DESDE, null, null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid date range: 'desde' must not be after 'hasta'");
+        assertThatThrownBy(() -> service.getDiarios(new ResumenFilterRequest(DESDE, HASTA, null, "UNKNOWN")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid transfer state: UNKNOWN");
+    }
+
+    @Test
+    void getTotalesConvertidos_shouldConvertEachStateWithOneSnapshot() {
+        when(tipoCambioService.snapshot()).thenReturn(TipoCambioSnapshot.of(3, Instant.EPOCH, "EUR",
+                Map.of("USD", new BigDecimal("1.25"), "GBP", new BigDecimal("0.80"))));
+        when(repository.findTotales(new ResumenCriteria(DESDE, HASTA, null, null))).thenReturn(List.of(
+                new ResumenRow(null, "EUR", EstadoTransferencia.COMPLETADA, 2L, new BigDecimal("100.00")),
+                new ResumenRow(null, "GBP", EstadoTransferencia.COMPLETADA, 1L, new BigDecimal("40.00")),
+                new ResumenRow(null, "GBP", EstadoTransferencia.PENDIENTE, 4L, new BigDecimal("8.00")),
+                new ResumenRow(null, "JPY", EstadoTransferencia.COMPLETADA, 5L, new BigDecimal("900.00")),
+                new ResumenRow(null, "USD", EstadoTransferencia.COMPLETADA, 1L, new BigDecimal("12.50"))));
+
+        ResumenConvertidoResponse result = service.getTotalesConvertidos(
+                new ResumenFilterRequest(DESDE, HASTA, null, null), "USD");
+
+        assertThat(result.divisaReporte()).isEqualTo("USD");
+        assertThat(result.versionTipoCambio()).isEqualTo(3);
+        assertThat(result.totales()).containsExactly(
+                new ResumenEstadoConvertidoResponse("PENDIENTE", 4L, new BigDecimal("12.50")),
+                new ResumenEstadoConvertidoResponse("COMPLETADA", 4L, new BigDecimal("200.00")));
+        assertThat(result.sinTipoCambio()).containsExactly(
+                new ResumenTotalResponse("JPY", "COMPLETADA", 5L, new BigDecimal("900.00")));
+    }
+
+    @Test
+    void getTotalesConvertidos_shouldRejectMissingOrUnknownReportingCurrency() {
+        ResumenFilterRequest filter = new ResumenFilterRequest(DESDE, HASTA, null, null);
+        when(tipoCambioService.snapshot()).thenReturn(TipoCambioSnapshot.of(0, Instant.EPOCH, "EUR", Map.of()));
+
+        assertThatThrownBy(() -> service.getTotalesConvertidos(filter, " "))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("'divisaReporte' is required");
+        assertThatThrownBy(() -> service.getTotalesConvertidos(filter, "USD"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("No FX rate for reporting currency USD");
+    }
+
+    @Test
+    void rebuild_shouldRecomputeRangeInChunks() {
+        runTransactionsInline();
+        when(repository.rebuild(any(LocalDate.class), any(LocalDate.class), any(Instant.class))).thenReturn(5);
+
+        ResumenRebuildResponse response = service.rebuild(DESDE, HASTA);
+
+        assertThat(response.filas()).isEqualTo(20);
+        verify(repository).rebuild(eq(DESDE), eq(LocalDate.parse("2024-03-11")), any(Instant.class));
+        verify(repository).rebuild(eq(LocalDate.parse("2024-03-11")), eq(LocalDate.parse("2024-03-21")),
+                any(Instant.class));
+        verify(repository).rebuild(eq(LocalDate.parse("2024-03-21")), eq(LocalDate.parse("2024-03-31")),
+                any(Instant.class));
+        verify(repository).rebuild(eq(LocalDate.parse("2024-03-31")), eq(LocalDate.parse("2024-04-01")),
+                any(Instant.class));
+    }
+
+    @Test
+    void rebuild_shouldRequireBothDates() {
+        assertThatThrownBy(() -> service.rebuild(DESDE, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Both 'desde' and 'hasta' are required");
+    }
+
+    @Test
+    void reconciliationJob_shouldRebuildRecentDays() {
+        ResumenService resumenService = mock(ResumenService.class);
+        Clock clock = Clock.fixed(Instant.parse("2024-03-10T01:00:00Z"), ZoneOffset.UTC);
+
+        new ResumenReconciliationJob(resumenService, properties, clock).reconcile();
+
+        verify(resumenService).rebuild(LocalDate.parse("2024-03-09"), LocalDate.parse("2024-03-10"));
+    }
+}
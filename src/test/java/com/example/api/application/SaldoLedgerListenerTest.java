@@ -0,0 +1,96 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.SaldoDelta;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoLedgerListenerTest {
+
+    @Mock
+    private SaldoJdbcRepository saldoRepository;
+
+    @InjectMocks
+    private SaldoLedgerListener listener;
+
+    private static TransferenciaSnapshot snapshot(long id, long origen, long destino, String importe,
+                                                  String divisa, EstadoTransferencia estado) {
+        return new TransferenciaSnapshot(id, origen, destino, new BigDecimal(importe), divisa, null, estado,
+                Instant.parse("2024-01-01T00:00:00Z"), null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SaldoDelta> appliedDeltas() {
+        ArgumentCaptor<List<SaldoDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(saldoRepository).applyDeltas(deltas.capture(), any(Instant.class));
+        return deltas.getValue();
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldCreditDestinationAndDebitSource_whenTransferCompletes() {
+        listener.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.updated(
+                snapshot(1L, 200L, 100L, "25.00", "EUR", EstadoTransferencia.PENDIENTE),
+                snapshot(1L, 200L, 100L, "25.00", "EUR", EstadoTransferencia.COMPLETADA))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new SaldoDelta(100L, "EUR", new BigDecimal("25.00")),
+                new SaldoDelta(200L, "EUR", new BigDecimal("-25.00")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldAggregateAndOrderDeltasAcrossChanges() {
+        listener.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(1L, 300L, 100L, "10.00", "USD", EstadoTransferencia.COMPLETADA)),
+                TransferenciaChange.created(snapshot(2L, 300L, 100L, "5.00", "EUR", EstadoTransferencia.COMPLETADA)),
+                TransferenciaChange.created(snapshot(3L, 100L, 300L, "4.00", "USD", EstadoTransferencia.COMPLETADA)))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new SaldoDelta(100L, "EUR", new BigDecimal("5.00")),
+                new SaldoDelta(100L, "USD", new BigDecimal("6.00")),
+                new SaldoDelta(300L, "EUR", new BigDecimal("-5.00")),
+                new SaldoDelta(300L, "USD", new BigDecimal("-6.00")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldReverseCompletedTransfer_whenDeleted() {
+        listener.onTransferenciasChanged(TransferenciasChangedEvent.of(TransferenciaChange.deleted(
+                snapshot(1L, 200L, 100L, "25.00", "EUR", EstadoTransferencia.COMPLETADA))));
+
+        assertThat(appliedDeltas()).containsExactly(
+                new SaldoDelta(100L, "EUR", new BigDecimal("-25.00")),
+                new SaldoDelta(200L, "EUR", new BigDecimal("25.00")));
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldSkipWrite_whenNoCompletedTransferChanges() {
+        listener.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(1L, 200L, 100L, "25.00", "EUR", EstadoTransferencia.PENDIENTE)),
+                TransferenciaChange.updated(
+                        snapshot(2L, 300L, 300L, "8.00", "EUR", EstadoTransferencia.PENDIENTE),
+                        snapshot(2L, 300L, 300L, "8.00", "EUR", EstadoTransferencia.RECHAZADA)),
+                TransferenciaChange.updated(
+                        snapshot(3L, 400L, 500L, "8.00", "EUR", EstadoTransferencia.COMPLETADA),
+                        snapshot(3L, 400L, 500L, "8.0", "EUR", EstadoTransferencia.COMPLETADA)))));
+
+        verify(saldoRepository, never()).applyDeltas(anyList(), any());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaLedgerProperties;
+import com.example.api.domain.SaldoCuenta;
+import com.example.api.domain.SaldoCuentaId;
+import com.example.api.dto.response.SaldoRebuildResponse;
+import com.example.api.dto.response.SaldoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoCuentaRepository;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoServiceImplTest {
+
+    @Mock
+    private SaldoCuentaRepository repository;
+
+    @Mock
+    private SaldoJdbcRepository jdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SaldoServiceImpl service;
+
+    private static final Instant UPDATED = Instant.parse("2024-01-01T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        service = new SaldoServiceImpl(repository, jdbcRepository, transactionTemplate,
+                new TransferenciaLedgerProperties(4));
+    }
+
+    private SaldoCuenta saldo(long cuentaId, String divisa, String importe) {
+        SaldoCuenta saldo = BeanUtils.instantiateClass(SaldoCuenta.class);
+        ReflectionTestUtils.setField(saldo, "id", new SaldoCuentaId(cuentaId, divisa));
+        ReflectionTestUtils.setField(saldo, "saldo", new BigDecimal(importe));
+        ReflectionTestUtils.setField(saldo, "fechaActualizacion", UPDATED);
+        return saldo;
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void getSaldos_shouldReturnEveryCurrencyBalance() {
+        when(repository.findByIdCuentaIdOrderByIdDivisa(100L))
+                .thenReturn(List.of(saldo(100L, "EUR", "10.00"), saldo(100L, "USD", "-4.50")));
+
+        assertThat(service.getSaldos(100L)).containsExactly(
+                new SaldoResponse(100L, "EUR", new BigDecimal("10.00"), UPDATED),
+                new SaldoResponse(100L, "USD", new BigDecimal("-4.50"), UPDATED));
+    }
+
+    @Test
+    void getSaldo_shouldLookUpByPrimaryKey() {
+        when(repository.findById(new SaldoCuentaId(100L, "EUR"))).thenReturn(Optional.of(saldo(100L, "EUR", "7.00")));
+
+        assertThat(service.getSaldo(100L, "EUR").saldo()).isEqualByComparingTo("7.00");
+    }
+
+    @Test
+    void getSaldo_shouldReturnZero_whenAccountHasNoBalanceInCurrency() {
+        when(repository.findById(new SaldoCuentaId(100L, "GBP"))).thenReturn(Optional.empty());
+
+        SaldoResponse response = service.getSaldo(100L, "GBP");
+
+        assertThat(response.saldo()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(response.fechaActualizacion()).isNull();
+    }
+
+    @Test
+    void getSaldo_shouldThrowBusinessException_whenCurrencyIsInvalid() {
+        assertThatThrownBy(() -> service.getSaldo(100L, "EURO"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid currency: EURO");
+    }
+
+    @Test
+    void rebuild_shouldRecomputeEveryPartition() {
+        runTransactionsInline();
+        when(jdbcRepository.rebuildPartition(eq(4), anyInt(), any(Instant.class)))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(1) + 1);
+
+        SaldoRebuildResponse response = service.rebuild();
+
+        assertThat(response.partitions()).isEqualTo(4);
+        assertThat(response.saldos()).isEqualTo(1 + 2 + 3 + 4);
+        for (int partition = 0; partition < 4; partition++) {
+            verify(jdbcRepository).rebuildPartition(eq(4), eq(partition), any(Instant.class));
+        }
+    }
+
+    @Test
+    void rebuild_shouldThrowConflictException_whenAlreadyRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        runTransactionsInline();
+        when(jdbcRepository.rebuildPartition(eq(4), anyInt(), any(Instant.class))).thenAnswer(invocation -> {
+            started.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return 0;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SaldoRebuildResponse> first = executor.submit(service::rebuild);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(service::rebuild)
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessage("A balance rebuild is already running");
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).saldos()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaFxProperties;
+import com.example.api.dto.response.TipoCambioResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.TipoCambioJdbcRepository;
+import com.example.api.infrastructure.TipoCambioVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TipoCambioServiceImplTest {
+
+    @Mock
+    private TipoCambioJdbcRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    private TipoCambioServiceImpl service(String ratesFile) {
+        return new TipoCambioServiceImpl(repository, transactionTemplate,
+                new TransferenciaFxProperties("EUR", ratesFile, Duration.ofMinutes(1)));
+    }
+
+    private String ratesFile(String content) throws Exception {
+        Path file = tempDir.resolve("rates.csv");
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void snapshot_shouldHoldOnlyTheBaseCurrency_beforeAnyLoad() {
+        TipoCambioResponse rates = service(null).getTiposCambio();
+
+        assertThat(rates.version()).isZero();
+        assertThat(rates.tasas()).containsExactly(Map.entry("EUR", BigDecimal.ONE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reload_shouldStoreNextVersion_andSwapSnapshot() throws Exception {
+        runTransactionsInline();
+        when(repository.findLatestVersion()).thenReturn(6L);
+        TipoCambioServiceImpl service = service(ratesFile("# rates against EUR\nUSD,1.085\n\nGBP, 0.8575\n"));
+
+        TipoCambioResponse rates = service.reload();
+
+        ArgumentCaptor<Map<String, BigDecimal>> stored = ArgumentCaptor.forClass(Map.class);
+        verify(repository).insertVersion(eq(7L), stored.capture(), any(Instant.class));
+        assertThat(stored.getValue()).containsOnly(Map.entry("EUR", BigDecimal.ONE),
+                Map.entry("GBP", new BigDecimal("0.8575")), Map.entry("USD", new BigDecimal("1.085")));
+        assertThat(rates.version()).isEqualTo(7);
+        assertThat(rates.tasas()).containsKeys("EUR", "GBP", "USD");
+        assertThat(service.snapshot().version()).isEqualTo(7);
+        assertThat(service.snapshot().indexOf("GBP")).isEqualTo(1);
+    }
+
+    @Test
+    void reload_shouldRejectInvalidFiles_withoutTouchingTheSnapshot() throws Exception {
+        assertThatThrownBy(() -> service(ratesFile("USD;1.0\n")).reload())
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid FX rate at line 1: expected 'divisa,tasa'");
+        assertThatThrownBy(() -> service(ratesFile("usd,1.0\n")).reload())
+                .hasMessage("Invalid FX rate at line 1: invalid currency 'usd'");
+        assertThatThrownBy(() -> service(ratesFile("USD,abc\n")).reload())
+                .hasMessage("Invalid FX rate at line 1: invalid rate 'abc'");
+        assertThatThrownBy(() -> service(ratesFile("USD,0\n")).reload())
+                .hasMessage("Invalid FX rate at line 1: the rate must be positive");
+        assertThatThrownBy(() -> service(ratesFile("USD,1.123456789\n")).reload())
+                .hasMessage("Invalid FX rate at line 1: the rate must have at most 8 decimal places");
+        assertThatThrownBy(() -> service(ratesFile("USD,1.1\nUSD,1.2\n")).reload())
+                .hasMessage("Invalid FX rate at line 2: duplicate currency USD");
+        assertThatThrownBy(() -> service(ratesFile("EUR,2\n")).reload())
+                .hasMessage("Invalid FX rate at line 1: the base currency must have a rate of 1");
+        assertThatThrownBy(() -> service(ratesFile("# nothing\n")).reload())
+                .hasMessage("The FX rates file contains no rates");
+        verify(repository, never()).insertVersion(any(Long.class), anyMap(), any());
+    }
+
+    @Test
+    void reload_shouldFail_whenFileIsMissingOrNotConfigured() {
+        assertThatThrownBy(() -> service(" ").reload())
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("No FX rates file is configured");
+        assertThatThrownBy(() -> service(tempDir.resolve("missing.csv").toString()).reload())
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void reload_shouldReturnConflict_whenAnotherNodeStoredTheSameVersion() throws Exception {
+        runTransactionsInline();
+        when(repository.findLatestVersion()).thenReturn(1L);
+        doThrow(new DuplicateKeyException("duplicate")).when(repository).insertVersion(eq(2L), anyMap(), any());
+        TipoCambioServiceImpl service = service(ratesFile("USD,1.1\n"));
+
+        assertThatThrownBy(service::reload).isInstanceOf(ConflictException.class);
+        assertThat(service.snapshot().version()).isZero();
+    }
+
+    @Test
+    void refresh_shouldSwitchToNewerStoredVersionOnly() {
+        TipoCambioServiceImpl service = service(null);
+        when(repository.findLatestVersion()).thenReturn(3L, 3L);
+        when(repository.findVersion(3L)).thenReturn(new TipoCambioVersion(3L, Instant.parse("2024-03-10T12:00:00Z"),
+                Map.of("EUR", BigDecimal.ONE, "USD", new BigDecimal("1.1"))));
+
+        service.refresh();
+        service.refresh();
+
+        verify(repository).findVersion(3L);
+        assertThat(service.snapshot().version()).isEqualTo(3);
+        assertThat(service.snapshot().indexOf("USD")).isEqualTo(1);
+    }
+
+    @Test
+    void initialize_shouldLoadFile_whenNothingIsStored() throws Exception {
+        runTransactionsInline();
+        when(repository.findLatestVersion()).thenReturn(0L);
+        TipoCambioServiceImpl service = service(ratesFile("USD,1.1\n"));
+
+        service.initialize();
+
+        verify(repository).insertVersion(eq(1L), anyMap(), any());
+        assertThat(service.snapshot().version()).isEqualTo(1);
+    }
+}
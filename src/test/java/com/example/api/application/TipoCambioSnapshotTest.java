@@ -0,0 +1,43 @@
+package com.example.api.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TipoCambioSnapshotTest {
+
+    private final TipoCambioSnapshot snapshot = TipoCambioSnapshot.of(1, Instant.EPOCH, "EUR",
+            Map.of("USD", new BigDecimal("1.25"), "GBP", new BigDecimal("0.80")));
+
+    @Test
+    void of_shouldSortCurrencies_andAddBase() {
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.divisa(0)).isEqualTo("EUR");
+        assertThat(snapshot.tasa(0)).isEqualTo(BigDecimal.ONE);
+        assertThat(snapshot.indexOf("GBP")).isEqualTo(1);
+        assertThat(snapshot.indexOf("USD")).isEqualTo(2);
+        assertThat(snapshot.indexOf("JPY")).isEqualTo(-1);
+        assertThat(snapshot.indexOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void convertirSuma_shouldConvertAlignedAmountsThroughTheBase() {
+        BigDecimal[] importes = {new BigDecimal("10.00"), new BigDecimal("8.00"), null};
+
+        assertThat(snapshot.convertirSuma(importes, 2)).isEqualByComparingTo("25.00");
+        assertThat(snapshot.convertirSuma(importes, 0)).isEqualByComparingTo("20.00");
+        assertThat(snapshot.convertirSuma(importes, 2)).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void convertirSuma_shouldRejectMisalignedArrays() {
+        assertThatThrownBy(() -> snapshot.convertirSuma(new BigDecimal[2], 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected 3 amounts, got 2");
+    }
+}
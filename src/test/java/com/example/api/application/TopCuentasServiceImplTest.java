@@ -0,0 +1,131 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaHeavyHittersProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.response.TopCuentaResponse;
+import com.example.api.dto.response.TopCuentasResponse;
+import com.example.api.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopCuentasServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TopCuentasServiceImpl service(boolean enabled, int maxDivisas) {
+        return new TopCuentasServiceImpl(new TransferenciaHeavyHittersProperties(enabled,
+                List.of(Duration.ofHours(1), Duration.ofMinutes(5)), 6, 0.01, maxDivisas, 2), meterRegistry);
+    }
+
+    private static TransferenciaSnapshot transferencia(long id, long origen, String importe, String divisa) {
+        return new TransferenciaSnapshot(id, origen, 999L, new BigDecimal(importe), divisa, null,
+                EstadoTransferencia.PENDIENTE, NOW, null, null);
+    }
+
+    @Test
+    void getTopCuentas_shouldRankSourceAccountsOfCreatedTransfers() {
+        TopCuentasServiceImpl service = service(true, 4);
+        TransferenciaSnapshot updated = transferencia(4L, 300L, "1000.00", "EUR");
+        service.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(transferencia(1L, 100L, "12.50", "EUR")),
+                TransferenciaChange.created(transferencia(2L, 200L, "30.00", "EUR")),
+                TransferenciaChange.created(transferencia(3L, 100L, "20.00", "EUR")),
+                TransferenciaChange.created(transferencia(5L, 100L, "99.00", "USD")),
+                TransferenciaChange.updated(updated, updated),
+                TransferenciaChange.deleted(updated))));
+
+        TopCuentasResponse response = service.getTopCuentas("EUR", "PT5M", 1);
+
+        assertThat(response.divisa()).isEqualTo("EUR");
+        assertThat(response.ventana()).isEqualTo("PT5M");
+        assertThat(response.volumen()).isEqualByComparingTo("62.50");
+        assertThat(response.errorMaximo()).isEqualByComparingTo("0.63");
+        assertThat(response.cuentas()).containsExactly(
+                new TopCuentaResponse(1, 100L, new BigDecimal("32.50"), new BigDecimal("32.50")));
+        assertThat(service.getTopCuentas("EUR", null, null).cuentas()).extracting(TopCuentaResponse::cuentaId)
+                .containsExactly(100L, 200L);
+        assertThat(service.getTopCuentas("USD", "PT1H", null).volumen()).isEqualByComparingTo("99.00");
+
+        assertThat(meterRegistry.get(TopCuentasServiceImpl.METRIC_VOLUME)
+                .tags("ventana", "PT1H", "divisa", "EUR").gauge().value()).isEqualTo(62.5);
+        assertThat(meterRegistry.get(TopCuentasServiceImpl.METRIC_TOP)
+                .tags("ventana", "PT1H", "divisa", "EUR", "rank", "2").gauge().value()).isEqualTo(30.0);
+        assertThat(meterRegistry.get(TopCuentasServiceImpl.METRIC_TOP)
+                .tags("ventana", "PT1H", "divisa", "USD", "rank", "2").gauge().value()).isZero();
+    }
+
+    @Test
+    void getTopCuentas_shouldReturnAnEmptyRankingForAnUnseenCurrency() {
+        TopCuentasResponse response = service(true, 4).getTopCuentas("GBP", null, null);
+
+        assertThat(response.ventana()).isEqualTo("PT1H");
+        assertThat(response.volumen()).isEqualByComparingTo("0");
+        assertThat(response.cuentas()).isEmpty();
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldIgnoreCurrenciesBeyondTheLimit() {
+        TopCuentasServiceImpl service = service(true, 1);
+        service.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(transferencia(1L, 100L, "1.00", "EUR")),
+                TransferenciaChange.created(transferencia(2L, 100L, "1.00", "USD")))));
+
+        assertThat(service.getTopCuentas("EUR", null, null).cuentas()).hasSize(1);
+        assertThat(service.getTopCuentas("USD", null, null).cuentas()).isEmpty();
+        assertThat(meterRegistry.counter(TopCuentasServiceImpl.METRIC_IGNORED).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getTopCuentas_shouldValidateParameters() {
+        TopCuentasServiceImpl service = service(true, 4);
+
+        assertThatThrownBy(() -> service.getTopCuentas(null, null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid currency: null");
+        assertThatThrownBy(() -> service.getTopCuentas("EUR", "1h", null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid window: 1h");
+        assertThatThrownBy(() -> service.getTopCuentas("EUR", "PT2H", null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Window PT2H is not tracked; use one of [PT1H, PT5M]");
+        assertThatThrownBy(() -> service.getTopCuentas("EUR", null, 101))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("'limit' must be between 1 and 100");
+    }
+
+    @Test
+    void getTopCuentas_shouldFailWhenDisabled() {
+        TopCuentasServiceImpl service = service(false, 4);
+        service.onTransferenciasChanged(TransferenciasChangedEvent.of(
+                TransferenciaChange.created(transferencia(1L, 100L, "1.00", "EUR"))));
+
+        assertThatThrownBy(() -> service.getTopCuentas("EUR", null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Account ranking is disabled");
+    }
+
+    @Test
+    void properties_shouldRejectInvalidErrorBounds() {
+        List<Duration> windows = List.of(Duration.ofHours(1));
+        assertThatThrownBy(() -> new TransferenciaHeavyHittersProperties(true, windows, 6, 0, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaHeavyHittersProperties(true, List.of(), 6, 0.01, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TransferenciaHeavyHittersProperties(true, windows, 6, 0.003, 4, 0).capacity())
+                .isEqualTo(334);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaArchiveProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.response.TransferenciaArchiveResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.infrastructure.SaldoJdbcRepository;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaArchiveServiceImplTest {
+
+    private static final Instant HASTA = Instant.parse("2023-01-01T00:00:00Z");
+    private static final Instant NOVIEMBRE = Instant.parse("2022-11-01T00:00:00Z");
+    private static final Instant DICIEMBRE = Instant.parse("2022-12-01T00:00:00Z");
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private SaldoJdbcRepository saldoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransferenciaArchiveStore store;
+    private TransferenciaArchiveServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(true);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private TransferenciaArchiveServiceImpl service(boolean enabled) {
+        TransferenciaArchiveProperties properties =
+                new TransferenciaArchiveProperties(enabled, "-", 18, directory.toString(), 2, 2, 100);
+        store = new TransferenciaArchiveStore(properties, meterRegistry);
+        return new TransferenciaArchiveServiceImpl(jdbcRepository, saldoRepository, store, transactionManager,
+                properties, meterRegistry, Clock.fixed(Instant.parse("2024-07-15T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private static TransferenciaSnapshot transferencia(long id, Instant fecha) {
+        return new TransferenciaSnapshot(id, 100L + id, 200L, new BigDecimal("12.34"), "EUR", "Pago",
+                EstadoTransferencia.COMPLETADA, fecha, fecha.plusSeconds(1), null);
+    }
+
+    /**
+     * Serves three closed transfers in November 2022 and none in December, in id order from the
+     * requested id on and up to the requested number.
+     */
+    private void closedTransfers() {
+        List<TransferenciaSnapshot> noviembre = List.of(transferencia(7, NOVIEMBRE.plusSeconds(60)),
+                transferencia(8, NOVIEMBRE.plusSeconds(30)), transferencia(9, NOVIEMBRE.plusSeconds(90)));
+        doAnswer(invocation -> {
+            long desdeId = invocation.getArgument(2);
+            int limit = invocation.getArgument(3);
+            Consumer<TransferenciaSnapshot> consumer = invocation.getArgument(5);
+            if (invocation.getArgument(0).equals(NOVIEMBRE)) {
+                noviembre.stream().filter(t -> t.idTransferencia() >= desdeId).limit(limit).forEach(consumer);
+            }
+            return null;
+        }).when(jdbcRepository).streamClosedForUpdate(any(), any(), anyLong(), anyInt(), anyInt(), any());
+        when(jdbcRepository.findOldestClosedBefore(HASTA)).thenReturn(NOVIEMBRE.plusSeconds(30));
+    }
+
+    private List<Path> files() throws Exception {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    @Test
+    void archive_shouldMoveClosedTransfersOfEachExpiredMonthInChunksOfIds() throws Exception {
+        closedTransfers();
+        when(jdbcRepository.deleteClosed(NOVIEMBRE, DICIEMBRE, Long.MIN_VALUE, 9)).thenReturn(2);
+        when(jdbcRepository.deleteClosed(NOVIEMBRE, DICIEMBRE, 9, 10)).thenReturn(1);
+
+        TransferenciaArchiveResponse response = service.archive();
+
+        assertThat(response.hasta()).isEqualTo(HASTA);
+        assertThat(response.ficheros()).isEqualTo(2);
+        assertThat(response.transferencias()).isEqualTo(3);
+        assertThat(files()).hasSize(2).allSatisfy(file -> {
+            assertThat(file.getParent()).isEqualTo(directory.resolve("2022").resolve("11"));
+            assertThat(String.valueOf(file.getFileName())).startsWith("transferencias-202211-").endsWith(".col");
+        });
+        assertThat(directory.resolve("2022").resolve("12")).doesNotExist();
+        assertThat(store.findById(8)).contains(transferencia(8, NOVIEMBRE.plusSeconds(30)));
+        assertThat(store.findById(9)).contains(transferencia(9, NOVIEMBRE.plusSeconds(90)));
+        assertThat(store.newestFecha()).isEqualTo(NOVIEMBRE.plusSeconds(90));
+        verify(saldoRepository).addArchived(NOVIEMBRE, DICIEMBRE, Long.MIN_VALUE, 9);
+        verify(saldoRepository).addArchived(NOVIEMBRE, DICIEMBRE, 9, 10);
+        verify(jdbcRepository).streamClosedForUpdate(eq(DICIEMBRE), eq(HASTA), eq(Long.MIN_VALUE), eq(2), eq(100),
+                any());
+        verify(jdbcRepository, never()).deleteClosed(eq(DICIEMBRE), eq(HASTA), anyLong(), anyLong());
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get(TransferenciaArchiveServiceImpl.METRIC_ARCHIVED).counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void archive_shouldRollBackAndRemoveFile_whenRowsChangedWhileArchiving() throws Exception {
+        closedTransfers();
+        when(jdbcRepository.deleteClosed(NOVIEMBRE, DICIEMBRE, Long.MIN_VALUE, 9)).thenReturn(3);
+
+        assertThatThrownBy(() -> service.archive())
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("2022-11");
+
+        assertThat(files()).isEmpty();
+        assertThat(store.findById(8)).isEmpty();
+        verify(transactionManager).rollback(any());
+        verify(jdbcRepository, never()).deleteClosed(NOVIEMBRE, DICIEMBRE, 9, 10);
+        assertThat(ReflectionTestUtils.getField(service, "running")).hasToString("false");
+    }
+
+    @Test
+    void archive_shouldDoNothing_whenNoClosedTransferHasExpired() throws Exception {
+        TransferenciaArchiveResponse response = service.archive();
+
+        assertThat(response).isEqualTo(new TransferenciaArchiveResponse(HASTA, 0, 0, response.durationMs()));
+        verify(jdbcRepository, never()).streamClosedForUpdate(any(), any(), anyLong(), anyInt(), anyInt(), any());
+        assertThat(files()).isEmpty();
+    }
+
+    @Test
+    void archive_shouldThrowConflict_whenRunIsInProgress() {
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "running")).set(true);
+
+        assertThatThrownBy(() -> service.archive()).isInstanceOf(ConflictException.class);
+        verify(jdbcRepository, never()).findOldestClosedBefore(any());
+    }
+
+    @Test
+    void archive_shouldThrowBusinessException_whenArchiveIsNotEnabledOnThisNode() {
+        TransferenciaArchiveServiceImpl disabled = service(false);
+
+        assertThatThrownBy(disabled::archive).isInstanceOf(BusinessException.class);
+        verify(jdbcRepository, never()).findOldestClosedBefore(any());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaArchiveProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.infrastructure.TransferenciaArchiveFile;
+import com.example.api.infrastructure.TransferenciaArchiveWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferenciaArchiveStoreTest {
+
+    private static final Instant JANUARY = Instant.parse("2023-01-01T00:00:00Z");
+    private static final Instant FEBRUARY = Instant.parse("2023-02-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferenciaArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore();
+    }
+
+    private TransferenciaArchiveStore newStore() {
+        return new TransferenciaArchiveStore(
+                new TransferenciaArchiveProperties(false, "-", 18, directory.toString(), 10, 10, 100), meterRegistry);
+    }
+
+    private static TransferenciaSnapshot transferencia(long id, long origen, long destino, Instant fecha) {
+        return new TransferenciaSnapshot(id, origen, destino, new BigDecimal("10.00"), "EUR", null,
+                EstadoTransferencia.COMPLETADA, fecha, fecha, null);
+    }
+
+    /**
+     * Writes a month of 100 transfers with ids {@code firstId..firstId+99}, one minute apart. Account
+     * {@code 1000 + i / 10} pays account {@code 2000 + i % 10}, so each block of ten has one payer.
+     */
+    private TransferenciaArchiveFile writeMonth(YearMonth mes, long firstId, Instant start) throws Exception {
+        Path path = Files.createDirectories(store.directoryOf(mes)).resolve("transferencias-" + firstId + ".col");
+        try (TransferenciaArchiveWriter writer = new TransferenciaArchiveWriter(path, 10)) {
+            for (int i = 0; i < 100; i++) {
+                writer.add(transferencia(firstId + i, 1000 + i / 10, 2000 + i % 10, start.plusSeconds(60L * i)));
+            }
+            writer.finish();
+        }
+        return TransferenciaArchiveFile.open(path);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void shouldFindArchivedTransferById_readingOnlyTheBlockThatCanHoldIt() throws Exception {
+        store.register(writeMonth(YearMonth.of(2023, 1), 1, JANUARY));
+        store.register(writeMonth(YearMonth.of(2023, 2), 101, FEBRUARY));
+
+        assertThat(store.findById(155)).get().extracting(TransferenciaSnapshot::cuentaOrigenId).isEqualTo(1005L);
+        assertThat(counter(TransferenciaArchiveStore.METRIC_BLOCKS_READ)).isEqualTo(1);
+        assertThat(counter(TransferenciaArchiveStore.METRIC_BLOCKS_SKIPPED)).isEqualTo(15);
+        assertThat(store.findById(500)).isEmpty();
+    }
+
+    @Test
+    void shouldLoadFilesFromDirectoryOnFirstLookup() throws Exception {
+        writeMonth(YearMonth.of(2023, 1), 1, JANUARY);
+        writeMonth(YearMonth.of(2023, 2), 101, FEBRUARY);
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        TransferenciaArchiveStore reopened = newStore();
+
+        assertThat(reopened.findById(42)).isPresent();
+        assertThat(reopened.newestFecha()).isEqualTo(FEBRUARY.plusSeconds(60L * 99));
+    }
+
+    @Test
+    void shouldReturnNoNewestFecha_whenArchiveDirectoryDoesNotExist() {
+        TransferenciaArchiveStore missing = new TransferenciaArchiveStore(new TransferenciaArchiveProperties(false,
+                "-", 18, directory.resolve("missing").toString(), 10, 10, 100), meterRegistry);
+
+        assertThat(missing.newestFecha()).isNull();
+        assertThat(missing.findById(1)).isEmpty();
+        assertThat(missing.findByCuentaBefore(1, true, Instant.MAX, Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldFindPayerTransfersNewestFirstAcrossMonths_skippingOtherPayersBlocks() throws Exception {
+        store.register(writeMonth(YearMonth.of(2023, 1), 1, JANUARY));
+        store.register(writeMonth(YearMonth.of(2023, 2), 101, FEBRUARY));
+
+        List<TransferenciaSnapshot> page = store.findByCuentaBefore(1003, true, Instant.MAX, Long.MAX_VALUE, 15);
+
+        assertThat(page).extracting(TransferenciaSnapshot::idTransferencia)
+                .containsExactly(140L, 139L, 138L, 137L, 136L, 135L, 134L, 133L, 132L, 131L,
+                        40L, 39L, 38L, 37L, 36L);
+        assertThat(counter(TransferenciaArchiveStore.METRIC_BLOCKS_READ)).isEqualTo(2);
+        assertThat(counter(TransferenciaArchiveStore.METRIC_BLOCKS_SKIPPED)).isEqualTo(18);
+    }
+
+    @Test
+    void shouldStopAtOlderMonths_onceThePageIsFull() throws Exception {
+        store.register(writeMonth(YearMonth.of(2023, 1), 1, JANUARY));
+        store.register(writeMonth(YearMonth.of(2023, 2), 101, FEBRUARY));
+
+        List<TransferenciaSnapshot> page = store.findByCuentaBefore(2004, false, Instant.MAX, Long.MAX_VALUE, 5);
+
+        assertThat(page).extracting(TransferenciaSnapshot::idTransferencia).containsExactly(195L, 185L, 175L, 165L,
+                155L);
+        assertThat(counter(TransferenciaArchiveStore.METRIC_BLOCKS_READ)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldOnlyReturnTransfersBeforeThePosition() throws Exception {
+        store.register(writeMonth(YearMonth.of(2023, 1), 1, JANUARY));
+        Instant fecha = JANUARY.plusSeconds(60L * 34);
+
+        List<TransferenciaSnapshot> sameTime = store.findByCuentaBefore(1003, true, fecha, 36, 10);
+        List<TransferenciaSnapshot> earlier = store.findByCuentaBefore(1003, true, fecha, 35, 10);
+
+        assertThat(sameTime).extracting(TransferenciaSnapshot::idTransferencia)
+                .containsExactly(35L, 34L, 33L, 32L, 31L);
+        assertThat(earlier).extracting(TransferenciaSnapshot::idTransferencia).containsExactly(34L, 33L, 32L, 31L);
+        assertThat(store.findByCuentaBefore(1003, true, JANUARY, 1, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldMakeRegisteredFilesVisible() throws Exception {
+        assertThat(store.newestFecha()).isNull();
+        TransferenciaArchiveFile file = writeMonth(YearMonth.of(2023, 1), 1, JANUARY);
+
+        store.register(file);
+        store.register(file);
+
+        assertThat(store.newestFecha()).isEqualTo(JANUARY.plusSeconds(60L * 99));
+        assertThat(store.findByCuentaBefore(1000, true, Instant.MAX, Long.MAX_VALUE, 20)).hasSize(10);
+        assertThat(store.directoryOf(YearMonth.of(2023, 1))).isEqualTo(directory.resolve("2023").resolve("01"));
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaBatchProperties;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.BatchTransferenciaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaBatchServiceImplTest {
+
+    @Mock
+    private TransferenciaRepository repository;
+
+    @Mock
+    private TransferenciaMapper mapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransferenciaVelocityService velocityService;
+
+    @Mock
+    private CuentaRegistryService cuentaRegistry;
+
+    @Mock
+    private ReferenciaFilterService referenciaFilter;
+
+    private ValidatorFactory validatorFactory;
+
+    private TransferenciaBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+        service = new TransferenciaBatchServiceImpl(repository, mapper, validator,
+                transactionTemplate, eventPublisher, new TransferenciaBatchProperties(2),
+                velocityService, cuentaRegistry, referenciaFilter);
+        lenient().when(velocityService.reserve(any(), any(), any())).thenReturn(VelocityReservation.NONE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private CreateTransferenciaRequest validRequest(long origen) {
+        return new CreateTransferenciaRequest(
+                origen, 200L, new BigDecimal("500.00"), "EUR", "Test payment", null);
+    }
+
+    private TransferenciaResponse sampleResponse() {
+        return new TransferenciaResponse(
+                1L, 100L, 200L, new BigDecimal("500.00"), "EUR",
+                "Test payment", "PENDIENTE",
+                Instant.parse("2024-01-01T12:00:00Z"), null, null);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void createBatch_shouldPersistInChunks() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        BatchTransferenciaResponse response = service.createBatch(List.of(
+                validRequest(1L), validRequest(2L), validRequest(3L)).iterator());
+
+        assertThat(response.total()).isEqualTo(3);
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.failed()).isZero();
+        assertThat(response.items()).extracting(item -> item.index()).containsExactly(0, 1, 2);
+        verify(repository, times(2)).saveAllAndFlush(anyList());
+        ArgumentCaptor<TransferenciasChangedEvent> events = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(event -> event.changes().size()).containsExactly(2, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBatch_shouldFailItemsWithAUsedReference_andRecordTheOthers() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        lenient().when(referenciaFilter.isUsed("REF-USED")).thenReturn(true);
+
+        BatchTransferenciaResponse response = service.createBatch(List.of(
+                new CreateTransferenciaRequest(1L, 200L, new BigDecimal("5.00"), "EUR", null, "REF-USED"),
+                new CreateTransferenciaRequest(1L, 200L, new BigDecimal("5.00"), "EUR", null, "REF-NEW")).iterator());
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items().get(0).error()).isEqualTo("External reference already used: REF-USED");
+        ArgumentCaptor<List<TransferenciaSnapshot>> registered = ArgumentCaptor.forClass(List.class);
+        verify(referenciaFilter).register(registered.capture());
+        assertThat(registered.getValue()).extracting(TransferenciaSnapshot::referenciaExterna)
+                .containsExactly("REF-NEW");
+        verify(velocityService, times(1)).reserve(any(), any(), any());
+    }
+
+    @Test
+    void createBatch_shouldFailAnUnreadableItem_afterTheFirstChunk_andCreateTheRest() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        Iterator<CreateTransferenciaRequest> requests = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return read < 5;
+            }
+
+            @Override
+            public CreateTransferenciaRequest next() {
+                if (++read == 3) {
+                    throw new BusinessException("Malformed item: Unexpected end-of-input");
+                }
+                return validRequest(read);
+            }
+        };
+
+        BatchTransferenciaResponse response = service.createBatch(requests);
+
+        assertThat(response.total()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(4);
+        assertThat(response.items()).extracting(item -> item.status()).containsExactly(
+                TransferenciaBatchServiceImpl.STATUS_CREATED, TransferenciaBatchServiceImpl.STATUS_CREATED,
+                TransferenciaBatchServiceImpl.STATUS_FAILED, TransferenciaBatchServiceImpl.STATUS_CREATED,
+                TransferenciaBatchServiceImpl.STATUS_CREATED);
+        assertThat(response.items().get(2).error()).isEqualTo("Malformed item: Unexpected end-of-input");
+        verify(repository, times(2)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void createBatch_shouldReportInvalidItemsWithoutPersistingThem() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        CreateTransferenciaRequest missingAmount = new CreateTransferenciaRequest(
+                1L, 2L, null, "EUR", null, null);
+
+        BatchTransferenciaResponse response = service.createBatch(
+                Arrays.asList(missingAmount, validRequest(1L), null).iterator());
+
+        assertThat(response.total()).isEqualTo(3);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.items().get(0).status()).isEqualTo(TransferenciaBatchServiceImpl.STATUS_FAILED);
+        assertThat(response.items().get(0).error()).contains("importe");
+        assertThat(response.items().get(1).status()).isEqualTo(TransferenciaBatchServiceImpl.STATUS_CREATED);
+        assertThat(response.items().get(2).error()).isEqualTo("Item must not be null");
+    }
+
+    @Test
+    void createBatch_shouldReportDomainInvariantViolations() {
+        Validator permissiveValidator = mock(Validator.class);
+        when(permissiveValidator.validate(any(CreateTransferenciaRequest.class))).thenReturn(Set.of());
+        TransferenciaBatchServiceImpl permissiveService = new TransferenciaBatchServiceImpl(repository, mapper,
+                permissiveValidator, transactionTemplate, eventPublisher, new TransferenciaBatchProperties(2),
+                velocityService, cuentaRegistry, referenciaFilter);
+        CreateTransferenciaRequest negativeAmount = new CreateTransferenciaRequest(
+                1L, 2L, new BigDecimal("-1.00"), "EUR", null, null);
+
+        BatchTransferenciaResponse response = permissiveService.createBatch(List.of(negativeAmount).iterator());
+
+        assertThat(response.failed()).isEqualTo(1);
+        assertThat(response.items().get(0).error()).isEqualTo("Amount must be positive");
+        verify(repository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void createBatch_shouldRetryItemByItem_whenChunkFails() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("chunk failed"));
+        List<Transferencia> attempts = new ArrayList<>();
+        when(repository.saveAndFlush(any(Transferencia.class))).thenAnswer(invocation -> {
+            Transferencia entity = invocation.getArgument(0);
+            attempts.add(entity);
+            if (attempts.size() == 2) {
+                throw new DataIntegrityViolationException("row failed");
+            }
+            return entity;
+        });
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        VelocityReservation reservation = mock(VelocityReservation.class);
+        when(velocityService.reserve(eq(2L), any(), any())).thenReturn(reservation);
+
+        BatchTransferenciaResponse response = service.createBatch(
+                List.of(validRequest(1L), validRequest(2L)).iterator());
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(1);
+        assertThat(response.items().get(1).error()).isEqualTo("row failed");
+        verify(reservation).release();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBatch_shouldFailItemsOverVelocityLimit() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        when(velocityService.reserve(eq(2L), any(), any()))
+                .thenThrow(new BusinessException("Velocity limit exceeded for account 2 in EUR"));
+
+        BatchTransferenciaResponse response = service.createBatch(
+                List.of(validRequest(1L), validRequest(2L), validRequest(3L)).iterator());
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.items().get(1).error()).isEqualTo("Velocity limit exceeded for account 2 in EUR");
+        ArgumentCaptor<List<Transferencia>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(Transferencia::getCuentaOrigenId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void createBatch_shouldFailItemsWithInvalidAccounts() {
+        runTransactionsInline();
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        CreateTransferenciaRequest closed = validRequest(3L);
+        lenient().doThrow(new BusinessException("Source account does not exist or is closed: 3"))
+                .when(cuentaRegistry).validate(3L, closed.cuentaDestinoId());
+
+        BatchTransferenciaResponse response = service.createBatch(List.of(validRequest(1L), closed).iterator());
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items().get(1).error()).isEqualTo("Source account does not exist or is closed: 3");
+        verify(velocityService, never()).reserve(eq(3L), any(), any());
+    }
+
+    @Test
+    void createBatch_shouldReturnEmptyResult_whenNoItems() {
+        BatchTransferenciaResponse response = service.createBatch(List.<CreateTransferenciaRequest>of().iterator());
+
+        assertThat(response.total()).isZero();
+        assertThat(response.items()).isEmpty();
+    }
+}
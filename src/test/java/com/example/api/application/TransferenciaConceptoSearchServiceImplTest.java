@@ -0,0 +1,159 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapperImpl;
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.DatabasePlatform;
+import com.example.api.infrastructure.TextMatch;
+import com.example.api.infrastructure.TransferenciaCoincidencia;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.example.api.infrastructure.TransferenciaKeyset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaConceptoSearchServiceImplTest {
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private ConceptoIndex conceptoIndex;
+
+    private final TransferenciaCursorCodec cursorCodec = new TransferenciaCursorCodec();
+
+    private static final TransferenciaFilterRequest NO_FILTER =
+            new TransferenciaFilterRequest(null, null, null, null, null, null);
+
+    private TransferenciaConceptoSearchServiceImpl service(DatabasePlatform platform) {
+        return new TransferenciaConceptoSearchServiceImpl(jdbcRepository, conceptoIndex,
+                new TransferenciaCriteriaResolver(), cursorCodec, new TransferenciaMapperImpl(),
+                new TransferenciaSearchProperties(2, 3, 100), platform);
+    }
+
+    private static TransferenciaSnapshot snapshot(long id) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal("500.00"), "EUR", "Alquiler " + id,
+                EstadoTransferencia.PENDIENTE, Instant.parse("2024-01-10T12:00:00Z"), null, null);
+    }
+
+    private static List<Long> ids(CursorPageResponse<TransferenciaResponse> page) {
+        return page.content().stream().map(TransferenciaResponse::idTransferencia).toList();
+    }
+
+    @Test
+    void search_shouldRankInDatabase_andReturnRankedCursor_onPostgresql() {
+        TransferenciaConceptoSearchServiceImpl service = service(DatabasePlatform.POSTGRESQL);
+        when(jdbcRepository.hasConceptoTsv()).thenReturn(true);
+        when(jdbcRepository.findByConcepto(any(), eq("alquiler"), isNull(), eq(3))).thenReturn(List.of(
+                new TransferenciaCoincidencia(snapshot(9), 0.5f), new TransferenciaCoincidencia(snapshot(4), 0.25f),
+                new TransferenciaCoincidencia(snapshot(7), 0.25f)));
+        when(jdbcRepository.findByConcepto(any(), eq("alquiler"), eq(new TextMatch(4, 0.25f)), eq(3)))
+                .thenReturn(List.of(new TransferenciaCoincidencia(snapshot(7), 0.25f)));
+
+        CursorPageResponse<TransferenciaResponse> first = service.search("alquiler", NO_FILTER, null, null);
+        CursorPageResponse<TransferenciaResponse> second = service.search("alquiler", NO_FILTER,
+                first.nextCursor(), null);
+
+        assertThat(ids(first)).containsExactly(9L, 4L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(ids(second)).containsExactly(7L);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+        verify(jdbcRepository, times(1)).hasConceptoTsv();
+        verifyNoInteractions(conceptoIndex);
+    }
+
+    @Test
+    void search_shouldFail_whenConceptoColumnIsMissing_onPostgresql() {
+        when(jdbcRepository.hasConceptoTsv()).thenReturn(false);
+
+        assertThatThrownBy(() -> service(DatabasePlatform.POSTGRESQL).search("alquiler", NO_FILTER, null, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("transferencias_concepto_search.sql");
+    }
+
+    @Test
+    void search_shouldFilterIndexMatchesInBatches_keepingRankOrder() {
+        List<TextMatch> firstBatch = new ArrayList<>();
+        for (long id = 64; id >= 1; id--) {
+            firstBatch.add(new TextMatch(id + 100, id));
+        }
+        when(conceptoIndex.isActive()).thenReturn(true);
+        when(conceptoIndex.search("alquiler", null, 64)).thenReturn(firstBatch);
+        when(conceptoIndex.search("alquiler", firstBatch.get(63), 64)).thenReturn(List.of(
+                new TextMatch(50, 0.5f), new TextMatch(40, 0.25f), new TextMatch(30, 0.125f)));
+        when(jdbcRepository.findByIds(any(TransferenciaCriteria.class), anyList())).thenAnswer(invocation -> {
+            List<Long> candidates = invocation.getArgument(1);
+            return candidates.size() == 64 ? List.of(snapshot(101)) : List.of(snapshot(30), snapshot(50));
+        });
+
+        CursorPageResponse<TransferenciaResponse> page = service(DatabasePlatform.H2)
+                .search("alquiler", NO_FILTER, null, null);
+
+        assertThat(ids(page)).containsExactly(101L, 50L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(cursorCodec.decodeRanked(page.nextCursor())).isEqualTo(new TextMatch(50, 0.5f));
+    }
+
+    @Test
+    void search_shouldStop_whenIndexRunsOutOfMatches() {
+        when(conceptoIndex.isActive()).thenReturn(true);
+        when(conceptoIndex.search("alquiler", null, 64)).thenReturn(List.of(new TextMatch(3, 1f)));
+        when(jdbcRepository.findByIds(any(TransferenciaCriteria.class), eq(List.of(3L))))
+                .thenReturn(List.of(snapshot(3)));
+
+        CursorPageResponse<TransferenciaResponse> page = service(DatabasePlatform.H2)
+                .search("alquiler", NO_FILTER, null, 1);
+
+        assertThat(ids(page)).containsExactly(3L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void search_shouldFail_whenIndexIsNotBuilt() {
+        assertThatThrownBy(() -> service(DatabasePlatform.H2).search("alquiler", NO_FILTER, null, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void search_shouldRejectInvalidInput() {
+        TransferenciaConceptoSearchServiceImpl service = service(DatabasePlatform.H2);
+
+        assertThatThrownBy(() -> service.search(" ", NO_FILTER, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("'q' is required");
+        assertThatThrownBy(() -> service.search("a".repeat(201), NO_FILTER, null, null))
+                .isInstanceOf(BusinessException.class).hasMessage("Query must not exceed 200 characters");
+        assertThatThrownBy(() -> service.search("alquiler", NO_FILTER, null, 0))
+                .isInstanceOf(BusinessException.class).hasMessage("Invalid page size: 0");
+        assertThatThrownBy(() -> service.search("alquiler", NO_FILTER, "not-a-cursor", null))
+                .isInstanceOf(BusinessException.class).hasMessageStartingWith("Invalid cursor");
+        assertThatThrownBy(() -> service.search("alquiler", NO_FILTER,
+                cursorCodec.encode(new TransferenciaKeyset(Instant.EPOCH, 1L)), null))
+                .isInstanceOf(BusinessException.class).hasMessageStartingWith("Invalid cursor");
+        verifyNoInteractions(jdbcRepository, conceptoIndex);
+    }
+}
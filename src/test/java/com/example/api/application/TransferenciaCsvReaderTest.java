@@ -0,0 +1,100 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaCsvReaderTest {
+
+    private List<TransferenciaImportRow> readAll(String csv) {
+        TransferenciaCsvReader reader = new TransferenciaCsvReader(new StringReader(csv));
+        List<TransferenciaImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    @Test
+    void shouldParseRowsInHeaderOrder() {
+        List<TransferenciaImportRow> rows = readAll("divisa,importe,cuentaDestinoId,cuentaOrigenId,referenciaExterna\r\n"
+                + "EUR,12.50,200,100,REF-1\r\n"
+                + "USD,3,201,101,\r\n");
+
+        assertThat(rows).containsExactly(
+                TransferenciaImportRow.parsed(2, new CreateTransferenciaRequest(
+                        100L, 200L, new BigDecimal("12.50"), "EUR", null, "REF-1")),
+                TransferenciaImportRow.parsed(3, new CreateTransferenciaRequest(
+                        101L, 201L, new BigDecimal("3"), "USD", null, null)));
+    }
+
+    @Test
+    void shouldHandleQuotedFieldsAndBlankLines() {
+        List<TransferenciaImportRow> rows = readAll("cuentaOrigenId,cuentaDestinoId,importe,divisa,concepto\n"
+                + "\n"
+                + "100,200,1.00,EUR,\"Rent, \"\"March\"\"\nsecond line\"\n"
+                + "100,200,2.00,EUR,plain\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).posicion()).isEqualTo(3);
+        assertThat(rows.get(0).request().concepto()).isEqualTo("Rent, \"March\"\nsecond line");
+        assertThat(rows.get(1).posicion()).isEqualTo(5);
+        assertThat(rows.get(1).request().concepto()).isEqualTo("plain");
+    }
+
+    @Test
+    void shouldReportRowErrorsWithoutStopping() {
+        List<TransferenciaImportRow> rows = readAll("cuentaOrigenId,cuentaDestinoId,importe,divisa,referenciaExterna\n"
+                + "abc,200,1.00,EUR,REF-1\n"
+                + "100,200,1.00\n"
+                + "100,200,ten,EUR,REF-3\n"
+                + "100,200,1.00,EUR,REF-4");
+
+        assertThat(rows).extracting(TransferenciaImportRow::error).containsExactly(
+                "cuentaOrigenId: invalid number 'abc'",
+                "Expected 5 fields, found 3",
+                "importe: invalid amount 'ten'",
+                null);
+        assertThat(rows.get(0).referenciaExterna()).isEqualTo("REF-1");
+        assertThat(rows.get(3).request().referenciaExterna()).isEqualTo("REF-4");
+    }
+
+    @Test
+    void shouldRejectInvalidHeaders() {
+        assertThatThrownBy(() -> readAll(""))
+                .isInstanceOf(BusinessException.class).hasMessage("The CSV file is empty");
+        assertThatThrownBy(() -> readAll("cuentaOrigenId,cuentaDestinoId,importe,divisa,iban\n"))
+                .isInstanceOf(BusinessException.class).hasMessage("Unknown CSV column: iban");
+        assertThatThrownBy(() -> readAll("cuentaOrigenId,cuentaOrigenId\n"))
+                .isInstanceOf(BusinessException.class).hasMessage("Duplicate CSV column: cuentaOrigenId");
+        assertThatThrownBy(() -> readAll("cuentaOrigenId,cuentaDestinoId,importe\n"))
+                .isInstanceOf(BusinessException.class).hasMessage("Missing CSV column: divisa");
+    }
+
+    @Test
+    void shouldFailOnUnterminatedQuote() {
+        TransferenciaCsvReader reader = new TransferenciaCsvReader(new StringReader(
+                "cuentaOrigenId,cuentaDestinoId,importe,divisa,concepto\n100,200,1.00,EUR,\"open\n"));
+
+        assertThatThrownBy(reader::hasNext)
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Unterminated quoted field in CSV record at line 2");
+    }
+
+    @Test
+    void shouldFailOnOversizedRecord() {
+        TransferenciaCsvReader reader = new TransferenciaCsvReader(new StringReader(
+                "cuentaOrigenId,cuentaDestinoId,importe,divisa,concepto\n100,200,1.00,EUR,"
+                        + "x".repeat(TransferenciaCsvReader.MAX_RECORD_LENGTH) + "\n"));
+
+        assertThatThrownBy(reader::hasNext)
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("exceeds");
+    }
+}
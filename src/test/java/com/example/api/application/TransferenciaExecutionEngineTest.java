@@ -0,0 +1,97 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaExecutionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaExecutionEngineTest {
+
+    @Mock
+    private TransferenciaExecutionService executionService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransferenciaExecutionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TransferenciaExecutionEngine(executionService,
+                new TransferenciaExecutionProperties(true, 2, 10, Duration.ofSeconds(1), Duration.ofSeconds(5)),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void poll_shouldNotStartWorkers_whenQueueIsEmpty() {
+        when(executionService.countPending(20)).thenReturn(0L);
+
+        engine.poll();
+
+        verify(executionService, never()).executeBatch(10);
+        assertThat(meterRegistry.get(TransferenciaExecutionEngine.METRIC_QUEUE_DEPTH).gauge().value()).isZero();
+    }
+
+    @Test
+    void poll_shouldDrainUntilBatchComesBackShort() {
+        when(executionService.countPending(20)).thenReturn(5L);
+        when(executionService.executeBatch(10)).thenReturn(10, 10, 3);
+
+        engine.poll();
+
+        verify(executionService, timeout(2000).times(3)).executeBatch(10);
+        assertThat(meterRegistry.get(TransferenciaExecutionEngine.METRIC_QUEUE_DEPTH).gauge().value()).isEqualTo(5.0);
+    }
+
+    @Test
+    void poll_shouldCapWorkersAtPoolSize_andSurviveBatchFailures() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(executionService.countPending(20)).thenReturn(20L);
+        when(executionService.executeBatch(10)).thenAnswer(invocation -> {
+            release.await(2, TimeUnit.SECONDS);
+            throw new IllegalStateException("boom");
+        });
+
+        engine.poll();
+        verify(executionService, timeout(2000).times(2)).executeBatch(10);
+        assertThat(meterRegistry.get(TransferenciaExecutionEngine.METRIC_ACTIVE_WORKERS).gauge().value())
+                .isEqualTo(2.0);
+        engine.poll();
+        release.countDown();
+
+        verify(executionService, timeout(2000).times(2)).executeBatch(10);
+        Thread.sleep(100);
+        assertThat(meterRegistry.get(TransferenciaExecutionEngine.METRIC_ACTIVE_WORKERS).gauge().value()).isZero();
+    }
+
+    @Test
+    void poll_shouldDoNothing_afterShutdown() {
+        engine.shutdown();
+
+        engine.poll();
+
+        verify(executionService, times(0)).countPending(anyInt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.TransferenciaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaExecutionServiceImplTest {
+
+    @Mock
+    private TransferenciaRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransferenciaExecutionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransferenciaExecutionServiceImpl(repository, transactionTemplate, eventPublisher,
+                meterRegistry);
+    }
+
+    private void runInTransaction() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void executeBatch_shouldExecuteClaimedTransfers_andRecordMetrics() {
+        runInTransaction();
+        Transferencia ok = new Transferencia(100L, 200L, new BigDecimal("10.00"), "EUR", null, null);
+        Transferencia ok2 = new Transferencia(101L, 200L, new BigDecimal("20.00"), "EUR", null, null);
+        Transferencia self = new Transferencia(300L, 300L, new BigDecimal("30.00"), "EUR", null, null);
+        when(repository.claimByEstado(EstadoTransferencia.PENDIENTE, Limit.of(3))).thenReturn(List.of(ok, ok2, self));
+
+        int executed = service.executeBatch(3);
+
+        assertThat(executed).isEqualTo(3);
+        assertThat(ok.getEstado()).isEqualTo(EstadoTransferencia.COMPLETADA);
+        assertThat(ok.getFechaEjecucion()).isNotNull();
+        assertThat(self.getEstado()).isEqualTo(EstadoTransferencia.RECHAZADA);
+        assertThat(meterRegistry.get(TransferenciaExecutionServiceImpl.METRIC_EXECUTED)
+                .tag("estado", "COMPLETADA").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(TransferenciaExecutionServiceImpl.METRIC_EXECUTED)
+                .tag("estado", "RECHAZADA").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(TransferenciaExecutionServiceImpl.METRIC_CLAIM).timer().count()).isEqualTo(1);
+        ArgumentCaptor<TransferenciasChangedEvent> event = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).hasSize(3).allSatisfy(change ->
+                assertThat(change.antes().estado()).isEqualTo(EstadoTransferencia.PENDIENTE));
+        assertThat(event.getValue().changes()).extracting(TransferenciaChange::despues)
+                .extracting(snapshot -> snapshot.estado())
+                .containsExactly(EstadoTransferencia.COMPLETADA, EstadoTransferencia.COMPLETADA,
+                        EstadoTransferencia.RECHAZADA);
+    }
+
+    @Test
+    void executeBatch_shouldReturnZero_whenNothingIsClaimable() {
+        runInTransaction();
+        when(repository.claimByEstado(EstadoTransferencia.PENDIENTE, Limit.of(50))).thenReturn(List.of());
+
+        assertThat(service.executeBatch(50)).isZero();
+        assertThat(meterRegistry.find(TransferenciaExecutionServiceImpl.METRIC_EXECUTED).counter()).isNull();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void countPending_shouldCountPendingTransfers_upToTheLimit() {
+        when(repository.countByEstadoUpTo("PENDIENTE", 100)).thenReturn(42L);
+
+        assertThat(service.countPending(100)).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapperImpl;
+import com.example.api.config.TransferenciaExportProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaExportServiceImplTest {
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferenciaExportServiceImpl service;
+
+    private static final Instant DESDE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-02-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        service = new TransferenciaExportServiceImpl(jdbcRepository, new TransferenciaCriteriaResolver(),
+                new TransferenciaMapperImpl(),
+                objectMapper, transactionManager, new TransferenciaExportProperties(100, 1));
+    }
+
+    private TransferenciaSnapshot snapshot(long id, String concepto) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal("500.00"), "EUR", concepto,
+                EstadoTransferencia.COMPLETADA, Instant.parse("2024-01-10T12:00:00Z"), null, "REF-" + id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(TransferenciaSnapshot... rows) {
+        doAnswer(invocation -> {
+            Consumer<TransferenciaSnapshot> consumer = invocation.getArgument(2);
+            for (TransferenciaSnapshot row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(jdbcRepository).stream(any(), eq(100), any(Consumer.class));
+    }
+
+    @Test
+    void prepareExport_shouldWriteOneJsonObjectPerLine() throws IOException {
+        streamRows(snapshot(1L, "Rent"), snapshot(2L, "Salary"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.prepareExport(new TransferenciaFilterRequest(null, null, null, null, null, null), "ndjson")
+                .writeTo(output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"idTransferencia\":1", "\"estado\":\"COMPLETADA\"",
+                "\"fechaCreacion\":\"2024-01-10T12:00:00Z\"");
+        assertThat(lines.get(1)).contains("\"concepto\":\"Salary\"");
+    }
+
+    @Test
+    void prepareExport_shouldWriteCsvWithHeaderAndEscaping() throws IOException {
+        streamRows(snapshot(1L, "Rent, \"March\""), snapshot(2L, null));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.prepareExport(new TransferenciaFilterRequest(null, null, null, null, null, null), "csv")
+                .writeTo(output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).containsExactly(
+                "idTransferencia,cuentaOrigenId,cuentaDestinoId,importe,divisa,concepto,estado,"
+                        + "fechaCreacion,fechaEjecucion,referenciaExterna",
+                "1,100,200,500.00,EUR,\"Rent, \"\"March\"\"\",COMPLETADA,2024-01-10T12:00:00Z,,REF-1",
+                "2,100,200,500.00,EUR,,COMPLETADA,2024-01-10T12:00:00Z,,REF-2");
+    }
+
+    @Test
+    void prepareExport_shouldTranslateFiltersIntoCriteria() throws IOException {
+        streamRows();
+
+        service.prepareExport(new TransferenciaFilterRequest(null, null, DESDE, HASTA, "PENDIENTE", "USD"), "csv")
+                .writeTo(new ByteArrayOutputStream());
+
+        ArgumentCaptor<TransferenciaCriteria> captor = ArgumentCaptor.forClass(TransferenciaCriteria.class);
+        verify(jdbcRepository).stream(captor.capture(), eq(100), any());
+        assertThat(captor.getValue()).isEqualTo(
+                new TransferenciaCriteria(null, null, DESDE, HASTA, EstadoTransferencia.PENDIENTE, "USD"));
+    }
+
+    @Test
+    void prepareExport_shouldPropagateWriteFailures() {
+        streamRows(snapshot(1L, "Rent"));
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        assertThatThrownBy(() -> service.prepareExport(
+                new TransferenciaFilterRequest(null, null, null, null, null, null), "csv").writeTo(failing))
+                .isInstanceOf(IOException.class)
+                .hasMessage("client went away");
+    }
+
+    @Test
+    void prepareExport_shouldRejectInvalidEstado() {
+        assertThatThrownBy(() -> service.prepareExport(
+                new TransferenciaFilterRequest(null, null, null, null, "UNKNOWN", null), "ndjson"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid transfer state: UNKNOWN");
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    @Test
+    void prepareExport_shouldExposeResolvedFormat() {
+        assertThat(service.prepareExport(new TransferenciaFilterRequest(null, null, null, null, null, null), "CSV").format())
+                .isEqualTo(ExportFormat.CSV);
+    }
+
+    @Test
+    void prepareExport_shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> service.prepareExport(
+                new TransferenciaFilterRequest(null, null, null, null, null, null), "xml"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Unsupported export format: xml");
+    }
+
+    @Test
+    void prepareExport_shouldRejectInvertedDateRange() {
+        assertThatThrownBy(() -> service.prepareExport(
+                new TransferenciaFilterRequest(null, null, HASTA, DESDE, null, null), "ndjson"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid date range");
+    }
+}
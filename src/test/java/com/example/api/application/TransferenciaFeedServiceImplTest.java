@@ -0,0 +1,303 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaFeedProperties;
+import com.example.api.domain.TipoEventoTransferencia;
+import com.example.api.dto.response.TransferenciaEventoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaEventoJdbcRepository;
+import com.example.api.infrastructure.TransferenciaEventoPublicado;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaFeedServiceImplTest {
+
+    @Mock
+    private TransferenciaEventoJdbcRepository eventoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransferenciaFeedSink sink;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+
+    private TransferenciaFeedServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(meterRegistry, DirectExecutorService::new);
+    }
+
+    private TransferenciaFeedServiceImpl service(MeterRegistry registry, Supplier<ExecutorService> deliveryExecutors) {
+        return new TransferenciaFeedServiceImpl(eventoRepository, transactionTemplate,
+                new TransferenciaFeedProperties(true, Duration.ofSeconds(1), 2, 2, Duration.ofSeconds(15),
+                        Duration.ofDays(7), Duration.ofHours(1)),
+                registry, Clock.fixed(NOW, ZoneOffset.UTC), deliveryExecutors);
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static TransferenciaEventoPublicado evento(long secuencia) {
+        return new TransferenciaEventoPublicado(secuencia, TipoEventoTransferencia.CREADA, secuencia * 10,
+                "{\"idTransferencia\":" + secuencia * 10 + "}", NOW);
+    }
+
+    private List<Long> sentSequences(int times) throws IOException {
+        return sentSequences(sink, times);
+    }
+
+    private static List<Long> sentSequences(TransferenciaFeedSink sink, int times) throws IOException {
+        ArgumentCaptor<TransferenciaEventoResponse> sent = ArgumentCaptor.forClass(TransferenciaEventoResponse.class);
+        verify(sink, timeout(2000).times(times)).send(sent.capture());
+        return sent.getAllValues().stream().map(TransferenciaEventoResponse::secuencia).toList();
+    }
+
+    private double subscribers() {
+        return subscribers(meterRegistry);
+    }
+
+    private static double subscribers(MeterRegistry registry) {
+        return registry.get(TransferenciaFeedServiceImpl.METRIC_SUBSCRIBERS).gauge().value();
+    }
+
+    @Test
+    void poll_shouldPublishPendingEntries_andDeliverNewOnesToLiveSubscribers() throws Exception {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.publishPending(2, NOW)).thenReturn(2, 0);
+        when(eventoRepository.findLastSequence()).thenReturn(3L);
+        when(eventoRepository.findPublishedAfter(3L, 2)).thenReturn(List.of(evento(4), evento(5)));
+        service.subscribe(null, sink);
+
+        service.poll();
+
+        assertThat(sentSequences(2)).containsExactly(4L, 5L);
+        verify(sink, never()).heartbeat();
+        assertThat(meterRegistry.get(TransferenciaFeedServiceImpl.METRIC_PUBLISHED).counter().count()).isEqualTo(2);
+        assertThat(subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    void poll_shouldCatchUpResumingSubscriber_beforeDeliveringNewEntries() throws Exception {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.publishPending(2, NOW)).thenReturn(1, 0);
+        when(eventoRepository.findLastSequence()).thenReturn(5L, 6L);
+        when(eventoRepository.findFirstSequence()).thenReturn(1L);
+        when(eventoRepository.findPublishedAfter(1L, 2)).thenReturn(List.of(evento(2), evento(3)));
+        when(eventoRepository.findPublishedAfter(3L, 2)).thenReturn(List.of(evento(4), evento(5)));
+        when(eventoRepository.findPublishedAfter(5L, 2)).thenReturn(List.of(evento(6)));
+        when(eventoRepository.findPublishedAfter(6L, 2)).thenReturn(List.of(), List.of(evento(7)));
+        service.subscribe(1L, sink);
+
+        service.poll();
+        service.poll();
+
+        assertThat(sentSequences(6)).containsExactly(2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void poll_shouldNotPublish_whenAnotherNodeHoldsTheRelayLock() {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(false);
+
+        service.poll();
+
+        verify(eventoRepository, never()).publishPending(anyInt(), any());
+        verify(eventoRepository).findLastSequence();
+        verify(eventoRepository, never()).findPublishedAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void poll_shouldSendHeartbeatToIdleSubscribers_onceAnInterval() throws Exception {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.findLastSequence()).thenReturn(0L);
+        when(eventoRepository.findPublishedAfter(0L, 2)).thenReturn(List.of());
+        service.subscribe(null, sink);
+
+        service.poll();
+        service.poll();
+
+        verify(sink).heartbeat();
+        verify(sink, never()).send(any());
+    }
+
+    @Test
+    void poll_shouldDropSubscriber_whenItCannotBeReached() throws Exception {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.findLastSequence()).thenReturn(0L);
+        when(eventoRepository.findPublishedAfter(0L, 2)).thenReturn(List.of(evento(1)));
+        doThrow(new IOException("Broken pipe")).when(sink).send(any());
+        service.subscribe(null, sink);
+
+        service.poll();
+
+        assertThat(subscribers()).isZero();
+        verify(sink).close();
+    }
+
+    @Test
+    void poll_shouldNotWaitForSlowSubscriber_andDisconnectItWhenItsQueueOverflows() throws Exception {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.findLastSequence()).thenReturn(0L);
+        when(eventoRepository.findPublishedAfter(0L, 2)).thenReturn(List.of(evento(1), evento(2)));
+        when(eventoRepository.findPublishedAfter(2L, 2)).thenReturn(List.of(evento(3), evento(4)));
+        TransferenciaFeedSink slow = mock(TransferenciaFeedSink.class);
+        CountDownLatch stalled = new CountDownLatch(1);
+        doAnswer(invocation -> stalled.await(5, TimeUnit.SECONDS)).when(slow).send(any());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TransferenciaFeedServiceImpl threaded = service(registry, Executors::newSingleThreadExecutor);
+        threaded.subscribe(null, slow);
+        threaded.subscribe(null, sink);
+
+        threaded.poll();
+        // Let the other subscriber drain its queue, so that only the stalled one overflows.
+        sentSequences(2);
+        threaded.poll();
+
+        assertThat(sentSequences(4)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(subscribers(registry)).isEqualTo(1);
+        assertThat(registry.get(TransferenciaFeedServiceImpl.METRIC_OVERFLOWS).counter().count()).isEqualTo(1);
+        stalled.countDown();
+        verify(slow, timeout(2000)).close();
+        verify(sink, never()).close();
+    }
+
+    @Test
+    void subscribe_shouldStopDelivering_onceCancelled() {
+        when(eventoRepository.findLastSequence()).thenReturn(4L);
+
+        service.subscribe(null, sink).cancel();
+
+        assertThat(subscribers()).isZero();
+        verify(sink, never()).close();
+    }
+
+    @Test
+    void subscribe_shouldReject_negativeAheadOrPurgedPositions() {
+        when(eventoRepository.findLastSequence()).thenReturn(10L);
+        when(eventoRepository.findFirstSequence()).thenReturn(6L);
+
+        assertThatThrownBy(() -> service.subscribe(-1L, sink))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("'desde' must not be negative");
+        assertThatThrownBy(() -> service.subscribe(11L, sink))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Sequence 11 is ahead of the feed, which ends at 10");
+        assertThatThrownBy(() -> service.subscribe(4L, sink))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Entries up to sequence 5 are no longer retained");
+        service.subscribe(5L, sink);
+        assertThat(subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    void purge_shouldDeleteEntriesOlderThanRetention() {
+        when(eventoRepository.deletePublishedBefore(NOW.minus(Duration.ofDays(7)))).thenReturn(3);
+
+        assertThat(service.purge()).isEqualTo(3);
+    }
+
+    @Test
+    void poll_shouldPublishBeforeReading() {
+        runInTransaction();
+        when(eventoRepository.tryLockRelay()).thenReturn(true);
+        when(eventoRepository.publishPending(2, NOW)).thenReturn(0);
+
+        service.poll();
+
+        InOrder order = inOrder(eventoRepository);
+        order.verify(eventoRepository).publishPending(2, NOW);
+        order.verify(eventoRepository).findLastSequence();
+    }
+
+    /**
+     * Runs delivery on the polling thread, so that every poll has delivered when it returns.
+     */
+    private static final class DirectExecutorService extends AbstractExecutorService {
+
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor shut down");
+            }
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaGroupCommitProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.exception.BusinessException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaGroupCommitterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    private TransferenciaGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (committer != null) {
+            committer.shutdown();
+        }
+    }
+
+    private TransferenciaGroupCommitter committer(boolean enabled, int maxBatchSize, Duration maxDelay,
+                                                  int queueCapacity) {
+        return committer(enabled, maxBatchSize, maxDelay, queueCapacity, Duration.ofSeconds(10));
+    }
+
+    private TransferenciaGroupCommitter committer(boolean enabled, int maxBatchSize, Duration maxDelay,
+                                                  int queueCapacity, Duration transactionTimeout) {
+        committer = new TransferenciaGroupCommitter(new TransactionTemplate(transactionManager), eventPublisher,
+                new TransferenciaGroupCommitProperties(enabled, maxBatchSize, maxDelay, queueCapacity, 1,
+                        transactionTimeout, Duration.ofSeconds(5)),
+                meterRegistry);
+        committer.start();
+        return committer;
+    }
+
+    /**
+     * Starts the callbacks from concurrent callers at the same time.
+     */
+    private List<Future<String>> submit(List<TransactionCallback<String>> callbacks) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (TransactionCallback<String> callback : callbacks) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                return committer.execute(callback);
+            }));
+        }
+        start.countDown();
+        return futures;
+    }
+
+    @Test
+    void execute_shouldCommitOnItsOwnWhenDisabled() {
+        committer(false, 256, Duration.ofMillis(2), 10);
+
+        assertThat(committer.<String>execute(status -> Thread.currentThread().getName())).doesNotStartWith("transferencia-commit-");
+
+        verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_MAX_BATCH_SIZE).gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_MAX_DELAY).gauge().value()).isZero();
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_BATCH_SIZE).summary().count()).isZero();
+    }
+
+    @Test
+    void execute_shouldGatherConcurrentCallersIntoBatches() throws Exception {
+        committer(true, 4, Duration.ofSeconds(2), 100);
+        List<TransactionCallback<String>> callbacks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String id = "t" + i;
+            callbacks.add(status -> id);
+        }
+
+        List<Future<String>> futures = submit(callbacks);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("t" + i);
+        }
+        DistributionSummary batches = meterRegistry.get(TransferenciaGroupCommitter.METRIC_BATCH_SIZE).summary();
+        assertThat(batches.count()).isEqualTo(2);
+        assertThat(batches.totalAmount()).isEqualTo(8.0);
+        assertThat(batches.max()).isEqualTo(4.0);
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_WAIT).timer().count()).isEqualTo(8);
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_MAX_BATCH_SIZE).gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_MAX_DELAY).gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void defer_shouldPublishTheChangesOfABatchAsOneEvent() throws Exception {
+        committer(true, 3, Duration.ofSeconds(2), 100);
+        List<TransactionCallback<String>> callbacks = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            TransferenciaChange change = TransferenciaChange.created(new TransferenciaSnapshot(id, 1L, 2L,
+                    BigDecimal.TEN, "EUR", null, EstadoTransferencia.PENDIENTE, Instant.EPOCH, null, null));
+            callbacks.add(status -> String.valueOf(committer.defer(change)));
+        }
+
+        for (Future<String> future : submit(callbacks)) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("true");
+        }
+
+        ArgumentCaptor<TransferenciasChangedEvent> event = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).extracting(change -> change.despues().idTransferencia())
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(committer.defer(TransferenciaChange.deleted(null))).isFalse();
+    }
+
+    @Test
+    void execute_shouldCommitAfterTheMaximumDelay() {
+        committer(true, 256, Duration.ofMillis(20), 100);
+
+        long start = System.nanoTime();
+        assertThat(committer.<String>execute(status -> Thread.currentThread().getName())).startsWith("transferencia-commit-");
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_BATCH_SIZE).summary().max()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_shouldRetryAFailedBatchItemByItem() throws Exception {
+        committer(true, 3, Duration.ofSeconds(2), 100);
+
+        List<Future<String>> futures = submit(List.of(
+                status -> "a",
+                status -> {
+                    throw new BusinessException("Velocity limit exceeded");
+                },
+                status -> "c"));
+
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("c");
+        assertThatThrownBy(() -> futures.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("Velocity limit exceeded");
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_FALLBACKS).counter().count()).isEqualTo(1.0);
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void execute_shouldPropagateTheFailureOfASingleItemBatch() {
+        committer(true, 256, Duration.ZERO, 100);
+
+        assertThatThrownBy(() -> committer.execute(status -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_FALLBACKS).counter().count()).isZero();
+    }
+
+    @Test
+    void execute_shouldCommitOnItsOwnWhenTheQueueIsFull() throws Exception {
+        committer(true, 1, Duration.ZERO, 1);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> committer.execute(status -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }), callers);
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> committer.execute(status -> "second"),
+                callers);
+        while (meterRegistry.get(TransferenciaGroupCommitter.METRIC_QUEUE_DEPTH).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(committer.<String>execute(status -> "third")).isEqualTo("third");
+
+        release.countDown();
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_BYPASSED).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_shouldCommitOnItsOwn_whenStillQueuedAfterTheMaximumDelayPlusTheTransactionTimeout()
+            throws Exception {
+        committer(true, 1, Duration.ZERO, 10, Duration.ofSeconds(1));
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> committer.execute(status -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }), callers);
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(committer.<String>execute(status -> Thread.currentThread().getName()))
+                .doesNotStartWith("transferencia-commit-");
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_QUEUE_DEPTH).gauge().value()).isZero();
+        assertThat(meterRegistry.get(TransferenciaGroupCommitter.METRIC_BYPASSED).counter().count()).isEqualTo(1.0);
+        release.countDown();
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+    }
+
+    @Test
+    void execute_shouldFailTheCallersOfABatchThatEndsInAnError_insteadOfLeavingThemWaiting() {
+        committer(true, 256, Duration.ZERO, 100, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> committer.execute(status -> {
+            throw new AssertionError("out of stack");
+        })).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Group commit of the transfer creation did not complete");
+        assertThat(committer.<String>execute(status -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    void shutdown_shouldCommitOnItsOwnAfterwards() {
+        committer(true, 256, Duration.ZERO, 100);
+
+        committer.shutdown();
+
+        assertThat(committer.<String>execute(status -> Thread.currentThread().getName()))
+                .doesNotStartWith("transferencia-commit-");
+        verify(transactionManager, atLeast(1)).commit(any());
+    }
+}
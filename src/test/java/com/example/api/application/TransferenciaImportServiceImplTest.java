@@ -0,0 +1,328 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaImportProperties;
+import com.example.api.config.TransferenciaVelocityProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.response.TransferenciaImportErrorResponse;
+import com.example.api.dto.response.TransferenciaImportResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaImportJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaImportServiceImplTest {
+
+    private static final String HEADER = "cuentaOrigenId,cuentaDestinoId,importe,divisa,referenciaExterna\n";
+
+    @Mock
+    private TransferenciaImportJdbcRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CuentaRegistryService cuentaRegistry;
+
+    @Mock
+    private TransferenciaVelocityService velocityService;
+
+    @Mock
+    private ReferenciaFilterService referenciaFilter;
+
+    @Mock
+    private VelocityReservation reservation;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ValidatorFactory validatorFactory;
+
+    private long nextId = 1000;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private TransferenciaImportServiceImpl service(int chunkSize, int maxErrors) {
+        lenient().when(velocityService.reserve(any(), any(), any())).thenReturn(reservation);
+        return new TransferenciaImportServiceImpl(repository, validatorFactory.getValidator(), transactionTemplate,
+                eventPublisher, new TransferenciaImportProperties(chunkSize, maxErrors), meterRegistry,
+                cuentaRegistry, velocityService, referenciaFilter);
+    }
+
+    private void runInTransaction() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.allocateIds(anyInt())).thenAnswer(invocation -> {
+            long[] ids = new long[invocation.<Integer>getArgument(0)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nextId++;
+            }
+            return ids;
+        });
+    }
+
+    private static InputStream csv(String body) {
+        return new ByteArrayInputStream((HEADER + body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double rows(String resultado) {
+        return meterRegistry.counter(TransferenciaImportServiceImpl.METRIC_ROWS,
+                "resultado", resultado, "formato", "csv").count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_shouldLoadValidRowsInChunksAndPublishChanges() {
+        runInTransaction();
+
+        TransferenciaImportResponse response = service(2, 10).importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n101,201,2.00,USD,REF-2\n102,202,3.00,EUR,\n"));
+
+        assertThat(response.total()).isEqualTo(3);
+        assertThat(response.importadas()).isEqualTo(3);
+        assertThat(response.rechazadas()).isZero();
+        assertThat(response.completo()).isTrue();
+        assertThat(response.errores()).isEmpty();
+
+        ArgumentCaptor<List<TransferenciaSnapshot>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).insert(inserted.capture());
+        assertThat(inserted.getAllValues().get(0)).hasSize(2);
+        TransferenciaSnapshot last = inserted.getAllValues().get(1).get(0);
+        assertThat(last.idTransferencia()).isEqualTo(1002L);
+        assertThat(last.estado()).isEqualTo(EstadoTransferencia.PENDIENTE);
+        assertThat(last.fechaCreacion()).isNotNull();
+
+        ArgumentCaptor<TransferenciasChangedEvent> events = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getValue().changes()).containsExactly(TransferenciaChange.created(last));
+        assertThat(rows("importada")).isEqualTo(3);
+        assertThat(meterRegistry.timer(TransferenciaImportServiceImpl.METRIC_CHUNK).count()).isEqualTo(2);
+        assertThat(meterRegistry.get(TransferenciaImportServiceImpl.METRIC_ACTIVE).gauge().value()).isZero();
+    }
+
+    @Test
+    void importFile_shouldReportInvalidRowsAndTruncateErrors() {
+        runInTransaction();
+
+        TransferenciaImportResponse response = service(10, 2).importFile(ImportFormat.CSV, csv(
+                "100,200,-1.00,EUR,REF-1\n"
+                        + "x,200,1.00,EUR,REF-2\n"
+                        + "100,200,1.00,EURO,REF-3\n"
+                        + "100,200,1.00,EUR,REF-4\n"));
+
+        assertThat(response.total()).isEqualTo(4);
+        assertThat(response.importadas()).isEqualTo(1);
+        assertThat(response.rechazadas()).isEqualTo(3);
+        assertThat(response.errores()).extracting(TransferenciaImportErrorResponse::posicion).containsExactly(2L, 3L);
+        assertThat(response.errores().get(0).referenciaExterna()).isEqualTo("REF-1");
+        assertThat(response.errores().get(0).error()).startsWith("importe: ");
+        assertThat(response.errores().get(1).error()).isEqualTo("cuentaOrigenId: invalid number 'x'");
+        assertThat(response.erroresTruncados()).isTrue();
+        assertThat(rows("rechazada")).isEqualTo(3);
+    }
+
+    @Test
+    void importFile_shouldRejectRowsWithInvalidAccounts() {
+        runInTransaction();
+        lenient().doThrow(new BusinessException("Destination account is blocked: 201"))
+                .when(cuentaRegistry).validate(101L, 201L);
+
+        TransferenciaImportResponse response = service(10, 10).importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n101,201,2.00,EUR,REF-2\n"));
+
+        assertThat(response.importadas()).isEqualTo(1);
+        assertThat(response.errores()).singleElement().satisfies(error -> {
+            assertThat(error.referenciaExterna()).isEqualTo("REF-2");
+            assertThat(error.error()).isEqualTo("Destination account is blocked: 201");
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_shouldRejectUsedReferences_andRecordTheImportedOnes() {
+        runInTransaction();
+        lenient().when(referenciaFilter.isUsed("REF-2")).thenReturn(true);
+
+        TransferenciaImportResponse response = service(10, 10).importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n101,201,2.00,EUR,REF-2\n"));
+
+        assertThat(response.importadas()).isEqualTo(1);
+        assertThat(response.errores()).containsExactly(
+                new TransferenciaImportErrorResponse(3, "REF-2", "External reference already used: REF-2"));
+        ArgumentCaptor<List<TransferenciaSnapshot>> registered = ArgumentCaptor.forClass(List.class);
+        verify(referenciaFilter).register(registered.capture());
+        assertThat(registered.getValue()).extracting(TransferenciaSnapshot::referenciaExterna)
+                .containsExactly("REF-1");
+        verify(velocityService, times(1)).reserve(any(), any(), any());
+    }
+
+    @Test
+    void importFile_shouldRetryRowByRow_whenChunkFails() {
+        runInTransaction();
+        List<String> loaded = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<TransferenciaSnapshot> chunk = invocation.getArgument(0);
+            if (chunk.size() > 1 || "DUP".equals(chunk.get(0).referenciaExterna())) {
+                throw new DataIntegrityViolationException("chunk", new IllegalStateException("duplicate key"));
+            }
+            loaded.add(chunk.get(0).referenciaExterna());
+            return null;
+        }).when(repository).insert(anyList());
+
+        TransferenciaImportResponse response = service(10, 10).importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n100,200,1.00,EUR,DUP\n100,200,1.00,EUR,REF-3\n"));
+
+        assertThat(loaded).containsExactly("REF-1", "REF-3");
+        assertThat(response.importadas()).isEqualTo(2);
+        assertThat(response.errores()).containsExactly(new TransferenciaImportErrorResponse(3, "DUP", "duplicate key"));
+        verify(eventPublisher, times(2)).publishEvent(any(TransferenciasChangedEvent.class));
+        verify(reservation).release();
+    }
+
+    @Test
+    void importFile_shouldCountRowsAgainstVelocityLimits_andRejectRowsOverALimit() {
+        runInTransaction();
+        TransferenciaImportServiceImpl service = service(10, 10);
+        when(velocityService.reserve(101L, "EUR", new BigDecimal("2.00")))
+                .thenThrow(new BusinessException("Velocity limit exceeded for account 101"));
+
+        TransferenciaImportResponse response = service.importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n101,201,2.00,EUR,REF-2\n"));
+
+        assertThat(response.importadas()).isEqualTo(1);
+        assertThat(response.errores()).singleElement().satisfies(error -> {
+            assertThat(error.referenciaExterna()).isEqualTo("REF-2");
+            assertThat(error.error()).isEqualTo("Velocity limit exceeded for account 101");
+        });
+        verify(velocityService).reserve(100L, "EUR", new BigDecimal("1.00"));
+        verify(reservation, never()).release();
+    }
+
+    @Test
+    void importFile_shouldLoadEveryRowOfOneDebtorAccount_withTheDefaultVelocitySettings() throws Exception {
+        runInTransaction();
+        TransferenciaVelocityProperties defaults = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))))
+                .bind("transferencias.velocity", TransferenciaVelocityProperties.class).get();
+        TransferenciaImportServiceImpl service = new TransferenciaImportServiceImpl(repository,
+                validatorFactory.getValidator(), transactionTemplate, eventPublisher,
+                new TransferenciaImportProperties(500, 10), meterRegistry, cuentaRegistry,
+                new TransferenciaVelocityServiceImpl(defaults, meterRegistry), referenciaFilter);
+        StringBuilder body = new StringBuilder();
+        for (int row = 1; row <= 1500; row++) {
+            body.append("100,").append(200 + row).append(",1.00,EUR,REF-").append(row).append('\n');
+        }
+
+        TransferenciaImportResponse response = service.importFile(ImportFormat.CSV, csv(body.toString()));
+
+        assertThat(response.importadas()).isEqualTo(1500);
+        assertThat(response.rechazadas()).isZero();
+        verify(repository, times(3)).insert(anyList());
+    }
+
+    @Test
+    void importFile_shouldKeepLoadedRows_whenFileBecomesUnreadable() {
+        runInTransaction();
+
+        TransferenciaImportResponse response = service(10, 10).importFile(ImportFormat.CSV, csv(
+                "100,200,1.00,EUR,REF-1\n100,200,1.00,EUR,\"REF-2\n"));
+
+        assertThat(response.completo()).isFalse();
+        assertThat(response.importadas()).isEqualTo(1);
+        assertThat(response.rechazadas()).isZero();
+        assertThat(response.erroresTruncados()).isFalse();
+        assertThat(response.errores()).singleElement()
+                .satisfies(error -> assertThat(error.error()).startsWith("Unterminated quoted field"));
+    }
+
+    @Test
+    void importFile_shouldRejectUnreadableHeader() {
+        TransferenciaImportServiceImpl service = service(10, 10);
+        InputStream input = new ByteArrayInputStream("iban,importe\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.importFile(ImportFormat.CSV, input))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Unknown CSV column: iban");
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_shouldReadPain001() {
+        runInTransaction();
+        String xml = """
+                <Document><CstmrCdtTrfInitn><PmtInf>
+                  <DbtrAcct><Id><Othr><Id>100</Id></Othr></Id></DbtrAcct>
+                  <CdtTrfTxInf>
+                    <PmtId><EndToEndId>E2E-1</EndToEndId></PmtId>
+                    <Amt><InstdAmt Ccy="EUR">10.00</InstdAmt></Amt>
+                    <CdtrAcct><Id><Othr><Id>200</Id></Othr></Id></CdtrAcct>
+                  </CdtTrfTxInf>
+                </PmtInf></CstmrCdtTrfInitn></Document>
+                """;
+
+        TransferenciaImportResponse response = service(10, 10).importFile(ImportFormat.PAIN_001,
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.formato()).isEqualTo("pain.001");
+        assertThat(response.importadas()).isEqualTo(1);
+        ArgumentCaptor<List<TransferenciaSnapshot>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repository).insert(inserted.capture());
+        TransferenciaSnapshot row = inserted.getValue().get(0);
+        assertThat(row).isEqualTo(new TransferenciaSnapshot(1000L, 100L, 200L, new BigDecimal("10.00"), "EUR",
+                null, EstadoTransferencia.PENDIENTE, row.fechaCreacion(), null, "E2E-1"));
+    }
+}
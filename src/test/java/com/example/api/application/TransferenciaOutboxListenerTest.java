@@ -0,0 +1,78 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapperImpl;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TipoEventoTransferencia;
+import com.example.api.domain.TransferenciaChange;
+import com.example.api.domain.TransferenciaEvento;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.infrastructure.TransferenciaEventoRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaOutboxListenerTest {
+
+    @Mock
+    private TransferenciaEventoRepository eventoRepository;
+
+    private TransferenciaOutboxListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TransferenciaOutboxListener(eventoRepository, new TransferenciaMapperImpl(),
+                Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build());
+    }
+
+    private static TransferenciaSnapshot snapshot(long id, EstadoTransferencia estado) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal("10.00"), "EUR", "Rent", estado,
+                Instant.parse("2024-03-10T10:00:00Z"), null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransferenciaEvento> savedEventos() {
+        ArgumentCaptor<List<TransferenciaEvento>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(eventoRepository).saveAll(eventos.capture());
+        return eventos.getValue();
+    }
+
+    @Test
+    void onTransferenciasChanged_shouldWriteOneEntryPerChange() {
+        listener.onTransferenciasChanged(new TransferenciasChangedEvent(List.of(
+                TransferenciaChange.created(snapshot(1L, EstadoTransferencia.PENDIENTE)),
+                TransferenciaChange.updated(snapshot(2L, EstadoTransferencia.PENDIENTE),
+                        snapshot(2L, EstadoTransferencia.COMPLETADA)),
+                TransferenciaChange.deleted(snapshot(3L, EstadoTransferencia.RECHAZADA)))));
+
+        List<TransferenciaEvento> eventos = savedEventos();
+        assertThat(eventos).extracting(TransferenciaEvento::getTipo, TransferenciaEvento::getIdTransferencia,
+                        TransferenciaEvento::getSecuencia)
+                .containsExactly(
+                        tuple(TipoEventoTransferencia.CREADA, 1L, null),
+                        tuple(TipoEventoTransferencia.ACTUALIZADA, 2L, null),
+                        tuple(TipoEventoTransferencia.ELIMINADA, 3L, null));
+        assertThat(eventos.get(1).getPayload())
+                .contains("\"idTransferencia\":2")
+                .contains("\"estado\":\"COMPLETADA\"")
+                .contains("\"fechaCreacion\":\"2024-03-10T10:00:00Z\"");
+        assertThat(eventos.get(2).getPayload()).contains("\"estado\":\"RECHAZADA\"");
+        assertThat(eventos).allSatisfy(evento -> assertThat(evento.getFechaCreacion()).isNotNull());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.api.application;
+
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaPain001ReaderTest {
+
+    private static final String DOCUMENT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:pain.001.001.09">
+              <CstmrCdtTrfInitn>
+                <GrpHdr><MsgId>MSG-1</MsgId><NbOfTxs>3</NbOfTxs></GrpHdr>
+                <PmtInf>
+                  <PmtInfId>P-1</PmtInfId>
+                  <Dbtr><Nm>ACME</Nm><Id><OrgId><Othr><Id>ORG-9</Id></Othr></OrgId></Id></Dbtr>
+                  <DbtrAcct><Id><Othr><Id>100</Id></Othr></Id></DbtrAcct>
+                  <CdtTrfTxInf>
+                    <PmtId><EndToEndId>E2E-1</EndToEndId></PmtId>
+                    <Amt><InstdAmt Ccy="EUR">12.50</InstdAmt></Amt>
+                    <CdtrAcct><Id><Othr><Id>200</Id></Othr></Id></CdtrAcct>
+                    <RmtInf><Ustrd>Invoice 1</Ustrd><Ustrd>ignored</Ustrd></RmtInf>
+                  </CdtTrfTxInf>
+                  <CdtTrfTxInf>
+                    <PmtId><EndToEndId>NOTPROVIDED</EndToEndId></PmtId>
+                    <Amt><InstdAmt Ccy="USD">7</InstdAmt></Amt>
+                    <CdtrAcct><Id><IBAN>ES9121000418450200051332</IBAN></Id></CdtrAcct>
+                  </CdtTrfTxInf>
+                </PmtInf>
+                <PmtInf>
+                  <DbtrAcct><Id><Othr><Id>101</Id></Othr></Id></DbtrAcct>
+                  <CdtTrfTxInf>
+                    <PmtId><EndToEndId>E2E-3</EndToEndId></PmtId>
+                    <Amt><InstdAmt Ccy="EUR">1,00</InstdAmt></Amt>
+                    <CdtrAcct><Id><Othr><Id>201</Id></Othr></Id></CdtrAcct>
+                  </CdtTrfTxInf>
+                </PmtInf>
+              </CstmrCdtTrfInitn>
+            </Document>
+            """;
+
+    private TransferenciaPain001Reader reader(String xml) {
+        return new TransferenciaPain001Reader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldMapEachCreditTransferTransaction() throws Exception {
+        List<TransferenciaImportRow> rows = new ArrayList<>();
+        try (TransferenciaPain001Reader reader = reader(DOCUMENT)) {
+            reader.forEachRemaining(rows::add);
+        }
+
+        assertThat(rows).containsExactly(
+                TransferenciaImportRow.parsed(1, new CreateTransferenciaRequest(
+                        100L, 200L, new BigDecimal("12.50"), "EUR", "Invoice 1", "E2E-1")),
+                TransferenciaImportRow.failed(2, null, "Creditor account must be a numeric account id in Othr/Id, "
+                        + "got 'IBAN ES9121000418450200051332'"),
+                TransferenciaImportRow.failed(3, "E2E-3", "Invalid InstdAmt '1,00'"));
+    }
+
+    @Test
+    void shouldRejectOtherDocuments() {
+        assertThatThrownBy(() -> reader("<Invoice/>"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Not a pain.001 document: root element is Invoice");
+        assertThatThrownBy(() -> reader("not xml"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Malformed pain.001 document");
+    }
+
+    @Test
+    void shouldFailOnTruncatedDocument() {
+        TransferenciaPain001Reader reader = reader(DOCUMENT.substring(0, DOCUMENT.lastIndexOf("<PmtInf>")));
+
+        assertThat(reader.next().request().referenciaExterna()).isEqualTo("E2E-1");
+        assertThat(reader.next().error()).isNotNull();
+        assertThatThrownBy(reader::hasNext)
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Malformed pain.001 document after transaction 2");
+    }
+
+    @Test
+    void shouldNotResolveExternalEntities() {
+        assertThatThrownBy(() -> {
+            TransferenciaPain001Reader reader = reader("""
+                    <?xml version="1.0"?>
+                    <!DOCTYPE Document [<!ENTITY x SYSTEM "file:///etc/passwd">]>
+                    <Document><CstmrCdtTrfInitn>&x;</CstmrCdtTrfInitn></Document>
+                    """);
+            reader.hasNext();
+        }).isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaPartitioningProperties;
+import com.example.api.infrastructure.DatabasePlatform;
+import com.example.api.infrastructure.TransferenciaPartition;
+import com.example.api.infrastructure.TransferenciaPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaPartitionServiceImplTest {
+
+    @Mock
+    private TransferenciaPartitionRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private static final Clock NOW = Clock.fixed(Instant.parse("2024-05-20T10:00:00Z"), ZoneOffset.UTC);
+
+    private TransferenciaPartitionServiceImpl service(DatabasePlatform platform, int retentionMonths) {
+        return new TransferenciaPartitionServiceImpl(repository, transactionTemplate, platform,
+                new TransferenciaPartitioningProperties(true, 2, retentionMonths, "transferencias_archivo",
+                        "0 15 3 * * *"), NOW);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static TransferenciaPartition monthly(String month, String from, String to) {
+        return new TransferenciaPartition("transferencias_p" + month, Instant.parse(from), Instant.parse(to));
+    }
+
+    @Test
+    void maintain_shouldCreateMissingUpcomingMonths() {
+        runTransactionsInline();
+        when(repository.tryLockMaintenance()).thenReturn(true);
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findPartitions()).thenReturn(List.of(
+                new TransferenciaPartition("transferencias_legacy", null, Instant.parse("2024-06-01T00:00:00Z"))));
+
+        PartitionMaintenanceResult result = service(DatabasePlatform.POSTGRESQL, 0).maintain();
+
+        assertThat(result.created()).containsExactly("transferencias_p202406", "transferencias_p202407");
+        assertThat(result.archived()).isEmpty();
+        verify(repository).createPartition("transferencias_p202406",
+                Instant.parse("2024-06-01T00:00:00Z"), Instant.parse("2024-07-01T00:00:00Z"));
+        verify(repository).createPartition("transferencias_p202407",
+                Instant.parse("2024-07-01T00:00:00Z"), Instant.parse("2024-08-01T00:00:00Z"));
+    }
+
+    @Test
+    void maintain_shouldArchiveMonthlyPartitionsOlderThanRetention() {
+        runTransactionsInline();
+        when(repository.tryLockMaintenance()).thenReturn(true);
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findPartitions()).thenReturn(List.of(
+                new TransferenciaPartition("transferencias_legacy", null, Instant.parse("2024-01-01T00:00:00Z")),
+                monthly("202401", "2024-01-01T00:00:00Z", "2024-02-01T00:00:00Z"),
+                monthly("202402", "2024-02-01T00:00:00Z", "2024-03-01T00:00:00Z"),
+                monthly("202403", "2024-03-01T00:00:00Z", "2024-04-01T00:00:00Z"),
+                monthly("202404", "2024-04-01T00:00:00Z", "2024-05-01T00:00:00Z"),
+                monthly("202405", "2024-05-01T00:00:00Z", "2024-06-01T00:00:00Z"),
+                monthly("202406", "2024-06-01T00:00:00Z", "2024-07-01T00:00:00Z"),
+                monthly("202407", "2024-07-01T00:00:00Z", "2024-08-01T00:00:00Z")));
+
+        PartitionMaintenanceResult result = service(DatabasePlatform.POSTGRESQL, 2).maintain();
+
+        assertThat(result.created()).isEmpty();
+        assertThat(result.archived()).containsExactly("transferencias_p202401", "transferencias_p202402");
+        verify(repository).archivePartition("transferencias_p202401", "transferencias_archivo");
+        verify(repository).archivePartition("transferencias_p202402", "transferencias_archivo");
+        verify(repository, never()).archivePartition("transferencias_legacy", "transferencias_archivo");
+    }
+
+    @Test
+    void maintain_shouldSkip_whenAnotherNodeHoldsTheLock() {
+        runTransactionsInline();
+        when(repository.tryLockMaintenance()).thenReturn(false);
+
+        assertThat(service(DatabasePlatform.POSTGRESQL, 2).maintain()).isEqualTo(PartitionMaintenanceResult.NONE);
+        verify(repository, never()).findPartitions();
+    }
+
+    @Test
+    void maintain_shouldSkip_whenTableIsNotPartitioned() {
+        runTransactionsInline();
+        when(repository.tryLockMaintenance()).thenReturn(true);
+        when(repository.isPartitioned()).thenReturn(false);
+
+        assertThat(service(DatabasePlatform.POSTGRESQL, 2).maintain()).isEqualTo(PartitionMaintenanceResult.NONE);
+        verify(repository, never()).createPartition(anyString(), any(), any());
+    }
+
+    @Test
+    void maintain_shouldDoNothing_onH2() {
+        assertThat(service(DatabasePlatform.H2, 2).maintain()).isEqualTo(PartitionMaintenanceResult.NONE);
+        verifyNoInteractions(repository, transactionTemplate);
+    }
+}
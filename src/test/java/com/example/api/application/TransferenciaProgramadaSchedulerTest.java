@@ -0,0 +1,176 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaSchedulerProperties;
+import com.example.api.domain.TransferenciaProgramadaChangedEvent;
+import com.example.api.infrastructure.TransferenciaProgramadaJdbcRepository;
+import com.example.api.infrastructure.TransferenciaProgramadaJdbcRepository.DueConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaProgramadaSchedulerTest {
+
+    @Mock
+    private TransferenciaProgramadaService service;
+
+    @Mock
+    private TransferenciaProgramadaJdbcRepository jdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final Instant T0 = Instant.parse("2024-03-01T09:00:00Z");
+
+    private final MutableClock clock = new MutableClock(T0);
+
+    private TransferenciaProgramadaScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        scheduler = new TransferenciaProgramadaScheduler(service, jdbcRepository, transactionManager,
+                new TransferenciaSchedulerProperties(true, Duration.ofSeconds(1), 64, 4, Duration.ofHours(2),
+                        Duration.ofHours(1), Duration.ofSeconds(10), 2, 500),
+                meterRegistry, clock);
+    }
+
+    private void loadOnRefresh(long... idsAndOffsets) {
+        doAnswer(invocation -> {
+            DueConsumer consumer = invocation.getArgument(2);
+            for (int i = 0; i < idsAndOffsets.length; i += 2) {
+                consumer.accept(idsAndOffsets[i], T0.toEpochMilli() + idsAndOffsets[i + 1]);
+            }
+            return null;
+        }).when(jdbcRepository).streamDue(eq(T0.plus(Duration.ofHours(2))), eq(500), any());
+    }
+
+    private double wheelSize() {
+        return meterRegistry.get(TransferenciaProgramadaScheduler.METRIC_WHEEL_SIZE).gauge().value();
+    }
+
+    @Test
+    void refresh_shouldLoadHorizon_andTickShouldFireDueSchedulesInBatches() {
+        loadOnRefresh(1, -60_000, 2, 0, 3, 0, 4, 30_000);
+
+        scheduler.refresh();
+        assertThat(wheelSize()).isEqualTo(4.0);
+        scheduler.tick();
+
+        verify(service).fire(List.of(1L, 2L), T0);
+        verify(service).fire(List.of(3L), T0);
+        assertThat(wheelSize()).isEqualTo(1.0);
+
+        clock.instant = T0.plusSeconds(30);
+        scheduler.tick();
+        verify(service).fire(List.of(4L), T0.plusSeconds(30));
+    }
+
+    @Test
+    void onTransferenciaProgramadaChanged_shouldFollowCommittedSchedules_withinTheHorizon() {
+        loadOnRefresh(1, 10_000);
+        scheduler.refresh();
+
+        scheduler.onTransferenciaProgramadaChanged(new TransferenciaProgramadaChangedEvent(2L, T0.plusSeconds(5)));
+        scheduler.onTransferenciaProgramadaChanged(new TransferenciaProgramadaChangedEvent(3L, T0.plusSeconds(9_000)));
+        scheduler.onTransferenciaProgramadaChanged(new TransferenciaProgramadaChangedEvent(1L, null));
+        assertThat(wheelSize()).isEqualTo(1.0);
+
+        clock.instant = T0.plusSeconds(60);
+        scheduler.tick();
+        verify(service).fire(List.of(2L), T0.plusSeconds(60));
+    }
+
+    @Test
+    void tick_shouldKeepGoing_whenABatchFails() {
+        loadOnRefresh(1, 0, 2, 0, 3, 0);
+        scheduler.refresh();
+        when(service.fire(anyList(), eq(T0))).thenThrow(new DataAccessResourceFailureException("down")).thenReturn(1);
+
+        scheduler.tick();
+
+        verify(service).fire(List.of(3L), T0);
+    }
+
+    @Test
+    void tick_shouldRetryAFailedBatch_afterTheRetryDelay() {
+        loadOnRefresh(1, 0, 2, 0, 3, 0);
+        scheduler.refresh();
+        when(service.fire(anyList(), eq(T0))).thenThrow(new DataAccessResourceFailureException("down")).thenReturn(1);
+
+        scheduler.tick();
+        assertThat(wheelSize()).isEqualTo(2.0);
+
+        scheduler.onTransferenciaProgramadaChanged(new TransferenciaProgramadaChangedEvent(2L, T0.plusSeconds(60)));
+        clock.instant = T0.plusSeconds(5);
+        scheduler.tick();
+        verify(service, never()).fire(anyList(), eq(T0.plusSeconds(5)));
+
+        clock.instant = T0.plusSeconds(10);
+        scheduler.tick();
+        verify(service).fire(List.of(1L), T0.plusSeconds(10));
+        assertThat(wheelSize()).isEqualTo(1.0);
+    }
+
+    @Test
+    void refresh_shouldSurviveLoadFailures() {
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcRepository).streamDue(any(), eq(500), any());
+
+        scheduler.refresh();
+        scheduler.tick();
+
+        assertThat(wheelSize()).isZero();
+        verify(service, never()).fire(anyList(), any());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
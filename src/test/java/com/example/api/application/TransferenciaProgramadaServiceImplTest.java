@@ -0,0 +1,244 @@
+package com.example.api.application;
+
+import com.example.api.domain.EstadoProgramacion;
+import com.example.api.domain.Periodicidad;
+import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaProgramada;
+import com.example.api.domain.TransferenciaProgramadaChangedEvent;
+import com.example.api.domain.TransferenciasChangedEvent;
+import com.example.api.dto.request.CreateTransferenciaProgramadaRequest;
+import com.example.api.dto.response.TransferenciaProgramadaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.TransferenciaProgramadaRepository;
+import com.example.api.infrastructure.TransferenciaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaProgramadaServiceImplTest {
+
+    @Mock
+    private TransferenciaProgramadaRepository programadaRepository;
+
+    @Mock
+    private TransferenciaRepository transferenciaRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransferenciaVelocityService velocityService;
+
+    @Mock
+    private CuentaRegistryService cuentaRegistry;
+
+    @Mock
+    private ReferenciaFilterService referenciaFilter;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransferenciaProgramadaServiceImpl service;
+
+    private static final Instant AHORA = Instant.parse("2024-03-01T09:00:05Z");
+
+    @BeforeEach
+    void setUp() {
+        service = new TransferenciaProgramadaServiceImpl(programadaRepository, transferenciaRepository,
+                transactionTemplate, eventPublisher, velocityService, meterRegistry, cuentaRegistry, referenciaFilter);
+    }
+
+    private void runInTransaction() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static TransferenciaProgramada programada(long id, long origen, Periodicidad periodicidad) {
+        TransferenciaProgramada programada = new TransferenciaProgramada(origen, 200L, new BigDecimal("25.00"),
+                "EUR", "Cuota", periodicidad, Instant.parse("2024-03-01T09:00:00Z"), null);
+        ReflectionTestUtils.setField(programada, "id", id);
+        return programada;
+    }
+
+    private static CreateTransferenciaProgramadaRequest request(Instant fecha, String periodicidad, Instant fin) {
+        return new CreateTransferenciaProgramadaRequest(100L, 200L, new BigDecimal("25.00"), "EUR", "Cuota",
+                fecha, periodicidad, fin);
+    }
+
+    @Test
+    void create_shouldStoreActiveSchedule_andPublishItsFirstOccurrence() {
+        Instant fecha = Instant.now().plus(1, ChronoUnit.DAYS);
+        when(programadaRepository.save(any())).thenAnswer(invocation -> {
+            TransferenciaProgramada programada = invocation.getArgument(0);
+            ReflectionTestUtils.setField(programada, "id", 5L);
+            return programada;
+        });
+
+        TransferenciaProgramadaResponse response = service.create(request(fecha, "MENSUAL",
+                fecha.plus(90, ChronoUnit.DAYS)));
+
+        assertThat(response.id()).isEqualTo(5L);
+        assertThat(response.periodicidad()).isEqualTo("MENSUAL");
+        assertThat(response.estado()).isEqualTo("ACTIVA");
+        assertThat(response.proximaEjecucion()).isEqualTo(fecha);
+        verify(eventPublisher).publishEvent(new TransferenciaProgramadaChangedEvent(5L, fecha));
+    }
+
+    @Test
+    void create_shouldRejectInvalidSchedules() {
+        Instant futuro = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        assertThatThrownBy(() -> service.create(request(Instant.now().minusSeconds(1), null, null)))
+                .isInstanceOf(BusinessException.class).hasMessage("Execution time must be in the future");
+        assertThatThrownBy(() -> service.create(request(futuro, "ANUAL", null)))
+                .isInstanceOf(BusinessException.class).hasMessage("Unsupported periodicity: ANUAL");
+        assertThatThrownBy(() -> service.create(request(futuro, " ", futuro.plusSeconds(60))))
+                .isInstanceOf(BusinessException.class).hasMessage("End date only applies to recurring transfers");
+        assertThatThrownBy(() -> service.create(request(futuro, "DIARIA", futuro.minusSeconds(60))))
+                .isInstanceOf(BusinessException.class).hasMessage("End date must not be before the execution time");
+        verify(programadaRepository, never()).save(any());
+    }
+
+    @Test
+    void getById_shouldReturnSchedule_orFail() {
+        when(programadaRepository.findById(1L)).thenReturn(Optional.of(programada(1L, 100L, Periodicidad.DIARIA)));
+        when(programadaRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(service.getById(1L).cuentaOrigenId()).isEqualTo(100L);
+        assertThatThrownBy(() -> service.getById(2L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void cancel_shouldCancelActiveSchedule_andRejectFinishedOnes() {
+        TransferenciaProgramada activa = programada(1L, 100L, Periodicidad.DIARIA);
+        TransferenciaProgramada finalizada = programada(2L, 100L, Periodicidad.UNICA);
+        finalizada.avanzar(9L);
+        when(programadaRepository.lockById(1L)).thenReturn(Optional.of(activa));
+        when(programadaRepository.lockById(2L)).thenReturn(Optional.of(finalizada));
+        when(programadaRepository.lockById(3L)).thenReturn(Optional.empty());
+
+        service.cancel(1L);
+
+        assertThat(activa.getEstado()).isEqualTo(EstadoProgramacion.CANCELADA);
+        verify(eventPublisher).publishEvent(new TransferenciaProgramadaChangedEvent(1L, null));
+        assertThatThrownBy(() -> service.cancel(2L)).isInstanceOf(ConflictException.class)
+                .hasMessage("Scheduled transfer 2 is no longer active: FINALIZADA");
+        assertThatThrownBy(() -> service.cancel(3L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void fire_shouldCreateTransfers_advanceSchedules_andSkipOccurrencesOverVelocityLimits() {
+        runInTransaction();
+        TransferenciaProgramada diaria = programada(1L, 100L, Periodicidad.DIARIA);
+        TransferenciaProgramada unica = programada(2L, 101L, Periodicidad.UNICA);
+        TransferenciaProgramada limitada = programada(3L, 102L, Periodicidad.MENSUAL);
+        when(programadaRepository.claimDue(List.of(1L, 2L, 3L, 4L), AHORA))
+                .thenReturn(List.of(diaria, unica, limitada));
+        VelocityReservation reservation = mock(VelocityReservation.class);
+        when(velocityService.reserve(eq(100L), eq("EUR"), any())).thenReturn(reservation);
+        when(velocityService.reserve(eq(101L), eq("EUR"), any())).thenReturn(reservation);
+        when(velocityService.reserve(eq(102L), eq("EUR"), any())).thenThrow(new BusinessException("limit"));
+        when(transferenciaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transferencia> nuevas = invocation.getArgument(0);
+            for (int i = 0; i < nuevas.size(); i++) {
+                ReflectionTestUtils.setField(nuevas.get(i), "idTransferencia", 50L + i);
+            }
+            return nuevas;
+        });
+
+        int fired = service.fire(List.of(1L, 2L, 3L, 4L), AHORA);
+
+        assertThat(fired).isEqualTo(3);
+        assertThat(diaria.getProximaEjecucion()).isEqualTo(Instant.parse("2024-03-02T09:00:00Z"));
+        assertThat(diaria.getUltimaTransferenciaId()).isEqualTo(50L);
+        assertThat(unica.getEstado()).isEqualTo(EstadoProgramacion.FINALIZADA);
+        assertThat(unica.getUltimaTransferenciaId()).isEqualTo(51L);
+        assertThat(limitada.getProximaEjecucion()).isEqualTo(Instant.parse("2024-04-01T09:00:00Z"));
+        assertThat(limitada.getUltimaTransferenciaId()).isNull();
+        verify(reservation, times(2)).releaseOnRollback();
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(4)).publishEvent(events.capture());
+        assertThat(((TransferenciasChangedEvent) events.getAllValues().get(0)).changes()).hasSize(2);
+        assertThat(events.getAllValues().subList(1, 4)).containsExactly(
+                new TransferenciaProgramadaChangedEvent(1L, Instant.parse("2024-03-02T09:00:00Z")),
+                new TransferenciaProgramadaChangedEvent(2L, null),
+                new TransferenciaProgramadaChangedEvent(3L, Instant.parse("2024-04-01T09:00:00Z")));
+        assertThat(meterRegistry.get(TransferenciaProgramadaServiceImpl.METRIC_FIRED)
+                .tag("resultado", "CREADA").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(TransferenciaProgramadaServiceImpl.METRIC_FIRED)
+                .tag("resultado", "OMITIDA").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(TransferenciaProgramadaServiceImpl.METRIC_DELAY).timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void create_shouldRejectSchedule_whenAccountIsNotValid() {
+        doThrow(new BusinessException("Source account is blocked: 100")).when(cuentaRegistry).validate(100L, 200L);
+
+        assertThatThrownBy(() -> service.create(request(Instant.now().plus(1, ChronoUnit.DAYS), "UNICA", null)))
+                .isInstanceOf(BusinessException.class).hasMessage("Source account is blocked: 100");
+        verify(programadaRepository, never()).save(any());
+    }
+
+    @Test
+    void fire_shouldSkipOccurrence_whenAccountIsNoLongerValid() {
+        runInTransaction();
+        TransferenciaProgramada cerrada = programada(1L, 100L, Periodicidad.DIARIA);
+        when(programadaRepository.claimDue(List.of(1L), AHORA)).thenReturn(List.of(cerrada));
+        doThrow(new BusinessException("Source account does not exist or is closed: 100"))
+                .when(cuentaRegistry).validate(100L, 200L);
+        when(transferenciaRepository.saveAll(List.of())).thenReturn(List.of());
+
+        assertThat(service.fire(List.of(1L), AHORA)).isEqualTo(1);
+        assertThat(cerrada.getProximaEjecucion()).isEqualTo(Instant.parse("2024-03-02T09:00:00Z"));
+        assertThat(cerrada.getUltimaTransferenciaId()).isNull();
+        verify(velocityService, never()).reserve(any(), any(), any());
+    }
+
+    @Test
+    void fire_shouldDoNothing_whenNoScheduleIsClaimed() {
+        runInTransaction();
+        when(programadaRepository.claimDue(List.of(1L), AHORA)).thenReturn(List.of());
+        when(transferenciaRepository.saveAll(List.of())).thenReturn(List.of());
+
+        assertThat(service.fire(List.of(1L), AHORA)).isZero();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.api.application;
+
+import com.example.api.application.mapper.TransferenciaMapperImpl;
+import com.example.api.config.TransferenciaSearchProperties;
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.MovimientoCuentaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.infrastructure.TransferenciaCriteria;
+import com.example.api.infrastructure.TransferenciaJdbcRepository;
+import com.example.api.infrastructure.MovimientoCuentaView;
+import com.example.api.infrastructure.TransferenciaKeyset;
+import com.example.api.infrastructure.TransferenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaSearchServiceImplTest {
+
+    @Mock
+    private TransferenciaRepository repository;
+
+    @Mock
+    private TransferenciaJdbcRepository jdbcRepository;
+
+    @Mock
+    private TransferenciaArchiveStore archive;
+
+    private final TransferenciaCursorCodec cursorCodec = new TransferenciaCursorCodec();
+
+    private TransferenciaSearchServiceImpl service;
+
+    private static final TransferenciaFilterRequest NO_FILTER =
+            new TransferenciaFilterRequest(null, null, null, null, null, null);
+    private static final Instant BASE = Instant.parse("2024-01-10T12:00:00.123456Z");
+
+    @BeforeEach
+    void setUp() {
+        service = new TransferenciaSearchServiceImpl(repository, jdbcRepository, new TransferenciaCriteriaResolver(),
+                cursorCodec, new TransferenciaMapperImpl(), new TransferenciaSearchProperties(2, 3, 100),
+                archive);
+    }
+
+    private TransferenciaSnapshot snapshot(long id) {
+        return new TransferenciaSnapshot(id, 100L, 200L, new BigDecimal("500.00"), "EUR", null,
+                EstadoTransferencia.PENDIENTE, BASE.minusSeconds(id), null, null);
+    }
+
+    private record Movimiento(Long getIdTransferencia, Long getCuentaOrigenId, Long getCuentaDestinoId,
+                              BigDecimal getImporte, String getDivisa, EstadoTransferencia getEstado,
+                              Instant getFechaCreacion) implements MovimientoCuentaView {
+    }
+
+    private MovimientoCuentaView movimiento(long id, long origen, long destino, Instant fecha) {
+        return new Movimiento(id, origen, destino, new BigDecimal("10.00"), "EUR", EstadoTransferencia.PENDIENTE,
+                fecha);
+    }
+
+    @Test
+    void search_shouldReturnNextCursor_whenMoreRowsExist() {
+        when(jdbcRepository.findPage(any(), isNull(), eq(3))).thenReturn(List.of(snapshot(1), snapshot(2),
+                snapshot(3)));
+
+        CursorPageResponse<TransferenciaResponse> page = service.search(NO_FILTER, null, null);
+
+        assertThat(page.content()).extracting(TransferenciaResponse::idTransferencia).containsExactly(1L, 2L);
+        assertThat(page.size()).isEqualTo(2);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(cursorCodec.decode(page.nextCursor()))
+                .isEqualTo(new TransferenciaKeyset(BASE.minusSeconds(2), 2L));
+    }
+
+    @Test
+    void search_shouldOmitCursor_onLastPage() {
+        TransferenciaKeyset after = new TransferenciaKeyset(BASE, 9L);
+        when(jdbcRepository.findPage(any(), eq(after), eq(3))).thenReturn(List.of(snapshot(10)));
+
+        CursorPageResponse<TransferenciaResponse> page = service.search(NO_FILTER, cursorCodec.encode(after), 2);
+
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void search_shouldPassFiltersAndCapPageSize() {
+        Instant desde = Instant.parse("2024-01-01T00:00:00Z");
+        when(jdbcRepository.findPage(any(), isNull(), eq(4))).thenReturn(List.of());
+
+        service.search(new TransferenciaFilterRequest(100L, 200L, desde, null, "COMPLETADA", "EUR"), " ", 50);
+
+        verify(jdbcRepository).findPage(new TransferenciaCriteria(100L, 200L, desde, null,
+                EstadoTransferencia.COMPLETADA, "EUR"), null, 4);
+    }
+
+    @Test
+    void search_shouldThrowBusinessException_whenPageSizeIsNotPositive() {
+        assertThatThrownBy(() -> service.search(NO_FILTER, null, 0))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid page size");
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    @Test
+    void search_shouldThrowBusinessException_whenCursorIsMalformed() {
+        String wrongVersion = Base64.getUrlEncoder().encodeToString("v0:1:2:3".getBytes(StandardCharsets.UTF_8));
+        String notNumeric = Base64.getUrlEncoder().encodeToString("v1:x:0:3".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("%%%", wrongVersion, notNumeric)) {
+            assertThatThrownBy(() -> service.search(NO_FILTER, cursor, null))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    @Test
+    void getHistorial_shouldMergeBothDirectionsNewestFirst() {
+        MovimientoCuentaView out1 = movimiento(5L, 100L, 200L, BASE);
+        MovimientoCuentaView out2 = movimiento(2L, 100L, 201L, BASE.minusSeconds(10));
+        MovimientoCuentaView in1 = movimiento(4L, 300L, 100L, BASE);
+        MovimientoCuentaView in2 = movimiento(3L, 301L, 100L, BASE.minusSeconds(5));
+        when(repository.findSalientesBefore(eq(100L), any(), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(out1, out2));
+        when(repository.findEntrantesBefore(eq(100L), any(), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(in1, in2));
+
+        CursorPageResponse<MovimientoCuentaResponse> page = service.getHistorial(100L, null, null);
+
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::idTransferencia).containsExactly(5L, 4L);
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::direccion)
+                .containsExactly("SALIENTE", "ENTRANTE");
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::contrapartidaId)
+                .containsExactly(200L, 300L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(cursorCodec.decode(page.nextCursor())).isEqualTo(new TransferenciaKeyset(BASE, 4L));
+    }
+
+    @Test
+    void getHistorial_shouldListSelfTransferOnce_andEndOnLastPage() {
+        TransferenciaKeyset after = new TransferenciaKeyset(BASE, 9L);
+        MovimientoCuentaView self = movimiento(7L, 100L, 100L, BASE.minusSeconds(1));
+        MovimientoCuentaView in = movimiento(6L, 300L, 100L, BASE.minusSeconds(2));
+        when(repository.findSalientesBefore(100L, BASE, 9L, Limit.of(4))).thenReturn(List.of(self));
+        when(repository.findEntrantesBefore(100L, BASE, 9L, Limit.of(4))).thenReturn(List.of(self, in));
+
+        CursorPageResponse<MovimientoCuentaResponse> page =
+                service.getHistorial(100L, cursorCodec.encode(after), 3);
+
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::idTransferencia).containsExactly(7L, 6L);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getHistorial_shouldReturnEmptyPage_whenAccountHasNoMovements() {
+        when(repository.findSalientesBefore(eq(1L), any(), anyLong(), any())).thenReturn(List.of());
+        when(repository.findEntrantesBefore(eq(1L), any(), anyLong(), any())).thenReturn(List.of());
+
+        CursorPageResponse<MovimientoCuentaResponse> page = service.getHistorial(1L, null, 2);
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void getHistorial_shouldFallThroughToArchive_whenDatabaseRunsOut() {
+        Instant archivedAt = BASE.minusSeconds(86_400 * 600L);
+        MovimientoCuentaView out = movimiento(5L, 100L, 200L, BASE);
+        TransferenciaSnapshot archived = new TransferenciaSnapshot(1L, 300L, 100L, new BigDecimal("7.50"), "EUR", null,
+                EstadoTransferencia.COMPLETADA, archivedAt, archivedAt, null);
+        when(repository.findSalientesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of(out));
+        when(repository.findEntrantesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of());
+        when(archive.newestFecha()).thenReturn(archivedAt);
+        when(archive.findByCuentaBefore(eq(100L), eq(true), any(), eq(Long.MAX_VALUE), eq(3))).thenReturn(List.of());
+        when(archive.findByCuentaBefore(eq(100L), eq(false), any(), eq(Long.MAX_VALUE), eq(3)))
+                .thenReturn(List.of(archived));
+
+        CursorPageResponse<MovimientoCuentaResponse> page = service.getHistorial(100L, null, null);
+
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::idTransferencia).containsExactly(5L, 1L);
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::direccion)
+                .containsExactly("SALIENTE", "ENTRANTE");
+        assertThat(page.content().get(1).importe()).isEqualByComparingTo("7.50");
+        assertThat(page.content().get(1).contrapartidaId()).isEqualTo(300L);
+        assertThat(page.content().get(1).estado()).isEqualTo("COMPLETADA");
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void getHistorial_shouldListArchivedTransferOnce_whenStillInDatabase() {
+        Instant fecha = BASE.minusSeconds(60);
+        MovimientoCuentaView out = movimiento(5L, 100L, 200L, fecha);
+        TransferenciaSnapshot archived = new TransferenciaSnapshot(5L, 100L, 200L, new BigDecimal("10.00"), "EUR", null,
+                EstadoTransferencia.PENDIENTE, fecha, null, null);
+        when(repository.findSalientesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of(out));
+        when(repository.findEntrantesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of());
+        when(archive.newestFecha()).thenReturn(fecha);
+        when(archive.findByCuentaBefore(eq(100L), anyBoolean(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(archived), List.of());
+
+        CursorPageResponse<MovimientoCuentaResponse> page = service.getHistorial(100L, null, null);
+
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::idTransferencia).containsExactly(5L);
+    }
+
+    @Test
+    void getHistorial_shouldSkipArchive_whenDatabaseFillsPageWithNewerMovements() {
+        when(repository.findSalientesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of(
+                movimiento(6L, 100L, 200L, BASE), movimiento(5L, 100L, 200L, BASE.minusSeconds(1)),
+                movimiento(4L, 100L, 200L, BASE.minusSeconds(2))));
+        when(repository.findEntrantesBefore(eq(100L), any(), anyLong(), any())).thenReturn(List.of(
+                movimiento(3L, 300L, 100L, BASE.minusSeconds(3)), movimiento(2L, 300L, 100L, BASE.minusSeconds(4)),
+                movimiento(1L, 300L, 100L, BASE.minusSeconds(5))));
+        when(archive.newestFecha()).thenReturn(BASE.minusSeconds(3600));
+
+        CursorPageResponse<MovimientoCuentaResponse> page = service.getHistorial(100L, null, null);
+
+        assertThat(page.content()).extracting(MovimientoCuentaResponse::idTransferencia).containsExactly(6L, 5L);
+        verify(archive, never()).findByCuentaBefore(anyLong(), anyBoolean(), any(), anyLong(), anyInt());
+    }
+}
@@ -1,24 +1,41 @@
 package com.example.api.application;
 
 import com.example.api.application.mapper.TransferenciaMapper;
+import com.example.api.config.TransferenciaGroupCommitProperties;
+import com.example.api.config.TransferenciaIdempotencyProperties;
 import com.example.api.domain.EstadoTransferencia;
 import com.example.api.domain.Transferencia;
+import com.example.api.domain.TransferenciaIdempotencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import com.example.api.domain.TransferenciasChangedEvent;
 import com.example.api.dto.request.CreateTransferenciaRequest;
 import com.example.api.dto.request.UpdateTransferenciaRequest;
 import com.example.api.dto.response.TransferenciaResponse;
 import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
 import com.example.api.exception.ResourceNotFoundException;
+import com.example.api.infrastructure.TransferenciaIdempotenciaRepository;
 import com.example.api.infrastructure.TransferenciaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +43,11 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,12 +57,50 @@ class TransferenciaServiceImplTest {
     @Mock
     private TransferenciaRepository repository;
 
+    @Mock
+    private TransferenciaIdempotenciaRepository idempotenciaRepository;
+
     @Mock
     private TransferenciaMapper mapper;
 
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransferenciaVelocityService velocityService;
+
+    @Mock
+    private ReferenciaFilterService referenciaFilter;
+
+    @Mock
+    private TransferenciaArchiveStore archive;
+
+    @Mock
+    private CuentaRegistryService cuentaRegistry;
+
     private TransferenciaServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        service = new TransferenciaServiceImpl(repository, idempotenciaRepository, mapper, transactionTemplate,
+                eventPublisher, new TransferenciaIdempotencyProperties(100, Duration.ofMinutes(10)), velocityService,
+                referenciaFilter, groupCommitter(), archive, cuentaRegistry);
+        lenient().when(referenciaFilter.mightExist(any())).thenReturn(true);
+        lenient().when(velocityService.reserve(any(), any(), any())).thenReturn(VelocityReservation.NONE);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private TransferenciaGroupCommitter groupCommitter() {
+        return new TransferenciaGroupCommitter(transactionTemplate, eventPublisher,
+                new TransferenciaGroupCommitProperties(false, 256, Duration.ofMillis(2), 100, 1, Duration.ofSeconds(10),
+                        Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+    }
+
     private static final Long SAMPLE_ID = 1L;
     private static final Long NON_EXISTENT_ID = 999L;
 
@@ -52,13 +111,23 @@ class TransferenciaServiceImplTest {
                 Instant.parse("2024-01-01T12:00:00Z"), null, "REF-001");
     }
 
+    private Transferencia persisted(Transferencia entity) {
+        ReflectionTestUtils.setField(entity, "idTransferencia", SAMPLE_ID);
+        return entity;
+    }
+
+    private CreateTransferenciaRequest requestWithReference(String referenciaExterna) {
+        return new CreateTransferenciaRequest(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", referenciaExterna);
+    }
+
     @Test
     void create_shouldSaveAndReturnResponse() {
         CreateTransferenciaRequest request = new CreateTransferenciaRequest(
                 100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001");
 
-        Transferencia entity = new Transferencia(
-                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001");
+        Transferencia entity = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001"));
 
         when(repository.save(any(Transferencia.class))).thenReturn(entity);
         when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
@@ -72,6 +141,204 @@ class TransferenciaServiceImplTest {
         assertThat(response.concepto()).isEqualTo("Test payment");
         verify(repository).save(any(Transferencia.class));
         verify(mapper).toResponse(any(Transferencia.class));
+        ArgumentCaptor<TransferenciaIdempotencia> key = ArgumentCaptor.forClass(TransferenciaIdempotencia.class);
+        verify(idempotenciaRepository).saveAndFlush(key.capture());
+        assertThat(key.getValue().getClave()).isEqualTo("ref:REF-001");
+        assertThat(key.getValue().getIdTransferencia()).isEqualTo(SAMPLE_ID);
+        assertThat(key.getValue().getHuella()).hasSize(64);
+        ArgumentCaptor<TransferenciasChangedEvent> event = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).singleElement().satisfies(change -> {
+            assertThat(change.antes()).isNull();
+            assertThat(change.despues().idTransferencia()).isEqualTo(SAMPLE_ID);
+        });
+    }
+
+    @Test
+    void create_shouldSkipKeyLookup_whenFilterHasNeverSeenTheReference() {
+        when(referenciaFilter.mightExist("REF-NEW")).thenReturn(false);
+        when(repository.save(any(Transferencia.class))).thenReturn(persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-NEW")));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        service.create(requestWithReference("REF-NEW"));
+
+        verify(idempotenciaRepository, never()).findById(any());
+        verify(idempotenciaRepository).saveAndFlush(any(TransferenciaIdempotencia.class));
+        verify(referenciaFilter).record("REF-NEW");
+    }
+
+    @Test
+    void create_shouldCheckAndRecordTheReference_alongsideAHeaderKey() {
+        when(referenciaFilter.mightExist("REF-NEW")).thenReturn(false);
+        when(repository.save(any(Transferencia.class))).thenReturn(persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-NEW")));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        service.create(requestWithReference("REF-NEW"), "header-key");
+
+        verify(idempotenciaRepository).findById("key:header-key");
+        verify(idempotenciaRepository, never()).findById("ref:REF-NEW");
+        ArgumentCaptor<TransferenciaIdempotencia> keys = ArgumentCaptor.forClass(TransferenciaIdempotencia.class);
+        verify(idempotenciaRepository, times(2)).saveAndFlush(keys.capture());
+        assertThat(keys.getAllValues()).extracting(TransferenciaIdempotencia::getClave)
+                .containsExactly("key:header-key", "ref:REF-NEW");
+        verify(referenciaFilter).record("REF-NEW");
+    }
+
+    @Test
+    void create_shouldReplayTheReference_whenRetriedUnderANewHeaderKey() {
+        CreateTransferenciaRequest request = requestWithReference("REF-009");
+        Transferencia existing = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-009"));
+        lenient().when(idempotenciaRepository.findById("ref:REF-009")).thenReturn(Optional.of(
+                new TransferenciaIdempotencia("ref:REF-009", SAMPLE_ID, TransferenciaHuella.of(request))));
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(existing));
+        when(mapper.toResponse(existing)).thenReturn(sampleResponse());
+
+        assertThat(service.create(request, "new-key").idTransferencia()).isEqualTo(SAMPLE_ID);
+        assertThatThrownBy(() -> service.create(new CreateTransferenciaRequest(
+                100L, 200L, new BigDecimal("999.00"), "EUR", "Test payment", "REF-009"), "other-key"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("REF-009");
+        verify(repository, never()).save(any(Transferencia.class));
+        verify(idempotenciaRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void create_shouldRejectWithoutSaving_whenVelocityLimitIsExceeded() {
+        when(velocityService.reserve(100L, "EUR", new BigDecimal("500.00")))
+                .thenThrow(new BusinessException("Velocity limit exceeded for account 100 in EUR"));
+
+        assertThatThrownBy(() -> service.create(requestWithReference(null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Velocity limit exceeded for account 100 in EUR");
+        verify(repository, never()).save(any(Transferencia.class));
+    }
+
+    @Test
+    void create_shouldRejectWithoutSaving_whenAccountIsNotValid() {
+        doThrow(new BusinessException("Destination account is blocked: 200")).when(cuentaRegistry).validate(100L, 200L);
+
+        assertThatThrownBy(() -> service.create(requestWithReference(null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Destination account is blocked: 200");
+        verify(velocityService, never()).reserve(any(), any(), any());
+        verify(repository, never()).save(any(Transferencia.class));
+    }
+
+    @Test
+    void create_shouldNotRecordKey_whenRequestHasNoKey() {
+        when(repository.save(any(Transferencia.class))).thenReturn(
+                persisted(new Transferencia(100L, 200L, new BigDecimal("500.00"), "EUR", null, null)));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        service.create(requestWithReference(null), " ");
+
+        verify(repository).save(any(Transferencia.class));
+        verify(idempotenciaRepository, never()).findById(any());
+        verify(idempotenciaRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void create_shouldReplayFromCache_whenHeaderKeyIsRetried() {
+        when(repository.save(any(Transferencia.class))).thenReturn(
+                persisted(new Transferencia(100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", null)));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        TransferenciaResponse first = service.create(requestWithReference(null), "abc-123");
+        TransferenciaResponse retry = service.create(new CreateTransferenciaRequest(
+                100L, 200L, new BigDecimal("500.0"), "EUR", "Test payment", null), "abc-123");
+
+        assertThat(retry).isSameAs(first);
+        verify(repository, times(1)).save(any(Transferencia.class));
+        verify(idempotenciaRepository, times(1)).findById("key:abc-123");
+    }
+
+    @Test
+    void create_shouldReturnStoredTransfer_whenKeyIsKnownToTheDatabase() {
+        CreateTransferenciaRequest request = requestWithReference("REF-009");
+        Transferencia existing = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-009"));
+        when(repository.save(any(Transferencia.class))).thenReturn(existing);
+        when(mapper.toResponse(existing)).thenReturn(sampleResponse());
+        service.create(request);
+        ArgumentCaptor<TransferenciaIdempotencia> key = ArgumentCaptor.forClass(TransferenciaIdempotencia.class);
+        verify(idempotenciaRepository).saveAndFlush(key.capture());
+
+        TransferenciaServiceImpl otherNode = new TransferenciaServiceImpl(repository, idempotenciaRepository, mapper,
+                transactionTemplate, eventPublisher, new TransferenciaIdempotencyProperties(100, Duration.ofMinutes(10)),
+                velocityService, referenciaFilter, groupCommitter(), archive, cuentaRegistry);
+        when(idempotenciaRepository.findById("ref:REF-009")).thenReturn(Optional.of(key.getValue()));
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(existing));
+
+        assertThat(otherNode.create(request).idTransferencia()).isEqualTo(SAMPLE_ID);
+        verify(repository, times(1)).save(any(Transferencia.class));
+    }
+
+    @Test
+    void create_shouldReplayFromTheArchive_whenTheTransferWasArchived() {
+        CreateTransferenciaRequest request = requestWithReference("REF-001");
+        TransferenciaSnapshot archived = new TransferenciaSnapshot(SAMPLE_ID, 100L, 200L, new BigDecimal("500.00"),
+                "EUR", "Test payment", EstadoTransferencia.COMPLETADA, Instant.parse("2022-01-01T12:00:00Z"),
+                Instant.parse("2022-01-01T12:00:01Z"), "REF-001");
+        when(idempotenciaRepository.findById("ref:REF-001")).thenReturn(Optional.of(
+                new TransferenciaIdempotencia("ref:REF-001", SAMPLE_ID, TransferenciaHuella.of(request))));
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.empty());
+        when(archive.findById(SAMPLE_ID)).thenReturn(Optional.of(archived));
+        when(mapper.toResponse(archived)).thenReturn(sampleResponse());
+
+        assertThat(service.create(request).idTransferencia()).isEqualTo(SAMPLE_ID);
+        verify(repository, never()).save(any(Transferencia.class));
+    }
+
+    @Test
+    void create_shouldReturnWinner_whenConcurrentInsertHitsUniqueKey() {
+        CreateTransferenciaRequest request = requestWithReference("REF-RACE");
+        Transferencia winner = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-RACE"));
+        when(repository.save(any(Transferencia.class))).thenReturn(winner);
+        when(mapper.toResponse(winner)).thenReturn(sampleResponse());
+        when(idempotenciaRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            when(idempotenciaRepository.findById("ref:REF-RACE"))
+                    .thenReturn(Optional.of(invocation.getArgument(0)));
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(winner));
+
+        assertThat(service.create(request)).isEqualTo(sampleResponse());
+    }
+
+    @Test
+    void create_shouldRethrow_whenIntegrityViolationIsNotAKeyConflict() {
+        when(repository.save(any(Transferencia.class))).thenReturn(
+                persisted(new Transferencia(100L, 200L, new BigDecimal("500.00"), "EUR", null, "REF-X")));
+        when(idempotenciaRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("other"));
+
+        assertThatThrownBy(() -> service.create(requestWithReference("REF-X")))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessage("other");
+    }
+
+    @Test
+    void create_shouldThrowConflictException_whenKeyIsReusedForDifferentRequest() {
+        when(repository.save(any(Transferencia.class))).thenReturn(
+                persisted(new Transferencia(100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", null)));
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        service.create(requestWithReference(null), "abc-123");
+
+        assertThatThrownBy(() -> service.create(new CreateTransferenciaRequest(
+                100L, 200L, new BigDecimal("999.00"), "EUR", "Test payment", null), "abc-123"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("abc-123");
+    }
+
+    @Test
+    void create_shouldThrowBusinessException_whenIdempotencyKeyIsTooLong() {
+        assertThatThrownBy(() -> service.create(requestWithReference(null), "k".repeat(201)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Idempotency key must not exceed 200 characters");
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -96,6 +363,19 @@ class TransferenciaServiceImplTest {
         assertThatThrownBy(() -> service.getById(NON_EXISTENT_ID))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining(NON_EXISTENT_ID.toString());
+        verify(archive).findById(NON_EXISTENT_ID);
+    }
+
+    @Test
+    void getById_shouldReadArchive_whenNotInDatabase() {
+        TransferenciaSnapshot archived = new TransferenciaSnapshot(SAMPLE_ID, 100L, 200L, new BigDecimal("500.00"),
+                "EUR", "Test payment", EstadoTransferencia.COMPLETADA, Instant.parse("2022-01-01T12:00:00Z"),
+                Instant.parse("2022-01-01T12:00:01Z"), "REF-001");
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.empty());
+        when(archive.findById(SAMPLE_ID)).thenReturn(Optional.of(archived));
+        when(mapper.toResponse(archived)).thenReturn(sampleResponse());
+
+        assertThat(service.getById(SAMPLE_ID).idTransferencia()).isEqualTo(SAMPLE_ID);
     }
 
     @Test
@@ -131,8 +411,15 @@ class TransferenciaServiceImplTest {
         verify(repository).findById(SAMPLE_ID);
         verify(repository).save(any(Transferencia.class));
         verify(mapper).toResponse(any(Transferencia.class));
+        ArgumentCaptor<TransferenciasChangedEvent> event = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).singleElement().satisfies(change -> {
+            assertThat(change.antes().estado()).isEqualTo(EstadoTransferencia.PENDIENTE);
+            assertThat(change.despues().estado()).isEqualTo(EstadoTransferencia.COMPLETADA);
+        });
     }
 
+
     @Test
     void update_shouldThrowResourceNotFoundException_whenNotFound() {
         UpdateTransferenciaRequest request = new UpdateTransferenciaRequest(
@@ -148,22 +435,94 @@ class TransferenciaServiceImplTest {
 
     @Test
     void delete_shouldDelete_whenFound() {
-        when(repository.existsById(SAMPLE_ID)).thenReturn(true);
+        Transferencia entity = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001"));
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(entity));
 
         service.delete(SAMPLE_ID);
 
-        verify(repository).deleteById(SAMPLE_ID);
+        verify(idempotenciaRepository).deleteByIdTransferencia(SAMPLE_ID);
+        verify(repository).delete(entity);
+        ArgumentCaptor<TransferenciasChangedEvent> event = ArgumentCaptor.forClass(TransferenciasChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).singleElement().satisfies(change -> {
+            assertThat(change.antes().idTransferencia()).isEqualTo(SAMPLE_ID);
+            assertThat(change.despues()).isNull();
+        });
+    }
+
+    @Test
+    void delete_shouldEvictCachedKeys_onlyOnceTheDeletionCommits() {
+        Transferencia entity = persisted(new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", null));
+        when(repository.save(any(Transferencia.class))).thenReturn(entity);
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+        service.create(requestWithReference(null), "abc-123");
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(entity));
+        when(idempotenciaRepository.findClavesByIdTransferencia(SAMPLE_ID)).thenReturn(List.of("key:abc-123"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.delete(SAMPLE_ID);
+            service.create(requestWithReference(null), "abc-123");
+            verify(idempotenciaRepository, times(1)).findById("key:abc-123");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.create(requestWithReference(null), "abc-123");
+
+        verify(idempotenciaRepository, times(2)).findById("key:abc-123");
+        verify(repository, times(2)).save(any(Transferencia.class));
     }
 
     @Test
     void delete_shouldThrowResourceNotFoundException_whenNotFound() {
-        when(repository.existsById(NON_EXISTENT_ID)).thenReturn(false);
+        when(repository.findById(NON_EXISTENT_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.delete(NON_EXISTENT_ID))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining(NON_EXISTENT_ID.toString());
 
-        verify(repository, never()).deleteById(NON_EXISTENT_ID);
+        verify(repository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void update_shouldRejectWithoutSaving_whenAChangedAccountIsNotValid() {
+        Transferencia entity = new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001");
+        UpdateTransferenciaRequest request = new UpdateTransferenciaRequest(
+                300L, 200L, new BigDecimal("750.00"), "USD",
+                "Updated payment", "COMPLETADA", null, "REF-002");
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(entity));
+        doThrow(new BusinessException("Source account does not exist or is closed: 300"))
+                .when(cuentaRegistry).validate(anyLong(), anyLong());
+
+        assertThatThrownBy(() -> service.update(SAMPLE_ID, request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("300");
+        verify(cuentaRegistry).validate(300L, 200L);
+        verify(repository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void update_shouldNotValidateAccounts_whenTheyAreUnchanged() {
+        Transferencia entity = new Transferencia(
+                100L, 200L, new BigDecimal("500.00"), "EUR", "Test payment", "REF-001");
+        UpdateTransferenciaRequest request = new UpdateTransferenciaRequest(
+                100L, 200L, new BigDecimal("750.00"), "EUR",
+                "Updated payment", "COMPLETADA", null, "REF-001");
+        when(repository.findById(SAMPLE_ID)).thenReturn(Optional.of(entity));
+        when(repository.save(any(Transferencia.class))).thenReturn(entity);
+        when(mapper.toResponse(any(Transferencia.class))).thenReturn(sampleResponse());
+
+        assertThat(service.update(SAMPLE_ID, request)).isNotNull();
+
+        verify(cuentaRegistry, never()).validate(anyLong(), anyLong());
+        verify(repository).save(entity);
     }
 
     @Test
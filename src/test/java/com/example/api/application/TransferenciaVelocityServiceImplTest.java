@@ -0,0 +1,116 @@
+package com.example.api.application;
+
+import com.example.api.config.TransferenciaVelocityProperties;
+import com.example.api.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaVelocityServiceImplTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final TransferenciaVelocityProperties.Rule TWO_PER_MINUTE =
+            new TransferenciaVelocityProperties.Rule(Duration.ofMinutes(1), null, 2, null);
+
+    private static final TransferenciaVelocityProperties.Rule EUR_100_PER_HOUR =
+            new TransferenciaVelocityProperties.Rule(Duration.ofHours(1), "EUR", null, new BigDecimal("100.00"));
+
+    private TransferenciaVelocityServiceImpl service(boolean enabled, TransferenciaVelocityProperties.Rule... rules) {
+        return new TransferenciaVelocityServiceImpl(
+                new TransferenciaVelocityProperties(enabled, 8, 6, Duration.ofMinutes(1), List.of(rules)),
+                meterRegistry);
+    }
+
+    private double rejected(String ventana, String divisa) {
+        return meterRegistry.counter(TransferenciaVelocityServiceImpl.METRIC_REJECTED,
+                "ventana", ventana, "divisa", divisa).count();
+    }
+
+    @Test
+    void reserve_shouldRejectBursts_perAccountAndCurrency() {
+        TransferenciaVelocityServiceImpl service = service(true, TWO_PER_MINUTE);
+        service.reserve(1L, "EUR", BigDecimal.ONE);
+        service.reserve(1L, "EUR", BigDecimal.ONE);
+        service.reserve(1L, "USD", BigDecimal.ONE);
+        service.reserve(2L, "EUR", BigDecimal.ONE);
+
+        assertThatThrownBy(() -> service.reserve(1L, "EUR", BigDecimal.ONE))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Velocity limit exceeded for account 1 in EUR: at most 2 transfers per PT1M");
+        assertThat(rejected("PT1M", "*")).isEqualTo(1);
+        assertThat(meterRegistry.get(TransferenciaVelocityServiceImpl.METRIC_KEYS).gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void reserve_shouldApplyAmountRules_onlyToTheirCurrency() {
+        TransferenciaVelocityServiceImpl service = service(true, EUR_100_PER_HOUR);
+        service.reserve(1L, "EUR", new BigDecimal("60.00"));
+        service.reserve(1L, "USD", new BigDecimal("1000.00"));
+
+        assertThatThrownBy(() -> service.reserve(1L, "EUR", new BigDecimal("40.01")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Velocity limit exceeded for account 1 in EUR: at most 100.00 in total per PT1H");
+        service.reserve(1L, "EUR", new BigDecimal("40.00"));
+        assertThat(rejected("PT1H", "EUR")).isEqualTo(1);
+    }
+
+    @Test
+    void reserve_shouldWithdrawEarlierRules_whenALaterRuleRejects() {
+        TransferenciaVelocityServiceImpl service = service(true, TWO_PER_MINUTE, EUR_100_PER_HOUR);
+        service.reserve(1L, "EUR", new BigDecimal("90.00"));
+
+        assertThatThrownBy(() -> service.reserve(1L, "EUR", new BigDecimal("20.00")))
+                .isInstanceOf(BusinessException.class);
+        service.reserve(1L, "EUR", new BigDecimal("10.00"));
+    }
+
+    @Test
+    void release_shouldFreeTheReservedCapacity() {
+        TransferenciaVelocityServiceImpl service = service(true, TWO_PER_MINUTE, EUR_100_PER_HOUR);
+        service.reserve(1L, "EUR", new BigDecimal("50.00"));
+        VelocityReservation reservation = service.reserve(1L, "EUR", new BigDecimal("50.00"));
+
+        reservation.release();
+
+        service.reserve(1L, "EUR", new BigDecimal("50.00"));
+    }
+
+    @Test
+    void reserve_shouldCountNothing_whenDisabled() {
+        TransferenciaVelocityServiceImpl service = service(false, TWO_PER_MINUTE);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(service.reserve(1L, "EUR", BigDecimal.ONE)).isSameAs(VelocityReservation.NONE);
+        }
+        VelocityReservation.NONE.release();
+        VelocityReservation.NONE.releaseOnRollback();
+        assertThat(service.evictIdle()).isZero();
+    }
+
+    @Test
+    void evictIdle_shouldKeepLiveCounters() {
+        TransferenciaVelocityServiceImpl service = service(true, TWO_PER_MINUTE);
+        service.reserve(1L, "EUR", BigDecimal.ONE);
+
+        assertThat(service.evictIdle()).isZero();
+    }
+
+    @Test
+    void properties_shouldRejectInvalidRules() {
+        assertThatThrownBy(() -> new TransferenciaVelocityProperties.Rule(Duration.ZERO, null, 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaVelocityProperties.Rule(Duration.ofMinutes(1), null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaVelocityProperties(true, 0, 6, Duration.ofMinutes(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TransferenciaVelocityProperties(true, 1, 1, Duration.ofMinutes(1), null).rules()).isEmpty();
+    }
+}
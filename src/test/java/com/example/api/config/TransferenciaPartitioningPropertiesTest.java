@@ -0,0 +1,23 @@
+package com.example.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaPartitioningPropertiesTest {
+
+    @Test
+    void shouldAcceptPlainSchemaName() {
+        assertThat(new TransferenciaPartitioningProperties(true, 3, 12, "transferencias_archivo", "0 15 3 * * *")
+                .archiveSchema()).isEqualTo("transferencias_archivo");
+    }
+
+    @Test
+    void shouldRejectUnsafeSchemaName() {
+        assertThatThrownBy(() -> new TransferenciaPartitioningProperties(
+                true, 3, 12, "archivo; DROP TABLE transferencias", "0 15 3 * * *"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid archive schema name");
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.api.controller;
+
+import com.example.api.application.CompensacionService;
+import com.example.api.dto.response.CompensacionBilateralResponse;
+import com.example.api.dto.response.CompensacionMultilateralResponse;
+import com.example.api.dto.response.CompensacionResponse;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CompensacionController.class)
+class CompensacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CompensacionService service;
+
+    private static final String URL = "/api/v1/transferencias/compensaciones";
+    private static final Instant DESDE = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-03-02T00:00:00Z");
+
+    private static final CompensacionResponse RUN = new CompensacionResponse(7L, "EUR", "PENDIENTE", DESDE, HASTA,
+            5, 3, 3, new BigDecimal("27.00"), new BigDecimal("17.00"), new BigDecimal("1.00"), HASTA, 12);
+
+    @Test
+    void compensar_shouldReturn201WithRunSummary() throws Exception {
+        when(service.compensar("EUR", DESDE, HASTA, null)).thenReturn(RUN);
+
+        mockMvc.perform(post(URL)
+                        .param("divisa", "EUR")
+                        .param("desde", "2024-03-01T00:00:00Z")
+                        .param("hasta", "2024-03-02T00:00:00Z"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.importeNetoBilateral").value(17.00));
+    }
+
+    @Test
+    void compensar_shouldReturn400_whenServiceRejectsWindow() throws Exception {
+        when(service.compensar("EUR", null, null, null))
+                .thenThrow(new BusinessException("Both 'desde' and 'hasta' are required"));
+
+        mockMvc.perform(post(URL).param("divisa", "EUR"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCompensacion_shouldReturnRun() throws Exception {
+        when(service.getCompensacion(7L)).thenReturn(RUN);
+
+        mockMvc.perform(get(URL + "/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferencias").value(5));
+    }
+
+    @Test
+    void getPositions_shouldReturnCursorPages() throws Exception {
+        when(service.getBilaterales(7L, 100L, null, 10)).thenReturn(new CursorPageResponse<>(
+                List.of(new CompensacionBilateralResponse(100L, 200L, BigDecimal.TEN, BigDecimal.ONE, 2,
+                        BigDecimal.valueOf(9))), 1, false, null));
+        when(service.getMultilaterales(7L, "abc", null)).thenReturn(new CursorPageResponse<>(
+                List.of(new CompensacionMultilateralResponse(100L, BigDecimal.TEN, BigDecimal.ONE,
+                        BigDecimal.valueOf(-9))), 1, true, "next"));
+        when(service.getMultilaterales(7L, null, null)).thenReturn(new CursorPageResponse<>(List.of(), 0, false,
+                null));
+
+        mockMvc.perform(get(URL + "/7/bilaterales").param("cuentaId", "100").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].neto").value(9));
+        mockMvc.perform(get(URL + "/7/multilaterales").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+        mockMvc.perform(get(URL + "/7/multilaterales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(0));
+    }
+}
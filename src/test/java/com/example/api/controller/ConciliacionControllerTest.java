@@ -0,0 +1,122 @@
+package com.example.api.controller;
+
+import com.example.api.application.ConciliacionService;
+import com.example.api.dto.response.ConciliacionResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import com.example.api.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ConciliacionController.class)
+class ConciliacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConciliacionService service;
+
+    private static final String URL = "/api/v1/transferencias/conciliaciones";
+    private static final LocalDate DESDE = LocalDate.parse("2024-03-01");
+    private static final LocalDate HASTA = LocalDate.parse("2024-03-02");
+    private static final String CSV = "referenciaExterna,importe,fecha\nREF-1,12.50,2024-03-01\n";
+
+    private static final ConciliacionResponse RUN = new ConciliacionResponse(7L, DESDE, HASTA, 1, 0, 1, 1, 0, 0, 0,
+            Instant.parse("2024-03-03T06:00:00Z"), 12, 83);
+
+    @Test
+    void conciliar_shouldReturn201WithRunSummary() throws Exception {
+        when(service.conciliar(eq(DESDE), eq(HASTA), any())).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(2).readAllBytes(), StandardCharsets.UTF_8);
+            return body.equals(CSV) ? RUN : null;
+        });
+
+        mockMvc.perform(post(URL)
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-02")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.conciliadas").value(1))
+                .andExpect(jsonPath("$.lineasPorSegundo").value(83));
+    }
+
+    @Test
+    void conciliar_shouldReturn400_whenServiceRejectsRange() throws Exception {
+        when(service.conciliar(eq(null), eq(null), any()))
+                .thenThrow(new BusinessException("Both 'desde' and 'hasta' are required"));
+
+        mockMvc.perform(post(URL).contentType("text/csv").content(CSV))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void conciliar_shouldReturn409_whenARunIsInProgress() throws Exception {
+        when(service.conciliar(eq(DESDE), eq(HASTA), any()))
+                .thenThrow(new ConflictException("A reconciliation is already in progress"));
+
+        mockMvc.perform(post(URL)
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-02")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getConciliacion_shouldReturnRunSummary() throws Exception {
+        when(service.getConciliacion(7L)).thenReturn(RUN);
+
+        mockMvc.perform(get(URL + "/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.desde").value("2024-03-01"))
+                .andExpect(jsonPath("$.lineas").value(1));
+    }
+
+    @Test
+    void getRegistros_shouldStreamNdjson() throws Exception {
+        when(service.prepareRegistros(7L, "DISCREPANTE")).thenReturn(output ->
+                output.write("{\"resultado\":\"DISCREPANTE\"}\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get(URL + "/7/registros").param("resultado", "DISCREPANTE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"resultado\":\"DISCREPANTE\"}\n"));
+    }
+
+    @Test
+    void getRegistros_shouldReturn404_whenResultsAreNotOnThisNode() throws Exception {
+        when(service.prepareRegistros(7L, null))
+                .thenThrow(new ResourceNotFoundException("Records of reconciliation 7 are not available on this node"));
+
+        mockMvc.perform(get(URL + "/7/registros"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.api.controller;
+
+import com.example.api.application.CuentaRegistryService;
+import com.example.api.dto.response.CuentaRegistryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CuentaRegistryEndpointTest {
+
+    @Mock
+    private CuentaRegistryService service;
+
+    private static final CuentaRegistryResponse STATE = new CuentaRegistryResponse(true, true, 1_000, 12, 4_096,
+            Instant.parse("2024-05-01T11:00:00Z"), Instant.parse("2024-05-01T06:00:00Z"));
+
+    @Test
+    void describe_shouldReturnRegistryState() {
+        when(service.describe()).thenReturn(STATE);
+
+        assertThat(new CuentaRegistryEndpoint(service).describe()).isEqualTo(STATE);
+    }
+
+    @Test
+    void reload_shouldDelegateToService() {
+        when(service.reload()).thenReturn(STATE);
+
+        assertThat(new CuentaRegistryEndpoint(service).reload()).isEqualTo(STATE);
+    }
+}
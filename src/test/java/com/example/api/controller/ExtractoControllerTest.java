@@ -0,0 +1,47 @@
+package com.example.api.controller;
+
+import com.example.api.application.ExtractoBatchService;
+import com.example.api.dto.response.ExtractoBatchResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.YearMonth;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExtractoController.class)
+class ExtractoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExtractoBatchService service;
+
+    @Test
+    void generar_shouldReturnRunSummary() throws Exception {
+        when(service.generar(YearMonth.of(2024, 3)))
+                .thenReturn(new ExtractoBatchResponse(YearMonth.of(2024, 3), 64, 1, 1200L, 45000L, 830L));
+
+        mockMvc.perform(post("/api/v1/transferencias/extractos").param("periodo", "2024-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.periodo").value("2024-03"))
+                .andExpect(jsonPath("$.partitionsResumed").value(1))
+                .andExpect(jsonPath("$.cuentas").value(1200));
+    }
+
+    @Test
+    void generar_shouldReturnBadRequestWithoutPeriod() throws Exception {
+        when(service.generar(null)).thenThrow(new BusinessException("'periodo' is required"));
+
+        mockMvc.perform(post("/api/v1/transferencias/extractos"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.api.controller;
+
+import com.example.api.application.GrafoService;
+import com.example.api.dto.response.GrafoCicloResponse;
+import com.example.api.dto.response.GrafoComponenteResponse;
+import com.example.api.dto.response.GrafoCuentaResponse;
+import com.example.api.dto.response.GrafoFanResponse;
+import com.example.api.dto.response.GrafoResponse;
+import com.example.api.exception.BusinessException;
+import com.example.api.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(GrafoController.class)
+class GrafoControllerTest {
+
+    private static final Instant DESDE = Instant.parse("2024-05-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-05-02T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GrafoService service;
+
+    @Test
+    void analizar_shouldReturnAnalysis() throws Exception {
+        GrafoFanResponse fanOut = new GrafoFanResponse(1.5, 2.0, 7.5,
+                List.of(new GrafoCuentaResponse(9L, 40, new BigDecimal("4000.00"), 19.25)));
+        when(service.analizar("EUR", DESDE, HASTA, null, 3, 5)).thenReturn(new GrafoResponse("EUR", "COMPLETADA",
+                DESDE, HASTA, 120, 50, 80, 1, 3,
+                List.of(new GrafoComponenteResponse(3, new BigDecimal("300.00"), List.of(1L, 2L, 3L))), 3, 1, false,
+                List.of(new GrafoCicloResponse(List.of(1L, 2L, 3L), new BigDecimal("100.00"))), fanOut,
+                new GrafoFanResponse(1.5, 0.5, 3.0, List.of()), 12));
+
+        mockMvc.perform(get("/api/v1/transferencias/grafo")
+                        .param("divisa", "EUR")
+                        .param("desde", "2024-05-01T00:00:00Z")
+                        .param("hasta", "2024-05-02T00:00:00Z")
+                        .param("longitud", "3")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aristas").value(80))
+                .andExpect(jsonPath("$.mayoresComponentes[0].cuentas[2]").value(3))
+                .andExpect(jsonPath("$.ciclosPrincipales[0].importe").value(100.00))
+                .andExpect(jsonPath("$.fanOut.cuentas[0].cuentaId").value(9))
+                .andExpect(jsonPath("$.fanIn.cuentas").isEmpty());
+    }
+
+    @Test
+    void analizar_shouldReturnBadRequestForInvalidWindow() throws Exception {
+        when(service.analizar("EUR", null, null, null, null, null))
+                .thenThrow(new BusinessException("Both 'desde' and 'hasta' are required"));
+
+        mockMvc.perform(get("/api/v1/transferencias/grafo").param("divisa", "EUR"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void analizar_shouldReturnConflictWhileAnotherAnalysisRuns() throws Exception {
+        when(service.analizar("EUR", DESDE, HASTA, null, null, null))
+                .thenThrow(new ConflictException("A transfer graph analysis is already in progress"));
+
+        mockMvc.perform(get("/api/v1/transferencias/grafo")
+                        .param("divisa", "EUR")
+                        .param("desde", "2024-05-01T00:00:00Z")
+                        .param("hasta", "2024-05-02T00:00:00Z"))
+                .andExpect(status().isConflict());
+    }
+}
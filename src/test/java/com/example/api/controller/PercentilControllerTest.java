@@ -0,0 +1,66 @@
+package com.example.api.controller;
+
+import com.example.api.application.PercentilService;
+import com.example.api.dto.response.PercentilRebuildResponse;
+import com.example.api.dto.response.PercentilesResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PercentilController.class)
+class PercentilControllerTest {
+
+    private static final LocalDate DESDE = LocalDate.parse("2024-03-01");
+    private static final LocalDate HASTA = LocalDate.parse("2024-03-31");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PercentilService service;
+
+    @Test
+    void getPercentiles_shouldReturnPercentiles() throws Exception {
+        when(service.getPercentiles("EUR", DESDE, HASTA)).thenReturn(new PercentilesResponse("EUR", DESDE, HASTA,
+                1000, new BigDecimal("1.00"), new BigDecimal("50.00"), new BigDecimal("90.00"),
+                new BigDecimal("99.00"), new BigDecimal("99.90"), new BigDecimal("100.00")));
+
+        mockMvc.perform(get("/api/v1/transferencias/percentiles")
+                        .param("divisa", "EUR").param("desde", "2024-03-01").param("hasta", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantidad").value(1000))
+                .andExpect(jsonPath("$.p50").value(50.00))
+                .andExpect(jsonPath("$.p999").value(99.90));
+    }
+
+    @Test
+    void getPercentiles_shouldReturnBadRequestForInvalidCurrency() throws Exception {
+        when(service.getPercentiles(null, null, null)).thenThrow(new BusinessException("Invalid currency: null"));
+
+        mockMvc.perform(get("/api/v1/transferencias/percentiles"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rebuild_shouldReturnSummary() throws Exception {
+        when(service.rebuild(DESDE, HASTA)).thenReturn(new PercentilRebuildResponse(DESDE, HASTA, 4, 5000, 62, 120));
+
+        mockMvc.perform(post("/api/v1/transferencias/percentiles/rebuild")
+                        .param("desde", "2024-03-01").param("hasta", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferencias").value(5000))
+                .andExpect(jsonPath("$.sketches").value(62));
+    }
+}
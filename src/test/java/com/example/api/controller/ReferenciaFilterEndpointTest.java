@@ -0,0 +1,37 @@
+package com.example.api.controller;
+
+import com.example.api.application.ReferenciaFilterService;
+import com.example.api.dto.response.ReferenciaFilterResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenciaFilterEndpointTest {
+
+    @Mock
+    private ReferenciaFilterService service;
+
+    private static final ReferenciaFilterResponse STATE = new ReferenciaFilterResponse(true, true, 42, 1, 1_024,
+            64L << 20, 0.01, 0.0001, false, Instant.parse("2024-03-10T12:00:00Z"));
+
+    @Test
+    void describe_shouldReturnFilterState() {
+        when(service.describe()).thenReturn(STATE);
+
+        assertThat(new ReferenciaFilterEndpoint(service).describe()).isEqualTo(STATE);
+    }
+
+    @Test
+    void rebuild_shouldDelegateToService() {
+        when(service.rebuild()).thenReturn(STATE);
+
+        assertThat(new ReferenciaFilterEndpoint(service).rebuild()).isEqualTo(STATE);
+    }
+}
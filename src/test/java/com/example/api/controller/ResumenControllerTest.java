@@ -0,0 +1,96 @@
+package com.example.api.controller;
+
+import com.example.api.application.ResumenService;
+import com.example.api.dto.request.ResumenFilterRequest;
+import com.example.api.dto.response.ResumenConvertidoResponse;
+import com.example.api.dto.response.ResumenDiarioResponse;
+import com.example.api.dto.response.ResumenEstadoConvertidoResponse;
+import com.example.api.dto.response.ResumenRebuildResponse;
+import com.example.api.dto.response.ResumenTotalResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ResumenController.class)
+class ResumenControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResumenService service;
+
+    private static final LocalDate DESDE = LocalDate.parse("2024-03-01");
+    private static final LocalDate HASTA = LocalDate.parse("2024-03-31");
+
+    @Test
+    void getDiarios_shouldBindDateRange() throws Exception {
+        when(service.getDiarios(new ResumenFilterRequest(DESDE, HASTA, "EUR", null))).thenReturn(List.of(
+                new ResumenDiarioResponse(DESDE, "EUR", "COMPLETADA", 3L, new BigDecimal("30.00"))));
+
+        mockMvc.perform(get("/api/v1/transferencias/resumenes/diarios")
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-31")
+                        .param("divisa", "EUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dia").value("2024-03-01"))
+                .andExpect(jsonPath("$[0].cantidad").value(3));
+    }
+
+    @Test
+    void getDiarios_shouldReturn400_whenRangeIsMissing() throws Exception {
+        mockMvc.perform(get("/api/v1/transferencias/resumenes/diarios").param("desde", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTotales_shouldReturnTotals() throws Exception {
+        when(service.getTotales(new ResumenFilterRequest(DESDE, HASTA, null, "PENDIENTE"))).thenReturn(List.of(
+                new ResumenTotalResponse("EUR", "PENDIENTE", 7L, new BigDecimal("70.00"))));
+
+        mockMvc.perform(get("/api/v1/transferencias/resumenes/totales")
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-31")
+                        .param("estado", "PENDIENTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].importeTotal").value(70.00));
+    }
+
+    @Test
+    void getTotalesConvertidos_shouldReturnConvertedTotals() throws Exception {
+        when(service.getTotalesConvertidos(new ResumenFilterRequest(DESDE, HASTA, null, null), "USD"))
+                .thenReturn(new ResumenConvertidoResponse("USD", 2L, List.of(
+                        new ResumenEstadoConvertidoResponse("COMPLETADA", 4L, new BigDecimal("200.00"))), List.of()));
+
+        mockMvc.perform(get("/api/v1/transferencias/resumenes/totales/convertidos")
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-31")
+                        .param("divisaReporte", "USD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versionTipoCambio").value(2))
+                .andExpect(jsonPath("$.totales[0].importeTotal").value(200.00));
+    }
+
+    @Test
+    void rebuild_shouldReturnSummary() throws Exception {
+        when(service.rebuild(DESDE, HASTA)).thenReturn(new ResumenRebuildResponse(DESDE, HASTA, 12L, 4L));
+
+        mockMvc.perform(post("/api/v1/transferencias/resumenes/rebuild")
+                        .param("desde", "2024-03-01")
+                        .param("hasta", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas").value(12));
+    }
+}
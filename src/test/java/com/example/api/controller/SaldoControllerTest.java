@@ -0,0 +1,75 @@
+package com.example.api.controller;
+
+import com.example.api.application.SaldoService;
+import com.example.api.dto.response.SaldoRebuildResponse;
+import com.example.api.dto.response.SaldoResponse;
+import com.example.api.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SaldoController.class)
+class SaldoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SaldoService service;
+
+    private static final Instant UPDATED = Instant.parse("2024-01-10T12:00:00Z");
+
+    @Test
+    void getSaldos_shouldReturnEveryCurrencyBalance() throws Exception {
+        when(service.getSaldos(100L)).thenReturn(List.of(
+                new SaldoResponse(100L, "EUR", new BigDecimal("10.00"), UPDATED),
+                new SaldoResponse(100L, "USD", new BigDecimal("-4.50"), UPDATED)));
+
+        mockMvc.perform(get("/api/v1/transferencias/cuentas/100/saldos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].divisa").value("EUR"))
+                .andExpect(jsonPath("$[1].saldo").value(-4.50));
+    }
+
+    @Test
+    void getSaldo_shouldReturnSingleBalance() throws Exception {
+        when(service.getSaldo(100L, "EUR")).thenReturn(
+                new SaldoResponse(100L, "EUR", new BigDecimal("10.00"), UPDATED));
+
+        mockMvc.perform(get("/api/v1/transferencias/cuentas/100/saldos/EUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cuentaId").value(100))
+                .andExpect(jsonPath("$.saldo").value(10.00));
+    }
+
+    @Test
+    void rebuild_shouldReturnSummary() throws Exception {
+        when(service.rebuild()).thenReturn(new SaldoRebuildResponse(8, 42L, 15L));
+
+        mockMvc.perform(post("/api/v1/transferencias/saldos/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.partitions").value(8))
+                .andExpect(jsonPath("$.saldos").value(42));
+    }
+
+    @Test
+    void rebuild_shouldReturn409_whenAlreadyRunning() throws Exception {
+        when(service.rebuild()).thenThrow(new ConflictException("A balance rebuild is already running"));
+
+        mockMvc.perform(post("/api/v1/transferencias/saldos/rebuild"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.api.controller;
+
+import com.example.api.application.TipoCambioService;
+import com.example.api.dto.response.TipoCambioResponse;
+import com.example.api.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TipoCambioController.class)
+class TipoCambioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TipoCambioService service;
+
+    private static TipoCambioResponse rates() {
+        Map<String, BigDecimal> tasas = new LinkedHashMap<>();
+        tasas.put("EUR", BigDecimal.ONE);
+        tasas.put("USD", new BigDecimal("1.08500000"));
+        return new TipoCambioResponse(4L, "EUR", Instant.parse("2024-03-10T12:00:00Z"), tasas);
+    }
+
+    @Test
+    void getTiposCambio_shouldReturnCurrentRates() throws Exception {
+        when(service.getTiposCambio()).thenReturn(rates());
+
+        mockMvc.perform(get("/api/v1/transferencias/tipos-cambio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.tasas.USD").value(1.085));
+    }
+
+    @Test
+    void reload_shouldReturnNewRates() throws Exception {
+        when(service.reload()).thenReturn(rates());
+
+        mockMvc.perform(post("/api/v1/transferencias/tipos-cambio/reload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.base").value("EUR"));
+    }
+
+    @Test
+    void reload_shouldReturn409_whenAlreadyRunning() throws Exception {
+        when(service.reload()).thenThrow(new ConflictException("An FX rate reload is already running"));
+
+        mockMvc.perform(post("/api/v1/transferencias/tipos-cambio/reload"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.api.controller;
+
+import com.example.api.application.TopCuentasService;
+import com.example.api.dto.response.TopCuentaResponse;
+import com.example.api.dto.response.TopCuentasResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TopCuentasController.class)
+class TopCuentasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TopCuentasService service;
+
+    @Test
+    void getTopCuentas_shouldReturnRanking() throws Exception {
+        when(service.getTopCuentas("EUR", "PT1H", 10)).thenReturn(new TopCuentasResponse("EUR", "PT1H",
+                new BigDecimal("500.00"), new BigDecimal("1.00"),
+                List.of(new TopCuentaResponse(1, 100L, new BigDecimal("120.00"), new BigDecimal("119.50")))));
+
+        mockMvc.perform(get("/api/v1/transferencias/top-cuentas")
+                        .param("divisa", "EUR").param("ventana", "PT1H").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.volumen").value(500.00))
+                .andExpect(jsonPath("$.cuentas[0].cuentaId").value(100))
+                .andExpect(jsonPath("$.cuentas[0].importeMinimo").value(119.50));
+    }
+
+    @Test
+    void getTopCuentas_shouldReturnBadRequestForInvalidCurrency() throws Exception {
+        when(service.getTopCuentas(null, null, null)).thenThrow(new BusinessException("Invalid currency: null"));
+
+        mockMvc.perform(get("/api/v1/transferencias/top-cuentas"))
+                .andExpect(status().isBadRequest());
+    }
+}
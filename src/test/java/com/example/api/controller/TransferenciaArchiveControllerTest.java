@@ -0,0 +1,47 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaArchiveService;
+import com.example.api.dto.response.TransferenciaArchiveResponse;
+import com.example.api.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaArchiveController.class)
+class TransferenciaArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaArchiveService service;
+
+    @Test
+    void archive_shouldReturnRunSummary() throws Exception {
+        when(service.archive()).thenReturn(new TransferenciaArchiveResponse(
+                Instant.parse("2023-01-01T00:00:00Z"), 2, 48000L, 910L));
+
+        mockMvc.perform(post("/api/v1/transferencias/archivo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasta").value("2023-01-01T00:00:00Z"))
+                .andExpect(jsonPath("$.ficheros").value(2))
+                .andExpect(jsonPath("$.transferencias").value(48000));
+    }
+
+    @Test
+    void archive_shouldReturnConflict_whenRunIsInProgress() throws Exception {
+        when(service.archive()).thenThrow(new ConflictException("An archive run is already in progress"));
+
+        mockMvc.perform(post("/api/v1/transferencias/archivo"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaBatchService;
+import com.example.api.dto.request.CreateTransferenciaRequest;
+import com.example.api.dto.response.BatchTransferenciaItemResponse;
+import com.example.api.dto.response.BatchTransferenciaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaBatchController.class)
+class TransferenciaBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaBatchService service;
+
+    private static final String BATCH_URL = "/api/v1/transferencias/batch";
+
+    private static final String ITEM_JSON = "{\"cuentaOrigenId\":100,\"cuentaDestinoId\":200,"
+            + "\"importe\":\"500.00\",\"divisa\":\"EUR\"}";
+
+    private BatchTransferenciaResponse drainAndRespond(Iterator<CreateTransferenciaRequest> requests) {
+        List<BatchTransferenciaItemResponse> items = new ArrayList<>();
+        int created = 0;
+        while (requests.hasNext()) {
+            int index = items.size();
+            try {
+                CreateTransferenciaRequest received = requests.next();
+                assertThat(received.divisa()).isEqualTo("EUR");
+                items.add(new BatchTransferenciaItemResponse(index, "CREATED", new TransferenciaResponse(
+                        (long) index, 100L, 200L, new BigDecimal("500.00"), "EUR", null, "PENDIENTE",
+                        Instant.parse("2024-01-01T12:00:00Z"), null, null), null));
+                created++;
+            } catch (BusinessException ex) {
+                items.add(new BatchTransferenciaItemResponse(index, "FAILED", null, ex.getMessage()));
+            }
+        }
+        return new BatchTransferenciaResponse(items.size(), created, items.size() - created, items);
+    }
+
+    @Test
+    void createBatch_shouldAcceptJsonArray() throws Exception {
+        when(service.createBatch(any())).thenAnswer(invocation -> drainAndRespond(invocation.getArgument(0)));
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ITEM_JSON + "," + ITEM_JSON + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items[1].transferencia.idTransferencia").value(1));
+    }
+
+    @Test
+    void createBatch_shouldAcceptNdjsonStream() throws Exception {
+        when(service.createBatch(any())).thenAnswer(invocation -> drainAndRespond(invocation.getArgument(0)));
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ITEM_JSON + "\n" + ITEM_JSON + "\n" + ITEM_JSON + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.items[2].status").value("CREATED"));
+    }
+
+    @Test
+    void createBatch_shouldFailOnlyTheMalformedNdjsonLine_andKeepReading() throws Exception {
+        when(service.createBatch(any())).thenAnswer(invocation -> drainAndRespond(invocation.getArgument(0)));
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ITEM_JSON + "\n" + ITEM_JSON + "\n{\"cuentaOrigenId\":\"not-a-number\"}\n{\"cuenta\n\n"
+                                + ITEM_JSON + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.items[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[2].error").value(startsWith("Malformed item: ")))
+                .andExpect(jsonPath("$.items[3].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[4].status").value("CREATED"));
+    }
+}
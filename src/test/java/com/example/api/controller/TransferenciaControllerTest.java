@@ -2,6 +2,7 @@ package com.example.api.controller;
 
 import com.example.api.application.TransferenciaService;
 import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.ConflictException;
 import com.example.api.exception.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -56,7 +58,7 @@ class TransferenciaControllerTest {
 
     @Test
     void create_shouldReturn201() throws Exception {
-        when(service.create(any())).thenReturn(sampleResponse());
+        when(service.create(any(), isNull())).thenReturn(sampleResponse());
 
         Map<String, Object> request = Map.of(
                 "cuentaOrigenId", 100,
@@ -77,6 +79,33 @@ class TransferenciaControllerTest {
                 .andExpect(jsonPath("$.divisa").value("EUR"));
     }
 
+    @Test
+    void create_shouldPassIdempotencyKeyHeader() throws Exception {
+        when(service.create(any(), eq("retry-42"))).thenReturn(sampleResponse());
+
+        mockMvc.perform(post(BASE_URL)
+                        .header("Idempotency-Key", "retry-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cuentaOrigenId\":100,\"cuentaDestinoId\":200,"
+                                + "\"importe\":\"500.00\",\"divisa\":\"EUR\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idTransferencia").value(SAMPLE_ID));
+    }
+
+    @Test
+    void create_shouldReturn409_whenIdempotencyKeyIsReused() throws Exception {
+        when(service.create(any(), eq("retry-42"))).thenThrow(
+                new ConflictException("Idempotency key already used for a different transfer: retry-42"));
+
+        mockMvc.perform(post(BASE_URL)
+                        .header("Idempotency-Key", "retry-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cuentaOrigenId\":100,\"cuentaDestinoId\":200,"
+                                + "\"importe\":\"500.00\",\"divisa\":\"EUR\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
     @Test
     void create_shouldReturn400_whenValidationFails() throws Exception {
         Map<String, Object> request = Map.of(
@@ -0,0 +1,103 @@
+package com.example.api.controller;
+
+import com.example.api.application.ExportFormat;
+import com.example.api.application.TransferenciaExport;
+import com.example.api.application.TransferenciaExportService;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaExportController.class)
+class TransferenciaExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaExportService service;
+
+    private static final String EXPORT_URL = "/api/v1/transferencias/export";
+
+    private TransferenciaExport fixedExport(ExportFormat format, String body) {
+        return new TransferenciaExport() {
+            @Override
+            public ExportFormat format() {
+                return format;
+            }
+
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                output.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @Test
+    void export_shouldStreamNdjson() throws Exception {
+        when(service.prepareExport(any(), eq("ndjson"))).thenReturn(
+                fixedExport(ExportFormat.NDJSON, "{\"idTransferencia\":1}\n"));
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL)
+                        .param("desde", "2024-01-01T00:00:00Z")
+                        .param("estado", "COMPLETADA"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"idTransferencia\":1}\n"));
+        verify(service).prepareExport(new TransferenciaFilterRequest(null, null,
+                Instant.parse("2024-01-01T00:00:00Z"), null, "COMPLETADA", null), "ndjson");
+    }
+
+    @Test
+    void export_shouldStreamCsv() throws Exception {
+        when(service.prepareExport(any(), eq("csv"))).thenReturn(
+                fixedExport(ExportFormat.CSV, "idTransferencia\n1\n"));
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL)
+                        .param("formato", "csv")
+                        .param("divisa", "EUR"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("idTransferencia\n1\n"));
+    }
+
+    @Test
+    void export_shouldReturn400_whenFiltersAreInvalid() throws Exception {
+        when(service.prepareExport(any(), any())).thenThrow(
+                new BusinessException("Invalid transfer state: UNKNOWN"));
+
+        mockMvc.perform(get(EXPORT_URL)
+                        .param("estado", "UNKNOWN"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaFeedService;
+import com.example.api.application.TransferenciaFeedSink;
+import com.example.api.application.TransferenciaFeedSubscription;
+import com.example.api.dto.response.TransferenciaEventoResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaFeedController.class)
+class TransferenciaFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaFeedService service;
+
+    private static final String EVENTOS_URL = "/api/v1/transferencias/eventos";
+
+    @Test
+    void eventos_shouldStreamEntriesAsServerSentEvents() throws Exception {
+        when(service.subscribe(isNull(), any())).thenAnswer(invocation -> {
+            TransferenciaFeedSink sink = invocation.getArgument(1);
+            sink.send(new TransferenciaEventoResponse(42L, "CREADA", 7L, "{\"idTransferencia\":7}",
+                    Instant.parse("2024-03-10T12:00:00Z")));
+            sink.heartbeat();
+            return (TransferenciaFeedSubscription) () -> { };
+        });
+
+        MvcResult result = mockMvc.perform(get(EVENTOS_URL).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(result.getResponse().getContentAsString())
+                .contains("id:42\nevent:CREADA\ndata:{\"idTransferencia\":7}\n\n")
+                .contains(":heartbeat\n\n");
+    }
+
+    @Test
+    void eventos_shouldResumeFromLastEventIdHeader() throws Exception {
+        when(service.subscribe(eq(15L), any())).thenReturn(() -> { });
+
+        mockMvc.perform(get(EVENTOS_URL).header("Last-Event-ID", "15"))
+                .andExpect(request().asyncStarted());
+
+        verify(service).subscribe(eq(15L), any());
+    }
+
+    @Test
+    void eventos_shouldPreferDesdeParameterOverHeader() throws Exception {
+        when(service.subscribe(eq(3L), any())).thenReturn(() -> { });
+
+        mockMvc.perform(get(EVENTOS_URL).param("desde", "3").header("Last-Event-ID", "15"))
+                .andExpect(request().asyncStarted());
+
+        verify(service).subscribe(eq(3L), any());
+    }
+
+    @Test
+    void eventos_shouldReturn400_whenPositionIsNoLongerRetained() throws Exception {
+        when(service.subscribe(eq(1L), any()))
+                .thenThrow(new BusinessException("Entries up to sequence 5 are no longer retained"));
+
+        mockMvc.perform(get(EVENTOS_URL).param("desde", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Entries up to sequence 5 are no longer retained"));
+    }
+}
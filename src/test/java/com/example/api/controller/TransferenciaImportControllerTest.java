@@ -0,0 +1,83 @@
+package com.example.api.controller;
+
+import com.example.api.application.ImportFormat;
+import com.example.api.application.TransferenciaImportService;
+import com.example.api.dto.response.TransferenciaImportErrorResponse;
+import com.example.api.dto.response.TransferenciaImportResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaImportController.class)
+class TransferenciaImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaImportService service;
+
+    private static final String IMPORT_URL = "/api/v1/transferencias/import";
+
+    private static final String CSV = "cuentaOrigenId,cuentaDestinoId,importe,divisa\n100,200,1.00,EUR\n";
+
+    @Test
+    void importCsv_shouldStreamBodyToService() throws Exception {
+        when(service.importFile(eq(ImportFormat.CSV), any())).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body).isEqualTo(CSV);
+            return new TransferenciaImportResponse("csv", 2, 1, 1, true, 12,
+                    List.of(new TransferenciaImportErrorResponse(3, "REF-3", "importe: invalid amount 'x'")), false);
+        });
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.formato").value("csv"))
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.completo").value(true))
+                .andExpect(jsonPath("$.errores[0].posicion").value(3))
+                .andExpect(jsonPath("$.errores[0].referenciaExterna").value("REF-3"));
+    }
+
+    @Test
+    void importPain001_shouldAcceptXml() throws Exception {
+        when(service.importFile(eq(ImportFormat.PAIN_001), any())).thenReturn(
+                new TransferenciaImportResponse("pain.001", 1, 1, 0, true, 5, List.of(), false));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<Document/>"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.formato").value("pain.001"));
+    }
+
+    @Test
+    void import_shouldReturn400_whenFileIsRejected() throws Exception {
+        when(service.importFile(eq(ImportFormat.CSV), any()))
+                .thenThrow(new BusinessException("Missing CSV column: divisa"));
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .contentType("text/csv")
+                        .content("cuentaOrigenId\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+}
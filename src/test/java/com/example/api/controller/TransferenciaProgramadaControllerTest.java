@@ -0,0 +1,92 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaProgramadaService;
+import com.example.api.dto.request.CreateTransferenciaProgramadaRequest;
+import com.example.api.dto.response.TransferenciaProgramadaResponse;
+import com.example.api.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaProgramadaController.class)
+class TransferenciaProgramadaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaProgramadaService service;
+
+    private static final String URL = "/api/v1/transferencias/programadas";
+    private static final Instant FECHA = Instant.parse("2030-01-31T09:00:00Z");
+
+    private static TransferenciaProgramadaResponse response() {
+        return new TransferenciaProgramadaResponse(7L, 100L, 200L, new BigDecimal("25.00"), "EUR", "Cuota",
+                "MENSUAL", FECHA, null, FECHA, 0, null, "ACTIVA", Instant.parse("2029-12-01T00:00:00Z"));
+    }
+
+    @Test
+    void create_shouldReturn201WithSchedule() throws Exception {
+        when(service.create(any())).thenReturn(response());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cuentaOrigenId\":100,\"cuentaDestinoId\":200,\"importe\":25.00,"
+                                + "\"divisa\":\"EUR\",\"concepto\":\"Cuota\",\"fechaEjecucion\":\"2030-01-31T09:00:00Z\","
+                                + "\"periodicidad\":\"MENSUAL\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.periodicidad").value("MENSUAL"))
+                .andExpect(jsonPath("$.estado").value("ACTIVA"));
+        verify(service).create(new CreateTransferenciaProgramadaRequest(100L, 200L, new BigDecimal("25.00"), "EUR",
+                "Cuota", FECHA, "MENSUAL", null));
+    }
+
+    @Test
+    void create_shouldReturn400_whenExecutionTimeIsMissing() throws Exception {
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cuentaOrigenId\":100,\"cuentaDestinoId\":200,\"importe\":25.00,"
+                                + "\"divisa\":\"EUR\"}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void getById_shouldReturnSchedule() throws Exception {
+        when(service.getById(7L)).thenReturn(response());
+
+        mockMvc.perform(get(URL + "/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.proximaEjecucion").value("2030-01-31T09:00:00Z"));
+    }
+
+    @Test
+    void cancel_shouldReturn204_or409WhenNoLongerActive() throws Exception {
+        doThrow(new ConflictException("Scheduled transfer 8 is no longer active: FINALIZADA"))
+                .when(service).cancel(8L);
+
+        mockMvc.perform(delete(URL + "/7"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete(URL + "/8"))
+                .andExpect(status().isConflict());
+        verify(service).cancel(7L);
+    }
+}
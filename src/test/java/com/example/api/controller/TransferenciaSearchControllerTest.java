@@ -0,0 +1,123 @@
+package com.example.api.controller;
+
+import com.example.api.application.TransferenciaConceptoSearchService;
+import com.example.api.application.TransferenciaSearchService;
+import com.example.api.dto.request.TransferenciaFilterRequest;
+import com.example.api.dto.response.CursorPageResponse;
+import com.example.api.dto.response.MovimientoCuentaResponse;
+import com.example.api.dto.response.TransferenciaResponse;
+import com.example.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferenciaSearchController.class)
+class TransferenciaSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransferenciaSearchService service;
+
+    @MockBean
+    private TransferenciaConceptoSearchService conceptoService;
+
+    private static final String SEARCH_URL = "/api/v1/transferencias/search";
+
+    @Test
+    void search_shouldReturnPageWithCursor() throws Exception {
+        TransferenciaResponse item = new TransferenciaResponse(5L, 100L, 200L, new BigDecimal("500.00"), "EUR",
+                null, "PENDIENTE", Instant.parse("2024-01-10T12:00:00Z"), null, null);
+        when(service.search(any(), eq("abc"), eq(1))).thenReturn(
+                new CursorPageResponse<>(List.of(item), 1, true, "def"));
+
+        mockMvc.perform(get(SEARCH_URL)
+                        .param("cuentaOrigenId", "100")
+                        .param("estado", "PENDIENTE")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].idTransferencia").value(5))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+        verify(service).search(new TransferenciaFilterRequest(100L, null, null, null, "PENDIENTE", null),
+                "abc", 1);
+    }
+
+    @Test
+    void search_shouldReturn400_whenServiceRejectsCursor() throws Exception {
+        when(service.search(any(), eq("bad"), isNull())).thenThrow(new BusinessException("Invalid cursor: bad"));
+
+        mockMvc.perform(get(SEARCH_URL).param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    void search_shouldReturn400_whenCurrencyTooLong() throws Exception {
+        mockMvc.perform(get(SEARCH_URL).param("divisa", "EURO"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getHistorial_shouldReturnMergedMovements() throws Exception {
+        Instant fecha = Instant.parse("2024-01-10T12:00:00Z");
+        when(service.getHistorial(100L, null, 2)).thenReturn(new CursorPageResponse<>(List.of(
+                new MovimientoCuentaResponse(9L, "ENTRANTE", 300L, new BigDecimal("10.00"), "EUR", "COMPLETADA",
+                        fecha),
+                new MovimientoCuentaResponse(8L, "SALIENTE", 200L, new BigDecimal("5.00"), "EUR", "PENDIENTE",
+                        fecha.minusSeconds(1))), 2, true, "next"));
+
+        mockMvc.perform(get("/api/v1/transferencias/cuentas/100/historial").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].direccion").value("ENTRANTE"))
+                .andExpect(jsonPath("$.content[0].contrapartidaId").value(300))
+                .andExpect(jsonPath("$.content[1].direccion").value("SALIENTE"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void searchConcepto_shouldReturnRankedPage() throws Exception {
+        TransferenciaResponse item = new TransferenciaResponse(5L, 100L, 200L, new BigDecimal("500.00"), "EUR",
+                "Alquiler marzo", "PENDIENTE", Instant.parse("2024-01-10T12:00:00Z"), null, null);
+        when(conceptoService.search(eq("alquiler marzo"), any(), eq("abc"), eq(1))).thenReturn(
+                new CursorPageResponse<>(List.of(item), 1, true, "def"));
+
+        mockMvc.perform(get(SEARCH_URL + "/concepto")
+                        .param("q", "alquiler marzo")
+                        .param("divisa", "EUR")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].concepto").value("Alquiler marzo"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+        verify(conceptoService).search("alquiler marzo",
+                new TransferenciaFilterRequest(null, null, null, null, null, "EUR"), "abc", 1);
+    }
+
+    @Test
+    void searchConcepto_shouldReturn400_whenQueryIsMissing() throws Exception {
+        when(conceptoService.search(isNull(), any(), isNull(), isNull()))
+                .thenThrow(new BusinessException("'q' is required"));
+
+        mockMvc.perform(get(SEARCH_URL + "/concepto"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'q' is required"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.api.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaProgramadaTest {
+
+    private static final Instant INICIO = Instant.parse("2024-01-31T09:00:00Z");
+
+    private static TransferenciaProgramada programada(Periodicidad periodicidad, Instant fin) {
+        return new TransferenciaProgramada(100L, 200L, new BigDecimal("50.00"), "EUR", "Alquiler",
+                periodicidad, INICIO, fin);
+    }
+
+    @Test
+    void avanzar_shouldKeepMonthlyScheduleAnchoredOnItsFirstDay() {
+        TransferenciaProgramada programada = programada(Periodicidad.MENSUAL, null);
+
+        programada.avanzar(1L);
+        assertThat(programada.getProximaEjecucion()).isEqualTo(Instant.parse("2024-02-29T09:00:00Z"));
+        programada.avanzar(2L);
+        assertThat(programada.getProximaEjecucion()).isEqualTo(Instant.parse("2024-03-31T09:00:00Z"));
+        assertThat(programada.getEjecuciones()).isEqualTo(2);
+        assertThat(programada.getUltimaTransferenciaId()).isEqualTo(2L);
+        assertThat(programada.getEstado()).isEqualTo(EstadoProgramacion.ACTIVA);
+    }
+
+    @Test
+    void avanzar_shouldFinish_whenNoOccurrenceIsLeft() {
+        TransferenciaProgramada unica = programada(Periodicidad.UNICA, null);
+        unica.avanzar(7L);
+
+        TransferenciaProgramada diaria = programada(Periodicidad.DIARIA, INICIO.plusSeconds(86_400));
+        diaria.avanzar(8L);
+        diaria.avanzar(null);
+
+        assertThat(unica.getEstado()).isEqualTo(EstadoProgramacion.FINALIZADA);
+        assertThat(unica.getProximaEjecucion()).isNull();
+        assertThat(diaria.getEstado()).isEqualTo(EstadoProgramacion.FINALIZADA);
+        assertThat(diaria.getEjecuciones()).isEqualTo(2);
+        assertThat(diaria.getUltimaTransferenciaId()).isEqualTo(8L);
+        assertThatThrownBy(() -> diaria.avanzar(9L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void cancelar_shouldStopSchedule_onlyOnce() {
+        TransferenciaProgramada programada = programada(Periodicidad.SEMANAL, null);
+        programada.avanzar(1L);
+        assertThat(programada.getProximaEjecucion()).isEqualTo(Instant.parse("2024-02-07T09:00:00Z"));
+
+        programada.cancelar();
+
+        assertThat(programada.getEstado()).isEqualTo(EstadoProgramacion.CANCELADA);
+        assertThat(programada.getProximaEjecucion()).isNull();
+        assertThatThrownBy(programada::cancelar).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void generarTransferencia_shouldCopyTransferDetails() {
+        Transferencia transferencia = programada(Periodicidad.UNICA, null).generarTransferencia();
+
+        assertThat(transferencia.getCuentaOrigenId()).isEqualTo(100L);
+        assertThat(transferencia.getImporte()).isEqualByComparingTo("50.00");
+        assertThat(transferencia.getConcepto()).isEqualTo("Alquiler");
+        assertThat(transferencia.getEstado()).isEqualTo(EstadoTransferencia.PENDIENTE);
+    }
+
+    @Test
+    void constructor_shouldValidateInvariants() {
+        assertThatThrownBy(() -> new TransferenciaProgramada(null, 200L, BigDecimal.ONE, "EUR", null,
+                Periodicidad.UNICA, INICIO, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaProgramada(100L, null, BigDecimal.ONE, "EUR", null,
+                Periodicidad.UNICA, INICIO, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaProgramada(100L, 200L, BigDecimal.ZERO, "EUR", null,
+                Periodicidad.UNICA, INICIO, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaProgramada(100L, 200L, BigDecimal.ONE, " ", null,
+                Periodicidad.UNICA, INICIO, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaProgramada(100L, 200L, BigDecimal.ONE, "EUR", null,
+                null, INICIO, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransferenciaProgramada(100L, 200L, BigDecimal.ONE, "EUR", null,
+                Periodicidad.DIARIA, INICIO, INICIO.minusSeconds(1))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.api.domain;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -167,4 +168,38 @@ class TransferenciaTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("State must not be null");
     }
+
+    @Test
+    void ejecutar_shouldComplete_andSetExecutionDate() {
+        Transferencia entity = new Transferencia(
+                1L, 2L, new BigDecimal("100.00"), "EUR", "Payment", null);
+        Instant now = Instant.parse("2024-01-10T12:00:00Z");
+
+        entity.ejecutar(now);
+
+        assertThat(entity.getEstado()).isEqualTo(EstadoTransferencia.COMPLETADA);
+        assertThat(entity.getFechaEjecucion()).isEqualTo(now);
+    }
+
+    @Test
+    void ejecutar_shouldReject_whenAccountsAreTheSame() {
+        Transferencia entity = new Transferencia(
+                1L, 1L, new BigDecimal("100.00"), "EUR", "Payment", null);
+
+        entity.ejecutar(Instant.now());
+
+        assertThat(entity.getEstado()).isEqualTo(EstadoTransferencia.RECHAZADA);
+        assertThat(entity.getFechaEjecucion()).isNotNull();
+    }
+
+    @Test
+    void ejecutar_shouldThrow_whenNotPending() {
+        Transferencia entity = new Transferencia(
+                1L, 2L, new BigDecimal("100.00"), "EUR", "Payment", null);
+        entity.ejecutar(Instant.now());
+
+        assertThatThrownBy(() -> entity.ejecutar(Instant.now()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Transfer is not pending: COMPLETADA");
+    }
 }
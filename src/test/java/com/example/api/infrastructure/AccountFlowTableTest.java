@@ -0,0 +1,35 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountFlowTableTest {
+
+    @Test
+    void merge_shouldAddFlowsOfSharedAndNewAccounts() {
+        AccountFlowTable left = new AccountFlowTable(1);
+        left.add(100, 50, 0);
+        left.add(200, 0, 50);
+        AccountFlowTable right = new AccountFlowTable(1);
+        for (long account = 100; account < 5_100; account++) {
+            right.add(account, 1, 2);
+        }
+
+        left.merge(right);
+
+        assertThat(left.size()).isEqualTo(5_000);
+        Map<Long, long[]> flows = new HashMap<>();
+        for (int slot = 0; slot < left.capacity(); slot++) {
+            if (left.isUsed(slot)) {
+                flows.put(left.account(slot), new long[] {left.paid(slot), left.received(slot)});
+            }
+        }
+        assertThat(flows.get(100L)).containsExactly(51, 2);
+        assertThat(flows.get(200L)).containsExactly(1, 52);
+        assertThat(flows.get(5_099L)).containsExactly(1, 2);
+    }
+}
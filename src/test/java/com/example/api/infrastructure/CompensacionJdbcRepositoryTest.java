@@ -0,0 +1,122 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompensacionJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Test
+    void insertBilaterales_shouldWriteEveryPairInFixedSizeBatches() throws Exception {
+        CompensacionJdbcRepository repository = new CompensacionJdbcRepository(jdbcTemplate);
+        PairFlowTable pares = new PairFlowTable(4);
+        pares.add(100, 200, 1_050);
+        pares.add(200, 100, 2_000);
+        pares.add(300, 400, 1);
+        pares.add(500, 600, 1);
+
+        repository.insertBilaterales(9L, pares, 2);
+
+        ArgumentCaptor<BatchPreparedStatementSetter> batches =
+                ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("INSERT INTO compensaciones_bilaterales "
+                + "(compensacion_id, cuenta_a, cuenta_b, bruto_a_b, bruto_b_a, transferencias, neto) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)"), batches.capture());
+        assertThat(batches.getAllValues()).extracting(BatchPreparedStatementSetter::getBatchSize)
+                .containsExactly(2, 1);
+        for (BatchPreparedStatementSetter batch : batches.getAllValues()) {
+            for (int i = 0; i < batch.getBatchSize(); i++) {
+                batch.setValues(statement, i);
+            }
+        }
+        verify(statement).setLong(2, 100L);
+        verify(statement).setBigDecimal(4, new BigDecimal("10.50"));
+        verify(statement).setBigDecimal(5, new BigDecimal("20.00"));
+        verify(statement).setLong(6, 2L);
+        verify(statement).setBigDecimal(7, new BigDecimal("-9.50"));
+    }
+
+    @Test
+    void insertMultilaterales_shouldWriteNetPositions() throws Exception {
+        CompensacionJdbcRepository repository = new CompensacionJdbcRepository(jdbcTemplate);
+        AccountFlowTable cuentas = new AccountFlowTable(2);
+        cuentas.add(100, 1_000, 250);
+
+        repository.insertMultilaterales(9L, cuentas, 100);
+
+        ArgumentCaptor<BatchPreparedStatementSetter> batch = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO compensaciones_multilaterales "
+                + "(compensacion_id, cuenta_id, pagado, recibido, neto) VALUES (?, ?, ?, ?, ?)"), batch.capture());
+        batch.getValue().setValues(statement, 0);
+        verify(statement).setLong(1, 9L);
+        verify(statement).setLong(2, 100L);
+        verify(statement).setBigDecimal(3, new BigDecimal("10.00"));
+        verify(statement).setBigDecimal(4, new BigDecimal("2.50"));
+        verify(statement).setBigDecimal(5, new BigDecimal("-7.50"));
+    }
+
+    @Test
+    void findBilaterales_shouldSeekAfterPairAndFilterByAccount() throws Exception {
+        CompensacionJdbcRepository repository = new CompensacionJdbcRepository(jdbcTemplate);
+
+        repository.findBilaterales(9L, 100L, 100L, 200L, 11);
+
+        ArgumentCaptor<RowMapper<CompensacionBilateralRow>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        verify(jdbcTemplate).query(eq("SELECT cuenta_a, cuenta_b, bruto_a_b, bruto_b_a, transferencias, neto "
+                        + "FROM compensaciones_bilaterales WHERE compensacion_id = ? "
+                        + "AND (cuenta_a = ? OR cuenta_b = ?) AND (cuenta_a, cuenta_b) > (?, ?) "
+                        + "ORDER BY cuenta_a, cuenta_b LIMIT ?"),
+                mapper.capture(), eq(9L), eq(100L), eq(100L), eq(100L), eq(200L), eq(11));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("cuenta_a")).thenReturn(100L);
+        when(rs.getLong("cuenta_b")).thenReturn(300L);
+        when(rs.getBigDecimal(any(String.class))).thenReturn(BigDecimal.ONE);
+        when(rs.getLong("transferencias")).thenReturn(4L);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(new CompensacionBilateralRow(100L, 300L,
+                BigDecimal.ONE, BigDecimal.ONE, 4L, BigDecimal.ONE));
+    }
+
+    @Test
+    void findMultilaterales_shouldSeekAfterAccount() throws Exception {
+        CompensacionJdbcRepository repository = new CompensacionJdbcRepository(jdbcTemplate);
+
+        repository.findMultilaterales(9L, null, 5);
+        repository.findMultilaterales(9L, 100L, 5);
+
+        verify(jdbcTemplate).query(eq("SELECT cuenta_id, pagado, recibido, neto FROM compensaciones_multilaterales "
+                + "WHERE compensacion_id = ? ORDER BY cuenta_id LIMIT ?"), any(RowMapper.class), eq(9L), eq(5));
+        ArgumentCaptor<RowMapper<CompensacionMultilateralRow>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        verify(jdbcTemplate).query(eq("SELECT cuenta_id, pagado, recibido, neto FROM compensaciones_multilaterales "
+                        + "WHERE compensacion_id = ? AND cuenta_id > ? ORDER BY cuenta_id LIMIT ?"),
+                mapper.capture(), eq(9L), eq(100L), eq(5));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("cuenta_id")).thenReturn(101L);
+        when(rs.getBigDecimal(any(String.class))).thenReturn(BigDecimal.TEN);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(new CompensacionMultilateralRow(101L,
+                BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedBitmapTest {
+
+    private static CompressedBitmap of(long... values) {
+        CompressedBitmap.Builder builder = CompressedBitmap.builder();
+        for (long value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void shouldAnswerMembershipForSparseDenseAndRunContainers() {
+        CompressedBitmap.Builder builder = CompressedBitmap.builder();
+        builder.add(-70_000).add(3).add(70_000);
+        LongStream.range(1L << 20, (1L << 20) + 10_000).filter(v -> v % 3 != 0).forEach(builder::add);
+        LongStream.range(5L << 32, (5L << 32) + 50_000).forEach(builder::add);
+        CompressedBitmap bitmap = builder.build();
+
+        assertThat(bitmap.contains(-70_000)).isTrue();
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains((1L << 20) + 1)).isTrue();
+        assertThat(bitmap.contains((1L << 20) + 2)).isFalse();
+        assertThat(bitmap.contains((5L << 32) + 49_999)).isTrue();
+        assertThat(bitmap.contains((5L << 32) + 50_000)).isFalse();
+        assertThat(bitmap.contains(Long.MAX_VALUE)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(3 + 6_667 + 50_000);
+    }
+
+    @Test
+    void shouldMatchReferenceSetForRandomValues() {
+        Random random = new Random(42);
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            expected.add((long) random.nextInt(1 << 22));
+        }
+        CompressedBitmap.Builder builder = CompressedBitmap.builder();
+        expected.forEach(builder::add);
+        CompressedBitmap bitmap = builder.build();
+
+        for (long value = 0; value < 1 << 22; value += 7) {
+            assertThat(bitmap.contains(value)).isEqualTo(expected.contains(value));
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void shouldStayCompactForMostlyContiguousIds() {
+        CompressedBitmap.Builder builder = CompressedBitmap.builder();
+        LongStream.rangeClosed(1, 10_000_000).filter(id -> id % 100 != 0).forEach(builder::add);
+
+        CompressedBitmap bitmap = builder.build();
+
+        assertThat(bitmap.cardinality()).isEqualTo(9_900_000);
+        assertThat(bitmap.sizeInBytes()).isLessThan(2 * 1024 * 1024);
+        assertThat(bitmap.contains(9_999_999)).isTrue();
+        assertThat(bitmap.contains(10_000_000)).isFalse();
+        assertThat(bitmap.contains(0)).isFalse();
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThat(bitmap.contains(20_000_001)).isFalse();
+    }
+
+    @Test
+    void with_shouldAddAndRemoveWithoutChangingTheOriginal() {
+        CompressedBitmap original = of(1, 2, 3, 100_000);
+
+        CompressedBitmap updated = original.with(new long[] {200_000, 4, 2}, new long[] {100_000, 3, 999});
+
+        assertThat(updated.contains(1)).isTrue();
+        assertThat(updated.contains(2)).isTrue();
+        assertThat(updated.contains(3)).isFalse();
+        assertThat(updated.contains(4)).isTrue();
+        assertThat(updated.contains(100_000)).isFalse();
+        assertThat(updated.contains(200_000)).isTrue();
+        assertThat(updated.cardinality()).isEqualTo(4);
+        assertThat(original.cardinality()).isEqualTo(4);
+        assertThat(original.contains(100_000)).isTrue();
+        assertThat(original.with(new long[0], new long[0])).isSameAs(original);
+    }
+
+    @Test
+    void with_shouldConvertContainersAsTheyGrowAndShrink() {
+        CompressedBitmap runs = CompressedBitmap.empty().with(LongStream.range(0, 60_000).toArray(), new long[0]);
+        long runSize = runs.sizeInBytes();
+
+        CompressedBitmap holes = runs.with(new long[0], LongStream.range(0, 60_000).filter(v -> v % 2 == 0).toArray());
+        CompressedBitmap sparse = holes.with(new long[0], LongStream.range(0, 59_000).toArray());
+        CompressedBitmap empty = sparse.with(new long[] {1}, LongStream.range(0, 60_000).toArray());
+
+        assertThat(runSize).isLessThan(100);
+        assertThat(holes.cardinality()).isEqualTo(30_000);
+        assertThat(holes.contains(59_999)).isTrue();
+        assertThat(holes.contains(59_998)).isFalse();
+        assertThat(sparse.cardinality()).isEqualTo(500);
+        assertThat(sparse.sizeInBytes()).isLessThan(holes.sizeInBytes());
+        assertThat(sparse.contains(59_001)).isTrue();
+        assertThat(empty.cardinality()).isZero();
+        assertThat(empty.contains(1)).isFalse();
+    }
+
+    @Test
+    void builder_shouldRejectValuesOutOfOrder() {
+        CompressedBitmap.Builder builder = CompressedBitmap.builder().add(5);
+
+        assertThatThrownBy(() -> builder.add(5)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(CompressedBitmap.builder().build().cardinality()).isZero();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoCuenta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CuentaJdbcRepositoryTest {
+
+    private static final Instant FECHA = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static ResultSet row(long id, String estado) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getString(2)).thenReturn(estado);
+        return rs;
+    }
+
+    @Test
+    void streamAll_shouldReadAccountsInIdOrderWithFetchSize() throws Exception {
+        CuentaJdbcRepository repository = new CuentaJdbcRepository(jdbcTemplate);
+        List<String> cuentas = new ArrayList<>();
+
+        repository.streamAll(500, (id, estado, fecha) -> cuentas.add(id + ":" + estado + ":" + fecha));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT id_cuenta, estado, fecha_actualizacion FROM cuentas ORDER BY id_cuenta"),
+                setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(500);
+
+        ResultSet rs = row(7, "BLOQUEADA");
+        when(rs.getObject(3, OffsetDateTime.class)).thenReturn(FECHA.atOffset(ZoneOffset.UTC));
+        handler.getValue().processRow(rs);
+        assertThat(cuentas).containsExactly("7:BLOQUEADA:" + FECHA);
+    }
+
+    @Test
+    void streamChangedSince_shouldFilterOnChangeTime() throws Exception {
+        CuentaJdbcRepository repository = new CuentaJdbcRepository(jdbcTemplate);
+
+        repository.streamChangedSince(FECHA, 100, (id, estado, fecha) -> { });
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(eq("SELECT id_cuenta, estado, fecha_actualizacion FROM cuentas "
+                + "WHERE fecha_actualizacion >= ?"), setter.capture(), any(RowCallbackHandler.class));
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(100);
+        verify(statement).setObject(1, FECHA.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void findEstados_shouldReadTheStateOfEachRequestedAccount() throws Exception {
+        CuentaJdbcRepository repository = new CuentaJdbcRepository(jdbcTemplate);
+
+        Map<Long, EstadoCuenta> estados = repository.findEstados(3, 9);
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT id_cuenta, estado FROM cuentas WHERE id_cuenta IN (?, ?)"),
+                setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setLong(1, 3);
+        verify(statement).setLong(2, 9);
+        handler.getValue().processRow(row(9, "CERRADA"));
+        assertThat(estados).containsExactly(Map.entry(9L, EstadoCuenta.CERRADA));
+    }
+
+    @Test
+    void findEstados_shouldNotQuery_whenNoIdsAreGiven() {
+        assertThat(new CuentaJdbcRepository(jdbcTemplate).findEstados()).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CycleSearchTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static TransferGraph graph(long[][] edges) {
+        TransferGraph.Builder builder = TransferGraph.builder(edges.length);
+        for (long[] edge : edges) {
+            builder.add(edge[0], edge[1], edge[2]);
+        }
+        return builder.build(POOL);
+    }
+
+    private static CycleSearch.Cycles find(TransferGraph graph, int maxLength, int maxCycles) {
+        return CycleSearch.find(graph, StrongComponents.of(graph, POOL), maxLength, maxCycles, POOL);
+    }
+
+    private static List<List<Long>> cuentas(TransferGraph graph, CycleSearch.Cycles cycles) {
+        List<List<Long>> result = new ArrayList<>();
+        for (int cycle = 0; cycle < cycles.count(); cycle++) {
+            List<Long> cuentas = new ArrayList<>();
+            for (int position = 0; position < cycles.length(cycle); position++) {
+                cuentas.add(graph.cuenta(cycles.vertex(cycle, position)));
+            }
+            result.add(cuentas);
+        }
+        return result;
+    }
+
+    @Test
+    void find_shouldReportEachCycleOnceFromItsLowestAccount() {
+        TransferGraph graph = graph(new long[][]{
+                {20, 30, 500}, {30, 10, 300}, {10, 20, 900},
+                {10, 40, 100}, {40, 50, 100}, {50, 10, 100},
+                {20, 60, 50}, {60, 20, 50},
+                {70, 10, 1_000}});
+
+        CycleSearch.Cycles cycles = find(graph, 4, 100);
+
+        assertThat(cuentas(graph, cycles)).containsExactlyInAnyOrder(List.of(10L, 20L, 30L), List.of(10L, 40L, 50L));
+        assertThat(cycles.truncated()).isFalse();
+        int[] top = cycles.top(1);
+        assertThat(top).hasSize(1);
+        assertThat(cycles.importe(top[0])).isEqualTo(300);
+        assertThat(cycles.length(top[0])).isEqualTo(3);
+    }
+
+    @Test
+    void find_shouldRespectMaximumLength() {
+        TransferGraph graph = graph(new long[][]{
+                {1, 2, 10}, {2, 3, 10}, {3, 4, 10}, {4, 5, 10}, {5, 1, 10}, {3, 1, 5}});
+
+        assertThat(cuentas(graph, find(graph, 3, 100))).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(cuentas(graph, find(graph, 5, 100)))
+                .containsExactlyInAnyOrder(List.of(1L, 2L, 3L), List.of(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    void find_shouldStopAtMaximumCycles() {
+        List<long[]> edges = new ArrayList<>();
+        for (long a = 1; a <= 8; a++) {
+            for (long b = 1; b <= 8; b++) {
+                if (a != b) {
+                    edges.add(new long[]{a, b, a * 10 + b});
+                }
+            }
+        }
+        TransferGraph graph = graph(edges.toArray(new long[0][]));
+
+        CycleSearch.Cycles all = find(graph, 3, 1_000);
+        CycleSearch.Cycles capped = find(graph, 3, 10);
+
+        assertThat(all.count()).isEqualTo(2 * 56);
+        assertThat(all.truncated()).isFalse();
+        assertThat(capped.count()).isEqualTo(10);
+        assertThat(capped.truncated()).isTrue();
+        int[] top = all.top(3);
+        assertThat(all.importe(top[0])).isGreaterThanOrEqualTo(all.importe(top[1]));
+        assertThat(all.importe(top[1])).isGreaterThanOrEqualTo(all.importe(top[2]));
+        assertThat(all.top(0)).isEmpty();
+    }
+
+    @Test
+    void find_shouldFindNothingInAcyclicOrEmptyGraphs() {
+        assertThat(find(graph(new long[][]{{1, 2, 1}, {2, 3, 1}, {1, 3, 1}}), 4, 10).count()).isZero();
+        assertThat(find(graph(new long[0][]), 4, 10).count()).isZero();
+        assertThatThrownBy(() -> find(graph(new long[0][]), 2, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
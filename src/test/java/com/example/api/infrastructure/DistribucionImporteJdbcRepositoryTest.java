@@ -0,0 +1,89 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DistribucionImporteJdbcRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+    private static final LocalDate DIA = LocalDate.parse("2024-03-10");
+    private static final byte[] SKETCH = {1, 2, 3};
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findForUpdate_shouldLockTheRow() throws Exception {
+        DistribucionImporteJdbcRepository repository = new DistribucionImporteJdbcRepository(jdbcTemplate);
+        ArgumentCaptor<RowMapper<byte[]>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbcTemplate.query(eq("SELECT sketch FROM distribuciones_importe WHERE dia = ? AND divisa = ? "
+                + "FOR UPDATE"), mapper.capture(), eq(DIA), eq("EUR"))).thenReturn(List.of(SKETCH), List.of());
+
+        assertThat(repository.findForUpdate(DIA, "EUR")).isEqualTo(SKETCH);
+        assertThat(repository.findForUpdate(DIA, "EUR")).isNull();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes(1)).thenReturn(SKETCH);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(SKETCH);
+    }
+
+    @Test
+    void save_shouldInsertNewRowsAndUpdateExistingOnes() {
+        DistribucionImporteJdbcRepository repository = new DistribucionImporteJdbcRepository(jdbcTemplate);
+
+        repository.save(DIA, "EUR", SKETCH, 3, true, NOW);
+        repository.save(DIA, "USD", SKETCH, 4, false, NOW);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO distribuciones_importe"), eq(DIA), eq("EUR"),
+                eq(SKETCH), eq(3L), eq(NOW.atOffset(ZoneOffset.UTC)));
+        verify(jdbcTemplate).update(startsWith("UPDATE distribuciones_importe"), eq(SKETCH), eq(4L),
+                eq(NOW.atOffset(ZoneOffset.UTC)), eq(DIA), eq("USD"));
+    }
+
+    @Test
+    void deleteRange_shouldDeleteInclusiveDays() {
+        DistribucionImporteJdbcRepository repository = new DistribucionImporteJdbcRepository(jdbcTemplate);
+        when(jdbcTemplate.update("DELETE FROM distribuciones_importe WHERE dia >= ? AND dia <= ?", DIA,
+                DIA.plusDays(1))).thenReturn(2);
+
+        assertThat(repository.deleteRange(DIA, DIA.plusDays(1))).isEqualTo(2);
+    }
+
+    @Test
+    void findRange_shouldStreamSketchesOfOneCurrency() throws Exception {
+        DistribucionImporteJdbcRepository repository = new DistribucionImporteJdbcRepository(jdbcTemplate);
+        List<String> seen = new ArrayList<>();
+
+        repository.findRange("EUR", DIA, DIA.plusDays(1), (dia, sketch) -> seen.add(dia + ":" + sketch.length));
+
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(startsWith("SELECT dia, sketch FROM distribuciones_importe WHERE divisa = ?"),
+                handler.capture(), eq("EUR"), eq(DIA), eq(DIA.plusDays(1)));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, LocalDate.class)).thenReturn(DIA);
+        when(rs.getBytes(2)).thenReturn(SKETCH);
+        handler.getValue().processRow(rs);
+        assertThat(seen).containsExactly(DIA + ":3");
+    }
+}
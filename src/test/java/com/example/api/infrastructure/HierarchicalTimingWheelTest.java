@@ -0,0 +1,120 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private static List<Long> advance(HierarchicalTimingWheel wheel, long now) {
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(now, fired::add);
+        return fired;
+    }
+
+    @Test
+    void advance_shouldFireEachIdOnce_noEarlierThanItsDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, 4, 3, 0);
+        wheel.schedule(1, 2_500);
+        wheel.schedule(2, 3_000);
+        wheel.schedule(3, 40_000);
+
+        assertThat(advance(wheel, 2_999)).isEmpty();
+        assertThat(advance(wheel, 3_000)).containsExactly(1L, 2L);
+        assertThat(advance(wheel, 39_999)).isEmpty();
+        assertThat(advance(wheel, 41_000)).containsExactly(3L);
+        assertThat(advance(wheel, 100_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_shouldFireEveryDeadline_acrossAllLevelsAndBeyondTheTopLevel() {
+        // 8 slots x 3 levels span 512 ticks; later deadlines wait in the top level.
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 3, 1_000);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 5_000; id++) {
+            long deadline = 1_000 + random.nextInt(50_000);
+            deadlines.put(id, deadline);
+            wheel.schedule(id, deadline);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1_000; now <= 52_000; now += 7) {
+            long at = now;
+            wheel.advance(now, id -> assertThat(firedAt.put(id, at)).isNull());
+        }
+
+        assertThat(firedAt).hasSameSizeAs(deadlines);
+        deadlines.forEach((id, deadline) -> assertThat(firedAt.get(id))
+                .isGreaterThanOrEqualTo(deadline)
+                .isLessThan(deadline + 10 + 7));
+    }
+
+    @Test
+    void schedule_shouldReplacePreviousDeadline_andCancelShouldDropTheId() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, 8, 2, 0);
+
+        assertThat(wheel.schedule(1, 5_000)).isTrue();
+        assertThat(wheel.schedule(1, 9_000)).isFalse();
+        wheel.schedule(2, 6_000);
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+
+        assertThat(advance(wheel, 8_000)).isEmpty();
+        assertThat(wheel.contains(1)).isTrue();
+        assertThat(advance(wheel, 9_000)).containsExactly(1L);
+        assertThat(wheel.contains(1)).isFalse();
+    }
+
+    @Test
+    void schedule_shouldFirePastDeadlines_onNextAdvance() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, 8, 2, 10_000);
+        wheel.schedule(7, 1_000);
+
+        assertThat(advance(wheel, 10_000)).containsExactly(7L);
+    }
+
+    @Test
+    void advance_shouldJumpAhead_whenEmpty() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000, 8, 2, 0);
+        advance(wheel, 1_000_000_000L);
+        wheel.schedule(1, 1_000_002_000L);
+
+        assertThat(advance(wheel, 1_000_001_000L)).isEmpty();
+        assertThat(advance(wheel, 1_000_002_000L)).containsExactly(1L);
+    }
+
+    @Test
+    void index_shouldSurviveGrowthAndRemovals() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 64, 2, 0);
+        for (long id = 0; id < 10_000; id++) {
+            wheel.schedule(id * 31, 1_000 + id);
+        }
+        for (long id = 0; id < 10_000; id += 2) {
+            wheel.cancel(id * 31);
+        }
+
+        assertThat(wheel.size()).isEqualTo(5_000);
+        assertThat(wheel.contains(31)).isTrue();
+        assertThat(wheel.contains(62)).isFalse();
+        assertThat(advance(wheel, 20_000)).hasSize(5_000).allMatch(id -> id % 62 == 31);
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidGeometry() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel(0, 8, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel(1, 10, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel(1, 256, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
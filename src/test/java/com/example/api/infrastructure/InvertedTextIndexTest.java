@@ -0,0 +1,68 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedTextIndexTest {
+
+    @Test
+    void search_shouldMatchEveryTermAndRankByRelevance() {
+        InvertedTextIndex index = new InvertedTextIndex();
+        index.put(1, "Alquiler oficina marzo");
+        index.put(2, "Alquiler");
+        index.put(3, "Alquiler y alquiler: oficina");
+        index.put(4, "Nómina marzo");
+
+        assertThat(index.search("ALQUILER", null, 10)).extracting(TextMatch::id).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("alquiler oficina", null, 10)).extracting(TextMatch::id)
+                .containsExactlyInAnyOrder(3L, 1L);
+        assertThat(index.search("nómina", null, 10)).extracting(TextMatch::id).containsExactly(4L);
+        assertThat(index.search("alquiler nómina", null, 10)).isEmpty();
+        assertThat(index.search("inexistente", null, 10)).isEmpty();
+        assertThat(index.search(" ,; ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldPageStrictlyAfterThePreviousMatch() {
+        InvertedTextIndex index = new InvertedTextIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, "pago proveedor");
+        }
+
+        List<TextMatch> first = index.search("pago", null, 2);
+        List<TextMatch> second = index.search("pago", first.get(1), 2);
+        List<TextMatch> third = index.search("pago", second.get(1), 2);
+
+        assertThat(first).extracting(TextMatch::id).containsExactly(5L, 4L);
+        assertThat(second).extracting(TextMatch::id).containsExactly(3L, 2L);
+        assertThat(third).extracting(TextMatch::id).containsExactly(1L);
+    }
+
+    @Test
+    void put_shouldReplacePreviousText_andRemoveShouldForgetTheDocument() {
+        InvertedTextIndex index = new InvertedTextIndex();
+        index.put(1, "alquiler");
+        index.put(2, "alquiler");
+
+        index.put(1, "seguro hogar");
+        index.remove(2);
+        index.remove(99);
+
+        assertThat(index.search("alquiler", null, 10)).isEmpty();
+        assertThat(index.search("seguro", null, 10)).extracting(TextMatch::id).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.put(1, null);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void tokenize_shouldLowerCaseAndSplitOnPunctuation() {
+        assertThat(InvertedTextIndex.tokenize("Pago-Factura 2024/03, ÁREA")).containsExactly(
+                "pago", "factura", "2024", "03", "área");
+        assertThat(InvertedTextIndex.tokenize(null)).isEmpty();
+    }
+}
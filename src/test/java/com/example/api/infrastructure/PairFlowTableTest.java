@@ -0,0 +1,91 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PairFlowTableTest {
+
+    @Test
+    void add_shouldKeepBothDirectionsOfAPairInOneSlot() {
+        PairFlowTable table = new PairFlowTable(4);
+
+        table.add(200, 100, 500);
+        table.add(100, 200, 150);
+        table.add(100, 200, 50);
+        table.add(100, 300, 70);
+
+        assertThat(table.size()).isEqualTo(2);
+        int slot = slotOf(table, 100, 200);
+        assertThat(table.forward(slot)).isEqualTo(200);
+        assertThat(table.backward(slot)).isEqualTo(500);
+        assertThat(table.count(slot)).isEqualTo(3);
+    }
+
+    @Test
+    void add_shouldGrowAndKeepEveryPair() {
+        PairFlowTable table = new PairFlowTable(1);
+        for (long i = 0; i < 10_000; i++) {
+            table.add(i, i + 1, i);
+        }
+
+        assertThat(table.size()).isEqualTo(10_000);
+        assertThat(table.capacity()).isGreaterThanOrEqualTo(20_000);
+        Map<Long, Long> forward = new HashMap<>();
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.isUsed(slot)) {
+                assertThat(table.upper(slot)).isEqualTo(table.lower(slot) + 1);
+                forward.put(table.lower(slot), table.forward(slot));
+            }
+        }
+        assertThat(forward).hasSize(10_000).containsEntry(9_999L, 9_999L);
+    }
+
+    @Test
+    void merge_shouldAddThePairsOfAnotherTable() {
+        PairFlowTable table = new PairFlowTable(4);
+        table.add(100, 200, 150);
+        PairFlowTable other = new PairFlowTable(4);
+        other.add(200, 100, 500);
+        other.add(100, 300, 70);
+
+        table.merge(other);
+
+        assertThat(table.size()).isEqualTo(2);
+        int slot = slotOf(table, 100, 200);
+        assertThat(table.forward(slot)).isEqualTo(150);
+        assertThat(table.backward(slot)).isEqualTo(500);
+        assertThat(table.count(slot)).isEqualTo(2);
+        assertThat(table.count(slotOf(table, 100, 300))).isEqualTo(1);
+        assertThat(other.size()).isEqualTo(2);
+    }
+
+    @Test
+    void add_shouldFailOnOverflow() {
+        PairFlowTable table = new PairFlowTable(4);
+        table.add(1, 2, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> table.add(1, 2, 1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void capacityFor_shouldRejectOversizedTables() {
+        assertThat(PairFlowTable.capacityFor(0)).isEqualTo(16);
+        assertThat(PairFlowTable.capacityFor(100)).isEqualTo(256);
+        assertThatThrownBy(() -> PairFlowTable.capacityFor(Integer.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int slotOf(PairFlowTable table, long lower, long upper) {
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.isUsed(slot) && table.lower(slot) == lower && table.upper(slot) == upper) {
+                return slot;
+            }
+        }
+        throw new AssertionError("Pair not found");
+    }
+}
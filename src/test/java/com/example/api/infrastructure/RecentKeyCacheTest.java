@@ -0,0 +1,85 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentKeyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void get_shouldReturnCachedValue_untilItExpires() {
+        RecentKeyCache<String> cache = new RecentKeyCache<>(10, Duration.ofNanos(100), clock::get);
+        cache.put("a", "1");
+
+        clock.set(100);
+        assertThat(cache.get("a")).isEqualTo("1");
+        clock.set(101);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    void put_shouldEvictOldestKeys_whenBoundIsExceeded() {
+        RecentKeyCache<String> cache = new RecentKeyCache<>(2, Duration.ofMinutes(1), clock::get);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("b", "2'");
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2'");
+        assertThat(cache.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    void put_shouldEvictInInsertionOrder_whenAnExpiredKeyIsCachedAgain() {
+        RecentKeyCache<String> cache = new RecentKeyCache<>(2, Duration.ofNanos(100), clock::get);
+        cache.put("a", "1");
+        clock.set(101);
+        assertThat(cache.get("a")).isNull();
+
+        cache.put("b", "2");
+        cache.put("a", "1'");
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1'");
+        assertThat(cache.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    void put_shouldDropExpiredEntries_withoutGrowingBeyondLiveKeys() {
+        RecentKeyCache<String> cache = new RecentKeyCache<>(1000, Duration.ofNanos(100), clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            clock.addAndGet(10);
+            cache.put("k" + (i % 50), "v" + i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(11);
+        assertThat(cache.get("k49")).isEqualTo("v9999");
+    }
+
+    @Test
+    void remove_shouldDropTheKey_andKeepTheOthers() {
+        RecentKeyCache<String> cache = new RecentKeyCache<>(10, Duration.ofMinutes(1), clock::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.remove("a");
+        cache.remove("missing");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenDiarioJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+    private static final LocalDate DIA = LocalDate.parse("2024-03-10");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyDeltas_shouldBatchUpsertsIntoSlots() throws Exception {
+        ResumenDiarioJdbcRepository repository = new ResumenDiarioJdbcRepository(jdbcTemplate,
+                DatabasePlatform.POSTGRESQL);
+        List<ResumenDelta> deltas = List.of(
+                new ResumenDelta(DIA, "EUR", EstadoTransferencia.COMPLETADA, 3, 1, new BigDecimal("9.99")));
+
+        repository.applyDeltas(deltas, NOW);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<ResumenDelta>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(deltas), eq(1), setter.capture());
+        assertThat(sql.getValue()).contains("ON CONFLICT (dia, divisa, estado, slot) DO UPDATE SET "
+                + "cantidad = resumenes_diarios.cantidad + EXCLUDED.cantidad");
+
+        setter.getValue().setValues(statement, deltas.get(0));
+        verify(statement).setObject(1, DIA);
+        verify(statement).setString(3, "COMPLETADA");
+        verify(statement).setInt(4, 3);
+        verify(statement).setLong(5, 1L);
+        verify(statement).setBigDecimal(6, new BigDecimal("9.99"));
+    }
+
+    @Test
+    void rebuild_shouldReplaceRangeFromTransfers() {
+        ResumenDiarioJdbcRepository repository = new ResumenDiarioJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        LocalDate hasta = DIA.plusDays(1);
+        when(jdbcTemplate.update("DELETE FROM resumenes_diarios WHERE dia >= ? AND dia < ?", DIA, hasta))
+                .thenReturn(4);
+        when(jdbcTemplate.update(startsWith("INSERT INTO resumenes_diarios"), eq(NOW.atOffset(ZoneOffset.UTC)),
+                eq(DIA.atStartOfDay().atOffset(ZoneOffset.UTC)), eq(hasta.atStartOfDay().atOffset(ZoneOffset.UTC))))
+                .thenReturn(3);
+
+        assertThat(repository.rebuild(DIA, hasta, NOW)).isEqualTo(3);
+    }
+
+    @Test
+    void findDiarios_shouldSumSlotsWithOptionalFilters() {
+        ResumenDiarioJdbcRepository repository = new ResumenDiarioJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.findDiarios(new ResumenCriteria(DIA, DIA, "EUR", EstadoTransferencia.PENDIENTE));
+
+        verify(jdbcTemplate).query(eq("SELECT dia, divisa, estado, SUM(cantidad) AS cantidad, "
+                        + "SUM(importe_total) AS importe_total FROM resumenes_diarios "
+                        + "WHERE dia >= ? AND dia <= ? AND divisa = ? AND estado = ? "
+                        + "GROUP BY dia, divisa, estado HAVING SUM(cantidad) <> 0 ORDER BY dia, divisa, estado"),
+                any(RowMapper.class), eq(DIA), eq(DIA), eq("EUR"), eq("PENDIENTE"));
+    }
+
+    @Test
+    void findTotales_shouldGroupByCurrencyAndState() {
+        ResumenDiarioJdbcRepository repository = new ResumenDiarioJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.findTotales(new ResumenCriteria(DIA, DIA.plusDays(6), null, null));
+
+        verify(jdbcTemplate).query(eq("SELECT divisa, estado, SUM(cantidad) AS cantidad, "
+                        + "SUM(importe_total) AS importe_total FROM resumenes_diarios WHERE dia >= ? AND dia <= ? "
+                        + "GROUP BY divisa, estado HAVING SUM(cantidad) <> 0 ORDER BY divisa, estado"),
+                any(RowMapper.class), eq(DIA), eq(DIA.plusDays(6)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoCierreJdbcRepositoryTest {
+
+    private static final LocalDate ABRIL = LocalDate.of(2024, 4, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAll_shouldBatchPostgresUpsertsReplacingEarlierAttempts() throws Exception {
+        SaldoCierreJdbcRepository repository = new SaldoCierreJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        List<SaldoCerrado> saldos = List.of(new SaldoCerrado(100L, "EUR", -1250L));
+
+        repository.saveAll(ABRIL, saldos);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<SaldoCerrado>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(saldos), eq(1), setter.capture());
+        assertThat(sql.getValue())
+                .endsWith("ON CONFLICT (fecha, cuenta_id, divisa) DO UPDATE SET saldo = EXCLUDED.saldo");
+
+        setter.getValue().setValues(statement, saldos.get(0));
+        verify(statement).setObject(1, ABRIL);
+        verify(statement).setLong(2, 100L);
+        verify(statement).setString(3, "EUR");
+        verify(statement).setBigDecimal(4, new BigDecimal("-12.50"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAll_shouldUseMerge_onH2() {
+        SaldoCierreJdbcRepository repository = new SaldoCierreJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.saveAll(ABRIL, List.of(new SaldoCerrado(100L, "EUR", 1L)));
+
+        verify(jdbcTemplate).batchUpdate(startsWith("MERGE INTO saldos_cierre"), any(List.class), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findCuentaRange_shouldReturnBoundsOrNull() throws Exception {
+        SaldoCierreJdbcRepository repository = new SaldoCierreJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        ArgumentCaptor<RowMapper<long[]>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+
+        repository.findCuentaRange(ABRIL);
+
+        verify(jdbcTemplate).queryForObject(anyString(), mapper.capture(), eq(ABRIL));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(100L);
+        when(rs.getLong(2)).thenReturn(900L);
+        when(rs.wasNull()).thenReturn(false, true);
+        assertThat(mapper.getValue().mapRow(rs, 0)).containsExactly(100L, 900L);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isNull();
+    }
+
+    @Test
+    void deleteBefore_shouldDropOlderBalances() {
+        SaldoCierreJdbcRepository repository = new SaldoCierreJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        when(jdbcTemplate.update("DELETE FROM saldos_cierre WHERE fecha < ?", ABRIL)).thenReturn(3);
+
+        assertThat(repository.deleteBefore(ABRIL)).isEqualTo(3);
+    }
+}
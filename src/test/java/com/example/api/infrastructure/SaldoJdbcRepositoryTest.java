@@ -0,0 +1,98 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyDeltas_shouldBatchPostgresUpserts() throws Exception {
+        SaldoJdbcRepository repository = new SaldoJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        List<SaldoDelta> deltas = List.of(new SaldoDelta(100L, "EUR", new BigDecimal("5.00")));
+
+        repository.applyDeltas(deltas, NOW);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<SaldoDelta>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(deltas), eq(1), setter.capture());
+        assertThat(sql.getValue()).contains("ON CONFLICT (cuenta_id, divisa) DO UPDATE SET "
+                + "saldo = saldos_cuenta.saldo + EXCLUDED.saldo");
+
+        setter.getValue().setValues(statement, deltas.get(0));
+        verify(statement).setLong(1, 100L);
+        verify(statement).setString(2, "EUR");
+        verify(statement).setBigDecimal(3, new BigDecimal("5.00"));
+        verify(statement).setObject(4, NOW.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyDeltas_shouldUseMerge_onH2() {
+        SaldoJdbcRepository repository = new SaldoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.applyDeltas(List.of(new SaldoDelta(100L, "EUR", BigDecimal.ONE)), NOW);
+
+        verify(jdbcTemplate).batchUpdate(startsWith("MERGE INTO saldos_cuenta"), any(List.class), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void addArchived_shouldAddNetAmountsOfTheChunk_withPostgresUpsert() {
+        SaldoJdbcRepository repository = new SaldoJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        Instant hasta = NOW.plusSeconds(86_400);
+        when(jdbcTemplate.update(startsWith("INSERT INTO saldos_archivados"), eq(NOW.atOffset(ZoneOffset.UTC)),
+                eq(hasta.atOffset(ZoneOffset.UTC)), eq(40L), eq(90L), eq(NOW.atOffset(ZoneOffset.UTC)),
+                eq(hasta.atOffset(ZoneOffset.UTC)), eq(40L), eq(90L))).thenReturn(6);
+
+        assertThat(repository.addArchived(NOW, hasta, 40, 90)).isEqualTo(6);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(sql.capture(), any(Object[].class));
+        assertThat(sql.getValue()).contains("estado = 'COMPLETADA'", "-importe",
+                "ON CONFLICT (cuenta_id, divisa) DO UPDATE SET saldo = saldos_archivados.saldo + EXCLUDED.saldo");
+    }
+
+    @Test
+    void rebuildPartition_shouldReplacePartitionFromCompletedTransfersAndArchivedTotals() {
+        SaldoJdbcRepository repository = new SaldoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        when(jdbcTemplate.update("DELETE FROM saldos_cuenta WHERE ABS(MOD(cuenta_id, ?)) = ?", 8, 3)).thenReturn(10);
+        when(jdbcTemplate.update(startsWith("INSERT INTO saldos_cuenta"), eq(NOW.atOffset(ZoneOffset.UTC)),
+                eq(8), eq(3), eq(8), eq(3), eq(8), eq(3))).thenReturn(12);
+
+        assertThat(repository.rebuildPartition(8, 3, NOW)).isEqualTo(12);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(sql.capture(), eq(NOW.atOffset(ZoneOffset.UTC)), eq(8), eq(3), eq(8), eq(3),
+                eq(8), eq(3));
+        assertThat(sql.getValue()).contains("FROM saldos_archivados WHERE ABS(MOD(cuenta_id, ?)) = ?");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void put_shouldNeverProduceFalseNegatives_andRespectTheTargetRate() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01, 1 << 20);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("REF-" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("REF-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("OTHER-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.01);
+        assertThat(filter.sliceCount()).isEqualTo(5);
+        assertThat(filter.isSaturated()).isFalse();
+        assertThat(filter.estimatedFalsePositiveRate()).isLessThan(0.01);
+        assertThat(filter.approximateElementCount()).isBetween(19_500L, 20_000L);
+    }
+
+    @Test
+    void put_shouldReportWhetherTheElementWasNew() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01, 1 << 20);
+
+        assertThat(filter.put("REF-1")).isTrue();
+        assertThat(filter.put("REF-1")).isFalse();
+        assertThat(filter.mightContain("REF-2")).isFalse();
+        assertThat(filter.approximateElementCount()).isEqualTo(1);
+        assertThat(filter.falsePositiveRate()).isEqualTo(0.01);
+    }
+
+    @Test
+    void put_shouldStopGrowing_atTheMemoryBudget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01, 4_096);
+        long firstSlice = filter.memoryBytes();
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("REF-" + i);
+        }
+
+        assertThat(filter.isSaturated()).isTrue();
+        assertThat(filter.memoryBytes()).isLessThanOrEqualTo(Math.max(4_096, firstSlice));
+        assertThat(filter.estimatedFalsePositiveRate()).isGreaterThan(0.01);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("REF-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void put_shouldBeSafeUnderConcurrentWriters() throws Exception {
+        ScalableBloomFilter filter = new ScalableBloomFilter(500, 0.01, 1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 5_000;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    filter.put("REF-" + (offset + i));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("REF-" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingHeavyHittersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void top_shouldMergeTheLiveBucketsHeaviestFirst() {
+        SlidingHeavyHitters hitters = new SlidingHeavyHitters(Duration.ofNanos(100), 10, 4, clock::get);
+
+        hitters.add(1, 50);
+        hitters.add(2, 30);
+        clock.set(10);
+        hitters.add(2, 40);
+        hitters.add(3, 5);
+
+        SlidingHeavyHitters.Snapshot snapshot = hitters.top(2);
+        assertThat(snapshot.total()).isEqualTo(125);
+        assertThat(snapshot.hitters()).containsExactly(new HeavyHitter(2, 70, 0), new HeavyHitter(1, 50, 0));
+        assertThat(hitters.total()).isEqualTo(125);
+        assertThat(hitters.capacity()).isEqualTo(4);
+    }
+
+    @Test
+    void top_shouldForgetBucketsAsTheWindowSlides() {
+        SlidingHeavyHitters hitters = new SlidingHeavyHitters(Duration.ofNanos(100), 10, 4, clock::get);
+
+        hitters.add(1, 50);
+        clock.set(50);
+        hitters.add(2, 10);
+        clock.set(105);
+
+        assertThat(hitters.top(10).hitters()).containsExactly(new HeavyHitter(2, 10, 0));
+        clock.set(1000);
+        assertThat(hitters.top(10).total()).isZero();
+        assertThat(hitters.top(10).hitters()).isEmpty();
+
+        hitters.add(3, 7);
+        assertThat(hitters.top(10).hitters()).containsExactly(new HeavyHitter(3, 7, 0));
+    }
+
+    @Test
+    void top_shouldBoundKeysMissingFromFullBuckets() {
+        SlidingHeavyHitters hitters = new SlidingHeavyHitters(Duration.ofNanos(100), 2, 2, clock::get);
+
+        hitters.add(1, 100);
+        hitters.add(2, 20);
+        hitters.add(3, 10);
+        clock.set(50);
+        hitters.add(3, 40);
+
+        // Bucket 0 keeps 1 (100) and 3 (30, error 20); bucket 1 keeps 3 (40) and has free counters.
+        SlidingHeavyHitters.Snapshot snapshot = hitters.top(5);
+        assertThat(snapshot.total()).isEqualTo(170);
+        assertThat(snapshot.hitters()).containsExactly(new HeavyHitter(1, 100, 0), new HeavyHitter(3, 70, 20));
+    }
+}
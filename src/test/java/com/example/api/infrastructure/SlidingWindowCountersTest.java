@@ -0,0 +1,125 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCountersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SlidingWindowCounters<String> counters() {
+        return new SlidingWindowCounters<>(Duration.ofNanos(100), 10, 4, clock::get);
+    }
+
+    @Test
+    void tryAdd_shouldRejectOnceCountLimitIsReached() {
+        SlidingWindowCounters<String> counters = counters();
+
+        assertThat(counters.tryAdd("a", 5, 2, Long.MAX_VALUE)).isZero();
+        assertThat(counters.tryAdd("a", 5, 2, Long.MAX_VALUE)).isZero();
+        assertThat(counters.tryAdd("a", 5, 2, Long.MAX_VALUE)).isEqualTo(SlidingWindowCounters.REJECTED);
+        assertThat(counters.tryAdd("b", 5, 2, Long.MAX_VALUE)).isZero();
+
+        assertThat(counters.totals("a")).containsExactly(2, 10);
+        assertThat(counters.totals("missing")).containsExactly(0, 0);
+    }
+
+    @Test
+    void tryAdd_shouldRejectOnceAmountLimitWouldBeExceeded() {
+        SlidingWindowCounters<String> counters = counters();
+
+        assertThat(counters.tryAdd("a", 60, Long.MAX_VALUE, 100)).isZero();
+        assertThat(counters.tryAdd("a", 41, Long.MAX_VALUE, 100)).isEqualTo(SlidingWindowCounters.REJECTED);
+        assertThat(counters.tryAdd("a", 40, Long.MAX_VALUE, 100)).isZero();
+        assertThat(counters.totals("a")).containsExactly(2, 100);
+    }
+
+    @Test
+    void tryAdd_shouldForgetBucketsAsTheWindowSlides() {
+        SlidingWindowCounters<String> counters = counters();
+        counters.tryAdd("a", 1, 3, Long.MAX_VALUE);
+        clock.set(50);
+        counters.tryAdd("a", 1, 3, Long.MAX_VALUE);
+        counters.tryAdd("a", 1, 3, Long.MAX_VALUE);
+
+        clock.set(99);
+        assertThat(counters.tryAdd("a", 1, 3, Long.MAX_VALUE)).isEqualTo(SlidingWindowCounters.REJECTED);
+        clock.set(100);
+        assertThat(counters.tryAdd("a", 1, 3, Long.MAX_VALUE)).isEqualTo(10);
+        assertThat(counters.totals("a")).containsExactly(3, 3);
+        clock.set(160);
+        assertThat(counters.totals("a")).containsExactly(1, 1);
+    }
+
+    @Test
+    void release_shouldWithdrawAnEvent_whileItsBucketIsLive() {
+        SlidingWindowCounters<String> counters = counters();
+        long epoch = counters.tryAdd("a", 7, 1, Long.MAX_VALUE);
+
+        counters.release("a", epoch, 7);
+        assertThat(counters.totals("a")).containsExactly(0, 0);
+        assertThat(counters.tryAdd("a", 7, 1, Long.MAX_VALUE)).isZero();
+
+        clock.set(100);
+        counters.tryAdd("a", 7, 2, Long.MAX_VALUE);
+        counters.release("a", epoch, 7);
+        counters.release("missing", epoch, 7);
+        assertThat(counters.totals("a")).containsExactly(1, 7);
+    }
+
+    @Test
+    void evictIdle_shouldDropKeysIdleForAWholeWindow() {
+        SlidingWindowCounters<String> counters = counters();
+        counters.tryAdd("a", 1, 10, Long.MAX_VALUE);
+        clock.set(60);
+        counters.tryAdd("b", 1, 10, Long.MAX_VALUE);
+
+        clock.set(100);
+        assertThat(counters.evictIdle()).isEqualTo(1);
+        assertThat(counters.size()).isEqualTo(1);
+        assertThat(counters.totals("a")).containsExactly(0, 0);
+        assertThat(counters.tryAdd("a", 1, 1, Long.MAX_VALUE)).isEqualTo(10);
+        assertThat(counters.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAdd_shouldNeverOvershootLimit_underContention() throws Exception {
+        SlidingWindowCounters<String> counters = new SlidingWindowCounters<>(Duration.ofHours(1), 10, 4);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            accepted.add(executor.submit(() -> {
+                start.await();
+                int ok = 0;
+                for (int i = 0; i < 10_000; i++) {
+                    if (counters.tryAdd("hot", 3, 5_000, 12_000) != SlidingWindowCounters.REJECTED) {
+                        ok++;
+                    }
+                }
+                return ok;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> future : accepted) {
+            total += future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(4_000);
+        assertThat(counters.totals("hot")).containsExactly(4_000, 12_000);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceSavingSketchTest {
+
+    private static Map<Long, long[]> entries(SpaceSavingSketch sketch) {
+        Map<Long, long[]> entries = new HashMap<>();
+        for (int i = 0; i < sketch.size(); i++) {
+            entries.put(sketch.key(i), new long[] {sketch.count(i), sketch.error(i)});
+        }
+        return entries;
+    }
+
+    @Test
+    void add_shouldCountExactlyWhileThereAreFreeCounters() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+
+        sketch.add(7, 100);
+        sketch.add(8, 50);
+        sketch.add(7, 25);
+
+        assertThat(sketch.total()).isEqualTo(175);
+        assertThat(sketch.minCount()).isZero();
+        assertThat(entries(sketch)).containsOnlyKeys(7L, 8L);
+        assertThat(entries(sketch).get(7L)).containsExactly(125, 0);
+        assertThat(entries(sketch).get(8L)).containsExactly(50, 0);
+    }
+
+    @Test
+    void add_shouldReplaceTheLightestKeyAndRecordItsCountAsError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+
+        sketch.add(1, 10);
+        sketch.add(2, 3);
+        sketch.add(3, 5);
+
+        assertThat(entries(sketch)).containsOnlyKeys(1L, 3L);
+        assertThat(entries(sketch).get(3L)).containsExactly(8, 3);
+        assertThat(sketch.minCount()).isEqualTo(8);
+
+        sketch.clear();
+        sketch.add(4, 1);
+        assertThat(sketch.total()).isEqualTo(1);
+        assertThat(entries(sketch)).containsOnlyKeys(4L);
+    }
+
+    @Test
+    void add_shouldKeepEveryKeyAboveTheErrorBoundOnASkewedStream() {
+        int capacity = 50;
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        Map<Long, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(10) < 3 ? random.nextInt(5) : random.nextInt(20_000);
+            long weight = 1 + random.nextInt(1000);
+            sketch.add(key, weight);
+            exact.merge(key, weight, Long::sum);
+        }
+
+        long bound = sketch.total() / capacity;
+        Map<Long, long[]> entries = entries(sketch);
+        assertThat(entries).hasSize(capacity);
+        entries.forEach((key, counts) -> {
+            long weight = exact.get(key);
+            assertThat(counts[0]).isGreaterThanOrEqualTo(weight);
+            assertThat(counts[0] - counts[1]).isLessThanOrEqualTo(weight);
+            assertThat(counts[1]).isLessThanOrEqualTo(bound);
+        });
+        exact.forEach((key, weight) -> {
+            if (weight > bound) {
+                assertThat(entries).containsKey(key);
+            }
+        });
+        assertThat(entries).containsKeys(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void add_shouldRejectNegativeWeightsAndEmptySketches() {
+        assertThatThrownBy(() -> new SpaceSavingSketch(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpaceSavingSketch(1).add(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
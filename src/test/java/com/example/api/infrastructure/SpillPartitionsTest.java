@@ -0,0 +1,81 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpillPartitionsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackEveryRecordFromItsPartitionInOrder() {
+        try (SpillPartitions spill = new SpillPartitions(directory, "test", 4, 64)) {
+            List<RegistroConciliacion> written = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                RegistroConciliacion registro = new RegistroConciliacion(i, "REF-" + i % 300, i * 100L, 19_800 + i % 3,
+                        i % 2 == 0 ? "EUR" : null);
+                written.add(registro);
+                spill.add(registro);
+            }
+            spill.finish();
+
+            List<RegistroConciliacion> read = new ArrayList<>();
+            long total = 0;
+            for (int p = 0; p < spill.partitions(); p++) {
+                int partition = p;
+                List<RegistroConciliacion> records = new ArrayList<>();
+                spill.forEach(p, records::add);
+                assertThat(records).hasSize((int) spill.count(p)).allSatisfy(registro ->
+                        assertThat(SpillPartitions.partitionOf(registro.referencia(), 4)).isEqualTo(partition));
+                assertThat(records).isSortedAccordingTo((a, b) -> Long.compare(a.origen(), b.origen()));
+                read.addAll(records);
+                total += spill.count(p);
+            }
+            assertThat(total).isEqualTo(1_000);
+            assertThat(read).containsExactlyInAnyOrderElementsOf(written);
+        }
+    }
+
+    @Test
+    void shouldDeleteItsFilesOnClose() throws Exception {
+        SpillPartitions spill = new SpillPartitions(directory, "test", 3, 64);
+        spill.add(new RegistroConciliacion(1, "REF-1", 100, 1, "EUR"));
+        assertThat(Files.list(directory)).hasSize(3);
+
+        spill.close();
+
+        assertThat(Files.list(directory)).isEmpty();
+        assertThatThrownBy(() -> spill.add(new RegistroConciliacion(2, "REF-2", 100, 1, "EUR")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldOnlyReadFinishedPartitions() {
+        try (SpillPartitions spill = new SpillPartitions(directory, "test", 1, 64)) {
+            assertThatThrownBy(() -> spill.forEach(0, registro -> { }))
+                    .isInstanceOf(IllegalStateException.class);
+            spill.finish();
+            spill.finish();
+            assertThatThrownBy(() -> spill.add(new RegistroConciliacion(1, "REF-1", 100, 1, "EUR")))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidPartitionCounts() {
+        assertThatThrownBy(() -> new SpillPartitions(directory, "test", 0, 64))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpillPartitions(directory.resolve("missing"), "test", 2, 64))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StrongComponentsTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static TransferGraph graph(long[][] edges) {
+        TransferGraph.Builder builder = TransferGraph.builder(edges.length);
+        for (long[] edge : edges) {
+            builder.add(edge[0], edge[1], 100);
+        }
+        return builder.build(POOL);
+    }
+
+    private static int componentOf(TransferGraph graph, StrongComponents components, long cuenta) {
+        return components.component(graph.vertexOf(cuenta));
+    }
+
+    @Test
+    void of_shouldGroupMutuallyReachableAccounts() {
+        TransferGraph graph = graph(new long[][]{
+                {1, 2}, {2, 3}, {3, 1}, {3, 4}, {4, 5}, {5, 4}, {6, 1}, {5, 7}});
+
+        StrongComponents components = StrongComponents.of(graph, POOL);
+
+        assertThat(components.count()).isEqualTo(4);
+        int ciclo = componentOf(graph, components, 1);
+        assertThat(componentOf(graph, components, 3)).isEqualTo(ciclo);
+        assertThat(components.size(ciclo)).isEqualTo(3);
+        assertThat(components.size(componentOf(graph, components, 5))).isEqualTo(2);
+        assertThat(components.size(componentOf(graph, components, 6))).isEqualTo(1);
+        assertThat(componentOf(graph, components, 7)).isNotEqualTo(componentOf(graph, components, 5));
+        assertThat(components.component(0)).isZero();
+    }
+
+    @Test
+    void of_shouldSplitLargeGraphsIntoKnownRings() {
+        SplittableRandom random = new SplittableRandom(11);
+        int rings = 20;
+        int ringSize = 1_000;
+        long[] ids = new long[rings * ringSize];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        TransferGraph.Builder builder = TransferGraph.builder(ids.length * 2);
+        for (int r = 0; r < rings; r++) {
+            for (int i = 0; i < ringSize; i++) {
+                builder.add(ids[r * ringSize + i], ids[r * ringSize + (i + 1) % ringSize], 1);
+                builder.add(ids[r * ringSize + i], ids[r * ringSize + random.nextInt(ringSize)], 1);
+            }
+            for (int k = 0; k < 50 && r + 1 < rings; k++) {
+                int target = r + 1 + random.nextInt(rings - r - 1);
+                builder.add(ids[r * ringSize + random.nextInt(ringSize)],
+                        ids[target * ringSize + random.nextInt(ringSize)], 1);
+            }
+        }
+        for (long tail = 0; tail < 5_000; tail++) {
+            builder.add(1_000_000 + tail, ids[random.nextInt(ids.length)], 1);
+        }
+        TransferGraph graph = builder.build(POOL);
+
+        StrongComponents components = StrongComponents.of(graph, POOL);
+
+        assertThat(components.count()).isEqualTo(rings + 5_000);
+        for (int r = 0; r < rings; r++) {
+            int component = componentOf(graph, components, ids[r * ringSize]);
+            assertThat(components.size(component)).isEqualTo(ringSize);
+            for (int i = 1; i < ringSize; i++) {
+                assertThat(componentOf(graph, components, ids[r * ringSize + i])).isEqualTo(component);
+            }
+        }
+    }
+
+    @Test
+    void of_shouldHandleLongChainsOfSmallComponents() {
+        TransferGraph.Builder builder = TransferGraph.builder(30_000);
+        int pairs = 10_000;
+        for (long i = 0; i < pairs; i++) {
+            builder.add(2 * i, 2 * i + 1, 1);
+            builder.add(2 * i + 1, 2 * i, 1);
+            if (i + 1 < pairs) {
+                builder.add(2 * i + 1, 2 * i + 2, 1);
+            }
+        }
+        TransferGraph graph = builder.build(POOL);
+
+        StrongComponents components = StrongComponents.of(graph, POOL);
+
+        assertThat(components.count()).isEqualTo(pairs);
+        for (int c = 0; c < pairs; c++) {
+            assertThat(components.size(c)).isEqualTo(2);
+            assertThat(components.component(2 * c + 1)).isEqualTo(c);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TDigestTest {
+
+    private static List<Double> shuffled(int n, long seed) {
+        List<Double> values = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            values.add((double) i);
+        }
+        Collections.shuffle(values, new Random(seed));
+        return values;
+    }
+
+    @Test
+    void quantile_shouldEstimateUniformValuesAccurately() {
+        TDigest digest = new TDigest(200);
+        shuffled(100_000, 1).forEach(digest::add);
+
+        assertThat(digest.count()).isEqualTo(100_000);
+        assertThat(digest.min()).isEqualTo(1.0);
+        assertThat(digest.max()).isEqualTo(100_000.0);
+        assertThat(digest.quantile(0.5)).isCloseTo(50_000, within(500.0));
+        assertThat(digest.quantile(0.99)).isCloseTo(99_000, within(100.0));
+        assertThat(digest.quantile(0.999)).isCloseTo(99_900, within(20.0));
+        assertThat(digest.quantile(0)).isEqualTo(1.0);
+        assertThat(digest.quantile(1)).isEqualTo(100_000.0);
+        assertThat(digest.centroids()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void quantile_shouldKeepTheTailOfSkewedValues() {
+        TDigest digest = new TDigest(100);
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            digest.add(random.nextInt(100) == 0 ? 1_000_000 + random.nextInt(1000) : random.nextInt(1000));
+        }
+
+        assertThat(digest.quantile(0.5)).isLessThan(1000);
+        assertThat(digest.quantile(0.999)).isGreaterThan(1_000_000);
+    }
+
+    @Test
+    void merge_shouldMatchADigestOfTheUnion() {
+        TDigest a = new TDigest(200);
+        TDigest b = new TDigest(200);
+        List<Double> values = shuffled(20_000, 3);
+        for (int i = 0; i < values.size(); i++) {
+            (i % 3 == 0 ? a : b).add(values.get(i));
+        }
+        a.quantile(0.5);
+
+        TDigest merged = new TDigest(200);
+        merged.merge(a);
+        merged.merge(b);
+        merged.merge(new TDigest(50));
+
+        assertThat(merged.count()).isEqualTo(20_000);
+        assertThat(merged.min()).isEqualTo(1.0);
+        assertThat(merged.max()).isEqualTo(20_000.0);
+        assertThat(merged.quantile(0.5)).isCloseTo(10_000, within(150.0));
+        assertThat(merged.quantile(0.999)).isCloseTo(19_980, within(10.0));
+        assertThat(b.count()).isEqualTo(20_000 - a.count());
+    }
+
+    @Test
+    void add_shouldHonourWeights() {
+        TDigest digest = new TDigest(100);
+        digest.add(10, 9);
+        digest.add(1000);
+
+        assertThat(digest.count()).isEqualTo(10);
+        assertThat(digest.quantile(0.4)).isEqualTo(10.0);
+        assertThat(digest.quantile(0.5)).isBetween(10.0, 1000.0);
+        assertThat(digest.quantile(1)).isEqualTo(1000.0);
+    }
+
+    @Test
+    void quantile_shouldReturnTheOnlyValue() {
+        TDigest digest = new TDigest(100);
+        digest.add(42);
+
+        assertThat(digest.quantile(0.01)).isEqualTo(42.0);
+        assertThat(digest.quantile(0.99)).isEqualTo(42.0);
+    }
+
+    @Test
+    void emptyDigest_shouldReturnNaN() {
+        TDigest digest = new TDigest(100);
+
+        assertThat(digest.count()).isZero();
+        assertThat(digest.quantile(0.5)).isNaN();
+        assertThat(digest.min()).isNaN();
+        assertThat(digest.max()).isNaN();
+        assertThat(TDigest.fromBytes(digest.toBytes()).count()).isZero();
+    }
+
+    @Test
+    void toBytes_shouldRoundTrip() {
+        TDigest digest = new TDigest(100);
+        shuffled(5000, 5).forEach(digest::add);
+
+        TDigest copy = TDigest.fromBytes(digest.toBytes());
+
+        assertThat(copy.count()).isEqualTo(5000);
+        assertThat(copy.min()).isEqualTo(1.0);
+        assertThat(copy.max()).isEqualTo(5000.0);
+        assertThat(copy.centroids()).isEqualTo(digest.centroids());
+        for (double q : new double[] {0.001, 0.1, 0.5, 0.9, 0.999}) {
+            assertThat(copy.quantile(q)).isEqualTo(digest.quantile(q));
+        }
+        copy.add(10_000);
+        assertThat(copy.max()).isEqualTo(10_000.0);
+    }
+
+    @Test
+    void fromBytes_shouldRejectCorruptInput() {
+        byte[] bytes = new TDigest(100).toBytes();
+        bytes[0] = 9;
+
+        assertThatThrownBy(() -> TDigest.fromBytes(bytes)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TDigest.fromBytes(new byte[] {1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        TDigest digest = new TDigest(100);
+
+        assertThatThrownBy(() -> new TDigest(5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> digest.add(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> digest.add(1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> digest.quantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
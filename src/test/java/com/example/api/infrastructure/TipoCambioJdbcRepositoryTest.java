@@ -0,0 +1,83 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TipoCambioJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+
+    @Test
+    void findLatestVersion_shouldReturnZero_whenTableIsEmpty() {
+        TipoCambioJdbcRepository repository = new TipoCambioJdbcRepository(jdbcTemplate);
+
+        assertThat(repository.findLatestVersion()).isZero();
+    }
+
+    @Test
+    void findVersion_shouldCollectRates() throws Exception {
+        TipoCambioJdbcRepository repository = new TipoCambioJdbcRepository(jdbcTemplate);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("divisa")).thenReturn("USD");
+        when(rs.getBigDecimal("tasa")).thenReturn(new BigDecimal("1.10000000"));
+        when(rs.getObject("fecha_carga", OffsetDateTime.class)).thenReturn(NOW.atOffset(ZoneOffset.UTC));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(eq("SELECT divisa, tasa, fecha_carga FROM tipos_cambio WHERE version = ?"),
+                any(RowCallbackHandler.class), eq(2L));
+
+        TipoCambioVersion version = repository.findVersion(2L);
+
+        assertThat(version).isEqualTo(new TipoCambioVersion(2L, NOW, Map.of("USD", new BigDecimal("1.10000000"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertVersion_shouldBatchInsertEveryRate() throws Exception {
+        TipoCambioJdbcRepository repository = new TipoCambioJdbcRepository(jdbcTemplate);
+
+        repository.insertVersion(5L, Map.of("USD", new BigDecimal("1.1")), NOW);
+
+        ArgumentCaptor<List<Map.Entry<String, BigDecimal>>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Map.Entry<String, BigDecimal>>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO tipos_cambio (version, divisa, tasa, fecha_carga) "
+                + "VALUES (?, ?, ?, ?)"), rows.capture(), eq(1), setter.capture());
+        setter.getValue().setValues(statement, rows.getValue().get(0));
+        verify(statement).setLong(1, 5L);
+        verify(statement).setString(2, "USD");
+        verify(statement).setBigDecimal(3, new BigDecimal("1.1"));
+        verify(statement).setObject(4, NOW.atOffset(ZoneOffset.UTC));
+    }
+}
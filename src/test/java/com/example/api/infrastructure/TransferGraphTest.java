@@ -0,0 +1,104 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferGraphTest {
+
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    @Test
+    void build_shouldNumberAccountsAscendingAndFoldRepeatedPairs() {
+        TransferGraph.Builder builder = TransferGraph.builder(1);
+        builder.add(300, 100, 70);
+        builder.add(100, 300, 10);
+        builder.add(100, 200, 150);
+        builder.add(100, 300, 20);
+        builder.add(200, 200, 999);
+
+        TransferGraph graph = builder.build(POOL);
+
+        assertThat(graph.transferencias()).isEqualTo(4);
+        assertThat(graph.vertexCount()).isEqualTo(3);
+        assertThat(graph.edgeCount()).isEqualTo(3);
+        assertThat(graph.cuenta(0)).isEqualTo(100);
+        assertThat(graph.vertexOf(300)).isEqualTo(2);
+        assertThat(graph.vertexOf(400)).isEqualTo(-1);
+        assertThat(graph.outDegree(0)).isEqualTo(2);
+        assertThat(graph.target(graph.outStart(0))).isEqualTo(1);
+        assertThat(graph.importe(graph.edge(0, 2))).isEqualTo(30);
+        assertThat(graph.edge(1, 0)).isEqualTo(-1);
+        assertThat(graph.inDegree(0)).isEqualTo(1);
+        assertThat(graph.source(graph.inStart(0))).isEqualTo(2);
+        assertThat(graph.inEnd(2) - graph.inStart(2)).isEqualTo(1);
+        assertThat(graph.pagado(0)).isEqualTo(180);
+        assertThat(graph.recibido(0)).isEqualTo(70);
+        assertThat(graph.recibido(1)).isEqualTo(150);
+        assertThat(graph.outEnd(1)).isEqualTo(graph.outStart(1));
+    }
+
+    @Test
+    void build_shouldMatchTransfersOfMergedBuilders_withLongRows() {
+        SplittableRandom random = new SplittableRandom(7);
+        TransferGraph.Builder left = TransferGraph.builder(16);
+        TransferGraph.Builder right = TransferGraph.builder(16);
+        long[][] totals = new long[50][50];
+        for (int i = 0; i < 20_000; i++) {
+            int origen = random.nextInt(50);
+            int destino = random.nextInt(50);
+            long importe = random.nextLong(1, 1_000);
+            (i % 2 == 0 ? left : right).add(1_000 + origen, 1_000 + destino, importe);
+            if (origen != destino) {
+                totals[origen][destino] += importe;
+            }
+        }
+
+        TransferGraph graph = left.merge(right).build(POOL);
+
+        assertThat(graph.vertexCount()).isEqualTo(50);
+        assertThat(graph.edgeCount()).isEqualTo(50 * 49);
+        for (int v = 0; v < 50; v++) {
+            long pagado = 0;
+            for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+                if (e > graph.outStart(v)) {
+                    assertThat(graph.target(e)).isGreaterThan(graph.target(e - 1));
+                }
+                assertThat(graph.importe(e)).isEqualTo(totals[v][graph.target(e)]);
+                pagado += graph.importe(e);
+            }
+            assertThat(graph.pagado(v)).isEqualTo(pagado);
+            assertThat(graph.inDegree(v)).isEqualTo(49);
+        }
+    }
+
+    @Test
+    void build_shouldReturnEmptyGraph_whenNoTransfers() {
+        TransferGraph graph = TransferGraph.builder(0).build(POOL);
+
+        assertThat(graph.vertexCount()).isZero();
+        assertThat(graph.edgeCount()).isZero();
+    }
+
+    @Test
+    void build_shouldOnlyBuildOnce() {
+        TransferGraph.Builder builder = TransferGraph.builder(4);
+        builder.add(1, 2, 3);
+        builder.build(POOL);
+
+        assertThatThrownBy(() -> builder.build(POOL)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void build_shouldFailOnOverflow() {
+        TransferGraph.Builder builder = TransferGraph.builder(4);
+        builder.add(1, 2, Long.MAX_VALUE);
+        builder.add(1, 2, 1);
+
+        assertThatThrownBy(() -> builder.build(POOL)).isInstanceOf(ArithmeticException.class);
+    }
+}
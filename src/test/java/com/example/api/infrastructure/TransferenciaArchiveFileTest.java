@@ -0,0 +1,119 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferenciaArchiveFileTest {
+
+    private static final Instant BASE = Instant.parse("2023-03-01T00:00:00.123456Z");
+
+    @TempDir
+    Path directory;
+
+    static TransferenciaSnapshot transferencia(long id, long origen, long destino, Instant fecha) {
+        return new TransferenciaSnapshot(id, origen, destino, BigDecimal.valueOf(id * 137 - 50, 2), "EUR",
+                id % 3 == 0 ? null : "Pago " + id, id % 2 == 0 ? EstadoTransferencia.COMPLETADA
+                : EstadoTransferencia.RECHAZADA, fecha, id % 5 == 0 ? null : fecha.plusNanos(999_999_001L),
+                id % 4 == 0 ? "REF-" + id : null);
+    }
+
+    private Path write(List<TransferenciaSnapshot> rows, int blockSize) {
+        Path path = directory.resolve("test.col");
+        try (TransferenciaArchiveWriter writer = new TransferenciaArchiveWriter(path, blockSize)) {
+            rows.forEach(writer::add);
+            assertThat(writer.finish()).isEqualTo(rows.size());
+        }
+        return path;
+    }
+
+    @Test
+    void shouldReadBackEveryTransferBlockByBlock() {
+        List<TransferenciaSnapshot> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            rows.add(transferencia(1_000 + i * 7L, 10 + i % 40, 500 - i, BASE.plusSeconds(i * 61L)));
+        }
+
+        TransferenciaArchiveFile file = TransferenciaArchiveFile.open(write(rows, 100));
+
+        assertThat(file.blocks()).extracting(TransferenciaArchiveFile.Block::rows).containsExactly(100, 100, 50);
+        List<TransferenciaSnapshot> read = new ArrayList<>();
+        for (int b = 0; b < file.blocks().size(); b++) {
+            read.addAll(file.readRows(b));
+        }
+        assertThat(read).isEqualTo(rows);
+        assertThat(file.readLongs(2, TransferenciaArchiveFile.Column.CUENTA_DESTINO))
+                .containsExactly(rows.subList(200, 250).stream().mapToLong(TransferenciaSnapshot::cuentaDestinoId)
+                        .toArray());
+    }
+
+    @Test
+    void shouldRecordBlockAndFileStatisticsInTheFooter() {
+        List<TransferenciaSnapshot> rows = List.of(
+                transferencia(1, 50, 7, BASE.plusSeconds(30)),
+                transferencia(2, 20, 9, BASE),
+                transferencia(3, 90, 1, BASE.plusSeconds(10)),
+                transferencia(8, 60, 3, BASE.plusSeconds(99)));
+
+        TransferenciaArchiveFile file = TransferenciaArchiveFile.open(write(rows, 3));
+
+        assertThat(file.blocks().get(0)).isEqualTo(new TransferenciaArchiveFile.Block(3, 1, 3, 20, 90, 1, 9, BASE,
+                BASE.plusSeconds(30)));
+        assertThat(file.summary()).isEqualTo(new TransferenciaArchiveFile.Block(4, 1, 8, 20, 90, 1, 9, BASE,
+                BASE.plusSeconds(99)));
+        assertThat(file.blocks().get(1).mayContainId(8)).isTrue();
+        assertThat(file.blocks().get(0).mayContainId(8)).isFalse();
+        assertThat(file.blocks().get(0).mayContainCuenta(20, true)).isTrue();
+        assertThat(file.blocks().get(0).mayContainCuenta(20, false)).isFalse();
+    }
+
+    @Test
+    void shouldOpenEmptyFile() {
+        TransferenciaArchiveFile file = TransferenciaArchiveFile.open(write(List.of(), 10));
+
+        assertThat(file.blocks()).isEmpty();
+        assertThat(file.summary()).isNull();
+    }
+
+    @Test
+    void shouldRejectTransfersOutOfIdOrder() {
+        try (TransferenciaArchiveWriter writer = new TransferenciaArchiveWriter(directory.resolve("x.col"), 10)) {
+            writer.add(transferencia(5, 1, 2, BASE));
+
+            assertThatThrownBy(() -> writer.add(transferencia(5, 1, 2, BASE)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectIncompleteFile() throws Exception {
+        Path path = directory.resolve("incomplete.col");
+        try (TransferenciaArchiveWriter writer = new TransferenciaArchiveWriter(path, 10)) {
+            writer.add(transferencia(1, 1, 2, BASE));
+        }
+
+        assertThatThrownBy(() -> TransferenciaArchiveFile.open(path)).isInstanceOf(IllegalStateException.class);
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThatThrownBy(() -> TransferenciaArchiveFile.open(path)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldOnlyReadIdAndAccountColumnsAsLongs() {
+        TransferenciaArchiveFile file = TransferenciaArchiveFile.open(write(List.of(transferencia(1, 1, 2, BASE)), 10));
+
+        assertThat(file.readLongs(0, TransferenciaArchiveFile.Column.ID)).containsExactly(1L);
+        assertThatThrownBy(() -> file.readLongs(0, TransferenciaArchiveFile.Column.IMPORTE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TipoEventoTransferencia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaEventoJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+
+    @Test
+    void tryLockRelay_shouldTakeAdvisoryLock_onPostgresql() {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                TransferenciaEventoJdbcRepository.RELAY_LOCK_KEY)).thenReturn(false);
+
+        assertThat(repository.tryLockRelay()).isFalse();
+    }
+
+    @Test
+    void tryLockRelay_shouldAlwaysSucceed_onH2() {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        assertThat(repository.tryLockRelay()).isTrue();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishPending_shouldAssignContiguousSequencesAfterTheLastOne() throws Exception {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        when(jdbcTemplate.queryForList("SELECT id FROM transferencias_eventos "
+                + "WHERE secuencia IS NULL ORDER BY id LIMIT ?", Long.class, 100)).thenReturn(List.of(51L, 53L));
+        when(jdbcTemplate.queryForObject("SELECT MAX(secuencia) FROM transferencias_eventos", Long.class))
+                .thenReturn(7L);
+
+        assertThat(repository.publishPending(100, NOW)).isEqualTo(2);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Long>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE transferencias_eventos SET secuencia = ?, "
+                + "fecha_publicacion = ? WHERE id = ?"), eq(List.of(51L, 53L)), eq(2), setter.capture());
+        setter.getValue().setValues(statement, 51L);
+        setter.getValue().setValues(statement, 53L);
+        verify(statement).setLong(1, 8L);
+        verify(statement).setLong(1, 9L);
+        verify(statement).setLong(3, 51L);
+        verify(statement).setLong(3, 53L);
+    }
+
+    @Test
+    void publishPending_shouldDoNothing_whenNothingIsPending() {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(100))).thenReturn(List.of());
+
+        assertThat(repository.publishPending(100, NOW)).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPublishedAfter_shouldMapRows() throws Exception {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.findPublishedAfter(4L, 10);
+
+        ArgumentCaptor<RowMapper<TransferenciaEventoPublicado>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        verify(jdbcTemplate).query(eq("SELECT secuencia, tipo, id_transferencia, payload, fecha_publicacion "
+                + "FROM transferencias_eventos WHERE secuencia > ? ORDER BY secuencia LIMIT ?"),
+                mapper.capture(), eq(4L), eq(10));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("secuencia")).thenReturn(5L);
+        when(rs.getString("tipo")).thenReturn("ELIMINADA");
+        when(rs.getLong("id_transferencia")).thenReturn(70L);
+        when(rs.getString("payload")).thenReturn("{}");
+        when(rs.getObject("fecha_publicacion", OffsetDateTime.class)).thenReturn(NOW.atOffset(ZoneOffset.UTC));
+
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(
+                new TransferenciaEventoPublicado(5L, TipoEventoTransferencia.ELIMINADA, 70L, "{}", NOW));
+    }
+
+    @Test
+    void findFirstAndLastSequence_shouldHandleEmptyOutbox() {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        assertThat(repository.findLastSequence()).isZero();
+        assertThat(repository.findFirstSequence()).isNull();
+    }
+
+    @Test
+    void deletePublishedBefore_shouldKeepTheLatestEntry() {
+        TransferenciaEventoJdbcRepository repository =
+                new TransferenciaEventoJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        when(jdbcTemplate.update("DELETE FROM transferencias_eventos WHERE fecha_publicacion < ? "
+                        + "AND secuencia < (SELECT MAX(secuencia) FROM transferencias_eventos)",
+                NOW.atOffset(ZoneOffset.UTC))).thenReturn(4);
+
+        assertThat(repository.deletePublishedBefore(NOW)).isEqualTo(4);
+    }
+}
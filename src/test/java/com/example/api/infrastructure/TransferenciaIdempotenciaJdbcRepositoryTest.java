@@ -0,0 +1,86 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.TransferenciaIdempotencia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaIdempotenciaJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Test
+    void streamClaves_shouldStripPrefixAndUseFetchSize() throws Exception {
+        TransferenciaIdempotenciaJdbcRepository repository = new TransferenciaIdempotenciaJdbcRepository(jdbcTemplate);
+        List<String> claves = new ArrayList<>();
+
+        repository.streamClaves("ref:", 500, claves::add);
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT clave FROM transferencias_idempotencia WHERE clave LIKE ?"),
+                setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(500);
+        verify(statement).setString(1, "ref:%");
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("ref:REF-7");
+        handler.getValue().processRow(rs);
+        assertThat(claves).containsExactly("REF-7");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void insertAll_shouldBindEveryKeyInOneBatch() throws Exception {
+        TransferenciaIdempotenciaJdbcRepository repository = new TransferenciaIdempotenciaJdbcRepository(jdbcTemplate);
+        TransferenciaIdempotencia clave = new TransferenciaIdempotencia("ref:REF-7", 7L, "a".repeat(64));
+
+        repository.insertAll(List.of(clave));
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<TransferenciaIdempotencia>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO transferencias_idempotencia (clave, id_transferencia, "
+                + "huella, fecha_creacion) VALUES (?, ?, ?, ?)"), eq(List.of(clave)), eq(1), setter.capture());
+        setter.getValue().setValues(statement, clave);
+        verify(statement).setString(1, "ref:REF-7");
+        verify(statement).setLong(2, 7L);
+        verify(statement).setString(3, "a".repeat(64));
+        verify(statement).setObject(4, clave.getFechaCreacion().atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void insertAll_shouldSkipTheDatabase_whenThereIsNothingToInsert() {
+        new TransferenciaIdempotenciaJdbcRepository(jdbcTemplate).insertAll(List.of());
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaImportJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant CREADA = Instant.parse("2024-03-10T12:00:00Z");
+
+    private static final List<TransferenciaSnapshot> ROWS = List.of(
+            new TransferenciaSnapshot(51L, 100L, 200L, new BigDecimal("12.50"), "EUR", "Rent, \"March\"",
+                    EstadoTransferencia.PENDIENTE, CREADA, null, null),
+            new TransferenciaSnapshot(52L, 101L, 201L, new BigDecimal("3.00"), "USD", null,
+                    EstadoTransferencia.PENDIENTE, CREADA, null, "REF-2"));
+
+    @Test
+    void allocateIds_shouldExpandPooledBlocks() {
+        TransferenciaImportJdbcRepository repository =
+                new TransferenciaImportJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+        when(jdbcTemplate.queryForList("SELECT nextval('transferencias_seq') FROM generate_series(1, ?)",
+                Long.class, 3)).thenReturn(List.of(1L, 501L, 101L));
+
+        long[] ids = repository.allocateIds(120);
+
+        assertThat(ids).hasSize(120);
+        assertThat(ids[0]).isEqualTo(1L);
+        assertThat(ids[49]).isEqualTo(50L);
+        assertThat(ids[50]).isEqualTo(501L);
+        assertThat(ids[100]).isEqualTo(101L);
+        assertThat(ids[119]).isEqualTo(120L);
+    }
+
+    @Test
+    void allocateIds_shouldUseH2SequenceSyntax() {
+        TransferenciaImportJdbcRepository repository =
+                new TransferenciaImportJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+        when(jdbcTemplate.queryForList("SELECT NEXT VALUE FOR transferencias_seq FROM SYSTEM_RANGE(1, ?)",
+                Long.class, 1)).thenReturn(List.of(7L));
+
+        assertThat(repository.allocateIds(2)).containsExactly(7L, 8L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insert_shouldCopyCsvOnPostgresql() throws Exception {
+        TransferenciaImportJdbcRepository repository =
+                new TransferenciaImportJdbcRepository(jdbcTemplate, DatabasePlatform.POSTGRESQL);
+
+        repository.insert(ROWS);
+
+        ArgumentCaptor<ConnectionCallback<Long>> callback = ArgumentCaptor.forClass(ConnectionCallback.class);
+        verify(jdbcTemplate).execute(callback.capture());
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        StringWriter copied = new StringWriter();
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            invocation.<Reader>getArgument(1).transferTo(copied);
+            return 2L;
+        });
+
+        assertThat(callback.getValue().doInConnection(connection)).isEqualTo(2L);
+        verify(copyManager).copyIn(eq("COPY transferencias (id_transferencia, cuenta_origen_id, cuenta_destino_id, "
+                + "importe, divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa) "
+                + "FROM STDIN WITH (FORMAT csv)"), any(Reader.class));
+        assertThat(copied.toString()).isEqualTo(
+                "51,100,200,12.50,\"EUR\",\"Rent, \"\"March\"\"\",PENDIENTE,2024-03-10T12:00:00Z,,\n"
+                        + "52,101,201,3.00,\"USD\",,PENDIENTE,2024-03-10T12:00:00Z,,\"REF-2\"\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insert_shouldBatchInsertOnH2() throws Exception {
+        TransferenciaImportJdbcRepository repository =
+                new TransferenciaImportJdbcRepository(jdbcTemplate, DatabasePlatform.H2);
+
+        repository.insert(ROWS);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<TransferenciaSnapshot>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO transferencias (id_transferencia, cuenta_origen_id, "
+                + "cuenta_destino_id, importe, divisa, concepto, estado, fecha_creacion, fecha_ejecucion, "
+                + "referencia_externa) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"), eq(ROWS), eq(2), setter.capture());
+
+        setter.getValue().setValues(statement, ROWS.get(0));
+        verify(statement).setLong(1, 51L);
+        verify(statement).setBigDecimal(4, new BigDecimal("12.50"));
+        verify(statement).setString(7, "PENDIENTE");
+        verify(statement).setObject(8, CREADA.atOffset(ZoneOffset.UTC));
+        verify(statement).setNull(9, Types.TIMESTAMP_WITH_TIMEZONE);
+        verify(statement).setString(10, null);
+    }
+}
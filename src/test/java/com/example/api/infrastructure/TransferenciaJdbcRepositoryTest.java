@@ -0,0 +1,454 @@
+package com.example.api.infrastructure;
+
+import com.example.api.domain.EstadoTransferencia;
+import com.example.api.domain.TransferenciaSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private static final Instant DESDE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant HASTA = Instant.parse("2024-02-01T00:00:00Z");
+
+    @Test
+    void stream_shouldBuildFilteredQueryWithFetchSize() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.stream(new TransferenciaCriteria(null, null, DESDE, HASTA, EstadoTransferencia.PENDIENTE, "EUR"),
+                250, snapshot -> { });
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(sql.capture(), setter.capture(), any(RowCallbackHandler.class));
+        assertThat(sql.getValue()).endsWith("FROM transferencias WHERE fecha_creacion >= ? AND fecha_creacion < ? "
+                + "AND estado = ? AND divisa = ? ORDER BY id_transferencia");
+
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(250);
+        verify(statement).setObject(1, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(2, HASTA.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(3, "PENDIENTE");
+        verify(statement).setObject(4, "EUR");
+    }
+
+    @Test
+    void stream_shouldMapRowsToSnapshots() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<TransferenciaSnapshot> rows = new ArrayList<>();
+
+        repository.stream(new TransferenciaCriteria(null, null, null, null, null, null), 10, rows::add);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(sql.capture(), any(PreparedStatementSetter.class), handler.capture());
+        assertThat(sql.getValue()).endsWith("FROM transferencias ORDER BY id_transferencia");
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id_transferencia")).thenReturn(7L);
+        when(rs.getLong("cuenta_origen_id")).thenReturn(100L);
+        when(rs.getLong("cuenta_destino_id")).thenReturn(200L);
+        when(rs.getBigDecimal("importe")).thenReturn(new BigDecimal("12.50"));
+        when(rs.getString(anyString())).thenAnswer(invocation -> switch (invocation.<String>getArgument(0)) {
+            case "divisa" -> "EUR";
+            case "concepto" -> "Rent";
+            case "estado" -> "COMPLETADA";
+            default -> "REF-7";
+        });
+        when(rs.getObject("fecha_creacion", OffsetDateTime.class)).thenReturn(DESDE.atOffset(ZoneOffset.UTC));
+        when(rs.getObject("fecha_ejecucion", OffsetDateTime.class)).thenReturn(null);
+        handler.getValue().processRow(rs);
+
+        assertThat(rows).containsExactly(new TransferenciaSnapshot(7L, 100L, 200L, new BigDecimal("12.50"),
+                "EUR", "Rent", EstadoTransferencia.COMPLETADA, DESDE, null, "REF-7"));
+    }
+
+    @Test
+    void streamFlows_shouldReadOneIdSliceInMinorUnits() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<long[]> flows = new ArrayList<>();
+
+        repository.streamFlows(new TransferenciaCriteria(null, null, DESDE, HASTA, EstadoTransferencia.PENDIENTE,
+                "EUR"), new TransferenciaIdRange(100, 250), 500,
+                (origen, destino, importe) -> flows.add(new long[] {origen, destino, importe}));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT cuenta_origen_id, cuenta_destino_id, importe FROM transferencias "
+                + "WHERE fecha_creacion >= ? AND fecha_creacion < ? AND estado = ? AND divisa = ? "
+                + "AND id_transferencia >= ? AND id_transferencia < ?"), setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(5, 100L);
+        verify(statement).setObject(6, 250L);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(100L);
+        when(rs.getLong(2)).thenReturn(200L);
+        when(rs.getBigDecimal(3)).thenReturn(new BigDecimal("12.50"));
+        handler.getValue().processRow(rs);
+        assertThat(flows).containsExactly(new long[] {100L, 200L, 1_250L});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findIdRange_shouldBoundTheMatchingIdsOrReturnNullWhenEmpty() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        ArgumentCaptor<RowMapper<TransferenciaIdRange>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        String sql = "SELECT MIN(id_transferencia), MAX(id_transferencia) FROM transferencias "
+                + "WHERE fecha_creacion >= ? AND fecha_creacion < ? AND divisa = ?";
+        when(jdbcTemplate.queryForObject(eq(sql), mapper.capture(), any(), any(), eq("EUR"))).thenReturn(null);
+
+        assertThat(repository.findIdRange(new TransferenciaCriteria(null, null, DESDE, HASTA, null, "EUR"))).isNull();
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(5L);
+        when(rs.getLong(2)).thenReturn(40L);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(new TransferenciaIdRange(5, 41));
+        ResultSet empty = mock(ResultSet.class);
+        when(empty.wasNull()).thenReturn(true);
+        assertThat(mapper.getValue().mapRow(empty, 0)).isNull();
+    }
+
+    @Test
+    void slice_shouldCoverTheRangeWithDisjointSlices() {
+        TransferenciaIdRange range = new TransferenciaIdRange(10, 21);
+
+        assertThat(range.slice(4, 0)).isEqualTo(new TransferenciaIdRange(10, 13));
+        assertThat(range.slice(4, 3)).isEqualTo(new TransferenciaIdRange(19, 21));
+        assertThat(new TransferenciaIdRange(1, 3).slice(4, 3)).isEqualTo(new TransferenciaIdRange(3, 3));
+    }
+
+    @Test
+    void findPage_shouldSeekAfterKeysetInDescendingOrder() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.findPage(new TransferenciaCriteria(100L, 200L, null, null, null, null),
+                new TransferenciaKeyset(HASTA, 42L), 21);
+
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, cuenta_origen_id, cuenta_destino_id, importe, "
+                        + "divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa "
+                        + "FROM transferencias WHERE cuenta_origen_id = ? AND cuenta_destino_id = ? "
+                        + "AND (fecha_creacion, id_transferencia) < (?, ?) "
+                        + "ORDER BY fecha_creacion DESC, id_transferencia DESC LIMIT ?"),
+                any(RowMapper.class), eq(100L), eq(200L), eq(HASTA.atOffset(ZoneOffset.UTC)), eq(42L), eq(21));
+    }
+
+    @Test
+    void findPage_shouldOmitWhereClause_onUnfilteredFirstPage() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.findPage(new TransferenciaCriteria(null, null, null, null, null, null), null, 5);
+
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, cuenta_origen_id, cuenta_destino_id, importe, "
+                        + "divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa "
+                        + "FROM transferencias ORDER BY fecha_creacion DESC, id_transferencia DESC LIMIT ?"),
+                any(RowMapper.class), eq(5));
+    }
+
+    @Test
+    void findByConcepto_shouldMatchAndRankOnTsvColumn_afterKeyset() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.findByConcepto(new TransferenciaCriteria(100L, null, null, null, null, "EUR"), "alquiler -garaje",
+                new TextMatch(42L, 0.5f), 11);
+
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, cuenta_origen_id, cuenta_destino_id, importe, "
+                        + "divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa, "
+                        + "ts_rank(concepto_tsv, consulta) AS relevancia "
+                        + "FROM transferencias, websearch_to_tsquery('simple', ?) consulta "
+                        + "WHERE concepto_tsv @@ consulta AND cuenta_origen_id = ? AND divisa = ? "
+                        + "AND (ts_rank(concepto_tsv, consulta), id_transferencia) < (?, ?) "
+                        + "ORDER BY relevancia DESC, id_transferencia DESC LIMIT ?"),
+                any(RowMapper.class), eq("alquiler -garaje"), eq(100L), eq("EUR"), eq(0.5f), eq(42L), eq(11));
+    }
+
+    @Test
+    void findByIds_shouldApplyFiltersToCandidates_andSkipQueryWhenEmpty() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        TransferenciaCriteria criteria = new TransferenciaCriteria(null, null, null, null,
+                EstadoTransferencia.PENDIENTE, null);
+
+        assertThat(repository.findByIds(criteria, List.of())).isEmpty();
+        repository.findByIds(criteria, List.of(3L, 1L));
+
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, cuenta_origen_id, cuenta_destino_id, importe, "
+                        + "divisa, concepto, estado, fecha_creacion, fecha_ejecucion, referencia_externa "
+                        + "FROM transferencias WHERE id_transferencia IN (?, ?) AND estado = ?"),
+                any(RowMapper.class), eq(3L), eq(1L), eq("PENDIENTE"));
+    }
+
+    @Test
+    void hasConceptoTsv_shouldLookUpColumnInCurrentSchema() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1, 0);
+
+        assertThat(repository.hasConceptoTsv()).isTrue();
+        assertThat(repository.hasConceptoTsv()).isFalse();
+    }
+
+    @Test
+    void streamConceptos_shouldPassConceptAndId() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<String> seen = new ArrayList<>();
+
+        repository.streamConceptos(300, (concepto, id) -> seen.add(id + ":" + concepto));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, concepto FROM transferencias "
+                + "WHERE concepto IS NOT NULL"), setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(300);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(8L);
+        when(rs.getString(2)).thenReturn("Alquiler");
+        handler.getValue().processRow(rs);
+        assertThat(seen).containsExactly("8:Alquiler");
+    }
+
+    @Test
+    void streamReferencias_shouldSelectAndDateTransfersByValueDate() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<String> seen = new ArrayList<>();
+
+        repository.streamReferencias(DESDE, HASTA, 400, (id, referencia, importe, divisa, fecha) ->
+                seen.add(id + ":" + referencia + ":" + importe + ":" + divisa + ":" + fecha));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        String fechaValor = "COALESCE(fecha_ejecucion, fecha_creacion)";
+        verify(jdbcTemplate).query(eq("SELECT id_transferencia, referencia_externa, importe, divisa, " + fechaValor
+                + " FROM transferencias WHERE referencia_externa IS NOT NULL AND " + fechaValor + " >= ? AND "
+                + fechaValor + " < ?"), setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(400);
+        verify(statement).setObject(1, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(2, HASTA.atOffset(ZoneOffset.UTC));
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(8L, 9L);
+        when(rs.getString(2)).thenReturn("REF-8", "REF-9");
+        when(rs.getBigDecimal(3)).thenReturn(new BigDecimal("12.50"), new BigDecimal("3"));
+        when(rs.getString(4)).thenReturn("EUR");
+        when(rs.getObject(5, OffsetDateTime.class)).thenReturn(HASTA.atOffset(ZoneOffset.UTC),
+                DESDE.atOffset(ZoneOffset.UTC));
+        handler.getValue().processRow(rs);
+        handler.getValue().processRow(rs);
+        assertThat(seen).containsExactly("8:REF-8:1250:EUR:" + HASTA, "9:REF-9:300:EUR:" + DESDE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findCuentaRange_shouldCoverBothSidesAndArchivedTotalsOrReturnNullWhenEmpty() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<RowMapper<long[]>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbcTemplate.queryForObject(sql.capture(), mapper.capture())).thenReturn(null);
+
+        assertThat(repository.findCuentaRange()).isNull();
+        assertThat(sql.getValue()).contains("MIN(cuenta_origen_id)", "MIN(cuenta_destino_id)",
+                "FROM saldos_archivados");
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(3L);
+        when(rs.getLong(2)).thenReturn(60L);
+        assertThat(mapper.getValue().mapRow(rs, 0)).containsExactly(3L, 60L);
+
+        ResultSet empty = mock(ResultSet.class);
+        when(empty.wasNull()).thenReturn(true);
+        assertThat(mapper.getValue().mapRow(empty, 0)).isNull();
+    }
+
+    @Test
+    void streamImportes_shouldReadOnePartitionOfTheWindow() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<String> seen = new ArrayList<>();
+
+        repository.streamImportes(DESDE, HASTA, 4, 3, 500, (divisa, importe, fecha) ->
+                seen.add(divisa + ":" + importe + ":" + fecha));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(sql.capture(), setter.capture(), handler.capture());
+        assertThat(sql.getValue()).endsWith("AND MOD(id_transferencia, ?) = ?");
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(2, HASTA.atOffset(ZoneOffset.UTC));
+        verify(statement).setInt(3, 4);
+        verify(statement).setInt(4, 3);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("EUR");
+        when(rs.getBigDecimal(2)).thenReturn(new BigDecimal("12.50"));
+        when(rs.getObject(3, OffsetDateTime.class)).thenReturn(DESDE.atOffset(ZoneOffset.UTC));
+        handler.getValue().processRow(rs);
+        assertThat(seen).containsExactly("EUR:1250:" + DESDE);
+    }
+
+    private static TransferenciaJdbcRepository.MovimientoConsumer recording(List<String> seen) {
+        return new TransferenciaJdbcRepository.MovimientoConsumer() {
+            @Override
+            public void apertura(long cuentaId, String divisa, long importe) {
+                seen.add(cuentaId + ":" + divisa + ":" + importe);
+            }
+
+            @Override
+            public void accept(long cuentaId, long idTransferencia, long contraparte, long importe, String divisa,
+                               Instant fecha) {
+                seen.add(cuentaId + ":" + idTransferencia + ":" + contraparte + ":" + importe + ":" + divisa + ":"
+                        + fecha);
+            }
+        };
+    }
+
+    @Test
+    void streamMovimientos_shouldOpenFromClosingBalances_andReadOnlyThePeriodByValueDate() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        List<String> seen = new ArrayList<>();
+
+        repository.streamMovimientos(100, 200, DESDE, HASTA, true, 500, recording(seen));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(sql.capture(), setter.capture(), handler.capture());
+        assertThat(sql.getValue())
+                .contains("FROM saldos_cierre WHERE fecha = ? AND cuenta_id >= ? AND cuenta_id < ?",
+                        "COALESCE(fecha_ejecucion, fecha_creacion) >= ? AND "
+                                + "COALESCE(fecha_ejecucion, fecha_creacion) < ?",
+                        "-importe", "UNION ALL", "estado = 'COMPLETADA'")
+                .doesNotContain("GROUP BY", "fecha_creacion < ?")
+                .endsWith("ORDER BY cuenta_id, fecha_valor NULLS FIRST, id_transferencia");
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, DESDE.atOffset(ZoneOffset.UTC).toLocalDate());
+        verify(statement).setLong(2, 100);
+        verify(statement).setLong(3, 200);
+        verify(statement).setObject(6, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(7, HASTA.atOffset(ZoneOffset.UTC));
+        verify(statement).setLong(8, 100);
+        verify(statement).setObject(11, HASTA.atOffset(ZoneOffset.UTC));
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(150L);
+        when(rs.getLong(2)).thenReturn(8L);
+        when(rs.getLong(3)).thenReturn(7L);
+        when(rs.getBigDecimal(4)).thenReturn(new BigDecimal("40.00"), new BigDecimal("-12.50"));
+        when(rs.getString(5)).thenReturn("EUR");
+        when(rs.getObject(6, OffsetDateTime.class)).thenReturn(null, DESDE.atOffset(ZoneOffset.UTC));
+        handler.getValue().processRow(rs);
+        handler.getValue().processRow(rs);
+        assertThat(seen).containsExactly("150:EUR:4000", "150:8:7:-1250:EUR:" + DESDE);
+    }
+
+    @Test
+    void streamMovimientos_shouldSumTheHistoryBeforeThePeriod_withoutClosingBalances() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.streamMovimientos(100, 200, DESDE, HASTA, false, 500, recording(new ArrayList<>()));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(sql.capture(), setter.capture(), any(RowCallbackHandler.class));
+        assertThat(sql.getValue())
+                .contains("SUM(importe)", "COALESCE(fecha_ejecucion, fecha_creacion) < ?",
+                        "FROM saldos_archivados WHERE cuenta_id >= ? AND cuenta_id < ?", "GROUP BY cuenta_id, divisa")
+                .doesNotContain("saldos_cierre");
+        setter.getValue().setValues(statement);
+        verify(statement).setLong(1, 100);
+        verify(statement).setLong(2, 200);
+        verify(statement).setObject(3, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setLong(4, 100);
+        verify(statement).setObject(6, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setLong(7, 100);
+        verify(statement).setLong(8, 200);
+        verify(statement).setLong(9, 100);
+        verify(statement).setObject(12, HASTA.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(16, HASTA.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findOldestClosedBefore_shouldReturnEarliestCreationOrNull() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        ArgumentCaptor<RowMapper<Instant>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbcTemplate.queryForObject(anyString(), mapper.capture(), eq(HASTA.atOffset(ZoneOffset.UTC))))
+                .thenReturn(DESDE);
+
+        assertThat(repository.findOldestClosedBefore(HASTA)).isEqualTo(DESDE);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, OffsetDateTime.class)).thenReturn(DESDE.atOffset(ZoneOffset.UTC), (OffsetDateTime) null);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isEqualTo(DESDE);
+        assertThat(mapper.getValue().mapRow(rs, 0)).isNull();
+    }
+
+    @Test
+    void streamClosedForUpdate_shouldLockTheFirstClosedTransfersOfTheWindowInIdOrder() throws Exception {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+
+        repository.streamClosedForUpdate(DESDE, HASTA, 40, 1000, 250, row -> { });
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(sql.capture(), setter.capture(), any(RowCallbackHandler.class));
+        assertThat(sql.getValue()).contains("id_transferencia >= ? AND estado <> 'PENDIENTE'")
+                .endsWith("ORDER BY id_transferencia LIMIT ? FOR UPDATE");
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(250);
+        verify(statement).setObject(1, DESDE.atOffset(ZoneOffset.UTC));
+        verify(statement).setObject(2, HASTA.atOffset(ZoneOffset.UTC));
+        verify(statement).setLong(3, 40);
+        verify(statement).setInt(4, 1000);
+    }
+
+    @Test
+    void deleteClosed_shouldDeleteIdempotencyKeysAndTransfersOfTheIdRange() {
+        TransferenciaJdbcRepository repository = new TransferenciaJdbcRepository(jdbcTemplate);
+        OffsetDateTime desde = DESDE.atOffset(ZoneOffset.UTC);
+        OffsetDateTime hasta = HASTA.atOffset(ZoneOffset.UTC);
+        when(jdbcTemplate.update(anyString(), eq(desde), eq(hasta), eq(40L), eq(90L))).thenReturn(2, 5);
+
+        assertThat(repository.deleteClosed(DESDE, HASTA, 40, 90)).isEqualTo(5);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), eq(desde), eq(hasta), eq(40L), eq(90L));
+        assertThat(sql.getAllValues().get(0)).startsWith("DELETE FROM transferencias_idempotencia");
+        assertThat(sql.getAllValues().get(1)).startsWith("DELETE FROM transferencias WHERE")
+                .endsWith("AND id_transferencia < ?");
+    }
+}
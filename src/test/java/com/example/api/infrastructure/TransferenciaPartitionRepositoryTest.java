@@ -0,0 +1,78 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaPartitionRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void toPartition_shouldParseMonthlyBounds() {
+        TransferenciaPartition partition = TransferenciaPartitionRepository.toPartition("transferencias_p202406",
+                "FOR VALUES FROM ('2024-06-01 00:00:00+00') TO ('2024-07-01 02:00:00+02')");
+
+        assertThat(partition).isEqualTo(new TransferenciaPartition("transferencias_p202406",
+                Instant.parse("2024-06-01T00:00:00Z"), Instant.parse("2024-07-01T00:00:00Z")));
+    }
+
+    @Test
+    void toPartition_shouldMapMinValueToOpenLowerBound() {
+        TransferenciaPartition partition = TransferenciaPartitionRepository.toPartition("transferencias_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2024-06-01 00:00:00.5+05:30')");
+
+        assertThat(partition.desde()).isNull();
+        assertThat(partition.hasta()).isEqualTo(Instant.parse("2024-05-31T18:30:00.5Z"));
+        assertThat(partition.overlaps(Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-06-01T00:00:00Z")))
+                .isTrue();
+        assertThat(partition.overlaps(Instant.parse("2024-06-01T00:00:00Z"), Instant.parse("2024-07-01T00:00:00Z")))
+                .isFalse();
+    }
+
+    @Test
+    void toPartition_shouldRejectDefaultPartition() {
+        assertThatThrownBy(() -> TransferenciaPartitionRepository.toPartition("transferencias_default", "DEFAULT"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void createPartition_shouldAttachMonthlyRange() {
+        new TransferenciaPartitionRepository(jdbcTemplate).createPartition("transferencias_p202406",
+                Instant.parse("2024-06-01T00:00:00Z"), Instant.parse("2024-07-01T00:00:00Z"));
+
+        verify(jdbcTemplate).execute("CREATE TABLE transferencias_p202406 PARTITION OF transferencias "
+                + "FOR VALUES FROM ('2024-06-01T00:00:00Z') TO ('2024-07-01T00:00:00Z')");
+    }
+
+    @Test
+    void archivePartition_shouldDetachThenMoveToArchiveSchema() {
+        new TransferenciaPartitionRepository(jdbcTemplate).archivePartition("transferencias_p202401", "archivo");
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("CREATE SCHEMA IF NOT EXISTS archivo");
+        order.verify(jdbcTemplate).execute("ALTER TABLE transferencias DETACH PARTITION transferencias_p202401");
+        order.verify(jdbcTemplate).execute("ALTER TABLE transferencias_p202401 SET SCHEMA archivo");
+    }
+
+    @Test
+    void tryLockMaintenance_shouldUseTransactionScopedAdvisoryLock() {
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                TransferenciaPartitionRepository.MAINTENANCE_LOCK_KEY)).thenReturn(true);
+
+        assertThat(new TransferenciaPartitionRepository(jdbcTemplate).tryLockMaintenance()).isTrue();
+    }
+}
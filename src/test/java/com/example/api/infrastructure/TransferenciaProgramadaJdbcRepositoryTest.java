@@ -0,0 +1,57 @@
+package com.example.api.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaProgramadaJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Test
+    void streamDue_shouldReadActiveSchedulesBeforeHorizon() throws Exception {
+        TransferenciaProgramadaJdbcRepository repository = new TransferenciaProgramadaJdbcRepository(jdbcTemplate);
+        Instant hasta = Instant.parse("2024-03-01T11:00:00Z");
+        List<long[]> rows = new ArrayList<>();
+
+        repository.streamDue(hasta, 1000, (id, proxima) -> rows.add(new long[] {id, proxima}));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(eq("SELECT id, proxima_ejecucion FROM transferencias_programadas "
+                + "WHERE estado = 'ACTIVA' AND proxima_ejecucion < ?"), setter.capture(), handler.capture());
+        setter.getValue().setValues(statement);
+        verify(statement).setFetchSize(1000);
+        verify(statement).setObject(1, hasta.atOffset(ZoneOffset.UTC));
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(9L);
+        when(rs.getObject(2, OffsetDateTime.class)).thenReturn(hasta.minusSeconds(60).atOffset(ZoneOffset.UTC));
+        handler.getValue().processRow(rs);
+        assertThat(rows).containsExactly(new long[] {9L, hasta.minusSeconds(60).toEpochMilli()});
+    }
+}